@@ -24,6 +24,8 @@ import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.client.table.FlussTable;
 import org.apache.fluss.client.table.Table;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
+import org.apache.fluss.client.table.scanner.TableScan;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.client.token.DefaultSecurityTokenManager;
 import org.apache.fluss.client.token.DefaultSecurityTokenProvider;
 import org.apache.fluss.client.token.SecurityTokenManager;
@@ -133,13 +135,28 @@ public final class FlussConnection implements Connection {
         if (lookupClient == null) {
             synchronized (this) {
                 if (lookupClient == null) {
-                    lookupClient = new LookupClient(conf, metadataUpdater);
+                    lookupClient =
+                            new LookupClient(
+                                    conf,
+                                    metadataUpdater,
+                                    clientMetricGroup,
+                                    this::createChangelogScanner);
                 }
             }
         }
         return lookupClient;
     }
 
+    /**
+     * Creates a log scanner of the primary key columns of the table, used to keep the lookup cache
+     * consistent with the changelog of the table.
+     */
+    private LogScanner createChangelogScanner(TableInfo tableInfo) {
+        return new TableScan(this, tableInfo)
+                .project(tableInfo.getPrimaryKeys())
+                .createLogScanner();
+    }
+
     public RemoteFileDownloader getOrCreateRemoteFileDownloader() {
         if (remoteFileDownloader == null) {
             synchronized (this) {
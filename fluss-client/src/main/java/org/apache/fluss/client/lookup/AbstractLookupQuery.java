@@ -28,10 +28,12 @@ public abstract class AbstractLookupQuery<T> {
 
     private final TableBucket tableBucket;
     private final byte[] key;
+    private final long createdNanos;
 
     public AbstractLookupQuery(TableBucket tableBucket, byte[] key) {
         this.tableBucket = tableBucket;
         this.key = key;
+        this.createdNanos = System.nanoTime();
     }
 
     public byte[] key() {
@@ -42,6 +44,11 @@ public abstract class AbstractLookupQuery<T> {
         return tableBucket;
     }
 
+    /** The {@link System#nanoTime()} when the lookup was created. */
+    public long createdNanos() {
+        return createdNanos;
+    }
+
     public abstract LookupType lookupType();
 
     public abstract CompletableFuture<T> future();
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.config.ConfigOptions;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sizes the lookup batches drained from the {@link LookupQueue} from the observed arrival rate of
+ * the lookups and the response time of the lookup requests, to meet a latency target.
+ *
+ * <p>The latency of a lookup is the time it waits in a batch plus the response time of the
+ * request, so a batch waits at most the latency target minus the response time, bounded by {@link
+ * ConfigOptions#CLIENT_LOOKUP_BATCH_TIMEOUT}. The target batch size is the number of lookups
+ * expected to arrive in that time, but at least the number of lookups arriving during a response
+ * time divided by the max in-flight requests, so that the requests keep up with the arrivals when
+ * the server is slow. It's bounded by {@link ConfigOptions#CLIENT_LOOKUP_MAX_BATCH_SIZE}.
+ *
+ * <p>At a low arrival rate, the target batch size is 1 and the lookups are sent without waiting;
+ * at a high arrival rate, the batches fill up before the timeout.
+ */
+@ThreadSafe
+@Internal
+class AdaptiveLookupBatcher {
+
+    /** The weight of the latest sample in the moving averages. */
+    private static final double AVERAGE_ALPHA = 0.2;
+
+    /** The minimum interval to sample the arrival rate, to not be skewed by bursts of drains. */
+    private static final long RATE_SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maxBatchSize;
+    private final long maxBatchTimeoutNanos;
+    private final long latencyTargetNanos;
+    private final int maxInFlightRequests;
+
+    private final AtomicLong arrivedLookups = new AtomicLong();
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private long lastSampledLookups = 0;
+
+    @GuardedBy("lock")
+    private long lastSampleNanos;
+
+    /** The moving average of the arrival rate of the lookups, in lookups per nanosecond. */
+    @GuardedBy("lock")
+    private double arrivalRate = 0;
+
+    /** The moving average of the response time of the lookup requests, -1 if unknown. */
+    @GuardedBy("lock")
+    private double responseTimeNanos = -1;
+
+    AdaptiveLookupBatcher(
+            int maxBatchSize,
+            long maxBatchTimeoutNanos,
+            long latencyTargetNanos,
+            int maxInFlightRequests,
+            long nowNanos) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchTimeoutNanos = maxBatchTimeoutNanos;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.lastSampleNanos = nowNanos;
+    }
+
+    /** Records that a lookup is appended to the lookup queue. */
+    void onLookupArrived() {
+        arrivedLookups.incrementAndGet();
+    }
+
+    /** Records the response time of a lookup request. */
+    void onRequestCompleted(long responseTimeNanos) {
+        synchronized (lock) {
+            if (this.responseTimeNanos < 0) {
+                this.responseTimeNanos = responseTimeNanos;
+            } else {
+                this.responseTimeNanos =
+                        AVERAGE_ALPHA * responseTimeNanos
+                                + (1 - AVERAGE_ALPHA) * this.responseTimeNanos;
+            }
+        }
+    }
+
+    /** Returns the max time a batch waits for more lookups since its first lookup arrived. */
+    long batchTimeoutNanos() {
+        synchronized (lock) {
+            return batchTimeoutNanosLocked();
+        }
+    }
+
+    /** Returns the size of batch to wait for, sampling the arrival rate of the lookups. */
+    int targetBatchSize(long nowNanos) {
+        synchronized (lock) {
+            long elapsedNanos = nowNanos - lastSampleNanos;
+            if (elapsedNanos >= RATE_SAMPLE_INTERVAL_NANOS) {
+                long lookups = arrivedLookups.get();
+                double rate = (double) (lookups - lastSampledLookups) / elapsedNanos;
+                arrivalRate = AVERAGE_ALPHA * rate + (1 - AVERAGE_ALPHA) * arrivalRate;
+                lastSampledLookups = lookups;
+                lastSampleNanos = nowNanos;
+            }
+
+            double batchSize = arrivalRate * batchTimeoutNanosLocked();
+            if (responseTimeNanos > 0) {
+                batchSize =
+                        Math.max(batchSize, arrivalRate * responseTimeNanos / maxInFlightRequests);
+            }
+            return (int) Math.max(1, Math.min(maxBatchSize, Math.round(batchSize)));
+        }
+    }
+
+    @GuardedBy("lock")
+    private long batchTimeoutNanosLocked() {
+        long responseTime = responseTimeNanos < 0 ? 0 : (long) responseTimeNanos;
+        return Math.max(0, Math.min(maxBatchTimeoutNanos, latencyTargetNanos - responseTime));
+    }
+}
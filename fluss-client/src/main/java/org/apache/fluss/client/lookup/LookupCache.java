@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.table.scanner.ScanRecord;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
+import org.apache.fluss.client.table.scanner.log.ScanRecords;
+import org.apache.fluss.metadata.DataLakeFormat;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+import org.apache.fluss.utils.types.Tuple2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache of the values looked up by primary key, which is kept consistent with the
+ * tables by consuming the changelog of the cached buckets.
+ *
+ * <p>Each lookup response carries the log offset up to which the changes of the bucket are
+ * reflected in the looked up values. The cache subscribes to the changelog of a bucket from the
+ * offset of the first values cached for the bucket, and invalidates the keys changed in the
+ * consumed changelog. The values are only cached if their offset isn't less than the offset
+ * consumed from the changelog of the bucket, otherwise a change of the key after the offset may
+ * have been consumed before the value is cached, and the stale value would never be invalidated.
+ *
+ * <p>The changelog is consumed asynchronously, by a thread per table, so a changed value may still
+ * be served until the change is fetched from the changelog. If the changelog of a table fails to
+ * be consumed, the values of the table are invalidated and never cached again.
+ *
+ * <p>The cache is bounded by the approximate memory size of the cached keys and values. The absence
+ * of a key is cached too, as the lookups of dimension tables may hit missing keys frequently.
+ */
+@ThreadSafe
+@Internal
+class LookupCache implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LookupCache.class);
+
+    private static final String INVALIDATOR_THREAD_PREFIX = "fluss-lookup-cache-invalidator";
+
+    /** The approximate memory overhead of a cache entry, including the key and map entry. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** The value to mark the absence of a key in the table. */
+    private static final byte[] ABSENT = new byte[0];
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final long maxBytes;
+    private final MetadataUpdater metadataUpdater;
+
+    /**
+     * Creates a log scanner of the table whose rows only contain the primary key columns, in the
+     * order of {@link TableInfo#getPrimaryKeys()}.
+     */
+    private final Function<TableInfo, LogScanner> changelogScannerFactory;
+
+    private final ExecutorService invalidatorThreadPool;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final LinkedHashMap<CacheKey, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("lock")
+    private long sizeInBytes = 0;
+
+    /** The next offset to consume from the changelog of each subscribed bucket. */
+    @GuardedBy("lock")
+    private final Map<TableBucket, Long> consumedOffsets = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final Map<Long, ChangelogInvalidator> invalidators = new HashMap<>();
+
+    /** The tables whose changelog failed to be consumed, which are never cached again. */
+    @GuardedBy("lock")
+    private final Set<Long> uncachedTables = new HashSet<>();
+
+    @GuardedBy("lock")
+    private boolean closed = false;
+
+    LookupCache(
+            long maxBytes,
+            MetadataUpdater metadataUpdater,
+            Function<TableInfo, LogScanner> changelogScannerFactory) {
+        this.maxBytes = maxBytes;
+        this.metadataUpdater = metadataUpdater;
+        this.changelogScannerFactory = changelogScannerFactory;
+        this.invalidatorThreadPool =
+                Executors.newCachedThreadPool(new ExecutorThreadFactory(INVALIDATOR_THREAD_PREFIX));
+    }
+
+    /**
+     * Gets the cached value of the key.
+     *
+     * @return null if the key isn't cached, {@link #isAbsent(byte[])} returns true for the returned
+     *     value if the key is cached as absent in the table.
+     */
+    @Nullable
+    byte[] get(TableBucket tableBucket, byte[] key) {
+        synchronized (lock) {
+            return entries.get(new CacheKey(tableBucket, key));
+        }
+    }
+
+    /** Returns whether the cached value marks the absence of the key. */
+    static boolean isAbsent(byte[] cachedValue) {
+        return cachedValue == ABSENT;
+    }
+
+    /**
+     * Caches the values looked up from the bucket, if no change after the given offset has been
+     * consumed from the changelog of the bucket.
+     *
+     * @param values the looked up values of the keys, null if the key doesn't exist in the table
+     * @param flushedLogOffset the log offset up to which the changes of the bucket are reflected in
+     *     the values
+     */
+    void put(
+            TableBucket tableBucket,
+            List<byte[]> keys,
+            List<byte[]> values,
+            long flushedLogOffset) {
+        synchronized (lock) {
+            if (closed || uncachedTables.contains(tableBucket.getTableId())) {
+                return;
+            }
+            Long consumedOffset = consumedOffsets.get(tableBucket);
+            if (consumedOffset == null) {
+                consumedOffsets.put(tableBucket, flushedLogOffset);
+                invalidators
+                        .computeIfAbsent(tableBucket.getTableId(), this::startInvalidator)
+                        .subscribe(tableBucket, flushedLogOffset);
+            } else if (flushedLogOffset < consumedOffset) {
+                return;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                CacheKey cacheKey = new CacheKey(tableBucket, keys.get(i));
+                byte[] value = values.get(i) == null ? ABSENT : values.get(i);
+                long entrySize = entrySize(cacheKey, value);
+                if (entrySize > maxBytes) {
+                    continue;
+                }
+                byte[] previous = entries.put(cacheKey, value);
+                if (previous != null) {
+                    sizeInBytes -= entrySize(cacheKey, previous);
+                }
+                sizeInBytes += entrySize;
+            }
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Invalidates the keys changed in the changelog of the bucket, and advances the consumed
+     * offset of the bucket to the given next offset.
+     */
+    @VisibleForTesting
+    void invalidate(TableBucket tableBucket, List<byte[]> changedKeys, long nextOffset) {
+        synchronized (lock) {
+            for (byte[] key : changedKeys) {
+                CacheKey cacheKey = new CacheKey(tableBucket, key);
+                byte[] previous = entries.remove(cacheKey);
+                if (previous != null) {
+                    sizeInBytes -= entrySize(cacheKey, previous);
+                }
+            }
+            consumedOffsets.computeIfPresent(
+                    tableBucket, (tb, offset) -> Math.max(offset, nextOffset));
+        }
+    }
+
+    /** Invalidates all the values of the table, and never caches the table again. */
+    private void uncacheTable(long tableId, Throwable cause) {
+        LOG.warn(
+                "Failed to consume the changelog of table {}, stop caching the lookups of it.",
+                tableId,
+                cause);
+        synchronized (lock) {
+            uncachedTables.add(tableId);
+            invalidators.remove(tableId);
+            consumedOffsets.keySet().removeIf(tb -> tb.getTableId() == tableId);
+            Iterator<Map.Entry<CacheKey, byte[]>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<CacheKey, byte[]> entry = it.next();
+                if (entry.getKey().tableBucket.getTableId() == tableId) {
+                    it.remove();
+                    sizeInBytes -= entrySize(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private ChangelogInvalidator startInvalidator(long tableId) {
+        ChangelogInvalidator invalidator = new ChangelogInvalidator(tableId);
+        invalidatorThreadPool.submit(invalidator);
+        return invalidator;
+    }
+
+    @GuardedBy("lock")
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<CacheKey, byte[]>> it = entries.entrySet().iterator();
+        while (sizeInBytes > maxBytes && it.hasNext()) {
+            Map.Entry<CacheKey, byte[]> eldest = it.next();
+            it.remove();
+            sizeInBytes -= entrySize(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static long entrySize(CacheKey key, byte[] value) {
+        return ENTRY_OVERHEAD + key.key.length + value.length;
+    }
+
+    @VisibleForTesting
+    long getSizeInBytes() {
+        synchronized (lock) {
+            return sizeInBytes;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            invalidators.values().forEach(ChangelogInvalidator::stop);
+            invalidators.clear();
+            entries.clear();
+            sizeInBytes = 0;
+        }
+        invalidatorThreadPool.shutdown();
+        try {
+            if (!invalidatorThreadPool.awaitTermination(
+                    POLL_TIMEOUT.toMillis() * 10, TimeUnit.MILLISECONDS)) {
+                invalidatorThreadPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            invalidatorThreadPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Consumes the changelog of the cached buckets of a table to invalidate the changed keys. */
+    private final class ChangelogInvalidator implements Runnable {
+
+        private final long tableId;
+        private final Queue<Tuple2<TableBucket, Long>> pendingSubscriptions =
+                new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        private ChangelogInvalidator(long tableId) {
+            this.tableId = tableId;
+        }
+
+        /** Subscribes to the changelog of the bucket from the given offset. */
+        private void subscribe(TableBucket tableBucket, long offset) {
+            pendingSubscriptions.add(Tuple2.of(tableBucket, offset));
+        }
+
+        private void stop() {
+            running = false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                TableInfo tableInfo = metadataUpdater.getTableInfoOrElseThrow(tableId);
+                DataLakeFormat lakeFormat =
+                        tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
+                // encodes the keys the same as the primary key lookuper
+                KeyEncoder primaryKeyEncoder =
+                        KeyEncoder.of(
+                                tableInfo.getRowType().project(tableInfo.getPrimaryKeys()),
+                                tableInfo.getPhysicalPrimaryKeys(),
+                                lakeFormat);
+                try (LogScanner changelogScanner = changelogScannerFactory.apply(tableInfo)) {
+                    while (running) {
+                        subscribePending(changelogScanner);
+                        ScanRecords scanRecords = changelogScanner.poll(POLL_TIMEOUT);
+                        for (TableBucket tableBucket : scanRecords.buckets()) {
+                            List<ScanRecord> records = scanRecords.records(tableBucket);
+                            List<byte[]> changedKeys = new ArrayList<>(records.size());
+                            for (ScanRecord record : records) {
+                                changedKeys.add(primaryKeyEncoder.encodeKey(record.getRow()));
+                            }
+                            long nextOffset = records.get(records.size() - 1).logOffset() + 1;
+                            invalidate(tableBucket, changedKeys, nextOffset);
+                        }
+                    }
+                }
+            } catch (Throwable t) {
+                if (running) {
+                    uncacheTable(tableId, t);
+                }
+            }
+        }
+
+        private void subscribePending(LogScanner changelogScanner) {
+            Tuple2<TableBucket, Long> subscription;
+            while ((subscription = pendingSubscriptions.poll()) != null) {
+                TableBucket tableBucket = subscription.f0;
+                if (tableBucket.getPartitionId() == null) {
+                    changelogScanner.subscribe(tableBucket.getBucket(), subscription.f1);
+                } else {
+                    changelogScanner.subscribe(
+                            tableBucket.getPartitionId(), tableBucket.getBucket(), subscription.f1);
+                }
+            }
+        }
+    }
+
+    /** The key of a cache entry, i.e., the encoded primary key in a table bucket. */
+    private static final class CacheKey {
+        private final TableBucket tableBucket;
+        private final byte[] key;
+        private final int hashCode;
+
+        private CacheKey(TableBucket tableBucket, byte[] key) {
+            this.tableBucket = tableBucket;
+            this.key = key;
+            this.hashCode = 31 * tableBucket.hashCode() + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return Objects.equals(tableBucket, that.tableBucket) && Arrays.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
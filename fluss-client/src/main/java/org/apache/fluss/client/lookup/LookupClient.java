@@ -19,14 +19,25 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.metrics.LookupMetricGroup;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.LeaderNotAvailableException;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.time.Duration;
@@ -35,6 +46,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * A client that lookups value of keys from server.
@@ -46,6 +58,9 @@ import java.util.concurrent.TimeUnit;
  * <p>The {@link #lookup(TableBucket, byte[])} method is asynchronous, when called, it adds the
  * lookup operation to a queue of pending lookup operations and immediately returns. This allows the
  * lookup operations to batch together individual lookup operations for efficiency.
+ *
+ * <p>If {@link ConfigOptions#CLIENT_LOOKUP_CACHE_SIZE} is positive, the values looked up by {@link
+ * #lookup(TableBucket, byte[])} are cached in a {@link LookupCache}.
  */
 @ThreadSafe
 @Internal
@@ -60,14 +75,58 @@ public class LookupClient {
     private final ExecutorService lookupSenderThreadPool;
     private final LookupSender lookupSender;
 
-    public LookupClient(Configuration conf, MetadataUpdater metadataUpdater) {
-        this.lookupQueue = new LookupQueue(conf);
+    private final MetadataUpdater metadataUpdater;
+    private final int pageMaxBytes;
+
+    /** The cache of the values looked up by primary key, null if the cache is disabled. */
+    @Nullable private final LookupCache lookupCache;
+
+    private final LookupMetricGroup lookupMetricGroup;
+
+    /**
+     * Creates a lookup client, which caches the values looked up by primary key if {@link
+     * ConfigOptions#CLIENT_LOOKUP_CACHE_SIZE} is positive.
+     *
+     * <p>If {@link ConfigOptions#CLIENT_LOOKUP_ADAPTIVE_BATCH_ENABLED} is true, the lookup batches
+     * are sized by an {@link AdaptiveLookupBatcher} to meet the latency target.
+     *
+     * @param changelogScannerFactory creates a log scanner of the primary key columns of the table
+     *     to keep the lookup cache consistent, null to disable the lookup cache
+     */
+    public LookupClient(
+            Configuration conf,
+            MetadataUpdater metadataUpdater,
+            ClientMetricGroup clientMetricGroup,
+            @Nullable Function<TableInfo, LogScanner> changelogScannerFactory) {
+        this.metadataUpdater = metadataUpdater;
+        this.pageMaxBytes = (int) conf.get(ConfigOptions.CLIENT_LOOKUP_PAGE_MAX_BYTES).getBytes();
+        long cacheSize = conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_SIZE).getBytes();
+        this.lookupCache =
+                cacheSize > 0 && changelogScannerFactory != null
+                        ? new LookupCache(cacheSize, metadataUpdater, changelogScannerFactory)
+                        : null;
+        int maxInFlightRequests = conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_INFLIGHT_SIZE);
+        AdaptiveLookupBatcher adaptiveBatcher =
+                conf.get(ConfigOptions.CLIENT_LOOKUP_ADAPTIVE_BATCH_ENABLED)
+                        ? new AdaptiveLookupBatcher(
+                                conf.get(ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE),
+                                conf.get(ConfigOptions.CLIENT_LOOKUP_BATCH_TIMEOUT).toNanos(),
+                                conf.get(ConfigOptions.CLIENT_LOOKUP_ADAPTIVE_BATCH_LATENCY_TARGET)
+                                        .toNanos(),
+                                maxInFlightRequests,
+                                System.nanoTime())
+                        : null;
+        this.lookupQueue = new LookupQueue(conf, adaptiveBatcher);
+        this.lookupMetricGroup = new LookupMetricGroup(clientMetricGroup);
         this.lookupSenderThreadPool = createThreadPool();
         this.lookupSender =
                 new LookupSender(
                         metadataUpdater,
                         lookupQueue,
-                        conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_INFLIGHT_SIZE));
+                        maxInFlightRequests,
+                        lookupCache,
+                        adaptiveBatcher,
+                        lookupMetricGroup);
         lookupSenderThreadPool.submit(lookupSender);
     }
 
@@ -78,6 +137,13 @@ public class LookupClient {
     }
 
     public CompletableFuture<byte[]> lookup(TableBucket tableBucket, byte[] keyBytes) {
+        if (lookupCache != null) {
+            byte[] cachedValue = lookupCache.get(tableBucket, keyBytes);
+            if (cachedValue != null) {
+                return CompletableFuture.completedFuture(
+                        LookupCache.isAbsent(cachedValue) ? null : cachedValue);
+            }
+        }
         LookupQuery lookup = new LookupQuery(tableBucket, keyBytes);
         lookupQueue.appendLookup(lookup);
         return lookup.future();
@@ -89,6 +155,44 @@ public class LookupClient {
         return prefixLookup.future();
     }
 
+    /**
+     * Scans a page of the values of the prefix key from the leader of the bucket. The page scan is
+     * sent to the server directly, without batching with the other lookup operations.
+     *
+     * @param continuationToken the continuation token of the previous page, null for the first page
+     */
+    public CompletableFuture<ScanKvResponse> prefixLookupPage(
+            TableBucket tableBucket, byte[] prefixKey, @Nullable byte[] continuationToken) {
+        ScanKvRequest scanKvRequest =
+                new ScanKvRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket())
+                        .setPrefixKey(prefixKey)
+                        .setMaxBytes(pageMaxBytes);
+        if (tableBucket.getPartitionId() != null) {
+            scanKvRequest.setPartitionId(tableBucket.getPartitionId());
+        }
+        if (continuationToken != null) {
+            scanKvRequest.setContinuationToken(continuationToken);
+        }
+
+        int leader = metadataUpdater.leaderFor(tableBucket);
+        TabletServerGateway gateway = metadataUpdater.newTabletServerClientForNode(leader);
+        if (gateway == null) {
+            return FutureUtils.completedExceptionally(
+                    new LeaderNotAvailableException(
+                            "Server " + leader + " is not found in metadata cache."));
+        }
+        return gateway.scanKv(scanKvRequest)
+                .thenApply(
+                        response -> {
+                            if (response.hasErrorCode()) {
+                                throw ApiError.fromErrorMessage(response).exception();
+                            }
+                            return response;
+                        });
+    }
+
     public void close(Duration timeout) {
         LOG.info("Closing lookup client and lookup sender.");
 
@@ -117,6 +221,11 @@ public class LookupClient {
         if (lookupSender != null) {
             lookupSender.forceClose();
         }
+
+        if (lookupCache != null) {
+            lookupCache.close();
+        }
+        lookupMetricGroup.close();
         LOG.info("Lookup client closed.");
     }
 }
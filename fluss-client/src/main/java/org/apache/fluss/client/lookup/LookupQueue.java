@@ -21,6 +21,7 @@ import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.ArrayList;
@@ -41,12 +42,19 @@ class LookupQueue {
     private final ArrayBlockingQueue<AbstractLookupQuery<?>> lookupQueue;
     private final int maxBatchSize;
     private final long batchTimeoutNanos;
+    // sizes the batches to the latency target, null if adaptive batching is disabled.
+    @Nullable private final AdaptiveLookupBatcher adaptiveBatcher;
 
     LookupQueue(Configuration conf) {
+        this(conf, null);
+    }
+
+    LookupQueue(Configuration conf, @Nullable AdaptiveLookupBatcher adaptiveBatcher) {
         this.lookupQueue =
                 new ArrayBlockingQueue<>(conf.get(ConfigOptions.CLIENT_LOOKUP_QUEUE_SIZE));
         this.maxBatchSize = conf.get(ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE);
         this.batchTimeoutNanos = conf.get(ConfigOptions.CLIENT_LOOKUP_BATCH_TIMEOUT).toNanos();
+        this.adaptiveBatcher = adaptiveBatcher;
         this.closed = false;
     }
 
@@ -58,6 +66,9 @@ class LookupQueue {
 
         try {
             lookupQueue.put(lookup);
+            if (adaptiveBatcher != null) {
+                adaptiveBatcher.onLookupArrived();
+            }
         } catch (InterruptedException e) {
             lookup.future().completeExceptionally(e);
         }
@@ -69,6 +80,9 @@ class LookupQueue {
 
     /** Drain a batch of {@link LookupQuery}s from the lookup queue. */
     List<AbstractLookupQuery<?>> drain() throws Exception {
+        if (adaptiveBatcher != null) {
+            return drainAdaptively(adaptiveBatcher);
+        }
         final long startNanos = System.nanoTime();
         List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>(maxBatchSize);
         int count = 0;
@@ -93,6 +107,40 @@ class LookupQueue {
         return lookupOperations;
     }
 
+    /**
+     * Drain a batch of {@link LookupQuery}s sized by the {@link AdaptiveLookupBatcher}. It waits
+     * for the first lookup up to the batch timeout, then waits for the target batch size until the
+     * adaptive batch timeout elapsed since the first lookup was created.
+     */
+    private List<AbstractLookupQuery<?>> drainAdaptively(AdaptiveLookupBatcher batcher)
+            throws Exception {
+        List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>();
+        AbstractLookupQuery<?> first = lookupQueue.poll(batchTimeoutNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return lookupOperations;
+        }
+        lookupOperations.add(first);
+        int count = 1 + lookupQueue.drainTo(lookupOperations, maxBatchSize - 1);
+
+        int targetBatchSize = batcher.targetBatchSize(System.nanoTime());
+        long deadlineNanos = first.createdNanos() + batcher.batchTimeoutNanos();
+        while (count < targetBatchSize) {
+            long waitNanos = deadlineNanos - System.nanoTime();
+            if (waitNanos <= 0) {
+                break;
+            }
+
+            AbstractLookupQuery<?> lookup = lookupQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if (lookup == null) {
+                break;
+            }
+            lookupOperations.add(lookup);
+            count++;
+            count += lookupQueue.drainTo(lookupOperations, maxBatchSize - count);
+        }
+        return lookupOperations;
+    }
+
     /** Drain all the {@link LookupQuery}s from the lookup queue. */
     List<AbstractLookupQuery<?>> drainAll() {
         List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>(lookupQueue.size());
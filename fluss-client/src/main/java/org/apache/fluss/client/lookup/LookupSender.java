@@ -19,6 +19,7 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.metrics.LookupMetricGroup;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.exception.LeaderNotAvailableException;
 import org.apache.fluss.metadata.TableBucket;
@@ -36,11 +37,14 @@ import org.apache.fluss.utils.types.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makeLookupRequest;
@@ -65,10 +69,27 @@ class LookupSender implements Runnable {
 
     private final Semaphore maxInFlightReuqestsSemaphore;
 
-    LookupSender(MetadataUpdater metadataUpdater, LookupQueue lookupQueue, int maxFlightRequests) {
+    /** The cache to put the values looked up by primary key, null if the cache is disabled. */
+    @Nullable private final LookupCache lookupCache;
+
+    /** The batcher to report the response time to, null if adaptive batching is disabled. */
+    @Nullable private final AdaptiveLookupBatcher adaptiveBatcher;
+
+    private final LookupMetricGroup lookupMetricGroup;
+
+    LookupSender(
+            MetadataUpdater metadataUpdater,
+            LookupQueue lookupQueue,
+            int maxFlightRequests,
+            @Nullable LookupCache lookupCache,
+            @Nullable AdaptiveLookupBatcher adaptiveBatcher,
+            LookupMetricGroup lookupMetricGroup) {
         this.metadataUpdater = metadataUpdater;
         this.lookupQueue = lookupQueue;
         this.maxInFlightReuqestsSemaphore = new Semaphore(maxFlightRequests);
+        this.lookupCache = lookupCache;
+        this.adaptiveBatcher = adaptiveBatcher;
+        this.lookupMetricGroup = lookupMetricGroup;
         this.running = true;
     }
 
@@ -154,6 +175,7 @@ class LookupSender implements Runnable {
                     "Server " + destination + " is not found in metadata cache.");
         }
 
+        updateBatchMetrics(lookupBatches);
         if (lookupType == LookupType.LOOKUP) {
             sendLookupRequest(gateway, lookupBatches);
         } else if (lookupType == LookupType.PREFIX_LOOKUP) {
@@ -163,6 +185,17 @@ class LookupSender implements Runnable {
         }
     }
 
+    private void updateBatchMetrics(List<AbstractLookupQuery<?>> lookupBatches) {
+        long oldestCreatedNanos = Long.MAX_VALUE;
+        for (AbstractLookupQuery<?> lookup : lookupBatches) {
+            oldestCreatedNanos = Math.min(oldestCreatedNanos, lookup.createdNanos());
+        }
+        lookupMetricGroup.lookupsPerBatch().update(lookupBatches.size());
+        lookupMetricGroup
+                .lookupQueueTimeMs()
+                .update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestCreatedNanos));
+    }
+
     private void sendLookupRequest(
             TabletServerGateway gateway, List<AbstractLookupQuery<?>> lookups) {
         // table id -> (bucket -> lookups)
@@ -220,10 +253,12 @@ class LookupSender implements Runnable {
             Thread.currentThread().interrupt();
             throw new FlussRuntimeException("interrupted:", e);
         }
+        long sendNanos = System.nanoTime();
         gateway.lookup(lookupRequest)
                 .thenAccept(
                         lookupResponse -> {
                             try {
+                                onRequestCompleted(sendNanos);
                                 handleLookupResponse(tableId, lookupResponse, lookupsByBucket);
                             } finally {
                                 maxInFlightReuqestsSemaphore.release();
@@ -251,10 +286,12 @@ class LookupSender implements Runnable {
             Thread.currentThread().interrupt();
             throw new FlussRuntimeException("interrupted:", e);
         }
+        long sendNanos = System.nanoTime();
         gateway.prefixLookup(prefixLookupRequest)
                 .thenAccept(
                         prefixLookupResponse -> {
                             try {
+                                onRequestCompleted(sendNanos);
                                 handlePrefixLookupResponse(
                                         tableId, prefixLookupResponse, lookupsByBucket);
                             } finally {
@@ -272,6 +309,12 @@ class LookupSender implements Runnable {
                         });
     }
 
+    private void onRequestCompleted(long sendNanos) {
+        if (adaptiveBatcher != null) {
+            adaptiveBatcher.onRequestCompleted(System.nanoTime() - sendNanos);
+        }
+    }
+
     private void handleLookupResponse(
             long tableId,
             LookupResponse lookupResponse,
@@ -305,6 +348,21 @@ class LookupSender implements Runnable {
                                             }
                                         })
                                 .collect(Collectors.toList());
+                if (lookupCache != null
+                        && pbLookupRespForBucket.hasFlushedLogOffset()
+                        && byteValues.size() == lookupBatch.lookups().size()) {
+                    // cache the values before completing the lookups, so that the following
+                    // lookups of the same keys hit the cache
+                    List<byte[]> keys = new ArrayList<>(byteValues.size());
+                    for (LookupQuery lookup : lookupBatch.lookups()) {
+                        keys.add(lookup.key());
+                    }
+                    lookupCache.put(
+                            tableBucket,
+                            keys,
+                            byteValues,
+                            pbLookupRespForBucket.getFlushedLogOffset());
+                }
                 lookupBatch.complete(byteValues);
             }
         }
@@ -19,6 +19,7 @@ package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.utils.CloseableIterator;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -41,4 +42,29 @@ public interface Lookuper {
      * @return the result of lookup.
      */
     CompletableFuture<LookupResult> lookup(InternalRow lookupKey);
+
+    /**
+     * Lookups the rows of the given prefix key, and returns an iterator of the rows. Different from
+     * {@link #lookup(InternalRow)}, the rows are fetched from the server page by page while
+     * iterating, so that a prefix key matching a large amount of rows doesn't need to be held in
+     * memory at once, neither on the server nor on the client.
+     *
+     * <p>The iteration is not a snapshot of the rows. The server doesn't keep any state between
+     * the pages, each page continues from the last key of the previous page on the latest data.
+     * Each page is read from a consistent view of the table, but if the table is updated during
+     * the iteration, the updated rows after the current position are returned in the new version,
+     * and the rows deleted after the current position are not returned.
+     *
+     * <p>It's only supported by the Prefix Key Lookuper (created by {@code
+     * table.newLookup().lookupBy(prefixKeys).createLookuper()}), the returned iterator must be
+     * closed after use.
+     *
+     * @param prefixKey the prefix key.
+     * @return the iterator of the rows matching the prefix key.
+     * @since 0.8
+     */
+    default CloseableIterator<InternalRow> lookupIterator(InternalRow prefixKey) {
+        throw new UnsupportedOperationException(
+                "Only the prefix key lookuper supports iterating the lookup result.");
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.fluss.row.encode.KeyEncoder;
 import org.apache.fluss.row.encode.ValueDecoder;
 import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
 
 import javax.annotation.Nullable;
 
@@ -145,26 +146,18 @@ class PrefixKeyLookuper implements Lookuper {
         }
     }
 
+    /**
+     * Lookups all the rows of the prefix key with the PrefixLookup RPC, which materializes all the
+     * matched rows in a single response, both on the server and in the result. Use {@link
+     * #lookupIterator(InternalRow)} to page through the rows of a prefix key matching many rows.
+     */
     @Override
     public CompletableFuture<LookupResult> lookup(InternalRow prefixKey) {
         byte[] bucketKeyBytes = bucketKeyEncoder.encodeKey(prefixKey);
-        int bucketId = bucketingFunction.bucketing(bucketKeyBytes, numBuckets);
-
-        Long partitionId = null;
-        if (partitionGetter != null) {
-            try {
-                partitionId =
-                        getPartitionId(
-                                prefixKey,
-                                partitionGetter,
-                                tableInfo.getTablePath(),
-                                metadataUpdater);
-            } catch (PartitionNotExistException e) {
-                return CompletableFuture.completedFuture(new LookupResult(Collections.emptyList()));
-            }
+        TableBucket tableBucket = toTableBucket(prefixKey, bucketKeyBytes);
+        if (tableBucket == null) {
+            return CompletableFuture.completedFuture(new LookupResult(Collections.emptyList()));
         }
-
-        TableBucket tableBucket = new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
         return lookupClient
                 .prefixLookup(tableBucket, bucketKeyBytes)
                 .thenApply(
@@ -179,4 +172,33 @@ class PrefixKeyLookuper implements Lookuper {
                             return new LookupResult(rowList);
                         });
     }
+
+    @Override
+    public CloseableIterator<InternalRow> lookupIterator(InternalRow prefixKey) {
+        byte[] bucketKeyBytes = bucketKeyEncoder.encodeKey(prefixKey);
+        TableBucket tableBucket = toTableBucket(prefixKey, bucketKeyBytes);
+        if (tableBucket == null) {
+            return CloseableIterator.emptyIterator();
+        }
+        return new PrefixLookupIterator(lookupClient, tableBucket, bucketKeyBytes, kvValueDecoder);
+    }
+
+    /** Returns the bucket of the prefix key, or null if the partition doesn't exist. */
+    private @Nullable TableBucket toTableBucket(InternalRow prefixKey, byte[] bucketKeyBytes) {
+        int bucketId = bucketingFunction.bucketing(bucketKeyBytes, numBuckets);
+        Long partitionId = null;
+        if (partitionGetter != null) {
+            try {
+                partitionId =
+                        getPartitionId(
+                                prefixKey,
+                                partitionGetter,
+                                tableInfo.getTablePath(),
+                                metadataUpdater);
+            } catch (PartitionNotExistException e) {
+                return null;
+            }
+        }
+        return new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.exception.FlussRuntimeException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.ExceptionUtils;
+
+import javax.annotation.Nullable;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An iterator of the rows matching a prefix key, which fetches the rows from the leader of the
+ * bucket page by page. The next page is requested as soon as the current page arrives, so that the
+ * fetching of the next page overlaps with the consuming of the current page.
+ */
+class PrefixLookupIterator implements CloseableIterator<InternalRow> {
+
+    private final LookupClient lookupClient;
+    private final TableBucket tableBucket;
+    private final byte[] prefixKey;
+    private final ValueDecoder kvValueDecoder;
+
+    /** The page being consumed, null if no page has been fetched yet. */
+    private @Nullable ScanKvResponse currentPage;
+
+    private int nextIndex;
+
+    /** The pending request of the next page, null if there is no more page. */
+    private @Nullable CompletableFuture<ScanKvResponse> nextPage;
+
+    PrefixLookupIterator(
+            LookupClient lookupClient,
+            TableBucket tableBucket,
+            byte[] prefixKey,
+            ValueDecoder kvValueDecoder) {
+        this.lookupClient = lookupClient;
+        this.tableBucket = tableBucket;
+        this.prefixKey = prefixKey;
+        this.kvValueDecoder = kvValueDecoder;
+        this.nextPage = lookupClient.prefixLookupPage(tableBucket, prefixKey, null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (currentPage == null || nextIndex >= currentPage.getValuesCount()) {
+            if (nextPage == null) {
+                return false;
+            }
+            currentPage = waitForPage(nextPage);
+            nextIndex = 0;
+            nextPage =
+                    currentPage.hasContinuationToken()
+                            ? lookupClient.prefixLookupPage(
+                                    tableBucket, prefixKey, currentPage.getContinuationToken())
+                            : null;
+        }
+        return true;
+    }
+
+    @Override
+    public InternalRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return kvValueDecoder.decodeValue(currentPage.getValueAt(nextIndex++)).row;
+    }
+
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        currentPage = null;
+    }
+
+    private ScanKvResponse waitForPage(CompletableFuture<ScanKvResponse> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlussRuntimeException(
+                    "Interrupted while waiting for the prefix lookup of " + tableBucket, e);
+        } catch (Exception e) {
+            Throwable t = ExceptionUtils.stripExecutionException(e);
+            throw new FlussRuntimeException("Failed to prefix lookup " + tableBucket, t);
+        }
+    }
+}
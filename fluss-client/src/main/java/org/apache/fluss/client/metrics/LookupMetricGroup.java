@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.metrics;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.lookup.LookupClient;
+import org.apache.fluss.metrics.CharacterFilter;
+import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
+import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.metrics.MetricNames;
+import org.apache.fluss.metrics.groups.AbstractMetricGroup;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+
+import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
+
+/** Metrics for {@link LookupClient}. */
+@Internal
+public class LookupMetricGroup extends AbstractMetricGroup {
+    private static final String name = "lookup";
+    private static final int WINDOW_SIZE = 1024;
+
+    private final Histogram lookupsPerBatch;
+    private final Histogram lookupQueueTimeMs;
+
+    public LookupMetricGroup(ClientMetricGroup parent) {
+        super(parent.getMetricRegistry(), makeScope(parent, name), parent);
+
+        lookupsPerBatch =
+                histogram(
+                        MetricNames.LOOKUP_LOOKUPS_PER_BATCH,
+                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        lookupQueueTimeMs =
+                histogram(
+                        MetricNames.LOOKUP_QUEUE_TIME_MS,
+                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+    }
+
+    /** The number of lookups in a lookup request. */
+    public Histogram lookupsPerBatch() {
+        return lookupsPerBatch;
+    }
+
+    /** The time the oldest lookup of a lookup request waited before the request is sent. */
+    public Histogram lookupQueueTimeMs() {
+        return lookupQueueTimeMs;
+    }
+
+    @Override
+    protected String getGroupName(CharacterFilter filter) {
+        return name;
+    }
+}
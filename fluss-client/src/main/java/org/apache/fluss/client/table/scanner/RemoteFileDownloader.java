@@ -26,6 +26,7 @@ import org.apache.fluss.fs.utils.FileDownloadUtils;
 import org.apache.fluss.utils.CloseableRegistry;
 import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+import org.apache.fluss.utils.function.SupplierWithException;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -83,6 +84,23 @@ public class RemoteFileDownloader implements Closeable {
         return future;
     }
 
+    /**
+     * Reads the remote files by the given reader in the IO thread pool asynchronously, returns a
+     * Future object of the result of the reader.
+     */
+    public <T> CompletableFuture<T> readAsync(SupplierWithException<T, IOException> reader) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        downloadThreadPool.submit(
+                () -> {
+                    try {
+                        future.complete(reader.get());
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+        return future;
+    }
+
     /**
      * Copies the file from a remote file path to the given target file path, returns the number of
      * downloaded bytes.
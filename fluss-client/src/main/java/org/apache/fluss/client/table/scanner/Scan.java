@@ -21,6 +21,7 @@ import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.table.scanner.batch.BatchScanner;
 import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.predicate.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -58,6 +59,20 @@ public interface Scan {
      */
     Scan limit(int rowNumber);
 
+    /**
+     * Returns a new scan from this that will push down the given filter to the server. The server
+     * skips the record batches whose statistics prove that no record in the batch matches the
+     * filter, which reduces the data sent over the network for selective scans.
+     *
+     * <p>Note: the filter only takes effect for {@link LogScanner}, and it's only a hint, the
+     * returned records may still contain records not matching the filter, the caller should
+     * evaluate the filter again if needed. The field indexes of the filter refer to the table
+     * schema rather than the projected schema.
+     *
+     * @param predicate the filter on the fields of the table, no filter if is null
+     */
+    Scan filter(@Nullable Predicate predicate);
+
     /**
      * Creates a {@link LogScanner} to continuously read log data for this scan.
      *
@@ -68,7 +83,9 @@ public interface Scan {
     /**
      * Creates a {@link BatchScanner} to read current data in the given table bucket for this scan.
      *
-     * <p>Note: this API doesn't support pre-configured with {@link #project}.
+     * <p>If {@link #limit(int)} is set, the scanner reads the limited number of rows. Otherwise,
+     * the scanner reads all the rows of the given bucket of a Primary Key Table, which are streamed
+     * from a consistent snapshot of the bucket on the tablet server.
      */
     BatchScanner createBatchScanner(TableBucket tableBucket);
 
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.batch;
+
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.exception.ApiException;
+import org.apache.fluss.exception.InvalidMetadataException;
+import org.apache.fluss.exception.LeaderNotAvailableException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.ExceptionUtils;
+import org.apache.fluss.utils.Projection;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link BatchScanner} implementation that streams all the rows of a primary key table bucket
+ * from the leader of the bucket, without downloading the kv snapshot files.
+ *
+ * <p>The rows are read by a scanner on the tablet server, which holds a consistent snapshot of the
+ * kv, and returned in arrow batches with the projection pushed down to the server. At most one
+ * batch is requested ahead of the batch being consumed, so a slow consumer back-pressures the scan
+ * on the server.
+ *
+ * <p>If the leader of the bucket changes before the scanner is opened, the scanner is opened on the
+ * new leader. Once a batch has been returned, the scan fails if the leader changes, as the snapshot
+ * of the scanner is lost and the scan must be restarted.
+ */
+public class KvBatchScanner implements BatchScanner {
+
+    /** The max times to retry opening the scanner on the new leader of the bucket. */
+    private static final int MAX_OPEN_RETRIES = 3;
+
+    private final TablePath tablePath;
+    private final TableBucket tableBucket;
+    private final MetadataUpdater metadataUpdater;
+    @Nullable private final Projection projection;
+    private final int maxBytes;
+    private final LogRecordReadContext readContext;
+    private final InternalRow.FieldGetter[] selectedFieldGetters;
+
+    /** The id of the scanner on the server, null before the scanner is opened. */
+    @Nullable private Long scannerId;
+
+    /** The log offset the snapshot of the scanner is taken at, null before it's opened. */
+    @Nullable private Long logOffset;
+
+    /** The gateway of the leader the scanner is opened on, all the batches are read from it. */
+    private TabletServerGateway gateway;
+
+    /** The times of retrying opening the scanner on the new leader. */
+    private int openRetries = 0;
+
+    /** The request of the next batch, null if there are no more batches. */
+    @Nullable private CompletableFuture<KvScanResponse> nextBatch;
+
+    public KvBatchScanner(
+            TableInfo tableInfo,
+            TableBucket tableBucket,
+            MetadataUpdater metadataUpdater,
+            @Nullable int[] projectedFields,
+            int maxBytes) {
+        this.tablePath = tableInfo.getTablePath();
+        this.tableBucket = tableBucket;
+        this.metadataUpdater = metadataUpdater;
+        this.projection = projectedFields == null ? null : Projection.of(projectedFields);
+        this.maxBytes = maxBytes;
+
+        if (tableBucket.getPartitionId() != null) {
+            metadataUpdater.checkAndUpdateMetadata(tableInfo.getTablePath(), tableBucket);
+        }
+        // all the batches must be read from the scanner opened on the same server
+        this.gateway = leaderGateway();
+
+        this.readContext =
+                LogRecordReadContext.createProjectedArrowReadContext(
+                        tableInfo.getRowType(), tableInfo.getSchemaId(), projection);
+        this.selectedFieldGetters = readContext.getSelectedFieldGetters();
+        this.nextBatch = gateway.kvScan(newKvScanRequest());
+    }
+
+    @Nullable
+    @Override
+    public CloseableIterator<InternalRow> pollBatch(Duration timeout) throws IOException {
+        if (nextBatch == null) {
+            return null;
+        }
+        KvScanResponse response;
+        try {
+            response = nextBatch.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // poll next time
+            return CloseableIterator.emptyIterator();
+        } catch (Exception e) {
+            throw new IOException(ExceptionUtils.stripExecutionException(e));
+        }
+        if (response.hasErrorCode()) {
+            ApiException exception = ApiError.fromErrorMessage(response).exception();
+            if (scannerId == null
+                    && exception instanceof InvalidMetadataException
+                    && openRetries < MAX_OPEN_RETRIES) {
+                // the leader has changed before the scanner is opened, open it on the new leader
+                openRetries++;
+                metadataUpdater.updateTableOrPartitionMetadata(
+                        tablePath, tableBucket.getPartitionId());
+                gateway = leaderGateway();
+                nextBatch = gateway.kvScan(newKvScanRequest());
+                return CloseableIterator.emptyIterator();
+            }
+            nextBatch = null;
+            throw new IOException(exception);
+        }
+
+        scannerId = response.getScannerId();
+        if (response.hasLogOffset()) {
+            logOffset = response.getLogOffset();
+        }
+        // request the next batch before consuming this one, to overlap the reading on the server
+        // with the consuming on the client
+        nextBatch = response.isHasMoreResults() ? gateway.kvScan(newKvScanRequest()) : null;
+        return CloseableIterator.wrap(parseKvScanResponse(response).iterator());
+    }
+
+    /**
+     * Returns the log offset the snapshot of the scan is taken at, the rows of the scan reflect all
+     * the changes before the offset. Returns null if the first batch hasn't been polled yet.
+     */
+    @Nullable
+    public Long getLogOffset() {
+        return logOffset;
+    }
+
+    private TabletServerGateway leaderGateway() {
+        int leader = metadataUpdater.leaderFor(tableBucket);
+        TabletServerGateway gateway = metadataUpdater.newTabletServerClientForNode(leader);
+        if (gateway == null) {
+            throw new LeaderNotAvailableException(
+                    "Server " + leader + " is not found in metadata cache.");
+        }
+        return gateway;
+    }
+
+    private KvScanRequest newKvScanRequest() {
+        KvScanRequest request =
+                new KvScanRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket())
+                        .setMaxBytes(maxBytes);
+        if (tableBucket.getPartitionId() != null) {
+            request.setPartitionId(tableBucket.getPartitionId());
+        }
+        if (scannerId != null) {
+            request.setScannerId(scannerId);
+        } else if (projection != null) {
+            // the server requires the projected fields in order
+            request.setProjectedFields(projection.getProjectionInOrder());
+        }
+        return request;
+    }
+
+    private List<InternalRow> parseKvScanResponse(KvScanResponse response) {
+        List<InternalRow> scanRows = new ArrayList<>();
+        if (!response.hasRecords()) {
+            return scanRows;
+        }
+        MemoryLogRecords records =
+                MemoryLogRecords.pointToByteBuffer(ByteBuffer.wrap(response.getRecords()));
+        for (LogRecordBatch logRecordBatch : records.batches()) {
+            try (CloseableIterator<LogRecord> logRecordIterator =
+                    logRecordBatch.records(readContext)) {
+                while (logRecordIterator.hasNext()) {
+                    // deep copy the row, as the underlying arrow batch is reused
+                    InternalRow row = logRecordIterator.next().getRow();
+                    GenericRow newRow = new GenericRow(selectedFieldGetters.length);
+                    for (int i = 0; i < selectedFieldGetters.length; i++) {
+                        newRow.setField(i, selectedFieldGetters[i].getFieldOrNull(row));
+                    }
+                    scanRows.add(newRow);
+                }
+            }
+        }
+        return scanRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (nextBatch != null) {
+            // close the scanner on the server once the pending request completes, otherwise the
+            // scanner pins the snapshot of the kv until it expires
+            nextBatch.thenAccept(
+                    response -> {
+                        if (!response.hasErrorCode() && response.isHasMoreResults()) {
+                            scannerId = response.getScannerId();
+                            gateway.kvScan(newKvScanRequest().setCloseScanner(true));
+                        }
+                    });
+            nextBatch = null;
+        }
+        readContext.close();
+    }
+}
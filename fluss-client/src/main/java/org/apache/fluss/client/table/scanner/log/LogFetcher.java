@@ -34,6 +34,7 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePartition;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
@@ -48,6 +49,7 @@ import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
 import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.rpc.util.FetchSessionHandler;
 import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.Projection;
 
@@ -59,16 +61,17 @@ import javax.annotation.concurrent.GuardedBy;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.getFetchLogResultForBucket;
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPbPredicate;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -80,6 +83,13 @@ import static org.apache.fluss.utils.Preconditions.checkNotNull;
 public class LogFetcher implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(LogFetcher.class);
 
+    /**
+     * The time to read a bucket from the preferred read replica, after which the bucket is read
+     * from the leader again, for the leader to select the replica based on the latest in-sync
+     * replicas.
+     */
+    private static final long PREFERRED_READ_REPLICA_EXPIRATION_MS = 5 * 60 * 1000L;
+
     private final TablePath tablePath;
     private final boolean isPartitioned;
     private final LogRecordReadContext readContext;
@@ -88,10 +98,15 @@ public class LogFetcher implements Closeable {
     //  bytes from remote file.
     private final LogRecordReadContext remoteReadContext;
     @Nullable private final Projection projection;
+    // the filter pushed down to the server to skip the batches which can't match
+    @Nullable private final Predicate filter;
     private final int maxFetchBytes;
     private final int maxBucketFetchBytes;
     private final int minFetchBytes;
     private final int maxFetchWaitMs;
+    private final boolean isFetchSessionEnabled;
+    // the rack of the client, for the leader to select a replica in the same rack to read from
+    @Nullable private final String clientRack;
     private final boolean isCheckCrcs;
     private final LogScannerStatus logScannerStatus;
     private final LogFetchBuffer logFetchBuffer;
@@ -101,6 +116,14 @@ public class LogFetcher implements Closeable {
     @GuardedBy("this")
     private final Set<Integer> nodesWithPendingFetchRequests;
 
+    /** The fetch sessions with the tablet servers, keyed by the server id. */
+    @GuardedBy("this")
+    private final Map<Integer, FetchSessionHandler> fetchSessionHandlers;
+
+    /** The replicas selected by the leaders to read the buckets from instead of the leaders. */
+    @GuardedBy("this")
+    private final Map<TableBucket, PreferredReadReplica> preferredReadReplicas;
+
     @GuardedBy("this")
     private boolean isClosed = false;
 
@@ -110,6 +133,7 @@ public class LogFetcher implements Closeable {
     public LogFetcher(
             TableInfo tableInfo,
             @Nullable Projection projection,
+            @Nullable Predicate filter,
             LogScannerStatus logScannerStatus,
             Configuration conf,
             MetadataUpdater metadataUpdater,
@@ -121,6 +145,7 @@ public class LogFetcher implements Closeable {
         this.remoteReadContext =
                 LogRecordReadContext.createReadContext(tableInfo, true, projection);
         this.projection = projection;
+        this.filter = filter;
         this.logScannerStatus = logScannerStatus;
         this.maxFetchBytes =
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES).getBytes();
@@ -132,10 +157,15 @@ public class LogFetcher implements Closeable {
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MIN_BYTES).getBytes();
         this.maxFetchWaitMs =
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME).toMillis();
+        this.isFetchSessionEnabled =
+                conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_SESSION_ENABLED);
+        this.clientRack = conf.get(ConfigOptions.CLIENT_RACK);
 
         this.isCheckCrcs = conf.getBoolean(ConfigOptions.CLIENT_SCANNER_LOG_CHECK_CRC);
         this.logFetchBuffer = new LogFetchBuffer();
         this.nodesWithPendingFetchRequests = new HashSet<>();
+        this.fetchSessionHandlers = new HashMap<>();
+        this.preferredReadReplicas = new HashMap<>();
         this.metadataUpdater = metadataUpdater;
         this.logFetchCollector =
                 new LogFetchCollector(tablePath, logScannerStatus, conf, metadataUpdater);
@@ -163,12 +193,13 @@ public class LogFetcher implements Closeable {
      * have an in-flight fetch or pending fetch data.
      */
     public synchronized void sendFetches() {
-        Map<Integer, FetchLogRequest> fetchRequestMap = prepareFetchLogRequests();
-        fetchRequestMap.forEach(
-                (nodeId, fetchLogRequest) -> {
+        Map<Integer, Map<TableBucket, PbFetchLogReqForBucket>> fetchBucketsMap =
+                prepareFetchBuckets();
+        fetchBucketsMap.forEach(
+                (nodeId, fetchBuckets) -> {
                     LOG.debug("Adding pending request for node id {}", nodeId);
                     nodesWithPendingFetchRequests.add(nodeId);
-                    sendFetchRequest(nodeId, fetchLogRequest);
+                    sendFetchRequest(nodeId, fetchBuckets);
                 });
     }
 
@@ -190,9 +221,10 @@ public class LogFetcher implements Closeable {
         logFetchBuffer.wakeup();
     }
 
-    private void sendFetchRequest(int destination, FetchLogRequest fetchLogRequest) {
+    private void sendFetchRequest(
+            int destination, Map<TableBucket, PbFetchLogReqForBucket> fetchBuckets) {
         TableOrPartitions tableOrPartitionsInFetchRequest =
-                getTableOrPartitionsInFetchRequest(fetchLogRequest);
+                getTableOrPartitionsInFetchRequest(fetchBuckets.keySet());
         // TODO cache the tablet server gateway.
         TabletServerGateway gateway = metadataUpdater.newTabletServerClientForNode(destination);
         if (gateway == null) {
@@ -202,16 +234,25 @@ public class LogFetcher implements Closeable {
                     new LeaderNotAvailableException(
                             "Server " + destination + " is not found in metadata cache."));
         } else {
+            FetchSessionHandler fetchSessionHandler =
+                    fetchSessionHandlers.computeIfAbsent(
+                            destination, id -> new FetchSessionHandler(isFetchSessionEnabled));
+            FetchLogRequest fetchLogRequest =
+                    buildFetchLogRequest(fetchSessionHandler, fetchBuckets);
             final long requestStartTime = System.currentTimeMillis();
             scannerMetricGroup.fetchRequestCount().inc();
 
             gateway.fetchLog(fetchLogRequest)
                     .whenComplete(
                             (fetchLogResponse, e) -> {
+                                // update the session before the next request can be sent
                                 if (e != null) {
+                                    fetchSessionHandler.handleError(fetchLogRequest);
                                     handleFetchLogException(
                                             destination, tableOrPartitionsInFetchRequest, e);
                                 } else {
+                                    fetchSessionHandler.handleResponse(
+                                            fetchLogRequest, fetchLogResponse);
                                     handleFetchLogResponse(
                                             destination, requestStartTime, fetchLogResponse);
                                 }
@@ -219,25 +260,18 @@ public class LogFetcher implements Closeable {
         }
     }
 
-    private TableOrPartitions getTableOrPartitionsInFetchRequest(FetchLogRequest fetchLogRequest) {
+    private TableOrPartitions getTableOrPartitionsInFetchRequest(Set<TableBucket> fetchBuckets) {
+        // use all the buckets to fetch, as a request of a fetch session may only carry some of them
         Set<Long> tableIdsInFetchRequest = null;
         Set<TablePartition> tablePartitionsInFetchRequest = null;
         if (!isPartitioned) {
             tableIdsInFetchRequest =
-                    fetchLogRequest.getTablesReqsList().stream()
-                            .map(PbFetchLogReqForTable::getTableId)
-                            .collect(Collectors.toSet());
+                    fetchBuckets.stream().map(TableBucket::getTableId).collect(Collectors.toSet());
         } else {
             tablePartitionsInFetchRequest = new HashSet<>();
-            // iterate over table requests
-            for (PbFetchLogReqForTable fetchTableRequest : fetchLogRequest.getTablesReqsList()) {
-                for (PbFetchLogReqForBucket fetchLogReqForBucket :
-                        fetchTableRequest.getBucketsReqsList()) {
-                    tablePartitionsInFetchRequest.add(
-                            new TablePartition(
-                                    fetchTableRequest.getTableId(),
-                                    fetchLogReqForBucket.getPartitionId()));
-                }
+            for (TableBucket tableBucket : fetchBuckets) {
+                tablePartitionsInFetchRequest.add(
+                        new TablePartition(tableBucket.getTableId(), tableBucket.getPartitionId()));
             }
         }
         return new TableOrPartitions(tableIdsInFetchRequest, tablePartitionsInFetchRequest);
@@ -261,13 +295,16 @@ public class LogFetcher implements Closeable {
         metadataUpdater.invalidPhysicalTableBucketMeta(physicalTablePaths);
     }
 
-    private void handleFetchLogException(
+    private synchronized void handleFetchLogException(
             int destination, TableOrPartitions tableOrPartitionsInFetchRequest, Throwable e) {
         try {
             if (isClosed) {
                 return;
             }
 
+            // read the buckets from the leaders if the preferred read replica is unavailable
+            preferredReadReplicas.values().removeIf(replica -> replica.serverId == destination);
+
             LOG.error("Failed to fetch log from node {}", destination, e);
             // if is invalid metadata exception, we need to clear table bucket meta
             // to enable another round of log fetch to request new medata
@@ -316,6 +353,24 @@ public class LogFetcher implements Closeable {
                                 "Ignoring fetch log response for bucket {} because the bucket has been "
                                         + "unsubscribed.",
                                 tb);
+                    } else if (fetchResultForBucket.getPreferredReadReplica() != null) {
+                        int preferredReadReplica = fetchResultForBucket.getPreferredReadReplica();
+                        LOG.debug(
+                                "Redirected to read bucket {} from the preferred read replica {}.",
+                                tb,
+                                preferredReadReplica);
+                        updatePreferredReadReplica(tb, preferredReadReplica);
+                    } else if (fetchResultForBucket.failed()
+                            && isReadFromPreferredReadReplica(tb, destination)) {
+                        // the error may be caused by the follower replica lagging behind or
+                        // removed, read from the leader instead which reports the actual error
+                        LOG.debug(
+                                "Failed to read bucket {} from the preferred read replica {}, "
+                                        + "going to read from the leader: {}",
+                                tb,
+                                destination,
+                                fetchResultForBucket.getErrorMessage());
+                        preferredReadReplicas.remove(tb);
                     } else {
                         if (fetchResultForBucket.fetchFromRemote()) {
                             pendRemoteFetches(
@@ -364,7 +419,8 @@ public class LogFetcher implements Closeable {
                 fetchOffset = segment.remoteLogStartOffset();
             }
             RemoteLogDownloadFuture downloadFuture =
-                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, posInLogSegment);
             RemotePendingFetch pendingFetch =
                     new RemotePendingFetch(
                             segment,
@@ -380,14 +436,10 @@ public class LogFetcher implements Closeable {
         }
     }
 
-    private Map<Integer, FetchLogRequest> prepareFetchLogRequests() {
-        Map<Integer, List<PbFetchLogReqForBucket>> fetchLogReqForBuckets = new HashMap<>();
-        int readyForFetchCount = 0;
-        Long tableId = null;
+    private Map<Integer, Map<TableBucket, PbFetchLogReqForBucket>> prepareFetchBuckets() {
+        Map<Integer, Map<TableBucket, PbFetchLogReqForBucket>> fetchLogReqForBuckets =
+                new HashMap<>();
         for (TableBucket tb : fetchableBuckets()) {
-            if (tableId == null) {
-                tableId = tb.getTableId();
-            }
             Long offset = logScannerStatus.getBucketOffset(tb);
             if (offset == null) {
                 LOG.debug(
@@ -397,8 +449,6 @@ public class LogFetcher implements Closeable {
                 continue;
             }
 
-            // TODO add select preferred read replica, currently we can only read from leader.
-
             Integer leader = getTableBucketLeader(tb);
             if (leader == null) {
                 LOG.trace(
@@ -407,12 +457,16 @@ public class LogFetcher implements Closeable {
                 // try to get the latest metadata info of this table because the leader for this
                 // bucket is unknown.
                 metadataUpdater.updateTableOrPartitionMetadata(tablePath, tb.getPartitionId());
-            } else if (nodesWithPendingFetchRequests.contains(leader)) {
+                continue;
+            }
+
+            int readReplica = selectReadReplica(tb, leader);
+            if (nodesWithPendingFetchRequests.contains(readReplica)) {
                 LOG.trace(
                         "Skipping fetch request for bucket {} because previous request "
                                 + "to server {} has not been processed.",
                         tb,
-                        leader);
+                        readReplica);
             } else {
                 PbFetchLogReqForBucket fetchLogReqForBucket =
                         new PbFetchLogReqForBucket()
@@ -423,41 +477,45 @@ public class LogFetcher implements Closeable {
                     fetchLogReqForBucket.setPartitionId(tb.getPartitionId());
                 }
                 fetchLogReqForBuckets
-                        .computeIfAbsent(leader, key -> new ArrayList<>())
-                        .add(fetchLogReqForBucket);
-                readyForFetchCount++;
+                        .computeIfAbsent(readReplica, key -> new LinkedHashMap<>())
+                        .put(tb, fetchLogReqForBucket);
             }
         }
+        return fetchLogReqForBuckets;
+    }
 
-        if (readyForFetchCount == 0) {
-            return Collections.emptyMap();
-        } else {
-            Map<Integer, FetchLogRequest> fetchLogRequests = new HashMap<>();
-            long finalTableId = tableId;
-            fetchLogReqForBuckets.forEach(
-                    (leaderId, reqForBuckets) -> {
-                        FetchLogRequest fetchLogRequest =
-                                new FetchLogRequest()
-                                        .setFollowerServerId(-1)
-                                        .setMaxBytes(maxFetchBytes)
-                                        .setMinBytes(minFetchBytes)
-                                        .setMaxWaitMs(maxFetchWaitMs);
-                        PbFetchLogReqForTable reqForTable =
-                                new PbFetchLogReqForTable().setTableId(finalTableId);
-                        if (readContext.isProjectionPushDowned()) {
-                            assert projection != null;
-                            reqForTable
-                                    .setProjectionPushdownEnabled(true)
-                                    .setProjectedFields(projection.getProjectionInOrder());
-                        } else {
-                            reqForTable.setProjectionPushdownEnabled(false);
-                        }
-                        reqForTable.addAllBucketsReqs(reqForBuckets);
-                        fetchLogRequest.addAllTablesReqs(Collections.singletonList(reqForTable));
-                        fetchLogRequests.put(leaderId, fetchLogRequest);
-                    });
-            return fetchLogRequests;
+    private FetchLogRequest buildFetchLogRequest(
+            FetchSessionHandler fetchSessionHandler,
+            Map<TableBucket, PbFetchLogReqForBucket> fetchBuckets) {
+        FetchLogRequest fetchLogRequest =
+                new FetchLogRequest()
+                        .setFollowerServerId(-1)
+                        .setMaxBytes(maxFetchBytes)
+                        .setMinBytes(minFetchBytes)
+                        .setMaxWaitMs(maxFetchWaitMs);
+        if (clientRack != null) {
+            fetchLogRequest.setRackId(clientRack);
         }
+        fetchSessionHandler
+                .prepareRequest(fetchLogRequest, fetchBuckets)
+                .forEach(
+                        (tableId, reqForBuckets) -> {
+                            PbFetchLogReqForTable reqForTable =
+                                    fetchLogRequest.addTablesReq().setTableId(tableId);
+                            if (readContext.isProjectionPushDowned()) {
+                                assert projection != null;
+                                reqForTable
+                                        .setProjectionPushdownEnabled(true)
+                                        .setProjectedFields(projection.getProjectionInOrder());
+                            } else {
+                                reqForTable.setProjectionPushdownEnabled(false);
+                            }
+                            if (filter != null) {
+                                reqForTable.setFilter(toPbPredicate(filter));
+                            }
+                            reqForTable.addAllBucketsReqs(reqForBuckets);
+                        });
+        return fetchLogRequest;
     }
 
     private List<TableBucket> fetchableBuckets() {
@@ -471,6 +529,33 @@ public class LogFetcher implements Closeable {
         return logScannerStatus.fetchableBuckets(tableBucket -> !exclude.contains(tableBucket));
     }
 
+    /** Selects the replica to read the bucket from, which is the leader if no replica preferred. */
+    private int selectReadReplica(TableBucket tableBucket, int leader) {
+        PreferredReadReplica preferredReadReplica = preferredReadReplicas.get(tableBucket);
+        if (preferredReadReplica == null) {
+            return leader;
+        } else if (System.currentTimeMillis() >= preferredReadReplica.expireTimeMs) {
+            preferredReadReplicas.remove(tableBucket);
+            return leader;
+        } else {
+            return preferredReadReplica.serverId;
+        }
+    }
+
+    @VisibleForTesting
+    synchronized void updatePreferredReadReplica(TableBucket tableBucket, int serverId) {
+        preferredReadReplicas.put(
+                tableBucket,
+                new PreferredReadReplica(
+                        serverId,
+                        System.currentTimeMillis() + PREFERRED_READ_REPLICA_EXPIRATION_MS));
+    }
+
+    private boolean isReadFromPreferredReadReplica(TableBucket tableBucket, int destination) {
+        PreferredReadReplica preferredReadReplica = preferredReadReplicas.get(tableBucket);
+        return preferredReadReplica != null && preferredReadReplica.serverId == destination;
+    }
+
     private Integer getTableBucketLeader(TableBucket tableBucket) {
         metadataUpdater.checkAndUpdateMetadata(tablePath, tableBucket);
         if (metadataUpdater.getBucketLocation(tableBucket).isPresent()) {
@@ -499,4 +584,21 @@ public class LogFetcher implements Closeable {
     int getCompletedFetchesSize() {
         return logFetchBuffer.bufferedBuckets().size();
     }
+
+    @VisibleForTesting
+    synchronized @Nullable Integer getPreferredReadReplica(TableBucket tableBucket) {
+        PreferredReadReplica preferredReadReplica = preferredReadReplicas.get(tableBucket);
+        return preferredReadReplica == null ? null : preferredReadReplica.serverId;
+    }
+
+    /** The replica selected by the leader to read a bucket from. */
+    private static final class PreferredReadReplica {
+        private final int serverId;
+        private final long expireTimeMs;
+
+        private PreferredReadReplica(int serverId, long expireTimeMs) {
+            this.serverId = serverId;
+            this.expireTimeMs = expireTimeMs;
+        }
+    }
 }
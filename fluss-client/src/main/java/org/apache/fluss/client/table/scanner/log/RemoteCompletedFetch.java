@@ -20,19 +20,25 @@ package org.apache.fluss.client.table.scanner.log;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.rpc.protocol.ApiError;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Iterator;
 
 /**
  * {@link RemoteCompletedFetch} is a {@link CompletedFetch} that represents a completed fetch that
- * the log records are fetched from remote log storage.
+ * the log records are fetched from remote log storage. The log records are either read from the
+ * remote log file downloaded to local disk, or streamed from the remote log storage by a {@link
+ * RemoteLogStream}.
  */
 @Internal
 class RemoteCompletedFetch extends CompletedFetch {
 
-    private final FileLogRecords fileLogRecords;
+    // closes the file channel of the downloaded remote log file or the remote log stream
+    private final Closeable recordsCloser;
 
     // recycle to clean up the fetched remote log files and increment the prefetch semaphore
     private final Runnable recycleCallback;
@@ -46,28 +52,74 @@ class RemoteCompletedFetch extends CompletedFetch {
             boolean isCheckCrc,
             long fetchOffset,
             Runnable recycleCallback) {
+        this(
+                tableBucket,
+                fileLogRecords.sizeInBytes(),
+                fileLogRecords.batches().iterator(),
+                // close file channel only, don't need to flush the file which is very heavy
+                fileLogRecords::closeHandlers,
+                highWatermark,
+                readContext,
+                logScannerStatus,
+                isCheckCrc,
+                fetchOffset,
+                recycleCallback);
+    }
+
+    RemoteCompletedFetch(
+            TableBucket tableBucket,
+            RemoteLogStream remoteLogStream,
+            long highWatermark,
+            LogRecordReadContext readContext,
+            LogScannerStatus logScannerStatus,
+            boolean isCheckCrc,
+            long fetchOffset,
+            Runnable recycleCallback) {
+        this(
+                tableBucket,
+                remoteLogStream.firstChunkSizeInBytes(),
+                remoteLogStream.batches(),
+                remoteLogStream,
+                highWatermark,
+                readContext,
+                logScannerStatus,
+                isCheckCrc,
+                fetchOffset,
+                recycleCallback);
+    }
+
+    private RemoteCompletedFetch(
+            TableBucket tableBucket,
+            int sizeInBytes,
+            Iterator<LogRecordBatch> batches,
+            Closeable recordsCloser,
+            long highWatermark,
+            LogRecordReadContext readContext,
+            LogScannerStatus logScannerStatus,
+            boolean isCheckCrc,
+            long fetchOffset,
+            Runnable recycleCallback) {
         super(
                 tableBucket,
                 ApiError.NONE,
-                fileLogRecords.sizeInBytes(),
+                sizeInBytes,
                 highWatermark,
-                fileLogRecords.batches().iterator(),
+                batches,
                 readContext,
                 logScannerStatus,
                 isCheckCrc,
                 fetchOffset);
-        this.fileLogRecords = fileLogRecords;
+        this.recordsCloser = recordsCloser;
         this.recycleCallback = recycleCallback;
     }
 
     @Override
     void drain() {
         super.drain();
-        // close file channel only, don't need to flush the file which is very heavy
         try {
-            fileLogRecords.closeHandlers();
+            recordsCloser.close();
         } catch (IOException e) {
-            LOG.warn("Failed to close file channel for remote log records", e);
+            LOG.warn("Failed to close remote log records", e);
         }
         // call recycle to remove the fetched files and increment the prefetch semaphore
         recycleCallback.run();
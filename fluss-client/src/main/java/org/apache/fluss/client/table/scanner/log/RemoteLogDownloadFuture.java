@@ -20,24 +20,43 @@ package org.apache.fluss.client.table.scanner.log;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.record.FileLogRecords;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 
-/** Represents the future of a remote log download request. */
+/**
+ * Represents the future of a remote log download request, which completes with either the remote
+ * log file downloaded to local disk or the {@link RemoteLogStream} reading the remote log file.
+ */
 public class RemoteLogDownloadFuture {
 
-    private final CompletableFuture<File> logFileFuture;
+    private final @Nullable CompletableFuture<File> logFileFuture;
+    private final @Nullable CompletableFuture<RemoteLogStream> logStreamFuture;
     private final Runnable recycleCallback;
 
     public RemoteLogDownloadFuture(
             CompletableFuture<File> logFileFuture, Runnable recycleCallback) {
+        this(logFileFuture, null, recycleCallback);
+    }
+
+    RemoteLogDownloadFuture(
+            @Nullable CompletableFuture<File> logFileFuture,
+            @Nullable CompletableFuture<RemoteLogStream> logStreamFuture,
+            Runnable recycleCallback) {
         this.logFileFuture = logFileFuture;
+        this.logStreamFuture = logStreamFuture;
         this.recycleCallback = recycleCallback;
     }
 
     public boolean isDone() {
-        return logFileFuture.isDone();
+        return future().isDone();
+    }
+
+    /** Returns whether the remote log is read by a {@link RemoteLogStream}. */
+    public boolean isStreaming() {
+        return logStreamFuture != null;
     }
 
     public FileLogRecords getFileLogRecords(int startPosition) {
@@ -53,11 +72,19 @@ public class RemoteLogDownloadFuture {
         }
     }
 
+    RemoteLogStream getLogStream() {
+        return logStreamFuture.join();
+    }
+
     public Runnable getRecycleCallback() {
         return recycleCallback;
     }
 
     public void onComplete(Runnable callback) {
-        logFileFuture.thenRun(callback);
+        future().thenRun(callback);
+    }
+
+    private CompletableFuture<?> future() {
+        return logStreamFuture != null ? logStreamFuture : logFileFuture;
     }
 }
@@ -55,7 +55,11 @@ import static org.apache.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentDir;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentFile;
 
-/** Downloader to read remote log files to local disk. */
+/**
+ * Downloader to read remote log files to local disk, or to stream the remote log files into memory
+ * by {@link RemoteLogStream} if {@link
+ * ConfigOptions#CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED} is enabled.
+ */
 @ThreadSafe
 @Internal
 public class RemoteLogDownloader implements Closeable {
@@ -84,6 +88,11 @@ public class RemoteLogDownloader implements Closeable {
 
     private final long pollTimeout;
 
+    /** Whether to stream the remote log files instead of downloading them to local disk. */
+    private final boolean streamingReadEnabled;
+
+    private final int readBufferSize;
+
     public RemoteLogDownloader(
             TablePath tablePath,
             Configuration conf,
@@ -107,6 +116,10 @@ public class RemoteLogDownloader implements Closeable {
         this.pollTimeout = pollTimeout;
         this.prefetchSemaphore =
                 new Semaphore(conf.getInt(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM));
+        this.streamingReadEnabled =
+                conf.get(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED);
+        this.readBufferSize =
+                (int) conf.get(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_READ_BUFFER_SIZE).getBytes();
         // The local tmp dir to store the fetched log segment files,
         // add UUID to avoid conflict between tasks.
         this.localLogDir =
@@ -122,9 +135,25 @@ public class RemoteLogDownloader implements Closeable {
 
     /** Request to fetch remote log segment to local. This method is non-blocking. */
     public RemoteLogDownloadFuture requestRemoteLog(FsPath logTabletDir, RemoteLogSegment segment) {
-        RemoteLogDownloadRequest request = new RemoteLogDownloadRequest(segment, logTabletDir);
+        return requestRemoteLog(logTabletDir, segment, 0);
+    }
+
+    /**
+     * Request to fetch remote log segment from the given position in the log segment file. The
+     * position is only used to skip the bytes before it when streaming the remote log file, the
+     * whole file is downloaded if streaming read is disabled. This method is non-blocking.
+     */
+    public RemoteLogDownloadFuture requestRemoteLog(
+            FsPath logTabletDir, RemoteLogSegment segment, int startPosition) {
+        RemoteLogDownloadRequest request =
+                new RemoteLogDownloadRequest(segment, logTabletDir, startPosition);
         segmentsToFetch.add(request);
-        return new RemoteLogDownloadFuture(request.future, () -> recycleRemoteLog(segment));
+        if (streamingReadEnabled) {
+            return new RemoteLogDownloadFuture(
+                    null, request.streamFuture, () -> recycleRemoteLog(segment));
+        } else {
+            return new RemoteLogDownloadFuture(request.future, () -> recycleRemoteLog(segment));
+        }
     }
 
     /**
@@ -132,7 +161,9 @@ public class RemoteLogDownloader implements Closeable {
      * #downloadThread}.
      */
     void recycleRemoteLog(RemoteLogSegment segment) {
-        segmentsToRecycle.add(segment);
+        if (!streamingReadEnabled) {
+            segmentsToRecycle.add(segment);
+        }
         prefetchSemaphore.release();
     }
 
@@ -152,6 +183,11 @@ public class RemoteLogDownloader implements Closeable {
         }
 
         try {
+            if (streamingReadEnabled) {
+                openRemoteLogStream(request);
+                return;
+            }
+
             // 1. cleanup the finished logs first to free up disk space
             cleanupRemoteLogs();
 
@@ -199,6 +235,46 @@ public class RemoteLogDownloader implements Closeable {
         }
     }
 
+    /** Opens the remote log file from the request position and reads the first chunk. */
+    private void openRemoteLogStream(RemoteLogDownloadRequest request) {
+        FsPath remoteLogFile = request.getFsPathAndFileName().getPath();
+        scannerMetricGroup.remoteFetchRequestCount().inc();
+
+        long startTime = System.currentTimeMillis();
+        RemoteLogStream logStream =
+                new RemoteLogStream(
+                        remoteLogFile,
+                        request.startPosition,
+                        readBufferSize,
+                        remoteFileDownloader,
+                        scannerMetricGroup.remoteFetchBytes());
+        logStream
+                .open()
+                .whenComplete(
+                        (stream, throwable) -> {
+                            if (throwable != null) {
+                                LOG.error(
+                                        "Failed to read remote log segment file {}.",
+                                        remoteLogFile,
+                                        ExceptionUtils.stripCompletionException(throwable));
+                                logStream.close();
+                                // release the semaphore for the failed request
+                                prefetchSemaphore.release();
+                                // add back the request to the queue,
+                                // so we do not complete the request.streamFuture here
+                                segmentsToFetch.add(request);
+                                scannerMetricGroup.remoteFetchErrorCount().inc();
+                            } else {
+                                LOG.debug(
+                                        "Successfully opened remote log segment file {} from position {} cost {} ms.",
+                                        remoteLogFile,
+                                        request.startPosition,
+                                        System.currentTimeMillis() - startTime);
+                                request.streamFuture.complete(stream);
+                            }
+                        });
+    }
+
     private void cleanupRemoteLogs() {
         RemoteLogSegment segment;
         while ((segment = segmentsToRecycle.poll()) != null) {
@@ -286,15 +362,26 @@ public class RemoteLogDownloader implements Closeable {
         }
     }
 
-    /** Represents a request to download a remote log segment file to local. */
+    /**
+     * Represents a request to download a remote log segment file to local, or to stream the remote
+     * log segment file from the start position.
+     */
     static class RemoteLogDownloadRequest implements Comparable<RemoteLogDownloadRequest> {
         final RemoteLogSegment segment;
         final FsPath remoteLogTabletDir;
+        final int startPosition;
         final CompletableFuture<File> future = new CompletableFuture<>();
+        final CompletableFuture<RemoteLogStream> streamFuture = new CompletableFuture<>();
 
         public RemoteLogDownloadRequest(RemoteLogSegment segment, FsPath remoteLogTabletDir) {
+            this(segment, remoteLogTabletDir, 0);
+        }
+
+        public RemoteLogDownloadRequest(
+                RemoteLogSegment segment, FsPath remoteLogTabletDir, int startPosition) {
             this.segment = segment;
             this.remoteLogTabletDir = remoteLogTabletDir;
+            this.startPosition = startPosition;
         }
 
         public FsPathAndFileName getFsPathAndFileName() {
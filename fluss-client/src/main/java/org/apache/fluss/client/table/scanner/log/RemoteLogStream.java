@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.log;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
+import org.apache.fluss.fs.FSDataInputStream;
+import org.apache.fluss.fs.FsPath;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.utils.AbstractIterator;
+import org.apache.fluss.utils.ExceptionUtils;
+import org.apache.fluss.utils.IOUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.record.DefaultLogRecordBatch.LENGTH_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.LOG_OVERHEAD;
+
+/**
+ * A stream of the record batches in a remote log segment file, which reads the file from the given
+ * position with ranged reads instead of downloading the whole file to local disk.
+ *
+ * <p>The file is read in chunks of complete record batches, each chunk is at most the given chunk
+ * size unless a single record batch is larger. The chunks are read in the IO threads of the {@link
+ * RemoteFileDownloader}, and the next chunk is read ahead while the current chunk is consumed. So
+ * at most two chunks of a stream are held in memory.
+ *
+ * <p>The stream is opened by the download thread of {@link RemoteLogDownloader}, and then consumed
+ * and closed by the thread polling the records.
+ */
+@Internal
+@NotThreadSafe
+class RemoteLogStream implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteLogStream.class);
+
+    private final FsPath remoteLogFile;
+    private final long startPosition;
+    private final int chunkSize;
+    private final RemoteFileDownloader remoteFileDownloader;
+    private final Counter readBytes;
+
+    // the fields below are only accessed by the IO thread reading a chunk, the chunks are read
+    // one after another, and the completion of the chunk futures makes the fields visible to the
+    // IO thread reading the next chunk.
+    private final ByteBuffer batchHeader =
+            ByteBuffer.allocate(LOG_OVERHEAD).order(ByteOrder.LITTLE_ENDIAN);
+    private FSDataInputStream inputStream;
+    // whether the header of the next record batch has been read to the batch header
+    private boolean hasNextBatchHeader;
+
+    // the future of the chunk being read ahead, null if the end of the file is reached or the
+    // stream is closed. The future completes with null if there are no more record batches.
+    private @Nullable CompletableFuture<MemoryLogRecords> nextChunk;
+
+    RemoteLogStream(
+            FsPath remoteLogFile,
+            long startPosition,
+            int chunkSize,
+            RemoteFileDownloader remoteFileDownloader,
+            Counter readBytes) {
+        this.remoteLogFile = remoteLogFile;
+        this.startPosition = startPosition;
+        this.chunkSize = chunkSize;
+        this.remoteFileDownloader = remoteFileDownloader;
+        this.readBytes = readBytes;
+    }
+
+    /**
+     * Opens the remote log file and reads the first chunk asynchronously. The returned future
+     * completes with this stream after the first chunk is read.
+     */
+    CompletableFuture<RemoteLogStream> open() {
+        readAhead();
+        return nextChunk.thenApply(chunk -> this);
+    }
+
+    /** Returns the size of the first chunk, must be called after the stream is opened. */
+    int firstChunkSizeInBytes() {
+        MemoryLogRecords firstChunk = nextChunk == null ? null : nextChunk.join();
+        return firstChunk == null ? 0 : firstChunk.sizeInBytes();
+    }
+
+    /**
+     * Returns the iterator of the record batches in the stream, must be called after the stream is
+     * opened. If it fails to read a chunk except the first one, the iterator ends early and the
+     * remaining record batches are fetched again from the next fetch offset.
+     */
+    Iterator<LogRecordBatch> batches() {
+        return new AbstractIterator<LogRecordBatch>() {
+            private Iterator<LogRecordBatch> currentChunk = Collections.emptyIterator();
+
+            @Override
+            protected LogRecordBatch makeNext() {
+                while (!currentChunk.hasNext()) {
+                    MemoryLogRecords chunk = takeNextChunk();
+                    if (chunk == null) {
+                        return allDone();
+                    }
+                    currentChunk = chunk.batchIterator();
+                }
+                return currentChunk.next();
+            }
+        };
+    }
+
+    @Nullable
+    private MemoryLogRecords takeNextChunk() {
+        if (nextChunk == null) {
+            return null;
+        }
+
+        MemoryLogRecords chunk;
+        try {
+            chunk = nextChunk.join();
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to read remote log file {}, "
+                            + "the remaining records will be fetched again.",
+                    remoteLogFile,
+                    ExceptionUtils.stripCompletionException(e));
+            close();
+            return null;
+        }
+
+        if (chunk == null) {
+            close();
+        } else {
+            readAhead();
+        }
+        return chunk;
+    }
+
+    private void readAhead() {
+        nextChunk = remoteFileDownloader.readAsync(this::readChunk);
+    }
+
+    /** Reads the next chunk of record batches, returns null if the end of the file is reached. */
+    @Nullable
+    private MemoryLogRecords readChunk() throws IOException {
+        if (inputStream == null) {
+            inputStream = remoteLogFile.getFileSystem().open(remoteLogFile);
+            if (startPosition > 0) {
+                inputStream.seek(startPosition);
+            }
+        }
+
+        byte[] chunk = null;
+        int size = 0;
+        while (hasNextBatchHeader || readBatchHeader()) {
+            hasNextBatchHeader = true;
+            int batchSize = LOG_OVERHEAD + batchHeader.getInt(LENGTH_OFFSET);
+            if (chunk == null) {
+                chunk = new byte[Math.max(chunkSize, batchSize)];
+            } else if (size + batchSize > chunk.length) {
+                // keep the header for the next chunk
+                break;
+            }
+            System.arraycopy(batchHeader.array(), 0, chunk, size, LOG_OVERHEAD);
+            IOUtils.readFully(inputStream, chunk, size + LOG_OVERHEAD, batchSize - LOG_OVERHEAD);
+            hasNextBatchHeader = false;
+            size += batchSize;
+        }
+
+        if (size == 0) {
+            return null;
+        }
+        readBytes.inc(size);
+        return MemoryLogRecords.pointToBytes(chunk, 0, size);
+    }
+
+    /** Reads the header of the next record batch, returns false if the end of file is reached. */
+    private boolean readBatchHeader() throws IOException {
+        byte[] header = batchHeader.array();
+        int read = 0;
+        while (read < LOG_OVERHEAD) {
+            int n = inputStream.read(header, read, LOG_OVERHEAD - read);
+            if (n < 0) {
+                if (read == 0) {
+                    return false;
+                }
+                throw new EOFException(
+                        "Unexpected end of the record batch header in remote log file "
+                                + remoteLogFile);
+            }
+            read += n;
+        }
+        return true;
+    }
+
+    /** Closes the stream, the remote log file is closed after the chunk being read ahead. */
+    @Override
+    public void close() {
+        CompletableFuture<MemoryLogRecords> pendingChunk = nextChunk;
+        nextChunk = null;
+        if (pendingChunk == null) {
+            IOUtils.closeQuietly(inputStream, "remote log file");
+        } else {
+            pendingChunk.whenComplete(
+                    (chunk, throwable) -> IOUtils.closeQuietly(inputStream, "remote log file"));
+        }
+    }
+}
@@ -24,7 +24,8 @@ import org.apache.fluss.remote.RemoteLogSegment;
 
 /**
  * {@link RemotePendingFetch} is a {@link PendingFetch} that represents a pending fetch that waiting
- * for the remote log file fetched to local disk.
+ * for the remote log file fetched to local disk, or the first chunk of the remote log file read
+ * into memory if the remote log is read by streaming.
  */
 class RemotePendingFetch implements PendingFetch {
 
@@ -69,6 +70,18 @@ class RemotePendingFetch implements PendingFetch {
 
     @Override
     public CompletedFetch toCompletedFetch() {
+        if (downloadFuture.isStreaming()) {
+            // the stream has been opened from the position in log segment
+            return new RemoteCompletedFetch(
+                    remoteLogSegment.tableBucket(),
+                    downloadFuture.getLogStream(),
+                    highWatermark,
+                    readContext,
+                    logScannerStatus,
+                    isCheckCrc,
+                    fetchOffset,
+                    downloadFuture.getRecycleCallback());
+        }
         FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords(posInLogSegment);
         return new RemoteCompletedFetch(
                 remoteLogSegment.tableBucket(),
@@ -43,6 +43,8 @@ import org.apache.fluss.rpc.messages.ListOffsetsRequest;
 import org.apache.fluss.rpc.messages.ListPartitionInfosResponse;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.MetadataRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
 import org.apache.fluss.rpc.messages.PbKeyValue;
 import org.apache.fluss.rpc.messages.PbKvSnapshot;
 import org.apache.fluss.rpc.messages.PbLakeSnapshotForBucket;
@@ -50,7 +52,9 @@ import org.apache.fluss.rpc.messages.PbLookupReqForBucket;
 import org.apache.fluss.rpc.messages.PbPartitionSpec;
 import org.apache.fluss.rpc.messages.PbPrefixLookupReqForBucket;
 import org.apache.fluss.rpc.messages.PbProduceLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogReqForTable;
 import org.apache.fluss.rpc.messages.PbPutKvReqForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvReqForTable;
 import org.apache.fluss.rpc.messages.PbRemotePathAndLocalFile;
 import org.apache.fluss.rpc.messages.PrefixLookupRequest;
 import org.apache.fluss.rpc.messages.ProduceLogRequest;
@@ -65,6 +69,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toResolvedPartitionSpec;
@@ -83,18 +88,40 @@ public class ClientRpcMessageUtils {
                         .setTableId(tableId)
                         .setAcks(acks)
                         .setTimeoutMs(maxRequestTimeoutMs);
+        addProduceLogReqForBuckets(readyBatches, request::addBucketsReq);
+        return request;
+    }
+
+    public static MultiProduceLogRequest makeMultiProduceLogRequest(
+            int acks,
+            int maxRequestTimeoutMs,
+            Map<Long, List<ReadyWriteBatch>> readyBatchesByTable) {
+        MultiProduceLogRequest request =
+                new MultiProduceLogRequest().setAcks(acks).setTimeoutMs(maxRequestTimeoutMs);
+        readyBatchesByTable.forEach(
+                (tableId, readyBatches) -> {
+                    PbProduceLogReqForTable pbProduceLogReqForTable =
+                            request.addTablesReq().setTableId(tableId);
+                    addProduceLogReqForBuckets(
+                            readyBatches, pbProduceLogReqForTable::addBucketsReq);
+                });
+        return request;
+    }
+
+    private static void addProduceLogReqForBuckets(
+            List<ReadyWriteBatch> readyBatches, Supplier<PbProduceLogReqForBucket> bucketReqAdder) {
         readyBatches.forEach(
                 readyBatch -> {
                     TableBucket tableBucket = readyBatch.tableBucket();
                     PbProduceLogReqForBucket pbProduceLogReqForBucket =
-                            request.addBucketsReq()
+                            bucketReqAdder
+                                    .get()
                                     .setBucketId(tableBucket.getBucket())
                                     .setRecordsBytesView(readyBatch.writeBatch().build());
                     if (tableBucket.getPartitionId() != null) {
                         pbProduceLogReqForBucket.setPartitionId(tableBucket.getPartitionId());
                     }
                 });
-        return request;
     }
 
     public static PutKvRequest makePutKvRequest(
@@ -107,6 +134,35 @@ public class ClientRpcMessageUtils {
                         .setTableId(tableId)
                         .setAcks(acks)
                         .setTimeoutMs(maxRequestTimeoutMs);
+        int[] targetColumns = getTargetColumns(readyWriteBatches);
+        if (targetColumns != null) {
+            request.setTargetColumns(targetColumns);
+        }
+        addPutKvReqForBuckets(readyWriteBatches, request::addBucketsReq);
+        return request;
+    }
+
+    public static MultiPutKvRequest makeMultiPutKvRequest(
+            int acks,
+            int maxRequestTimeoutMs,
+            Map<Long, List<ReadyWriteBatch>> readyWriteBatchesByTable) {
+        MultiPutKvRequest request =
+                new MultiPutKvRequest().setAcks(acks).setTimeoutMs(maxRequestTimeoutMs);
+        readyWriteBatchesByTable.forEach(
+                (tableId, readyWriteBatches) -> {
+                    PbPutKvReqForTable pbPutKvReqForTable =
+                            request.addTablesReq().setTableId(tableId);
+                    int[] targetColumns = getTargetColumns(readyWriteBatches);
+                    if (targetColumns != null) {
+                        pbPutKvReqForTable.setTargetColumns(targetColumns);
+                    }
+                    addPutKvReqForBuckets(readyWriteBatches, pbPutKvReqForTable::addBucketsReq);
+                });
+        return request;
+    }
+
+    @Nullable
+    private static int[] getTargetColumns(List<ReadyWriteBatch> readyWriteBatches) {
         // check the target columns in the batch list should be the same. If not same,
         // we throw exception directly currently.
         int[] targetColumns =
@@ -123,21 +179,23 @@ public class ClientRpcMessageUtils {
                                 Arrays.toString(currentBatchTargetColumns)));
             }
         }
-        if (targetColumns != null) {
-            request.setTargetColumns(targetColumns);
-        }
+        return targetColumns;
+    }
+
+    private static void addPutKvReqForBuckets(
+            List<ReadyWriteBatch> readyWriteBatches, Supplier<PbPutKvReqForBucket> bucketReqAdder) {
         readyWriteBatches.forEach(
                 readyBatch -> {
                     TableBucket tableBucket = readyBatch.tableBucket();
                     PbPutKvReqForBucket pbPutKvReqForBucket =
-                            request.addBucketsReq()
+                            bucketReqAdder
+                                    .get()
                                     .setBucketId(tableBucket.getBucket())
                                     .setRecordsBytesView(readyBatch.writeBatch().build());
                     if (tableBucket.getPartitionId() != null) {
                         pbPutKvReqForBucket.setPartitionId(tableBucket.getPartitionId());
                     }
                 });
-        return request;
     }
 
     public static LookupRequest makeLookupRequest(
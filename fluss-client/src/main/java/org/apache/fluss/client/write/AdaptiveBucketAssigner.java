@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.metadata.PhysicalTablePath;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The bucket assigner with sticky strategy, which chooses the new sticky bucket by the load of the
+ * bucket leaders tracked by {@link LeaderLoadTracker}. A bucket is chosen with a probability in
+ * inverse proportion to the expected time to write a batch to its leader, and the buckets whose
+ * leader is lagging are avoided unless the leaders of all available buckets are lagging. So a slow
+ * tablet server doesn't accumulate a disproportionate share of the queued batches.
+ */
+@Internal
+public class AdaptiveBucketAssigner extends StickyBucketAssigner {
+
+    private final LeaderLoadTracker leaderLoadTracker;
+
+    public AdaptiveBucketAssigner(
+            PhysicalTablePath physicalTablePath, LeaderLoadTracker leaderLoadTracker) {
+        super(physicalTablePath);
+        this.leaderLoadTracker = leaderLoadTracker;
+    }
+
+    @Override
+    protected int chooseBucket(List<BucketLocation> availableBuckets, int oldBucket) {
+        double[] weights = leaderLoadTracker.bucketWeights(availableBuckets);
+        double totalWeight = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (availableBuckets.get(i).getBucketId() == oldBucket) {
+                weights[i] = 0;
+            }
+            totalWeight += weights[i];
+        }
+        if (totalWeight <= 0) {
+            return super.chooseBucket(availableBuckets, oldBucket);
+        }
+
+        double random = ThreadLocalRandom.current().nextDouble() * totalWeight;
+        int chosen = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                chosen = i;
+                random -= weights[i];
+                if (random < 0) {
+                    break;
+                }
+            }
+        }
+        return availableBuckets.get(chosen).getBucketId();
+    }
+}
@@ -56,10 +56,22 @@ public class ArrowLogWriteBatch extends WriteBatch {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView,
             long createdMs) {
+        this(bucketId, physicalTablePath, schemaId, arrowWriter, outputView, createdMs, false);
+    }
+
+    public ArrowLogWriteBatch(
+            int bucketId,
+            PhysicalTablePath physicalTablePath,
+            int schemaId,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            long createdMs,
+            boolean statisticsEnabled) {
         super(bucketId, physicalTablePath, createdMs);
         this.outputView = outputView;
         this.recordsBuilder =
-                MemoryLogRecordsArrowBuilder.builder(schemaId, arrowWriter, outputView, true);
+                MemoryLogRecordsArrowBuilder.builder(
+                        schemaId, arrowWriter, outputView, true, statisticsEnabled);
     }
 
     @Override
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits the number of in-flight write requests the {@link Sender} sends to each tablet server,
+ * with a limit adapted to the round trip time of the write requests (AIMD).
+ *
+ * <p>The limit of a tablet server starts at the configured maximum. It grows by one per limit of
+ * requests completed while the round trip time stays below {@link #RTT_TOLERANCE} times the
+ * lowest round trip time observed recently, and is cut by {@link #BACKOFF_RATIO} otherwise, at
+ * most once per limit of requests. A growing round trip time means the requests queue up in the
+ * tablet server (or the network), where more in-flight requests only add latency, while holding
+ * the batches back in the {@link RecordAccumulator} lets them grow larger.
+ *
+ * <p>The lowest round trip time is tracked over two consecutive windows of {@link
+ * #MIN_RTT_WINDOW_SAMPLES} requests, so it follows the tablet server when its baseline changes.
+ */
+@ThreadSafe
+@Internal
+public class InFlightRequestLimiter {
+
+    /** How many times the lowest round trip time a round trip time is considered uncongested. */
+    static final double RTT_TOLERANCE = 2.0;
+
+    /** The round trip time below which is always considered uncongested. */
+    static final long RTT_TOLERANCE_MS = 5;
+
+    /** The ratio to cut the limit by when the round trip time is congested. */
+    static final double BACKOFF_RATIO = 0.9;
+
+    /** The number of requests of a window to track the lowest round trip time. */
+    static final int MIN_RTT_WINDOW_SAMPLES = 500;
+
+    /** See {@link ConfigOptions#CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_SERVER}. */
+    private final int maxInFlightRequests;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Map<Integer, ServerLimit> limits = new HashMap<>();
+
+    public InFlightRequestLimiter(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    /** Returns whether a new write request can be sent to the tablet server. */
+    boolean hasCapacity(int serverId) {
+        synchronized (lock) {
+            ServerLimit limit = limits.get(serverId);
+            return limit == null || limit.inFlightRequests < (int) limit.limit;
+        }
+    }
+
+    /** Records that a write request is sent to the tablet server. */
+    void onRequestSent(int serverId) {
+        synchronized (lock) {
+            getOrCreateLimit(serverId).inFlightRequests++;
+        }
+    }
+
+    /**
+     * Records that a write request to the tablet server is completed in the given round trip time,
+     * and adapts the limit of the tablet server to it.
+     */
+    void onRequestCompleted(int serverId, long rttMs) {
+        synchronized (lock) {
+            ServerLimit limit = getOrCreateLimit(serverId);
+            limit.release();
+            limit.completedSinceBackoff++;
+
+            limit.windowMinRttMs = Math.min(limit.windowMinRttMs, rttMs);
+            if (++limit.windowSamples >= MIN_RTT_WINDOW_SAMPLES) {
+                limit.previousWindowMinRttMs = limit.windowMinRttMs;
+                limit.windowMinRttMs = Long.MAX_VALUE;
+                limit.windowSamples = 0;
+            }
+            long minRttMs = Math.min(limit.previousWindowMinRttMs, limit.windowMinRttMs);
+
+            if (rttMs <= Math.max(minRttMs * RTT_TOLERANCE, minRttMs + RTT_TOLERANCE_MS)) {
+                limit.limit = Math.min(maxInFlightRequests, limit.limit + 1 / limit.limit);
+            } else if (limit.completedSinceBackoff >= limit.limit) {
+                limit.limit = Math.max(1, limit.limit * BACKOFF_RATIO);
+                limit.completedSinceBackoff = 0;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Records that a write request to the tablet server is failed, which releases the request
+     * without adapting the limit, as the failure doesn't tell the load of the tablet server.
+     */
+    void onRequestFailed(int serverId) {
+        synchronized (lock) {
+            getOrCreateLimit(serverId).release();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until a write request is completed or failed, or the timeout elapses, whichever comes
+     * first. Returns immediately if the timeout isn't positive.
+     */
+    void awaitCompletion(long timeoutMs) throws InterruptedException {
+        if (timeoutMs <= 0) {
+            return;
+        }
+        synchronized (lock) {
+            lock.wait(timeoutMs);
+        }
+    }
+
+    @VisibleForTesting
+    int limit(int serverId) {
+        synchronized (lock) {
+            ServerLimit limit = limits.get(serverId);
+            return limit == null ? maxInFlightRequests : (int) limit.limit;
+        }
+    }
+
+    @VisibleForTesting
+    int inFlightRequests(int serverId) {
+        synchronized (lock) {
+            ServerLimit limit = limits.get(serverId);
+            return limit == null ? 0 : limit.inFlightRequests;
+        }
+    }
+
+    @GuardedBy("lock")
+    private ServerLimit getOrCreateLimit(int serverId) {
+        return limits.computeIfAbsent(serverId, k -> new ServerLimit(maxInFlightRequests));
+    }
+
+    /** The in-flight requests and the adaptive limit of a tablet server. */
+    private static final class ServerLimit {
+        private double limit;
+        private int inFlightRequests = 0;
+        // the number of requests completed since the limit is cut last time
+        private int completedSinceBackoff = 0;
+        // the lowest round trip time of the current and previous window
+        private long windowMinRttMs = Long.MAX_VALUE;
+        private long previousWindowMinRttMs = Long.MAX_VALUE;
+        private int windowSamples = 0;
+
+        private ServerLimit(int limit) {
+            this.limit = limit;
+        }
+
+        private void release() {
+            inFlightRequests = Math.max(0, inFlightRequests - 1);
+        }
+    }
+}
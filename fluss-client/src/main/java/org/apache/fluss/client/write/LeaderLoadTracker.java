@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.utils.clock.Clock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the load of the tablet servers leading the buckets written by the writer, i.e., the
+ * batches queued in the {@link RecordAccumulator} for each leader and the latency of the write
+ * requests sent to each leader by the {@link Sender}. It's used by the {@link
+ * AdaptiveBucketAssigner} to prefer the buckets on less loaded leaders.
+ */
+@ThreadSafe
+@Internal
+public class LeaderLoadTracker {
+
+    /** The weight of the latest latency in the moving average of the write latency. */
+    private static final double LATENCY_AVERAGE_ALPHA = 0.2;
+
+    /** See {@link ConfigOptions#CLIENT_WRITER_BUCKET_ADAPTIVE_LAGGING_LATENCY}. */
+    private final long laggingLatencyMs;
+
+    private final Clock clock;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Map<Integer, LeaderLoad> loads = new HashMap<>();
+
+    public LeaderLoadTracker(long laggingLatencyMs, Clock clock) {
+        this.laggingLatencyMs = laggingLatencyMs;
+        this.clock = clock;
+    }
+
+    /** Updates the number of batches queued in the record accumulator for each leader. */
+    void updateQueuedBatches(Map<Integer, Integer> queuedBatchesByLeader) {
+        synchronized (lock) {
+            for (LeaderLoad load : loads.values()) {
+                load.queuedBatches = 0;
+            }
+            for (Map.Entry<Integer, Integer> entry : queuedBatchesByLeader.entrySet()) {
+                getOrCreateLoad(entry.getKey()).queuedBatches = entry.getValue();
+            }
+        }
+    }
+
+    /** Records that a write request is sent to the leader. */
+    void onRequestSent(int leader) {
+        long nowMs = clock.milliseconds();
+        synchronized (lock) {
+            LeaderLoad load = getOrCreateLoad(leader);
+            if (load.inFlightRequests == 0) {
+                load.waitingSinceMs = nowMs;
+            }
+            load.inFlightRequests++;
+        }
+    }
+
+    /** Records that a write request to the leader is completed in the given latency. */
+    void onRequestCompleted(int leader, long latencyMs) {
+        long nowMs = clock.milliseconds();
+        synchronized (lock) {
+            LeaderLoad load = getOrCreateLoad(leader);
+            load.inFlightRequests = Math.max(0, load.inFlightRequests - 1);
+            load.waitingSinceMs = nowMs;
+            if (load.averageLatencyMs < 0) {
+                load.averageLatencyMs = latencyMs;
+            } else {
+                load.averageLatencyMs =
+                        LATENCY_AVERAGE_ALPHA * latencyMs
+                                + (1 - LATENCY_AVERAGE_ALPHA) * load.averageLatencyMs;
+            }
+        }
+    }
+
+    /**
+     * Returns the weights to choose the given buckets, which are in inverse proportion to the
+     * expected time to write a batch to the leader of the bucket, i.e., the number of queued
+     * batches plus one multiplied by the write latency of the leader. The buckets on lagging
+     * leaders get weight 0, unless the leaders of all the given buckets are lagging.
+     */
+    double[] bucketWeights(List<BucketLocation> buckets) {
+        long nowMs = clock.milliseconds();
+        double[] weights = new double[buckets.size()];
+        boolean[] lagging = new boolean[buckets.size()];
+        boolean allLagging = true;
+        synchronized (lock) {
+            for (int i = 0; i < buckets.size(); i++) {
+                Integer leader = buckets.get(i).getLeader();
+                LeaderLoad load = leader == null ? null : loads.get(leader);
+                if (load == null) {
+                    // no load is observed on the leader yet
+                    weights[i] = 1.0;
+                } else {
+                    long latencyMs = writeLatencyMs(load, nowMs);
+                    weights[i] = 1.0 / ((load.queuedBatches + 1) * (latencyMs + 1.0));
+                    lagging[i] = latencyMs > laggingLatencyMs;
+                }
+                allLagging &= lagging[i];
+            }
+        }
+        if (!allLagging) {
+            for (int i = 0; i < weights.length; i++) {
+                if (lagging[i]) {
+                    weights[i] = 0;
+                }
+            }
+        }
+        return weights;
+    }
+
+    @VisibleForTesting
+    boolean isLagging(int leader) {
+        long nowMs = clock.milliseconds();
+        synchronized (lock) {
+            LeaderLoad load = loads.get(leader);
+            return load != null && writeLatencyMs(load, nowMs) > laggingLatencyMs;
+        }
+    }
+
+    @GuardedBy("lock")
+    private LeaderLoad getOrCreateLoad(int leader) {
+        return loads.computeIfAbsent(leader, k -> new LeaderLoad());
+    }
+
+    /**
+     * Returns the write latency of the leader, which is the moving average of the latency of the
+     * write requests, or how long the in-flight write requests are waited if longer, so that a
+     * leader which stops responding is detected before its requests time out.
+     */
+    @GuardedBy("lock")
+    private static long writeLatencyMs(LeaderLoad load, long nowMs) {
+        long waitingMs = load.inFlightRequests > 0 ? nowMs - load.waitingSinceMs : 0;
+        return Math.max((long) load.averageLatencyMs, waitingMs);
+    }
+
+    /** The load of a leader. */
+    private static final class LeaderLoad {
+        private int queuedBatches = 0;
+        private int inFlightRequests = 0;
+        // the time since when the writer is waiting for the responses of in-flight requests
+        private long waitingSinceMs = -1L;
+        // the moving average of the latency of the write requests, -1 if no request completes
+        private double averageLatencyMs = -1;
+    }
+}
@@ -47,7 +47,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -58,6 +57,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -111,6 +111,7 @@ public final class RecordAccumulator {
     private final IdempotenceManager idempotenceManager;
     private final Clock clock;
     private final DynamicWriteBatchSizeEstimator batchSizeEstimator;
+    private final LeaderLoadTracker leaderLoadTracker;
 
     // TODO add retryBackoffMs to retry the produce request upon receiving an error.
     // TODO add deliveryTimeoutMs to report success or failure on record delivery.
@@ -144,6 +145,11 @@ public final class RecordAccumulator {
                         (int) conf.get(ConfigOptions.CLIENT_WRITER_BUFFER_PAGE_SIZE).getBytes());
         this.idempotenceManager = idempotenceManager;
         this.clock = clock;
+        this.leaderLoadTracker =
+                new LeaderLoadTracker(
+                        conf.get(ConfigOptions.CLIENT_WRITER_BUCKET_ADAPTIVE_LAGGING_LATENCY)
+                                .toMillis(),
+                        clock);
         registerMetrics(writerMetricGroup);
     }
 
@@ -191,12 +197,12 @@ public final class RecordAccumulator {
             // check if we have an in-progress batch
             Deque<WriteBatch> dq =
                     bucketAndWriteBatches.batches.computeIfAbsent(
-                            bucketId, k -> new ArrayDeque<>());
-            synchronized (dq) {
-                RecordAppendResult appendResult = tryAppend(writeRecord, callback, dq);
-                if (appendResult != null) {
-                    return appendResult;
-                }
+                            bucketId, k -> new ConcurrentLinkedDeque<>());
+            // appending to the open batch only locks the batch, which doesn't block the sender
+            // checking and draining the other batches of the bucket.
+            RecordAppendResult appendResult = tryAppend(writeRecord, callback, dq);
+            if (appendResult != null) {
+                return appendResult;
             }
 
             // we don't have an in-progress record batch try to allocate a new batch
@@ -207,7 +213,7 @@ public final class RecordAccumulator {
 
             memorySegments = allocateMemorySegments(writeRecord, physicalTablePath);
             synchronized (dq) {
-                RecordAppendResult appendResult =
+                appendResult =
                         appendNewBatch(
                                 writeRecord,
                                 callback,
@@ -251,6 +257,7 @@ public final class RecordAccumulator {
         Set<Integer> readyNodes = new HashSet<>();
         long nextReadyCheckDelayMs = batchTimeoutMs;
         Set<PhysicalTablePath> unknownLeaderTables = new HashSet<>();
+        Map<Integer, Integer> queuedBatchesByLeader = new HashMap<>();
         // Go table by table so that we can get queue sizes for buckets in a table and calculate
         // cumulative frequency table (used in bucket assigner).
 
@@ -262,9 +269,11 @@ public final class RecordAccumulator {
                             writeBatchesEntry.getValue(),
                             readyNodes,
                             unknownLeaderTables,
+                            queuedBatchesByLeader,
                             cluster,
                             nextReadyCheckDelayMs);
         }
+        leaderLoadTracker.updateQueuedBatches(queuedBatchesByLeader);
 
         // TODO and the earliest time at which any non-send-able bucket will be ready;
 
@@ -317,7 +326,9 @@ public final class RecordAccumulator {
         for (WriteBatch batch : incomplete.copyAll()) {
             Deque<WriteBatch> dq = getDeque(batch.physicalTablePath(), batch.bucketId());
             synchronized (dq) {
-                batch.abortRecordAppends();
+                synchronized (batch) {
+                    batch.abortRecordAppends();
+                }
                 dq.remove(batch);
             }
             batch.abort(reason);
@@ -337,17 +348,15 @@ public final class RecordAccumulator {
                                         tableBucket.getPartitionId(),
                                         physicalTablePath.getPartitionName() != null));
         return bucketAndWriteBatches.batches.computeIfAbsent(
-                tableBucket.getBucket(), k -> new ArrayDeque<>());
+                tableBucket.getBucket(), k -> new ConcurrentLinkedDeque<>());
     }
 
     /** Check whether there are any batches which haven't been drained. */
     public boolean hasUnDrained() {
         for (BucketAndWriteBatches bucketAndWriteBatches : writeBatches.values()) {
             for (Deque<WriteBatch> deque : bucketAndWriteBatches.batches.values()) {
-                synchronized (deque) {
-                    if (!deque.isEmpty()) {
-                        return true;
-                    }
+                if (!deque.isEmpty()) {
+                    return true;
                 }
             }
         }
@@ -422,6 +431,11 @@ public final class RecordAccumulator {
         return bucketAndWriteBatches.batches.get(bucketId);
     }
 
+    /** Returns the tracker of the load of the bucket leaders written by the writer. */
+    public LeaderLoadTracker getLeaderLoadTracker() {
+        return leaderLoadTracker;
+    }
+
     public Set<PhysicalTablePath> getPhysicalTablePathsInBatches() {
         return writeBatches.keySet();
     }
@@ -460,6 +474,7 @@ public final class RecordAccumulator {
             BucketAndWriteBatches bucketAndWriteBatches,
             Set<Integer> readyNodes,
             Set<PhysicalTablePath> unknownLeaderTables,
+            Map<Integer, Integer> queuedBatchesByLeader,
             Cluster cluster,
             long nextReadyCheckDelayMs) {
         // first check this table has partitionId.
@@ -485,27 +500,20 @@ public final class RecordAccumulator {
         for (Map.Entry<Integer, Deque<WriteBatch>> entry : batches.entrySet()) {
             Deque<WriteBatch> deque = entry.getValue();
 
-            final long waitedTimeMs;
-            final int dequeSize;
-            final boolean full;
-
-            // Note: this loop is especially hot with large bucket counts.
-            // We are careful to only perform the minimum required inside the synchronized
-            // block, as this lock is also used to synchronize writer threads
-            // attempting to append() to a bucket/batch.
-            synchronized (deque) {
-                // Deque are often empty in this path, esp with large bucket counts,
-                // so we exit early if we can.
-                WriteBatch batch = deque.peekFirst();
-                if (batch == null) {
-                    continue;
-                }
-
-                waitedTimeMs = batch.waitedTimeMs(clock.milliseconds());
-                dequeSize = deque.size();
-                full = dequeSize > 1 || batch.isClosed();
+            // Note: this loop is especially hot with large bucket counts, so the concurrent deque
+            // is read without locking, which never blocks the writer threads attempting to
+            // append() to a bucket/batch. A stale result only defers the batch to the next check.
+            // Deque are often empty in this path, esp with large bucket counts,
+            // so we exit early if we can.
+            WriteBatch batch = deque.peekFirst();
+            if (batch == null) {
+                continue;
             }
 
+            long waitedTimeMs = batch.waitedTimeMs(clock.milliseconds());
+            int dequeSize = deque.size();
+            boolean full = dequeSize > 1 || batch.isClosed();
+
             int bucketId = entry.getKey();
             TableBucket tableBucket = cluster.getTableBucket(physicalTablePath, bucketId);
             Integer leader = cluster.leaderFor(tableBucket);
@@ -515,6 +523,7 @@ public final class RecordAccumulator {
                 // batches when deque is empty.
                 unknownLeaderTables.add(physicalTablePath);
             } else {
+                queuedBatchesByLeader.merge(leader, dequeSize, Integer::sum);
                 nextReadyCheckDelayMs =
                         batchReady(
                                 exhausted,
@@ -612,7 +621,8 @@ public final class RecordAccumulator {
                             schemaId,
                             arrowWriter,
                             outputView,
-                            clock.milliseconds());
+                            clock.milliseconds(),
+                            tableInfo.getTableConfig().isArrowStatisticsEnabled());
         } else {
             batch =
                     new IndexedLogWriteBatch(
@@ -624,12 +634,22 @@ public final class RecordAccumulator {
                             clock.milliseconds());
         }
 
+        // the batch isn't visible to the other threads until it is added to the deque
         batch.tryAppend(writeRecord, callback);
         deque.addLast(batch);
         incomplete.add(batch);
         return new RecordAppendResult(deque.size() > 1 || batch.isClosed(), true, false);
     }
 
+    /**
+     * Try to append the record to the last batch of the deque. Only the last batch is locked, so
+     * the appends to the same bucket are serialized by the batch instead of the deque, and the
+     * deque lock is only needed to roll over to a new batch and to drain the batches.
+     *
+     * <p>The last batch may be drained (and closed) concurrently after it is peeked, in which case
+     * the append fails as the batch is closed, and the caller creates a new batch under the deque
+     * lock.
+     */
     private RecordAppendResult tryAppend(
             WriteRecord writeRecord, WriteCallback callback, Deque<WriteBatch> deque)
             throws Exception {
@@ -638,16 +658,19 @@ public final class RecordAccumulator {
         }
         WriteBatch last = deque.peekLast();
         if (last != null) {
-            boolean success = last.tryAppend(writeRecord, callback);
-            if (!success) {
-                // TODO For ArrowLogWriteBatch, close here is a heavy operation (including build
-                // logic), we need to avoid do that in an lock which locked dq. However, why we not
-                // remove build logic out of close for ArrowLogWriteBatch is that we want to release
-                // non-heap memory hold by arrowWriter as soon as possible to avoid OOM. Maybe we
-                // need to introduce a more reasonable way to solve these two problems.
-                last.close();
-            } else {
-                return new RecordAppendResult(deque.size() > 1 || last.isClosed(), false, false);
+            synchronized (last) {
+                boolean success = last.tryAppend(writeRecord, callback);
+                if (!success) {
+                    // For ArrowLogWriteBatch, close here is a heavy operation (including build
+                    // logic), but it only locks the full batch, so it doesn't block the sender. We
+                    // don't remove build logic out of close for ArrowLogWriteBatch, as we want to
+                    // release non-heap memory hold by arrowWriter as soon as possible to avoid
+                    // OOM.
+                    last.close();
+                } else {
+                    return new RecordAppendResult(
+                            deque.size() > 1 || last.isClosed(), false, false);
+                }
             }
         }
         return null;
@@ -685,7 +708,12 @@ public final class RecordAccumulator {
 
                 // TODO retry back off check.
 
-                if (size + first.estimatedSizeInBytes() > maxSize && !ready.isEmpty()) {
+                int firstSize;
+                // the size estimation of an open batch must not race with the appends to it
+                synchronized (first) {
+                    firstSize = first.estimatedSizeInBytes();
+                }
+                if (size + firstSize > maxSize && !ready.isEmpty()) {
                     // there is a rare case that a single batch size is larger than the request size
                     // due to compression; in this case we will still eventually send this batch in
                     // a single request.
@@ -729,9 +757,12 @@ public final class RecordAccumulator {
                 }
             }
 
-            // the rest of the work by processing outside the lock close() is particularly expensive
+            // the rest of the work by processing outside the lock close() is particularly expensive.
+            // The batch lock waits for the append which is in progress on the batch.
             checkNotNull(batch, "batch should not be null");
-            batch.close();
+            synchronized (batch) {
+                batch.close();
+            }
             int currentBatchSize = batch.estimatedSizeInBytes();
             size += currentBatchSize;
             batchSizeEstimator.updateEstimation(physicalTablePath, currentBatchSize);
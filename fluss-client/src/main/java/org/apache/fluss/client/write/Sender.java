@@ -28,12 +28,19 @@ import org.apache.fluss.exception.OutOfOrderSequenceException;
 import org.apache.fluss.exception.PartitionNotExistException;
 import org.apache.fluss.exception.RetriableException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
+import org.apache.fluss.exception.UnsupportedVersionException;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.PbProduceLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForTable;
 import org.apache.fluss.rpc.messages.PbPutKvRespForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvRespForTable;
 import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
@@ -53,7 +60,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makeMultiProduceLogRequest;
+import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makeMultiPutKvRequest;
 import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makeProduceLogRequest;
 import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makePutKvRequest;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
@@ -107,6 +117,18 @@ public class Sender implements Runnable {
 
     private final WriterMetricGroup writerMetricGroup;
 
+    /** The tracker of the load of the leaders to send write requests to. */
+    private final LeaderLoadTracker leaderLoadTracker;
+
+    /** The limiter of the in-flight write requests to each tablet server. */
+    private final InFlightRequestLimiter inFlightRequestLimiter;
+
+    /** Whether to coalesce the batches of multiple tables into one write request. */
+    private final boolean coalesceTablesEnabled;
+
+    /** The tablet servers which don't support multi-table write requests. */
+    private final Set<Integer> serversWithoutMultiTableWrite = ConcurrentHashMap.newKeySet();
+
     public Sender(
             RecordAccumulator accumulator,
             int maxRequestTimeoutMs,
@@ -115,7 +137,9 @@ public class Sender implements Runnable {
             int retries,
             MetadataUpdater metadataUpdater,
             IdempotenceManager idempotenceManager,
-            WriterMetricGroup writerMetricGroup) {
+            WriterMetricGroup writerMetricGroup,
+            int maxInFlightRequestsPerServer,
+            boolean coalesceTablesEnabled) {
         this.accumulator = accumulator;
         this.maxRequestSize = maxRequestSize;
         this.maxRequestTimeoutMs = maxRequestTimeoutMs;
@@ -129,6 +153,9 @@ public class Sender implements Runnable {
 
         this.idempotenceManager = idempotenceManager;
         this.writerMetricGroup = writerMetricGroup;
+        this.leaderLoadTracker = accumulator.getLeaderLoadTracker();
+        this.inFlightRequestLimiter = new InFlightRequestLimiter(maxInFlightRequestsPerServer);
+        this.coalesceTablesEnabled = coalesceTablesEnabled;
 
         // TODO add retry logic while send failed. See FLUSS-56364375
     }
@@ -236,6 +263,14 @@ public class Sender implements Runnable {
             // In the future, we need to introduce delay logic to deal with it.
             // TODO: condition waiter
             Thread.sleep(readyCheckResult.nextReadyCheckDelayMs);
+        } else {
+            // hold back the batches of the servers which reached their in-flight request limit,
+            // they keep batching records in the accumulator until a request is completed.
+            readyNodes = new HashSet<>(readyNodes);
+            readyNodes.removeIf(node -> !inFlightRequestLimiter.hasCapacity(node));
+            if (readyNodes.isEmpty()) {
+                inFlightRequestLimiter.awaitCompletion(readyCheckResult.nextReadyCheckDelayMs);
+            }
         }
 
         // get the list of batches prepare to send.
@@ -374,40 +409,182 @@ public class Sender implements Runnable {
                     new LeaderNotAvailableException(
                             "Server " + destination + " is not found in metadata cache."),
                     recordsByBucket);
-        } else {
+        } else if (coalesceTablesEnabled
+                && writeBatchByTable.size() > 1
+                && !serversWithoutMultiTableWrite.contains(destination)) {
+            Map<Long, List<ReadyWriteBatch>> logBatchesByTable = new HashMap<>();
+            Map<Long, List<ReadyWriteBatch>> kvBatchesByTable = new HashMap<>();
             writeBatchByTable.forEach(
                     (tableId, writeBatches) -> {
                         TableInfo tableInfo = metadataUpdater.getTableInfoOrElseThrow(tableId);
                         if (tableInfo.hasPrimaryKey()) {
-                            sendPutKvRequestAndHandleResponse(
-                                    gateway,
-                                    makePutKvRequest(
-                                            tableId, acks, maxRequestTimeoutMs, writeBatches),
-                                    tableId,
-                                    recordsByBucket);
+                            kvBatchesByTable.put(tableId, writeBatches);
                         } else {
-                            sendProduceLogRequestAndHandleResponse(
-                                    gateway,
-                                    makeProduceLogRequest(
-                                            tableId, acks, maxRequestTimeoutMs, writeBatches),
-                                    tableId,
-                                    recordsByBucket);
+                            logBatchesByTable.put(tableId, writeBatches);
                         }
                     });
+            if (logBatchesByTable.size() > 1) {
+                sendMultiProduceLogRequestAndHandleResponse(
+                        destination, gateway, logBatchesByTable, recordsByBucket);
+            } else {
+                sendWriteRequestsPerTable(destination, gateway, logBatchesByTable, recordsByBucket);
+            }
+            if (kvBatchesByTable.size() > 1) {
+                sendMultiPutKvRequestAndHandleResponse(
+                        destination, gateway, kvBatchesByTable, recordsByBucket);
+            } else {
+                sendWriteRequestsPerTable(destination, gateway, kvBatchesByTable, recordsByBucket);
+            }
+        } else {
+            sendWriteRequestsPerTable(destination, gateway, writeBatchByTable, recordsByBucket);
+        }
+    }
+
+    /** Sends one {@link ProduceLogRequest} or {@link PutKvRequest} for each table. */
+    private void sendWriteRequestsPerTable(
+            int destination,
+            TabletServerGateway gateway,
+            Map<Long, List<ReadyWriteBatch>> writeBatchByTable,
+            Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
+        writeBatchByTable.forEach(
+                (tableId, writeBatches) -> {
+                    TableInfo tableInfo = metadataUpdater.getTableInfoOrElseThrow(tableId);
+                    if (tableInfo.hasPrimaryKey()) {
+                        sendPutKvRequestAndHandleResponse(
+                                destination,
+                                gateway,
+                                makePutKvRequest(tableId, acks, maxRequestTimeoutMs, writeBatches),
+                                tableId,
+                                recordsByBucket);
+                    } else {
+                        sendProduceLogRequestAndHandleResponse(
+                                destination,
+                                gateway,
+                                makeProduceLogRequest(
+                                        tableId, acks, maxRequestTimeoutMs, writeBatches),
+                                tableId,
+                                recordsByBucket);
+                    }
+                });
+    }
+
+    private void sendMultiProduceLogRequestAndHandleResponse(
+            int destination,
+            TabletServerGateway gateway,
+            Map<Long, List<ReadyWriteBatch>> writeBatchByTable,
+            Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
+        MultiProduceLogRequest request =
+                makeMultiProduceLogRequest(acks, maxRequestTimeoutMs, writeBatchByTable);
+        long startTime = System.currentTimeMillis();
+        onRequestSent(destination);
+        gateway.multiProduceLog(request)
+                .whenComplete(
+                        (multiProduceLogResponse, e) -> {
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            if (isMultiTableWriteUnsupported(destination, e)) {
+                                inFlightRequestLimiter.onRequestFailed(destination);
+                                leaderLoadTracker.onRequestCompleted(destination, latencyMs);
+                                sendWriteRequestsPerTable(
+                                        destination, gateway, writeBatchByTable, recordsByBucket);
+                                return;
+                            }
+                            onRequestCompleted(destination, latencyMs, e);
+                            if (e != null) {
+                                handleWriteRequestException(e, batchesByBucket(writeBatchByTable));
+                            } else {
+                                handleMultiProduceLogResponse(
+                                        multiProduceLogResponse, recordsByBucket);
+                            }
+                        });
+    }
+
+    private void sendMultiPutKvRequestAndHandleResponse(
+            int destination,
+            TabletServerGateway gateway,
+            Map<Long, List<ReadyWriteBatch>> writeBatchByTable,
+            Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
+        MultiPutKvRequest request =
+                makeMultiPutKvRequest(acks, maxRequestTimeoutMs, writeBatchByTable);
+        long startTime = System.currentTimeMillis();
+        onRequestSent(destination);
+        gateway.multiPutKv(request)
+                .whenComplete(
+                        (multiPutKvResponse, e) -> {
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            if (isMultiTableWriteUnsupported(destination, e)) {
+                                inFlightRequestLimiter.onRequestFailed(destination);
+                                leaderLoadTracker.onRequestCompleted(destination, latencyMs);
+                                sendWriteRequestsPerTable(
+                                        destination, gateway, writeBatchByTable, recordsByBucket);
+                                return;
+                            }
+                            onRequestCompleted(destination, latencyMs, e);
+                            if (e != null) {
+                                handleWriteRequestException(e, batchesByBucket(writeBatchByTable));
+                            } else {
+                                handleMultiPutKvResponse(multiPutKvResponse, recordsByBucket);
+                            }
+                        });
+    }
+
+    /**
+     * Returns whether the write request failed because the server doesn't support multi-table
+     * write requests, in which case the server is remembered to be sent one request per table.
+     */
+    private boolean isMultiTableWriteUnsupported(int destination, Throwable t) {
+        if (t == null
+                || !(ExceptionUtils.stripCompletionException(t)
+                        instanceof UnsupportedVersionException)) {
+            return false;
+        }
+        if (serversWithoutMultiTableWrite.add(destination)) {
+            LOG.info(
+                    "Server {} doesn't support multi-table write requests, "
+                            + "falling back to one write request per table.",
+                    destination);
+        }
+        return true;
+    }
+
+    private static Map<TableBucket, ReadyWriteBatch> batchesByBucket(
+            Map<Long, List<ReadyWriteBatch>> writeBatchByTable) {
+        Map<TableBucket, ReadyWriteBatch> batchesByBucket = new HashMap<>();
+        for (List<ReadyWriteBatch> writeBatches : writeBatchByTable.values()) {
+            for (ReadyWriteBatch batch : writeBatches) {
+                batchesByBucket.put(batch.tableBucket(), batch);
+            }
+        }
+        return batchesByBucket;
+    }
+
+    private void onRequestSent(int destination) {
+        leaderLoadTracker.onRequestSent(destination);
+        inFlightRequestLimiter.onRequestSent(destination);
+    }
+
+    private void onRequestCompleted(int destination, long latencyMs, Throwable t) {
+        writerMetricGroup.setSendLatencyInMs(latencyMs);
+        leaderLoadTracker.onRequestCompleted(destination, latencyMs);
+        if (t == null) {
+            inFlightRequestLimiter.onRequestCompleted(destination, latencyMs);
+        } else {
+            inFlightRequestLimiter.onRequestFailed(destination);
         }
     }
 
     private void sendProduceLogRequestAndHandleResponse(
+            int destination,
             TabletServerGateway gateway,
             ProduceLogRequest request,
             long tableId,
             Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
         long startTime = System.currentTimeMillis();
+        onRequestSent(destination);
         gateway.produceLog(request)
                 .whenComplete(
                         (produceLogResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            onRequestCompleted(destination, latencyMs, e);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
@@ -418,16 +595,18 @@ public class Sender implements Runnable {
     }
 
     private void sendPutKvRequestAndHandleResponse(
+            int destination,
             TabletServerGateway gateway,
             PutKvRequest request,
             long tableId,
             Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
         long startTime = System.currentTimeMillis();
+        onRequestSent(destination);
         gateway.putKv(request)
                 .whenComplete(
                         (putKvResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            onRequestCompleted(destination, latencyMs, e);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
@@ -441,7 +620,30 @@ public class Sender implements Runnable {
             long tableId,
             Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
         Set<PhysicalTablePath> invalidMetadataTablesSet = new HashSet<>();
-        for (PbProduceLogRespForBucket logRespForBucket : response.getBucketsRespsList()) {
+        handleProduceLogRespForBuckets(
+                tableId, response.getBucketsRespsList(), recordsByBucket, invalidMetadataTablesSet);
+        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
+    }
+
+    private void handleMultiProduceLogResponse(
+            MultiProduceLogResponse response, Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
+        Set<PhysicalTablePath> invalidMetadataTablesSet = new HashSet<>();
+        for (PbProduceLogRespForTable respForTable : response.getTablesRespsList()) {
+            handleProduceLogRespForBuckets(
+                    respForTable.getTableId(),
+                    respForTable.getBucketsRespsList(),
+                    recordsByBucket,
+                    invalidMetadataTablesSet);
+        }
+        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
+    }
+
+    private void handleProduceLogRespForBuckets(
+            long tableId,
+            List<PbProduceLogRespForBucket> bucketsResps,
+            Map<TableBucket, ReadyWriteBatch> recordsByBucket,
+            Set<PhysicalTablePath> invalidMetadataTablesSet) {
+        for (PbProduceLogRespForBucket logRespForBucket : bucketsResps) {
             TableBucket tb =
                     new TableBucket(
                             tableId,
@@ -459,7 +661,6 @@ public class Sender implements Runnable {
                 completeBatch(writeBatch);
             }
         }
-        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
     }
 
     private void handlePutKvResponse(
@@ -467,7 +668,33 @@ public class Sender implements Runnable {
             long tableId,
             Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
         Set<PhysicalTablePath> invalidMetadataTablesSet = new HashSet<>();
-        for (PbPutKvRespForBucket respForBucket : putKvResponse.getBucketsRespsList()) {
+        handlePutKvRespForBuckets(
+                tableId,
+                putKvResponse.getBucketsRespsList(),
+                recordsByBucket,
+                invalidMetadataTablesSet);
+        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
+    }
+
+    private void handleMultiPutKvResponse(
+            MultiPutKvResponse response, Map<TableBucket, ReadyWriteBatch> recordsByBucket) {
+        Set<PhysicalTablePath> invalidMetadataTablesSet = new HashSet<>();
+        for (PbPutKvRespForTable respForTable : response.getTablesRespsList()) {
+            handlePutKvRespForBuckets(
+                    respForTable.getTableId(),
+                    respForTable.getBucketsRespsList(),
+                    recordsByBucket,
+                    invalidMetadataTablesSet);
+        }
+        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
+    }
+
+    private void handlePutKvRespForBuckets(
+            long tableId,
+            List<PbPutKvRespForBucket> bucketsResps,
+            Map<TableBucket, ReadyWriteBatch> recordsByBucket,
+            Set<PhysicalTablePath> invalidMetadataTablesSet) {
+        for (PbPutKvRespForBucket respForBucket : bucketsResps) {
             TableBucket tb =
                     new TableBucket(
                             tableId,
@@ -483,7 +710,6 @@ public class Sender implements Runnable {
                 completeBatch(writeBatch);
             }
         }
-        metadataUpdater.invalidPhysicalTableBucketMeta(invalidMetadataTablesSet);
     }
 
     private void handleWriteRequestException(
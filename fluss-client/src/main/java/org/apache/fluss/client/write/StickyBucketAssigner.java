@@ -77,11 +77,7 @@ public class StickyBucketAssigner extends DynamicBucketAssigner {
             } else if (availableBuckets.size() == 1) {
                 newBucket = availableBuckets.get(0).getBucketId();
             } else {
-                while (newBucket < 0 || newBucket == oldBucket) {
-                    int random = MathUtils.toPositive(ThreadLocalRandom.current().nextInt());
-                    newBucket =
-                            availableBuckets.get(random % availableBuckets.size()).getBucketId();
-                }
+                newBucket = chooseBucket(availableBuckets, oldBucket);
             }
 
             // Only change the sticky partition if it is null or prevPartition matches the current
@@ -96,4 +92,17 @@ public class StickyBucketAssigner extends DynamicBucketAssigner {
 
         return currentBucketId.get();
     }
+
+    /**
+     * Chooses the new sticky bucket from the available buckets, which contain more than one bucket.
+     * The chosen bucket must be different from the old sticky bucket.
+     */
+    protected int chooseBucket(List<BucketLocation> availableBuckets, int oldBucket) {
+        int newBucket = -1;
+        while (newBucket < 0 || newBucket == oldBucket) {
+            int random = MathUtils.toPositive(ThreadLocalRandom.current().nextInt());
+            newBucket = availableBuckets.get(random % availableBuckets.size()).getBucketId();
+        }
+        return newBucket;
+    }
 }
@@ -48,6 +48,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.ADAPTIVE;
 import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.ROUND_ROBIN;
 import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.STICKY;
 import static org.apache.fluss.utils.ExceptionUtils.toException;
@@ -279,7 +280,9 @@ public class WriterClient {
                 retries,
                 metadataUpdater,
                 idempotenceManager,
-                writerMetricGroup);
+                writerMetricGroup,
+                conf.getInt(ConfigOptions.CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_SERVER),
+                conf.getBoolean(ConfigOptions.CLIENT_WRITER_COALESCE_TABLES_ENABLED));
     }
 
     public void close(Duration timeout) {
@@ -335,6 +338,9 @@ public class WriterClient {
                 return new RoundRobinBucketAssigner(physicalTablePath);
             } else if (noKeyAssigner == STICKY) {
                 return new StickyBucketAssigner(physicalTablePath);
+            } else if (noKeyAssigner == ADAPTIVE) {
+                return new AdaptiveBucketAssigner(
+                        physicalTablePath, accumulator.getLeaderLoadTracker());
             } else {
                 throw new IllegalArgumentException(
                         "Unsupported append only row bucket assigner: " + noKeyAssigner);
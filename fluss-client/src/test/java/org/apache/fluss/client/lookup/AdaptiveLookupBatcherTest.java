@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link AdaptiveLookupBatcher}. */
+class AdaptiveLookupBatcherTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testBatchTimeoutAdaptsToResponseTime() {
+        AdaptiveLookupBatcher batcher = new AdaptiveLookupBatcher(128, 100 * MS, 10 * MS, 4, 0);
+        // the response time is unknown, wait up to the latency target
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(10 * MS);
+
+        batcher.onRequestCompleted(4 * MS);
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(6 * MS);
+
+        // the moving average of the response time is 0.2 * 14ms + 0.8 * 4ms = 6ms
+        batcher.onRequestCompleted(14 * MS);
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(4 * MS);
+
+        // the response time exceeds the latency target, never wait
+        for (int i = 0; i < 20; i++) {
+            batcher.onRequestCompleted(50 * MS);
+        }
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(0);
+
+        // bounded by the max batch timeout
+        batcher = new AdaptiveLookupBatcher(128, 5 * MS, 10 * MS, 4, 0);
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(5 * MS);
+    }
+
+    @Test
+    void testTargetBatchSizeAdaptsToArrivalRate() {
+        AdaptiveLookupBatcher batcher = new AdaptiveLookupBatcher(128, 100 * MS, 10 * MS, 4, 0);
+        // no lookups arrived, send without waiting for more lookups
+        assertThat(batcher.targetBatchSize(10 * MS)).isEqualTo(1);
+
+        arrive(batcher, 100);
+        // the arrival rate isn't sampled within 1ms since the last sample
+        assertThat(batcher.targetBatchSize(10 * MS + MS / 2)).isEqualTo(1);
+        // the moving average of the arrival rate is 0.2 * 100 / 10ms = 2 lookups per ms,
+        // 20 lookups are expected to arrive in the batch timeout of 10ms
+        assertThat(batcher.targetBatchSize(20 * MS)).isEqualTo(20);
+
+        // no lookups arrived in 5ms, the arrival rate drops to 0.8 * 2 = 1.6 lookups per ms
+        assertThat(batcher.targetBatchSize(25 * MS)).isEqualTo(16);
+
+        // bounded by the max batch size
+        arrive(batcher, 10000);
+        assertThat(batcher.targetBatchSize(35 * MS)).isEqualTo(128);
+    }
+
+    @Test
+    void testTargetBatchSizeKeepsUpWithSlowServer() {
+        AdaptiveLookupBatcher batcher = new AdaptiveLookupBatcher(128, 100 * MS, 10 * MS, 4, 0);
+        batcher.onRequestCompleted(40 * MS);
+        assertThat(batcher.batchTimeoutNanos()).isEqualTo(0);
+
+        arrive(batcher, 100);
+        // never wait, but batch the 2 * 40 = 80 lookups arriving in a response time into the
+        // 4 in-flight requests
+        assertThat(batcher.targetBatchSize(10 * MS)).isEqualTo(20);
+    }
+
+    private static void arrive(AdaptiveLookupBatcher batcher, int lookups) {
+        for (int i = 0; i < lookups; i++) {
+            batcher.onLookupArrived();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.client.metadata.TestingMetadataUpdater;
+import org.apache.fluss.client.table.scanner.ScanRecord;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
+import org.apache.fluss.client.table.scanner.log.ScanRecords;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.MapUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
+import static org.apache.fluss.testutils.DataTestUtils.row;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LookupCache}. */
+class LookupCacheTest {
+
+    private static final long TABLE_ID = 150100L;
+    private static final TablePath TABLE_PATH = TablePath.of("test_db_1", "test_lookup_cache");
+
+    /** A table whose primary key columns aren't the leading columns of the row. */
+    private static final TableInfo TABLE_INFO =
+            TableInfo.of(
+                    TABLE_PATH,
+                    TABLE_ID,
+                    1,
+                    TableDescriptor.builder()
+                            .schema(
+                                    Schema.newBuilder()
+                                            .column("a", DataTypes.STRING())
+                                            .column("b", DataTypes.INT())
+                                            .column("c", DataTypes.BIGINT())
+                                            .column("d", DataTypes.STRING())
+                                            .primaryKey("b", "c")
+                                            .build())
+                            .distributedBy(3, "b", "c")
+                            .build(),
+                    System.currentTimeMillis(),
+                    System.currentTimeMillis());
+
+    private final TableBucket tb0 = new TableBucket(DATA1_TABLE_ID_PK, 0);
+    private final TableBucket tb1 = new TableBucket(DATA1_TABLE_ID_PK, 1);
+
+    private TestingChangelogScanner changelogScanner;
+    private LookupCache cache;
+
+    @BeforeEach
+    void setup() {
+        changelogScanner = new TestingChangelogScanner();
+        cache = createCache(1024);
+    }
+
+    @AfterEach
+    void teardown() {
+        cache.close();
+    }
+
+    @Test
+    void testPutAndGet() {
+        cache.put(tb0, Arrays.asList(key("k1"), key("k2")), Arrays.asList(value("v1"), null), 10);
+
+        assertThat(cache.get(tb0, key("k1"))).isEqualTo(value("v1"));
+        byte[] absent = cache.get(tb0, key("k2"));
+        assertThat(absent).isNotNull();
+        assertThat(LookupCache.isAbsent(absent)).isTrue();
+        assertThat(cache.get(tb0, key("k3"))).isNull();
+        // the keys are cached per bucket
+        assertThat(cache.get(tb1, key("k1"))).isNull();
+    }
+
+    @Test
+    void testSubscribeChangelogOfCachedBuckets() {
+        put(tb0, "k1", null, 10);
+        put(tb0, "k2", null, 12);
+        put(tb1, "k1", null, 5);
+
+        // each bucket is subscribed once, from the offset of the first values cached
+        retry(
+                Duration.ofMinutes(1),
+                () ->
+                        assertThat(changelogScanner.subscribedOffsets)
+                                .containsEntry(0, 10L)
+                                .containsEntry(1, 5L)
+                                .hasSize(2));
+    }
+
+    @Test
+    void testInvalidateChangedKeys() {
+        cache.put(tb0, Arrays.asList(key("k1"), key("k2")), Arrays.asList(value("v1"), null), 10);
+        cache.invalidate(tb0, Collections.singletonList(key("k1")), 15);
+        assertThat(cache.get(tb0, key("k1"))).isNull();
+        assertThat(cache.get(tb0, key("k2"))).isNotNull();
+
+        // the value read before the consumed changes may miss them, it's not cached
+        put(tb0, "k1", "v1", 12);
+        assertThat(cache.get(tb0, key("k1"))).isNull();
+        put(tb0, "k1", "v2", 15);
+        assertThat(cache.get(tb0, key("k1"))).isEqualTo(value("v2"));
+    }
+
+    @Test
+    void testInvalidateKeysOfChangelogRecords() {
+        TableBucket tableBucket = new TableBucket(TABLE_ID, 0);
+        byte[] key1 = encodeLookupKey(row(1, 1L));
+        byte[] key2 = encodeLookupKey(row(2, 2L));
+        cache.put(
+                tableBucket,
+                Arrays.asList(key1, key2),
+                Arrays.asList(value("v1"), value("v2")),
+                10);
+
+        // the changelog rows only contain the primary key columns, as projected by the changelog
+        // scanner, and the changed keys must be encoded the same as the looked up keys
+        changelogScanner.addRecords(
+                tableBucket,
+                new ScanRecord(10, 0, ChangeType.UPDATE_BEFORE, row(1, 1L)),
+                new ScanRecord(11, 0, ChangeType.UPDATE_AFTER, row(1, 1L)));
+        retry(Duration.ofMinutes(1), () -> assertThat(cache.get(tableBucket, key1)).isNull());
+        assertThat(cache.get(tableBucket, key2)).isEqualTo(value("v2"));
+
+        // the value read before the consumed changes isn't cached
+        cache.put(
+                tableBucket,
+                Collections.singletonList(key1),
+                Collections.singletonList(value("v1")),
+                11);
+        assertThat(cache.get(tableBucket, key1)).isNull();
+        cache.put(
+                tableBucket,
+                Collections.singletonList(key1),
+                Collections.singletonList(value("v3")),
+                12);
+        assertThat(cache.get(tableBucket, key1)).isEqualTo(value("v3"));
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        cache.close();
+        // each entry takes 128 + 2 + 2 = 132 bytes
+        cache = createCache(300);
+        put(tb0, "k1", "v1", 0);
+        put(tb0, "k2", "v2", 0);
+        // access k1, so k2 is the least recently used
+        assertThat(cache.get(tb0, key("k1"))).isNotNull();
+        put(tb0, "k3", "v3", 0);
+
+        assertThat(cache.getSizeInBytes()).isEqualTo(264);
+        assertThat(cache.get(tb0, key("k2"))).isNull();
+        assertThat(cache.get(tb0, key("k1"))).isNotNull();
+        assertThat(cache.get(tb0, key("k3"))).isNotNull();
+    }
+
+    private LookupCache createCache(long maxBytes) {
+        Map<TablePath, TableInfo> tableInfos = new HashMap<>();
+        tableInfos.put(DATA1_TABLE_PATH_PK, DATA1_TABLE_INFO_PK);
+        tableInfos.put(TABLE_PATH, TABLE_INFO);
+        return new LookupCache(
+                maxBytes, new TestingMetadataUpdater(tableInfos), tableInfo -> changelogScanner);
+    }
+
+    /** Encodes the lookup key the same as {@link PrimaryKeyLookuper}. */
+    private static byte[] encodeLookupKey(InternalRow lookupKey) {
+        RowType lookupRowType = TABLE_INFO.getRowType().project(TABLE_INFO.getPrimaryKeys());
+        return KeyEncoder.of(lookupRowType, TABLE_INFO.getPhysicalPrimaryKeys(), null)
+                .encodeKey(lookupKey);
+    }
+
+    private void put(TableBucket tableBucket, String key, @Nullable String value, long offset) {
+        cache.put(
+                tableBucket,
+                Collections.singletonList(key(key)),
+                Collections.singletonList(value == null ? null : value(value)),
+                offset);
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes();
+    }
+
+    private static byte[] value(String value) {
+        return value.getBytes();
+    }
+
+    /** A {@link LogScanner} which records the subscriptions and returns the added records. */
+    private static class TestingChangelogScanner implements LogScanner {
+
+        private final Map<Integer, Long> subscribedOffsets = MapUtils.newConcurrentHashMap();
+        private final Queue<ScanRecords> pendingRecords = new ConcurrentLinkedQueue<>();
+
+        private void addRecords(TableBucket tableBucket, ScanRecord... records) {
+            pendingRecords.add(
+                    new ScanRecords(
+                            Collections.singletonMap(tableBucket, Arrays.asList(records))));
+        }
+
+        @Override
+        public ScanRecords poll(Duration timeout) {
+            ScanRecords records = pendingRecords.poll();
+            if (records != null) {
+                return records;
+            }
+            try {
+                Thread.sleep(timeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ScanRecords.EMPTY;
+        }
+
+        @Override
+        public void subscribe(int bucket, long offset) {
+            subscribedOffsets.put(bucket, offset);
+        }
+
+        @Override
+        public void subscribe(long partitionId, int bucket, long offset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unsubscribe(long partitionId, int bucket) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void wakeup() {}
+
+        @Override
+        public void close() {}
+    }
+}
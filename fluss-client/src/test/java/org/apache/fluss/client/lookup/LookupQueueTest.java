@@ -22,6 +22,8 @@ import org.apache.fluss.metadata.TableBucket;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.apache.fluss.config.ConfigOptions.CLIENT_LOOKUP_BATCH_TIMEOUT;
 import static org.apache.fluss.config.ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,6 +60,28 @@ class LookupQueueTest {
         assertThat(queue.hasUnDrained()).isFalse();
     }
 
+    @Test
+    void testDrainAdaptively() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(CLIENT_LOOKUP_MAX_BATCH_SIZE, 10);
+        conf.setString(CLIENT_LOOKUP_BATCH_TIMEOUT.key(), "1ms");
+        // the latency target is 0, so a batch never waits for more lookups
+        AdaptiveLookupBatcher batcher =
+                new AdaptiveLookupBatcher(10, TimeUnit.HOURS.toNanos(1), 0, 1, System.nanoTime());
+        LookupQueue queue = new LookupQueue(conf, batcher);
+
+        // drain empty
+        assertThat(queue.drain()).hasSize(0);
+
+        // the queued lookups are drained without waiting, up to the max batch size
+        appendLookups(queue, 3);
+        assertThat(queue.drain()).hasSize(3);
+
+        appendLookups(queue, 20);
+        assertThat(queue.drain()).hasSize(10);
+        assertThat(queue.drainAll()).hasSize(10);
+    }
+
     private static void appendLookups(LookupQueue queue, int count) {
         for (int i = 0; i < count; i++) {
             queue.appendLookup(new LookupQuery(new TableBucket(1, 1), new byte[] {0}));
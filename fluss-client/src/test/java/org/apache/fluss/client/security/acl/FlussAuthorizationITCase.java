@@ -43,7 +43,14 @@ import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
 import org.apache.fluss.rpc.messages.MetadataRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForTable;
+import org.apache.fluss.rpc.messages.PbPutKvRespForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvRespForTable;
 import org.apache.fluss.rpc.metrics.TestingClientMetricGroup;
+import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.security.acl.AccessControlEntry;
 import org.apache.fluss.security.acl.AccessControlEntryFilter;
 import org.apache.fluss.security.acl.AclBinding;
@@ -69,14 +76,23 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
+import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
+import static org.apache.fluss.record.TestData.DATA_1_WITH_KEY_AND_VALUE;
 import static org.apache.fluss.security.acl.AccessControlEntry.WILD_CARD_HOST;
 import static org.apache.fluss.security.acl.FlussPrincipal.WILD_CARD_PRINCIPAL;
 import static org.apache.fluss.security.acl.OperationType.READ;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newMultiProduceLogRequest;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newMultiPutKvRequest;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newProduceLogRequest;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newPutKvRequest;
+import static org.apache.fluss.testutils.DataTestUtils.genKvRecordBatch;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
 import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -571,6 +587,112 @@ public class FlussAuthorizationITCase {
         }
     }
 
+    @Test
+    void testMultiTableWriteWithPartialWriteAuthorization() throws Exception {
+        TablePath writeAclLogTable = TablePath.of("test_db_1", "write_acl_log_table_2");
+        TablePath noWriteAclLogTable = TablePath.of("test_db_1", "no_write_acl_log_table_2");
+        TablePath writeAclPkTable = TablePath.of("test_db_1", "write_acl_pk_table_2");
+        TablePath noWriteAclPkTable = TablePath.of("test_db_1", "no_write_acl_pk_table_2");
+        TableDescriptor logDescriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA).distributedBy(1).build();
+        TableDescriptor pkDescriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA_PK).distributedBy(1).build();
+        TableBucket writeAclLogTb = createTableAndWaitReady(writeAclLogTable, logDescriptor);
+        TableBucket noWriteAclLogTb = createTableAndWaitReady(noWriteAclLogTable, logDescriptor);
+        TableBucket writeAclPkTb = createTableAndWaitReady(writeAclPkTable, pkDescriptor);
+        TableBucket noWriteAclPkTb = createTableAndWaitReady(noWriteAclPkTable, pkDescriptor);
+
+        // allow guest to write the log table and the pk table with write acl only.
+        List<AclBinding> aclBindings =
+                Arrays.asList(
+                        new AclBinding(
+                                Resource.table(writeAclLogTable),
+                                new AccessControlEntry(
+                                        guestPrincipal,
+                                        "*",
+                                        OperationType.WRITE,
+                                        PermissionType.ALLOW)),
+                        new AclBinding(
+                                Resource.table(writeAclPkTable),
+                                new AccessControlEntry(
+                                        guestPrincipal,
+                                        "*",
+                                        OperationType.WRITE,
+                                        PermissionType.ALLOW)));
+        rootAdmin.createAcls(aclBindings).all().get();
+        FLUSS_CLUSTER_EXTENSION.waitUntilAuthenticationSync(aclBindings, true);
+
+        // the buckets of the table without write acl fail in the multi-table requests, while the
+        // buckets of the table with write acl are written.
+        FlussConnection flussConnection = (FlussConnection) guestConn;
+        TabletServerGateway logLeaderGateway =
+                flussConnection
+                        .getMetadataUpdater()
+                        .newTabletServerClientForNode(
+                                FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(writeAclLogTb));
+        MultiProduceLogResponse produceLogResponse =
+                logLeaderGateway
+                        .multiProduceLog(
+                                newMultiProduceLogRequest(
+                                        -1,
+                                        newProduceLogRequest(
+                                                writeAclLogTb.getTableId(),
+                                                0,
+                                                -1,
+                                                genMemoryLogRecordsByObject(DATA1)),
+                                        newProduceLogRequest(
+                                                noWriteAclLogTb.getTableId(),
+                                                0,
+                                                -1,
+                                                genMemoryLogRecordsByObject(DATA1))))
+                        .get();
+        assertThat(produceLogResponse.getTablesRespsList()).hasSize(2);
+        for (PbProduceLogRespForTable respForTable : produceLogResponse.getTablesRespsList()) {
+            PbProduceLogRespForBucket respForBucket = respForTable.getBucketsRespAt(0);
+            if (respForTable.getTableId() == writeAclLogTb.getTableId()) {
+                assertThat(respForBucket.hasErrorCode()).isFalse();
+                assertThat(respForBucket.getBaseOffset()).isEqualTo(0L);
+            } else {
+                assertThat(respForTable.getTableId()).isEqualTo(noWriteAclLogTb.getTableId());
+                assertThat(respForBucket.getErrorCode())
+                        .isEqualTo(Errors.AUTHORIZATION_EXCEPTION.code());
+            }
+        }
+
+        TabletServerGateway kvLeaderGateway =
+                flussConnection
+                        .getMetadataUpdater()
+                        .newTabletServerClientForNode(
+                                FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(writeAclPkTb));
+        MultiPutKvResponse putKvResponse =
+                kvLeaderGateway
+                        .multiPutKv(
+                                newMultiPutKvRequest(
+                                        -1,
+                                        newPutKvRequest(
+                                                writeAclPkTb.getTableId(),
+                                                0,
+                                                -1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE)),
+                                        newPutKvRequest(
+                                                noWriteAclPkTb.getTableId(),
+                                                0,
+                                                -1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE))))
+                        .get();
+        assertThat(putKvResponse.getTablesRespsList()).hasSize(2);
+        for (PbPutKvRespForTable respForTable : putKvResponse.getTablesRespsList()) {
+            PbPutKvRespForBucket respForBucket = respForTable.getBucketsRespAt(0);
+            if (respForTable.getTableId() == writeAclPkTb.getTableId()) {
+                assertThat(respForBucket.hasErrorCode()).isFalse();
+            } else {
+                assertThat(respForTable.getTableId()).isEqualTo(noWriteAclPkTb.getTableId());
+                assertThat(respForBucket.getErrorCode())
+                        .isEqualTo(Errors.AUTHORIZATION_EXCEPTION.code());
+            }
+        }
+    }
+
     @Test
     void testProduceAndConsumer() throws Exception {
         TableDescriptor descriptor =
@@ -653,6 +775,14 @@ public class FlussAuthorizationITCase {
         }
     }
 
+    private TableBucket createTableAndWaitReady(TablePath tablePath, TableDescriptor descriptor)
+            throws Exception {
+        rootAdmin.createTable(tablePath, descriptor, false).get();
+        TableBucket tb = new TableBucket(rootAdmin.getTableInfo(tablePath).get().getTableId(), 0);
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb);
+        return tb;
+    }
+
     private static Configuration initConfig() {
         Configuration conf = new Configuration();
         conf.setInt(ConfigOptions.DEFAULT_REPLICATION_FACTOR, 3);
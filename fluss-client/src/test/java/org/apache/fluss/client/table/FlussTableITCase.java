@@ -83,6 +83,7 @@ import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
 import static org.apache.fluss.testutils.DataTestUtils.keyRow;
 import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.apache.fluss.testutils.InternalRowAssert.assertThatRow;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -263,6 +264,71 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         verifyPutAndLookup(table2, new Object[] {"a", 1});
     }
 
+    @Test
+    void testLookupWithCacheAfterUpsert() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_lookup_with_cache_table");
+        // the primary key columns aren't the leading columns of the row
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.STRING())
+                        .column("b", DataTypes.INT())
+                        .column("c", DataTypes.BIGINT())
+                        .column("d", DataTypes.STRING())
+                        .primaryKey("b", "c")
+                        .build();
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(schema).distributedBy(3, "b", "c").build();
+        createTable(tablePath, descriptor, false);
+        RowType rowType = schema.getRowType();
+
+        Configuration config = new Configuration(clientConf);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_SIZE, MemorySize.parse("1mb"));
+        try (Connection conn = ConnectionFactory.createConnection(config);
+                Table table = conn.getTable(tablePath)) {
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            Lookuper lookuper = table.newLookup().createLookuper();
+            upsertWriter.upsert(row("x", 1, 1L, "v1")).get();
+            upsertWriter.upsert(row("x", 2, 2L, "v1")).get();
+
+            // the looked up rows and the absence of a key are cached
+            assertThat(lookupRow(lookuper, row(1, 1L)))
+                    .isEqualTo(compactedRow(rowType, new Object[] {"x", 1, 1L, "v1"}));
+            assertThat(lookupRow(lookuper, row(2, 2L)))
+                    .isEqualTo(compactedRow(rowType, new Object[] {"x", 2, 2L, "v1"}));
+            assertThat(lookupRow(lookuper, row(3, 3L))).isNull();
+
+            upsertWriter.upsert(row("y", 1, 1L, "v2")).get();
+            upsertWriter.upsert(row("y", 3, 3L, "v2")).get();
+
+            // the changes invalidate the cached values, so the stale values aren't returned once
+            // the changes are consumed from the changelog
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(lookupRow(lookuper, row(1, 1L)))
+                                    .isEqualTo(
+                                            compactedRow(
+                                                    rowType, new Object[] {"y", 1, 1L, "v2"})));
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(lookupRow(lookuper, row(3, 3L)))
+                                    .isEqualTo(
+                                            compactedRow(
+                                                    rowType, new Object[] {"y", 3, 3L, "v2"})));
+            // the values are cached again, and never go back to the stale values
+            for (int i = 0; i < 10; i++) {
+                assertThat(lookupRow(lookuper, row(1, 1L)))
+                        .isEqualTo(compactedRow(rowType, new Object[] {"y", 1, 1L, "v2"}));
+                assertThat(lookupRow(lookuper, row(3, 3L)))
+                        .isEqualTo(compactedRow(rowType, new Object[] {"y", 3, 3L, "v2"}));
+            }
+            // the unchanged row is still served
+            assertThat(lookupRow(lookuper, row(2, 2L)))
+                    .isEqualTo(compactedRow(rowType, new Object[] {"x", 2, 2L, "v1"}));
+        }
+    }
+
     @Test
     void testPutAndPrefixLookup() throws Exception {
         TablePath tablePath = TablePath.of("test_db_1", "test_put_and_prefix_lookup_table");
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.batch;
+
+import org.apache.fluss.client.metadata.TestingMetadataUpdater;
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.cluster.Cluster;
+import org.apache.fluss.exception.UnknownKvScannerException;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
+import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.server.tablet.TestTabletServerGateway;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
+import static org.apache.fluss.testutils.DataTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link KvBatchScanner}. */
+class KvBatchScannerTest {
+
+    private static final TableBucket TABLE_BUCKET = new TableBucket(DATA1_TABLE_ID_PK, 0);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(10);
+
+    private LeaderChangingMetadataUpdater metadataUpdater;
+    private TestTabletServerGateway gateway1;
+    private TestTabletServerGateway gateway2;
+
+    @BeforeEach
+    void beforeEach() {
+        metadataUpdater = new LeaderChangingMetadataUpdater();
+        // the leader of bucket 0 is server 1 at first
+        gateway1 = (TestTabletServerGateway) metadataUpdater.newTabletServerClientForNode(1);
+        gateway2 = (TestTabletServerGateway) metadataUpdater.newTabletServerClientForNode(2);
+    }
+
+    @Test
+    void testScanBatches() throws Exception {
+        KvBatchScanner scanner = createScanner();
+        KvScanRequest openRequest = (KvScanRequest) gateway1.getRequest(0);
+        assertThat(openRequest.hasScannerId()).isFalse();
+        assertThat(openRequest.getMaxBytes()).isEqualTo(1024);
+        assertThat(scanner.getLogOffset()).isNull();
+
+        gateway1.response(
+                0,
+                newResponse(10L, Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"}), true)
+                        .setLogOffset(5L));
+        assertThat(pollRows(scanner)).containsExactly(row(1, "a"), row(2, "b"));
+        assertThat(scanner.getLogOffset()).isEqualTo(5L);
+
+        // the next batch is read from the opened scanner
+        KvScanRequest nextRequest = (KvScanRequest) gateway1.getRequest(0);
+        assertThat(nextRequest.getScannerId()).isEqualTo(10L);
+        assertThat(nextRequest.isCloseScanner()).isFalse();
+        gateway1.response(
+                0, newResponse(10L, Collections.singletonList(new Object[] {3, "c"}), false));
+        assertThat(pollRows(scanner)).containsExactly(row(3, "c"));
+
+        // no more batches
+        assertThat(scanner.pollBatch(POLL_TIMEOUT)).isNull();
+        assertThat(gateway1.pendingRequestSize()).isZero();
+        scanner.close();
+        assertThat(gateway1.pendingRequestSize()).isZero();
+    }
+
+    @Test
+    void testRetryOpenOnLeaderChange() throws Exception {
+        KvBatchScanner scanner = createScanner();
+        gateway1.response(0, newErrorResponse(Errors.NOT_LEADER_OR_FOLLOWER));
+        // the scanner is opened on the new leader, nothing is returned until then
+        try (CloseableIterator<InternalRow> rows = scanner.pollBatch(POLL_TIMEOUT)) {
+            assertThat(rows).isNotNull();
+            assertThat(rows.hasNext()).isFalse();
+        }
+        assertThat(metadataUpdater.numUpdates).isEqualTo(1);
+        assertThat(gateway1.pendingRequestSize()).isZero();
+
+        KvScanRequest openRequest = (KvScanRequest) gateway2.getRequest(0);
+        assertThat(openRequest.hasScannerId()).isFalse();
+        gateway2.response(
+                0,
+                newResponse(20L, Collections.singletonList(new Object[] {1, "a"}), false)
+                        .setLogOffset(3L));
+        assertThat(pollRows(scanner)).containsExactly(row(1, "a"));
+        assertThat(scanner.getLogOffset()).isEqualTo(3L);
+        assertThat(scanner.pollBatch(POLL_TIMEOUT)).isNull();
+        scanner.close();
+    }
+
+    @Test
+    void testFailOnLeaderChangeAfterOpened() throws Exception {
+        KvBatchScanner scanner = createScanner();
+        gateway1.response(
+                0, newResponse(10L, Collections.singletonList(new Object[] {1, "a"}), true));
+        assertThat(pollRows(scanner)).containsExactly(row(1, "a"));
+
+        // the snapshot of the scanner is lost with the leader change, the scan can't continue
+        gateway1.response(0, newErrorResponse(Errors.UNKNOWN_KV_SCANNER_EXCEPTION));
+        assertThatThrownBy(() -> scanner.pollBatch(POLL_TIMEOUT))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(UnknownKvScannerException.class);
+        assertThat(metadataUpdater.numUpdates).isZero();
+        assertThat(gateway2.pendingRequestSize()).isZero();
+        assertThat(scanner.pollBatch(POLL_TIMEOUT)).isNull();
+        scanner.close();
+    }
+
+    @Test
+    void testCloseScannerOnServer() throws Exception {
+        KvBatchScanner scanner = createScanner();
+        gateway1.response(
+                0, newResponse(10L, Collections.singletonList(new Object[] {1, "a"}), true));
+        assertThat(pollRows(scanner)).containsExactly(row(1, "a"));
+
+        // the scanner on the server is closed once the pending request completes
+        scanner.close();
+        gateway1.response(
+                0, newResponse(10L, Collections.singletonList(new Object[] {2, "b"}), true));
+        KvScanRequest closeRequest = (KvScanRequest) gateway1.getRequest(0);
+        assertThat(closeRequest.getScannerId()).isEqualTo(10L);
+        assertThat(closeRequest.isCloseScanner()).isTrue();
+    }
+
+    private KvBatchScanner createScanner() {
+        return new KvBatchScanner(DATA1_TABLE_INFO_PK, TABLE_BUCKET, metadataUpdater, null, 1024);
+    }
+
+    private static List<InternalRow> pollRows(KvBatchScanner scanner) throws IOException {
+        List<InternalRow> rows = new ArrayList<>();
+        try (CloseableIterator<InternalRow> it = scanner.pollBatch(POLL_TIMEOUT)) {
+            assertThat(it).isNotNull();
+            it.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private static KvScanResponse newResponse(
+            long scannerId, List<Object[]> rows, boolean hasMoreResults) throws Exception {
+        MemoryLogRecords records = genMemoryLogRecordsByObject(rows);
+        byte[] bytes = new byte[records.sizeInBytes()];
+        records.getMemorySegment().get(records.getPosition(), bytes);
+        return new KvScanResponse()
+                .setScannerId(scannerId)
+                .setRecords(bytes)
+                .setHasMoreResults(hasMoreResults);
+    }
+
+    private static KvScanResponse newErrorResponse(Errors error) {
+        return new KvScanResponse().setErrorCode(error.code()).setErrorMessage(error.message());
+    }
+
+    /** A {@link TestingMetadataUpdater} which moves the leader of the bucket to server 2. */
+    private static class LeaderChangingMetadataUpdater extends TestingMetadataUpdater {
+
+        private int numUpdates = 0;
+
+        private LeaderChangingMetadataUpdater() {
+            super(Collections.singletonMap(DATA1_TABLE_PATH_PK, DATA1_TABLE_INFO_PK));
+        }
+
+        @Override
+        protected void updateMetadata(
+                @Nullable Set<TablePath> tablePaths,
+                @Nullable Collection<PhysicalTablePath> tablePartitionNames,
+                @Nullable Collection<Long> tablePartitionIds) {
+            numUpdates++;
+            Cluster cluster = getCluster();
+            Map<PhysicalTablePath, List<BucketLocation>> bucketLocations =
+                    new HashMap<>(cluster.getBucketLocationsByPath());
+            List<BucketLocation> locations = new ArrayList<>();
+            for (BucketLocation location : bucketLocations.get(DATA1_PHYSICAL_TABLE_PATH_PK)) {
+                locations.add(
+                        location.getTableBucket().equals(TABLE_BUCKET)
+                                ? new BucketLocation(
+                                        location.getPhysicalTablePath(),
+                                        location.getTableBucket(),
+                                        2,
+                                        location.getReplicas())
+                                : location);
+            }
+            bucketLocations.put(DATA1_PHYSICAL_TABLE_PATH_PK, locations);
+            updateCluster(
+                    new Cluster(
+                            cluster.getAliveTabletServers(),
+                            cluster.getCoordinatorServer(),
+                            bucketLocations,
+                            cluster.getTableIdByPath(),
+                            cluster.getPartitionIdByPath(),
+                            cluster.getTableInfoByPath()));
+        }
+    }
+}
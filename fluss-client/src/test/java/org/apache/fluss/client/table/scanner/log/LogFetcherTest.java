@@ -81,6 +81,7 @@ public class LogFetcherTest extends ClientToServerITCaseBase {
                 new LogFetcher(
                         DATA1_TABLE_INFO,
                         null,
+                        null,
                         logScannerStatus,
                         clientConf,
                         metadataUpdater,
@@ -157,6 +158,7 @@ public class LogFetcherTest extends ClientToServerITCaseBase {
                 new LogFetcher(
                         DATA1_TABLE_INFO,
                         null,
+                        null,
                         logScannerStatus,
                         clientConf,
                         metadataUpdater,
@@ -183,6 +185,39 @@ public class LogFetcherTest extends ClientToServerITCaseBase {
         assertThat(records.get(tb0).size()).isEqualTo(10);
     }
 
+    @Test
+    void testFallbackToLeaderWhenPreferredReadReplicaFails() throws Exception {
+        TableBucket tb0 = new TableBucket(tableId, bucketId0);
+        addRecordsToBucket(tb0, genMemoryLogRecordsByObject(DATA1), 0L);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb0);
+        int nonLeader = (leader + 1) % 3;
+
+        // the non-leader server doesn't serve the clients, as no replica selector is configured
+        logFetcher.updatePreferredReadReplica(tb0, nonLeader);
+        logFetcher.sendFetches();
+        retry(
+                Duration.ofMinutes(1),
+                () -> assertThat(logFetcher.getPreferredReadReplica(tb0)).isNull());
+        assertThat(logFetcher.getCompletedFetchesSize()).isEqualTo(0);
+
+        // the unknown server is unavailable
+        logFetcher.updatePreferredReadReplica(tb0, 100);
+        logFetcher.sendFetches();
+        retry(
+                Duration.ofMinutes(1),
+                () -> assertThat(logFetcher.getPreferredReadReplica(tb0)).isNull());
+
+        // read from the leader again
+        retry(
+                Duration.ofMinutes(1),
+                () -> {
+                    logFetcher.sendFetches();
+                    assertThat(logFetcher.getCompletedFetchesSize()).isEqualTo(1);
+                });
+        Map<TableBucket, List<ScanRecord>> records = logFetcher.collectFetch();
+        assertThat(records.get(tb0)).hasSize(10);
+    }
+
     private void addRecordsToBucket(
             TableBucket tableBucket, MemoryLogRecords logRecords, long expectedBaseOffset)
             throws Exception {
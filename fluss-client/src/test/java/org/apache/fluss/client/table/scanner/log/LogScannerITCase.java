@@ -22,10 +22,13 @@ import org.apache.fluss.client.table.Table;
 import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.client.table.writer.AppendWriter;
 import org.apache.fluss.client.table.writer.UpsertWriter;
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.ChangeType;
 import org.apache.fluss.row.GenericRow;
 import org.apache.fluss.row.InternalRow;
@@ -45,6 +48,7 @@ import java.util.concurrent.Executors;
 
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.apache.fluss.record.TestData.DATA1_PARTITIONED_TABLE_DESCRIPTOR;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
@@ -86,6 +90,55 @@ public class LogScannerITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testPollWithFilter() throws Exception {
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder()
+                        .schema(DATA1_SCHEMA)
+                        .distributedBy(1)
+                        .property(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_ENABLED.key(), "true")
+                        .build();
+        createTable(DATA1_TABLE_PATH, tableDescriptor, false);
+
+        int recordSize = 10;
+        try (Table table = conn.getTable(DATA1_TABLE_PATH)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            // append the rows one by one, so that each row is in a separate batch
+            for (int i = 0; i < recordSize; i++) {
+                appendWriter.append(row(i, "a" + i)).get();
+            }
+
+            Predicate filter =
+                    new PredicateBuilder(DATA1_ROW_TYPE).greaterOrEqual(0, recordSize - 3);
+            LogScanner logScanner =
+                    table.newScan().project(new int[] {1}).filter(filter).createLogScanner();
+            subscribeFromBeginning(logScanner, table);
+            // the batches can't match the filter are skipped by the server
+            List<String> expectedRows = new ArrayList<>();
+            for (int i = recordSize - 3; i < recordSize; i++) {
+                expectedRows.add("a" + i);
+            }
+            assertThat(pollStrings(logScanner, expectedRows.size()))
+                    .containsExactlyElementsOf(expectedRows);
+
+            // the scanner continues from the end of the skipped batches
+            appendWriter.append(row(0, "b0")).get();
+            appendWriter.append(row(recordSize, "b" + recordSize)).get();
+            assertThat(pollStrings(logScanner, 1)).containsExactly("b" + recordSize);
+        }
+    }
+
+    private static List<String> pollStrings(LogScanner logScanner, int expectedSize) {
+        List<String> rowList = new ArrayList<>();
+        while (rowList.size() < expectedSize) {
+            ScanRecords scanRecords = logScanner.poll(Duration.ofSeconds(1));
+            for (ScanRecord scanRecord : scanRecords) {
+                rowList.add(scanRecord.getRow().getString(0).toString());
+            }
+        }
+        return rowList;
+    }
+
     @Test
     void testPollWhileCreateTableNotReady() throws Exception {
         // create one table with 30 buckets.
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.log;
+
+import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
+import org.apache.fluss.fs.FsPath;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.utils.IOUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithBaseOffset;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link RemoteLogStream}. */
+class RemoteLogStreamTest {
+
+    private @TempDir File tempDir;
+    private RemoteFileDownloader remoteFileDownloader;
+    private File logFile;
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        remoteFileDownloader = new RemoteFileDownloader(1);
+        logFile = new File(tempDir, "00000000000000000000.log");
+        FileLogRecords fileLogRecords = FileLogRecords.open(logFile);
+        for (int i = 0; i < 5; i++) {
+            fileLogRecords.append(genMemoryLogRecordsWithBaseOffset(i * 10L, DATA1));
+        }
+        fileLogRecords.flush();
+        for (LogRecordBatch batch : fileLogRecords.batches()) {
+            batchSizes.add(batch.sizeInBytes());
+        }
+        fileLogRecords.close();
+    }
+
+    @AfterEach
+    void afterEach() {
+        IOUtils.closeQuietly(remoteFileDownloader);
+    }
+
+    @Test
+    void testReadFromPosition() throws Exception {
+        int startPosition = batchSizes.get(0) + batchSizes.get(1);
+        Counter readBytes = new ThreadSafeSimpleCounter();
+        // the chunk size is smaller than a batch, so each chunk contains a single batch
+        RemoteLogStream stream =
+                new RemoteLogStream(
+                        FsPath.fromLocalFile(logFile),
+                        startPosition,
+                        1,
+                        remoteFileDownloader,
+                        readBytes);
+        assertThat(stream.open().get()).isSameAs(stream);
+        assertThat(stream.firstChunkSizeInBytes()).isEqualTo(batchSizes.get(2));
+
+        assertThat(baseLogOffsets(stream.batches())).containsExactly(20L, 30L, 40L);
+        assertThat(readBytes.getCount()).isEqualTo(logFile.length() - startPosition);
+        stream.close();
+    }
+
+    @Test
+    void testReadInSingleChunk() throws Exception {
+        Counter readBytes = new ThreadSafeSimpleCounter();
+        RemoteLogStream stream =
+                new RemoteLogStream(
+                        FsPath.fromLocalFile(logFile),
+                        0,
+                        1024 * 1024,
+                        remoteFileDownloader,
+                        readBytes);
+        stream.open().get();
+        assertThat(stream.firstChunkSizeInBytes()).isEqualTo(logFile.length());
+
+        assertThat(baseLogOffsets(stream.batches())).containsExactly(0L, 10L, 20L, 30L, 40L);
+        assertThat(readBytes.getCount()).isEqualTo(logFile.length());
+        stream.close();
+    }
+
+    @Test
+    void testReadFromEndOfFile() throws Exception {
+        RemoteLogStream stream =
+                new RemoteLogStream(
+                        FsPath.fromLocalFile(logFile),
+                        logFile.length(),
+                        1024,
+                        remoteFileDownloader,
+                        new ThreadSafeSimpleCounter());
+        stream.open().get();
+        assertThat(stream.firstChunkSizeInBytes()).isEqualTo(0);
+        assertThat(stream.batches().hasNext()).isFalse();
+        stream.close();
+    }
+
+    private static List<Long> baseLogOffsets(Iterator<LogRecordBatch> batches) {
+        List<Long> baseLogOffsets = new ArrayList<>();
+        while (batches.hasNext()) {
+            LogRecordBatch batch = batches.next();
+            batch.ensureValid();
+            baseLogOffsets.add(batch.baseLogOffset());
+        }
+        return baseLogOffsets;
+    }
+}
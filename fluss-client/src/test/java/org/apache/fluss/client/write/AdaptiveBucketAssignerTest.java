@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.cluster.Cluster;
+import org.apache.fluss.cluster.ServerNode;
+import org.apache.fluss.cluster.ServerType;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link AdaptiveBucketAssigner} and {@link LeaderLoadTracker}. */
+class AdaptiveBucketAssignerTest {
+    private final ServerNode node1 =
+            new ServerNode(1, "localhost", 90, ServerType.TABLET_SERVER, "rack1");
+    private final ServerNode node2 =
+            new ServerNode(2, "localhost", 91, ServerType.TABLET_SERVER, "rack2");
+    private final ServerNode node3 =
+            new ServerNode(3, "localhost", 92, ServerType.TABLET_SERVER, "rack3");
+    private final int[] serverNodes = new int[] {node1.id(), node2.id(), node3.id()};
+    private final List<BucketLocation> buckets =
+            Arrays.asList(
+                    new BucketLocation(
+                            DATA1_PHYSICAL_TABLE_PATH, DATA1_TABLE_ID, 0, node1.id(), serverNodes),
+                    new BucketLocation(
+                            DATA1_PHYSICAL_TABLE_PATH, DATA1_TABLE_ID, 1, node1.id(), serverNodes),
+                    new BucketLocation(
+                            DATA1_PHYSICAL_TABLE_PATH, DATA1_TABLE_ID, 2, node2.id(), serverNodes),
+                    new BucketLocation(
+                            DATA1_PHYSICAL_TABLE_PATH, DATA1_TABLE_ID, 3, node3.id(), serverNodes));
+
+    private final ManualClock clock = new ManualClock();
+    private final LeaderLoadTracker tracker = new LeaderLoadTracker(1000L, clock);
+
+    @Test
+    void testBucketWeights() {
+        // no load is observed yet
+        assertThat(tracker.bucketWeights(buckets)).containsExactly(1.0, 1.0, 1.0, 1.0);
+
+        Map<Integer, Integer> queuedBatches = new HashMap<>();
+        queuedBatches.put(node1.id(), 3);
+        tracker.updateQueuedBatches(queuedBatches);
+        tracker.onRequestSent(node2.id());
+        tracker.onRequestCompleted(node2.id(), 9L);
+        assertThat(tracker.bucketWeights(buckets)).containsExactly(0.25, 0.25, 0.1, 1.0);
+
+        // the queued batches of node1 are drained
+        tracker.updateQueuedBatches(Collections.emptyMap());
+        assertThat(tracker.bucketWeights(buckets)).containsExactly(1.0, 1.0, 0.1, 1.0);
+    }
+
+    @Test
+    void testLaggingLeader() {
+        tracker.onRequestSent(node1.id());
+        clock.advanceTime(1001, TimeUnit.MILLISECONDS);
+        // node1 doesn't respond for a long time
+        assertThat(tracker.isLagging(node1.id())).isTrue();
+        assertThat(tracker.isLagging(node2.id())).isFalse();
+        double[] weights = tracker.bucketWeights(buckets);
+        assertThat(weights[0]).isZero();
+        assertThat(weights[1]).isZero();
+
+        // the lagging leader is chosen if all the leaders are lagging
+        for (double weight : tracker.bucketWeights(buckets.subList(0, 2))) {
+            assertThat(weight).isPositive();
+        }
+
+        // node1 responds, but the moving average of its latency is still lagging
+        tracker.onRequestCompleted(node1.id(), 1001L);
+        assertThat(tracker.isLagging(node1.id())).isTrue();
+        tracker.onRequestSent(node1.id());
+        tracker.onRequestCompleted(node1.id(), 10L);
+        assertThat(tracker.isLagging(node1.id())).isFalse();
+    }
+
+    @Test
+    void testAvoidLaggingLeader() {
+        Cluster cluster = updateCluster(buckets);
+        AdaptiveBucketAssigner assigner =
+                new AdaptiveBucketAssigner(DATA1_PHYSICAL_TABLE_PATH, tracker);
+        tracker.onRequestSent(node1.id());
+        clock.advanceTime(2, TimeUnit.SECONDS);
+
+        int bucketId = assigner.assignBucket(cluster);
+        for (int i = 0; i < 100; i++) {
+            assigner.onNewBatch(cluster, bucketId);
+            int newBucketId = assigner.assignBucket(cluster);
+            assertThat(newBucketId).isNotEqualTo(bucketId).isIn(2, 3);
+            bucketId = newBucketId;
+        }
+    }
+
+    private Cluster updateCluster(List<BucketLocation> bucketLocations) {
+        Map<Integer, ServerNode> aliveTabletServersById = new HashMap<>();
+        aliveTabletServersById.put(node1.id(), node1);
+        aliveTabletServersById.put(node2.id(), node2);
+        aliveTabletServersById.put(node3.id(), node3);
+
+        Map<PhysicalTablePath, List<BucketLocation>> bucketsByPath = new HashMap<>();
+        bucketsByPath.put(DATA1_PHYSICAL_TABLE_PATH, bucketLocations);
+        Map<TablePath, Long> tableIdByPath = new HashMap<>();
+        tableIdByPath.put(DATA1_TABLE_PATH, DATA1_TABLE_ID);
+        Map<TablePath, TableInfo> tableInfoByPath = new HashMap<>();
+        tableInfoByPath.put(
+                DATA1_TABLE_PATH,
+                TableInfo.of(
+                        DATA1_TABLE_PATH,
+                        DATA1_TABLE_ID,
+                        1,
+                        TableDescriptor.builder()
+                                .schema(DATA1_SCHEMA)
+                                .distributedBy(bucketLocations.size())
+                                .build(),
+                        System.currentTimeMillis(),
+                        System.currentTimeMillis()));
+
+        return new Cluster(
+                aliveTabletServersById,
+                new ServerNode(0, "localhost", 89, ServerType.COORDINATOR),
+                bucketsByPath,
+                tableIdByPath,
+                Collections.emptyMap(),
+                tableInfoByPath);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link InFlightRequestLimiter}. */
+class InFlightRequestLimiterTest {
+
+    @Test
+    void testLimitInFlightRequests() {
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(2);
+        assertThat(limiter.hasCapacity(1)).isTrue();
+        limiter.onRequestSent(1);
+        limiter.onRequestSent(1);
+        assertThat(limiter.hasCapacity(1)).isFalse();
+        // the limit is per server
+        assertThat(limiter.hasCapacity(2)).isTrue();
+
+        limiter.onRequestFailed(1);
+        assertThat(limiter.inFlightRequests(1)).isEqualTo(1);
+        assertThat(limiter.hasCapacity(1)).isTrue();
+    }
+
+    @Test
+    void testAdaptLimitToRoundTripTime() {
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(10);
+        // the round trip time stays at the lowest one, the limit keeps the maximum
+        for (int i = 0; i < 20; i++) {
+            completeRequest(limiter, 10);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(10);
+
+        // the round trip time grows as the requests queue up, the limit is cut at most once per
+        // limit of requests
+        completeRequest(limiter, 100);
+        assertThat(limiter.limit(1)).isEqualTo(9);
+        for (int i = 0; i < 8; i++) {
+            completeRequest(limiter, 100);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(9);
+        completeRequest(limiter, 100);
+        assertThat(limiter.limit(1)).isEqualTo(8);
+        for (int i = 0; i < 200; i++) {
+            completeRequest(limiter, 100);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(1);
+
+        // the round trip time recovers, the limit grows by about one per limit of requests
+        completeRequest(limiter, 10);
+        assertThat(limiter.limit(1)).isEqualTo(2);
+        completeRequest(limiter, 10);
+        completeRequest(limiter, 10);
+        assertThat(limiter.limit(1)).isEqualTo(2);
+        completeRequest(limiter, 10);
+        assertThat(limiter.limit(1)).isEqualTo(3);
+        for (int i = 0; i < 100; i++) {
+            completeRequest(limiter, 10);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(10);
+    }
+
+    @Test
+    void testToleranceOfRoundTripTime() {
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(10);
+        completeRequest(limiter, 1);
+        // a round trip time of a few milliseconds is never considered as congested
+        for (int i = 0; i < 100; i++) {
+            completeRequest(limiter, 1 + InFlightRequestLimiter.RTT_TOLERANCE_MS);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(10);
+    }
+
+    @Test
+    void testMinRoundTripTimeFollowsBaseline() {
+        InFlightRequestLimiter limiter = new InFlightRequestLimiter(10);
+        completeRequest(limiter, 10);
+        // the baseline of the round trip time grows, e.g. the server moves to a farther zone
+        for (int i = 0; i < InFlightRequestLimiter.MIN_RTT_WINDOW_SAMPLES; i++) {
+            completeRequest(limiter, 100);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(1);
+        // the lowest round trip time is forgotten after two windows
+        for (int i = 0; i < InFlightRequestLimiter.MIN_RTT_WINDOW_SAMPLES + 100; i++) {
+            completeRequest(limiter, 100);
+        }
+        assertThat(limiter.limit(1)).isEqualTo(10);
+    }
+
+    private static void completeRequest(InFlightRequestLimiter limiter, long rttMs) {
+        limiter.onRequestSent(1);
+        limiter.onRequestCompleted(1, rttMs);
+    }
+}
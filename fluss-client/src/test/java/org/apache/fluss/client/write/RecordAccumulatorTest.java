@@ -25,6 +25,7 @@ import org.apache.fluss.cluster.ServerType;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
@@ -46,6 +47,7 @@ import org.apache.fluss.rpc.GatewayClientProxy;
 import org.apache.fluss.rpc.RpcClient;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.metrics.TestingClientMetricGroup;
+import org.apache.fluss.testutils.common.CheckedThread;
 import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.clock.ManualClock;
 
@@ -63,7 +65,11 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
@@ -455,6 +461,107 @@ class RecordAccumulatorTest {
         assertThat(accum.hasIncomplete()).isFalse();
     }
 
+    @Test
+    void testConcurrentAppendAndDrain() throws Exception {
+        int numAppenders = 4;
+        int numAppendsPerAppender = 5000;
+        // set batch timeout as 0 to make sure batch are always ready.
+        RecordAccumulator accum = createTestRecordAccumulator(0, 1024, 256, 1024 * 1024);
+        AtomicIntegerArray callbackCounts =
+                new AtomicIntegerArray(numAppenders * numAppendsPerAppender);
+        AtomicBoolean appendersFinished = new AtomicBoolean(false);
+
+        List<CheckedThread> appenders = new ArrayList<>();
+        for (int t = 0; t < numAppenders; t++) {
+            final int appender = t;
+            appenders.add(
+                    new CheckedThread("appender-" + t) {
+                        @Override
+                        public void go() throws Exception {
+                            for (int i = 0; i < numAppendsPerAppender; i++) {
+                                int index = appender * numAppendsPerAppender + i;
+                                IndexedRow row = indexedRow(DATA1_ROW_TYPE, new Object[] {i, "a"});
+                                accum.append(
+                                        createRecord(row),
+                                        exception -> {
+                                            if (exception == null) {
+                                                callbackCounts.incrementAndGet(index);
+                                            }
+                                        },
+                                        cluster,
+                                        i % 3,
+                                        false);
+                            }
+                        }
+                    });
+        }
+
+        // the sender drains the batches concurrently, and re-enqueues half of the batches drained
+        // the first time, as if they were retried.
+        AtomicInteger completedRecords = new AtomicInteger(0);
+        CheckedThread sender =
+                new CheckedThread("sender") {
+                    @Override
+                    public void go() throws Exception {
+                        Random random = new Random();
+                        Map<WriteBatch, Integer> recordCountsAtDrain = new HashMap<>();
+                        while (!appendersFinished.get() || accum.hasUnDrained()) {
+                            Map<Integer, List<ReadyWriteBatch>> drained =
+                                    accum.drain(
+                                            cluster,
+                                            accum.ready(cluster).readyNodes,
+                                            Integer.MAX_VALUE);
+                            for (List<ReadyWriteBatch> batches : drained.values()) {
+                                for (ReadyWriteBatch readyWriteBatch : batches) {
+                                    WriteBatch batch = readyWriteBatch.writeBatch();
+                                    // a drained batch is closed, no record is appended to it
+                                    // anymore, even if it is re-enqueued.
+                                    assertThat(batch.isClosed()).isTrue();
+                                    Integer recordCount = recordCountsAtDrain.get(batch);
+                                    if (recordCount == null) {
+                                        recordCount = batch.getRecordCount();
+                                        recordCountsAtDrain.put(batch, recordCount);
+                                    }
+                                    assertThat(batch.getRecordCount()).isEqualTo(recordCount);
+                                    if (batch.attempts() == 0 && random.nextBoolean()) {
+                                        accum.reEnqueue(readyWriteBatch);
+                                    } else {
+                                        batch.complete();
+                                        accum.deallocate(batch);
+                                        completedRecords.addAndGet(recordCount);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                };
+
+        sender.start();
+        appenders.forEach(Thread::start);
+        for (CheckedThread appender : appenders) {
+            appender.sync();
+        }
+        appendersFinished.set(true);
+        sender.sync();
+
+        // no batch is lost and the callback of each record is fired exactly once.
+        assertThat(accum.hasUnDrained()).isFalse();
+        assertThat(accum.hasIncomplete()).isFalse();
+        assertThat(completedRecords.get()).isEqualTo(numAppenders * numAppendsPerAppender);
+        for (int i = 0; i < callbackCounts.length(); i++) {
+            assertThat(callbackCounts.get(i)).as("callback count of record %s", i).isEqualTo(1);
+        }
+
+        // nothing is appended after the accumulator is closed.
+        accum.close();
+        IndexedRow row = indexedRow(DATA1_ROW_TYPE, new Object[] {1, "a"});
+        assertThatThrownBy(
+                        () -> accum.append(createRecord(row), writeCallback, cluster, 0, false))
+                .isInstanceOf(FlussRuntimeException.class)
+                .hasMessageContaining("Writer closed");
+        assertThat(accum.hasUnDrained()).isFalse();
+    }
+
     @Test
     void testTableWithUnknownLeader() throws Exception {
         int batchSize = 100;
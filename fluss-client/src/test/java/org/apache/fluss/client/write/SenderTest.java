@@ -24,15 +24,28 @@ import org.apache.fluss.cluster.ServerNode;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.exception.RecordTooLargeException;
 import org.apache.fluss.exception.TimeoutException;
+import org.apache.fluss.exception.UnsupportedVersionException;
+import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.compacted.CompactedRow;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
+import org.apache.fluss.rpc.entity.PutKvResultForBucket;
 import org.apache.fluss.rpc.messages.ApiMessage;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.PbProduceLogReqForTable;
+import org.apache.fluss.rpc.messages.PbPutKvReqForTable;
 import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
+import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.server.tablet.TestTabletServerGateway;
 import org.apache.fluss.utils.clock.SystemClock;
@@ -42,6 +55,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -52,11 +66,22 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH_PK;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getProduceLogData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeMultiProduceLogResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeMultiPutKvResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeProduceLogResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makePutKvResponse;
+import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
 import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -71,6 +96,29 @@ final class SenderTest {
     private static final short ACKS_ALL = -1;
     private static final int MAX_INFLIGHT_REQUEST_PER_BUCKET = 5;
 
+    private static final long LOG_TABLE_ID_2 = 150011L;
+    private static final PhysicalTablePath LOG_PHYSICAL_TABLE_PATH_2 =
+            PhysicalTablePath.of(TablePath.of("test_db_1", "test_non_pk_table_2"));
+    private static final TableInfo LOG_TABLE_INFO_2 =
+            TableInfo.of(
+                    LOG_PHYSICAL_TABLE_PATH_2.getTablePath(),
+                    LOG_TABLE_ID_2,
+                    1,
+                    DATA1_TABLE_DESCRIPTOR,
+                    System.currentTimeMillis(),
+                    System.currentTimeMillis());
+    private static final long PK_TABLE_ID_2 = 150013L;
+    private static final PhysicalTablePath PK_PHYSICAL_TABLE_PATH_2 =
+            PhysicalTablePath.of(TablePath.of("test_db_1", "test_pk_table_2"));
+    private static final TableInfo PK_TABLE_INFO_2 =
+            TableInfo.of(
+                    PK_PHYSICAL_TABLE_PATH_2.getTablePath(),
+                    PK_TABLE_ID_2,
+                    1,
+                    DATA1_TABLE_DESCRIPTOR_PK,
+                    System.currentTimeMillis(),
+                    System.currentTimeMillis());
+
     private final TableBucket tb1 = new TableBucket(DATA1_TABLE_ID, 0);
     private TestingMetadataUpdater metadataUpdater;
     private RecordAccumulator accumulator = null;
@@ -699,11 +747,129 @@ final class SenderTest {
         assertThat(future.get()).isNull();
     }
 
+    @Test
+    void testMultiTableWriteRequests() throws Exception {
+        metadataUpdater = initializeMultiTableMetadataUpdater();
+        sender = setupWithIdempotenceState();
+        // bucket 0 of all the tables is led by the same server
+        TableBucket logTb1 = new TableBucket(DATA1_TABLE_ID, 0);
+        TableBucket logTb2 = new TableBucket(LOG_TABLE_ID_2, 0);
+        TableBucket kvTb1 = new TableBucket(DATA1_TABLE_ID_PK, 0);
+        TableBucket kvTb2 = new TableBucket(PK_TABLE_ID_2, 0);
+
+        CompletableFuture<Exception> logFuture1 = new CompletableFuture<>();
+        CompletableFuture<Exception> logFuture2 = new CompletableFuture<>();
+        CompletableFuture<Exception> kvFuture1 = new CompletableFuture<>();
+        CompletableFuture<Exception> kvFuture2 = new CompletableFuture<>();
+        appendToAccumulator(DATA1_PHYSICAL_TABLE_PATH, logTb1, row(1, "a"), logFuture1::complete);
+        appendToAccumulator(LOG_PHYSICAL_TABLE_PATH_2, logTb2, row(2, "b"), logFuture2::complete);
+        appendKvToAccumulator(DATA1_PHYSICAL_TABLE_PATH_PK, kvTb1, 1, "a", kvFuture1::complete);
+        appendKvToAccumulator(PK_PHYSICAL_TABLE_PATH_2, kvTb2, 2, "b", kvFuture2::complete);
+        sender.runOnce();
+
+        // the log tables and the kv tables are coalesced into one request each.
+        assertThat(pendingRequestSize(logTb1)).isEqualTo(2);
+        ApiMessage logRequest = getRequest(logTb1, 0);
+        assertThat(logRequest).isInstanceOf(MultiProduceLogRequest.class);
+        assertThat(((MultiProduceLogRequest) logRequest).getTablesReqsList())
+                .extracting(PbProduceLogReqForTable::getTableId)
+                .containsExactlyInAnyOrder(DATA1_TABLE_ID, LOG_TABLE_ID_2);
+        ApiMessage kvRequest = getRequest(logTb1, 1);
+        assertThat(kvRequest).isInstanceOf(MultiPutKvRequest.class);
+        assertThat(((MultiPutKvRequest) kvRequest).getTablesReqsList())
+                .extracting(PbPutKvReqForTable::getTableId)
+                .containsExactlyInAnyOrder(DATA1_TABLE_ID_PK, PK_TABLE_ID_2);
+
+        // the errors are mapped to the batches of their own table.
+        finishRequest(
+                logTb1,
+                0,
+                makeMultiProduceLogResponse(
+                        Arrays.asList(
+                                new ProduceLogResultForBucket(logTb1, 0L, 1L),
+                                new ProduceLogResultForBucket(
+                                        logTb2, Errors.RECORD_TOO_LARGE_EXCEPTION.toApiError()))));
+        assertThat(logFuture1.get()).isNull();
+        assertThat(logFuture2.get()).isInstanceOf(RecordTooLargeException.class);
+
+        finishRequest(
+                logTb1,
+                0,
+                makeMultiPutKvResponse(
+                        Arrays.asList(
+                                new PutKvResultForBucket(
+                                        kvTb1, Errors.REQUEST_TIME_OUT.toApiError()),
+                                new PutKvResultForBucket(kvTb2, 1L))));
+        assertThat(kvFuture1.isDone()).isFalse();
+        assertThat(kvFuture2.get()).isNull();
+
+        // only the batch of the failed table is retried, in a single table request.
+        sender.runOnce();
+        assertThat(pendingRequestSize(kvTb1)).isEqualTo(1);
+        ApiMessage retryRequest = getRequest(kvTb1, 0);
+        assertThat(retryRequest).isInstanceOf(PutKvRequest.class);
+        assertThat(((PutKvRequest) retryRequest).getTableId()).isEqualTo(DATA1_TABLE_ID_PK);
+        finishRequest(
+                kvTb1,
+                0,
+                makePutKvResponse(Collections.singletonList(new PutKvResultForBucket(kvTb1, 1L))));
+        assertThat(kvFuture1.get()).isNull();
+    }
+
+    @Test
+    void testMultiTableWriteFallbackOnUnsupportedVersion() throws Exception {
+        metadataUpdater = initializeMultiTableMetadataUpdater();
+        sender = setupWithIdempotenceState();
+        TableBucket logTb1 = new TableBucket(DATA1_TABLE_ID, 0);
+        TableBucket logTb2 = new TableBucket(LOG_TABLE_ID_2, 0);
+
+        CompletableFuture<Exception> future1 = new CompletableFuture<>();
+        CompletableFuture<Exception> future2 = new CompletableFuture<>();
+        appendToAccumulator(DATA1_PHYSICAL_TABLE_PATH, logTb1, row(1, "a"), future1::complete);
+        appendToAccumulator(LOG_PHYSICAL_TABLE_PATH_2, logTb2, row(2, "b"), future2::complete);
+        sender.runOnce();
+        assertThat(pendingRequestSize(logTb1)).isEqualTo(1);
+        assertThat(getRequest(logTb1, 0)).isInstanceOf(MultiProduceLogRequest.class);
+
+        // an old server rejects the multi-table request, the batches are resent per table
+        // without failing them.
+        failRequest(
+                logTb1,
+                0,
+                new UnsupportedVersionException("The server doesn't support MULTI_PRODUCE_LOG."));
+        assertThat(future1.isDone()).isFalse();
+        assertThat(future2.isDone()).isFalse();
+        assertThat(pendingRequestSize(logTb1)).isEqualTo(2);
+        finishProduceLogRequestsPerTable(logTb1, logTb2);
+        assertThat(future1.get()).isNull();
+        assertThat(future2.get()).isNull();
+
+        // the server is remembered, the following writes are sent per table directly.
+        CompletableFuture<Exception> future3 = new CompletableFuture<>();
+        CompletableFuture<Exception> future4 = new CompletableFuture<>();
+        appendToAccumulator(DATA1_PHYSICAL_TABLE_PATH, logTb1, row(3, "c"), future3::complete);
+        appendToAccumulator(LOG_PHYSICAL_TABLE_PATH_2, logTb2, row(4, "d"), future4::complete);
+        sender.runOnce();
+        assertThat(pendingRequestSize(logTb1)).isEqualTo(2);
+        finishProduceLogRequestsPerTable(logTb1, logTb2);
+        assertThat(future3.get()).isNull();
+        assertThat(future4.get()).isNull();
+    }
+
     private TestingMetadataUpdater initializeMetadataUpdater() {
         return new TestingMetadataUpdater(
                 Collections.singletonMap(DATA1_TABLE_PATH, DATA1_TABLE_INFO));
     }
 
+    private TestingMetadataUpdater initializeMultiTableMetadataUpdater() {
+        Map<TablePath, TableInfo> tableInfos = new HashMap<>();
+        tableInfos.put(DATA1_TABLE_PATH, DATA1_TABLE_INFO);
+        tableInfos.put(LOG_TABLE_INFO_2.getTablePath(), LOG_TABLE_INFO_2);
+        tableInfos.put(DATA1_TABLE_PATH_PK, DATA1_TABLE_INFO_PK);
+        tableInfos.put(PK_TABLE_INFO_2.getTablePath(), PK_TABLE_INFO_2);
+        return new TestingMetadataUpdater(tableInfos);
+    }
+
     private void appendToAccumulator(TableBucket tb, GenericRow row, WriteCallback writeCallback)
             throws Exception {
         accumulator.append(
@@ -714,6 +880,37 @@ final class SenderTest {
                 false);
     }
 
+    private void appendToAccumulator(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tb,
+            GenericRow row,
+            WriteCallback writeCallback)
+            throws Exception {
+        accumulator.append(
+                WriteRecord.forArrowAppend(physicalTablePath, row, null),
+                writeCallback,
+                metadataUpdater.getCluster(),
+                tb.getBucket(),
+                false);
+    }
+
+    private void appendKvToAccumulator(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tb,
+            int key,
+            String value,
+            WriteCallback writeCallback)
+            throws Exception {
+        CompactedRow row = compactedRow(DATA1_ROW_TYPE, new Object[] {key, value});
+        byte[] keyBytes = new CompactedKeyEncoder(DATA1_ROW_TYPE, new int[] {0}).encodeKey(row);
+        accumulator.append(
+                WriteRecord.forUpsert(physicalTablePath, row, keyBytes, keyBytes, null),
+                writeCallback,
+                metadataUpdater.getCluster(),
+                tb.getBucket(),
+                false);
+    }
+
     private ApiMessage getRequest(TableBucket tb, int index) {
         TestTabletServerGateway gateway =
                 (TestTabletServerGateway)
@@ -728,6 +925,36 @@ final class SenderTest {
         gateway.response(index, response);
     }
 
+    private void finishRequest(TableBucket tb, int index, ApiMessage response) {
+        TestTabletServerGateway gateway =
+                (TestTabletServerGateway)
+                        metadataUpdater.newTabletServerClientForNode(metadataUpdater.leaderFor(tb));
+        gateway.response(index, response);
+    }
+
+    private void failRequest(TableBucket tb, int index, Throwable exception) {
+        TestTabletServerGateway gateway =
+                (TestTabletServerGateway)
+                        metadataUpdater.newTabletServerClientForNode(metadataUpdater.leaderFor(tb));
+        gateway.responseWithException(index, exception);
+    }
+
+    /** Finishes the pending {@link ProduceLogRequest}s of the given buckets with success. */
+    private void finishProduceLogRequestsPerTable(TableBucket... tableBuckets) {
+        Map<Long, TableBucket> bucketsByTable = new HashMap<>();
+        for (TableBucket tb : tableBuckets) {
+            bucketsByTable.put(tb.getTableId(), tb);
+        }
+        for (int i = 0; i < tableBuckets.length; i++) {
+            ApiMessage request = getRequest(tableBuckets[0], 0);
+            assertThat(request).isInstanceOf(ProduceLogRequest.class);
+            TableBucket tb = bucketsByTable.remove(((ProduceLogRequest) request).getTableId());
+            assertThat(tb).isNotNull();
+            finishProduceLogRequest(tableBuckets[0], 0, createProduceLogResponse(tb, 0L, 1L));
+        }
+        assertThat(bucketsByTable).isEmpty();
+    }
+
     private int pendingRequestSize(TableBucket tb) {
         TestTabletServerGateway gateway =
                 (TestTabletServerGateway)
@@ -785,7 +1012,9 @@ final class SenderTest {
                 reties,
                 metadataUpdater,
                 idempotenceManager,
-                writerMetricGroup);
+                writerMetricGroup,
+                ConfigOptions.CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_SERVER.defaultValue(),
+                ConfigOptions.CLIENT_WRITER_COALESCE_TABLES_ENABLED.defaultValue());
     }
 
     private IdempotenceManager createIdempotenceManager(boolean idempotenceEnabled) {
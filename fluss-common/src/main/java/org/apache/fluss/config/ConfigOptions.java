@@ -39,6 +39,7 @@ import static org.apache.fluss.config.ConfigOptions.CompactionStyle.LEVEL;
 import static org.apache.fluss.config.ConfigOptions.CompactionStyle.NONE;
 import static org.apache.fluss.config.ConfigOptions.CompactionStyle.UNIVERSAL;
 import static org.apache.fluss.config.ConfigOptions.InfoLogLevel.INFO_LEVEL;
+import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.ADAPTIVE;
 import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.ROUND_ROBIN;
 import static org.apache.fluss.config.ConfigOptions.NoKeyAssigner.STICKY;
 
@@ -557,6 +558,50 @@ public class ConfigOptions {
                                     + "More indexing allows reads to jump closer to the exact position in the log but "
                                     + "makes the index larger. You probably don't need to change this.");
 
+    public static final ConfigOption<Boolean> LOG_INDEX_ADAPTIVE_ENABLED =
+            key("log.index.adaptive.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to index the log of a bucket denser after the offsets of the bucket are "
+                                    + "looked up by timestamp, e.g., when consumers start from a timestamp. If enabled, "
+                                    + "the log appended to the bucket after 'log.index.adaptive.min-seeks' lookups by "
+                                    + "timestamp within 'log.index.adaptive.dense-duration' is "
+                                    + "indexed every 'log.index.adaptive.min-interval-size' bytes instead of every "
+                                    + "'log.index.interval-size' bytes, so the later lookups scan less bytes of the "
+                                    + "log after the index lookup. Note that the denser index makes the index files "
+                                    + "fill faster, which may roll the log segments earlier.");
+
+    public static final ConfigOption<MemorySize> LOG_INDEX_ADAPTIVE_MIN_INTERVAL_SIZE =
+            key("log.index.adaptive.min-interval-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("512b"))
+                    .withDescription(
+                            "The interval to add index entries of the log of a bucket which is looked up by "
+                                    + "timestamp recently, if 'log.index.adaptive.enabled' is true. It takes no "
+                                    + "effect if it's larger than 'log.index.interval-size'.");
+
+    public static final ConfigOption<Duration> LOG_INDEX_ADAPTIVE_DENSE_DURATION =
+            key("log.index.adaptive.dense-duration")
+                    .durationType()
+                    .defaultValue(Duration.ofHours(1))
+                    .withDescription(
+                            "The window in which 'log.index.adaptive.min-seeks' lookups of the offsets of a "
+                                    + "bucket by timestamp make the log appended to the bucket indexed every "
+                                    + "'log.index.adaptive.min-interval-size' bytes, and how long it's indexed so "
+                                    + "since the oldest of these lookups, if 'log.index.adaptive.enabled' is true.");
+
+    public static final ConfigOption<Integer> LOG_INDEX_ADAPTIVE_MIN_SEEKS =
+            key("log.index.adaptive.min-seeks")
+                    .intType()
+                    .defaultValue(3)
+                    .withDescription(
+                            "The number of lookups of the offsets of a bucket by timestamp within "
+                                    + "'log.index.adaptive.dense-duration' before the log appended to the bucket is "
+                                    + "indexed every 'log.index.adaptive.min-interval-size' bytes, if "
+                                    + "'log.index.adaptive.enabled' is true. The log is indexed denser until "
+                                    + "'log.index.adaptive.dense-duration' passes since the oldest of these lookups.");
+
     public static final ConfigOption<Boolean> LOG_FILE_PREALLOCATE =
             key("log.file-preallocate")
                     .booleanType()
@@ -668,6 +713,46 @@ public class ConfigOptions {
                                     + LOG_REPLICA_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<Boolean> LOG_REPLICA_FETCH_SESSION_ENABLED =
+            key("log.replica.fetch.session-enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether the follower fetches the log in a fetch session of the leader. In a "
+                                    + "fetch session, the leader caches the buckets to fetch, so that the fetch "
+                                    + "log requests and responses only carry the buckets which changed. This "
+                                    + "reduces the cost of fetching a large number of buckets from a leader.");
+
+    public static final ConfigOption<Integer> LOG_FETCH_SESSION_MAX_NUM =
+            key("log.fetch-session.max-num")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The max number of fetch sessions of followers and clients cached on a tablet "
+                                    + "server. If the number of the sessions exceeds it, new fetchers fetch "
+                                    + "the log without a session until some of the sessions expire. "
+                                    + "The default value is 1000.");
+
+    public static final ConfigOption<Duration> LOG_FETCH_SESSION_TTL =
+            key("log.fetch-session.ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(2))
+                    .withDescription(
+                            "The max idle time of a fetch session on a tablet server. A session which isn't "
+                                    + "used by a fetch log request for longer than this time is expired. "
+                                    + "The default value is 2 minutes.");
+
+    public static final ConfigOption<String> LOG_REPLICA_SELECTOR_TYPE =
+            key("log.replica.selector.type")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The identifier of the replica selector plugin, which is used by the leader "
+                                    + "replicas to select the replica for a log scanner to read from. "
+                                    + "The built-in `rack-aware` selector selects an in-sync replica in "
+                                    + "the same rack as the client (see `client.rack`). If not set, the "
+                                    + "log scanners always read from the leader replicas.");
+
     public static final ConfigOption<Integer> LOG_REPLICA_MIN_IN_SYNC_REPLICAS_NUMBER =
             key("log.replica.min-in-sync-replicas-number")
                     .intType()
@@ -712,6 +797,16 @@ public class ConfigOptions {
                             "Size of the thread pool used in scheduling tasks to copy segments, "
                                     + "fetch remote log indexes and clean up remote log segments.");
 
+    public static final ConfigOption<Integer> REMOTE_LOG_SEGMENT_COPY_PARALLELISM =
+            key("remote.log.segment-copy-parallelism")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The maximum number of log segments of a table bucket that are copied to remote "
+                                    + "storage concurrently. The copied segments are still committed to the remote "
+                                    + "log manifest in offset order. The files of the segments are uploaded by the "
+                                    + "threads of `remote.log.data-transfer-thread-num`.");
+
     public static final ConfigOption<Integer> REMOTE_LOG_DATA_TRANSFER_THREAD_NUM =
             key("remote.log.data-transfer-thread-num")
                     .intType()
@@ -720,6 +815,140 @@ public class ConfigOptions {
                             "The number of threads the server uses to transfer (download and upload) "
                                     + "remote log file can be  data file, index file and remote log metadata file.");
 
+    public static final ConfigOption<Boolean> REMOTE_LOG_READ_PROXY_ENABLED =
+            key("remote.log.read-proxy.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the tablet server serves the remote log segments to the clients through "
+                                    + "the normal fetch log responses. If enabled, the remote log segments read by the "
+                                    + "clients are downloaded once into a local segment cache shared by all the clients, "
+                                    + "instead of being downloaded from remote storage by every client. The fetches with "
+                                    + "projection or filter are still served by the clients reading remote storage.");
+
+    public static final ConfigOption<MemorySize> REMOTE_LOG_SEGMENT_CACHE_SIZE =
+            key("remote.log.segment-cache-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("10gb"))
+                    .withDescription(
+                            "The total size of the local disk space used to cache the remote log segments "
+                                    + "served to the clients when `remote.log.read-proxy.enabled` is true. The least "
+                                    + "recently used segments are evicted when the cache is full.");
+
+    // ------------------------------------------------------------------------
+    //  Quota Settings
+    // ------------------------------------------------------------------------
+
+    public static final ConfigOption<MemorySize> QUOTA_CLIENT_PRODUCE_BYTE_RATE =
+            key("quota.client.produce-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each client id (`client.id`) can write to a tablet server by produce log and "
+                                    + "put kv requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the client id. The same quota applies to every "
+                                    + "client id, there are no per client id overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<MemorySize> QUOTA_CLIENT_FETCH_BYTE_RATE =
+            key("quota.client.fetch-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each client id (`client.id`) can fetch from a tablet server by fetch log, "
+                                    + "lookup and kv scan requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the client id. The requests on the internal listener, including the fetches "
+                                    + "of the follower replicas, are never throttled. The same quota applies to every "
+                                    + "client id, there are no per client id overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<Integer> QUOTA_CLIENT_REQUEST_RATE =
+            key("quota.client.request-rate")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of produce log, put kv, fetch log, lookup and kv scan requests per second that "
+                                    + "each client id (`client.id`) can send to a tablet server. The responses of the requests exceeding the quota "
+                                    + "are delayed to throttle the client id. The same quota applies to every "
+                                    + "client id, there are no per client id overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<MemorySize> QUOTA_PRINCIPAL_PRODUCE_BYTE_RATE =
+            key("quota.principal.produce-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each authenticated principal can write to a tablet server by produce log and "
+                                    + "put kv requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the principal. The same quota applies to every "
+                                    + "principal, there are no per principal overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<MemorySize> QUOTA_PRINCIPAL_FETCH_BYTE_RATE =
+            key("quota.principal.fetch-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each authenticated principal can fetch from a tablet server by fetch log, "
+                                    + "lookup and kv scan requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the principal. The requests on the internal listener, including the fetches "
+                                    + "of the follower replicas, are never throttled. The same quota applies to every "
+                                    + "principal, there are no per principal overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<Integer> QUOTA_PRINCIPAL_REQUEST_RATE =
+            key("quota.principal.request-rate")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of produce log, put kv, fetch log, lookup and kv scan requests per second that "
+                                    + "each authenticated principal can send to a tablet server. The responses of the requests exceeding the quota "
+                                    + "are delayed to throttle the principal. The same quota applies to every "
+                                    + "principal, there are no per principal overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<MemorySize> QUOTA_TABLE_PRODUCE_BYTE_RATE =
+            key("quota.table.produce-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each table can write to a tablet server by produce log and "
+                                    + "put kv requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the table. The same quota applies to every "
+                                    + "table, there are no per table overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<MemorySize> QUOTA_TABLE_FETCH_BYTE_RATE =
+            key("quota.table.fetch-byte-rate")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max bytes per second that each table can fetch from a tablet server by fetch log, "
+                                    + "lookup and kv scan requests. The responses of the requests exceeding the quota are delayed to throttle "
+                                    + "the table. The requests on the internal listener, including the fetches "
+                                    + "of the follower replicas, are never throttled. The same quota applies to every "
+                                    + "table, there are no per table overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<Integer> QUOTA_TABLE_REQUEST_RATE =
+            key("quota.table.request-rate")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of produce log, put kv, fetch log, lookup and kv scan requests per second that "
+                                    + "each table can send to a tablet server. The responses of the requests exceeding the quota "
+                                    + "are delayed to throttle the table. The same quota applies to every "
+                                    + "table, there are no per table overrides. No quota is enforced if not set.");
+
+    public static final ConfigOption<Duration> QUOTA_WINDOW_SIZE =
+            key("quota.window-size")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(1))
+                    .withDescription(
+                            "The time span of each sample window to measure the rates of the quotas. "
+                                    + "The default value is 1 second.");
+
+    public static final ConfigOption<Integer> QUOTA_WINDOW_NUM =
+            key("quota.window-num")
+                    .intType()
+                    .defaultValue(11)
+                    .withDescription(
+                            "The number of sample windows retained in memory to measure the rates of the "
+                                    + "quotas. The rate is measured over all the retained windows, so a larger "
+                                    + "value smooths out the bursts of requests. The default value is 11.");
+
     // ------------------------------------------------------------------------
     //  Netty Settings
     // ------------------------------------------------------------------------
@@ -773,7 +1002,19 @@ public class ConfigOptions {
                     .withDescription(
                             "An id string to pass to the server when making requests. The purpose of this is "
                                     + "to be able to track the source of requests beyond just ip/port by allowing "
-                                    + "a logical application name to be included in server-side request logging.");
+                                    + "a logical application name to be included in server-side request logging, "
+                                    + "and to enforce the client quotas (see `quota.client.*`) of the application.");
+
+    public static final ConfigOption<String> CLIENT_RACK =
+            key("client.rack")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The rack of the client, e.g., the availability zone the client runs in. It's "
+                                    + "sent to the tablet servers by the log scanners, for the leader "
+                                    + "replicas to select an in-sync replica in the same rack for the "
+                                    + "client to read from, if `log.replica.selector.type` is configured "
+                                    + "on the tablet servers.");
 
     public static final ConfigOption<Duration> CLIENT_CONNECT_TIMEOUT =
             key("client.connect-timeout")
@@ -884,10 +1125,29 @@ public class ConfigOptions {
                                             + ": this strategy will assign the bucket id for the input row by round robin.\n"
                                             + STICKY.name()
                                             + ": this strategy will assign new bucket id only if the batch changed in record accumulator, "
-                                            + "otherwise the bucket id will be the same as the front record.",
+                                            + "otherwise the bucket id will be the same as the front record.\n"
+                                            + ADAPTIVE.name()
+                                            + ": this strategy is sticky as "
+                                            + STICKY.name()
+                                            + ", but prefers the new bucket whose leader has less queued batches in "
+                                            + "record accumulator and lower recent write latency, and avoids the buckets whose "
+                                            + "leader is lagging (see 'client.writer.bucket.adaptive.lagging-latency').",
                                     Arrays.toString(NoKeyAssigner.values()),
                                     STICKY.name()));
 
+    public static final ConfigOption<Duration> CLIENT_WRITER_BUCKET_ADAPTIVE_LAGGING_LATENCY =
+            key("client.writer.bucket.adaptive.lagging-latency")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(2))
+                    .withDescription(
+                            "The write latency above which a tablet server is considered lagging by the "
+                                    + ADAPTIVE.name()
+                                    + " bucket assigner of 'client.writer.bucket.no-key-assigner'. The write latency "
+                                    + "of a tablet server is the moving average of the latency of the write requests "
+                                    + "sent to it, or how long the writer has been waiting for its in-flight write "
+                                    + "requests if longer. The buckets whose leader is lagging are not chosen, unless "
+                                    + "the leaders of all available buckets are lagging.");
+
     public static final ConfigOption<String> CLIENT_WRITER_ACKS =
             key("client.writer.acks")
                     .stringType()
@@ -955,6 +1215,28 @@ public class ConfigOptions {
                                     + "requests per bucket exceeds this setting, the writer will wait for the inflight "
                                     + "requests to complete before sending out new requests.");
 
+    public static final ConfigOption<Integer> CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_SERVER =
+            key("client.writer.max-inflight-requests-per-server")
+                    .intType()
+                    .defaultValue(32)
+                    .withDescription(
+                            "The upper bound of the number of unacknowledged write requests per tablet server for writer. "
+                                    + "The writer adapts the actual limit of each tablet server between 1 and this bound "
+                                    + "to the round trip time of the write requests: the limit grows while the round trip "
+                                    + "time stays close to the lowest one observed recently, and shrinks when the round "
+                                    + "trip time grows, e.g. because the requests queue up in the tablet server. The batches "
+                                    + "of a tablet server which reached its limit keep batching records in the writer.");
+
+    public static final ConfigOption<Boolean> CLIENT_WRITER_COALESCE_TABLES_ENABLED =
+            key("client.writer.coalesce-tables.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether to coalesce the batches of multiple tables sent to the same tablet server into "
+                                    + "one write request. It reduces the number of write requests when writing to many "
+                                    + "tables. The writer falls back to one write request per table for the tablet "
+                                    + "servers which don't support multi-table write requests.");
+
     public static final ConfigOption<Boolean> CLIENT_WRITER_DYNAMIC_CREATE_PARTITION_ENABLED =
             key("client.writer.dynamic-create-partition.enabled")
                     .booleanType()
@@ -1037,6 +1319,26 @@ public class ConfigOptions {
                                     + CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<Boolean> CLIENT_SCANNER_LOG_FETCH_SESSION_ENABLED =
+            key("client.scanner.log.fetch.session-enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether the log scanner fetches the log in fetch sessions of the tablet servers. "
+                                    + "In a fetch session, the tablet server caches the buckets to fetch, so "
+                                    + "that the fetch log requests and responses only carry the buckets which "
+                                    + "changed.");
+
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_KV_FETCH_MAX_BYTES =
+            key("client.scanner.kv.fetch.max-bytes")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The maximum amount of data the server should return for a request of the batch "
+                                    + "scanner which streams the rows of a primary key table bucket from the "
+                                    + "tablet server. If the first row is larger than this value, the row will "
+                                    + "still be returned to ensure that the scan can make progress.");
+
     public static final ConfigOption<Integer> CLIENT_LOOKUP_QUEUE_SIZE =
             key("client.lookup.queue-size")
                     .intType()
@@ -1065,6 +1367,48 @@ public class ConfigOptions {
                             "The maximum time to wait for the lookup batch to full, if this timeout is reached, "
                                     + "the lookup batch will be closed to send.");
 
+    public static final ConfigOption<MemorySize> CLIENT_LOOKUP_PAGE_MAX_BYTES =
+            key("client.lookup.page.max-bytes")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("1mb"))
+                    .withDescription(
+                            "The maximum bytes of the values in a page when iterating the values of a prefix key "
+                                    + "page by page, at least one value is returned in a page even if it exceeds the limit.");
+
+    public static final ConfigOption<MemorySize> CLIENT_LOOKUP_CACHE_SIZE =
+            key("client.lookup.cache.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ZERO)
+                    .withDescription(
+                            "The max memory size of the client-side cache of the rows looked up by primary key. "
+                                    + "The cache is kept consistent with the table by consuming the changelog of "
+                                    + "the cached buckets, and invalidating the changed keys, so a cached row is "
+                                    + "only served until its change is fetched from the changelog. "
+                                    + "The cache is disabled if the size is 0. The default value is `0b`.");
+
+    public static final ConfigOption<Boolean> CLIENT_LOOKUP_ADAPTIVE_BATCH_ENABLED =
+            key("client.lookup.adaptive-batch.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to size the lookup batches adaptively to meet the latency target '"
+                                    + "client.lookup.adaptive-batch.latency-target'. If enabled, the batch size "
+                                    + "and the time to wait for a batch are derived from the arrival rate of the "
+                                    + "lookups and the response time of the lookup requests, bounded by '"
+                                    + "client.lookup.max-batch-size' and 'client.lookup.batch-timeout'. "
+                                    + "A lookup is sent without waiting if few lookups arrive. "
+                                    + "The default value is false.");
+
+    public static final ConfigOption<Duration> CLIENT_LOOKUP_ADAPTIVE_BATCH_LATENCY_TARGET =
+            key("client.lookup.adaptive-batch.latency-target")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(10))
+                    .withDescription(
+                            "The target latency of a lookup, including the time waiting in a batch and "
+                                    + "the response time of the lookup request, when "
+                                    + "'client.lookup.adaptive-batch.enabled' is true. "
+                                    + "The default value is 10ms.");
+
     public static final ConfigOption<Integer> CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM =
             key("client.scanner.remote-log.prefetch-num")
                     .intType()
@@ -1073,6 +1417,30 @@ public class ConfigOptions {
                             "The number of remote log segments to keep in local temp file for LogScanner, "
                                     + "which download from remote storage. The default setting is 4.");
 
+    public static final ConfigOption<Boolean> CLIENT_SCANNER_REMOTE_LOG_STREAMING_READ_ENABLED =
+            key("client.scanner.remote-log.streaming-read.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the LogScanner streams the records of remote log segments from the "
+                                    + "remote storage into memory instead of downloading the whole segment "
+                                    + "files to local disk. If enabled, the remote log segment is read by "
+                                    + "ranged reads from the position of the fetch offset, in chunks of at "
+                                    + "most `client.scanner.remote-log.read-buffer-size`, and no local disk "
+                                    + "is used. The default setting is false.");
+
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_REMOTE_LOG_READ_BUFFER_SIZE =
+            key("client.scanner.remote-log.read-buffer-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The size of the buffer to read the records of a remote log segment when "
+                                    + "`client.scanner.remote-log.streaming-read.enabled` is true. At most "
+                                    + "two buffers are held for each of the prefetched remote log segments "
+                                    + "(see `client.scanner.remote-log.prefetch-num`), the one being consumed "
+                                    + "and the one being read ahead. A record batch larger than the buffer "
+                                    + "size is still read as a whole.");
+
     public static final ConfigOption<String> CLIENT_SCANNER_IO_TMP_DIR =
             key("client.scanner.io.tmpdir")
                     .stringType()
@@ -1184,6 +1552,16 @@ public class ConfigOptions {
                             "The compression level of ZSTD for the log records if the log format is set to `ARROW` "
                                     + "and the compression type is set to `ZSTD`. The valid range is 1 to 22.");
 
+    public static final ConfigOption<Boolean> TABLE_LOG_ARROW_STATISTICS_ENABLED =
+            key("table.log.arrow.statistics.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to write the column statistics (min/max values and null counts) "
+                                    + "into each log record batch if the log format is set to `ARROW`. "
+                                    + "The statistics allow the server to skip the whole batch when "
+                                    + "it can't match the filter of a log scan. Disabled by default.");
+
     public static final ConfigOption<KvFormat> TABLE_KV_FORMAT =
             key("table.kv.format")
                     .enumType(KvFormat.class)
@@ -1192,6 +1570,19 @@ public class ConfigOptions {
                             "The format of the kv records in kv store. The default value is `compacted`. "
                                     + "The supported formats are `compacted` and `indexed`.");
 
+    public static final ConfigOption<Boolean> TABLE_KV_STANDBY_ENABLED =
+            key("table.kv.standby.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the follower replicas of the primary key table keep a standby kv "
+                                    + "by applying the replicated log to a local RocksDB as they fetch. "
+                                    + "When a follower with a standby kv becomes the leader, it only needs to "
+                                    + "recover the small tail of the log instead of downloading the latest kv "
+                                    + "snapshot and replaying the log since the snapshot, which shortens the "
+                                    + "unavailability window of the bucket on leader failover. It costs the "
+                                    + "local disk and CPU of the followers. Disabled by default.");
+
     public static final ConfigOption<Boolean> TABLE_AUTO_PARTITION_ENABLED =
             key("table.auto-partition.enabled")
                     .booleanType()
@@ -1584,6 +1975,56 @@ public class ConfigOptions {
                             "If true, RocksDB will use block-based filter instead of full filter, this only take effect when bloom filter is used. "
                                     + "The default value is `false`.");
 
+    public static final ConfigOption<MemorySize> KV_LOOKUP_ROW_CACHE_SIZE =
+            key("kv.lookup.row-cache.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ZERO)
+                    .withDescription(
+                            "The max memory size of the row cache of each kv tablet (bucket), which caches "
+                                    + "the rows of the hot primary keys to serve lookups without reading RocksDB. "
+                                    + "The cache is disabled if the size is 0. The default value is `0b`.");
+
+    public static final ConfigOption<MemorySize> KV_LOOKUP_ROW_CACHE_TOTAL_SIZE =
+            key("kv.lookup.row-cache.total-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256mb"))
+                    .withDescription(
+                            "The max memory size of the row caches of all the kv tablets of a tablet server. "
+                                    + "When it's reached, a row cache evicts its own least recently used rows to cache "
+                                    + "new rows, see '"
+                                    + KV_LOOKUP_ROW_CACHE_SIZE.key()
+                                    + "'. The default value is `256mb`.");
+
+    public static final ConfigOption<Integer> KV_SCAN_PAGE_MAX_VALUES =
+            key("kv.scan.page.max-values")
+                    .intType()
+                    .defaultValue(100_000)
+                    .withDescription(
+                            "The max number of the values in a page of a paged kv scan, e.g. the prefix "
+                                    + "lookup iterator. The limit requested by the client is bounded by this "
+                                    + "value, and the max bytes requested by the client is bounded by '"
+                                    + LOG_REPLICA_FETCH_MAX_BYTES.key()
+                                    + "'. The default value is 100000.");
+
+    public static final ConfigOption<Duration> KV_SCANNER_TTL =
+            key("kv.scanner.ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The max idle time of a kv scanner, which streams the rows of a bucket from a "
+                                    + "snapshot of RocksDB to a batch scan of a primary key table. A scanner "
+                                    + "which isn't read for longer than this time is closed to release the "
+                                    + "snapshot. The default value is 1 minute.");
+
+    public static final ConfigOption<Integer> KV_SCANNER_MAX_NUM =
+            key("kv.scanner.max-num")
+                    .intType()
+                    .defaultValue(128)
+                    .withDescription(
+                            "The max number of kv scanners opened at the same time on a tablet server. "
+                                    + "Each scanner pins a snapshot of RocksDB, which prevents the memtables "
+                                    + "and sst files of the snapshot from being released. The default value is 128.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Kv recovering
     // ------------------------------------------------------------------------
@@ -1704,7 +2145,8 @@ public class ConfigOptions {
     /** Append only row bucket assigner for Fluss writer. */
     public enum NoKeyAssigner {
         ROUND_ROBIN,
-        STICKY
+        STICKY,
+        ADAPTIVE
     }
 
     /** Compression type for Fluss's kv. Currently only exposes the following compression type. */
@@ -63,6 +63,11 @@ public class TableConfig {
         return config.get(ConfigOptions.TABLE_KV_FORMAT);
     }
 
+    /** Whether the follower replicas of the table keep a standby kv. */
+    public boolean isKvStandbyEnabled() {
+        return config.get(ConfigOptions.TABLE_KV_STANDBY_ENABLED);
+    }
+
     /** Gets the log TTL of the table. */
     public long getLogTTLMs() {
         return config.get(ConfigOptions.TABLE_LOG_TTL).toMillis();
@@ -116,6 +121,11 @@ public class TableConfig {
         return ArrowCompressionInfo.fromConf(config);
     }
 
+    /** Whether to write column statistics into the Arrow log record batches. */
+    public boolean isArrowStatisticsEnabled() {
+        return config.get(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_ENABLED);
+    }
+
     /** Gets the auto partition strategy of the table. */
     public AutoPartitionStrategy getAutoPartitionStrategy() {
         return AutoPartitionStrategy.from(config);
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.exception;
+
+import org.apache.fluss.annotation.PublicEvolving;
+
+/**
+ * This exception is thrown by the tablet server if it could not locate the kv scanner in question.
+ * This could happen if the scanner has expired because it's idle for too long, or it has been
+ * closed because the leader of the bucket has moved. The scan must be restarted with a new scanner.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public class UnknownKvScannerException extends ApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownKvScannerException(String message) {
+        super(message);
+    }
+}
@@ -62,6 +62,19 @@ public class MetricNames {
             "delayedFetchFromFollowerExpiresPerSecond";
     public static final String DELAYED_FETCH_FROM_CLIENT_EXPIRES_RATE =
             "delayedFetchFromClientExpiresPerSecond";
+    public static final String PRODUCE_THROTTLE_TIME_MS = "produceThrottleTimeMs";
+    public static final String FETCH_THROTTLE_TIME_MS = "fetchThrottleTimeMs";
+    public static final String REQUEST_THROTTLE_TIME_MS = "requestThrottleTimeMs";
+    public static final String THROTTLED_REQUESTS_RATE = "throttledRequestsPerSecond";
+    public static final String REMOTE_LOG_SEGMENT_CACHE_HIT_RATE =
+            "remoteLogSegmentCacheHitPerSecond";
+    public static final String REMOTE_LOG_SEGMENT_CACHE_MISS_RATE =
+            "remoteLogSegmentCacheMissPerSecond";
+    public static final String REMOTE_LOG_SEGMENT_CACHE_EVICTION_RATE =
+            "remoteLogSegmentCacheEvictionPerSecond";
+    public static final String REMOTE_LOG_SEGMENT_CACHE_DOWNLOAD_BYTES_RATE =
+            "remoteLogSegmentCacheDownloadBytesPerSecond";
+    public static final String REMOTE_LOG_SEGMENT_CACHE_SIZE = "remoteLogSegmentCacheSize";
 
     // --------------------------------------------------------------------------------------------
     // metrics for table
@@ -93,6 +106,10 @@ public class MetricNames {
             "totalPrefixLookupRequestsPerSecond";
     public static final String FAILED_PREFIX_LOOKUP_REQUESTS_RATE =
             "failedPrefixLookupRequestsPerSecond";
+    public static final String TOTAL_SCAN_KV_REQUESTS_RATE = "totalScanKvRequestsPerSecond";
+    public static final String FAILED_SCAN_KV_REQUESTS_RATE = "failedScanKvRequestsPerSecond";
+    public static final String TOTAL_KV_SCAN_REQUESTS_RATE = "totalKvScanRequestsPerSecond";
+    public static final String FAILED_KV_SCAN_REQUESTS_RATE = "failedKvScanRequestsPerSecond";
 
     // --------------------------------------------------------------------------------------------
     // metrics for table bucket
@@ -114,6 +131,10 @@ public class MetricNames {
     public static final String LOG_FLUSH_RATE = "flushPerSecond";
     public static final String LOG_FLUSH_LATENCY_MS = "flushLatencyMs";
 
+    // for remote log tablet
+    public static final String REMOTE_LOG_COPY_LAG_SEGMENTS = "copyLagSegments";
+    public static final String REMOTE_LOG_COPY_LAG_BYTES = "copyLagBytes";
+
     // for kv tablet
     public static final String KV_LATEST_SNAPSHOT_SIZE = "latestSnapshotSize";
     public static final String KV_PRE_WRITE_BUFFER_TRUNCATE_AS_DUPLICATED_RATE =
@@ -123,6 +144,10 @@ public class MetricNames {
     public static final String KV_PRE_WRITE_BUFFER_FLUSH_RATE = "preWriteBufferFlushPerSecond";
     public static final String KV_PRE_WRITE_BUFFER_FLUSH_LATENCY_MS =
             "preWriteBufferFlushLatencyMs";
+    public static final String KV_ROW_CACHE_HIT_RATE = "rowCacheHitPerSecond";
+    public static final String KV_ROW_CACHE_MISS_RATE = "rowCacheMissPerSecond";
+    public static final String KV_ROW_CACHE_EVICTION_RATE = "rowCacheEvictionPerSecond";
+    public static final String KV_ROW_CACHE_SIZE = "rowCacheSize";
 
     // --------------------------------------------------------------------------------------------
     // metrics for rpc client
@@ -161,6 +186,10 @@ public class MetricNames {
     public static final String SCANNER_REMOTE_FETCH_RATE = "remoteFetchRequestsPerSecond";
     public static final String SCANNER_REMOTE_FETCH_ERROR_RATE = "remoteFetchErrorPerSecond";
 
+    // for lookup
+    public static final String LOOKUP_LOOKUPS_PER_BATCH = "lookupsPerBatch";
+    public static final String LOOKUP_QUEUE_TIME_MS = "lookupQueueTimeMs";
+
     // for netty
     public static final String NETTY_USED_DIRECT_MEMORY = "usedDirectMemory";
     public static final String NETTY_NUM_DIRECT_ARENAS = "numDirectArenas";
@@ -32,9 +32,13 @@ import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.MurmurHashUtils;
 import org.apache.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 
+import static org.apache.fluss.record.LogRecordBatchStatistics.STATISTICS_LENGTH_LENGTH;
+
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
  * additional information regarding copyright ownership. */
@@ -57,6 +61,7 @@ import java.util.NoSuchElementException;
  *   <li>SequenceID => Int32
  *   <li>RecordCount => Int32
  *   <li>Records => [Record]
+ *   <li>Statistics => optional, see {@link LogRecordBatchStatistics}
  * </ul>
  *
  * <p>The CRC covers the data from the schemaId to the end of the batch (i.e. all the bytes that
@@ -77,11 +82,16 @@ import java.util.NoSuchElementException;
  * <p>The current attributes are given below:
  *
  * <pre>
- * ------------------------------------------
- * |  Unused (1-7)   |  AppendOnly Flag (0) |
- * ------------------------------------------
+ * ----------------------------------------------------------------
+ * |  Unused (2-7)   |  Statistics Flag (1) |  AppendOnly Flag (0) |
+ * ----------------------------------------------------------------
  * </pre>
  *
+ * <p>The statistics flag indicates that the batch ends with a {@link LogRecordBatchStatistics}
+ * section (min/max/null count of each column), which is only written for {@link LogFormat#ARROW}
+ * batches. The statistics are not covered by the Arrow data, so readers unaware of the section must
+ * check the flag to locate the end of the Arrow data.
+ *
  * @since 0.1
  */
 // TODO rename to MemoryLogRecordBatch
@@ -117,6 +127,7 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     public static final int LOG_OVERHEAD = LENGTH_OFFSET + LENGTH_LENGTH;
 
     public static final byte APPEND_ONLY_FLAG_MASK = 0x01;
+    public static final byte STATISTICS_FLAG_MASK = 0x02;
 
     private MemorySegment segment;
     private int position;
@@ -187,10 +198,38 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     }
 
     private byte attributes() {
-        // note we're not using the byte of attributes now.
         return segment.get(ATTRIBUTES_OFFSET + position);
     }
 
+    /** Returns true if the batch carries a {@link LogRecordBatchStatistics} section. */
+    public boolean hasStatistics() {
+        return (attributes() & STATISTICS_FLAG_MASK) > 0;
+    }
+
+    /**
+     * Gets the column statistics of this batch, returns null if the batch doesn't carry statistics
+     * or the statistics are not written for the given row type.
+     */
+    @Nullable
+    public LogRecordBatchStatistics statistics(RowType rowType) {
+        if (!hasStatistics()) {
+            return null;
+        }
+        int statisticsLength = statisticsSizeInBytes() - STATISTICS_LENGTH_LENGTH;
+        int statisticsOffset = position + sizeInBytes() - statisticsSizeInBytes();
+        return LogRecordBatchStatistics.deserialize(
+                segment, statisticsOffset, statisticsLength, getRecordCount(), rowType);
+    }
+
+    /** The size of the statistics section including the trailing length field. */
+    private int statisticsSizeInBytes() {
+        if (!hasStatistics()) {
+            return 0;
+        }
+        int lengthOffset = position + sizeInBytes() - STATISTICS_LENGTH_LENGTH;
+        return segment.getInt(lengthOffset) + STATISTICS_LENGTH_LENGTH;
+    }
+
     @Override
     public long nextLogOffset() {
         return lastLogOffset() + 1;
@@ -308,7 +347,7 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
             // append only batch, no change type vector,
             // the start of the arrow data is the beginning of the batch records
             int arrowOffset = position + RECORD_BATCH_HEADER_SIZE;
-            int arrowLength = sizeInBytes() - RECORD_BATCH_HEADER_SIZE;
+            int arrowLength = sizeInBytes() - RECORD_BATCH_HEADER_SIZE - statisticsSizeInBytes();
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
                             segment, arrowOffset, arrowLength, root, allocator, rowType);
@@ -326,7 +365,10 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
                     new ChangeTypeVector(segment, changeTypeOffset, getRecordCount());
             int arrowOffset = changeTypeOffset + changeTypeVector.sizeInBytes();
             int arrowLength =
-                    sizeInBytes() - ARROW_CHANGETYPE_OFFSET - changeTypeVector.sizeInBytes();
+                    sizeInBytes()
+                            - ARROW_CHANGETYPE_OFFSET
+                            - changeTypeVector.sizeInBytes()
+                            - statisticsSizeInBytes();
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
                             segment, arrowOffset, arrowLength, root, allocator, rowType);
@@ -40,6 +40,8 @@ import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.ArrowUtils;
 import org.apache.fluss.utils.types.Tuple2;
 
+import javax.annotation.Nullable;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -60,6 +62,7 @@ import static org.apache.fluss.record.DefaultLogRecordBatch.LENGTH_OFFSET;
 import static org.apache.fluss.record.DefaultLogRecordBatch.LOG_OVERHEAD;
 import static org.apache.fluss.record.DefaultLogRecordBatch.RECORDS_COUNT_OFFSET;
 import static org.apache.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
 import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.apache.fluss.utils.Preconditions.checkState;
@@ -75,6 +78,11 @@ public class FileLogProjection {
     private static final int ARROW_HEADER_SIZE =
             ARROW_IPC_CONTINUATION_LENGTH + ARROW_IPC_METADATA_SIZE_LENGTH;
 
+    // the initial and max size to read ahead the log header, arrow header and arrow metadata of a
+    // batch in a single read, the read ahead size grows to fit the arrow metadata of the batches.
+    private static final int INITIAL_HEADER_READ_AHEAD_SIZE = 4096;
+    private static final int MAX_HEADER_READ_AHEAD_SIZE = 64 * 1024;
+
     final Map<Long, ProjectionInfo> projectionsCache = new HashMap<>();
     ProjectionInfo currentProjection;
 
@@ -84,6 +92,7 @@ public class FileLogProjection {
     private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(RECORD_BATCH_HEADER_SIZE);
     private final ByteBuffer arrowHeaderBuffer = ByteBuffer.allocate(ARROW_HEADER_SIZE);
     private ByteBuffer arrowMetadataBuffer;
+    private ByteBuffer headerReadAheadBuffer;
 
     public FileLogProjection() {
         this.outputStream = new ByteArrayOutputStream();
@@ -92,6 +101,7 @@ public class FileLogProjection {
         this.logHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
         // arrow force use little endian to encode int32 values
         this.arrowHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.headerReadAheadBuffer = allocateHeaderReadAheadBuffer(INITIAL_HEADER_READ_AHEAD_SIZE);
     }
 
     public void setCurrentProjection(
@@ -160,24 +170,54 @@ public class FileLogProjection {
      */
     public BytesViewLogRecords project(FileChannel channel, int start, int end, int maxBytes)
             throws IOException {
+        return project(channel, start, end, maxBytes, null);
+    }
+
+    /**
+     * Project the log records to a subset of fields and the size of returned log records shouldn't
+     * exceed maxBytes. The batches which can't match the given filter are skipped before
+     * projection.
+     *
+     * @return the projected records.
+     */
+    public BytesViewLogRecords project(
+            FileChannel channel,
+            int start,
+            int end,
+            int maxBytes,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         checkNotNull(currentProjection, "There is no projection registered yet.");
         MultiBytesView.Builder builder = MultiBytesView.builder();
+        if (filter != null) {
+            filter.resetSkipped();
+        }
         int position = start;
         while (maxBytes > RECORD_BATCH_HEADER_SIZE) {
             if (position >= end - RECORD_BATCH_HEADER_SIZE) {
                 // the remaining bytes in the file are not enough to read a batch header
-                return new BytesViewLogRecords(builder.build());
+                break;
             }
 
-            // read log header
+            // read log header, and read ahead the arrow header and arrow metadata following it in
+            // the same read, they are adjacent in the file for append-only batches
+            int readAheadSize = Math.min(headerReadAheadBuffer.capacity(), end - position);
+            headerReadAheadBuffer.clear();
+            headerReadAheadBuffer.limit(readAheadSize);
+            readFullyOrFail(channel, headerReadAheadBuffer, position, "log header");
+            headerReadAheadBuffer.flip();
+            headerReadAheadBuffer.limit(RECORD_BATCH_HEADER_SIZE);
             logHeaderBuffer.rewind();
-            readFullyOrFail(channel, logHeaderBuffer, position, "log header");
+            logHeaderBuffer.put(headerReadAheadBuffer);
+            // restore the limit, the arrow header and metadata are read from the read ahead bytes
+            // by absolute index below
+            headerReadAheadBuffer.limit(readAheadSize);
 
             logHeaderBuffer.rewind();
             int batchSizeInBytes = LOG_OVERHEAD + logHeaderBuffer.getInt(LENGTH_OFFSET);
             if (position > end - batchSizeInBytes) {
                 // the remaining bytes in the file are not enough to read a full batch
-                return new BytesViewLogRecords(builder.build());
+                break;
             }
 
             // Skip empty batch. The empty batch was generated when build cdc log batch when there
@@ -188,8 +228,19 @@ public class FileLogProjection {
                 continue;
             }
 
-            boolean isAppendOnly =
-                    (logHeaderBuffer.get(ATTRIBUTES_OFFSET) & APPEND_ONLY_FLAG_MASK) > 0;
+            if (filter != null) {
+                if (!filter.mayMatch(channel, position, logHeaderBuffer)) {
+                    filter.skip(logHeaderBuffer);
+                    position += batchSizeInBytes;
+                    continue;
+                } else if (filter.hasSkipped()) {
+                    builder.addBytes(filter.buildSkippedBatchHeader());
+                    maxBytes -= RECORD_BATCH_HEADER_SIZE;
+                }
+            }
+
+            byte attributes = logHeaderBuffer.get(ATTRIBUTES_OFFSET);
+            boolean isAppendOnly = (attributes & APPEND_ONLY_FLAG_MASK) > 0;
 
             final int changeTypeBytes;
             final long arrowHeaderOffset;
@@ -201,19 +252,42 @@ public class FileLogProjection {
                 arrowHeaderOffset = position + RECORD_BATCH_HEADER_SIZE + changeTypeBytes;
             }
 
-            // read arrow header
-            arrowHeaderBuffer.rewind();
-            readFullyOrFail(channel, arrowHeaderBuffer, arrowHeaderOffset, "arrow header");
-            arrowHeaderBuffer.position(ARROW_IPC_METADATA_SIZE_OFFSET);
-            int arrowMetadataSize = arrowHeaderBuffer.getInt();
+            // read arrow header, from the read ahead bytes if possible
+            final long arrowMetadataOffset = arrowHeaderOffset + ARROW_HEADER_SIZE;
+            final long readAheadEnd = position + readAheadSize;
+            final int arrowMetadataSize;
+            if (arrowHeaderOffset >= position && arrowMetadataOffset <= readAheadEnd) {
+                arrowMetadataSize =
+                        headerReadAheadBuffer.getInt(
+                                (int) (arrowHeaderOffset - position)
+                                        + ARROW_IPC_METADATA_SIZE_OFFSET);
+            } else {
+                arrowHeaderBuffer.rewind();
+                readFullyOrFail(channel, arrowHeaderBuffer, arrowHeaderOffset, "arrow header");
+                arrowHeaderBuffer.position(ARROW_IPC_METADATA_SIZE_OFFSET);
+                arrowMetadataSize = arrowHeaderBuffer.getInt();
+            }
 
+            // read arrow metadata, from the read ahead bytes if possible
             resizeArrowMetadataBuffer(arrowMetadataSize);
             arrowMetadataBuffer.rewind();
-            readFullyOrFail(
-                    channel,
-                    arrowMetadataBuffer,
-                    arrowHeaderOffset + ARROW_HEADER_SIZE,
-                    "arrow metadata");
+            if (arrowHeaderOffset >= position
+                    && arrowMetadataOffset + arrowMetadataSize <= readAheadEnd) {
+                int metadataPosition = (int) (arrowMetadataOffset - position);
+                headerReadAheadBuffer.clear();
+                headerReadAheadBuffer.limit(metadataPosition + arrowMetadataSize);
+                headerReadAheadBuffer.position(metadataPosition);
+                arrowMetadataBuffer.put(headerReadAheadBuffer);
+            } else {
+                readFullyOrFail(
+                        channel, arrowMetadataBuffer, arrowMetadataOffset, "arrow metadata");
+                if (isAppendOnly) {
+                    // grow the read ahead size to read the arrow metadata of the next batches,
+                    // which are likely of the same size for the same table
+                    maybeGrowHeaderReadAheadBuffer(
+                            (int) (arrowMetadataOffset + arrowMetadataSize - position));
+                }
+            }
 
             arrowMetadataBuffer.rewind();
             Message metadata = Message.getRootAsMessage(arrowMetadataBuffer);
@@ -248,17 +322,32 @@ public class FileLogProjection {
             // 4. update and copy log batch header
             logHeaderBuffer.position(LENGTH_OFFSET);
             logHeaderBuffer.putInt(newBatchSizeInBytes - LOG_OVERHEAD);
+            // the statistics are not carried by the projected batch
+            logHeaderBuffer.put(ATTRIBUTES_OFFSET, (byte) (attributes & ~STATISTICS_FLAG_MASK));
             logHeaderBuffer.rewind();
-            // the logHeader can't be reused, as it will be sent to network
-            byte[] logHeader = new byte[RECORD_BATCH_HEADER_SIZE];
-            logHeaderBuffer.get(logHeader);
 
-            // 5. build log records
-            builder.addBytes(logHeader);
-            if (!isAppendOnly) {
+            // 5. build log records, only the log header and arrow metadata are on heap, the change
+            // types and the selected arrow buffers are sent from the file channel directly
+            if (isAppendOnly) {
+                // the log header and arrow metadata are adjacent, send them as one heap buffer
+                byte[] logHeaderAndMetadata =
+                        new byte[RECORD_BATCH_HEADER_SIZE + headerMetadata.length];
+                logHeaderBuffer.get(logHeaderAndMetadata, 0, RECORD_BATCH_HEADER_SIZE);
+                System.arraycopy(
+                        headerMetadata,
+                        0,
+                        logHeaderAndMetadata,
+                        RECORD_BATCH_HEADER_SIZE,
+                        headerMetadata.length);
+                builder.addBytes(logHeaderAndMetadata);
+            } else {
+                // the logHeader can't be reused, as it will be sent to network
+                byte[] logHeader = new byte[RECORD_BATCH_HEADER_SIZE];
+                logHeaderBuffer.get(logHeader);
+                builder.addBytes(logHeader);
                 builder.addBytes(channel, position + ARROW_CHANGETYPE_OFFSET, changeTypeBytes);
+                builder.addBytes(headerMetadata);
             }
-            builder.addBytes(headerMetadata);
             final long bufferOffset = arrowHeaderOffset + ARROW_HEADER_SIZE + arrowMetadataSize;
             projectedArrowBatch.buffers.forEach(
                     b ->
@@ -269,6 +358,9 @@ public class FileLogProjection {
             position += batchSizeInBytes;
         }
 
+        if (filter != null && filter.hasSkipped() && maxBytes >= RECORD_BATCH_HEADER_SIZE) {
+            builder.addBytes(filter.buildSkippedBatchHeader());
+        }
         return new BytesViewLogRecords(builder.build());
     }
 
@@ -321,6 +413,20 @@ public class FileLogProjection {
         return outputStream.toByteArray();
     }
 
+    private void maybeGrowHeaderReadAheadBuffer(int requiredSize) {
+        if (requiredSize > headerReadAheadBuffer.capacity()
+                && requiredSize <= MAX_HEADER_READ_AHEAD_SIZE) {
+            headerReadAheadBuffer = allocateHeaderReadAheadBuffer(requiredSize);
+        }
+    }
+
+    private static ByteBuffer allocateHeaderReadAheadBuffer(int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        // the arrow header is encoded in little endian too, as the log header
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
     private void resizeArrowMetadataBuffer(int metadataSize) {
         if (arrowMetadataBuffer == null || arrowMetadataBuffer.capacity() < metadataSize) {
             arrowMetadataBuffer = ByteBuffer.allocate(metadataSize);
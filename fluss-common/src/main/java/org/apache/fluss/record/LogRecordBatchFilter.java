@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.bytesview.MultiBytesView;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.crc.Crc32C;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import static org.apache.fluss.record.DefaultLogRecordBatch.ATTRIBUTES_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.BASE_OFFSET_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.BATCH_SEQUENCE_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.COMMIT_TIMESTAMP_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.CRC_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.LAST_OFFSET_DELTA_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.LENGTH_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.LOG_OVERHEAD;
+import static org.apache.fluss.record.DefaultLogRecordBatch.MAGIC_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.RECORDS_COUNT_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.DefaultLogRecordBatch.SCHEMA_ID_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
+import static org.apache.fluss.record.DefaultLogRecordBatch.WRITE_CLIENT_ID_OFFSET;
+import static org.apache.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatch.NO_WRITER_ID;
+import static org.apache.fluss.record.LogRecordBatchStatistics.STATISTICS_LENGTH_LENGTH;
+import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
+/**
+ * Batch filter on {@link FileLogRecords}, which skips the batches whose {@link
+ * LogRecordBatchStatistics} prove that no record in the batch matches the {@link Predicate}.
+ *
+ * <p>A run of consecutive skipped batches is replaced by a single empty batch header (with a record
+ * count of 0) which covers the offsets of the skipped batches, so that the fetcher can advance its
+ * fetch offset past the skipped batches. See the comments about the field 'lastOffsetDelta' in
+ * {@link DefaultLogRecordBatch}.
+ *
+ * <p>This class is not thread safe, the shared buffers are reused across reads.
+ */
+public class LogRecordBatchFilter {
+
+    private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(RECORD_BATCH_HEADER_SIZE);
+    private final ByteBuffer statisticsLengthBuffer = ByteBuffer.allocate(STATISTICS_LENGTH_LENGTH);
+    private ByteBuffer statisticsBuffer;
+
+    private RowType schema;
+    private Predicate predicate;
+
+    // the state of the current run of skipped batches
+    private long skippedBaseOffset = -1L;
+    private long skippedLastOffset;
+    private long skippedCommitTimestamp;
+    private byte skippedMagic;
+    private short skippedSchemaId;
+
+    public LogRecordBatchFilter() {
+        // fluss use little endian for encoding log records batch
+        this.logHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.statisticsLengthBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void setCurrentFilter(RowType schema, Predicate predicate) {
+        this.schema = checkNotNull(schema);
+        this.predicate = checkNotNull(predicate);
+    }
+
+    /**
+     * Reads the batches between the start and end position of the file channel, skipping the
+     * batches that can't match the predicate. The size of returned log records shouldn't exceed
+     * maxBytes.
+     *
+     * @return the filtered records.
+     */
+    public BytesViewLogRecords filter(FileChannel channel, int start, int end, int maxBytes)
+            throws IOException {
+        checkNotNull(predicate, "There is no filter registered yet.");
+        resetSkipped();
+        MultiBytesView.Builder builder = MultiBytesView.builder();
+        int position = start;
+        while (maxBytes > RECORD_BATCH_HEADER_SIZE) {
+            if (position >= end - RECORD_BATCH_HEADER_SIZE) {
+                break;
+            }
+
+            logHeaderBuffer.rewind();
+            readFullyOrFail(channel, logHeaderBuffer, position, "log header");
+            logHeaderBuffer.rewind();
+            int batchSizeInBytes = LOG_OVERHEAD + logHeaderBuffer.getInt(LENGTH_OFFSET);
+            if (position > end - batchSizeInBytes) {
+                // the remaining bytes in the file are not enough to read a full batch
+                break;
+            }
+
+            if (!mayMatch(channel, position, logHeaderBuffer)) {
+                skip(logHeaderBuffer);
+                position += batchSizeInBytes;
+                continue;
+            }
+
+            if (hasSkipped()) {
+                builder.addBytes(buildSkippedBatchHeader());
+                maxBytes -= RECORD_BATCH_HEADER_SIZE;
+            }
+            if (batchSizeInBytes > maxBytes) {
+                return new BytesViewLogRecords(builder.build());
+            }
+            builder.addBytes(channel, position, batchSizeInBytes);
+            maxBytes -= batchSizeInBytes;
+            position += batchSizeInBytes;
+        }
+
+        if (hasSkipped() && maxBytes >= RECORD_BATCH_HEADER_SIZE) {
+            builder.addBytes(buildSkippedBatchHeader());
+        }
+        return new BytesViewLogRecords(builder.build());
+    }
+
+    /**
+     * Returns false if the statistics of the batch at the given position prove that no record in
+     * the batch matches the predicate. Batches without statistics always may match.
+     *
+     * @param logHeader the already read header of the batch, in little endian
+     */
+    boolean mayMatch(FileChannel channel, int position, ByteBuffer logHeader) throws IOException {
+        if ((logHeader.get(ATTRIBUTES_OFFSET) & STATISTICS_FLAG_MASK) == 0) {
+            return true;
+        }
+        int batchSizeInBytes = LOG_OVERHEAD + logHeader.getInt(LENGTH_OFFSET);
+        int statisticsLengthOffset = position + batchSizeInBytes - STATISTICS_LENGTH_LENGTH;
+        statisticsLengthBuffer.rewind();
+        readFullyOrFail(
+                channel, statisticsLengthBuffer, statisticsLengthOffset, "statistics length");
+        int statisticsLength = statisticsLengthBuffer.getInt(0);
+
+        resizeStatisticsBuffer(statisticsLength);
+        statisticsBuffer.rewind();
+        readFullyOrFail(
+                channel, statisticsBuffer, statisticsLengthOffset - statisticsLength, "statistics");
+        LogRecordBatchStatistics statistics =
+                LogRecordBatchStatistics.deserialize(
+                        MemorySegment.wrap(statisticsBuffer.array()),
+                        0,
+                        statisticsLength,
+                        logHeader.getInt(RECORDS_COUNT_OFFSET),
+                        schema);
+        return statistics == null || statistics.test(predicate);
+    }
+
+    /** Adds the batch of the given header to the current run of skipped batches. */
+    void skip(ByteBuffer logHeader) {
+        long baseOffset = logHeader.getLong(BASE_OFFSET_OFFSET);
+        if (skippedBaseOffset < 0) {
+            skippedBaseOffset = baseOffset;
+            skippedMagic = logHeader.get(MAGIC_OFFSET);
+            skippedSchemaId = logHeader.getShort(SCHEMA_ID_OFFSET);
+        }
+        skippedLastOffset = baseOffset + logHeader.getInt(LAST_OFFSET_DELTA_OFFSET);
+        skippedCommitTimestamp = logHeader.getLong(COMMIT_TIMESTAMP_OFFSET);
+    }
+
+    boolean hasSkipped() {
+        return skippedBaseOffset >= 0;
+    }
+
+    void resetSkipped() {
+        skippedBaseOffset = -1L;
+    }
+
+    /**
+     * Builds an empty batch header covering the offsets of the current run of skipped batches, and
+     * resets the run.
+     */
+    byte[] buildSkippedBatchHeader() {
+        // the header can't be reused, as it will be sent to network
+        byte[] header = new byte[RECORD_BATCH_HEADER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(BASE_OFFSET_OFFSET, skippedBaseOffset);
+        buffer.putInt(LENGTH_OFFSET, RECORD_BATCH_HEADER_SIZE - LOG_OVERHEAD);
+        buffer.put(MAGIC_OFFSET, skippedMagic);
+        buffer.putLong(COMMIT_TIMESTAMP_OFFSET, skippedCommitTimestamp);
+        buffer.putShort(SCHEMA_ID_OFFSET, skippedSchemaId);
+        buffer.put(ATTRIBUTES_OFFSET, (byte) 0);
+        buffer.putInt(LAST_OFFSET_DELTA_OFFSET, (int) (skippedLastOffset - skippedBaseOffset));
+        buffer.putLong(WRITE_CLIENT_ID_OFFSET, NO_WRITER_ID);
+        buffer.putInt(BATCH_SEQUENCE_OFFSET, NO_BATCH_SEQUENCE);
+        buffer.putInt(RECORDS_COUNT_OFFSET, 0);
+        long crc =
+                Crc32C.compute(
+                        header, SCHEMA_ID_OFFSET, RECORD_BATCH_HEADER_SIZE - SCHEMA_ID_OFFSET);
+        buffer.putInt(CRC_OFFSET, (int) (crc & 0xffffffffL));
+        resetSkipped();
+        return header;
+    }
+
+    private void resizeStatisticsBuffer(int statisticsLength) {
+        if (statisticsBuffer == null || statisticsBuffer.capacity() < statisticsLength) {
+            statisticsBuffer = ByteBuffer.allocate(statisticsLength);
+            statisticsBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            statisticsBuffer.limit(statisticsLength);
+        }
+    }
+}
@@ -0,0 +1,603 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.exception.CorruptMessageException;
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.TimestampNtz;
+import org.apache.fluss.row.columnar.ByteColumnVector;
+import org.apache.fluss.row.columnar.BytesColumnVector;
+import org.apache.fluss.row.columnar.ColumnVector;
+import org.apache.fluss.row.columnar.DecimalColumnVector;
+import org.apache.fluss.row.columnar.DoubleColumnVector;
+import org.apache.fluss.row.columnar.FloatColumnVector;
+import org.apache.fluss.row.columnar.IntColumnVector;
+import org.apache.fluss.row.columnar.LongColumnVector;
+import org.apache.fluss.row.columnar.ShortColumnVector;
+import org.apache.fluss.row.columnar.TimestampNtzColumnVector;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.row.indexed.IndexedRowWriter;
+import org.apache.fluss.types.BooleanType;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypeRoot;
+import org.apache.fluss.types.DecimalType;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.types.StringType;
+import org.apache.fluss.types.TimestampType;
+
+import java.util.Arrays;
+
+/**
+ * Column statistics (min value, max value and null count of each column) of a {@link
+ * LogRecordBatch} in {@link org.apache.fluss.metadata.LogFormat#ARROW} format. The statistics are
+ * written by {@link MemoryLogRecordsArrowBuilder} at the end of the batch when the {@link
+ * DefaultLogRecordBatch#STATISTICS_FLAG_MASK} attribute is set, and are used by the server to skip
+ * whole batches that can't match the {@link Predicate} of a fetch.
+ *
+ * <p>The serialized format is given below (in little endian):
+ *
+ * <ul>
+ *   Statistics =>
+ *   <li>Version => Int8
+ *   <li>FieldCount => Int16
+ *   <li>NullCounts => [Int32], -1 if the null count of the field is unknown
+ *   <li>MinValuesLength => Int32
+ *   <li>MinValues => IndexedRow
+ *   <li>MaxValuesLength => Int32
+ *   <li>MaxValues => IndexedRow
+ *   <li>StatisticsLength => Int32, the length of all the above fields
+ * </ul>
+ *
+ * <p>The trailing StatisticsLength is the last field of the batch, so the statistics can be located
+ * from the end of the batch without parsing the Arrow data. Min/max values are only collected for
+ * types with a total order, the values of other types are always null (unknown).
+ */
+@Internal
+public final class LogRecordBatchStatistics {
+
+    public static final byte STATISTICS_VERSION_V0 = 0;
+
+    /** The length of the trailing StatisticsLength field. */
+    public static final int STATISTICS_LENGTH_LENGTH = 4;
+
+    /** Strings longer than this are not collected as min/max to keep the statistics small. */
+    static final int MAX_STRING_STATISTICS_LENGTH = 64;
+
+    private static final int VERSION_LENGTH = 1;
+    private static final int FIELD_COUNT_LENGTH = 2;
+    private static final int NULL_COUNT_LENGTH = 4;
+    private static final int VALUES_LENGTH_LENGTH = 4;
+
+    private final long rowCount;
+    private final InternalRow minValues;
+    private final InternalRow maxValues;
+    private final Long[] nullCounts;
+
+    public LogRecordBatchStatistics(
+            long rowCount, InternalRow minValues, InternalRow maxValues, Long[] nullCounts) {
+        this.rowCount = rowCount;
+        this.minValues = minValues;
+        this.maxValues = maxValues;
+        this.nullCounts = nullCounts;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public InternalRow minValues() {
+        return minValues;
+    }
+
+    public InternalRow maxValues() {
+        return maxValues;
+    }
+
+    public Long[] nullCounts() {
+        return nullCounts;
+    }
+
+    /**
+     * Tests whether the batch described by this statistics may contain rows matching the given
+     * predicate. Returns false only if it's guaranteed that no row in the batch matches.
+     */
+    public boolean test(Predicate predicate) {
+        return predicate.test(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    /** Returns true if min/max statistics are collected for the given data type. */
+    public static boolean isSupportedType(DataType type) {
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case STRING:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+    // Collect
+    // ------------------------------------------------------------------------------------------
+
+    /** Collects the statistics of the first {@code rowCount} rows of the given column vectors. */
+    public static LogRecordBatchStatistics collect(
+            RowType rowType, ColumnVector[] columns, int rowCount) {
+        int fieldCount = rowType.getFieldCount();
+        GenericRow minValues = new GenericRow(fieldCount);
+        GenericRow maxValues = new GenericRow(fieldCount);
+        Long[] nullCounts = new Long[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            DataType type = rowType.getTypeAt(i);
+            ColumnVector column = columns[i];
+            long nullCount = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (column.isNullAt(row)) {
+                    nullCount++;
+                }
+            }
+            nullCounts[i] = nullCount;
+            if (nullCount < rowCount && isSupportedType(type)) {
+                collectMinMax(type, column, rowCount, i, minValues, maxValues);
+            }
+        }
+        return new LogRecordBatchStatistics(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    private static void collectMinMax(
+            DataType type,
+            ColumnVector column,
+            int rowCount,
+            int pos,
+            GenericRow minValues,
+            GenericRow maxValues) {
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case STRING:
+                collectStringMinMax(
+                        (BytesColumnVector) column, rowCount, pos, minValues, maxValues);
+                break;
+            case TINYINT:
+                {
+                    ByteColumnVector vector = (ByteColumnVector) column;
+                    byte min = Byte.MAX_VALUE;
+                    byte max = Byte.MIN_VALUE;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            byte value = vector.getByte(row);
+                            min = (byte) Math.min(min, value);
+                            max = (byte) Math.max(max, value);
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case SMALLINT:
+                {
+                    ShortColumnVector vector = (ShortColumnVector) column;
+                    short min = Short.MAX_VALUE;
+                    short max = Short.MIN_VALUE;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            short value = vector.getShort(row);
+                            min = (short) Math.min(min, value);
+                            max = (short) Math.max(max, value);
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                {
+                    IntColumnVector vector = (IntColumnVector) column;
+                    int min = Integer.MAX_VALUE;
+                    int max = Integer.MIN_VALUE;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            int value = vector.getInt(row);
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case BIGINT:
+                {
+                    LongColumnVector vector = (LongColumnVector) column;
+                    long min = Long.MAX_VALUE;
+                    long max = Long.MIN_VALUE;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            long value = vector.getLong(row);
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case FLOAT:
+                {
+                    // use Float.compare to be consistent with the comparison of predicates,
+                    // which orders -0.0 before 0.0 and NaN after all other values
+                    FloatColumnVector vector = (FloatColumnVector) column;
+                    Float min = null;
+                    Float max = null;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            float value = vector.getFloat(row);
+                            if (min == null || Float.compare(value, min) < 0) {
+                                min = value;
+                            }
+                            if (max == null || Float.compare(value, max) > 0) {
+                                max = value;
+                            }
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case DOUBLE:
+                {
+                    DoubleColumnVector vector = (DoubleColumnVector) column;
+                    Double min = null;
+                    Double max = null;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            double value = vector.getDouble(row);
+                            if (min == null || Double.compare(value, min) < 0) {
+                                min = value;
+                            }
+                            if (max == null || Double.compare(value, max) > 0) {
+                                max = value;
+                            }
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case DECIMAL:
+                {
+                    DecimalType decimalType = (DecimalType) type;
+                    DecimalColumnVector vector = (DecimalColumnVector) column;
+                    Decimal min = null;
+                    Decimal max = null;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            Decimal value =
+                                    vector.getDecimal(
+                                            row,
+                                            decimalType.getPrecision(),
+                                            decimalType.getScale());
+                            if (min == null || value.compareTo(min) < 0) {
+                                min = value;
+                            }
+                            if (max == null || value.compareTo(max) > 0) {
+                                max = value;
+                            }
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                {
+                    int precision = ((TimestampType) type).getPrecision();
+                    TimestampNtzColumnVector vector = (TimestampNtzColumnVector) column;
+                    TimestampNtz min = null;
+                    TimestampNtz max = null;
+                    for (int row = 0; row < rowCount; row++) {
+                        if (!vector.isNullAt(row)) {
+                            TimestampNtz value = vector.getTimestampNtz(row, precision);
+                            if (min == null || value.compareTo(min) < 0) {
+                                min = value;
+                            }
+                            if (max == null || value.compareTo(max) > 0) {
+                                max = value;
+                            }
+                        }
+                    }
+                    minValues.setField(pos, min);
+                    maxValues.setField(pos, max);
+                    break;
+                }
+            default:
+                throw new IllegalArgumentException("Unsupported type for statistics: " + type);
+        }
+    }
+
+    private static void collectStringMinMax(
+            BytesColumnVector vector,
+            int rowCount,
+            int pos,
+            GenericRow minValues,
+            GenericRow maxValues) {
+        BytesColumnVector.Bytes min = null;
+        BytesColumnVector.Bytes max = null;
+        for (int row = 0; row < rowCount; row++) {
+            if (!vector.isNullAt(row)) {
+                BytesColumnVector.Bytes value = vector.getBytes(row);
+                if (min == null || compareBytes(value, min) < 0) {
+                    min = value;
+                }
+                if (max == null || compareBytes(value, max) > 0) {
+                    max = value;
+                }
+            }
+        }
+        // the statistics of the field stay unknown if any of the bounds is too long
+        if (min != null
+                && min.len <= MAX_STRING_STATISTICS_LENGTH
+                && max.len <= MAX_STRING_STATISTICS_LENGTH) {
+            minValues.setField(pos, BinaryString.fromBytes(min.getBytes().clone()));
+            maxValues.setField(pos, BinaryString.fromBytes(max.getBytes().clone()));
+        }
+    }
+
+    /** Compares UTF-8 bytes lexicographically, the same as {@link BinaryString#compareTo}. */
+    private static int compareBytes(BytesColumnVector.Bytes b1, BytesColumnVector.Bytes b2) {
+        int len = Math.min(b1.len, b2.len);
+        for (int i = 0; i < len; i++) {
+            int res = (b1.data[b1.offset + i] & 0xFF) - (b2.data[b2.offset + i] & 0xFF);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return b1.len - b2.len;
+    }
+
+    // ------------------------------------------------------------------------------------------
+    // Serialization
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Serializes the statistics of the given row type, including the trailing StatisticsLength
+     * field.
+     */
+    public byte[] serialize(RowType rowType) {
+        DataType[] types = nullableTypes(rowType);
+        byte[] minBytes = serializeValues(types, minValues);
+        byte[] maxBytes = serializeValues(types, maxValues);
+        int statisticsLength =
+                VERSION_LENGTH
+                        + FIELD_COUNT_LENGTH
+                        + NULL_COUNT_LENGTH * types.length
+                        + VALUES_LENGTH_LENGTH
+                        + minBytes.length
+                        + VALUES_LENGTH_LENGTH
+                        + maxBytes.length;
+        byte[] bytes = new byte[statisticsLength + STATISTICS_LENGTH_LENGTH];
+        MemorySegment segment = MemorySegment.wrap(bytes);
+        int position = 0;
+        segment.put(position, STATISTICS_VERSION_V0);
+        position += VERSION_LENGTH;
+        segment.putShort(position, (short) types.length);
+        position += FIELD_COUNT_LENGTH;
+        for (Long nullCount : nullCounts) {
+            segment.putInt(position, nullCount == null ? -1 : (int) (long) nullCount);
+            position += NULL_COUNT_LENGTH;
+        }
+        segment.putInt(position, minBytes.length);
+        position += VALUES_LENGTH_LENGTH;
+        segment.put(position, minBytes, 0, minBytes.length);
+        position += minBytes.length;
+        segment.putInt(position, maxBytes.length);
+        position += VALUES_LENGTH_LENGTH;
+        segment.put(position, maxBytes, 0, maxBytes.length);
+        position += maxBytes.length;
+        segment.putInt(position, statisticsLength);
+        return bytes;
+    }
+
+    /**
+     * Returns the max size in bytes of the serialized statistics of the given row type, including
+     * the trailing StatisticsLength field. This is used to reserve room for the statistics before
+     * they are collected.
+     */
+    public static int maxSerializedSizeInBytes(RowType rowType) {
+        DataType[] types = nullableTypes(rowType);
+        int maxValuesLength =
+                IndexedRow.calculateBitSetWidthInBytes(types.length)
+                        + IndexedRow.calculateVariableColumnLengthListSize(types);
+        for (DataType type : types) {
+            maxValuesLength += maxValueSizeInBytes(type);
+        }
+        return VERSION_LENGTH
+                + FIELD_COUNT_LENGTH
+                + NULL_COUNT_LENGTH * types.length
+                + VALUES_LENGTH_LENGTH
+                + maxValuesLength
+                + VALUES_LENGTH_LENGTH
+                + maxValuesLength
+                + STATISTICS_LENGTH_LENGTH;
+    }
+
+    private static int maxValueSizeInBytes(DataType type) {
+        // the types are the nullable types of nullableTypes(...)
+        switch (type.getTypeRoot()) {
+            case STRING:
+                return MAX_STRING_STATISTICS_LENGTH;
+            case TINYINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case FLOAT:
+                return 4;
+            case BIGINT:
+            case DOUBLE:
+                return 8;
+            case DECIMAL:
+                // the unscaled bytes of the max precision 38 fit in 16 bytes
+                return Decimal.isCompact(((DecimalType) type).getPrecision()) ? 8 : 16;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return TimestampNtz.isCompact(((TimestampType) type).getPrecision()) ? 8 : 12;
+            default:
+                // the min/max of unsupported types are always null
+                return 0;
+        }
+    }
+
+    /**
+     * Deserializes the statistics located at the given position, the given length doesn't include
+     * the trailing StatisticsLength field. The returned statistics may reference the given segment.
+     *
+     * @return the statistics, or null if the statistics don't match the given row type (e.g., the
+     *     batch is written by a different schema).
+     */
+    public static LogRecordBatchStatistics deserialize(
+            MemorySegment segment, int position, int length, long rowCount, RowType rowType) {
+        int end = position + length;
+        byte version = segment.get(position);
+        if (version != STATISTICS_VERSION_V0) {
+            throw new CorruptMessageException(
+                    "Unsupported log record batch statistics version " + version);
+        }
+        position += VERSION_LENGTH;
+        int fieldCount = segment.getShort(position);
+        position += FIELD_COUNT_LENGTH;
+        if (fieldCount != rowType.getFieldCount()) {
+            return null;
+        }
+        Long[] nullCounts = new Long[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            int nullCount = segment.getInt(position);
+            nullCounts[i] = nullCount < 0 ? null : (long) nullCount;
+            position += NULL_COUNT_LENGTH;
+        }
+        DataType[] types = nullableTypes(rowType);
+        int minLength = segment.getInt(position);
+        position += VALUES_LENGTH_LENGTH;
+        IndexedRow minValues = new IndexedRow(types);
+        minValues.pointTo(segment, position, minLength);
+        position += minLength;
+        int maxLength = segment.getInt(position);
+        position += VALUES_LENGTH_LENGTH;
+        IndexedRow maxValues = new IndexedRow(types);
+        maxValues.pointTo(segment, position, maxLength);
+        position += maxLength;
+        if (position != end) {
+            throw new CorruptMessageException(
+                    "Log record batch statistics is corrupt (the declared size "
+                            + length
+                            + " doesn't match the actual size "
+                            + (length + position - end)
+                            + ")");
+        }
+        return new LogRecordBatchStatistics(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    private static byte[] serializeValues(DataType[] types, InternalRow values) {
+        IndexedRowWriter writer = new IndexedRowWriter(types);
+        for (int i = 0; i < types.length; i++) {
+            if (values.isNullAt(i)) {
+                writer.setNullAt(i);
+            } else {
+                IndexedRowWriter.createFieldWriter(types[i])
+                        .writeField(writer, i, getFieldValue(values, i, types[i]));
+            }
+        }
+        return Arrays.copyOf(writer.buffer(), writer.position());
+    }
+
+    private static Object getFieldValue(InternalRow row, int pos, DataType type) {
+        // only the types of isSupportedType(...) are accessed here
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case STRING:
+                return row.getString(pos);
+            case TINYINT:
+                return row.getByte(pos);
+            case SMALLINT:
+                return row.getShort(pos);
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return row.getInt(pos);
+            case BIGINT:
+                return row.getLong(pos);
+            case FLOAT:
+                return row.getFloat(pos);
+            case DOUBLE:
+                return row.getDouble(pos);
+            case DECIMAL:
+                DecimalType decimalType = (DecimalType) type;
+                return row.getDecimal(pos, decimalType.getPrecision(), decimalType.getScale());
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return row.getTimestampNtz(pos, ((TimestampType) type).getPrecision());
+            default:
+                throw new IllegalArgumentException("Unsupported type for statistics: " + type);
+        }
+    }
+
+    private static DataType[] nullableTypes(RowType rowType) {
+        DataType[] types = new DataType[rowType.getFieldCount()];
+        for (int i = 0; i < types.length; i++) {
+            DataType type = rowType.getTypeAt(i);
+            if (!isSupportedType(type)) {
+                // the min/max of unsupported types are always null, use a placeholder type which
+                // is always supported by IndexedRow
+                types[i] = new BooleanType(true);
+            } else if (type.getTypeRoot() == DataTypeRoot.CHAR) {
+                // the min/max of CHAR(n) are stored as STRING to avoid padding
+                types[i] = new StringType(true);
+            } else {
+                types[i] = type.copy(true);
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return "LogRecordBatchStatistics{"
+                + "rowCount="
+                + rowCount
+                + ", nullCounts="
+                + Arrays.toString(nullCounts)
+                + '}';
+    }
+}
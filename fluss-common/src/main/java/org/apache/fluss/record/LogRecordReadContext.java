@@ -93,6 +93,27 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         }
     }
 
+    /**
+     * Creates a LogRecordReadContext for the ARROW batches whose fields have been projected in
+     * order by the server, e.g. the batches streamed by the kv scan of a primary key table.
+     *
+     * @param rowType the schema of the table
+     * @param schemaId the schemaId of the table
+     * @param projection the projection of the fields, null if all the fields are returned
+     */
+    public static LogRecordReadContext createProjectedArrowReadContext(
+            RowType rowType, int schemaId, @Nullable Projection projection) {
+        if (projection == null) {
+            int[] selectedFields = IntStream.range(0, rowType.getFieldCount()).toArray();
+            return createArrowReadContext(rowType, schemaId, selectedFields, false);
+        }
+        return createArrowReadContext(
+                projection.projectInOrder(rowType),
+                schemaId,
+                projection.getReorderingIndexes(),
+                true);
+    }
+
     private static LogRecordReadContext createArrowReadContext(
             RowType dataRowType, int schemaId, int[] selectedFields, boolean projectionPushDowned) {
         // TODO: use a more reasonable memory limit
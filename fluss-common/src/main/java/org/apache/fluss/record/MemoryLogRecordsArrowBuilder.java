@@ -25,16 +25,19 @@ import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.row.InternalRow;
 import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.crc.Crc32C;
 
 import java.io.IOException;
 
+import static org.apache.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MASK;
 import static org.apache.fluss.record.DefaultLogRecordBatch.ARROW_CHANGETYPE_OFFSET;
 import static org.apache.fluss.record.DefaultLogRecordBatch.BASE_OFFSET_LENGTH;
 import static org.apache.fluss.record.DefaultLogRecordBatch.CRC_OFFSET;
 import static org.apache.fluss.record.DefaultLogRecordBatch.LENGTH_LENGTH;
 import static org.apache.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.DefaultLogRecordBatch.SCHEMA_ID_OFFSET;
+import static org.apache.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
 import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static org.apache.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
 import static org.apache.fluss.record.LogRecordBatch.NO_WRITER_ID;
@@ -54,6 +57,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private final MemorySegment firstSegment;
     private final AbstractPagedOutputView pagedOutputView;
     private final boolean appendOnly;
+    private final boolean statisticsEnabled;
+    /** The max size of the statistics trailer, 0 if the statistics are disabled. */
+    private final int maxStatisticsSizeInBytes;
 
     private volatile MultiBytesView bytesView = null;
 
@@ -65,6 +71,7 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private boolean reCalculateSizeInBytes = false;
     private boolean resetBatchHeader = false;
     private boolean aborted = false;
+    private boolean hasStatistics = false;
 
     private MemoryLogRecordsArrowBuilder(
             long baseLogOffset,
@@ -72,8 +79,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             byte magic,
             ArrowWriter arrowWriter,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
+            boolean appendOnly,
+            boolean statisticsEnabled) {
         this.appendOnly = appendOnly;
+        this.statisticsEnabled = statisticsEnabled;
         checkArgument(
                 schemaId <= Short.MAX_VALUE,
                 "schemaId shouldn't be greater than the max value of short: " + Short.MAX_VALUE);
@@ -82,6 +91,12 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         this.magic = magic;
         this.arrowWriter = checkNotNull(arrowWriter);
         this.writerEpoch = arrowWriter.getEpoch();
+        // reserve room for the statistics trailer, so that it doesn't exceed the write limit
+        this.maxStatisticsSizeInBytes =
+                statisticsEnabled
+                        ? LogRecordBatchStatistics.maxSerializedSizeInBytes(arrowWriter.getSchema())
+                        : 0;
+        arrowWriter.reserveSizeInBytes(maxStatisticsSizeInBytes);
 
         this.writerId = NO_WRITER_ID;
         this.batchSequence = NO_BATCH_SEQUENCE;
@@ -106,7 +121,13 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView) {
         return new MemoryLogRecordsArrowBuilder(
-                baseLogOffset, schemaId, CURRENT_LOG_MAGIC_VALUE, arrowWriter, outputView, false);
+                baseLogOffset,
+                schemaId,
+                CURRENT_LOG_MAGIC_VALUE,
+                arrowWriter,
+                outputView,
+                false,
+                false);
     }
 
     /** Builder with limited write size and the memory segment used to serialize records. */
@@ -115,13 +136,28 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView,
             boolean appendOnly) {
+        return builder(schemaId, arrowWriter, outputView, appendOnly, false);
+    }
+
+    /**
+     * Builder with limited write size and the memory segment used to serialize records. If {@code
+     * statisticsEnabled} is true, the {@link LogRecordBatchStatistics} of the records are written
+     * at the end of the batch when the batch is built.
+     */
+    public static MemoryLogRecordsArrowBuilder builder(
+            int schemaId,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly,
+            boolean statisticsEnabled) {
         return new MemoryLogRecordsArrowBuilder(
                 BUILDER_DEFAULT_OFFSET,
                 schemaId,
                 CURRENT_LOG_MAGIC_VALUE,
                 arrowWriter,
                 outputView,
-                appendOnly);
+                appendOnly,
+                statisticsEnabled);
     }
 
     public MultiBytesView build() throws IOException {
@@ -141,6 +177,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         arrowWriter.serializeToOutputView(
                 pagedOutputView, ARROW_CHANGETYPE_OFFSET + changeTypeWriter.sizeInBytes());
         recordCount = arrowWriter.getRecordsCount();
+        if (statisticsEnabled && recordCount > 0) {
+            writeStatistics();
+        }
         bytesView =
                 MultiBytesView.builder()
                         .addMemorySegmentByteViewList(pagedOutputView.getWrittenSegments())
@@ -235,11 +274,13 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         }
 
         if (reCalculateSizeInBytes) {
-            // make size in bytes up-to-date
+            // make size in bytes up-to-date, the statistics trailer is only written for a
+            // non-empty batch and its max size is used as the estimation
             estimatedSizeInBytes =
                     ARROW_CHANGETYPE_OFFSET
                             + changeTypeWriter.sizeInBytes()
-                            + arrowWriter.estimatedSizeInBytes();
+                            + arrowWriter.estimatedSizeInBytes()
+                            + (arrowWriter.getRecordsCount() > 0 ? maxStatisticsSizeInBytes : 0);
         }
 
         reCalculateSizeInBytes = false;
@@ -247,6 +288,17 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     }
 
     // ----------------------- internal methods -------------------------------
+    private void writeStatistics() throws IOException {
+        // the statistics are collected from the arrow vectors before the writer is recycled,
+        // and appended after the arrow data
+        RowType rowType = arrowWriter.getSchema();
+        LogRecordBatchStatistics statistics =
+                LogRecordBatchStatistics.collect(
+                        rowType, arrowWriter.createColumnVectors(), recordCount);
+        pagedOutputView.write(statistics.serialize(rowType));
+        hasStatistics = true;
+    }
+
     private void writeBatchHeader() throws IOException {
         // pagedOutputView doesn't support seek to previous segment,
         // so we create a new output view on the first segment
@@ -263,8 +315,15 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeUnsignedInt(0);
         // write schema id
         outputView.writeShort((short) schemaId);
-        // write attributes (currently only appendOnly flag)
-        outputView.writeBoolean(appendOnly);
+        // write attributes
+        byte attributes = 0;
+        if (appendOnly) {
+            attributes |= APPEND_ONLY_FLAG_MASK;
+        }
+        if (hasStatistics) {
+            attributes |= STATISTICS_FLAG_MASK;
+        }
+        outputView.writeByte(attributes);
         // write lastOffsetDelta
         if (recordCount > 0) {
             outputView.writeInt(recordCount - 1);
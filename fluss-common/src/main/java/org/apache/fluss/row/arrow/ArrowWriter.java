@@ -24,6 +24,7 @@ import org.apache.fluss.compression.ArrowCompressionRatioEstimator;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.row.InternalRow;
 import org.apache.fluss.row.arrow.writers.ArrowFieldWriter;
+import org.apache.fluss.row.columnar.ColumnVector;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.BaseVariableWidthVector;
@@ -94,6 +95,9 @@ public class ArrowWriter implements AutoCloseable {
 
     private int writeLimitInBytes;
 
+    /** The size in bytes reserved in the write limit for the data appended after the Arrow data. */
+    private int reservedSizeInBytes;
+
     private int estimatedMaxRecordsCount;
     private int recordsCount;
 
@@ -143,12 +147,20 @@ public class ArrowWriter implements AutoCloseable {
         return writeLimitInBytes;
     }
 
+    /**
+     * Reserves the given size in bytes in the write limit, e.g., for a trailer appended after the
+     * Arrow data. The reservation is cleared when the writer is reset.
+     */
+    public void reserveSizeInBytes(int sizeInBytes) {
+        this.reservedSizeInBytes = sizeInBytes;
+    }
+
     public boolean isFull() {
         if (recordsCount > 0 && recordsCount >= estimatedMaxRecordsCount) {
             root.setRowCount(recordsCount);
             int metadataLength = getMetadataLength();
             int estimatedBodyLength = estimatedBytesWritten(getBodyLength());
-            int currentSize = metadataLength + estimatedBodyLength;
+            int currentSize = metadataLength + estimatedBodyLength + reservedSizeInBytes;
             if (currentSize >= writeLimitInBytes) {
                 return true;
             } else {
@@ -156,7 +168,7 @@ public class ArrowWriter implements AutoCloseable {
                 estimatedMaxRecordsCount =
                         (int)
                                 Math.ceil(
-                                        (writeLimitInBytes - metadataLength)
+                                        (writeLimitInBytes - metadataLength - reservedSizeInBytes)
                                                 / (estimatedBodyLength / (recordsCount * 1.0)));
                 return false;
             }
@@ -179,6 +191,7 @@ public class ArrowWriter implements AutoCloseable {
             estimatedMaxRecordsCount = -1;
         }
         writeLimitInBytes = newWriteLimit;
+        reservedSizeInBytes = 0;
         for (int i = 0; i < fieldWriters.length; i++) {
             FieldVector fieldVector = root.getVector(i);
             initFieldVector(fieldVector);
@@ -266,6 +279,19 @@ public class ArrowWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Creates {@link ColumnVector}s to read the rows written so far. The returned vectors are only
+     * valid until the writer is recycled.
+     */
+    public ColumnVector[] createColumnVectors() {
+        root.setRowCount(recordsCount);
+        return ArrowUtils.createArrowColumnVectors(root, schema);
+    }
+
+    public RowType getSchema() {
+        return schema;
+    }
+
     public long getEpoch() {
         return epoch;
     }
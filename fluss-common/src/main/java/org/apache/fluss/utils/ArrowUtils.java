@@ -161,18 +161,25 @@ public class ArrowUtils {
             VectorLoader vectorLoader =
                     new VectorLoader(schemaRoot, ArrowCompressionFactory.INSTANCE);
             vectorLoader.load(batch);
-            List<ColumnVector> columnVectors = new ArrayList<>();
-            List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
-            for (int i = 0; i < fieldVectors.size(); i++) {
-                columnVectors.add(
-                        createArrowColumnVector(fieldVectors.get(i), rowType.getTypeAt(i)));
-            }
-            return new ArrowReader(schemaRoot, columnVectors.toArray(new ColumnVector[0]));
+            return new ArrowReader(schemaRoot, createArrowColumnVectors(schemaRoot, rowType));
         } catch (IOException e) {
             throw new RuntimeException("Failed to deserialize ArrowRecordBatch.", e);
         }
     }
 
+    /**
+     * Creates the {@link ColumnVector}s to read the field vectors of the {@link VectorSchemaRoot}.
+     */
+    public static ColumnVector[] createArrowColumnVectors(
+            VectorSchemaRoot schemaRoot, RowType rowType) {
+        List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
+        ColumnVector[] columnVectors = new ColumnVector[fieldVectors.size()];
+        for (int i = 0; i < fieldVectors.size(); i++) {
+            columnVectors[i] = createArrowColumnVector(fieldVectors.get(i), rowType.getTypeAt(i));
+        }
+        return columnVectors;
+    }
+
     /**
      * Serialize metadata of a {@link ArrowRecordBatch} into write channel. This avoids to create an
      * instance of {@link ArrowRecordBatch}.
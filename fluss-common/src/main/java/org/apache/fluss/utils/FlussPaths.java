@@ -70,6 +70,9 @@ public class FlussPaths {
     /** The directory name for storing remote log index files. */
     public static final String REMOTE_LOG_INDEX_LOCAL_CACHE = "remote-log-index-cache";
 
+    /** The directory name for storing remote log segment files served by the tablet server. */
+    public static final String REMOTE_LOG_SEGMENT_LOCAL_CACHE = "remote-log-segment-cache";
+
     /** The directory name for storing remote log files. */
     public static final String REMOTE_LOG_DIR_NAME = "log";
 
@@ -348,6 +351,21 @@ public class FlussPaths {
         return new File(dataDir, REMOTE_LOG_INDEX_LOCAL_CACHE);
     }
 
+    /**
+     * Returns the local directory path for caching the remote log segment files.
+     *
+     * <p>The path contract:
+     *
+     * <pre>
+     * {$data.dir}/remote-log-segment-cache
+     * </pre>
+     *
+     * @param dataDir the local data root directory, i.e. the "data.dir" in the configuration.
+     */
+    public static File remoteLogSegmentCacheDir(File dataDir) {
+        return new File(dataDir, REMOTE_LOG_SEGMENT_LOCAL_CACHE);
+    }
+
     /**
      * Returns the local file for storing the remote log offset index file.
      *
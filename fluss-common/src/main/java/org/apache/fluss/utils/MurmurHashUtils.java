@@ -20,6 +20,9 @@ package org.apache.fluss.utils;
 import org.apache.fluss.memory.MemorySegment;
 import org.apache.fluss.memory.MemoryUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
 
 /* This file is based on source code of Apache Flink Project (https://flink.apache.org/), licensed by the Apache
@@ -50,6 +53,29 @@ public class MurmurHashUtils {
         return hashUnsafeBytes(bytes, BYTE_ARRAY_BASE_OFFSET, bytes.length, DEFAULT_SEED);
     }
 
+    /**
+     * Hash the remaining bytes of the {@link ByteBuffer} without changing its position, the hash
+     * code is the same as {@link #hashBytes(byte[])} of the same bytes.
+     */
+    public static int hashBytes(ByteBuffer buffer) {
+        int offset = buffer.position();
+        int lengthInBytes = buffer.remaining();
+        // the ints are read in native order by the other hash methods
+        boolean reverseBytes = buffer.order() != ByteOrder.nativeOrder();
+        int lengthAligned = lengthInBytes - lengthInBytes % 4;
+        int h1 = DEFAULT_SEED;
+        for (int i = 0; i < lengthAligned; i += 4) {
+            int halfWord = buffer.getInt(offset + i);
+            int k1 = mixK1(reverseBytes ? Integer.reverseBytes(halfWord) : halfWord);
+            h1 = mixH1(h1, k1);
+        }
+        for (int i = lengthAligned; i < lengthInBytes; i++) {
+            int k1 = mixK1(buffer.get(offset + i));
+            h1 = mixH1(h1, k1);
+        }
+        return fmix(h1, lengthInBytes);
+    }
+
     /**
      * Hash unsafe bytes.
      *
@@ -20,6 +20,8 @@ package org.apache.fluss.record;
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CloseableIterator;
 
@@ -33,6 +35,7 @@ import java.io.EOFException;
 import java.io.File;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -218,6 +221,76 @@ class FileLogProjectionTest {
         assertThat(hasFull).isTrue();
     }
 
+    @Test
+    void testProjectWithHeadersReadAhead() throws Exception {
+        // the arrow header and metadata of the narrow schema fit in the initial read ahead size,
+        // so they are served from the read ahead bytes for every batch, including the last one
+        // whose read ahead is truncated by the end of the file
+        List<List<Object[]>> inputs = new ArrayList<>();
+        List<Object[]> expected = new ArrayList<>();
+        int[] projectedFields = new int[] {1};
+        for (int batch = 0; batch < 5; batch++) {
+            List<Object[]> input = batch % 2 == 0 ? TestData.DATA1 : TestData.ANOTHER_DATA1;
+            inputs.add(input);
+            for (Object[] row : input) {
+                expected.add(new Object[] {row[1]});
+            }
+        }
+        @SuppressWarnings("unchecked")
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(TestData.DATA1_ROW_TYPE, inputs.toArray(new List[0]));
+        FileLogProjection projection = new FileLogProjection();
+        // project twice with the same projection to reuse the read ahead buffer across fetches
+        for (int i = 0; i < 2; i++) {
+            List<Object[]> results =
+                    doProjection(
+                            projection,
+                            fileLogRecords,
+                            TestData.DATA1_ROW_TYPE,
+                            projectedFields,
+                            Integer.MAX_VALUE);
+            assertEquals(results, expected);
+        }
+    }
+
+    @Test
+    void testProjectWideSchema() throws Exception {
+        // the arrow metadata of the wide schema exceeds the initial read ahead size of headers
+        int fieldCount = 300;
+        DataType[] types = new DataType[fieldCount];
+        Arrays.fill(types, DataTypes.INT());
+        RowType rowType = RowType.of(types);
+        List<List<Object[]>> inputs = new ArrayList<>();
+        List<Object[]> expected = new ArrayList<>();
+        int[] projectedFields = new int[] {0, 150, 299};
+        for (int batch = 0; batch < 3; batch++) {
+            List<Object[]> input = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Object[] row = new Object[fieldCount];
+                for (int f = 0; f < fieldCount; f++) {
+                    row[f] = batch * 100_000 + i * 1000 + f;
+                }
+                input.add(row);
+                Object[] projected = new Object[projectedFields.length];
+                for (int j = 0; j < projectedFields.length; j++) {
+                    projected[j] = row[projectedFields[j]];
+                }
+                expected.add(projected);
+            }
+            inputs.add(input);
+        }
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(rowType, inputs.get(0), inputs.get(1), inputs.get(2));
+        List<Object[]> results =
+                doProjection(
+                        new FileLogProjection(),
+                        fileLogRecords,
+                        rowType,
+                        projectedFields,
+                        Integer.MAX_VALUE);
+        assertEquals(results, expected);
+    }
+
     @SafeVarargs
     private final FileLogRecords createFileLogRecords(RowType rowType, List<Object[]>... inputs)
             throws Exception {
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.memory.ManagedPagedOutputView;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.compression.ArrowCompressionInfo.NO_COMPRESSION;
+import static org.apache.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.LogRecordReadContext.createArrowReadContext;
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LogRecordBatchStatistics} and {@link LogRecordBatchFilter}. */
+class LogRecordBatchStatisticsTest {
+
+    private @TempDir File tempDir;
+
+    private BufferAllocator allocator;
+    private ArrowWriterPool provider;
+
+    @BeforeEach
+    void setup() {
+        this.allocator = new RootAllocator(Long.MAX_VALUE);
+        this.provider = new ArrowWriterPool(allocator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+        allocator.close();
+    }
+
+    @Test
+    void testStatisticsRoundTrip() throws Exception {
+        List<Object[]> data = new ArrayList<>(DATA1);
+        data.add(new Object[] {null, "z"});
+        MemoryLogRecords records = createRecords(0L, data, true);
+        records.ensureValid();
+
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) records.batches().iterator().next();
+        assertThat(batch.hasStatistics()).isTrue();
+        LogRecordBatchStatistics statistics = batch.statistics(DATA1_ROW_TYPE);
+        assertThat(statistics).isNotNull();
+        assertThat(statistics.rowCount()).isEqualTo(data.size());
+        assertThat(statistics.nullCounts()).containsExactly(1L, 0L);
+        assertThat(statistics.minValues().getInt(0)).isEqualTo(1);
+        assertThat(statistics.maxValues().getInt(0)).isEqualTo(10);
+        assertThat(statistics.minValues().getString(1)).isEqualTo(BinaryString.fromString("a"));
+        assertThat(statistics.maxValues().getString(1)).isEqualTo(BinaryString.fromString("z"));
+
+        PredicateBuilder builder = new PredicateBuilder(DATA1_ROW_TYPE);
+        assertThat(statistics.test(builder.greaterThan(0, 5))).isTrue();
+        assertThat(statistics.test(builder.greaterThan(0, 10))).isFalse();
+        assertThat(statistics.test(builder.equal(1, BinaryString.fromString("0")))).isFalse();
+        assertThat(statistics.test(builder.isNull(0))).isTrue();
+        assertThat(statistics.test(builder.isNull(1))).isFalse();
+
+        // the statistics trailer must not break reading the records of the batch
+        assertThat(readRecords(records)).containsExactlyElementsOf(toRows(data));
+    }
+
+    @Test
+    void testNoStatisticsByDefault() throws Exception {
+        MemoryLogRecords records = createRecords(0L, DATA1, false);
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) records.batches().iterator().next();
+        assertThat(batch.hasStatistics()).isFalse();
+        assertThat(batch.statistics(DATA1_ROW_TYPE)).isNull();
+        assertThat(readRecords(records)).containsExactlyElementsOf(toRows(DATA1));
+    }
+
+    @Test
+    void testStatisticsIncludedInSizeEstimation() throws Exception {
+        // version + field count + null counts + the lengths and the max min/max values of
+        // INT and STRING (null bits + var length list + INT + the longest collected STRING)
+        int maxStatisticsSize = 1 + 2 + 2 * 4 + 2 * (4 + 1 + 4 + 4 + 64) + 4;
+        assertThat(LogRecordBatchStatistics.maxSerializedSizeInBytes(DATA1_ROW_TYPE))
+                .isEqualTo(maxStatisticsSize);
+
+        MemoryLogRecordsArrowBuilder builder = createFullBuilder(false);
+        int writeLimit = builder.getWriteLimitInBytes();
+        builder.close();
+        LogRecordBatch batchWithoutStatistics =
+                MemoryLogRecords.pointToBytesView(builder.build()).batches().iterator().next();
+
+        builder = createFullBuilder(true);
+        int estimatedSize = builder.estimatedSizeInBytes();
+        assertThat(estimatedSize - RECORD_BATCH_HEADER_SIZE).isGreaterThanOrEqualTo(writeLimit);
+        builder.close();
+        MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) records.batches().iterator().next();
+        assertThat(batch.hasStatistics()).isTrue();
+        // the estimation is accurate without compression, including the statistics trailer
+        assertThat(records.sizeInBytes()).isEqualTo(estimatedSize);
+        // the room of the statistics is reserved in the write limit, so less rows fit in
+        assertThat(batch.getRecordCount()).isLessThan(batchWithoutStatistics.getRecordCount());
+    }
+
+    @Test
+    void testFilterSkipsBatches() throws Exception {
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        // batch 1: a in [1, 3], batch 2: a in [4, 6], batch 3: a in [7, 10]
+        fileLogRecords.append(createRecords(0L, DATA1.subList(0, 3), true));
+        fileLogRecords.append(createRecords(3L, DATA1.subList(3, 6), true));
+        fileLogRecords.append(createRecords(6L, DATA1.subList(6, 10), true));
+        fileLogRecords.flush();
+
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        PredicateBuilder builder = new PredicateBuilder(DATA1_ROW_TYPE);
+
+        // skip the first two batches, they are replaced by a single empty batch
+        filter.setCurrentFilter(DATA1_ROW_TYPE, builder.greaterThan(0, 6));
+        List<LogRecordBatch> batches = filterBatches(filter, fileLogRecords, Integer.MAX_VALUE);
+        assertThat(batches).hasSize(2);
+        assertEmptyBatch(batches.get(0), 0L, 5L);
+        assertThat(batches.get(1).baseLogOffset()).isEqualTo(6L);
+        assertThat(batches.get(1).getRecordCount()).isEqualTo(4);
+
+        // skip the middle batch
+        filter.setCurrentFilter(
+                DATA1_ROW_TYPE,
+                PredicateBuilder.or(builder.lessThan(0, 2), builder.greaterThan(0, 8)));
+        batches = filterBatches(filter, fileLogRecords, Integer.MAX_VALUE);
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(0L);
+        assertEmptyBatch(batches.get(1), 3L, 5L);
+        assertThat(batches.get(2).baseLogOffset()).isEqualTo(6L);
+
+        // skip all the batches, the fetch offset still advances to the end
+        filter.setCurrentFilter(DATA1_ROW_TYPE, builder.greaterThan(0, 100));
+        batches = filterBatches(filter, fileLogRecords, Integer.MAX_VALUE);
+        assertThat(batches).hasSize(1);
+        assertEmptyBatch(batches.get(0), 0L, 9L);
+
+        // nothing is skipped
+        filter.setCurrentFilter(DATA1_ROW_TYPE, builder.greaterThan(0, 0));
+        batches = filterBatches(filter, fileLogRecords, Integer.MAX_VALUE);
+        assertThat(batches).hasSize(3);
+        for (LogRecordBatch batch : batches) {
+            assertThat(batch.getRecordCount()).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    void testFilterRespectsMaxBytes() throws Exception {
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        MemoryLogRecords first = createRecords(0L, DATA1.subList(0, 5), true);
+        MemoryLogRecords second = createRecords(5L, DATA1.subList(5, 10), true);
+        fileLogRecords.append(first);
+        fileLogRecords.append(second);
+        fileLogRecords.flush();
+
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        PredicateBuilder builder = new PredicateBuilder(DATA1_ROW_TYPE);
+        filter.setCurrentFilter(DATA1_ROW_TYPE, builder.greaterThan(0, 5));
+
+        // the matched batch doesn't fit, only the header of the skipped batch is returned
+        List<LogRecordBatch> batches =
+                filterBatches(filter, fileLogRecords, second.sizeInBytes() - 1);
+        assertThat(batches).hasSize(1);
+        assertEmptyBatch(batches.get(0), 0L, 4L);
+    }
+
+    @Test
+    void testProjectionWithFilter() throws Exception {
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        fileLogRecords.append(createRecords(0L, DATA1.subList(0, 5), true));
+        fileLogRecords.append(createRecords(5L, DATA1.subList(5, 10), true));
+        fileLogRecords.flush();
+
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        Predicate predicate = new PredicateBuilder(DATA1_ROW_TYPE).lessOrEqual(0, 5);
+        filter.setCurrentFilter(DATA1_ROW_TYPE, predicate);
+        FileLogProjection projection = new FileLogProjection();
+        projection.setCurrentProjection(1L, DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0});
+
+        LogRecords projected =
+                projection.project(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE,
+                        filter);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        projected.batches().forEach(batches::add);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(0L);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(5);
+        // the statistics are dropped by the projection
+        assertThat(((DefaultLogRecordBatch) batches.get(0)).hasStatistics()).isFalse();
+        assertEmptyBatch(batches.get(1), 5L, 9L);
+
+        List<Integer> values = new ArrayList<>();
+        try (LogRecordReadContext context =
+                        createArrowReadContext(
+                                DATA1_ROW_TYPE.project(new int[] {0}), DEFAULT_SCHEMA_ID);
+                CloseableIterator<LogRecord> iterator = batches.get(0).records(context)) {
+            while (iterator.hasNext()) {
+                values.add(iterator.next().getRow().getInt(0));
+            }
+        }
+        assertThat(values).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    private MemoryLogRecords createRecords(
+            long baseLogOffset, List<Object[]> data, boolean statisticsEnabled) throws Exception {
+        ArrowWriter writer =
+                provider.getOrCreateWriter(
+                        1L,
+                        DEFAULT_SCHEMA_ID,
+                        Integer.MAX_VALUE,
+                        DATA1_ROW_TYPE,
+                        DEFAULT_COMPRESSION);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        writer,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)),
+                        true,
+                        statisticsEnabled);
+        for (Object[] objects : data) {
+            builder.append(ChangeType.APPEND_ONLY, row(objects));
+        }
+        builder.close();
+        MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+        ((DefaultLogRecordBatch) records.batches().iterator().next())
+                .setBaseLogOffset(baseLogOffset);
+        return records;
+    }
+
+    private MemoryLogRecordsArrowBuilder createFullBuilder(boolean statisticsEnabled)
+            throws Exception {
+        ArrowWriter writer =
+                provider.getOrCreateWriter(
+                        1L, DEFAULT_SCHEMA_ID, 1024, DATA1_ROW_TYPE, NO_COMPRESSION);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        writer,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)),
+                        true,
+                        statisticsEnabled);
+        // the longest collected strings make the statistics reach the max size
+        char[] chars = new char[LogRecordBatchStatistics.MAX_STRING_STATISTICS_LENGTH];
+        Arrays.fill(chars, 'a');
+        String value = new String(chars);
+        int rowCount = 0;
+        while (!builder.isFull()) {
+            builder.append(ChangeType.APPEND_ONLY, row(rowCount++, value));
+        }
+        return builder;
+    }
+
+    private static List<LogRecordBatch> filterBatches(
+            LogRecordBatchFilter filter, FileLogRecords fileLogRecords, int maxBytes)
+            throws Exception {
+        LogRecords filtered =
+                filter.filter(fileLogRecords.channel(), 0, fileLogRecords.sizeInBytes(), maxBytes);
+        assertThat(filtered.sizeInBytes()).isLessThanOrEqualTo(maxBytes);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        for (LogRecordBatch batch : filtered.batches()) {
+            batch.ensureValid();
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void assertEmptyBatch(
+            LogRecordBatch batch, long baseLogOffset, long lastLogOffset) {
+        assertThat(batch.getRecordCount()).isEqualTo(0);
+        assertThat(batch.baseLogOffset()).isEqualTo(baseLogOffset);
+        assertThat(batch.lastLogOffset()).isEqualTo(lastLogOffset);
+        assertThat(batch.nextLogOffset()).isEqualTo(lastLogOffset + 1);
+    }
+
+    private static List<List<Object>> readRecords(LogRecords records) throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        try (LogRecordReadContext context =
+                createArrowReadContext(DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID)) {
+            for (LogRecordBatch batch : records.batches()) {
+                try (CloseableIterator<LogRecord> iterator = batch.records(context)) {
+                    while (iterator.hasNext()) {
+                        LogRecord record = iterator.next();
+                        Integer a = record.getRow().isNullAt(0) ? null : record.getRow().getInt(0);
+                        rows.add(Arrays.asList(a, record.getRow().getString(1).toString()));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> toRows(List<Object[]> data) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (Object[] objects : data) {
+            rows.add(Arrays.asList(objects));
+        }
+        return rows;
+    }
+}
@@ -36,11 +36,13 @@ import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.KvRecordTestUtils;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.MemoryLogRecordsArrowBuilder;
 import org.apache.fluss.record.MemoryLogRecordsIndexedBuilder;
+import org.apache.fluss.record.TestData;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.row.BinaryString;
 import org.apache.fluss.row.GenericRow;
@@ -210,6 +212,40 @@ public class DataTestUtils {
                 LogFormat.ARROW);
     }
 
+    /**
+     * Generates an Arrow batch of {@link TestData#DATA1_ROW_TYPE} carrying the column statistics of
+     * its records, so that it can be skipped by a {@link LogRecordBatchFilter}.
+     */
+    public static MemoryLogRecords genArrowLogRecordsWithStatistics(
+            long offsetBase, List<Object[]> objects) throws Exception {
+        try (BufferAllocator allocator = new RootAllocator(Integer.MAX_VALUE);
+                ArrowWriterPool provider = new ArrowWriterPool(allocator)) {
+            ArrowWriter writer =
+                    provider.getOrCreateWriter(
+                            1L,
+                            DEFAULT_SCHEMA_ID,
+                            Integer.MAX_VALUE,
+                            DATA1_ROW_TYPE,
+                            DEFAULT_COMPRESSION);
+            MemoryLogRecordsArrowBuilder builder =
+                    MemoryLogRecordsArrowBuilder.builder(
+                            DEFAULT_SCHEMA_ID,
+                            writer,
+                            new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)),
+                            true,
+                            true);
+            for (Object[] object : objects) {
+                builder.append(ChangeType.APPEND_ONLY, row(object));
+            }
+            builder.close();
+            MemoryLogRecords memoryLogRecords = MemoryLogRecords.pointToBytesView(builder.build());
+            ((DefaultLogRecordBatch) memoryLogRecords.batches().iterator().next())
+                    .setBaseLogOffset(offsetBase);
+            memoryLogRecords.ensureValid();
+            return memoryLogRecords;
+        }
+    }
+
     public static KvRecordBatch genKvRecordBatch(List<Tuple2<Object[], Object[]>> keyAndValues)
             throws Exception {
         return genKvRecordBatch(DATA1_KEY_TYPE, DATA1_ROW_TYPE, keyAndValues);
@@ -34,6 +34,7 @@ import org.apache.fluss.flink.utils.PushdownUtils.FieldEqual;
 import org.apache.fluss.lake.source.LakeSource;
 import org.apache.fluss.lake.source.LakeSplit;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.types.RowType;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
@@ -74,6 +75,9 @@ public class FlinkSource<OUT>
 
     private final @Nullable LakeSource<LakeSplit> lakeSource;
 
+    // the filter pushed down to the server to skip the log batches which can't match
+    private final @Nullable Predicate logFilter;
+
     public FlinkSource(
             Configuration flussConf,
             TablePath tablePath,
@@ -114,6 +118,36 @@ public class FlinkSource<OUT>
             boolean streaming,
             List<FieldEqual> partitionFilters,
             LakeSource<LakeSplit> lakeSource) {
+        this(
+                flussConf,
+                tablePath,
+                hasPrimaryKey,
+                isPartitioned,
+                sourceOutputType,
+                projectedFields,
+                offsetsInitializer,
+                scanPartitionDiscoveryIntervalMs,
+                deserializationSchema,
+                streaming,
+                partitionFilters,
+                lakeSource,
+                null);
+    }
+
+    public FlinkSource(
+            Configuration flussConf,
+            TablePath tablePath,
+            boolean hasPrimaryKey,
+            boolean isPartitioned,
+            RowType sourceOutputType,
+            @Nullable int[] projectedFields,
+            OffsetsInitializer offsetsInitializer,
+            long scanPartitionDiscoveryIntervalMs,
+            FlussDeserializationSchema<OUT> deserializationSchema,
+            boolean streaming,
+            List<FieldEqual> partitionFilters,
+            @Nullable LakeSource<LakeSplit> lakeSource,
+            @Nullable Predicate logFilter) {
         this.flussConf = flussConf;
         this.tablePath = tablePath;
         this.hasPrimaryKey = hasPrimaryKey;
@@ -126,6 +160,7 @@ public class FlinkSource<OUT>
         this.streaming = streaming;
         this.partitionFilters = checkNotNull(partitionFilters);
         this.lakeSource = lakeSource;
+        this.logFilter = logFilter;
     }
 
     @Override
@@ -201,6 +236,7 @@ public class FlinkSource<OUT>
                 sourceOutputType,
                 context,
                 projectedFields,
+                logFilter,
                 flinkSourceReaderMetrics,
                 recordEmitter,
                 lakeSource);
@@ -90,6 +90,7 @@ import static org.apache.fluss.flink.utils.LakeSourceUtils.createLakeSource;
 import static org.apache.fluss.flink.utils.PushdownUtils.ValueConversion.FLINK_INTERNAL_VALUE;
 import static org.apache.fluss.flink.utils.PushdownUtils.ValueConversion.FLUSS_INTERNAL_VALUE;
 import static org.apache.fluss.flink.utils.PushdownUtils.extractFieldEquals;
+import static org.apache.fluss.flink.utils.PushdownUtils.extractLogFilter;
 import static org.apache.fluss.metadata.TableDescriptor.TIMESTAMP_COLUMN_NAME;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.apache.fluss.utils.Preconditions.checkState;
@@ -146,6 +147,9 @@ public class FlinkTableSource
 
     private List<FieldEqual> partitionFilters = Collections.emptyList();
 
+    // the filter pushed down to the server to skip the log batches, only for log tables
+    @Nullable private Predicate logFilter;
+
     private final Map<String, String> tableOptions;
 
     @Nullable private LakeSource<LakeSplit> lakeSource;
@@ -311,7 +315,8 @@ public class FlinkTableSource
                         new RowDataDeserializationSchema(),
                         streaming,
                         partitionFilters,
-                        enableLakeSource ? lakeSource : null);
+                        enableLakeSource ? lakeSource : null,
+                        logFilter);
 
         if (!streaming) {
             // return a bounded source provide to make planner happy,
@@ -437,6 +442,7 @@ public class FlinkTableSource
         source.singleRowFilter = singleRowFilter;
         source.modificationScanType = modificationScanType;
         source.partitionFilters = partitionFilters;
+        source.logFilter = logFilter;
         source.lakeSource = lakeSource;
         return source;
     }
@@ -508,6 +514,10 @@ public class FlinkTableSource
 
             // partitions are filtered by string representations, convert the equals to string first
             partitionFilters = stringifyFieldEquals(fieldEquals);
+            if (!hasPrimaryKey()) {
+                // the filters are still evaluated by Flink, as the log filter is only a hint
+                logFilter = extractLogFilter(remainingFilters, tableOutputType);
+            }
 
             // lake source is not null
             if (lakeSource != null) {
@@ -540,6 +550,10 @@ public class FlinkTableSource
             }
             return Result.of(acceptedFilters, remainingFilters);
         } else {
+            if (!hasPrimaryKey()) {
+                // the filters are still evaluated by Flink, as the log filter is only a hint
+                logFilter = extractLogFilter(filters, tableOutputType);
+            }
             return Result.of(Collections.emptyList(), filters);
         }
     }
@@ -33,6 +33,7 @@ import org.apache.fluss.lake.source.LakeSource;
 import org.apache.fluss.lake.source.LakeSplit;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.types.RowType;
 
 import org.apache.flink.api.connector.source.SourceEvent;
@@ -58,6 +59,7 @@ public class FlinkSourceReader<OUT>
             RowType sourceOutputType,
             SourceReaderContext context,
             @Nullable int[] projectedFields,
+            @Nullable Predicate logFilter,
             FlinkSourceReaderMetrics flinkSourceReaderMetrics,
             FlinkRecordEmitter<OUT> recordEmitter,
             LakeSource<LakeSplit> lakeSource) {
@@ -71,6 +73,7 @@ public class FlinkSourceReader<OUT>
                                         tablePath,
                                         sourceOutputType,
                                         projectedFields,
+                                        logFilter,
                                         flinkSourceReaderMetrics,
                                         lakeSource),
                         (ignore) -> {}),
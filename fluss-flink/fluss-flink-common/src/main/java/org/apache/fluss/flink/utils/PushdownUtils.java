@@ -37,6 +37,8 @@ import org.apache.fluss.metadata.PartitionInfo;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.row.BinaryString;
 import org.apache.fluss.row.Decimal;
 import org.apache.fluss.row.GenericRow;
@@ -55,9 +57,11 @@ import org.apache.flink.table.expressions.FieldReferenceExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.expressions.ValueLiteralExpression;
 import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
 import org.apache.flink.table.functions.LookupFunction;
 import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 
 import javax.annotation.Nullable;
@@ -168,6 +172,150 @@ public class PushdownUtils {
         return null;
     }
 
+    /**
+     * Extracts the filter of log scans from the expressions, which is pushed down to the server to
+     * skip the log record batches which can't match. The expressions which can't be converted are
+     * ignored, so the returned filter may be weaker than the expressions, and the expressions
+     * should still be evaluated by Flink.
+     *
+     * @return the filter, or null if none of the expressions can be converted.
+     */
+    @Nullable
+    public static Predicate extractLogFilter(
+            List<ResolvedExpression> expressions, RowType tableRowType) {
+        PredicateBuilder predicateBuilder =
+                new PredicateBuilder(FlinkConversions.toFlussRowType(tableRowType));
+        List<Predicate> predicates = new ArrayList<>();
+        for (ResolvedExpression expr : expressions) {
+            Predicate predicate = toLogFilter(expr, tableRowType, predicateBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        return predicates.isEmpty() ? null : PredicateBuilder.and(predicates);
+    }
+
+    @Nullable
+    private static Predicate toLogFilter(
+            ResolvedExpression expr, RowType tableRowType, PredicateBuilder predicateBuilder) {
+        if (!(expr instanceof CallExpression)) {
+            return null;
+        }
+        FunctionDefinition function = ((CallExpression) expr).getFunctionDefinition();
+        List<ResolvedExpression> children = expr.getResolvedChildren();
+        if (function == BuiltInFunctionDefinitions.AND) {
+            // ignoring the children which can't be converted only makes the filter weaker
+            List<Predicate> predicates = new ArrayList<>();
+            for (ResolvedExpression child : children) {
+                Predicate predicate = toLogFilter(child, tableRowType, predicateBuilder);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+            return predicates.isEmpty() ? null : PredicateBuilder.and(predicates);
+        } else if (function == BuiltInFunctionDefinitions.OR) {
+            List<Predicate> predicates = new ArrayList<>();
+            for (ResolvedExpression child : children) {
+                Predicate predicate = toLogFilter(child, tableRowType, predicateBuilder);
+                if (predicate == null) {
+                    return null;
+                }
+                predicates.add(predicate);
+            }
+            return PredicateBuilder.or(predicates);
+        } else if (function == BuiltInFunctionDefinitions.IS_NULL
+                || function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+            if (children.size() != 1 || !(children.get(0) instanceof FieldReferenceExpression)) {
+                return null;
+            }
+            int fieldIndex = ((FieldReferenceExpression) children.get(0)).getFieldIndex();
+            return function == BuiltInFunctionDefinitions.IS_NULL
+                    ? predicateBuilder.isNull(fieldIndex)
+                    : predicateBuilder.isNotNull(fieldIndex);
+        } else if (children.size() == 2) {
+            final FieldReferenceExpression fieldRef;
+            final ValueLiteralExpression valueLiteral;
+            // whether the literal is on the left side, e.g., 10 < a
+            final boolean reversed;
+            if (children.get(0) instanceof FieldReferenceExpression
+                    && children.get(1) instanceof ValueLiteralExpression) {
+                fieldRef = (FieldReferenceExpression) children.get(0);
+                valueLiteral = (ValueLiteralExpression) children.get(1);
+                reversed = false;
+            } else if (children.get(0) instanceof ValueLiteralExpression
+                    && children.get(1) instanceof FieldReferenceExpression) {
+                fieldRef = (FieldReferenceExpression) children.get(1);
+                valueLiteral = (ValueLiteralExpression) children.get(0);
+                reversed = true;
+            } else {
+                return null;
+            }
+
+            int fieldIndex = fieldRef.getFieldIndex();
+            Object literal = toLogFilterLiteral(valueLiteral, tableRowType.getTypeAt(fieldIndex));
+            if (literal == null) {
+                return null;
+            }
+            if (function == BuiltInFunctionDefinitions.EQUALS) {
+                return predicateBuilder.equal(fieldIndex, literal);
+            } else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+                return predicateBuilder.notEqual(fieldIndex, literal);
+            } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+                return reversed
+                        ? predicateBuilder.lessThan(fieldIndex, literal)
+                        : predicateBuilder.greaterThan(fieldIndex, literal);
+            } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+                return reversed
+                        ? predicateBuilder.lessOrEqual(fieldIndex, literal)
+                        : predicateBuilder.greaterOrEqual(fieldIndex, literal);
+            } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+                return reversed
+                        ? predicateBuilder.greaterThan(fieldIndex, literal)
+                        : predicateBuilder.lessThan(fieldIndex, literal);
+            } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+                return reversed
+                        ? predicateBuilder.greaterOrEqual(fieldIndex, literal)
+                        : predicateBuilder.lessOrEqual(fieldIndex, literal);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the literal to the Fluss internal value of the given field type. Returns null if the
+     * field type is not supported by the log record batch statistics, or the literal can't be
+     * converted without losing precision, as the literal is encoded with the field type.
+     */
+    @Nullable
+    private static Object toLogFilterLiteral(
+            ValueLiteralExpression valueLiteral, LogicalType fieldType) {
+        LogicalType literalType = valueLiteral.getOutputDataType().getLogicalType();
+        if (valueLiteral.isNull()) {
+            return null;
+        }
+        switch (fieldType.getTypeRoot()) {
+            case VARCHAR:
+                if (literalType.getTypeRoot() != LogicalTypeRoot.CHAR
+                        && literalType.getTypeRoot() != LogicalTypeRoot.VARCHAR) {
+                    return null;
+                }
+                break;
+            case INTEGER:
+            case BIGINT:
+            case DOUBLE:
+            case DECIMAL:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                // the precision and scale of decimals and timestamps must match too
+                if (!literalType.copy(true).equals(fieldType.copy(true))) {
+                    return null;
+                }
+                break;
+            default:
+                return null;
+        }
+        return toFlussInternalValue(valueLiteral);
+    }
+
     @Nullable
     private static Object toFlussInternalValue(ValueLiteralExpression valueExp) {
         LogicalType type = valueExp.getOutputDataType().getLogicalType();
@@ -258,6 +258,27 @@ abstract class FlinkTableSourceITCase extends AbstractTestBase {
         assertQueryResultExactOrder(tEnv, query, expected);
     }
 
+    @Test
+    void testAppendTableFilterPushDown() throws Exception {
+        String tableName = "append_table_filter_push_down";
+        tEnv.executeSql(
+                String.format(
+                        "create table %s (a int, b varchar, c bigint) with"
+                                + " ('connector' = 'fluss', 'bucket.num' = '1',"
+                                + " 'table.log.arrow.statistics.enabled' = 'true')",
+                        tableName));
+        TablePath tablePath = TablePath.of(DEFAULT_DB, tableName);
+        // write each row in a separate batch, so that the batches can be skipped by the filter
+        for (int i = 1; i <= 10; i++) {
+            writeRows(conn, tablePath, Collections.singletonList(row(i, "v" + i, i * 100L)), true);
+        }
+
+        // the filter is only a hint to the server, so it is still evaluated by flink
+        String query = "select a, b from " + tableName + " where c > 700 or b = 'v1'";
+        List<String> expected = Arrays.asList("+I[1, v1]", "+I[8, v8]", "+I[9, v9]", "+I[10, v10]");
+        assertQueryResultExactOrder(tEnv, query, expected);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"PK_SNAPSHOT", "PK_LOG", "LOG"})
     void testTableProjectPushDown(String mode) throws Exception {
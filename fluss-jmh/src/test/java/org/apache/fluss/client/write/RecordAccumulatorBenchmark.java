@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.client.metrics.WriterMetricGroup;
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.cluster.Cluster;
+import org.apache.fluss.cluster.ServerNode;
+import org.apache.fluss.cluster.ServerType;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.metrics.registry.NOPMetricRegistry;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.utils.clock.SystemClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for appending records to the {@link RecordAccumulator} from multiple writer threads,
+ * while a sender thread keeps checking and draining the ready batches, which is how the accumulator
+ * is used by the writer client.
+ *
+ * <p>The number of writer threads is set by {@link Threads} (or {@code -t} of the JMH command
+ * line), and the records are appended to random buckets of the {@code buckets} param, so the
+ * scaling of the throughput shows the contention of the appends to the same bucket and with the
+ * sender. {@link #main(String[])} runs the benchmark with 1, 4 and 8 writer threads.
+ *
+ * <p>The benchmark lives in the package of the accumulator, as the accumulator is created by the
+ * writer client only.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+@Threads(4)
+public class RecordAccumulatorBenchmark {
+
+    private static final TablePath TABLE_PATH = TablePath.of("jmh", "accumulator");
+    private static final PhysicalTablePath PHYSICAL_TABLE_PATH = PhysicalTablePath.of(TABLE_PATH);
+    private static final long TABLE_ID = 1L;
+    private static final ServerNode NODE =
+            new ServerNode(1, "localhost", 90, ServerType.TABLET_SERVER);
+
+    @Param({"1", "8", "64"})
+    private int buckets;
+
+    private Configuration conf;
+    private Cluster cluster;
+    private RecordAccumulator accumulator;
+    private WriteRecord record;
+
+    private volatile boolean running;
+    private Thread sender;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        conf = new Configuration();
+        conf.set(ConfigOptions.CLIENT_WRITER_BUFFER_MEMORY_SIZE, MemorySize.parse("256mb"));
+        int maxInflightRequests =
+                conf.getInt(ConfigOptions.CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_BUCKET);
+        accumulator =
+                new RecordAccumulator(
+                        conf,
+                        new IdempotenceManager(false, maxInflightRequests, null),
+                        new WriterMetricGroup(
+                                new ClientMetricGroup(NOPMetricRegistry.INSTANCE, "jmh")),
+                        SystemClock.getInstance());
+        cluster = createCluster(buckets);
+        record =
+                WriteRecord.forArrowAppend(
+                        PHYSICAL_TABLE_PATH,
+                        GenericRow.of(1, BinaryString.fromString("a 32 bytes payload of a record")),
+                        null);
+
+        running = true;
+        sender = new Thread(this::runSender, "jmh-accumulator-sender");
+        sender.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        running = false;
+        sender.join();
+        accumulator.close();
+    }
+
+    @Benchmark
+    public void append() throws Exception {
+        int bucket = ThreadLocalRandom.current().nextInt(buckets);
+        RecordAccumulator.RecordAppendResult result =
+                accumulator.append(record, exception -> {}, cluster, bucket, true);
+        if (result.abortRecordForNewBatch) {
+            accumulator.append(record, exception -> {}, cluster, bucket, false);
+        }
+    }
+
+    /** Drains the ready batches and releases their memory, like the sender of the writer. */
+    private void runSender() {
+        try {
+            while (running) {
+                RecordAccumulator.ReadyCheckResult ready = accumulator.ready(cluster);
+                Map<Integer, List<ReadyWriteBatch>> drained =
+                        accumulator.drain(cluster, ready.readyNodes, Integer.MAX_VALUE);
+                for (List<ReadyWriteBatch> batches : drained.values()) {
+                    for (ReadyWriteBatch batch : batches) {
+                        accumulator.deallocate(batch.writeBatch());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Cluster createCluster(int buckets) {
+        List<BucketLocation> bucketLocations = new ArrayList<>();
+        for (int b = 0; b < buckets; b++) {
+            bucketLocations.add(
+                    new BucketLocation(
+                            PHYSICAL_TABLE_PATH, TABLE_ID, b, NODE.id(), new int[] {NODE.id()}));
+        }
+        TableInfo tableInfo =
+                TableInfo.of(
+                        TABLE_PATH,
+                        TABLE_ID,
+                        1,
+                        TableDescriptor.builder()
+                                .schema(
+                                        Schema.newBuilder()
+                                                .column("id", DataTypes.INT())
+                                                .column("payload", DataTypes.STRING())
+                                                .build())
+                                .distributedBy(buckets)
+                                .build(),
+                        System.currentTimeMillis(),
+                        System.currentTimeMillis());
+        return new Cluster(
+                Collections.singletonMap(NODE.id(), NODE),
+                new ServerNode(0, "localhost", 89, ServerType.COORDINATOR),
+                Collections.singletonMap(PHYSICAL_TABLE_PATH, bucketLocations),
+                Collections.singletonMap(TABLE_PATH, TABLE_ID),
+                Collections.emptyMap(),
+                Collections.singletonMap(TABLE_PATH, tableInfo));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 8}) {
+            Options opt =
+                    new OptionsBuilder()
+                            .verbosity(VerboseMode.NORMAL)
+                            .include(".*" + RecordAccumulatorBenchmark.class.getSimpleName() + ".*")
+                            .threads(threads)
+                            .build();
+
+            new Runner(opt).run();
+        }
+    }
+}
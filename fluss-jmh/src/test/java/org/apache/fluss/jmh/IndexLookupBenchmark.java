@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.record.TimestampAndOffset;
+import org.apache.fluss.server.log.AbstractIndex;
+import org.apache.fluss.server.log.LogSegment;
+import org.apache.fluss.server.log.OffsetIndex;
+import org.apache.fluss.server.log.OffsetPosition;
+import org.apache.fluss.server.log.TimeIndex;
+import org.apache.fluss.server.log.TimestampOffset;
+import org.apache.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+
+/**
+ * Benchmark for the lookups of the {@link AbstractIndex}es of a log segment, i.e., the {@link
+ * TimeIndex} lookup by timestamp followed by the {@link OffsetIndex} lookup by offset, which is how
+ * the offset of a timestamp is looked up when consumers start from a timestamp.
+ *
+ * <p>The lookups are random over the whole index. With {@link PageCache#WARM}, the indexes are
+ * mapped once and their pages stay mapped during the benchmark. With {@link PageCache#COLD}, the
+ * indexes are re-mapped before each lookup, so the binary search faults in the pages it touches.
+ * Note the index files are still in the page cache of the OS, to benchmark lookups reading the
+ * disk, drop the page cache of the OS (e.g., {@code echo 1 > /proc/sys/vm/drop_caches}) while
+ * running the cold variant.
+ *
+ * <p>{@link #findOffsetByTimestamp} looks up the offset of a timestamp in a {@link LogSegment} of
+ * {@code entries} record batches, i.e., the index lookups followed by the scan of the log from the
+ * indexed position, to compare the log indexed every {@link IndexInterval#DEFAULT} bytes with the
+ * log indexed every {@link IndexInterval#ADAPTIVE} bytes, as when {@link
+ * ConfigOptions#LOG_INDEX_ADAPTIVE_ENABLED} densifies the index of a bucket looked up by timestamp.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class IndexLookupBenchmark {
+
+    private static final long BASE_OFFSET = 0L;
+    private static final long BASE_TIMESTAMP = 1_700_000_000_000L;
+    private static final int OFFSETS_PER_ENTRY = 10;
+    private static final int BYTES_PER_ENTRY = 1024;
+    private static final int NUM_TARGETS = 4096;
+    private static final int ROWS_PER_BATCH = 4;
+
+    /** The page cache state of the index files. */
+    public enum PageCache {
+        WARM,
+        COLD
+    }
+
+    /** The index interval of the log segment. */
+    public enum IndexInterval {
+        /** The default of {@link ConfigOptions#LOG_INDEX_INTERVAL_SIZE}. */
+        DEFAULT(4096),
+        /** The default of {@link ConfigOptions#LOG_INDEX_ADAPTIVE_MIN_INTERVAL_SIZE}. */
+        ADAPTIVE(512);
+
+        private final int bytes;
+
+        IndexInterval(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    @Param({"WARM", "COLD"})
+    private PageCache pageCache;
+
+    /** The number of entries in each index. */
+    @Param({"1000", "100000", "1000000"})
+    private int entries;
+
+    private File tempDir;
+    private File offsetIndexFile;
+    private File timeIndexFile;
+    private OffsetIndex offsetIndex;
+    private TimeIndex timeIndex;
+
+    private final long[] targetTimestamps = new long[NUM_TARGETS];
+    private int targetIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        tempDir = Files.createTempDirectory("index-benchmark").toFile();
+        offsetIndexFile = new File(tempDir, "00000000000000000000.index");
+        timeIndexFile = new File(tempDir, "00000000000000000000.timeindex");
+        // the entry size is 8 bytes for offset index, and 12 bytes for time index
+        int maxIndexSize = entries * 12;
+        OffsetIndex offsetIndex = new OffsetIndex(offsetIndexFile, BASE_OFFSET, maxIndexSize);
+        TimeIndex timeIndex = new TimeIndex(timeIndexFile, BASE_OFFSET, maxIndexSize);
+        for (int i = 0; i < entries; i++) {
+            long offset = BASE_OFFSET + (long) i * OFFSETS_PER_ENTRY;
+            offsetIndex.append(offset, i * BYTES_PER_ENTRY);
+            timeIndex.maybeAppend(BASE_TIMESTAMP + i * 1000L, offset);
+        }
+        offsetIndex.close();
+        timeIndex.close();
+        openIndexes();
+
+        Random random = new Random(42L);
+        for (int i = 0; i < NUM_TARGETS; i++) {
+            targetTimestamps[i] = BASE_TIMESTAMP + (long) (random.nextDouble() * entries * 1000L);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void maybeRemapIndexes() throws IOException {
+        if (pageCache == PageCache.COLD) {
+            closeIndexes();
+            openIndexes();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        closeIndexes();
+        FileUtils.deleteDirectoryQuietly(tempDir);
+    }
+
+    @Benchmark
+    public TimestampOffset timeIndexLookup() {
+        return timeIndex.lookup(nextTargetTimestamp());
+    }
+
+    @Benchmark
+    public OffsetPosition offsetIndexLookup() {
+        long targetOffset =
+                (nextTargetTimestamp() - BASE_TIMESTAMP) / 1000L * OFFSETS_PER_ENTRY + 1;
+        return offsetIndex.lookup(targetOffset);
+    }
+
+    @Benchmark
+    public OffsetPosition timestampToPosition() {
+        TimestampOffset timestampOffset = timeIndex.lookup(nextTargetTimestamp());
+        return offsetIndex.lookup(timestampOffset.offset);
+    }
+
+    @Benchmark
+    public Optional<TimestampAndOffset> findOffsetByTimestamp(SegmentState segmentState)
+            throws IOException {
+        return segmentState.segment.findOffsetByTimestamp(nextTargetTimestamp(), BASE_OFFSET);
+    }
+
+    private long nextTargetTimestamp() {
+        return targetTimestamps[targetIndex++ % NUM_TARGETS];
+    }
+
+    private void openIndexes() throws IOException {
+        offsetIndex = new OffsetIndex(offsetIndexFile, BASE_OFFSET, -1, false);
+        timeIndex = new TimeIndex(timeIndexFile, BASE_OFFSET, -1, false);
+    }
+
+    private void closeIndexes() {
+        offsetIndex.closeHandler();
+        timeIndex.closeHandler();
+    }
+
+    /**
+     * A {@link LogSegment} of {@code entries} record batches indexed every {@link IndexInterval}
+     * bytes, the timestamps of the batches are in the range of the target timestamps.
+     */
+    @State(Scope.Benchmark)
+    public static class SegmentState {
+
+        @Param({"DEFAULT", "ADAPTIVE"})
+        private IndexInterval indexInterval;
+
+        private File segmentDir;
+        private Configuration conf;
+        private LogSegment segment;
+
+        @Setup(Level.Trial)
+        public void setup(IndexLookupBenchmark benchmark) throws Exception {
+            segmentDir = Files.createTempDirectory("segment-benchmark").toFile();
+            conf = new Configuration();
+            conf.set(ConfigOptions.LOG_INDEX_INTERVAL_SIZE, new MemorySize(indexInterval.bytes));
+            LogSegment segment = LogSegment.open(segmentDir, BASE_OFFSET, conf, LogFormat.INDEXED);
+            for (int i = 0; i < benchmark.entries; i++) {
+                long baseOffset = BASE_OFFSET + (long) i * ROWS_PER_BATCH;
+                long timestamp = BASE_TIMESTAMP + i * 1000L;
+                List<Object[]> rows = new ArrayList<>(ROWS_PER_BATCH);
+                for (int j = 0; j < ROWS_PER_BATCH; j++) {
+                    rows.add(new Object[] {i * ROWS_PER_BATCH + j, "value-" + i});
+                }
+                segment.append(
+                        baseOffset + ROWS_PER_BATCH - 1,
+                        timestamp,
+                        baseOffset,
+                        createRecordsWithoutBaseLogOffset(
+                                DATA1_ROW_TYPE,
+                                DEFAULT_SCHEMA_ID,
+                                baseOffset,
+                                timestamp,
+                                rows,
+                                LogFormat.INDEXED));
+            }
+            // trims the indexes to their entries
+            segment.close();
+            openSegment();
+        }
+
+        @Setup(Level.Invocation)
+        public void maybeReopenSegment(IndexLookupBenchmark benchmark) throws IOException {
+            if (benchmark.pageCache == PageCache.COLD) {
+                segment.closeHandlers();
+                openSegment();
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            segment.closeHandlers();
+            FileUtils.deleteDirectoryQuietly(segmentDir);
+        }
+
+        private void openSegment() throws IOException {
+            segment = LogSegment.open(segmentDir, BASE_OFFSET, conf, true, 0, LogFormat.INDEXED);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + IndexLookupBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
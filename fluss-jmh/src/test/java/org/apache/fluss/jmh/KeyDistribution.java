@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/** The distribution of the primary keys written or looked up by the kv benchmarks. */
+public enum KeyDistribution {
+
+    /** Every key of the key space is accessed with the same probability. */
+    UNIFORM,
+
+    /**
+     * The keys are accessed following a zipfian distribution, where a small set of hot keys is
+     * accessed most of the time.
+     */
+    ZIPFIAN,
+
+    /** The keys are accessed one after another, wrapping around at the end of the key space. */
+    SEQUENTIAL;
+
+    private static final double ZIPFIAN_EXPONENT = 0.99;
+
+    /** Creates a generator of the keys in [0, keySpace) following this distribution. */
+    KeyGenerator generator(int keySpace, long seed) {
+        Random random = new Random(seed);
+        switch (this) {
+            case UNIFORM:
+                return () -> random.nextInt(keySpace);
+            case ZIPFIAN:
+                double[] cdf = zipfianCdf(keySpace);
+                // spread the hot keys over the key space, instead of the smallest keys being hot
+                int[] permutation = shuffledKeys(keySpace, random);
+                return () -> {
+                    int rank = Arrays.binarySearch(cdf, random.nextDouble());
+                    rank = rank >= 0 ? rank : Math.min(-rank - 1, keySpace - 1);
+                    return permutation[rank];
+                };
+            case SEQUENTIAL:
+                int[] next = new int[1];
+                return () -> {
+                    int key = next[0];
+                    next[0] = key + 1 == keySpace ? 0 : key + 1;
+                    return key;
+                };
+            default:
+                throw new IllegalArgumentException("Unsupported key distribution: " + this);
+        }
+    }
+
+    private static double[] zipfianCdf(int keySpace) {
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1 / Math.pow(i + 1, ZIPFIAN_EXPONENT);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < keySpace; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int[] shuffledKeys(int keySpace, Random random) {
+        int[] keys = new int[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = i;
+        }
+        for (int i = keySpace - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+
+    /** A generator of keys. */
+    @FunctionalInterface
+    interface KeyGenerator {
+        int nextKey();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
+import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.MergeEngineType;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.DefaultKvRecordBatch;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.KvRecordBatchBuilder;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.server.kv.KvRowCacheBudget;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.server.log.LogTestUtils;
+import org.apache.fluss.server.zk.NOPErrorHandler;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.FileUtils;
+import org.apache.fluss.utils.clock.SystemClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatch.NO_WRITER_ID;
+import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
+import static org.apache.fluss.testutils.DataTestUtils.indexedRow;
+
+/**
+ * A {@link KvTablet} with its {@link LogTablet} on local disk, which is shared by the benchmarks of
+ * the kv write and lookup path. The table has an int primary key, a bigint version column and a
+ * string payload column whose width is configurable.
+ */
+final class KvBenchmarkEnv implements AutoCloseable {
+
+    static final int SCHEMA_ID = 1;
+
+    static final Schema SCHEMA =
+            Schema.newBuilder()
+                    .column("id", DataTypes.INT())
+                    .column("version", DataTypes.BIGINT())
+                    .column("payload", DataTypes.STRING())
+                    .primaryKey("id")
+                    .build();
+
+    static final RowType ROW_TYPE = SCHEMA.getRowType();
+
+    private final File tempDir;
+    private final BufferAllocator allocator;
+    private final LogTablet logTablet;
+    private final KvTablet kvTablet;
+    private final KvFormat kvFormat;
+    private final CompactedKeyEncoder keyEncoder;
+
+    private KvBenchmarkEnv(
+            File tempDir,
+            BufferAllocator allocator,
+            LogTablet logTablet,
+            KvTablet kvTablet,
+            KvFormat kvFormat) {
+        this.tempDir = tempDir;
+        this.allocator = allocator;
+        this.logTablet = logTablet;
+        this.kvTablet = kvTablet;
+        this.kvFormat = kvFormat;
+        this.keyEncoder = new CompactedKeyEncoder(ROW_TYPE, SCHEMA.getPrimaryKeyIndexes());
+    }
+
+    /**
+     * Creates the kv tablet of the given log format and merge engine.
+     *
+     * @param logFormat the log format, the kv format is INDEXED for INDEXED log format (as
+     *     COMPACTED kv format doesn't support it), otherwise COMPACTED
+     * @param mergeEngine the merge engine, null for the default merge engine
+     * @param serverConf the configuration of the tablet server
+     */
+    static KvBenchmarkEnv create(
+            LogFormat logFormat, @Nullable MergeEngineType mergeEngine, Configuration serverConf)
+            throws Exception {
+        File tempDir = Files.createTempDirectory("kv-benchmark").toFile();
+        PhysicalTablePath tablePath = PhysicalTablePath.of(TablePath.of("benchmark_db", "t1"));
+        File logTabletDir =
+                LogTestUtils.makeRandomLogTabletDir(
+                        tempDir, tablePath.getDatabaseName(), 0L, tablePath.getTableName());
+        LogTablet logTablet =
+                LogTablet.create(
+                        tablePath,
+                        logTabletDir,
+                        serverConf,
+                        0,
+                        new FlussScheduler(1),
+                        logFormat,
+                        1,
+                        true,
+                        SystemClock.getInstance(),
+                        true);
+
+        KvFormat kvFormat = logFormat == LogFormat.INDEXED ? KvFormat.INDEXED : KvFormat.COMPACTED;
+        Configuration tableConf = new Configuration();
+        if (mergeEngine != null) {
+            tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, mergeEngine);
+            if (mergeEngine == MergeEngineType.VERSIONED) {
+                tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN, "version");
+            }
+        }
+        BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        File kvTabletDir = new File(tempDir, "kv");
+        kvTabletDir.mkdirs();
+        KvTablet kvTablet =
+                KvTablet.create(
+                        tablePath,
+                        logTablet.getTableBucket(),
+                        logTablet,
+                        kvTabletDir,
+                        serverConf,
+                        allocator,
+                        new TestingMemorySegmentPool(64 * 1024),
+                        new KvRowCacheBudget(Long.MAX_VALUE),
+                        kvFormat,
+                        SCHEMA,
+                        RowMerger.create(new TableConfig(tableConf), SCHEMA, kvFormat),
+                        DEFAULT_COMPRESSION);
+        return new KvBenchmarkEnv(tempDir, allocator, logTablet, kvTablet, kvFormat);
+    }
+
+    KvTablet kvTablet() {
+        return kvTablet;
+    }
+
+    KvFormat kvFormat() {
+        return kvFormat;
+    }
+
+    /** Encodes the primary key of the given id. */
+    byte[] key(int id) {
+        return keyEncoder.encodeKey(row(KvFormat.COMPACTED, id, 0L, ""));
+    }
+
+    /** Builds a kv record batch upserting the given ids with the given version and payload. */
+    KvRecordBatch batch(int[] ids, long version, String payload) throws IOException {
+        KvRecordBatchBuilder builder =
+                KvRecordBatchBuilder.builder(
+                        SCHEMA_ID,
+                        Integer.MAX_VALUE,
+                        new UnmanagedPagedOutputView(64 * 1024),
+                        kvFormat);
+        for (int id : ids) {
+            builder.append(key(id), row(kvFormat, id, version, payload));
+        }
+        builder.setWriterState(NO_WRITER_ID, NO_BATCH_SEQUENCE);
+        KvRecordBatch batch = DefaultKvRecordBatch.pointToBytesView(builder.build());
+        builder.close();
+        return batch;
+    }
+
+    /** Flushes the pre-write buffer to rocksdb as the replica does when the high watermark moves. */
+    void flush() {
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+    }
+
+    /** Parses the merge engine benchmark parameter, NONE for the default merge engine. */
+    @Nullable
+    static MergeEngineType mergeEngine(String mergeEngine) {
+        return "NONE".equals(mergeEngine) ? null : MergeEngineType.valueOf(mergeEngine);
+    }
+
+    /** Returns a payload string of the given width. */
+    static String payload(int width, char c) {
+        char[] chars = new char[width];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    static BinaryRow row(KvFormat kvFormat, int id, long version, String payload) {
+        Object[] values = new Object[] {id, version, payload};
+        return kvFormat == KvFormat.INDEXED
+                ? indexedRow(ROW_TYPE, values)
+                : compactedRow(ROW_TYPE, values);
+    }
+
+    @Override
+    public void close() throws Exception {
+        kvTablet.close();
+        logTablet.close();
+        allocator.close();
+        FileUtils.deleteDirectoryQuietly(tempDir);
+    }
+}
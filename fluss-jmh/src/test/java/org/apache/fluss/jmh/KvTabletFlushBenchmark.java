@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.jmh.KvTabletPutBenchmark.KEY_SPACE;
+import static org.apache.fluss.jmh.KvTabletPutBenchmark.ROWS_PER_BATCH;
+
+/**
+ * Benchmark for flushing the {@link KvPreWriteBuffer} of a {@link KvTablet} to rocksdb, which
+ * happens whenever the high watermark of the bucket moves.
+ *
+ * <p>Before each invocation, a number of kv record batches are put into the pre-write buffer, and
+ * each invocation flushes them. The operation is a flushed row, so the {@code gc.alloc.rate.norm}
+ * reported by the {@link GCProfiler} is the allocated bytes per flushed row.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvTabletFlushBenchmark {
+
+    private static final int BATCHES_PER_FLUSH = 10;
+    private static final int NUM_BATCHES = 16;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    private KeyDistribution keyDistribution;
+
+    /** The width of the payload column in bytes. */
+    @Param({"16", "256"})
+    private int valueWidth;
+
+    private KvBenchmarkEnv env;
+    private KvTablet kvTablet;
+
+    private final List<KvRecordBatch> batches = new ArrayList<>();
+    private int batchIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        env = KvBenchmarkEnv.create(LogFormat.ARROW, null, new Configuration());
+        kvTablet = env.kvTablet();
+        KvTabletPutBenchmark.preload(env, valueWidth);
+
+        KeyDistribution.KeyGenerator keys = keyDistribution.generator(KEY_SPACE, 42L);
+        String payload = KvBenchmarkEnv.payload(valueWidth, 'b');
+        for (int b = 0; b < NUM_BATCHES; b++) {
+            int[] ids = new int[ROWS_PER_BATCH];
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                ids[i] = keys.nextKey();
+            }
+            batches.add(env.batch(ids, b + 1, payload));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void put() throws Exception {
+        for (int i = 0; i < BATCHES_PER_FLUSH; i++) {
+            kvTablet.putAsLeader(batches.get(batchIndex++ % batches.size()), null);
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        env.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCHES_PER_FLUSH * ROWS_PER_BATCH)
+    public void flush() {
+        env.flush();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletFlushBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
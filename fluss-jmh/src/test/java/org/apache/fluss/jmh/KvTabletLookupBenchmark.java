@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.jmh.KvTabletPutBenchmark.KEY_SPACE;
+
+/**
+ * Benchmark for looking up the rows of a {@link KvTablet} by primary keys, comparing {@link
+ * KvTablet#multiGet(List)}, which is served by the row cache if enabled, with reading the {@link
+ * RocksDBKv} directly.
+ *
+ * <p>The operation is a looked up key, so the {@code gc.alloc.rate.norm} reported by the {@link
+ * GCProfiler} is the allocated bytes per key.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvTabletLookupBenchmark {
+
+    private static final int KEYS_PER_LOOKUP = 100;
+    private static final int NUM_LOOKUPS = 1024;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    private KeyDistribution keyDistribution;
+
+    /** The width of the payload column in bytes. */
+    @Param({"16", "256"})
+    private int valueWidth;
+
+    /** The size of the row cache of the kv tablet, 0 to disable the cache. */
+    @Param({"0", "64mb"})
+    private String rowCacheSize;
+
+    private KvBenchmarkEnv env;
+    private KvTablet kvTablet;
+    private RocksDBKv rocksDBKv;
+
+    private final List<List<byte[]>> lookups = new ArrayList<>();
+    private int lookupIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KV_LOOKUP_ROW_CACHE_SIZE, MemorySize.parse(rowCacheSize));
+        env = KvBenchmarkEnv.create(LogFormat.ARROW, null, conf);
+        kvTablet = env.kvTablet();
+        rocksDBKv = kvTablet.getRocksDBKv();
+        KvTabletPutBenchmark.preload(env, valueWidth);
+
+        KeyDistribution.KeyGenerator keys = keyDistribution.generator(KEY_SPACE, 42L);
+        for (int l = 0; l < NUM_LOOKUPS; l++) {
+            List<byte[]> lookup = new ArrayList<>(KEYS_PER_LOOKUP);
+            for (int i = 0; i < KEYS_PER_LOOKUP; i++) {
+                lookup.add(env.key(keys.nextKey()));
+            }
+            lookups.add(lookup);
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        env.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS_PER_LOOKUP)
+    public List<byte[]> kvTabletMultiGet() throws Exception {
+        return kvTablet.multiGet(lookups.get(lookupIndex++ % lookups.size()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS_PER_LOOKUP)
+    public List<byte[]> rocksDBMultiGet() throws Exception {
+        return rocksDBKv.multiGet(lookups.get(lookupIndex++ % lookups.size()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletLookupBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
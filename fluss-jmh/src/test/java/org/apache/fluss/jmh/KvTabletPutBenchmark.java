@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.server.kv.KvTablet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for putting kv record batches into a {@link KvTablet} as leader, which is the hot path
+ * of upserts.
+ *
+ * <p>All the keys of the key space are written before the benchmark, so the batches are merged
+ * with existing rows by the merge engine. The keys of the batches are chosen by the {@link
+ * KeyDistribution}, which decides how many rows hit the pre-write buffer instead of rocksdb.
+ *
+ * <p>The batches must not be ignored by the merge engine, otherwise only the rejection is measured:
+ *
+ * <ul>
+ *   <li>FIRST_ROW ignores the existing keys, so each batch inserts fresh keys after the key space
+ *       and the {@link KeyDistribution} doesn't apply.
+ *   <li>VERSIONED ignores the rows whose version isn't larger than the existing one, so each batch
+ *       has a larger version than all the batches before.
+ * </ul>
+ *
+ * <p>For these merge engines, the batches of an iteration are built before the iteration, the
+ * default merge engine reuses the batches built once per trial.
+ *
+ * <p>Each iteration puts a fixed number of batches in a single shot, and the pre-write buffer is
+ * flushed to rocksdb before each iteration as the replicas would do, to keep it bounded without
+ * flushing between the measured puts.
+ *
+ * <p>The benchmark is run with the {@link GCProfiler}, the {@code gc.alloc.rate.norm} of the
+ * results is the allocated bytes per upserted row, as each operation is a row. The profiler counts
+ * the allocations of the whole iteration, so it also includes the flush before the iteration
+ * amortized over the rows of the iteration, and the building of the batches for FIRST_ROW and
+ * VERSIONED. Compare it across the default merge engine only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 20)
+@Fork(value = 0)
+public class KvTabletPutBenchmark {
+
+    static final int KEY_SPACE = 100_000;
+    static final int ROWS_PER_BATCH = 1000;
+    /** The number of the batches put in an iteration. */
+    private static final int NUM_BATCHES = 16;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    private KeyDistribution keyDistribution;
+
+    /** The width of the payload column in bytes. */
+    @Param({"16", "256"})
+    private int valueWidth;
+
+    @Param({"NONE", "FIRST_ROW", "VERSIONED"})
+    private String mergeEngine;
+
+    @Param({"ARROW", "INDEXED"})
+    private LogFormat logFormat;
+
+    private KvBenchmarkEnv env;
+    private KvTablet kvTablet;
+
+    private final List<int[]> batchKeys = new ArrayList<>();
+    private final List<KvRecordBatch> batches = new ArrayList<>();
+    private String payload;
+
+    /** The next fresh key for FIRST_ROW, which is never written before. */
+    private int nextFreshKey = KEY_SPACE;
+
+    /** The version of the last batch for VERSIONED, the preloaded rows have version 0. */
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        env =
+                KvBenchmarkEnv.create(
+                        logFormat, KvBenchmarkEnv.mergeEngine(mergeEngine), new Configuration());
+        kvTablet = env.kvTablet();
+        preload(env, valueWidth);
+
+        KeyDistribution.KeyGenerator keys = keyDistribution.generator(KEY_SPACE, 42L);
+        payload = KvBenchmarkEnv.payload(valueWidth, 'b');
+        for (int b = 0; b < NUM_BATCHES; b++) {
+            int[] ids = new int[ROWS_PER_BATCH];
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                ids[i] = keys.nextKey();
+            }
+            batchKeys.add(ids);
+            if ("NONE".equals(mergeEngine)) {
+                // the default merge engine overwrites the rows, so the batches can be reused
+                batches.add(env.batch(ids, 1L, payload));
+            }
+        }
+    }
+
+    /** Writes all the keys of the key space with version 0 and flushes them to rocksdb. */
+    static void preload(KvBenchmarkEnv env, int valueWidth) throws Exception {
+        String payload = KvBenchmarkEnv.payload(valueWidth, 'a');
+        int[] ids = new int[ROWS_PER_BATCH];
+        for (int start = 0; start < KEY_SPACE; start += ROWS_PER_BATCH) {
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                ids[i] = start + i;
+            }
+            env.kvTablet().putAsLeader(env.batch(ids, 0L, payload), null);
+            env.flush();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareBatches() throws Exception {
+        // flush the pre-write buffer to rocksdb as the replicas would do, to keep it bounded
+        env.flush();
+
+        if ("FIRST_ROW".equals(mergeEngine)) {
+            batches.clear();
+            for (int b = 0; b < NUM_BATCHES; b++) {
+                int[] ids = new int[ROWS_PER_BATCH];
+                for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                    ids[i] = nextFreshKey++;
+                }
+                batches.add(env.batch(ids, 0L, payload));
+            }
+        } else if ("VERSIONED".equals(mergeEngine)) {
+            batches.clear();
+            for (int b = 0; b < NUM_BATCHES; b++) {
+                batches.add(env.batch(batchKeys.get(b), ++version, payload));
+            }
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        env.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH * NUM_BATCHES)
+    public void putAsLeader() throws Exception {
+        for (KvRecordBatch batch : batches) {
+            kvTablet.putAsLeader(batch, null);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletPutBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.compacted.CompactedRow;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.RowEncoder;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.types.DataType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.jmh.KvBenchmarkEnv.ROW_TYPE;
+
+/**
+ * Benchmark for encoding and decoding the rows in {@link CompactedRow} and {@link IndexedRow}
+ * formats, which are the value formats of the kv tablets.
+ *
+ * <p>The decoding benchmark reads all the fields of the decoded rows, as the merge engines and the
+ * WAL builders do. The operation is a row, so the {@code gc.alloc.rate.norm} reported by the
+ * {@link GCProfiler} is the allocated bytes per row.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class RowEncodingBenchmark {
+
+    private static final int NUM_ROWS = 1024;
+
+    @Param({"COMPACTED", "INDEXED"})
+    private KvFormat kvFormat;
+
+    /** The width of the payload column in bytes. */
+    @Param({"16", "256"})
+    private int valueWidth;
+
+    private RowEncoder rowEncoder;
+    private RowDecoder rowDecoder;
+    private BinaryString payload;
+    private final BinaryRow[] rows = new BinaryRow[NUM_ROWS];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rowEncoder = RowEncoder.create(kvFormat, ROW_TYPE);
+        rowDecoder =
+                RowDecoder.create(kvFormat, ROW_TYPE.getChildren().toArray(new DataType[0]));
+        String payloadString = KvBenchmarkEnv.payload(valueWidth, 'a');
+        payload = BinaryString.fromString(payloadString);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            rows[i] = KvBenchmarkEnv.row(kvFormat, i, i, payloadString);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_ROWS)
+    public void encode(Blackhole blackhole) {
+        for (int i = 0; i < NUM_ROWS; i++) {
+            rowEncoder.startNewRow();
+            rowEncoder.encodeField(0, i);
+            rowEncoder.encodeField(1, (long) i);
+            rowEncoder.encodeField(2, payload);
+            blackhole.consume(rowEncoder.finishRow());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_ROWS)
+    public void decode(Blackhole blackhole) {
+        for (int i = 0; i < NUM_ROWS; i++) {
+            BinaryRow row = rows[i];
+            BinaryRow decoded =
+                    rowDecoder.decode(
+                            row.getSegments()[0], row.getOffset(), row.getSizeInBytes());
+            blackhole.consume(decoded.getInt(0));
+            blackhole.consume(decoded.getLong(1));
+            blackhole.consume(decoded.getString(2));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + RowEncodingBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.MergeEngineType;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.server.kv.rowmerger.RowMerger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.jmh.KvBenchmarkEnv.SCHEMA;
+
+/**
+ * Benchmark for merging a new row with the existing row by the {@link RowMerger} implementations,
+ * which is done for every upserted row of an existing key.
+ *
+ * <p>The {@code PARTIAL_UPDATE} merger is the default merger configured with target columns, which
+ * only updates the payload column. The operation is a merged row, so the {@code
+ * gc.alloc.rate.norm} reported by the {@link GCProfiler} is the allocated bytes per merged row.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class RowMergerBenchmark {
+
+    private static final int NUM_ROWS = 1024;
+
+    @Param({"DEFAULT", "PARTIAL_UPDATE", "FIRST_ROW", "VERSIONED"})
+    private String mergeEngine;
+
+    @Param({"COMPACTED", "INDEXED"})
+    private KvFormat kvFormat;
+
+    /** The width of the payload column in bytes. */
+    @Param({"16", "256"})
+    private int valueWidth;
+
+    private RowMerger rowMerger;
+    private final BinaryRow[] oldRows = new BinaryRow[NUM_ROWS];
+    private final BinaryRow[] newRows = new BinaryRow[NUM_ROWS];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Configuration tableConf = new Configuration();
+        if ("FIRST_ROW".equals(mergeEngine)) {
+            tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, MergeEngineType.FIRST_ROW);
+        } else if ("VERSIONED".equals(mergeEngine)) {
+            tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, MergeEngineType.VERSIONED);
+            tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN, "version");
+        }
+        rowMerger = RowMerger.create(new TableConfig(tableConf), SCHEMA, kvFormat);
+        if ("PARTIAL_UPDATE".equals(mergeEngine)) {
+            rowMerger = rowMerger.configureTargetColumns(new int[] {0, 2});
+        }
+
+        String oldPayload = KvBenchmarkEnv.payload(valueWidth, 'a');
+        String newPayload = KvBenchmarkEnv.payload(valueWidth, 'b');
+        for (int i = 0; i < NUM_ROWS; i++) {
+            oldRows[i] = KvBenchmarkEnv.row(kvFormat, i, 0L, oldPayload);
+            newRows[i] = KvBenchmarkEnv.row(kvFormat, i, 1L, newPayload);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_ROWS)
+    public void merge(Blackhole blackhole) {
+        for (int i = 0; i < NUM_ROWS; i++) {
+            blackhole.consume(rowMerger.merge(oldRows[i], newRows[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + RowMergerBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
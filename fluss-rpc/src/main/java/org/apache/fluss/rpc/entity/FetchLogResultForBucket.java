@@ -35,6 +35,7 @@ public class FetchLogResultForBucket extends ResultForBucket {
     private final @Nullable RemoteLogFetchInfo remoteLogFetchInfo;
     private final @Nullable LogRecords records;
     private final long highWatermark;
+    private final @Nullable Integer preferredReadReplica;
 
     public FetchLogResultForBucket(
             TableBucket tableBucket, LogRecords records, long highWatermark) {
@@ -50,6 +51,18 @@ public class FetchLogResultForBucket extends ResultForBucket {
         this(tableBucket, null, null, -1L, error);
     }
 
+    /** Creates a result which redirects the client to read the bucket from another replica. */
+    public FetchLogResultForBucket(
+            TableBucket tableBucket, int preferredReadReplica, long highWatermark) {
+        this(
+                tableBucket,
+                null,
+                MemoryLogRecords.EMPTY,
+                highWatermark,
+                preferredReadReplica,
+                ApiError.NONE);
+    }
+
     public FetchLogResultForBucket(
             TableBucket tableBucket, RemoteLogFetchInfo remoteLogFetchInfo, long highWatermark) {
         this(
@@ -66,10 +79,21 @@ public class FetchLogResultForBucket extends ResultForBucket {
             @Nullable LogRecords records,
             long highWatermark,
             ApiError error) {
+        this(tableBucket, remoteLogFetchInfo, records, highWatermark, null, error);
+    }
+
+    private FetchLogResultForBucket(
+            TableBucket tableBucket,
+            @Nullable RemoteLogFetchInfo remoteLogFetchInfo,
+            @Nullable LogRecords records,
+            long highWatermark,
+            @Nullable Integer preferredReadReplica,
+            ApiError error) {
         super(tableBucket, error);
         this.remoteLogFetchInfo = remoteLogFetchInfo;
         this.records = records;
         this.highWatermark = highWatermark;
+        this.preferredReadReplica = preferredReadReplica;
     }
 
     /**
@@ -102,4 +126,12 @@ public class FetchLogResultForBucket extends ResultForBucket {
     public long getHighWatermark() {
         return highWatermark;
     }
+
+    /**
+     * Returns the id of the replica to read the bucket from instead of the leader, null if the
+     * bucket should be read from the leader.
+     */
+    public @Nullable Integer getPreferredReadReplica() {
+        return preferredReadReplica;
+    }
 }
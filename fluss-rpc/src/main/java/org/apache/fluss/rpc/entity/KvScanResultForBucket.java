@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.entity;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.bytesview.BytesView;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.protocol.ApiError;
+
+import javax.annotation.Nullable;
+
+/** The Result of {@link KvScanRequest} for each table bucket. */
+public class KvScanResultForBucket extends ResultForBucket {
+
+    private final long scannerId;
+
+    /** The log offset the snapshot of the scanner is taken at, null if not opening the scanner. */
+    @Nullable private final Long logOffset;
+
+    /** The arrow log records of the batch, null if there are no rows. */
+    @Nullable private final BytesView records;
+
+    private final boolean hasMoreResults;
+
+    public KvScanResultForBucket(
+            TableBucket tableBucket,
+            long scannerId,
+            @Nullable Long logOffset,
+            @Nullable BytesView records,
+            boolean hasMoreResults) {
+        super(tableBucket);
+        this.scannerId = scannerId;
+        this.logOffset = logOffset;
+        this.records = records;
+        this.hasMoreResults = hasMoreResults;
+    }
+
+    public KvScanResultForBucket(TableBucket tableBucket, ApiError error) {
+        super(tableBucket, error);
+        this.scannerId = -1L;
+        this.logOffset = null;
+        this.records = null;
+        this.hasMoreResults = false;
+    }
+
+    public long getScannerId() {
+        return scannerId;
+    }
+
+    @Nullable
+    public Long getLogOffset() {
+        return logOffset;
+    }
+
+    @Nullable
+    public BytesView getRecords() {
+        return records;
+    }
+
+    public boolean hasMoreResults() {
+        return hasMoreResults;
+    }
+}
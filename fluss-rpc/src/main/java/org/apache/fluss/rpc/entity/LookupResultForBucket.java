@@ -26,22 +26,46 @@ import java.util.List;
 /** Result of {@link LookupRequest} for each table bucket. */
 public class LookupResultForBucket extends ResultForBucket {
 
+    /** The value of {@link #flushedLogOffset()} if the offset is unknown. */
+    public static final long UNKNOWN_FLUSHED_LOG_OFFSET = -1L;
+
     private final List<byte[]> values;
 
+    private final long flushedLogOffset;
+
     public LookupResultForBucket(TableBucket tableBucket, List<byte[]> values) {
         this(tableBucket, values, ApiError.NONE);
     }
 
+    public LookupResultForBucket(
+            TableBucket tableBucket, List<byte[]> values, long flushedLogOffset) {
+        this(tableBucket, values, ApiError.NONE, flushedLogOffset);
+    }
+
     public LookupResultForBucket(TableBucket tableBucket, ApiError error) {
         this(tableBucket, null, error);
     }
 
     public LookupResultForBucket(TableBucket tableBucket, List<byte[]> values, ApiError error) {
+        this(tableBucket, values, error, UNKNOWN_FLUSHED_LOG_OFFSET);
+    }
+
+    private LookupResultForBucket(
+            TableBucket tableBucket, List<byte[]> values, ApiError error, long flushedLogOffset) {
         super(tableBucket, error);
         this.values = values;
+        this.flushedLogOffset = flushedLogOffset;
     }
 
     public List<byte[]> lookupValues() {
         return values;
     }
+
+    /**
+     * Returns the log offset (exclusive) up to which the changes of the bucket are reflected in the
+     * values, or {@link #UNKNOWN_FLUSHED_LOG_OFFSET} if unknown.
+     */
+    public long flushedLogOffset() {
+        return flushedLogOffset;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.entity;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.protocol.ApiError;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/** The Result of {@link ScanKvRequest} for each table bucket. */
+public class ScanKvResultForBucket extends ResultForBucket {
+
+    private final List<byte[]> values;
+
+    /** The token to scan the next page, null if there are no more values. */
+    @Nullable private final byte[] continuationToken;
+
+    public ScanKvResultForBucket(
+            TableBucket tableBucket, List<byte[]> values, @Nullable byte[] continuationToken) {
+        this(tableBucket, values, continuationToken, ApiError.NONE);
+    }
+
+    public ScanKvResultForBucket(TableBucket tableBucket, ApiError error) {
+        this(tableBucket, null, null, error);
+    }
+
+    private ScanKvResultForBucket(
+            TableBucket tableBucket,
+            List<byte[]> values,
+            @Nullable byte[] continuationToken,
+            ApiError error) {
+        super(tableBucket, error);
+        this.values = values;
+        this.continuationToken = continuationToken;
+    }
+
+    public List<byte[]> getValues() {
+        return values;
+    }
+
+    @Nullable
+    public byte[] getContinuationToken() {
+        return continuationToken;
+    }
+}
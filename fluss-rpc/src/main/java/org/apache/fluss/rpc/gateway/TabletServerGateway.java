@@ -22,12 +22,18 @@ import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
 import org.apache.fluss.rpc.messages.LimitScanRequest;
 import org.apache.fluss.rpc.messages.LimitScanResponse;
 import org.apache.fluss.rpc.messages.ListOffsetsRequest;
 import org.apache.fluss.rpc.messages.ListOffsetsResponse;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetRequest;
@@ -42,6 +48,8 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
@@ -105,6 +113,24 @@ public interface TabletServerGateway extends RpcGateway, AdminReadOnlyGateway {
     @RPC(api = ApiKeys.PUT_KV)
     CompletableFuture<PutKvResponse> putKv(PutKvRequest request);
 
+    /**
+     * Produce log data to the table buckets of multiple tables, which coalesces the produce log
+     * requests of the tables into one request.
+     *
+     * @return the multi produce response.
+     */
+    @RPC(api = ApiKeys.MULTI_PRODUCE_LOG)
+    CompletableFuture<MultiProduceLogResponse> multiProduceLog(MultiProduceLogRequest request);
+
+    /**
+     * Put kv data to the table buckets of multiple tables, which coalesces the put kv requests of
+     * the tables into one request.
+     *
+     * @return the multi put kv response.
+     */
+    @RPC(api = ApiKeys.MULTI_PUT_KV)
+    CompletableFuture<MultiPutKvResponse> multiPutKv(MultiPutKvRequest request);
+
     /**
      * Lookup value from the specified table bucket by key.
      *
@@ -130,6 +156,26 @@ public interface TabletServerGateway extends RpcGateway, AdminReadOnlyGateway {
     @RPC(api = ApiKeys.LIMIT_SCAN)
     CompletableFuture<LimitScanResponse> limitScan(LimitScanRequest request);
 
+    /**
+     * Scan a page of values from the kv of the specified table bucket, optionally only the values
+     * whose key starts with the given prefix key.
+     *
+     * @param request the scan kv request
+     * @return the scan kv response
+     */
+    @RPC(api = ApiKeys.SCAN_KV)
+    CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request);
+
+    /**
+     * Scan the rows of a primary key table bucket in arrow batches from a consistent snapshot of the
+     * kv held by a scanner on the tablet server.
+     *
+     * @param request the kv scan request
+     * @return the kv scan response
+     */
+    @RPC(api = ApiKeys.KV_SCAN)
+    CompletableFuture<KvScanResponse> kvScan(KvScanRequest request);
+
     /**
      * List offsets for the specified table bucket.
      *
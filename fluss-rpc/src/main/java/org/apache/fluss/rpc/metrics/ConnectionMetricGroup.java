@@ -40,7 +40,13 @@ import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
 /** Metrics for ServerConnection with {@link ClientMetricGroup} as parent group. */
 public class ConnectionMetricGroup extends AbstractMetricGroup {
     private static final List<ApiKeys> REPORT_API_KEYS =
-            Arrays.asList(ApiKeys.PRODUCE_LOG, ApiKeys.FETCH_LOG, ApiKeys.PUT_KV, ApiKeys.LOOKUP);
+            Arrays.asList(
+                    ApiKeys.PRODUCE_LOG,
+                    ApiKeys.FETCH_LOG,
+                    ApiKeys.PUT_KV,
+                    ApiKeys.LOOKUP,
+                    ApiKeys.MULTI_PRODUCE_LOG,
+                    ApiKeys.MULTI_PUT_KV);
 
     private final String serverId;
 
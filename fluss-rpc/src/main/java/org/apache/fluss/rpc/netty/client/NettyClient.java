@@ -82,6 +82,9 @@ public final class NettyClient implements RpcClient {
      */
     private final boolean isInnerClient;
 
+    /** The logical id of the client sent to the servers, empty if not set. */
+    private final String clientId;
+
     private volatile boolean isClosed = false;
 
     public NettyClient(
@@ -107,6 +110,7 @@ public final class NettyClient implements RpcClient {
                         .option(ChannelOption.SO_KEEPALIVE, true)
                         .handler(new ClientChannelInitializer(connectionMaxIdle));
         this.isInnerClient = isInnerClient;
+        this.clientId = conf.getString(ConfigOptions.CLIENT_ID);
         this.clientMetricGroup = clientMetricGroup;
         this.authenticatorSupplier = AuthenticationFactory.loadClientAuthenticatorSupplier(conf);
         NettyMetrics.registerNettyMetrics(clientMetricGroup, pooledAllocator);
@@ -198,6 +202,7 @@ public final class NettyClient implements RpcClient {
                                     node,
                                     clientMetricGroup,
                                     authenticatorSupplier.get(),
+                                    clientId,
                                     isInnerClient);
                     connection.whenClose(ignore -> connections.remove(serverId, connection));
                     return connection;
@@ -73,6 +73,7 @@ final class ServerConnection {
     private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
     private final ConnectionMetricGroup connectionMetricGroup;
     private final ClientAuthenticator authenticator;
+    private final String clientId;
     private final ExponentialBackoff backoff;
 
     private final Object lock = new Object();
@@ -103,15 +104,19 @@ final class ServerConnection {
             ServerNode node,
             ClientMetricGroup clientMetricGroup,
             ClientAuthenticator authenticator,
+            String clientId,
             boolean isInnerClient) {
         this.node = node;
         this.state = ConnectionState.CONNECTING;
         this.connectionMetricGroup = clientMetricGroup.createConnectionMetricGroup(node.uid());
+        // the listener may be invoked before the constructor returns, so initialize all the
+        // fields before connecting
+        this.authenticator = authenticator;
+        this.clientId = clientId;
+        this.backoff = new ExponentialBackoff(100L, 2, 5000L, 0.2);
         bootstrap
                 .connect(node.host(), node.port())
                 .addListener(future -> establishConnection((ChannelFuture) future, isInnerClient));
-        this.authenticator = authenticator;
-        this.backoff = new ExponentialBackoff(100L, 2, 5000L, 0.2);
     }
 
     public ServerNode getServerNode() {
@@ -277,6 +282,9 @@ final class ServerConnection {
                         new ApiVersionsRequest()
                                 .setClientSoftwareName("fluss")
                                 .setClientSoftwareVersion("0.1.0");
+                if (!clientId.isEmpty()) {
+                    request.setClientId(clientId);
+                }
                 doSend(ApiKeys.API_VERSIONS, request, new CompletableFuture<>(), true)
                         .whenComplete(this::handleApiVersionsResponse);
             } else {
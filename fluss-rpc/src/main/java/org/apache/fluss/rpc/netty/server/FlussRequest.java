@@ -18,6 +18,9 @@
 package org.apache.fluss.rpc.netty.server;
 
 import org.apache.fluss.rpc.messages.ApiMessage;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.protocol.ApiKeys;
+import org.apache.fluss.rpc.protocol.ApiKeys.ApiVisibility;
 import org.apache.fluss.rpc.protocol.ApiMethod;
 import org.apache.fluss.rpc.protocol.RequestType;
 import org.apache.fluss.security.acl.FlussPrincipal;
@@ -46,7 +49,9 @@ public final class FlussRequest implements RpcRequest {
     private final boolean isInternal;
     private final FlussPrincipal principal;
     private final InetAddress address;
+    private final String clientId;
     private final CompletableFuture<ApiMessage> responseFuture;
+    private final RequestPriority priority;
 
     // the time when the request is received by server
     private final long startTimeMs;
@@ -65,6 +70,7 @@ public final class FlussRequest implements RpcRequest {
             boolean isInternal,
             FlussPrincipal principal,
             InetAddress address,
+            String clientId,
             CompletableFuture<ApiMessage> responseFuture) {
         this.apiKey = apiKey;
         this.apiVersion = apiVersion;
@@ -76,15 +82,43 @@ public final class FlussRequest implements RpcRequest {
         this.isInternal = isInternal;
         this.principal = principal;
         this.address = address;
+        this.clientId = clientId;
         this.listenerName = listenerName;
+        this.priority = priorityOf(apiKey, message, isInternal);
         this.startTimeMs = System.currentTimeMillis();
     }
 
+    private static RequestPriority priorityOf(
+            short apiKey, ApiMessage message, boolean isInternal) {
+        if (!isInternal) {
+            // the requests from the external listeners are client requests, they can't claim to be
+            // from a follower or a server to be prioritized
+            return RequestPriority.CLIENT;
+        }
+        ApiKeys api = ApiKeys.hasId(apiKey) ? ApiKeys.forId(apiKey) : null;
+        if (api == ApiKeys.FETCH_LOG) {
+            // fetch from follower is for replication, otherwise it's from client
+            return ((FetchLogRequest) message).getFollowerServerId() >= 0
+                    ? RequestPriority.REPLICATION
+                    : RequestPriority.CLIENT;
+        } else if (api != null && api.visibility == ApiVisibility.PRIVATE) {
+            // private apis are only invoked between servers
+            return RequestPriority.CONTROL;
+        } else {
+            return RequestPriority.CLIENT;
+        }
+    }
+
     @Override
     public RequestType getRequestType() {
         return RequestType.FLUSS;
     }
 
+    @Override
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
     public short getApiKey() {
         return apiKey;
     }
@@ -163,6 +197,11 @@ public final class FlussRequest implements RpcRequest {
         return principal;
     }
 
+    /** Returns the client id of the connection, empty if the client doesn't report it. */
+    public String getClientId() {
+        return clientId;
+    }
+
     public boolean isInternal() {
         return isInternal;
     }
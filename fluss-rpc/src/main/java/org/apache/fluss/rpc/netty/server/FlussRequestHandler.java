@@ -57,7 +57,8 @@ public class FlussRequestHandler implements RequestHandler<FlussRequest> {
                             request.getListenerName(),
                             request.isInternal(),
                             request.getAddress(),
-                            request.getPrincipal()));
+                            request.getPrincipal(),
+                            request.getClientId()));
             // invoke the corresponding method on RpcGateway instance.
             CompletableFuture<?> responseFuture =
                     (CompletableFuture<?>) api.getMethod().invoke(service, message);
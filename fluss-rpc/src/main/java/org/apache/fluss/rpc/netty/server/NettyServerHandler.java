@@ -23,6 +23,7 @@ import org.apache.fluss.exception.NetworkException;
 import org.apache.fluss.exception.RetriableAuthenticationException;
 import org.apache.fluss.record.send.Send;
 import org.apache.fluss.rpc.messages.ApiMessage;
+import org.apache.fluss.rpc.messages.ApiVersionsRequest;
 import org.apache.fluss.rpc.messages.AuthenticateRequest;
 import org.apache.fluss.rpc.messages.AuthenticateResponse;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
@@ -74,6 +75,9 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
     private volatile ConnectionState state;
     private volatile boolean initialized = false;
 
+    /** The client id reported by the client in the api versions request, empty if not reported. */
+    private volatile String clientId = "";
+
     public NettyServerHandler(
             RequestChannel requestChannel,
             ApiManager apiManager,
@@ -119,6 +123,11 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
                 needRelease = true;
             }
 
+            if (apiKey == ApiKeys.API_VERSIONS.id
+                    && ((ApiVersionsRequest) requestMessage).hasClientId()) {
+                clientId = ((ApiVersionsRequest) requestMessage).getClientId();
+            }
+
             FlussRequest request =
                     new FlussRequest(
                             apiKey,
@@ -131,6 +140,7 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
                             isInternal,
                             authenticator.isCompleted() ? authenticator.createPrincipal() : null,
                             ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress(),
+                            clientId,
                             future);
 
             future.whenCompleteAsync((r, t) -> sendResponse(ctx, request), ctx.executor());
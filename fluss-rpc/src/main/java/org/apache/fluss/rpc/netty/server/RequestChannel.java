@@ -17,32 +17,76 @@
 
 package org.apache.fluss.rpc.netty.server;
 
+import org.apache.fluss.metrics.Histogram;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
-/** A blocking queue channel that can receive requests and send responses. */
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A blocking queue channel that can receive requests and send responses.
+ *
+ * <p>The requests are queued separately by their {@link RequestPriority}, each priority has its own
+ * bounded queue, so that a flood of client requests can't block the control plane and replication
+ * requests from being queued. The requests are polled with strict priority, i.e., a request is only
+ * polled when there are no queued requests of higher priority. The requests of the same priority
+ * are polled in FIFO order.
+ */
 @ThreadSafe
 public class RequestChannel {
     private static final Logger LOG = LoggerFactory.getLogger(RequestChannel.class);
 
-    protected final BlockingQueue<RpcRequest> requestQueue;
+    private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+    /** The request queues, indexed by the ordinal of {@link RequestPriority}. */
+    protected final BlockingQueue<QueuedRequest>[] requestQueues;
+
+    /** The number of the requests in all the queues, used to wait for requests on polling. */
+    protected final Semaphore queuedRequests = new Semaphore(0);
+
+    /** The histograms of the time requests wait in the queues, indexed by priority. */
+    @Nullable private final Histogram[] requestQueueTimeMs;
 
     public RequestChannel(int queueCapacity) {
-        this.requestQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this(queueCapacity, null);
     }
 
     /**
-     * Send a request to be handled, potentially blocking until there is room in the queue for the
-     * request.
+     * Creates a request channel.
+     *
+     * @param queueCapacity the capacity of the queue for each priority
+     * @param requestQueueTimeMs the histograms to update the time requests wait in the queue for
+     *     each priority, indexed by the ordinal of {@link RequestPriority}, or null if no metrics
+     */
+    @SuppressWarnings("unchecked")
+    public RequestChannel(int queueCapacity, @Nullable Histogram[] requestQueueTimeMs) {
+        checkArgument(
+                requestQueueTimeMs == null || requestQueueTimeMs.length == PRIORITIES.length,
+                "The request queue time histograms should be provided for all priorities.");
+        this.requestQueues = new BlockingQueue[PRIORITIES.length];
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            requestQueues[i] = new ArrayBlockingQueue<>(queueCapacity);
+        }
+        this.requestQueueTimeMs = requestQueueTimeMs;
+    }
+
+    /**
+     * Send a request to be handled, potentially blocking until there is room in the queue of the
+     * request priority for the request.
      */
     public void putRequest(RpcRequest request) throws Exception {
-        requestQueue.put(request);
+        requestQueues[request.getPriority().ordinal()].put(
+                new QueuedRequest(request, System.nanoTime()));
+        queuedRequests.release();
     }
 
     /**
@@ -54,22 +98,54 @@ public class RequestChannel {
     }
 
     /**
-     * Get the next request or block until specified time has elapsed.
+     * Get the next request of the highest priority or block until specified time has elapsed.
      *
-     * @return the head of this queue, or null if the specified waiting time elapses before an
-     *     element is available.
+     * @return the head of the queue of the highest priority, or null if the specified waiting time
+     *     elapses before an element is available.
      */
     public RpcRequest pollRequest(long timeoutMs) {
         try {
-            return requestQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            if (!queuedRequests.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
         } catch (InterruptedException e) {
             LOG.warn("Interrupted while polling requests from channel queue.", e);
             return null;
         }
+
+        // the acquired permit guarantees there is at least one request in the queues
+        for (int i = 0; i < requestQueues.length; i++) {
+            QueuedRequest queuedRequest = requestQueues[i].poll();
+            if (queuedRequest != null) {
+                if (requestQueueTimeMs != null) {
+                    requestQueueTimeMs[i].update(
+                            TimeUnit.NANOSECONDS.toMillis(
+                                    System.nanoTime() - queuedRequest.enqueueTimeNanos));
+                }
+                return queuedRequest.request;
+            }
+        }
+        return null;
     }
 
-    /** Get the number of requests in the queue. */
+    /** Get the number of requests in the queues. */
     int requestsCount() {
-        return requestQueue.size();
+        return queuedRequests.availablePermits();
+    }
+
+    /** Get the number of requests in the queue of the given priority. */
+    int requestsCount(RequestPriority priority) {
+        return requestQueues[priority.ordinal()].size();
+    }
+
+    /** A request in the queue, with the time it's enqueued. */
+    protected static final class QueuedRequest {
+        final RpcRequest request;
+        final long enqueueTimeNanos;
+
+        QueuedRequest(RpcRequest request, long enqueueTimeNanos) {
+            this.request = request;
+            this.enqueueTimeNanos = enqueueTimeNanos;
+        }
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.netty.server;
+
+/**
+ * The priority of a {@link RpcRequest} in the {@link RequestChannel}. The requests are queued
+ * separately by priority, and a request is only processed when there are no queued requests of
+ * higher priority. The priorities are declared from the highest to the lowest.
+ */
+public enum RequestPriority {
+
+    /**
+     * The control plane requests between servers, e.g., the leader and isr notifications from the
+     * coordinator server and the isr adjustments from the tablet servers.
+     */
+    CONTROL("control"),
+
+    /** The log fetch requests from followers to replicate the log from leaders. */
+    REPLICATION("replication"),
+
+    /** The requests from clients, e.g., produce, fetch, lookup and admin requests. */
+    CLIENT("client");
+
+    private final String metricName;
+
+    RequestPriority(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /** Returns the name used as the variable of the request queue metric group. */
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.fluss.rpc.netty.server;
 
+import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.rpc.RpcGatewayService;
 import org.apache.fluss.rpc.protocol.NetworkProtocolPlugin;
@@ -52,9 +53,19 @@ final class RequestProcessorPool {
         this.processors = new RequestProcessor[numProcessors];
         this.requestChannels = new RequestChannel[numProcessors];
 
+        // register the metrics of the request queues for each priority
+        RequestPriority[] priorities = RequestPriority.values();
+        Histogram[] requestQueueTimeMs = new Histogram[priorities.length];
+        for (RequestPriority priority : priorities) {
+            requestQueueTimeMs[priority.ordinal()] =
+                    requestsMetrics.addRequestQueueMetrics(
+                            priority, () -> getRequestQueueSize(priority));
+        }
+
         RequestHandler<?>[] requestHandlers = initializeRequestHandlers(protocols, service);
         for (int i = 0; i < numProcessors; i++) {
-            requestChannels[i] = new RequestChannel(totalQueueCapacity / numProcessors);
+            requestChannels[i] =
+                    new RequestChannel(totalQueueCapacity / numProcessors, requestQueueTimeMs);
             // bind processor to a single channel to make requests from the
             // same channel processed serializable
             processors[i] = new RequestProcessor(i, requestChannels[i], service, requestHandlers);
@@ -71,6 +82,13 @@ final class RequestProcessorPool {
                 .orElse(0);
     }
 
+    public int getRequestQueueSize(RequestPriority priority) {
+        // sum the requests of the priority in all the requestChannels
+        return Arrays.stream(requestChannels)
+                .mapToInt(channel -> channel.requestsCount(priority))
+                .sum();
+    }
+
     public RequestChannel[] getRequestChannels() {
         return requestChannels;
     }
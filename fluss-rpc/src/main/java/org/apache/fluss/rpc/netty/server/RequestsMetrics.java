@@ -47,6 +47,9 @@ public class RequestsMetrics {
     // the request metric group
     private final MetricGroup requestMetricGroup;
 
+    // the parent group of the metric groups for requests and request queues
+    private final MetricGroup serverMetricsGroup;
+
     private RequestsMetrics(MetricGroup serverMetricsGroup, Collection<ApiKeys> apiKeys) {
         for (ApiKeys apiKey : apiKeys) {
             // we create a metrics group for each type of request, with the request type
@@ -60,6 +63,7 @@ public class RequestsMetrics {
             }
         }
         this.requestMetricGroup = serverMetricsGroup.addGroup("request");
+        this.serverMetricsGroup = serverMetricsGroup;
     }
 
     public static RequestsMetrics createTabletServerRequestMetrics(MetricGroup serverMetricsGroup) {
@@ -67,6 +71,8 @@ public class RequestsMetrics {
                 Arrays.asList(
                         ApiKeys.PRODUCE_LOG,
                         ApiKeys.PUT_KV,
+                        ApiKeys.MULTI_PRODUCE_LOG,
+                        ApiKeys.MULTI_PUT_KV,
                         ApiKeys.LOOKUP,
                         ApiKeys.FETCH_LOG,
                         ApiKeys.PREFIX_LOOKUP,
@@ -85,6 +91,21 @@ public class RequestsMetrics {
         requestMetricGroup.gauge(name, gauge);
     }
 
+    /**
+     * Add a metric group for the request queue of the given priority, which reports the size of the
+     * queue and the time requests wait in the queue.
+     *
+     * @return the histogram of the time requests wait in the queue.
+     */
+    Histogram addRequestQueueMetrics(RequestPriority priority, Gauge<Integer> queueSize) {
+        MetricGroup metricGroup =
+                serverMetricsGroup.addGroup("requestQueue", priority.getMetricName());
+        metricGroup.gauge(MetricNames.REQUEST_QUEUE_SIZE, queueSize);
+        return metricGroup.histogram(
+                MetricNames.REQUEST_QUEUE_TIME_MS,
+                new DescriptiveStatisticsHistogram(Metrics.WINDOW_SIZE));
+    }
+
     /** Add a metric group for given request name. */
     private void addMetrics(MetricGroup parentMetricGroup, String requestName) {
         metricsByRequest.put(
@@ -97,6 +118,10 @@ public class RequestsMetrics {
                 return "produceLog";
             case PUT_KV:
                 return "putKv";
+            case MULTI_PRODUCE_LOG:
+                return "multiProduceLog";
+            case MULTI_PUT_KV:
+                return "multiPutKv";
             case LOOKUP:
                 return "lookup";
             case PREFIX_LOOKUP:
@@ -27,4 +27,9 @@ public interface RpcRequest {
 
     /** Releases the Netty buffer associated with this request. */
     void releaseBuffer();
+
+    /** Returns the priority of the request to be processed, see {@link RequestPriority}. */
+    default RequestPriority getPriority() {
+        return RequestPriority.CLIENT;
+    }
 }
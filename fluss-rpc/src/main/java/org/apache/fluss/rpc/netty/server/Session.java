@@ -29,18 +29,21 @@ public class Session implements Serializable {
     private final boolean isInternal;
     private final InetAddress inetAddress;
     private final FlussPrincipal principal;
+    private final String clientId;
 
     public Session(
             short apiVersion,
             String listenerName,
             boolean isInternal,
             InetAddress inetAddress,
-            FlussPrincipal principal) {
+            FlussPrincipal principal,
+            String clientId) {
         this.apiVersion = apiVersion;
         this.listenerName = listenerName;
         this.isInternal = isInternal;
         this.inetAddress = inetAddress;
         this.principal = principal;
+        this.clientId = clientId;
     }
 
     public short getApiVersion() {
@@ -59,6 +62,11 @@ public class Session implements Serializable {
         return principal;
     }
 
+    /** Returns the client id reported by the client of the connection, empty if not reported. */
+    public String getClientId() {
+        return clientId;
+    }
+
     public boolean isInternal() {
         return isInternal;
     }
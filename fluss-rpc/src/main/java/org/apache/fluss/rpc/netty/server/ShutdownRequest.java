@@ -35,4 +35,10 @@ public class ShutdownRequest implements RpcRequest {
     public void releaseBuffer() {
         // no-op
     }
+
+    @Override
+    public RequestPriority getPriority() {
+        // the lowest priority, so that the requests queued before are processed before shutdown
+        return RequestPriority.CLIENT;
+    }
 }
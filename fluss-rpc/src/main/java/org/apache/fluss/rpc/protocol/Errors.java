@@ -28,10 +28,12 @@ import org.apache.fluss.exception.DatabaseNotExistException;
 import org.apache.fluss.exception.DuplicateSequenceException;
 import org.apache.fluss.exception.FencedLeaderEpochException;
 import org.apache.fluss.exception.FencedTieringEpochException;
+import org.apache.fluss.exception.FetchSessionIdNotFoundException;
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.exception.InvalidConfigException;
 import org.apache.fluss.exception.InvalidCoordinatorException;
 import org.apache.fluss.exception.InvalidDatabaseException;
+import org.apache.fluss.exception.InvalidFetchSessionEpochException;
 import org.apache.fluss.exception.InvalidPartitionException;
 import org.apache.fluss.exception.InvalidReplicationFactorException;
 import org.apache.fluss.exception.InvalidRequiredAcksException;
@@ -68,7 +70,9 @@ import org.apache.fluss.exception.TableNotExistException;
 import org.apache.fluss.exception.TableNotPartitionedException;
 import org.apache.fluss.exception.TimeoutException;
 import org.apache.fluss.exception.TooManyBucketsException;
+import org.apache.fluss.exception.TooManyKvScannersException;
 import org.apache.fluss.exception.TooManyPartitionsException;
+import org.apache.fluss.exception.UnknownKvScannerException;
 import org.apache.fluss.exception.UnknownServerException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
 import org.apache.fluss.exception.UnknownWriterIdException;
@@ -217,7 +221,19 @@ public enum Errors {
     LAKE_SNAPSHOT_NOT_EXIST(
             53, "The lake snapshot is not exist.", LakeTableSnapshotNotExistException::new),
     LAKE_TABLE_ALREADY_EXIST(
-            54, "The lake table already exists.", LakeTableAlreadyExistException::new);
+            54, "The lake table already exists.", LakeTableAlreadyExistException::new),
+    UNKNOWN_KV_SCANNER_EXCEPTION(
+            55, "The kv scanner is unknown or expired.", UnknownKvScannerException::new),
+    TOO_MANY_KV_SCANNERS_EXCEPTION(
+            56, "Exceed the maximum number of kv scanners.", TooManyKvScannersException::new),
+    FETCH_SESSION_ID_NOT_FOUND_EXCEPTION(
+            57,
+            "The fetch session is not found or expired.",
+            FetchSessionIdNotFoundException::new),
+    INVALID_FETCH_SESSION_EPOCH_EXCEPTION(
+            58,
+            "The epoch of the fetch session is invalid.",
+            InvalidFetchSessionEpochException::new);
 
     private static final Logger LOG = LoggerFactory.getLogger(Errors.class);
 
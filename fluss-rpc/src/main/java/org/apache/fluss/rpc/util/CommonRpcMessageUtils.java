@@ -160,6 +160,12 @@ public class CommonRpcMessageUtils {
         if (respForBucket.hasErrorCode()) {
             fetchLogResultForBucket =
                     new FetchLogResultForBucket(tb, ApiError.fromErrorMessage(respForBucket));
+        } else if (respForBucket.hasPreferredReadReplica()) {
+            fetchLogResultForBucket =
+                    new FetchLogResultForBucket(
+                            tb,
+                            respForBucket.getPreferredReadReplica(),
+                            respForBucket.getHighWatermark());
         } else {
             if (respForBucket.hasRemoteLogFetchInfo()) {
                 PbRemoteLogFetchInfo pbRlfInfo = respForBucket.getRemoteLogFetchInfo();
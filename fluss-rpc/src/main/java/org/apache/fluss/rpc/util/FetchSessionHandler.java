@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbTableBucket;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the fetch session of a fetcher with a tablet server, which is used by both the follower
+ * replicas and the log scanners to build the fetch log requests sent to the tablet server.
+ *
+ * <p>The first request of a session carries all the buckets to fetch, and the tablet server caches
+ * them in the session. The following incremental requests only carry the buckets which are added to
+ * the session or whose fetch offset changed, and the buckets removed from the session. The
+ * responses of the session only carry the buckets with records, errors or a changed high
+ * watermark.
+ *
+ * <p>Only one request of a session can be in flight at a time, the response of a request which is
+ * not the latest prepared request is ignored. The table level settings of the buckets, e.g. the
+ * projection, must not change within a session. If a request fails, the next request starts a new
+ * session.
+ */
+@ThreadSafe
+public final class FetchSessionHandler {
+
+    /** The session id which means there is no session. */
+    public static final int INVALID_SESSION_ID = 0;
+
+    /** The epoch of the request which creates a new session and carries all the buckets. */
+    public static final int INITIAL_EPOCH = 0;
+
+    private final boolean enabled;
+
+    @GuardedBy("this")
+    private int sessionId = INVALID_SESSION_ID;
+
+    @GuardedBy("this")
+    private int nextEpoch = INITIAL_EPOCH;
+
+    /** The buckets of the session, as known by the tablet server. */
+    @GuardedBy("this")
+    private Map<TableBucket, PbFetchLogReqForBucket> sessionBuckets = Collections.emptyMap();
+
+    /** The latest prepared request, and the buckets of the session after it succeeds. */
+    @GuardedBy("this")
+    @Nullable
+    private FetchLogRequest pendingRequest;
+
+    @GuardedBy("this")
+    private Map<TableBucket, PbFetchLogReqForBucket> pendingBuckets = Collections.emptyMap();
+
+    public FetchSessionHandler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets the session of the next request, and returns the buckets the request must carry grouped
+     * by table id.
+     *
+     * @param request the request to send
+     * @param buckets all the buckets to fetch, in the order of the priority to fetch
+     */
+    public synchronized Map<Long, List<PbFetchLogReqForBucket>> prepareRequest(
+            FetchLogRequest request, Map<TableBucket, PbFetchLogReqForBucket> buckets) {
+        Map<Long, List<PbFetchLogReqForBucket>> bucketsToSend = new LinkedHashMap<>();
+        if (!enabled || nextEpoch == INITIAL_EPOCH) {
+            buckets.forEach((tb, bucket) -> addBucket(bucketsToSend, tb, bucket));
+        } else {
+            buckets.forEach(
+                    (tb, bucket) -> {
+                        PbFetchLogReqForBucket sent = sessionBuckets.get(tb);
+                        if (sent == null
+                                || sent.getFetchOffset() != bucket.getFetchOffset()
+                                || sent.getMaxFetchBytes() != bucket.getMaxFetchBytes()) {
+                            addBucket(bucketsToSend, tb, bucket);
+                        }
+                    });
+            for (TableBucket tb : sessionBuckets.keySet()) {
+                if (!buckets.containsKey(tb)) {
+                    PbTableBucket forgottenBucket =
+                            request.addForgottenBucket()
+                                    .setTableId(tb.getTableId())
+                                    .setBucketId(tb.getBucket());
+                    if (tb.getPartitionId() != null) {
+                        forgottenBucket.setPartitionId(tb.getPartitionId());
+                    }
+                }
+            }
+        }
+
+        if (enabled) {
+            request.setSessionEpoch(nextEpoch);
+            if (sessionId != INVALID_SESSION_ID) {
+                request.setSessionId(sessionId);
+            }
+            pendingRequest = request;
+            pendingBuckets = new HashMap<>(buckets);
+        }
+        return bucketsToSend;
+    }
+
+    /** Updates the session with the response of the request. */
+    public synchronized void handleResponse(FetchLogRequest request, FetchLogResponse response) {
+        if (!enabled || request != pendingRequest) {
+            return;
+        }
+        if (!response.hasSessionId()) {
+            // the tablet server doesn't create a session, e.g. the sessions are full
+            reset(INVALID_SESSION_ID);
+        } else {
+            sessionId = response.getSessionId();
+            sessionBuckets = pendingBuckets;
+            pendingRequest = null;
+            pendingBuckets = Collections.emptyMap();
+            nextEpoch = nextEpoch == Integer.MAX_VALUE ? 1 : nextEpoch + 1;
+        }
+    }
+
+    /**
+     * Handles the failure of the request, the next request creates a new session and closes the
+     * current one.
+     */
+    public synchronized void handleError(FetchLogRequest request) {
+        if (enabled && request == pendingRequest) {
+            reset(sessionId);
+        }
+    }
+
+    @GuardedBy("this")
+    private void reset(int sessionId) {
+        this.sessionId = sessionId;
+        this.nextEpoch = INITIAL_EPOCH;
+        this.sessionBuckets = Collections.emptyMap();
+        this.pendingRequest = null;
+        this.pendingBuckets = Collections.emptyMap();
+    }
+
+    private static void addBucket(
+            Map<Long, List<PbFetchLogReqForBucket>> bucketsToSend,
+            TableBucket tableBucket,
+            PbFetchLogReqForBucket bucket) {
+        bucketsToSend
+                .computeIfAbsent(tableBucket.getTableId(), key -> new ArrayList<>())
+                .add(bucket);
+    }
+
+    @VisibleForTesting
+    synchronized int getSessionId() {
+        return sessionId;
+    }
+
+    @VisibleForTesting
+    synchronized int getNextEpoch() {
+        return nextEpoch;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.predicate.And;
+import org.apache.fluss.predicate.CompoundPredicate;
+import org.apache.fluss.predicate.Contains;
+import org.apache.fluss.predicate.EndsWith;
+import org.apache.fluss.predicate.Equal;
+import org.apache.fluss.predicate.GreaterOrEqual;
+import org.apache.fluss.predicate.GreaterThan;
+import org.apache.fluss.predicate.In;
+import org.apache.fluss.predicate.IsNotNull;
+import org.apache.fluss.predicate.IsNull;
+import org.apache.fluss.predicate.LeafFunction;
+import org.apache.fluss.predicate.LeafPredicate;
+import org.apache.fluss.predicate.LessOrEqual;
+import org.apache.fluss.predicate.LessThan;
+import org.apache.fluss.predicate.NotEqual;
+import org.apache.fluss.predicate.NotIn;
+import org.apache.fluss.predicate.Or;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateVisitor;
+import org.apache.fluss.predicate.StartsWith;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.row.indexed.IndexedRowWriter;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.rpc.messages.PbPredicateNode;
+import org.apache.fluss.types.BytesType;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.types.StringType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utils for converting {@link Predicate} to {@link PbPredicate} and vice versa, which is used to
+ * push down the filter of log scans to the server.
+ *
+ * <p>The predicate tree is flattened into nodes in pre-order, as the message can't be recursive.
+ * The literals of a leaf predicate are encoded as an {@link IndexedRow} of the type of the field,
+ * and decoded with the type of the field in the schema of the server.
+ */
+public class PredicateMessageUtils {
+
+    private static final Map<String, LeafFunction> LEAF_FUNCTIONS = new HashMap<>();
+    private static final Map<String, CompoundPredicate.Function> COMPOUND_FUNCTIONS =
+            new HashMap<>();
+
+    static {
+        LEAF_FUNCTIONS.put("EQUAL", Equal.INSTANCE);
+        LEAF_FUNCTIONS.put("NOT_EQUAL", NotEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("LESS_THAN", LessThan.INSTANCE);
+        LEAF_FUNCTIONS.put("LESS_OR_EQUAL", LessOrEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("GREATER_THAN", GreaterThan.INSTANCE);
+        LEAF_FUNCTIONS.put("GREATER_OR_EQUAL", GreaterOrEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("IS_NULL", IsNull.INSTANCE);
+        LEAF_FUNCTIONS.put("IS_NOT_NULL", IsNotNull.INSTANCE);
+        LEAF_FUNCTIONS.put("STARTS_WITH", StartsWith.INSTANCE);
+        LEAF_FUNCTIONS.put("ENDS_WITH", EndsWith.INSTANCE);
+        LEAF_FUNCTIONS.put("CONTAINS", Contains.INSTANCE);
+        LEAF_FUNCTIONS.put("IN", In.INSTANCE);
+        LEAF_FUNCTIONS.put("NOT_IN", NotIn.INSTANCE);
+        COMPOUND_FUNCTIONS.put("AND", And.INSTANCE);
+        COMPOUND_FUNCTIONS.put("OR", Or.INSTANCE);
+    }
+
+    /** Converts the predicate to {@link PbPredicate}. */
+    public static PbPredicate toPbPredicate(Predicate predicate) {
+        PbPredicate pbPredicate = new PbPredicate();
+        predicate.visit(new PbPredicateNodeWriter(pbPredicate));
+        return pbPredicate;
+    }
+
+    /**
+     * Converts the {@link PbPredicate} to predicate on the given row type.
+     *
+     * @return the predicate, or null if the predicate can't be applied to the given row type (e.g.,
+     *     the field doesn't exist, or the function is unknown).
+     */
+    @Nullable
+    public static Predicate toPredicate(PbPredicate pbPredicate, RowType rowType) {
+        List<PbPredicateNode> nodes = pbPredicate.getNodesList();
+        int[] position = new int[] {0};
+        Predicate predicate = readNode(nodes, position, rowType);
+        if (predicate == null || position[0] != nodes.size()) {
+            return null;
+        }
+        return predicate;
+    }
+
+    @Nullable
+    private static Predicate readNode(
+            List<PbPredicateNode> nodes, int[] position, RowType rowType) {
+        if (position[0] >= nodes.size()) {
+            return null;
+        }
+        PbPredicateNode node = nodes.get(position[0]++);
+        CompoundPredicate.Function compoundFunction = COMPOUND_FUNCTIONS.get(node.getFunction());
+        if (compoundFunction != null) {
+            int childrenCount = node.hasChildrenCount() ? node.getChildrenCount() : 0;
+            if (childrenCount <= 0) {
+                return null;
+            }
+            List<Predicate> children = new ArrayList<>(childrenCount);
+            for (int i = 0; i < childrenCount; i++) {
+                Predicate child = readNode(nodes, position, rowType);
+                if (child == null) {
+                    return null;
+                }
+                children.add(child);
+            }
+            return new CompoundPredicate(compoundFunction, children);
+        }
+
+        LeafFunction leafFunction = LEAF_FUNCTIONS.get(node.getFunction());
+        if (leafFunction == null || !node.hasFieldIndex()) {
+            return null;
+        }
+        int fieldIndex = node.getFieldIndex();
+        if (fieldIndex < 0 || fieldIndex >= rowType.getFieldCount()) {
+            return null;
+        }
+        DataType fieldType = rowType.getTypeAt(fieldIndex);
+        int literalsCount = node.hasLiteralsCount() ? node.getLiteralsCount() : 0;
+        List<Object> literals;
+        if (literalsCount == 0) {
+            literals = Collections.emptyList();
+        } else if (!node.hasLiterals()) {
+            return null;
+        } else {
+            literals = readLiterals(node.getLiterals(), literalsCount, fieldType);
+        }
+        return new LeafPredicate(
+                leafFunction,
+                fieldType,
+                fieldIndex,
+                rowType.getFieldNames().get(fieldIndex),
+                literals);
+    }
+
+    private static List<Object> readLiterals(byte[] bytes, int literalsCount, DataType fieldType) {
+        DataType literalType = literalType(fieldType);
+        DataType[] types = new DataType[literalsCount];
+        Arrays.fill(types, literalType);
+        IndexedRow row = new IndexedRow(types);
+        row.pointTo(MemorySegment.wrap(bytes), 0, bytes.length);
+        List<Object> literals = new ArrayList<>(literalsCount);
+        for (int i = 0; i < literalsCount; i++) {
+            literals.add(InternalRow.createFieldGetter(literalType, i).getFieldOrNull(row));
+        }
+        return literals;
+    }
+
+    private static byte[] writeLiterals(List<Object> literals, DataType fieldType) {
+        DataType literalType = literalType(fieldType);
+        DataType[] types = new DataType[literals.size()];
+        Arrays.fill(types, literalType);
+        IndexedRowWriter writer = new IndexedRowWriter(types);
+        IndexedRowWriter.FieldWriter fieldWriter = IndexedRowWriter.createFieldWriter(literalType);
+        for (int i = 0; i < literals.size(); i++) {
+            Object literal = literals.get(i);
+            if (literal == null) {
+                writer.setNullAt(i);
+            } else {
+                fieldWriter.writeField(writer, i, literal);
+            }
+        }
+        return Arrays.copyOf(writer.buffer(), writer.position());
+    }
+
+    /**
+     * Returns the type to encode the literals of the given field type, the literals of CHAR(n) and
+     * BINARY(n) are encoded as variable-length values to avoid padding.
+     */
+    private static DataType literalType(DataType fieldType) {
+        switch (fieldType.getTypeRoot()) {
+            case CHAR:
+                return new StringType(true);
+            case BINARY:
+                return new BytesType(true);
+            default:
+                return fieldType.copy(true);
+        }
+    }
+
+    private static String nameOf(LeafFunction function) {
+        for (Map.Entry<String, LeafFunction> entry : LEAF_FUNCTIONS.entrySet()) {
+            if (entry.getValue().equals(function)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Unsupported leaf function: " + function);
+    }
+
+    private static String nameOf(CompoundPredicate.Function function) {
+        for (Map.Entry<String, CompoundPredicate.Function> entry : COMPOUND_FUNCTIONS.entrySet()) {
+            if (entry.getValue().equals(function)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Unsupported compound function: " + function);
+    }
+
+    /** A {@link PredicateVisitor} to write the nodes of the predicate tree in pre-order. */
+    private static class PbPredicateNodeWriter implements PredicateVisitor<Void> {
+
+        private final PbPredicate pbPredicate;
+
+        private PbPredicateNodeWriter(PbPredicate pbPredicate) {
+            this.pbPredicate = pbPredicate;
+        }
+
+        @Override
+        public Void visit(LeafPredicate predicate) {
+            PbPredicateNode node =
+                    pbPredicate
+                            .addNode()
+                            .setFunction(nameOf(predicate.function()))
+                            .setFieldIndex(predicate.index());
+            List<Object> literals = predicate.literals();
+            if (literals != null && !literals.isEmpty()) {
+                node.setLiteralsCount(literals.size())
+                        .setLiterals(writeLiterals(literals, predicate.type()));
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(CompoundPredicate predicate) {
+            pbPredicate
+                    .addNode()
+                    .setFunction(nameOf(predicate.function()))
+                    .setChildrenCount(predicate.children().size());
+            for (Predicate child : predicate.children()) {
+                child.visit(this);
+            }
+            return null;
+        }
+    }
+}
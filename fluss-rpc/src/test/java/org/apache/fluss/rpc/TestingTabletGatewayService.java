@@ -39,6 +39,8 @@ import org.apache.fluss.rpc.messages.GetTableSchemaRequest;
 import org.apache.fluss.rpc.messages.GetTableSchemaResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
 import org.apache.fluss.rpc.messages.LimitScanRequest;
 import org.apache.fluss.rpc.messages.LimitScanResponse;
 import org.apache.fluss.rpc.messages.ListAclsRequest;
@@ -55,6 +57,10 @@ import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
 import org.apache.fluss.rpc.messages.MetadataRequest;
 import org.apache.fluss.rpc.messages.MetadataResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetRequest;
@@ -69,6 +75,8 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.TableExistsRequest;
@@ -118,6 +126,17 @@ public class TestingTabletGatewayService extends TestingGatewayService
         return null;
     }
 
+    @Override
+    public CompletableFuture<MultiProduceLogResponse> multiProduceLog(
+            MultiProduceLogRequest request) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<MultiPutKvResponse> multiPutKv(MultiPutKvRequest request) {
+        return null;
+    }
+
     @Override
     public CompletableFuture<LookupResponse> lookup(LookupRequest request) {
         return null;
@@ -133,6 +152,16 @@ public class TestingTabletGatewayService extends TestingGatewayService
         return null;
     }
 
+    @Override
+    public CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<KvScanResponse> kvScan(KvScanRequest request) {
+        return null;
+    }
+
     @Override
     public CompletableFuture<ListOffsetsResponse> listOffsets(ListOffsetsRequest request) {
         return null;
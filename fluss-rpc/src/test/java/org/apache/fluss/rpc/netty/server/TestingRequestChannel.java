@@ -18,6 +18,7 @@
 package org.apache.fluss.rpc.netty.server;
 
 import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
 
 /** A testing request channel that can receive requests and deal with requests. */
 final class TestingRequestChannel extends RequestChannel {
@@ -27,28 +28,30 @@ final class TestingRequestChannel extends RequestChannel {
     }
 
     public RpcRequest getAndRemoveRequest(int index) {
-        if (requestQueue.isEmpty()) {
+        int requestsCount = requestsCount();
+        if (requestsCount == 0) {
             throw new IllegalStateException("No requests pending for request channel.");
         }
 
         // Index out of bounds check.
-        if (index >= requestQueue.size()) {
+        if (index >= requestsCount) {
             throw new IllegalArgumentException(
                     "Index " + index + " is out of bounds for request channel.");
         }
 
+        // iterate the requests in the order they would be polled
         int currentIndex = 0;
-        RpcRequest request = null;
-        for (Iterator<RpcRequest> it = requestQueue.iterator(); it.hasNext(); ) {
-            RpcRequest rpcRequest = it.next();
-            if (currentIndex == index) {
-                it.remove();
-                request = rpcRequest;
-                break;
+        for (BlockingQueue<QueuedRequest> requestQueue : requestQueues) {
+            for (Iterator<QueuedRequest> it = requestQueue.iterator(); it.hasNext(); ) {
+                QueuedRequest queuedRequest = it.next();
+                if (currentIndex == index) {
+                    it.remove();
+                    queuedRequests.acquireUninterruptibly();
+                    return queuedRequest.request;
+                }
+                currentIndex++;
             }
-            currentIndex++;
         }
-
-        return request;
+        return null;
     }
 }
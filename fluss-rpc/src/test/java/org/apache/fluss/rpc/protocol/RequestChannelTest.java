@@ -17,11 +17,17 @@
 
 package org.apache.fluss.rpc.protocol;
 
+import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
+import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.rpc.messages.ApiMessage;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.GetTableInfoRequest;
+import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
 import org.apache.fluss.rpc.netty.server.FlussRequest;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
+import org.apache.fluss.rpc.netty.server.RequestPriority;
 import org.apache.fluss.rpc.netty.server.RpcRequest;
+import org.apache.fluss.rpc.netty.server.ShutdownRequest;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.EmptyByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.UnpooledByteBufAllocator;
 
@@ -56,6 +62,7 @@ public class RequestChannelTest {
                             true,
                             null,
                             null,
+                            "",
                             new CompletableFuture<>());
             channel.putRequest(rpcRequest);
             rpcRequests.add(rpcRequest);
@@ -66,33 +73,12 @@ public class RequestChannelTest {
             assertThat(gotRequest).isEqualTo(rpcRequests.get(i));
         }
 
-        // 2. Different request type, Use FIFO.
-        RpcRequest rpcRequest1 =
-                new FlussRequest(
-                        ApiKeys.GET_TABLE_INFO.id,
-                        (short) 0,
-                        3,
-                        null,
-                        new GetTableInfoRequest(),
-                        new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
-                        "FLUSS",
-                        true,
-                        null,
-                        null,
-                        new CompletableFuture<>());
+        // 2. Different request type of the same priority, Use FIFO.
+        RpcRequest rpcRequest1 = createRequest(ApiKeys.GET_TABLE_INFO, new GetTableInfoRequest());
         RpcRequest rpcRequest2 =
-                new FlussRequest(
-                        ApiKeys.FETCH_LOG.id,
-                        (short) 0,
-                        100,
-                        null,
-                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2),
-                        new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
-                        "FLUSS",
-                        true,
-                        null,
-                        null,
-                        new CompletableFuture<>());
+                createRequest(
+                        ApiKeys.FETCH_LOG,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(-1));
         channel.putRequest(rpcRequest1);
         channel.putRequest(rpcRequest2);
         RpcRequest rpcRequest = channel.pollRequest(100);
@@ -100,4 +86,97 @@ public class RequestChannelTest {
         rpcRequest = channel.pollRequest(100);
         assertThat(rpcRequest).isEqualTo(rpcRequest2);
     }
+
+    @Test
+    void testRequestsPriority() throws Exception {
+        Histogram[] requestQueueTimeMs = new Histogram[RequestPriority.values().length];
+        for (int i = 0; i < requestQueueTimeMs.length; i++) {
+            requestQueueTimeMs[i] = new DescriptiveStatisticsHistogram(100);
+        }
+        RequestChannel channel = new RequestChannel(100, requestQueueTimeMs);
+
+        RpcRequest clientRequest = createRequest(ApiKeys.GET_TABLE_INFO, new GetTableInfoRequest());
+        RpcRequest clientFetchRequest =
+                createRequest(
+                        ApiKeys.FETCH_LOG,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(-1));
+        RpcRequest followerFetchRequest =
+                createRequest(
+                        ApiKeys.FETCH_LOG,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2));
+        RpcRequest controlRequest =
+                createRequest(ApiKeys.NOTIFY_LEADER_AND_ISR, new NotifyLeaderAndIsrRequest());
+        assertThat(clientRequest.getPriority()).isEqualTo(RequestPriority.CLIENT);
+        assertThat(clientFetchRequest.getPriority()).isEqualTo(RequestPriority.CLIENT);
+        assertThat(followerFetchRequest.getPriority()).isEqualTo(RequestPriority.REPLICATION);
+        assertThat(controlRequest.getPriority()).isEqualTo(RequestPriority.CONTROL);
+
+        channel.putRequest(clientRequest);
+        channel.putRequest(clientFetchRequest);
+        channel.putRequest(followerFetchRequest);
+        channel.putRequest(controlRequest);
+        channel.putShutdownRequest();
+
+        // higher priority first, and FIFO for the same priority
+        assertThat(channel.pollRequest(100)).isEqualTo(controlRequest);
+        assertThat(channel.pollRequest(100)).isEqualTo(followerFetchRequest);
+        assertThat(channel.pollRequest(100)).isEqualTo(clientRequest);
+        assertThat(channel.pollRequest(100)).isEqualTo(clientFetchRequest);
+        assertThat(channel.pollRequest(100)).isEqualTo(ShutdownRequest.INSTANCE);
+        assertThat(channel.pollRequest(10)).isNull();
+
+        assertThat(requestQueueTimeMs[RequestPriority.CONTROL.ordinal()].getCount()).isEqualTo(1);
+        assertThat(requestQueueTimeMs[RequestPriority.REPLICATION.ordinal()].getCount())
+                .isEqualTo(1);
+        assertThat(requestQueueTimeMs[RequestPriority.CLIENT.ordinal()].getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testFullClientQueueNotBlockOtherPriorities() throws Exception {
+        RequestChannel channel = new RequestChannel(1);
+        channel.putRequest(createRequest(ApiKeys.GET_TABLE_INFO, new GetTableInfoRequest()));
+        // the queue of client requests is full, but the follower fetch can still be queued
+        RpcRequest followerFetchRequest =
+                createRequest(
+                        ApiKeys.FETCH_LOG,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2));
+        channel.putRequest(followerFetchRequest);
+        assertThat(channel.pollRequest(100)).isEqualTo(followerFetchRequest);
+    }
+
+    @Test
+    void testExternalRequestsNotPrioritized() {
+        // an external client can't jump the queue by claiming a follower id
+        RpcRequest externalFetchRequest =
+                createRequest(
+                        ApiKeys.FETCH_LOG,
+                        new FetchLogRequest().setMaxBytes(100).setFollowerServerId(2),
+                        false);
+        assertThat(externalFetchRequest.getPriority()).isEqualTo(RequestPriority.CLIENT);
+        RpcRequest externalControlRequest =
+                createRequest(
+                        ApiKeys.NOTIFY_LEADER_AND_ISR, new NotifyLeaderAndIsrRequest(), false);
+        assertThat(externalControlRequest.getPriority()).isEqualTo(RequestPriority.CLIENT);
+    }
+
+    private static RpcRequest createRequest(ApiKeys apiKey, ApiMessage message) {
+        return createRequest(apiKey, message, true);
+    }
+
+    private static RpcRequest createRequest(
+            ApiKeys apiKey, ApiMessage message, boolean isInternal) {
+        return new FlussRequest(
+                apiKey.id,
+                (short) 0,
+                0,
+                null,
+                message,
+                new EmptyByteBuf(new UnpooledByteBufAllocator(true, true)),
+                "FLUSS",
+                isInternal,
+                null,
+                null,
+                "",
+                new CompletableFuture<>());
+    }
 }
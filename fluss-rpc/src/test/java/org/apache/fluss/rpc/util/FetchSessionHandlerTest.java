@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbTableBucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link FetchSessionHandler}. */
+class FetchSessionHandlerTest {
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final TableBucket TB2 = new TableBucket(2L, 10L, 0);
+
+    @Test
+    void testIncrementalRequest() {
+        FetchSessionHandler handler = new FetchSessionHandler(true);
+
+        // the first request carries all the buckets
+        FetchLogRequest request = new FetchLogRequest();
+        Map<Long, List<PbFetchLogReqForBucket>> sent =
+                handler.prepareRequest(request, buckets(0L, 0L, -1L));
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        assertThat(request.hasSessionId()).isFalse();
+        assertThat(sent.get(1L)).hasSize(2);
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+        assertThat(handler.getSessionId()).isEqualTo(100);
+        assertThat(handler.getNextEpoch()).isEqualTo(1);
+
+        // only the changed and added buckets are sent, the removed buckets are forgotten
+        request = new FetchLogRequest();
+        sent = handler.prepareRequest(request, buckets(0L, 10L, 0L));
+        assertThat(request.getSessionId()).isEqualTo(100);
+        assertThat(request.getSessionEpoch()).isEqualTo(1);
+        assertThat(request.getForgottenBucketsCount()).isEqualTo(0);
+        assertThat(sent).containsOnlyKeys(1L, 2L);
+        assertThat(sent.get(1L)).hasSize(1);
+        assertThat(sent.get(1L).get(0).getBucketId()).isEqualTo(1);
+        assertThat(sent.get(1L).get(0).getFetchOffset()).isEqualTo(10L);
+        assertThat(sent.get(2L)).hasSize(1);
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+
+        request = new FetchLogRequest();
+        sent = handler.prepareRequest(request, buckets(0L, 10L, -1L));
+        assertThat(request.getSessionEpoch()).isEqualTo(2);
+        assertThat(sent).isEmpty();
+        assertThat(request.getForgottenBucketsCount()).isEqualTo(1);
+        PbTableBucket forgotten = request.getForgottenBucketsList().get(0);
+        assertThat(forgotten.getTableId()).isEqualTo(2L);
+        assertThat(forgotten.getPartitionId()).isEqualTo(10L);
+        assertThat(forgotten.getBucketId()).isEqualTo(0);
+
+        // the response of a stale request is ignored
+        FetchLogRequest staleRequest = request;
+        request = new FetchLogRequest();
+        handler.prepareRequest(request, buckets(0L, 10L, -1L));
+        handler.handleResponse(staleRequest, new FetchLogResponse().setSessionId(100));
+        assertThat(handler.getNextEpoch()).isEqualTo(2);
+
+        // a failed request starts a new session
+        handler.handleError(request);
+        request = new FetchLogRequest();
+        sent = handler.prepareRequest(request, buckets(0L, 10L, -1L));
+        assertThat(request.getSessionId()).isEqualTo(100);
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        assertThat(sent.get(1L)).hasSize(2);
+
+        // the server doesn't create a session
+        handler.handleResponse(request, new FetchLogResponse());
+        assertThat(handler.getSessionId()).isEqualTo(INVALID_SESSION_ID);
+        assertThat(handler.getNextEpoch()).isEqualTo(INITIAL_EPOCH);
+    }
+
+    @Test
+    void testSessionDisabled() {
+        FetchSessionHandler handler = new FetchSessionHandler(false);
+        for (int i = 0; i < 2; i++) {
+            FetchLogRequest request = new FetchLogRequest();
+            Map<Long, List<PbFetchLogReqForBucket>> sent =
+                    handler.prepareRequest(request, buckets(0L, 0L, 0L));
+            assertThat(request.hasSessionEpoch()).isFalse();
+            assertThat(request.hasSessionId()).isFalse();
+            assertThat(sent.get(1L)).hasSize(2);
+            assertThat(sent.get(2L)).hasSize(1);
+            handler.handleResponse(request, new FetchLogResponse());
+        }
+    }
+
+    /** Builds the buckets to fetch with the fetch offsets, a negative offset means not to fetch. */
+    private static Map<TableBucket, PbFetchLogReqForBucket> buckets(
+            long offset0, long offset1, long offset2) {
+        Map<TableBucket, PbFetchLogReqForBucket> buckets = new LinkedHashMap<>();
+        addBucket(buckets, TB0, offset0);
+        addBucket(buckets, TB1, offset1);
+        addBucket(buckets, TB2, offset2);
+        return buckets;
+    }
+
+    private static void addBucket(
+            Map<TableBucket, PbFetchLogReqForBucket> buckets, TableBucket tb, long offset) {
+        if (offset < 0) {
+            return;
+        }
+        PbFetchLogReqForBucket bucket =
+                new PbFetchLogReqForBucket()
+                        .setBucketId(tb.getBucket())
+                        .setFetchOffset(offset)
+                        .setMaxFetchBytes(1024);
+        if (tb.getPartitionId() != null) {
+            bucket.setPartitionId(tb.getPartitionId());
+        }
+        buckets.put(tb, bucket);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.TimestampNtz;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPbPredicate;
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link PredicateMessageUtils}. */
+class PredicateMessageUtilsTest {
+
+    private static final RowType ROW_TYPE =
+            DataTypes.ROW(
+                    DataTypes.FIELD("a", DataTypes.INT()),
+                    DataTypes.FIELD("b", DataTypes.STRING()),
+                    DataTypes.FIELD("c", DataTypes.CHAR(5)),
+                    DataTypes.FIELD("d", DataTypes.DECIMAL(10, 2)),
+                    DataTypes.FIELD("e", DataTypes.TIMESTAMP(6)),
+                    DataTypes.FIELD("f", DataTypes.BIGINT()));
+
+    @Test
+    void testConvertPredicate() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        Predicate predicate =
+                PredicateBuilder.and(
+                        builder.greaterThan(0, 10),
+                        PredicateBuilder.or(
+                                builder.equal(1, BinaryString.fromString("hello")),
+                                builder.isNull(1)),
+                        builder.notEqual(2, BinaryString.fromString("ab")),
+                        builder.lessOrEqual(
+                                3, Decimal.fromBigDecimal(new BigDecimal("12.34"), 10, 2)),
+                        builder.greaterOrEqual(4, TimestampNtz.fromMillis(1000L, 123)),
+                        builder.in(5, Arrays.asList(1L, 2L, null, 4L)),
+                        builder.startsWith(1, BinaryString.fromString("he")));
+        PbPredicate pbPredicate = toPbPredicate(predicate);
+
+        // serialize and deserialize the message
+        PbPredicate deserialized = new PbPredicate();
+        deserialized.parseFrom(pbPredicate.toByteArray());
+        Predicate converted = toPredicate(deserialized, ROW_TYPE);
+        assertThat(converted).isEqualTo(predicate);
+    }
+
+    @Test
+    void testConvertInWithManyLiterals() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        Object[] literals = new Object[30];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = i;
+        }
+        // more than 20 literals are kept in a single IN predicate
+        Predicate predicate = builder.in(0, Arrays.asList(literals)).negate().get();
+        assertThat(toPredicate(toPbPredicate(predicate), ROW_TYPE)).isEqualTo(predicate);
+    }
+
+    @Test
+    void testConvertPredicateNotApplicable() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        PbPredicate pbPredicate =
+                toPbPredicate(PredicateBuilder.and(builder.isNull(0), builder.equal(5, 1L)));
+        // the field doesn't exist in the row type
+        RowType rowType =
+                DataTypes.ROW(
+                        DataTypes.FIELD("a", DataTypes.INT()),
+                        DataTypes.FIELD("b", DataTypes.STRING()));
+        assertThat(toPredicate(pbPredicate, rowType)).isNull();
+
+        // unknown function
+        pbPredicate.getNodeAt(1).setFunction("UNKNOWN");
+        assertThat(toPredicate(pbPredicate, ROW_TYPE)).isNull();
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.fluss.server.entity;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.rpc.messages.PbPredicate;
 
 import javax.annotation.Nullable;
 
@@ -31,6 +32,12 @@ public final class FetchReqInfo {
     private final long fetchOffset;
     @Nullable private final int[] projectFields;
 
+    /**
+     * The filter to skip the batches which can't match, it's decoded with the schema of the
+     * replica. No filter if is null.
+     */
+    @Nullable private final PbPredicate filter;
+
     private int maxBytes;
 
     public FetchReqInfo(long tableId, long fetchOffset, int maxBytes) {
@@ -39,10 +46,20 @@ public final class FetchReqInfo {
 
     public FetchReqInfo(
             long tableId, long fetchOffset, int maxBytes, @Nullable int[] projectFields) {
+        this(tableId, fetchOffset, maxBytes, projectFields, null);
+    }
+
+    public FetchReqInfo(
+            long tableId,
+            long fetchOffset,
+            int maxBytes,
+            @Nullable int[] projectFields,
+            @Nullable PbPredicate filter) {
         this.tableId = tableId;
         this.fetchOffset = fetchOffset;
         this.maxBytes = maxBytes;
         this.projectFields = projectFields;
+        this.filter = filter;
     }
 
     public long getTableId() {
@@ -66,6 +83,11 @@ public final class FetchReqInfo {
         return projectFields;
     }
 
+    @Nullable
+    public PbPredicate getFilter() {
+        return filter;
+    }
+
     @Override
     public String toString() {
         return "FetchData{"
@@ -77,6 +99,8 @@ public final class FetchReqInfo {
                 + maxBytes
                 + ", projectionFields="
                 + Arrays.toString(projectFields)
+                + ", hasFilter="
+                + (filter != null)
                 + '}';
     }
 
@@ -97,11 +121,26 @@ public final class FetchReqInfo {
             return false;
         }
 
+        if (!Arrays.equals(filterBytes(), fetchReqInfo.filterBytes())) {
+            return false;
+        }
+
         return fetchOffset == fetchReqInfo.fetchOffset && maxBytes == fetchReqInfo.maxBytes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(tableId, fetchOffset, maxBytes, Arrays.hashCode(projectFields));
+        return Objects.hash(
+                tableId,
+                fetchOffset,
+                maxBytes,
+                Arrays.hashCode(projectFields),
+                Arrays.hashCode(filterBytes()));
+    }
+
+    /** The generated {@link PbPredicate} has no value equality, so compare its encoded form. */
+    @Nullable
+    private byte[] filterBytes() {
+        return filter == null ? null : filter.toByteArray();
     }
 }
@@ -82,6 +82,9 @@ public final class KvManager extends TabletManagerBase {
     /** The memory segment pool to allocate memorySegment. */
     private final MemorySegmentPool memorySegmentPool;
 
+    /** The memory budget shared by the row caches of all the kv tablets. */
+    private final KvRowCacheBudget rowCacheBudget;
+
     private final FsPath remoteKvDir;
 
     private final FileSystem remoteFileSystem;
@@ -97,6 +100,9 @@ public final class KvManager extends TabletManagerBase {
         this.logManager = logManager;
         this.arrowBufferAllocator = new RootAllocator(Long.MAX_VALUE);
         this.memorySegmentPool = LazyMemorySegmentPool.createServerBufferPool(conf);
+        this.rowCacheBudget =
+                new KvRowCacheBudget(
+                        conf.get(ConfigOptions.KV_LOOKUP_ROW_CACHE_TOTAL_SIZE).getBytes());
         this.zkClient = zkClient;
         this.remoteKvDir = FlussPaths.remoteKvDir(conf);
         this.remoteFileSystem = remoteKvDir.getFileSystem();
@@ -173,6 +179,7 @@ public final class KvManager extends TabletManagerBase {
                                     conf,
                                     arrowBufferAllocator,
                                     memorySegmentPool,
+                                    rowCacheBudget,
                                     kvFormat,
                                     schema,
                                     merger,
@@ -281,6 +288,7 @@ public final class KvManager extends TabletManagerBase {
                         conf,
                         arrowBufferAllocator,
                         memorySegmentPool,
+                        rowCacheBudget,
                         tableInfo.getTableConfig().getKvFormat(),
                         tableInfo.getSchema(),
                         rowMerger,
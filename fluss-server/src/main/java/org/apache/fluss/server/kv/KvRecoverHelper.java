@@ -45,6 +45,8 @@ import org.apache.fluss.utils.function.ThrowingConsumer;
 
 import javax.annotation.Nullable;
 
+import java.util.concurrent.CancellationException;
+
 import static org.apache.fluss.server.TabletManagerBase.getTableInfo;
 
 /** A helper for recovering Kv from log. */
@@ -56,6 +58,9 @@ public class KvRecoverHelper {
     private final KvRecoverContext recoverContext;
     private final KvFormat kvFormat;
 
+    // set to stop the recovering, checked before applying every log batch
+    private volatile boolean cancelled = false;
+
     // will be initialized when first encounter a log record during recovering from log
     private Integer currentSchemaId;
     private RowType currentRowType;
@@ -89,7 +94,44 @@ public class KvRecoverHelper {
         // after the corresponding log offset is acked(when high watermark is advanced to the
         // offset)
 
-        long nextLogOffset = recoverPointOffset;
+        long nextLogOffset =
+                applyToHighWatermark(recoverPointOffset, FetchIsolation.HIGH_WATERMARK);
+
+        // read to log end offset
+        ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
+                (resumeRecord) ->
+                        kvTablet.putToPreWriteBuffer(
+                                resumeRecord.key, resumeRecord.value, resumeRecord.logOffset);
+        readLogRecordsAndApply(nextLogOffset, FetchIsolation.LOG_END, resumeRecordApplier);
+    }
+
+    /**
+     * Applies the log records up to the high watermark of the leader to the kv directly, starting
+     * from the recover point offset, or from the flushed log offset of the kv tablet if some log
+     * records have been applied. Unlike {@link #recover()}, only the records committed by the
+     * leader are applied, as the high watermark of a follower is its log end offset.
+     *
+     * <p>It's used to keep the kv tablet of a standby follower replica up to date with the
+     * replicated log, so that the kv tablet only needs to recover the tail of the log when the
+     * replica becomes leader.
+     */
+    public void recoverToLeaderHighWatermark() throws Exception {
+        applyToHighWatermark(
+                Math.max(recoverPointOffset, kvTablet.getFlushedLogOffset()),
+                FetchIsolation.LEADER_HIGH_WATERMARK);
+    }
+
+    /**
+     * Cancels the recovering, the ongoing recovering fails with a {@link
+     * CancellationException} before applying the next log batch.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private long applyToHighWatermark(long startLogOffset, FetchIsolation fetchIsolation)
+            throws Exception {
+        long nextLogOffset = startLogOffset;
         // read to high watermark
         try (KvBatchWriter kvBatchWriter = kvTablet.createKvBatchWriter()) {
             ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
@@ -102,19 +144,12 @@ public class KvRecoverHelper {
                     };
 
             nextLogOffset =
-                    readLogRecordsAndApply(
-                            nextLogOffset, FetchIsolation.HIGH_WATERMARK, resumeRecordApplier);
+                    readLogRecordsAndApply(nextLogOffset, fetchIsolation, resumeRecordApplier);
         }
 
         // the all data up to nextLogOffset has been flush into kv
         kvTablet.setFlushedLogOffset(nextLogOffset);
-
-        // read to log end offset
-        ThrowingConsumer<KeyValueAndLogOffset, Exception> resumeRecordApplier =
-                (resumeRecord) ->
-                        kvTablet.putToPreWriteBuffer(
-                                resumeRecord.key, resumeRecord.value, resumeRecord.logOffset);
-        readLogRecordsAndApply(nextLogOffset, FetchIsolation.LOG_END, resumeRecordApplier);
+        return nextLogOffset;
     }
 
     private long readLogRecordsAndApply(
@@ -138,6 +173,12 @@ public class KvRecoverHelper {
             }
 
             for (LogRecordBatch logRecordBatch : logRecords.batches()) {
+                if (cancelled) {
+                    throw new CancellationException(
+                            String.format(
+                                    "The recovering of kv tablet for %s is cancelled.",
+                                    recoverContext.tableBucket));
+                }
                 short schemaId = logRecordBatch.schemaId();
                 if (currentSchemaId == null) {
                     initSchema(schemaId);
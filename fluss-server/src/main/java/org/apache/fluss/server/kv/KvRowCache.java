@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A bounded LRU cache of the rows in the rocksdb of a {@link KvTablet}, keyed by the encoded
+ * primary key. It's used to serve the lookups of hot keys without reading rocksdb. The absence of
+ * a key is cached too, as the lookups of dimension tables may hit missing keys frequently.
+ *
+ * <p>The cache is bounded by the approximate memory size of the cached keys and values, and the
+ * memory is also reserved from the {@link KvRowCacheBudget} shared by all the row caches of the
+ * tablet server. When either bound is reached, the least recently used entries of this cache are
+ * evicted. It only reflects the data in rocksdb, the data in the {@link KvPreWriteBuffer} is never
+ * cached.
+ *
+ * <p>To not cache a stale value read from rocksdb concurrently with a flush of the pre-write
+ * buffer, each flush gets an update sequence, and the flushed keys are invalidated with it before
+ * they're written to rocksdb (see {@link #beginUpdate(Collection)} and {@link #endUpdate()}). A
+ * read gets the sequence of the last update done before it (see {@link #beginRead()}), and a value
+ * read is only cached if its key hasn't been invalidated by a later update. The invalidated keys
+ * are kept until no read started before their update is in progress.
+ */
+@ThreadSafe
+public final class KvRowCache {
+
+    /** The approximate memory overhead of a cache entry, including the key and map entry. */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /** The value to mark the absence of a key in rocksdb. */
+    private static final byte[] ABSENT = new byte[0];
+
+    private final long maxBytes;
+    private final KvRowCacheBudget budget;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final LinkedHashMap<KvPreWriteBuffer.Key, byte[]> rows =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("lock")
+    private long sizeInBytes = 0;
+
+    /** The sequence of the last update, which is in progress if {@link #updating} is true. */
+    @GuardedBy("lock")
+    private long updateSequence = 0;
+
+    @GuardedBy("lock")
+    private boolean updating = false;
+
+    /** The updates which may be concurrent with the reads in progress, in sequence order. */
+    @GuardedBy("lock")
+    private final ArrayDeque<Update> updates = new ArrayDeque<>();
+
+    /** The invalidated keys of the {@link #updates}, to the sequence of the last update. */
+    @GuardedBy("lock")
+    private final Map<KvPreWriteBuffer.Key, Long> invalidatedKeys = new HashMap<>();
+
+    /** The sequences got by the reads in progress, to the number of the reads. */
+    @GuardedBy("lock")
+    private final TreeMap<Long, Integer> readsInProgress = new TreeMap<>();
+
+    @GuardedBy("lock")
+    private boolean closed = false;
+
+    // metrics related.
+    private final Counter hitCount = new ThreadSafeSimpleCounter();
+    private final Counter missCount = new ThreadSafeSimpleCounter();
+    private final Counter evictionCount = new ThreadSafeSimpleCounter();
+
+    public KvRowCache(long maxBytes, KvRowCacheBudget budget) {
+        this.maxBytes = maxBytes;
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the cached value of the key.
+     *
+     * @return null if the key isn't cached, {@link #isAbsent(byte[])} returns true for the returned
+     *     value if the key is cached as absent in rocksdb.
+     */
+    @Nullable
+    public byte[] get(KvPreWriteBuffer.Key key) {
+        byte[] value;
+        synchronized (lock) {
+            value = rows.get(key);
+        }
+        if (value == null) {
+            missCount.inc();
+        } else {
+            hitCount.inc();
+        }
+        return value;
+    }
+
+    /** Returns whether the cached value marks the absence of the key. */
+    public static boolean isAbsent(byte[] cachedValue) {
+        return cachedValue == ABSENT;
+    }
+
+    /**
+     * Begins a read from rocksdb, which must be called before reading the values to cache, and
+     * followed by {@link #endRead(long)} after the values are cached.
+     *
+     * @return the sequence of the last update done before the read
+     */
+    public long beginRead() {
+        synchronized (lock) {
+            // the values of the keys being updated may be read before or after the update
+            long readSequence = updating ? updateSequence - 1 : updateSequence;
+            readsInProgress.merge(readSequence, 1, Integer::sum);
+            return readSequence;
+        }
+    }
+
+    /** Ends the read begun by {@link #beginRead()}. */
+    public void endRead(long readSequence) {
+        synchronized (lock) {
+            readsInProgress.computeIfPresent(
+                    readSequence, (s, count) -> count > 1 ? count - 1 : null);
+            removeObsoleteUpdates();
+        }
+    }
+
+    /**
+     * Caches the value read from rocksdb, if the key hasn't been invalidated since the read began.
+     *
+     * @param readSequence the sequence returned by {@link #beginRead()} before reading the value
+     * @param value the value read from rocksdb, null if the key doesn't exist in rocksdb
+     */
+    public void putIfNotStale(
+            KvPreWriteBuffer.Key key, @Nullable byte[] value, long readSequence) {
+        byte[] cachedValue = value == null ? ABSENT : value;
+        long entrySize = entrySize(key, cachedValue);
+        if (entrySize > maxBytes) {
+            return;
+        }
+        synchronized (lock) {
+            Long invalidatedSequence = invalidatedKeys.get(key);
+            if (closed || (invalidatedSequence != null && invalidatedSequence > readSequence)) {
+                return;
+            }
+            remove(key);
+            while (sizeInBytes + entrySize > maxBytes || !budget.tryReserve(entrySize)) {
+                if (!evictEldest()) {
+                    // the budget is used up by the other caches
+                    return;
+                }
+            }
+            rows.put(key, cachedValue);
+            sizeInBytes += entrySize;
+        }
+    }
+
+    /**
+     * Invalidates the keys which are going to be written to rocksdb. Must be called before writing
+     * the keys, and followed by {@link #endUpdate()} after the keys have been written. The updates
+     * mustn't be concurrent.
+     */
+    public void beginUpdate(Collection<KvPreWriteBuffer.Key> keys) {
+        synchronized (lock) {
+            updateSequence++;
+            updating = true;
+            updates.addLast(new Update(updateSequence, keys));
+            for (KvPreWriteBuffer.Key key : keys) {
+                invalidatedKeys.put(key, updateSequence);
+                remove(key);
+            }
+        }
+    }
+
+    /** Marks the end of writing the keys invalidated by {@link #beginUpdate(Collection)}. */
+    public void endUpdate() {
+        synchronized (lock) {
+            updating = false;
+            removeObsoleteUpdates();
+        }
+    }
+
+    /** Clears the cache and releases its memory to the budget, nothing is cached after closed. */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            rows.clear();
+            budget.release(sizeInBytes);
+            sizeInBytes = 0;
+        }
+    }
+
+    @GuardedBy("lock")
+    private void remove(KvPreWriteBuffer.Key key) {
+        byte[] previous = rows.remove(key);
+        if (previous != null) {
+            long entrySize = entrySize(key, previous);
+            sizeInBytes -= entrySize;
+            budget.release(entrySize);
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean evictEldest() {
+        Iterator<Map.Entry<KvPreWriteBuffer.Key, byte[]>> it = rows.entrySet().iterator();
+        if (!it.hasNext()) {
+            return false;
+        }
+        Map.Entry<KvPreWriteBuffer.Key, byte[]> eldest = it.next();
+        it.remove();
+        long entrySize = entrySize(eldest.getKey(), eldest.getValue());
+        sizeInBytes -= entrySize;
+        budget.release(entrySize);
+        evictionCount.inc();
+        return true;
+    }
+
+    /**
+     * Removes the done updates which can't be concurrent with any read in progress, i.e. the
+     * updates done before all the reads in progress began.
+     */
+    @GuardedBy("lock")
+    private void removeObsoleteUpdates() {
+        long oldestReadSequence =
+                readsInProgress.isEmpty() ? updateSequence : readsInProgress.firstKey();
+        while (!updates.isEmpty()) {
+            Update update = updates.peekFirst();
+            if (update.sequence > oldestReadSequence
+                    || (updating && update.sequence == updateSequence)) {
+                break;
+            }
+            updates.removeFirst();
+            for (KvPreWriteBuffer.Key key : update.keys) {
+                invalidatedKeys.remove(key, update.sequence);
+            }
+        }
+    }
+
+    private static long entrySize(KvPreWriteBuffer.Key key, byte[] value) {
+        return ENTRY_OVERHEAD + key.get().length + value.length;
+    }
+
+    public long getSizeInBytes() {
+        synchronized (lock) {
+            return sizeInBytes;
+        }
+    }
+
+    public Counter getHitCount() {
+        return hitCount;
+    }
+
+    public Counter getMissCount() {
+        return missCount;
+    }
+
+    public Counter getEvictionCount() {
+        return evictionCount;
+    }
+
+    @VisibleForTesting
+    int size() {
+        synchronized (lock) {
+            return rows.size();
+        }
+    }
+
+    @VisibleForTesting
+    int numInvalidatedKeys() {
+        synchronized (lock) {
+            return invalidatedKeys.size();
+        }
+    }
+
+    /** The keys invalidated by an update. */
+    private static final class Update {
+        private final long sequence;
+        private final Collection<KvPreWriteBuffer.Key> keys;
+
+        private Update(long sequence, Collection<KvPreWriteBuffer.Key> keys) {
+            this.sequence = sequence;
+            this.keys = keys;
+        }
+    }
+}
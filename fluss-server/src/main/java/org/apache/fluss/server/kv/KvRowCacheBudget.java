@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv;
+
+import org.apache.fluss.config.ConfigOptions;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The memory budget shared by the {@link KvRowCache}s of all the kv tablets of a tablet server,
+ * bounded by {@link ConfigOptions#KV_LOOKUP_ROW_CACHE_TOTAL_SIZE}. A row cache reserves the memory
+ * of an entry before caching it, and releases it when the entry is evicted or invalidated.
+ */
+@ThreadSafe
+public final class KvRowCacheBudget {
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public KvRowCacheBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Reserves the given bytes, returns false if the budget doesn't have enough bytes left. */
+    boolean tryReserve(long bytes) {
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > maxBytes) {
+                return false;
+            }
+            if (usedBytes.compareAndSet(used, used + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    /** Releases the bytes reserved by {@link #tryReserve(long)}. */
+    void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+}
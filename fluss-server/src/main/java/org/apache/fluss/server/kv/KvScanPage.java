@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of values scanned from the kv, bounded by size. The values of a page are read from a
+ * consistent view of the kv, and the next page can be scanned from the {@link #nextKey()}.
+ *
+ * <p>No state is kept between the pages: the next page is read from the kv at the time it's
+ * scanned, not from the view of this page, so the pages of a scan don't form a snapshot.
+ */
+public final class KvScanPage {
+
+    private final List<byte[]> values;
+
+    /** The last key of the page if there are more values after the page, otherwise null. */
+    @Nullable private final byte[] nextKey;
+
+    public KvScanPage(List<byte[]> values, @Nullable byte[] nextKey) {
+        this.values = values;
+        this.nextKey = nextKey;
+    }
+
+    public List<byte[]> values() {
+        return values;
+    }
+
+    /**
+     * Returns the key to continue scanning from, the next page starts from the first key after it.
+     * Returns null if there are no more values.
+     */
+    @Nullable
+    public byte[] nextKey() {
+        return nextKey;
+    }
+}
@@ -47,6 +47,7 @@ import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
 import org.apache.fluss.server.kv.rocksdb.RocksDBResourceContainer;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDataUploader;
 import org.apache.fluss.server.kv.snapshot.RocksIncrementalSnapshot;
@@ -57,14 +58,17 @@ import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.metrics.group.BucketMetricGroup;
 import org.apache.fluss.server.utils.FatalErrorHandler;
+import org.apache.fluss.server.utils.ResourceGuard;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.RowType;
-import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.MapUtils;
+import org.apache.fluss.utils.function.SupplierWithException;
 import org.apache.fluss.utils.types.Tuple2;
 
+import org.rocksdb.ReadOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,15 +78,16 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
-import static org.apache.fluss.utils.concurrent.LockUtils.inReadLock;
-import static org.apache.fluss.utils.concurrent.LockUtils.inWriteLock;
+import static org.apache.fluss.utils.concurrent.LockUtils.inLock;
 
 /** A kv tablet which presents a unified view of kv storage. */
 @ThreadSafe
@@ -93,6 +98,7 @@ public final class KvTablet {
     private final TableBucket tableBucket;
 
     private final LogTablet logTablet;
+    private final BufferAllocator arrowBufferAllocator;
     private final ArrowWriterProvider arrowWriterProvider;
     private final MemorySegmentPool memorySegmentPool;
 
@@ -100,15 +106,28 @@ public final class KvTablet {
     private final long writeBatchSize;
     private final RocksDBKv rocksDBKv;
     private final KvPreWriteBuffer kvPreWriteBuffer;
+    // the cache of the rows of hot keys for lookups, null if the cache is disabled
+    @Nullable private final KvRowCache rowCache;
 
-    // A lock that guards all modifications to the kv.
-    private final ReadWriteLock kvLock = new ReentrantReadWriteLock();
+    // A lock that guards all modifications to the kv. The reads from rocksdb don't need the lock,
+    // they're guarded by the resource guard of rocksdb to not read a closed rocksdb instead.
+    private final Lock kvLock = new ReentrantLock();
+
+    // A lock that serializes the flushes of the pre-write buffer with the snapshots and the closing
+    // of the kv. Writing the flushed records to rocksdb is only guarded by this lock, so that it
+    // doesn't block putting the next batch. Must be acquired before the kvLock.
+    private final Lock flushLock = new ReentrantLock();
     private final LogFormat logFormat;
     private final KvFormat kvFormat;
     private final Schema schema;
     // defines how to merge rows on the same primary key
     private final RowMerger rowMerger;
     private final ArrowCompressionInfo arrowCompressionInfo;
+    private final KvRecordBatch.ReadContext readContext;
+
+    // the reusable contexts to put kv records, per schema id
+    @GuardedBy("kvLock")
+    private final Map<Short, KvUpsertContext> upsertContexts = new HashMap<>();
 
     /**
      * The kv data in pre-write buffer whose log offset is less than the flushedLogOffset has been
@@ -119,6 +138,9 @@ public final class KvTablet {
     @GuardedBy("kvLock")
     private volatile boolean isClosed = false;
 
+    // the open scanners on the snapshots of the kv, which must be closed before closing the kv
+    private final Map<Long, KvScanner> openScanners = MapUtils.newConcurrentHashMap();
+
     private KvTablet(
             PhysicalTablePath physicalPath,
             TableBucket tableBucket,
@@ -126,6 +148,8 @@ public final class KvTablet {
             File kvTabletDir,
             RocksDBKv rocksDBKv,
             long writeBatchSize,
+            long rowCacheSize,
+            KvRowCacheBudget rowCacheBudget,
             LogFormat logFormat,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
@@ -139,14 +163,19 @@ public final class KvTablet {
         this.kvTabletDir = kvTabletDir;
         this.rocksDBKv = rocksDBKv;
         this.writeBatchSize = writeBatchSize;
-        this.kvPreWriteBuffer = new KvPreWriteBuffer(createKvBatchWriter());
+        this.rowCache = rowCacheSize > 0 ? new KvRowCache(rowCacheSize, rowCacheBudget) : null;
+        this.kvPreWriteBuffer = new KvPreWriteBuffer(createKvBatchWriter(), rowCache);
         this.logFormat = logFormat;
+        this.arrowBufferAllocator = arrowBufferAllocator;
         this.arrowWriterProvider = new ArrowWriterPool(arrowBufferAllocator);
         this.memorySegmentPool = memorySegmentPool;
         this.kvFormat = kvFormat;
         this.schema = schema;
         this.rowMerger = rowMerger;
         this.arrowCompressionInfo = arrowCompressionInfo;
+        this.readContext =
+                KvRecordReadContext.createReadContext(
+                        kvFormat, schema.getRowType().getChildren().toArray(new DataType[0]));
     }
 
     public static KvTablet create(
@@ -155,6 +184,7 @@ public final class KvTablet {
             Configuration serverConf,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
+            KvRowCacheBudget rowCacheBudget,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
@@ -170,6 +200,7 @@ public final class KvTablet {
                 serverConf,
                 arrowBufferAllocator,
                 memorySegmentPool,
+                rowCacheBudget,
                 kvFormat,
                 schema,
                 rowMerger,
@@ -184,6 +215,7 @@ public final class KvTablet {
             Configuration serverConf,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
+            KvRowCacheBudget rowCacheBudget,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
@@ -197,6 +229,8 @@ public final class KvTablet {
                 kvTabletDir,
                 kv,
                 serverConf.get(ConfigOptions.KV_WRITE_BATCH_SIZE).getBytes(),
+                serverConf.get(ConfigOptions.KV_LOOKUP_ROW_CACHE_SIZE).getBytes(),
+                rowCacheBudget,
                 logTablet.getLogFormat(),
                 arrowBufferAllocator,
                 memorySegmentPool,
@@ -259,6 +293,18 @@ public final class KvTablet {
         metricGroup.meter(
                 MetricNames.KV_PRE_WRITE_BUFFER_TRUNCATE_AS_ERROR_RATE,
                 new MeterView(kvPreWriteBuffer.getTruncateAsErrorCount()));
+
+        // about row cache.
+        if (rowCache != null) {
+            metricGroup.meter(
+                    MetricNames.KV_ROW_CACHE_HIT_RATE, new MeterView(rowCache.getHitCount()));
+            metricGroup.meter(
+                    MetricNames.KV_ROW_CACHE_MISS_RATE, new MeterView(rowCache.getMissCount()));
+            metricGroup.meter(
+                    MetricNames.KV_ROW_CACHE_EVICTION_RATE,
+                    new MeterView(rowCache.getEvictionCount()));
+            metricGroup.gauge(MetricNames.KV_ROW_CACHE_SIZE, rowCache::getSizeInBytes);
+        }
     }
 
     /**
@@ -269,36 +315,37 @@ public final class KvTablet {
      */
     public LogAppendInfo putAsLeader(KvRecordBatch kvRecords, @Nullable int[] targetColumns)
             throws Exception {
-        return inWriteLock(
+        return inLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
                     short schemaId = kvRecords.schemaId();
                     RowMerger currentMerger = rowMerger.configureTargetColumns(targetColumns);
-                    RowType rowType = schema.getRowType();
-                    WalBuilder walBuilder = createWalBuilder(schemaId, rowType);
+                    WalBuilder walBuilder = createWalBuilder(schemaId, schema.getRowType());
                     walBuilder.setWriterState(kvRecords.writerId(), kvRecords.batchSequence());
                     // get offset to track the offset corresponded to the kv record
                     long logEndOffsetOfPrevBatch = logTablet.localLogEndOffset();
-                    DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
+                    KvUpsertContext upsertContext = getOrCreateUpsertContext(schemaId);
                     try {
                         long logOffset = logEndOffsetOfPrevBatch;
 
-                        // TODO: reuse the read context and decoder
-                        KvRecordBatch.ReadContext readContext =
-                                KvRecordReadContext.createReadContext(kvFormat, fieldTypes);
-                        ValueDecoder valueDecoder =
-                                new ValueDecoder(readContext.getRowDecoder(schemaId));
-                        for (KvRecord kvRecord : kvRecords.records(readContext)) {
-                            byte[] keyBytes = BytesUtils.toArray(kvRecord.getKey());
-                            KvPreWriteBuffer.Key key = KvPreWriteBuffer.Key.of(keyBytes);
+                        boolean supportsDelete = rowMerger.supportsDelete();
+                        upsertContext.load(
+                                kvRecords,
+                                readContext,
+                                supportsDelete,
+                                kvPreWriteBuffer,
+                                rocksDBKv);
+                        ValueDecoder valueDecoder = upsertContext.getValueDecoder();
+                        for (int i = 0; i < upsertContext.size(); i++) {
+                            KvRecord kvRecord = upsertContext.record(i);
                             if (kvRecord.getRow() == null) {
-                                if (!rowMerger.supportsDelete()) {
+                                if (!supportsDelete) {
                                     // skip delete rows if the merger doesn't support yet
                                     continue;
                                 }
                                 // it's for deletion
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = upsertContext.getOldValue(i, kvPreWriteBuffer);
                                 if (oldValue == null) {
                                     // there might be large amount of such deletion, so we don't log
                                     LOG.debug(
@@ -310,13 +357,15 @@ public final class KvTablet {
                                     // if newRow is null, it means the row should be deleted
                                     if (newRow == null) {
                                         walBuilder.append(ChangeType.DELETE, oldRow);
-                                        kvPreWriteBuffer.delete(key, logOffset++);
+                                        kvPreWriteBuffer.delete(
+                                                upsertContext.keyToPut(i, kvPreWriteBuffer),
+                                                logOffset++);
                                     } else {
                                         // otherwise, it's a partial update, should produce -U,+U
                                         walBuilder.append(ChangeType.UPDATE_BEFORE, oldRow);
                                         walBuilder.append(ChangeType.UPDATE_AFTER, newRow);
                                         kvPreWriteBuffer.put(
-                                                key,
+                                                upsertContext.keyToPut(i, kvPreWriteBuffer),
                                                 ValueEncoder.encodeValue(schemaId, newRow),
                                                 logOffset + 1);
                                         logOffset += 2;
@@ -324,7 +373,7 @@ public final class KvTablet {
                                 }
                             } else {
                                 // upsert operation
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = upsertContext.getOldValue(i, kvPreWriteBuffer);
                                 // it's update
                                 if (oldValue != null) {
                                     BinaryRow oldRow = valueDecoder.decodeValue(oldValue).row;
@@ -340,7 +389,7 @@ public final class KvTablet {
                                     // logOffset is for -U, logOffset + 1 is for +U, we need to use
                                     // the log offset for +U
                                     kvPreWriteBuffer.put(
-                                            key,
+                                            upsertContext.keyToPut(i, kvPreWriteBuffer),
                                             ValueEncoder.encodeValue(schemaId, newRow),
                                             logOffset + 1);
                                     logOffset += 2;
@@ -351,7 +400,7 @@ public final class KvTablet {
                                     BinaryRow newRow = kvRecord.getRow();
                                     walBuilder.append(ChangeType.INSERT, newRow);
                                     kvPreWriteBuffer.put(
-                                            key,
+                                            upsertContext.keyToPut(i, kvPreWriteBuffer),
                                             ValueEncoder.encodeValue(schemaId, newRow),
                                             logOffset++);
                                 }
@@ -387,6 +436,8 @@ public final class KvTablet {
                         kvPreWriteBuffer.truncateTo(logEndOffsetOfPrevBatch, TruncateReason.ERROR);
                         throw t;
                     } finally {
+                        // release the records of the batch held by the upsert context
+                        upsertContext.clear();
                         // deallocate the memory and arrow writer used by the wal builder
                         walBuilder.deallocate();
                     }
@@ -422,31 +473,55 @@ public final class KvTablet {
         }
     }
 
+    /**
+     * Flush the records in the pre-write buffer whose log offset is less than the given offset into
+     * rocksdb. The records are detached from the buffer and removed from the buffer under the kv
+     * lock, but written to rocksdb without holding the kv lock, so that a long flush doesn't block
+     * putting the next batch. The detached records are still visible in the buffer until they have
+     * been written to rocksdb.
+     */
     public void flush(long exclusiveUpToLogOffset, FatalErrorHandler fatalErrorHandler) {
         // todo: need to introduce a backpressure mechanism
         // to avoid too much records in kvPreWriteBuffer
-        inWriteLock(
-                kvLock,
+        inLock(
+                flushLock,
                 () -> {
-                    // when kv manager is closed which means kv tablet is already closed,
-                    // but the tablet server may still handle fetch log request from follower
-                    // as the tablet rpc service is closed asynchronously, then update the watermark
-                    // and then flush the pre-write buffer.
-
-                    // In such case, if the tablet is already closed, we won't flush pre-write
-                    // buffer, just warning it.
-                    if (isClosed) {
-                        LOG.warn(
-                                "The kv tablet for {} is already closed, ignore flushing kv pre-write buffer.",
-                                tableBucket);
-                    } else {
-                        try {
-                            kvPreWriteBuffer.flush(exclusiveUpToLogOffset);
-                            flushedLogOffset = exclusiveUpToLogOffset;
-                        } catch (Throwable t) {
-                            fatalErrorHandler.onFatalError(
-                                    new KvStorageException("Failed to flush kv pre-write buffer."));
-                        }
+                    KvPreWriteBuffer.FlushBatch flushBatch =
+                            inLock(
+                                    kvLock,
+                                    () -> {
+                                        // when kv manager is closed which means kv tablet is
+                                        // already closed, but the tablet server may still handle
+                                        // fetch log request from follower as the tablet rpc
+                                        // service is closed asynchronously, then update the
+                                        // watermark and then flush the pre-write buffer.
+
+                                        // In such case, if the tablet is already closed, we won't
+                                        // flush pre-write buffer, just warning it.
+                                        if (isClosed) {
+                                            LOG.warn(
+                                                    "The kv tablet for {} is already closed, ignore flushing kv pre-write buffer.",
+                                                    tableBucket);
+                                            return null;
+                                        }
+                                        return kvPreWriteBuffer.prepareFlush(
+                                                exclusiveUpToLogOffset);
+                                    });
+                    if (flushBatch == null) {
+                        return;
+                    }
+                    try {
+                        // the tablet can't be closed while holding the flush lock
+                        kvPreWriteBuffer.writeFlushBatch(flushBatch);
+                        inLock(
+                                kvLock,
+                                () -> {
+                                    kvPreWriteBuffer.completeFlush(flushBatch);
+                                    flushedLogOffset = exclusiveUpToLogOffset;
+                                });
+                    } catch (Throwable t) {
+                        fatalErrorHandler.onFatalError(
+                                new KvStorageException("Failed to flush kv pre-write buffer."));
                     }
                 });
     }
@@ -463,80 +538,185 @@ public final class KvTablet {
 
     /**
      * Get a executor that executes submitted runnable tasks with preventing any concurrent
-     * modification to this tablet.
+     * modification (including flushing) to this tablet.
      *
      * @return An executor that wraps task execution within the lock for all modification to this
      *     tablet.
      */
     public Executor getGuardedExecutor() {
-        return runnable -> inWriteLock(kvLock, runnable::run);
+        return runnable -> inLock(flushLock, () -> inLock(kvLock, runnable::run));
     }
 
-    // get from kv pre-write buffer first, if can't find, get from rocksdb
-    private byte[] getFromBufferOrKv(KvPreWriteBuffer.Key key) throws IOException {
-        KvPreWriteBuffer.Value value = kvPreWriteBuffer.get(key);
-        if (value == null) {
-            return rocksDBKv.get(key.get());
+    private KvUpsertContext getOrCreateUpsertContext(short schemaId) {
+        KvUpsertContext upsertContext = upsertContexts.get(schemaId);
+        if (upsertContext == null) {
+            upsertContext = new KvUpsertContext(readContext.getRowDecoder(schemaId));
+            upsertContexts.put(schemaId, upsertContext);
         }
-        return value.get();
+        return upsertContext;
     }
 
     public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
-        return inReadLock(
-                kvLock,
-                () -> {
-                    rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.multiGet(keys);
-                });
+        if (rowCache == null) {
+            return readFromRocksDB(() -> rocksDBKv.multiGet(keys));
+        }
+
+        List<byte[]> values = new ArrayList<>(keys.size());
+        List<Integer> missedIndexes = new ArrayList<>();
+        List<KvPreWriteBuffer.Key> missedCacheKeys = new ArrayList<>();
+        List<byte[]> missedKeys = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            KvPreWriteBuffer.Key cacheKey = KvPreWriteBuffer.Key.of(keys.get(i));
+            byte[] cachedValue = rowCache.get(cacheKey);
+            if (cachedValue == null) {
+                values.add(null);
+                missedIndexes.add(i);
+                missedCacheKeys.add(cacheKey);
+                missedKeys.add(keys.get(i));
+            } else {
+                values.add(KvRowCache.isAbsent(cachedValue) ? null : cachedValue);
+            }
+        }
+        if (missedKeys.isEmpty()) {
+            return values;
+        }
+
+        // the read must begin before reading rocksdb, to not cache the stale values read
+        // concurrently with flushing
+        long readSequence = rowCache.beginRead();
+        try {
+            List<byte[]> missedValues = readFromRocksDB(() -> rocksDBKv.multiGet(missedKeys));
+            for (int i = 0; i < missedKeys.size(); i++) {
+                byte[] value = missedValues.get(i);
+                values.set(missedIndexes.get(i), value);
+                rowCache.putIfNotStale(missedCacheKeys.get(i), value, readSequence);
+            }
+        } finally {
+            rowCache.endRead(readSequence);
+        }
+        return values;
     }
 
     public List<byte[]> prefixLookup(byte[] prefixKey) throws IOException {
-        return inReadLock(
-                kvLock,
-                () -> {
-                    rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.prefixLookup(prefixKey);
-                });
+        return readFromRocksDB(() -> rocksDBKv.prefixLookup(prefixKey));
     }
 
     public List<byte[]> limitScan(int limit) throws IOException {
-        return inReadLock(
-                kvLock,
+        return readFromRocksDB(() -> rocksDBKv.limitScan(limit));
+    }
+
+    /**
+     * Scans a page of values from rocksdb, see {@link RocksDBKv#scan(byte[], byte[], int, int)}.
+     */
+    public KvScanPage scan(
+            @Nullable byte[] prefixKey, @Nullable byte[] afterKey, int maxBytes, int limit)
+            throws IOException {
+        return readFromRocksDB(() -> rocksDBKv.scan(prefixKey, afterKey, maxBytes, limit));
+    }
+
+    /**
+     * Opens a scanner on the point-in-time snapshot of the kv. The snapshot is taken under the
+     * flush lock, so it contains exactly the records before the flushed log offset, which is
+     * returned by {@link KvScanner#getLogOffset()}.
+     *
+     * @param closeCallback the callback to run when the scanner is closed, including closed by
+     *     closing the kv tablet
+     */
+    public KvScanner openScanner(
+            long scannerId,
+            int schemaId,
+            @Nullable int[] projectedFields,
+            Runnable closeCallback,
+            long currentTimeMs)
+            throws IOException {
+        return inLock(
+                flushLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.limitScan(limit);
+                    ResourceGuard.Lease lease = rocksDBKv.getResourceGuard().acquireResource();
+                    ReadOptions readOptions = new ReadOptions();
+                    KvScanner scanner =
+                            new KvScanner(
+                                    scannerId,
+                                    tableBucket,
+                                    schemaId,
+                                    flushedLogOffset,
+                                    new ValueDecoder(readContext.getRowDecoder(schemaId)),
+                                    schema.getRowType(),
+                                    projectedFields,
+                                    arrowCompressionInfo,
+                                    arrowBufferAllocator,
+                                    lease,
+                                    readOptions,
+                                    rocksDBKv.newIterator(readOptions),
+                                    () -> {
+                                        openScanners.remove(scannerId);
+                                        closeCallback.run();
+                                    },
+                                    currentTimeMs);
+                    openScanners.put(scannerId, scanner);
+                    return scanner;
                 });
     }
 
+    /**
+     * Reads from rocksdb without holding the kv lock, so that the reads are not blocked by putting
+     * and flushing. A read of rocksdb always sees a consistent point-in-time view of the kv (the
+     * iterators are created on an implicit snapshot), and the resource guard of rocksdb prevents
+     * the kv from being closed during the read.
+     */
+    private <T> T readFromRocksDB(SupplierWithException<T, IOException> reader)
+            throws IOException {
+        rocksDBKv.checkIfRocksDBClosed();
+        try (ResourceGuard.Lease ignored = rocksDBKv.getResourceGuard().acquireResource()) {
+            return reader.get();
+        }
+    }
+
     public KvBatchWriter createKvBatchWriter() {
         return rocksDBKv.newWriteBatch(writeBatchSize);
     }
 
     public void close() throws Exception {
         LOG.info("close kv tablet {} for table {}.", tableBucket, physicalPath);
-        inWriteLock(
-                kvLock,
-                () -> {
-                    if (isClosed) {
-                        return;
-                    }
-                    if (rocksDBKv != null) {
-                        rocksDBKv.close();
-                    }
-                    isClosed = true;
-                });
+        inLock(
+                flushLock,
+                () ->
+                        inLock(
+                                kvLock,
+                                () -> {
+                                    if (isClosed) {
+                                        return;
+                                    }
+                                    // the scanners hold the leases of rocksdb, close them first
+                                    for (KvScanner scanner :
+                                            new ArrayList<>(openScanners.values())) {
+                                        scanner.close();
+                                    }
+                                    if (rocksDBKv != null) {
+                                        rocksDBKv.close();
+                                    }
+                                    // release the memory of the cache to the budget
+                                    if (rowCache != null) {
+                                        rowCache.close();
+                                    }
+                                    isClosed = true;
+                                }));
     }
 
     /** Completely delete the kv directory and all contents form the file system with no delay. */
     public void drop() throws Exception {
-        inWriteLock(
-                kvLock,
-                () -> {
-                    // first close the kv.
-                    close();
-                    // then delete the directory.
-                    FileUtils.deleteDirectory(kvTabletDir);
-                });
+        inLock(
+                flushLock,
+                () ->
+                        inLock(
+                                kvLock,
+                                () -> {
+                                    // first close the kv.
+                                    close();
+                                    // then delete the directory.
+                                    FileUtils.deleteDirectory(kvTabletDir);
+                                }));
     }
 
     public RocksIncrementalSnapshot createIncrementalSnapshot(
@@ -558,6 +738,13 @@ public final class KvTablet {
         return kvPreWriteBuffer;
     }
 
+    // only for testing.
+    @VisibleForTesting
+    @Nullable
+    KvRowCache getRowCache() {
+        return rowCache;
+    }
+
     // only for testing.
     @VisibleForTesting
     public RocksDBKv getRocksDBKv() {
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv;
+
+import org.apache.fluss.record.KvRecord;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reusable context for putting {@link KvRecordBatch}es of a schema into a {@link KvTablet}. The
+ * context is pooled per schema in the tablet, so that the decoder and the buffers holding the
+ * records and keys of a batch are not allocated again for every batch.
+ *
+ * <p>The records of a batch are loaded in two phases: the keys are resolved against the {@link
+ * KvPreWriteBuffer} first, and then the missed keys are read from rocksdb with a single multiGet.
+ *
+ * <p>The keys are looked up through a {@link KvPreWriteBuffer.KeyView} over the batch, so a key is
+ * only copied if it's missed in the pre-write buffer, the copy is both read from rocksdb and put
+ * into the pre-write buffer. A key found in the pre-write buffer reuses the key of the buffer.
+ *
+ * <p>This class is not thread safe, it's guarded by the kv lock of the tablet.
+ */
+@NotThreadSafe
+final class KvUpsertContext {
+
+    private final ValueDecoder valueDecoder;
+    private final KvPreWriteBuffer.KeyView keyView = new KvPreWriteBuffer.KeyView();
+
+    // the records of the current batch and the copied keys of the records missed in the pre-write
+    // buffer, the key is null if the record is found in the pre-write buffer or skipped
+    private final List<KvRecord> records = new ArrayList<>();
+    private final List<KvPreWriteBuffer.Key> missedKeysOfRecords = new ArrayList<>();
+
+    // the values of the keys which can't be found in the pre-write buffer, a null value means the
+    // key doesn't exist in rocksdb either
+    private final Map<KvPreWriteBuffer.Key, byte[]> kvValues = new HashMap<>();
+    private final List<KvPreWriteBuffer.Key> missedKeys = new ArrayList<>();
+    private final List<byte[]> missedKeyBytes = new ArrayList<>();
+
+    KvUpsertContext(RowDecoder rowDecoder) {
+        this.valueDecoder = new ValueDecoder(rowDecoder);
+    }
+
+    ValueDecoder getValueDecoder() {
+        return valueDecoder;
+    }
+
+    /**
+     * Loads the records of the batch, and reads the values of the keys which can't be found in the
+     * pre-write buffer from rocksdb.
+     *
+     * @param supportsDelete whether the deletions should be applied, the deletions are skipped
+     *     without reading their keys if not
+     */
+    void load(
+            KvRecordBatch kvRecords,
+            KvRecordBatch.ReadContext readContext,
+            boolean supportsDelete,
+            KvPreWriteBuffer kvPreWriteBuffer,
+            RocksDBKv rocksDBKv)
+            throws IOException {
+        for (KvRecord kvRecord : kvRecords.records(readContext)) {
+            records.add(kvRecord);
+            KvPreWriteBuffer.Key missedKey = null;
+            if (kvRecord.getRow() != null || supportsDelete) {
+                keyView.pointTo(kvRecord.getKey());
+                if (!kvValues.containsKey(keyView) && kvPreWriteBuffer.get(keyView) == null) {
+                    // the key will be put into the pre-write buffer, so it must be copied out of
+                    // the batch which will be released after the request is done
+                    missedKey = keyView.toKey();
+                    kvValues.put(missedKey, null);
+                    missedKeys.add(missedKey);
+                    missedKeyBytes.add(missedKey.get());
+                }
+            }
+            missedKeysOfRecords.add(missedKey);
+        }
+
+        if (!missedKeyBytes.isEmpty()) {
+            List<byte[]> values = rocksDBKv.multiGet(missedKeyBytes);
+            for (int i = 0; i < missedKeys.size(); i++) {
+                kvValues.put(missedKeys.get(i), values.get(i));
+            }
+        }
+    }
+
+    /** Returns the number of the loaded records. */
+    int size() {
+        return records.size();
+    }
+
+    KvRecord record(int index) {
+        return records.get(index);
+    }
+
+    /**
+     * Gets the old value of the loaded record from the pre-write buffer first, if can't find, gets
+     * it from the values read from rocksdb. A key missed in the pre-write buffer stays missed until
+     * it's written by the current batch, so the value read from rocksdb is still the latest one.
+     */
+    @Nullable
+    byte[] getOldValue(int index, KvPreWriteBuffer kvPreWriteBuffer) {
+        KvPreWriteBuffer.Key missedKey = missedKeysOfRecords.get(index);
+        KvPreWriteBuffer.Value value;
+        if (missedKey != null) {
+            value = kvPreWriteBuffer.get(missedKey);
+        } else {
+            value = kvPreWriteBuffer.get(keyView.pointTo(records.get(index).getKey()));
+        }
+        if (value == null) {
+            return missedKey != null ? kvValues.get(missedKey) : kvValues.get(keyView);
+        }
+        return value.get();
+    }
+
+    /**
+     * Returns the key to put the loaded record into the pre-write buffer, which is the copy of the
+     * missed key or the equal key in the pre-write buffer. The key is only copied again if it's a
+     * duplicate of a missed key whose record isn't put into the pre-write buffer.
+     */
+    KvPreWriteBuffer.Key keyToPut(int index, KvPreWriteBuffer kvPreWriteBuffer) {
+        KvPreWriteBuffer.Key missedKey = missedKeysOfRecords.get(index);
+        if (missedKey != null) {
+            return missedKey;
+        }
+        keyView.pointTo(records.get(index).getKey());
+        KvPreWriteBuffer.Key key = kvPreWriteBuffer.getKey(keyView);
+        return key != null ? key : keyView.toKey();
+    }
+
+    /** Clears the loaded batch, to not hold the references to the records of the batch. */
+    void clear() {
+        records.clear();
+        missedKeysOfRecords.clear();
+        kvValues.clear();
+        missedKeys.clear();
+        missedKeyBytes.clear();
+    }
+}
@@ -24,17 +24,22 @@ import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.metrics.SimpleCounter;
 import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.kv.KvRowCache;
+import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.MurmurHashUtils;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -84,11 +89,20 @@ import static org.apache.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
  * number. Otherwise, the flushing will not work as expected since once it found any kv entry whose
  * log sequence number is greater or equal than the given log sequence number whiling iterating from
  * head to tail, it will stop flush.
+ *
+ * <p>The buffer is not thread safe. But a flush can be split into {@link #prepareFlush(long)},
+ * {@link #writeFlushBatch(FlushBatch)} and {@link #completeFlush(FlushBatch)}, only the first and
+ * the last phases need to be guarded with the other methods, so that writing to the underlying kv
+ * storage doesn't block putting into the buffer.
  */
 @NotThreadSafe
 public class KvPreWriteBuffer implements AutoCloseable {
     private final KvBatchWriter kvBatchWriter;
 
+    // the cache of the rows in the underlying kv storage to invalidate when flushing, null if the
+    // rows are not cached
+    @Nullable private final KvRowCache rowCache;
+
     // a mapping from the key to the kv-entry
     private final Map<Key, KvEntry> kvEntryMap = new HashMap<>();
 
@@ -105,7 +119,12 @@ public class KvPreWriteBuffer implements AutoCloseable {
     private long maxLogSequenceNumber = -1;
 
     public KvPreWriteBuffer(KvBatchWriter kvBatchWriter) {
+        this(kvBatchWriter, null);
+    }
+
+    public KvPreWriteBuffer(KvBatchWriter kvBatchWriter, @Nullable KvRowCache rowCache) {
         this.kvBatchWriter = kvBatchWriter;
+        this.rowCache = rowCache;
 
         flushCount = new SimpleCounter();
         // consider won't flush frequently, we set a small window size
@@ -168,6 +187,29 @@ public class KvPreWriteBuffer implements AutoCloseable {
         return kvEntry == null ? null : kvEntry.getValue();
     }
 
+    /**
+     * Return a value with the given key view, without copying the key.
+     *
+     * @see #get(Key)
+     */
+    public @Nullable Value get(KeyView keyView) {
+        KvEntry kvEntry = kvEntryMap.get(keyView);
+
+        return kvEntry == null ? null : kvEntry.getValue();
+    }
+
+    /**
+     * Return the key in the buffer which is equal to the given key view, so that a new entry of the
+     * key can reuse it instead of copying the key again.
+     *
+     * @return the key in the buffer; null if the key can't be found in the buffer.
+     */
+    public @Nullable Key getKey(KeyView keyView) {
+        KvEntry kvEntry = kvEntryMap.get(keyView);
+
+        return kvEntry == null ? null : kvEntry.getKey();
+    }
+
     /**
      * Truncate the buffer to the given log sequence number so that it only contains key-value pairs
      * whose log sequence number is less than the given log sequence number.
@@ -208,7 +250,23 @@ public class KvPreWriteBuffer implements AutoCloseable {
      *     be flushed
      */
     public void flush(long exclusiveUpToLogSequenceNumber) throws IOException {
-        int flushedCount = 0;
+        FlushBatch flushBatch = prepareFlush(exclusiveUpToLogSequenceNumber);
+        writeFlushBatch(flushBatch);
+        completeFlush(flushBatch);
+    }
+
+    /**
+     * The first phase of a flush, detaches the key-value pairs whose sequence number is less than
+     * the given sequence number from the list of kv entries to be flushed. The detached entries are
+     * still visible by {@link #get(Key)} until {@link #completeFlush(FlushBatch)} is called, so
+     * that they can be written to the underlying kv storage by {@link #writeFlushBatch(FlushBatch)}
+     * without blocking the put/get of the buffer.
+     *
+     * @param exclusiveUpToLogSequenceNumber the exclusive upper bound of the log sequence number to
+     *     be flushed
+     */
+    public FlushBatch prepareFlush(long exclusiveUpToLogSequenceNumber) {
+        List<KvEntry> entries = new ArrayList<>();
         for (Iterator<KvEntry> it = allKvEntries.iterator(); it.hasNext(); ) {
             KvEntry entry = it.next();
             // if find one entry whose sequence number is greater than the given sequence number,
@@ -216,31 +274,63 @@ public class KvPreWriteBuffer implements AutoCloseable {
             if (entry.getLogSequenceNumber() >= exclusiveUpToLogSequenceNumber) {
                 break;
             }
-
-            // first remove the entry from the list
             it.remove();
+            entries.add(entry);
+        }
+        return new FlushBatch(entries);
+    }
 
-            // then write data using write batch writer
-            Value value = entry.getValue();
-            if (value.value != null) {
-                flushedCount += 1;
-                kvBatchWriter.put(entry.getKey().key, value.value);
-            } else {
-                flushedCount += 1;
-                kvBatchWriter.delete(entry.getKey().key);
+    /**
+     * The second phase of a flush, writes the detached key-value pairs to the underlying kv
+     * storage. It doesn't access the map and the list of the buffer, so it can run concurrently
+     * with the other methods of the buffer except another flush.
+     *
+     * <p>The keys to write are invalidated from the row cache (if any) before writing, as the
+     * batch writer may write part of them to the kv storage at any time.
+     */
+    public void writeFlushBatch(FlushBatch flushBatch) throws IOException {
+        List<KvEntry> entries = flushBatch.entries;
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (rowCache != null) {
+            List<Key> keys = new ArrayList<>(entries.size());
+            for (KvEntry entry : entries) {
+                keys.add(entry.getKey());
             }
-
-            // if the kv entry to be flushed is equal to the one in the kvEntryMap, we
-            // can remove it from the map. Although it's not a must to remove from the map,
-            // we remove it to reduce the memory usage
-            kvEntryMap.remove(entry.getKey(), entry);
+            rowCache.beginUpdate(keys);
         }
-        // flush to underlying kv tablet
-        if (flushedCount > 0) {
+        try {
+            for (KvEntry entry : entries) {
+                Value value = entry.getValue();
+                if (value.value != null) {
+                    kvBatchWriter.put(entry.getKey().key, value.value);
+                } else {
+                    kvBatchWriter.delete(entry.getKey().key);
+                }
+            }
+            // flush to underlying kv tablet
             long start = System.nanoTime();
             kvBatchWriter.flush();
             flushCount.inc();
             flushLatencyHistogram.update((System.nanoTime() - start) / 1_000_000);
+        } finally {
+            if (rowCache != null) {
+                rowCache.endUpdate();
+            }
+        }
+    }
+
+    /**
+     * The last phase of a flush, removes the key-value pairs which have been written to the
+     * underlying kv storage from the map of the buffer.
+     */
+    public void completeFlush(FlushBatch flushBatch) {
+        for (KvEntry entry : flushBatch.entries) {
+            // if the kv entry to be flushed is equal to the one in the kvEntryMap, we
+            // can remove it from the map. Although it's not a must to remove from the map,
+            // we remove it to reduce the memory usage
+            kvEntryMap.remove(entry.getKey(), entry);
         }
     }
 
@@ -282,6 +372,23 @@ public class KvPreWriteBuffer implements AutoCloseable {
         return truncateAsErrorCount;
     }
 
+    /**
+     * The kv entries detached from the buffer by {@link #prepareFlush(long)}, which are waiting to
+     * be written to the underlying kv storage.
+     */
+    public static final class FlushBatch {
+
+        private final List<KvEntry> entries;
+
+        private FlushBatch(List<KvEntry> entries) {
+            this.entries = entries;
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+
     /**
      * A class to wrap a key-value pair and the sequence number for the key-value pair. If the byte
      * array in the value is null, it means the key in the entry is marked as deleted.
@@ -394,6 +501,9 @@ public class KvPreWriteBuffer implements AutoCloseable {
             if (this == o) {
                 return true;
             }
+            if (o instanceof KeyView) {
+                return o.equals(this);
+            }
             if (o == null || getClass() != o.getClass()) {
                 return false;
             }
@@ -419,6 +529,61 @@ public class KvPreWriteBuffer implements AutoCloseable {
         }
     }
 
+    /**
+     * A reusable view of a key in a {@link ByteBuffer}, e.g., the key of a record in a batch. A
+     * view is equal to the {@link Key} of the same bytes, so it can be used to look up the buffer
+     * without copying the key. The view is mutable, so it must not be put into the buffer, use
+     * {@link #toKey()} to copy it out.
+     */
+    @NotThreadSafe
+    public static final class KeyView {
+        private ByteBuffer key;
+        private int hashCode;
+
+        /** Points the view to the remaining bytes of the given buffer. */
+        public KeyView pointTo(ByteBuffer key) {
+            this.key = key;
+            this.hashCode = MurmurHashUtils.hashBytes(key);
+            return this;
+        }
+
+        /** Copies the bytes of the view to a {@link Key}. */
+        public Key toKey() {
+            return Key.of(BytesUtils.toArray(key));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            byte[] that = ((Key) o).key;
+            if (hashCode != o.hashCode() || key.remaining() != that.length) {
+                return false;
+            }
+            int position = key.position();
+            for (int i = 0; i < that.length; i++) {
+                if (key.get(position + i) != that[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return toKey().toString();
+        }
+    }
+
     /**
      * A wrapper class to wrap a byte array value. If the wrapping byte array is null, it means the
      * {@link KvEntry} with the value is for key deletion.
@@ -19,6 +19,7 @@ package org.apache.fluss.server.kv.rocksdb;
 
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.rocksdb.RocksDBOperationUtils;
+import org.apache.fluss.server.kv.KvScanPage;
 import org.apache.fluss.server.utils.ResourceGuard;
 import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.IOUtils;
@@ -35,6 +36,7 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** A wrapper for the operation of {@link org.rocksdb.RocksDB}. */
@@ -141,6 +143,73 @@ public class RocksDBKv implements AutoCloseable {
         return pkList;
     }
 
+    /**
+     * Scans a page of values from the given position. The values of a page are read with one
+     * iterator, so they're read from a consistent snapshot of the kv.
+     *
+     * @param prefixKey only scan the values whose key starts with the prefix key, scan all the
+     *     values if null
+     * @param afterKey scan from the first key after the given key, which is the {@link
+     *     KvScanPage#nextKey()} of the previous page, scan from the beginning if null
+     * @param maxBytes the max bytes of the values in the page, at least one value is returned even
+     *     if it exceeds the max bytes
+     * @param limit the max number of the values in the page
+     */
+    public KvScanPage scan(
+            @Nullable byte[] prefixKey, @Nullable byte[] afterKey, int maxBytes, int limit) {
+        List<byte[]> values = new ArrayList<>();
+        byte[] lastKey = null;
+        boolean hasMore = false;
+        ReadOptions readOptions = new ReadOptions();
+        RocksIterator iterator = db.newIterator(defaultColumnFamilyHandle, readOptions);
+        try {
+            if (afterKey != null) {
+                iterator.seek(afterKey);
+                if (iterator.isValid() && Arrays.equals(afterKey, iterator.key())) {
+                    iterator.next();
+                }
+            } else if (prefixKey != null) {
+                iterator.seek(prefixKey);
+            } else {
+                iterator.seekToFirst();
+            }
+
+            long bytes = 0;
+            while (iterator.isValid()) {
+                byte[] key = iterator.key();
+                if (prefixKey != null && !BytesUtils.prefixEquals(prefixKey, key)) {
+                    break;
+                }
+                if (values.size() >= limit) {
+                    hasMore = true;
+                    break;
+                }
+                byte[] value = iterator.value();
+                if (!values.isEmpty() && bytes + value.length > maxBytes) {
+                    hasMore = true;
+                    break;
+                }
+                values.add(value);
+                bytes += value.length;
+                lastKey = key;
+                iterator.next();
+            }
+        } finally {
+            readOptions.close();
+            iterator.close();
+        }
+
+        return new KvScanPage(values, hasMore ? lastKey : null);
+    }
+
+    /**
+     * Creates an iterator over the kv with the given read options. The iterator is created on an
+     * implicit snapshot of the kv, and must be closed before closing the kv.
+     */
+    public RocksIterator newIterator(ReadOptions readOptions) {
+        return db.newIterator(defaultColumnFamilyHandle, readOptions);
+    }
+
     public void put(byte[] key, byte[] value) throws IOException {
         try {
             db.put(writeOptions, key, value);
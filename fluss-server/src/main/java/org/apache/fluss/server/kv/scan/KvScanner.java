@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.scan;
+
+import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.MemoryLogRecordsArrowBuilder;
+import org.apache.fluss.record.bytesview.BytesView;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.ProjectedRow;
+import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.server.utils.ResourceGuard;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.IOUtils;
+
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksIterator;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+
+/**
+ * A scanner which streams the rows of a kv tablet in arrow batches. The scanner holds a rocksdb
+ * iterator created on the point-in-time snapshot of the kv when the scanner is opened, so all the
+ * batches of the scanner reflect the same consistent view of the kv, regardless of the writes
+ * happened after opening the scanner.
+ *
+ * <p>The iterator pins the memtables and sst files of the snapshot, so the scanner must be closed
+ * once the scan is finished or abandoned. The scanner also holds a lease of the resource guard of
+ * rocksdb, which is released when the scanner is closed.
+ */
+@ThreadSafe
+public final class KvScanner implements Closeable {
+
+    private static final int PAGE_SIZE = 64 * 1024;
+
+    private final long scannerId;
+    private final TableBucket tableBucket;
+    private final int schemaId;
+    private final long logOffset;
+    private final ValueDecoder valueDecoder;
+    private final RowType projectedRowType;
+    // the projection of the rows, null if all the fields are returned
+    @Nullable private final ProjectedRow projectedRow;
+    private final ArrowCompressionInfo arrowCompressionInfo;
+    private final ArrowWriterPool arrowWriterPool;
+
+    private final ResourceGuard.Lease rocksDBLease;
+    private final ReadOptions readOptions;
+    private final RocksIterator iterator;
+    private final Runnable closeCallback;
+
+    private volatile long lastAccessTimeMs;
+
+    @GuardedBy("this")
+    private boolean closed = false;
+
+    public KvScanner(
+            long scannerId,
+            TableBucket tableBucket,
+            int schemaId,
+            long logOffset,
+            ValueDecoder valueDecoder,
+            RowType rowType,
+            @Nullable int[] projectedFields,
+            ArrowCompressionInfo arrowCompressionInfo,
+            BufferAllocator bufferAllocator,
+            ResourceGuard.Lease rocksDBLease,
+            ReadOptions readOptions,
+            RocksIterator iterator,
+            Runnable closeCallback,
+            long currentTimeMs) {
+        this.scannerId = scannerId;
+        this.tableBucket = tableBucket;
+        this.schemaId = schemaId;
+        this.logOffset = logOffset;
+        this.valueDecoder = valueDecoder;
+        this.projectedRowType =
+                projectedFields == null ? rowType : rowType.project(projectedFields);
+        this.projectedRow = projectedFields == null ? null : ProjectedRow.from(projectedFields);
+        this.arrowCompressionInfo = arrowCompressionInfo;
+        // the arrow writers are keyed by table and schema in the pool, so each scanner uses its own
+        // pool to not share the writers of different projections
+        this.arrowWriterPool = new ArrowWriterPool(bufferAllocator);
+        this.rocksDBLease = rocksDBLease;
+        this.readOptions = readOptions;
+        this.iterator = iterator;
+        this.closeCallback = closeCallback;
+        this.lastAccessTimeMs = currentTimeMs;
+        iterator.seekToFirst();
+    }
+
+    public long getScannerId() {
+        return scannerId;
+    }
+
+    public TableBucket getTableBucket() {
+        return tableBucket;
+    }
+
+    /**
+     * Returns the log offset the snapshot of the scanner is taken at, the rows of the scanner
+     * reflect all the changes before the offset.
+     *
+     * <p>The offset is exclusive: it's the end offset of the changelogs flushed to the kv when the
+     * scanner is opened, i.e. the offset of the first change not in the snapshot. A reader
+     * continues with the changelog from this offset to not miss or duplicate any change.
+     */
+    public long getLogOffset() {
+        return logOffset;
+    }
+
+    public long getLastAccessTimeMs() {
+        return lastAccessTimeMs;
+    }
+
+    /**
+     * Reads the next batch of rows in arrow format. The batch is bounded by the given max bytes, but
+     * at least one row is returned if there is any.
+     *
+     * @return the arrow log records of the batch, null if there are no more rows
+     */
+    @Nullable
+    public synchronized BytesView nextBatch(int maxBytes, long currentTimeMs) throws Exception {
+        if (closed) {
+            throw new IllegalStateException("The kv scanner " + scannerId + " is closed.");
+        }
+        lastAccessTimeMs = currentTimeMs;
+        if (!iterator.isValid()) {
+            return null;
+        }
+
+        ArrowWriter writer =
+                arrowWriterPool.getOrCreateWriter(
+                        tableBucket.getTableId(),
+                        schemaId,
+                        maxBytes,
+                        projectedRowType,
+                        arrowCompressionInfo);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        schemaId, writer, new UnmanagedPagedOutputView(PAGE_SIZE), true);
+        try {
+            while (iterator.isValid() && !builder.isFull()) {
+                InternalRow row = valueDecoder.decodeValue(iterator.value()).row;
+                builder.append(
+                        ChangeType.APPEND_ONLY,
+                        projectedRow == null ? row : projectedRow.replaceRow(row));
+                iterator.next();
+            }
+            builder.close();
+            return builder.build();
+        } finally {
+            builder.recycleArrowWriter();
+        }
+    }
+
+    /** Returns whether there are more rows to read. */
+    public synchronized boolean hasMoreResults() {
+        return !closed && iterator.isValid();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            IOUtils.closeQuietly(iterator);
+            IOUtils.closeQuietly(readOptions);
+            arrowWriterPool.close();
+            rocksDBLease.close();
+        }
+        closeCallback.run();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
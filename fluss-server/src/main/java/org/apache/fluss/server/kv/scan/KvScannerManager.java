@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.scan;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.TooManyKvScannersException;
+import org.apache.fluss.exception.UnknownKvScannerException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.utils.MapUtils;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manages the open {@link KvScanner}s of a tablet server. The number of the open scanners is
+ * bounded, and the scanners which are idle for longer than the ttl are expired by {@link
+ * #expireIdleScanners()}, so that an abandoned scan doesn't pin the snapshot of the kv forever.
+ */
+@ThreadSafe
+public final class KvScannerManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KvScannerManager.class);
+
+    private final Map<Long, KvScanner> scanners = MapUtils.newConcurrentHashMap();
+    // the number of the registered scanners and the scanners being opened, which is reserved
+    // before opening a scanner to not exceed the max number by concurrent opens
+    private final AtomicInteger numScanners = new AtomicInteger();
+    private final AtomicLong scannerIdGenerator;
+    private final int maxScanners;
+    private final long ttlMs;
+    private final Clock clock;
+
+    public KvScannerManager(Configuration conf, Clock clock) {
+        this.maxScanners = conf.get(ConfigOptions.KV_SCANNER_MAX_NUM);
+        this.ttlMs = conf.get(ConfigOptions.KV_SCANNER_TTL).toMillis();
+        this.clock = clock;
+        // start the ids from the current time, to not reuse the ids of the scanners opened before
+        // the tablet server restarted
+        this.scannerIdGenerator = new AtomicLong(clock.milliseconds());
+    }
+
+    /**
+     * Opens a new scanner with the given factory and registers it.
+     *
+     * @throws TooManyKvScannersException if the number of the open scanners exceeds the max
+     */
+    public KvScanner openScanner(KvScannerFactory factory) throws Exception {
+        reserveScanner();
+        long scannerId = scannerIdGenerator.incrementAndGet();
+        KvScanner scanner;
+        try {
+            scanner =
+                    factory.create(
+                            scannerId, () -> removeScanner(scannerId), clock.milliseconds());
+        } catch (Throwable t) {
+            numScanners.decrementAndGet();
+            throw t;
+        }
+        scanners.put(scannerId, scanner);
+        if (scanner.isClosed()) {
+            // the scanner is closed before registered, e.g. the kv tablet is closed
+            removeScanner(scannerId);
+        }
+        return scanner;
+    }
+
+    /**
+     * Gets the open scanner of the given bucket.
+     *
+     * @throws UnknownKvScannerException if the scanner doesn't exist, or is closed, or doesn't
+     *     belong to the bucket
+     */
+    public KvScanner getScanner(long scannerId, TableBucket tableBucket) {
+        KvScanner scanner = scanners.get(scannerId);
+        if (scanner == null || scanner.isClosed() || !scanner.getTableBucket().equals(tableBucket)) {
+            throw new UnknownKvScannerException(
+                    String.format(
+                            "The kv scanner %d of table bucket %s is unknown, it may be expired "
+                                    + "or closed because the leader of the bucket has changed.",
+                            scannerId, tableBucket));
+        }
+        return scanner;
+    }
+
+    /**
+     * Closes the scanner of the given bucket if it exists, it's a no-op if the scanner has been
+     * closed or doesn't belong to the bucket. The scanner ids are sequential, so the bucket must be
+     * checked to not close the scanners of the tables the client isn't authorized for.
+     */
+    public void closeScanner(long scannerId, TableBucket tableBucket) {
+        KvScanner scanner = scanners.get(scannerId);
+        if (scanner != null && scanner.getTableBucket().equals(tableBucket)) {
+            closeScanner(scannerId);
+        }
+    }
+
+    /** Closes the scanner if it exists, it's a no-op if the scanner has been closed. */
+    public void closeScanner(long scannerId) {
+        KvScanner scanner = removeScanner(scannerId);
+        if (scanner != null) {
+            scanner.close();
+        }
+    }
+
+    /** Closes the scanners which are idle for longer than the ttl. */
+    public void expireIdleScanners() {
+        long currentTimeMs = clock.milliseconds();
+        for (KvScanner scanner : new ArrayList<>(scanners.values())) {
+            if (scanner.isClosed()) {
+                // the scanner may be closed before registered, e.g. the kv tablet is closed
+                removeScanner(scanner.getScannerId());
+            } else if (currentTimeMs - scanner.getLastAccessTimeMs() > ttlMs) {
+                LOG.info(
+                        "Expire the kv scanner {} of table bucket {}, which is idle for more than {} ms.",
+                        scanner.getScannerId(),
+                        scanner.getTableBucket(),
+                        ttlMs);
+                closeScanner(scanner.getScannerId());
+            }
+        }
+    }
+
+    private void reserveScanner() {
+        while (true) {
+            int current = numScanners.get();
+            if (current >= maxScanners) {
+                throw new TooManyKvScannersException(
+                        String.format(
+                                "The number of open kv scanners exceeds the max number %d, "
+                                        + "please retry later.",
+                                maxScanners));
+            }
+            if (numScanners.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    @Nullable
+    private KvScanner removeScanner(long scannerId) {
+        KvScanner scanner = scanners.remove(scannerId);
+        if (scanner != null) {
+            numScanners.decrementAndGet();
+        }
+        return scanner;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    @VisibleForTesting
+    int getScannerCount() {
+        return scanners.size();
+    }
+
+    @Override
+    public void close() {
+        for (KvScanner scanner : new ArrayList<>(scanners.values())) {
+            closeScanner(scanner.getScannerId());
+        }
+    }
+
+    /** The factory to create the scanner with the allocated scanner id. */
+    @FunctionalInterface
+    public interface KvScannerFactory {
+
+        /**
+         * Creates the scanner.
+         *
+         * @param closeCallback the callback must be run when the scanner is closed
+         */
+        KvScanner create(long scannerId, Runnable closeCallback, long currentTimeMs)
+                throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.utils.clock.Clock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides the index interval of the log appended to a {@link LogTablet} by the lookups of its
+ * offsets by timestamp. The lookups by timestamp are random seeks in the log, which look up the
+ * time index and offset index of a segment and then scan the log from the indexed position. Once
+ * a bucket is looked up by timestamp at least {@code minSeeks} times within the dense duration,
+ * e.g., when consumers keep starting from timestamps, the log appended to it later is indexed
+ * denser until the dense duration passes since the oldest of these lookups, so the following
+ * lookups on the appended log scan less bytes. A single lookup, e.g., of a consumer starting from
+ * a timestamp once, doesn't densify the index.
+ *
+ * <p>Note that only the log appended while the index is dense is indexed denser. The indexes of
+ * the log appended before, where the lookups landed so far, are not rebuilt, so the lookups
+ * benefit only when they seek into the recently appended log, e.g., consumers restarting from a
+ * recent timestamp.
+ *
+ * <p>See {@link ConfigOptions#LOG_INDEX_ADAPTIVE_ENABLED}.
+ */
+@ThreadSafe
+final class AdaptiveIndexInterval {
+
+    private final int indexIntervalBytes;
+    private final int denseIndexIntervalBytes;
+    private final long denseDurationMs;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+
+    /** The times of the last {@code minSeeks} lookups by timestamp, as a ring buffer. */
+    @GuardedBy("lock")
+    private final long[] seekTimesMs;
+
+    @GuardedBy("lock")
+    private int nextSeekIndex = 0;
+
+    @GuardedBy("lock")
+    private int numSeeks = 0;
+
+    // the time until which the appended log is indexed denser, -1 if it's never dense
+    private volatile long denseUntilMs = -1L;
+
+    AdaptiveIndexInterval(
+            int indexIntervalBytes,
+            int denseIndexIntervalBytes,
+            long denseDurationMs,
+            int minSeeks,
+            Clock clock) {
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.denseIndexIntervalBytes = Math.min(indexIntervalBytes, denseIndexIntervalBytes);
+        this.denseDurationMs = denseDurationMs;
+        this.seekTimesMs = new long[Math.max(1, minSeeks)];
+        this.clock = clock;
+    }
+
+    static AdaptiveIndexInterval create(Configuration conf, Clock clock) {
+        return new AdaptiveIndexInterval(
+                (int) conf.get(ConfigOptions.LOG_INDEX_INTERVAL_SIZE).getBytes(),
+                (int) conf.get(ConfigOptions.LOG_INDEX_ADAPTIVE_MIN_INTERVAL_SIZE).getBytes(),
+                conf.get(ConfigOptions.LOG_INDEX_ADAPTIVE_DENSE_DURATION).toMillis(),
+                conf.get(ConfigOptions.LOG_INDEX_ADAPTIVE_MIN_SEEKS),
+                clock);
+    }
+
+    /** Records a lookup of the offsets by timestamp. */
+    void recordSeek() {
+        long now = clock.milliseconds();
+        synchronized (lock) {
+            seekTimesMs[nextSeekIndex] = now;
+            nextSeekIndex = (nextSeekIndex + 1) % seekTimesMs.length;
+            numSeeks = Math.min(numSeeks + 1, seekTimesMs.length);
+            if (numSeeks == seekTimesMs.length) {
+                // the oldest of the last minSeeks lookups is the next one to overwrite
+                long oldestSeekTime = seekTimesMs[nextSeekIndex];
+                if (now - oldestSeekTime < denseDurationMs) {
+                    denseUntilMs = Math.max(denseUntilMs, oldestSeekTime + denseDurationMs);
+                }
+            }
+        }
+    }
+
+    /** Returns the approximate number of bytes between the index entries of the appended log. */
+    int indexIntervalBytes() {
+        long denseUntil = denseUntilMs;
+        if (denseUntil >= 0 && clock.milliseconds() < denseUntil) {
+            return denseIndexIntervalBytes;
+        } else {
+            return indexIntervalBytes;
+        }
+    }
+}
@@ -24,7 +24,11 @@ public enum FetchIsolation {
     LOG_END,
     // Indicates that fetching should be up to the high watermark, which is the offset
     // up to which all replicas have caught up.
-    HIGH_WATERMARK;
+    HIGH_WATERMARK,
+    // Indicates that fetching should be up to the high watermark last reported by the leader, which
+    // is used by the follower replicas to serve the clients, as the high watermark of a follower is
+    // its log end offset.
+    LEADER_HIGH_WATERMARK;
 
     public static FetchIsolation of(boolean isFromFollower) {
         if (isFromFollower) {
@@ -19,14 +19,22 @@ package org.apache.fluss.server.log;
 
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.server.replica.selector.ClientMetadata;
 import org.apache.fluss.types.RowType;
 
 import javax.annotation.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPredicate;
+
 /** Fetch data params. */
 public final class FetchParams {
     /** Value -2L means we will fetch from log start offset. */
@@ -48,9 +56,11 @@ public final class FetchParams {
     public static final long DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE = 100L;
 
     private final int replicaId;
-    // Currently, FetchOnlyLeader can be set to false only for test,
-    // which indicate that the client can read log data from follower.
+    // FetchOnlyLeader is set to false if the client can read log data from follower, which is
+    // only enabled if a replica selector is configured.
     private final boolean fetchOnlyLeader;
+    // the metadata of the client to select the replica to read from, null if from follower
+    @Nullable private final ClientMetadata clientMetadata;
     private final FetchIsolation fetchIsolation;
 
     // need to read at least one message
@@ -59,10 +69,18 @@ public final class FetchParams {
     private int maxFetchBytes;
     // the offset to start fetching from
     private long fetchOffset;
+    // the table of the current fetch
+    private long currentTableId;
     // whether column projection is enabled
     private boolean projectionEnabled = false;
     // the lazily initialized projection util to read and project file logs
     @Nullable private FileLogProjection fileLogProjection;
+    // whether statistics based batch filtering is enabled
+    private boolean filterEnabled = false;
+    // the lazily initialized filter util to skip the batches can't match the predicate
+    @Nullable private LogRecordBatchFilter logRecordBatchFilter;
+    // the filters decoded for each table, as all the buckets of a table share the same filter
+    private final Map<Long, Predicate> filtersByTable = new HashMap<>();
 
     private final int minFetchBytes;
     private final long maxWaitMs;
@@ -83,8 +101,19 @@ public final class FetchParams {
             int maxFetchBytes,
             int minFetchBytes,
             long maxWaitMs) {
+        this(replicaId, fetchOnlyLeader, maxFetchBytes, minFetchBytes, maxWaitMs, null);
+    }
+
+    public FetchParams(
+            int replicaId,
+            boolean fetchOnlyLeader,
+            int maxFetchBytes,
+            int minFetchBytes,
+            long maxWaitMs,
+            @Nullable ClientMetadata clientMetadata) {
         this.replicaId = replicaId;
         this.fetchOnlyLeader = fetchOnlyLeader;
+        this.clientMetadata = clientMetadata;
         this.maxFetchBytes = maxFetchBytes;
         this.fetchIsolation = FetchIsolation.of(replicaId >= 0);
         this.minOneMessage = true;
@@ -100,6 +129,7 @@ public final class FetchParams {
             RowType schema,
             ArrowCompressionInfo compressionInfo,
             @Nullable int[] projectedFields) {
+        this.currentTableId = tableId;
         this.fetchOffset = fetchOffset;
         this.maxFetchBytes = maxFetchBytes;
         if (projectedFields != null) {
@@ -112,6 +142,38 @@ public final class FetchParams {
         } else {
             projectionEnabled = false;
         }
+        filterEnabled = false;
+    }
+
+    public void setCurrentFetch(
+            long tableId,
+            long fetchOffset,
+            int maxFetchBytes,
+            RowType schema,
+            ArrowCompressionInfo compressionInfo,
+            @Nullable int[] projectedFields,
+            @Nullable PbPredicate filter) {
+        setCurrentFetch(
+                tableId, fetchOffset, maxFetchBytes, schema, compressionInfo, projectedFields);
+        // the batches to replicate must never be skipped
+        if (filter == null || isFromFollower()) {
+            return;
+        }
+        Predicate predicate;
+        if (filtersByTable.containsKey(tableId)) {
+            predicate = filtersByTable.get(tableId);
+        } else {
+            // null if the filter can't be applied to the schema, don't decode it again
+            predicate = toPredicate(filter, schema);
+            filtersByTable.put(tableId, predicate);
+        }
+        if (predicate != null) {
+            filterEnabled = true;
+            if (logRecordBatchFilter == null) {
+                logRecordBatchFilter = new LogRecordBatchFilter();
+            }
+            logRecordBatchFilter.setCurrentFilter(schema, predicate);
+        }
     }
 
     /**
@@ -127,6 +189,26 @@ public final class FetchParams {
         }
     }
 
+    /**
+     * Returns the filter util to skip the batches which can't match the predicate of the current
+     * fetch. Returns null if there is no predicate registered for the current fetch.
+     */
+    @Nullable
+    public LogRecordBatchFilter filter() {
+        if (filterEnabled) {
+            return logRecordBatchFilter;
+        } else {
+            return null;
+        }
+    }
+
+    /** Returns the predicate of the current fetch, or null if there is no filter. */
+    @VisibleForTesting
+    @Nullable
+    Predicate currentPredicate() {
+        return filterEnabled ? filtersByTable.get(currentTableId) : null;
+    }
+
     /**
      * Marks that at least one message has been read. This turns off the {@link #minOneMessage}
      * flag.
@@ -171,6 +253,10 @@ public final class FetchParams {
         return isFromFollower() || fetchOnlyLeader;
     }
 
+    public @Nullable ClientMetadata clientMetadata() {
+        return clientMetadata;
+    }
+
     public long fetchOffset() {
         return fetchOffset;
     }
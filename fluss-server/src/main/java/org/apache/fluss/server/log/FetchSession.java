@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.exception.InvalidFetchSessionEpochException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.server.entity.FetchReqInfo;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fetch session of a fetcher cached on the tablet server, see {@link FetchSessionCache}. The
+ * session holds the buckets to fetch and the high watermarks of the buckets last sent to the
+ * fetcher, so that the incremental fetch log requests and the responses of the session only carry
+ * the buckets which changed.
+ */
+@ThreadSafe
+public final class FetchSession {
+
+    private final int sessionId;
+
+    /** The fetcher which created the session, only the fetcher can use the session. */
+    private final String owner;
+
+    /**
+     * The buckets to fetch in the order of the priority to fetch. A bucket with records returned is
+     * moved to the end, so that the buckets at the end are not starved by the max fetch bytes.
+     */
+    @GuardedBy("this")
+    private final LinkedHashMap<TableBucket, FetchReqInfo> buckets;
+
+    @GuardedBy("this")
+    private final Map<TableBucket, Long> sentHighWatermarks = new HashMap<>();
+
+    @GuardedBy("this")
+    private int nextEpoch;
+
+    private volatile long lastUsedTimeMs;
+
+    FetchSession(
+            int sessionId,
+            String owner,
+            Map<TableBucket, FetchReqInfo> buckets,
+            long currentTimeMs) {
+        this.sessionId = sessionId;
+        this.owner = owner;
+        this.buckets = new LinkedHashMap<>(buckets);
+        this.nextEpoch = 1;
+        this.lastUsedTimeMs = currentTimeMs;
+    }
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    String getOwner() {
+        return owner;
+    }
+
+    long getLastUsedTimeMs() {
+        return lastUsedTimeMs;
+    }
+
+    /**
+     * Applies an incremental request to the session.
+     *
+     * @param epoch the epoch of the request
+     * @param updatedBuckets the buckets added to the session or whose fetch info changed
+     * @param forgottenBuckets the buckets removed from the session
+     * @throws InvalidFetchSessionEpochException if the epoch is not the expected epoch
+     */
+    synchronized void update(
+            int epoch,
+            Map<TableBucket, FetchReqInfo> updatedBuckets,
+            Collection<TableBucket> forgottenBuckets,
+            long currentTimeMs) {
+        if (epoch != nextEpoch) {
+            throw new InvalidFetchSessionEpochException(
+                    String.format(
+                            "The epoch %d of the fetch session %d is invalid, expected epoch is %d.",
+                            epoch, sessionId, nextEpoch));
+        }
+        for (TableBucket tableBucket : forgottenBuckets) {
+            buckets.remove(tableBucket);
+            sentHighWatermarks.remove(tableBucket);
+        }
+        buckets.putAll(updatedBuckets);
+        nextEpoch = nextEpoch == Integer.MAX_VALUE ? 1 : nextEpoch + 1;
+        lastUsedTimeMs = currentTimeMs;
+    }
+
+    /** Returns all the buckets to fetch of the session. */
+    public synchronized Map<TableBucket, FetchReqInfo> bucketsToFetch() {
+        return new LinkedHashMap<>(buckets);
+    }
+
+    /**
+     * Returns the results which need to be sent to the fetcher, i.e. the results with records or
+     * errors, or the high watermark changed since the last response. The results are returned in
+     * the order of the buckets in the session, and the buckets with records returned are moved to
+     * the end of the session.
+     */
+    public synchronized Map<TableBucket, FetchLogResultForBucket> filterResults(
+            Map<TableBucket, FetchLogResultForBucket> results) {
+        Map<TableBucket, FetchLogResultForBucket> changedResults = new LinkedHashMap<>();
+        List<TableBucket> bucketsWithRecords = new ArrayList<>();
+        for (TableBucket tableBucket : buckets.keySet()) {
+            FetchLogResultForBucket result = results.get(tableBucket);
+            if (result != null && filterResult(tableBucket, result, changedResults)) {
+                bucketsWithRecords.add(tableBucket);
+            }
+        }
+        // the results of the buckets not in the session, which are not expected
+        results.forEach(
+                (tableBucket, result) -> {
+                    if (!buckets.containsKey(tableBucket)) {
+                        filterResult(tableBucket, result, changedResults);
+                    }
+                });
+        for (TableBucket tableBucket : bucketsWithRecords) {
+            buckets.put(tableBucket, buckets.remove(tableBucket));
+        }
+        return changedResults;
+    }
+
+    /** Adds the result to the changed results if it's changed, returns whether it has records. */
+    @GuardedBy("this")
+    private boolean filterResult(
+            TableBucket tableBucket,
+            FetchLogResultForBucket result,
+            Map<TableBucket, FetchLogResultForBucket> changedResults) {
+        if (result.failed()) {
+            sentHighWatermarks.remove(tableBucket);
+            changedResults.put(tableBucket, result);
+            return false;
+        }
+
+        boolean hasRecords = result.fetchFromRemote() || result.recordsOrEmpty().sizeInBytes() > 0;
+        Long sentHighWatermark = sentHighWatermarks.put(tableBucket, result.getHighWatermark());
+        if (hasRecords
+                || result.getPreferredReadReplica() != null
+                || sentHighWatermark == null
+                || sentHighWatermark != result.getHighWatermark()) {
+            changedResults.put(tableBucket, result);
+        }
+        return hasRecords;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.FetchSessionIdNotFoundException;
+import org.apache.fluss.exception.InvalidFetchSessionEpochException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+
+/**
+ * Caches the {@link FetchSession}s of the followers and clients fetching the log from a tablet
+ * server. The number of the sessions is bounded, if it's full, the new fetchers fetch the log
+ * without a session. The sessions which are idle for longer than the ttl are expired by {@link
+ * #expireIdleSessions()}.
+ */
+@ThreadSafe
+public final class FetchSessionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FetchSessionCache.class);
+
+    private final Object lock = new Object();
+
+    /** The sessions in the order of the last used time. */
+    @GuardedBy("lock")
+    private final LinkedHashMap<Integer, FetchSession> sessions =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    // the session ids are random, to not be guessed from the ids of the other sessions
+    @GuardedBy("lock")
+    private final Random sessionIdGenerator = new SecureRandom();
+
+    private final int maxSessions;
+    private final long ttlMs;
+    private final Clock clock;
+
+    public FetchSessionCache(Configuration conf, Clock clock) {
+        this.maxSessions = conf.get(ConfigOptions.LOG_FETCH_SESSION_MAX_NUM);
+        this.ttlMs = conf.get(ConfigOptions.LOG_FETCH_SESSION_TTL).toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the session of a fetch log request. The session is created if the epoch is the initial
+     * epoch, otherwise the incremental request is applied to the session. A session can only be
+     * used by the fetcher which created it, the sessions of the other fetchers are not found.
+     *
+     * @param owner the fetcher of the request, e.g. the principal and client id of a client
+     * @param sessionId the session id of the request
+     * @param epoch the session epoch of the request
+     * @param buckets the buckets carried by the request
+     * @param forgottenBuckets the buckets removed from the session by the request
+     * @return the session, or null if the request creates a session but the sessions are full
+     * @throws FetchSessionIdNotFoundException if the session of an incremental request isn't found
+     * @throws InvalidFetchSessionEpochException if the epoch of an incremental request is invalid
+     */
+    @Nullable
+    public FetchSession getOrCreateSession(
+            String owner,
+            int sessionId,
+            int epoch,
+            Map<TableBucket, FetchReqInfo> buckets,
+            Collection<TableBucket> forgottenBuckets) {
+        long currentTimeMs = clock.milliseconds();
+        FetchSession session;
+        synchronized (lock) {
+            if (epoch == INITIAL_EPOCH) {
+                if (sessionId != INVALID_SESSION_ID && getSession(owner, sessionId) != null) {
+                    sessions.remove(sessionId);
+                }
+                if (sessions.size() >= maxSessions) {
+                    LOG.debug(
+                            "The number of fetch sessions exceeds the max number {}, "
+                                    + "fetch the log without a session.",
+                            maxSessions);
+                    return null;
+                }
+                int newSessionId = nextSessionId();
+                session = new FetchSession(newSessionId, owner, buckets, currentTimeMs);
+                sessions.put(newSessionId, session);
+                return session;
+            }
+
+            session = getSession(owner, sessionId);
+        }
+        if (session == null) {
+            throw new FetchSessionIdNotFoundException(
+                    String.format(
+                            "The fetch session %d is not found, it may be expired.", sessionId));
+        }
+        session.update(epoch, buckets, forgottenBuckets, currentTimeMs);
+        return session;
+    }
+
+    @GuardedBy("lock")
+    @Nullable
+    private FetchSession getSession(String owner, int sessionId) {
+        FetchSession session = sessions.get(sessionId);
+        return session != null && session.getOwner().equals(owner) ? session : null;
+    }
+
+    @GuardedBy("lock")
+    private int nextSessionId() {
+        int sessionId;
+        do {
+            sessionId = sessionIdGenerator.nextInt();
+        } while (sessionId == INVALID_SESSION_ID || sessions.containsKey(sessionId));
+        return sessionId;
+    }
+
+    /** Removes the sessions which are idle for longer than the ttl. */
+    public void expireIdleSessions() {
+        long currentTimeMs = clock.milliseconds();
+        synchronized (lock) {
+            // the sessions are in the order of the last access, so the idle ones are at the head
+            Iterator<FetchSession> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                FetchSession session = it.next();
+                if (currentTimeMs - session.getLastUsedTimeMs() <= ttlMs) {
+                    break;
+                }
+                LOG.debug(
+                        "Expire the fetch session {}, which is idle for more than {} ms.",
+                        session.getSessionId(),
+                        ttlMs);
+                it.remove();
+            }
+        }
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    @VisibleForTesting
+    int getSessionCount() {
+        synchronized (lock) {
+            return sessions.size();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.metrics.SimpleCounter;
 import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
@@ -369,6 +370,22 @@ public final class LocalLog {
             LogOffsetMetadata maxOffsetMetadata,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, null);
+    }
+
+    /**
+     * Read messages from the log, skipping the batches which can't match the given filter.
+     *
+     * @see #read(long, int, boolean, LogOffsetMetadata, FileLogProjection)
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            boolean minOneMessage,
+            LogOffsetMetadata maxOffsetMetadata,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         if (LOG.isTraceEnabled()) {
             LOG.trace(
                     "Reading maximum {} bytes at offset {} from log with total length {} bytes",
@@ -414,7 +431,13 @@ public final class LocalLog {
                                 ? maxOffsetMetadata.getRelativePositionInSegment()
                                 : segment.getSizeInBytes();
                 fetchDataInfo =
-                        segment.read(readOffset, maxLength, maxPosition, minOneMessage, projection);
+                        segment.read(
+                                readOffset,
+                                maxLength,
+                                maxPosition,
+                                minOneMessage,
+                                projection,
+                                filter);
                 if (fetchDataInfo == null) {
                     segmentOpt = segments.higherSegment(baseOffset);
                 }
@@ -445,6 +468,11 @@ public final class LocalLog {
         updateLogEndOffset(lastOffset + 1);
     }
 
+    /** Updates the index interval of the active segment for the next appends. */
+    void updateIndexIntervalBytes(int indexIntervalBytes) {
+        segments.activeSegment().updateIndexIntervalBytes(indexIntervalBytes);
+    }
+
     long lookupOffsetForTimestamp(long startTimestamp) throws IOException {
         for (LogSegment segment : segments.values()) {
             if (segment.maxTimestampSoFar() >= startTimestamp) {
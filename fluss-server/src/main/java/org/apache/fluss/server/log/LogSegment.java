@@ -29,6 +29,7 @@ import org.apache.fluss.record.FileChannelChunk;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.TimestampAndOffset;
@@ -68,6 +69,13 @@ public final class LogSegment {
 
     private static final Logger LOG = LoggerFactory.getLogger(LogSegment.class);
 
+    /**
+     * The max bytes of the log scanned by a filtered read, as a multiple of the max bytes to read.
+     * The filter may skip all the batches it scans, so the scan is bounded to not read through the
+     * whole segment in a single fetch.
+     */
+    private static final int MAX_FILTER_SCAN_SIZE_FACTOR = 16;
+
     // the log format of the log segment
     private final LogFormat logFormat;
 
@@ -84,7 +92,7 @@ public final class LogSegment {
     private final long baseOffset;
 
     // The approximate number of bytes between entries in the index.
-    private final int indexIntervalBytes;
+    private int indexIntervalBytes;
 
     private int bytesSinceLastIndexEntry = 0;
 
@@ -167,6 +175,14 @@ public final class LogSegment {
         return lazyTimeIndex.file();
     }
 
+    /**
+     * Updates the approximate number of bytes between entries in the index, which takes effect for
+     * the next appends.
+     */
+    public void updateIndexIntervalBytes(int indexIntervalBytes) {
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
     public void resizeIndexes(int size) throws IOException {
         offsetIndex().resize(size);
         timeIndex().resize(size);
@@ -482,6 +498,33 @@ public final class LogSegment {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(startOffset, maxSize, maxPosition, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read a message set from this segment beginning with the first offset >= startOffset. The
+     * message set will include no more than maxSize bytes and will end before maxOffset if a
+     * maxOffset is specified.
+     *
+     * @param startOffset A lower bound on the first offset to include in the message set we read
+     * @param maxSize The maximum number of bytes to include in the message set we read
+     * @param maxPosition The maximum position in the log segment that should be exposed for read
+     * @param minOneMessage If this is true, the first message will be returned even if it exceeds
+     *     `maxSize` (if one exists)
+     * @param projection The column projection to apply to the log records
+     * @param filter The filter to skip the batches that can't match the fetch predicate
+     * @return The fetched data and the offset metadata of the first message whose offset is >=
+     *     startOffset, or null if the startOffset is larger than the largest offset in this log
+     */
+    @Nullable
+    public FetchDataInfo read(
+            long startOffset,
+            int maxSize,
+            long maxPosition,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         if (maxSize < 0) {
             throw new IllegalArgumentException(
                     "Invalid max size " + maxSize + " for log read from segment " + fileLogRecords);
@@ -498,28 +541,73 @@ public final class LogSegment {
         if (adjustedMaxSize <= RECORD_BATCH_HEADER_SIZE) {
             return new FetchDataInfo(offsetMetadata, MemoryLogRecords.EMPTY);
         }
-        if (projection == null) {
+        if (projection == null && filter == null) {
             int fetchSize = Math.min((int) (maxPosition - startPosition), adjustedMaxSize);
             return new FetchDataInfo(
                     offsetMetadata, fileLogRecords.slice(startPosition, fetchSize));
+        } else if (projection == null) {
+            if (logFormat != LogFormat.ARROW) {
+                // only Arrow batches carry statistics, nothing can be skipped
+                int fetchSize = Math.min((int) (maxPosition - startPosition), adjustedMaxSize);
+                return new FetchDataInfo(
+                        offsetMetadata, fileLogRecords.slice(startPosition, fetchSize));
+            }
+            // scan more than the max size, as batches may be skipped
+            int fetchSize =
+                    filterScanSize(
+                            maxPosition, startPosition, adjustedMaxSize, startOffsetAndSize);
+            FileChannelChunk chunk = fileLogRecords.slice(startPosition, fetchSize).toChunk();
+            LogRecords filteredRecords =
+                    filter.filter(
+                            chunk.getFileChannel(),
+                            chunk.getPosition(),
+                            chunk.getPosition() + chunk.getSize(),
+                            adjustedMaxSize);
+            return new FetchDataInfo(offsetMetadata, filteredRecords);
         } else {
             if (logFormat != LogFormat.ARROW) {
                 throw new InvalidColumnProjectionException(
                         "Only Arrow log format supports column projection, but is: " + logFormat);
             }
-            // allow to fetch all the data available in the segment
-            int fetchSize = (int) (maxPosition - startPosition);
+            // allow to fetch all the data available in the segment, but bound the scan if batches
+            // may be skipped by the filter
+            int fetchSize =
+                    filter == null
+                            ? (int) (maxPosition - startPosition)
+                            : filterScanSize(
+                                    maxPosition,
+                                    startPosition,
+                                    adjustedMaxSize,
+                                    startOffsetAndSize);
             FileChannelChunk chunk = fileLogRecords.slice(startPosition, fetchSize).toChunk();
             LogRecords projectedRecords =
                     projection.project(
                             chunk.getFileChannel(),
                             chunk.getPosition(),
                             chunk.getPosition() + chunk.getSize(),
-                            adjustedMaxSize);
+                            adjustedMaxSize,
+                            filter);
             return new FetchDataInfo(offsetMetadata, projectedRecords);
         }
     }
 
+    /**
+     * Returns the bytes to scan from the start position by a filtered read, which is bounded to
+     * {@link #MAX_FILTER_SCAN_SIZE_FACTOR} times the max size, but covers at least the first batch.
+     * When the scan stops at the bound, the batches skipped so far are returned as an empty batch
+     * covering their offsets, so the next fetch continues from the position reached.
+     */
+    private static int filterScanSize(
+            long maxPosition,
+            int startPosition,
+            int maxSize,
+            FileLogRecords.LogOffsetPosition startOffsetAndSize) {
+        long maxScanSize =
+                Math.max(
+                        (long) maxSize * MAX_FILTER_SCAN_SIZE_FACTOR, startOffsetAndSize.getSize());
+        return (int) Math.min(maxPosition - startPosition, maxScanSize);
+    }
+
     public void changeFileSuffixes(String oldSuffix, String newSuffix) throws IOException {
         fileLogRecords.renameTo(
                 new File(
@@ -37,6 +37,7 @@ import org.apache.fluss.record.DefaultLogRecordBatch;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.log.LocalLog.SegmentDeletionReason;
@@ -103,10 +104,17 @@ public final class LogTablet {
     private final int tieredLogLocalSegments;
     private final Clock clock;
     private final boolean isChangeLog;
+    // decides the index interval of the appended log if adaptive indexing is enabled
+    private final @Nullable AdaptiveIndexInterval adaptiveIndexInterval;
 
     @GuardedBy("lock")
     private volatile LogOffsetMetadata highWatermarkMetadata;
 
+    // The high watermark last reported by the leader, only maintained by the follower replicas to
+    // bound the log served to the clients. It never exceeds the local log end offset.
+    @GuardedBy("lock")
+    private volatile LogOffsetMetadata leaderHighWatermarkMetadata;
+
     /** The leader end offset snapshot when become leader. */
     private volatile long leaderEndOffsetSnapshot = -1L;
 
@@ -142,6 +150,7 @@ public final class LogTablet {
                 (int) conf.get(ConfigOptions.WRITER_ID_EXPIRATION_CHECK_INTERVAL).toMillis();
         this.writerStateManager = writerStateManager;
         this.highWatermarkMetadata = new LogOffsetMetadata(0L);
+        this.leaderHighWatermarkMetadata = new LogOffsetMetadata(0L);
 
         this.scheduler = scheduler;
         // scheduler the writer expiration interval check.
@@ -159,6 +168,10 @@ public final class LogTablet {
 
         this.clock = clock;
         this.isChangeLog = isChangelog;
+        this.adaptiveIndexInterval =
+                conf.get(ConfigOptions.LOG_INDEX_ADAPTIVE_ENABLED)
+                        ? AdaptiveIndexInterval.create(conf, clock)
+                        : null;
         // Default value to 0L for changelog to avoid cleaning up any segments in case of not
         // updating this value in time. Default value to Long.MAX_VALUE for normal log table,
         // as we don't need to retain logs for kv recovery.
@@ -376,14 +389,32 @@ public final class LogTablet {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, fetchIsolation, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read messages from the local log, skipping the batches whose statistics prove that they can't
+     * match the given filter.
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            FetchIsolation fetchIsolation,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable LogRecordBatchFilter filter)
+            throws IOException {
         LogOffsetMetadata maxOffsetMetadata = null;
         if (fetchIsolation == FetchIsolation.LOG_END) {
             maxOffsetMetadata = localLog.getLocalLogEndOffsetMetadata();
         } else if (fetchIsolation == FetchIsolation.HIGH_WATERMARK) {
             maxOffsetMetadata = fetchHighWatermarkMetadata();
+        } else if (fetchIsolation == FetchIsolation.LEADER_HIGH_WATERMARK) {
+            maxOffsetMetadata = fetchLeaderHighWatermarkMetadata();
         }
 
-        return localLog.read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection);
+        return localLog.read(
+                readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, filter);
     }
 
     /**
@@ -423,6 +454,39 @@ public final class LogTablet {
         LOG.trace("Setting high watermark {}", newHighWatermark);
     }
 
+    /**
+     * Update the high watermark reported by the leader, which bounds the log served to the clients
+     * by the follower replica. It will be upper bounded by the log end offset.
+     *
+     * <p>This is intended to be called by the follower after appending the fetched log.
+     *
+     * @param leaderHighWatermark the high watermark in the fetch response of the leader.
+     */
+    public void updateLeaderHighWatermark(long leaderHighWatermark) {
+        synchronized (lock) {
+            long newLeaderHighWatermark =
+                    Math.max(0L, Math.min(leaderHighWatermark, localLog.getLocalLogEndOffset()));
+            if (newLeaderHighWatermark != leaderHighWatermarkMetadata.getMessageOffset()) {
+                leaderHighWatermarkMetadata = new LogOffsetMetadata(newLeaderHighWatermark);
+            }
+        }
+    }
+
+    public long getLeaderHighWatermark() {
+        return leaderHighWatermarkMetadata.getMessageOffset();
+    }
+
+    /**
+     * Lower the high watermark reported by the leader to the log end offset after a truncation, as
+     * the log above it may differ from the log of the new leader.
+     */
+    @GuardedBy("lock")
+    private void updateLeaderHighWatermarkWithLogEndOffset() {
+        if (getLeaderHighWatermark() >= localLog.getLocalLogEndOffset()) {
+            leaderHighWatermarkMetadata = localLog.getLocalLogEndOffsetMetadata();
+        }
+    }
+
     /**
      * Update the highWatermark to a new value if and only if it is larger than the old value. It is
      * an error to update to a value which is larger than the log end offset.
@@ -455,6 +519,9 @@ public final class LogTablet {
     }
 
     public long lookupOffsetForTimestamp(long startTimestamp) throws IOException {
+        if (adaptiveIndexInterval != null) {
+            adaptiveIndexInterval.recordSeek();
+        }
         long findOffset = localLog.lookupOffsetForTimestamp(startTimestamp);
         if (findOffset == -1L) {
             throw new InvalidTimestampException(
@@ -588,6 +655,26 @@ public final class LogTablet {
         }
     }
 
+    /**
+     * Get the offset metadata of the high watermark reported by the leader. If it's message offset
+     * only, this will do a lookup in the index and cache the result.
+     */
+    private LogOffsetMetadata fetchLeaderHighWatermarkMetadata() throws IOException {
+        localLog.checkIfMemoryMappedBufferClosed();
+        LogOffsetMetadata offsetMetadata = leaderHighWatermarkMetadata;
+        if (offsetMetadata.messageOffsetOnly()) {
+            synchronized (lock) {
+                offsetMetadata = leaderHighWatermarkMetadata;
+                if (offsetMetadata.messageOffsetOnly()) {
+                    offsetMetadata =
+                            convertToOffsetMetadataOrThrow(offsetMetadata.getMessageOffset());
+                    leaderHighWatermarkMetadata = offsetMetadata;
+                }
+            }
+        }
+        return offsetMetadata;
+    }
+
     /**
      * Given a message offset, find its corresponding offset metadata in the log. If the message
      * offset is out of range, throw an {@link LogOffsetOutOfRangeException}
@@ -671,6 +758,9 @@ public final class LogTablet {
                 // Append the records, and increment the local log end offset immediately after
                 // append because write to the transaction index below may fail, and we want to
                 // ensure that the offsets of future appends still grow monotonically.
+                if (adaptiveIndexInterval != null) {
+                    localLog.updateIndexIntervalBytes(adaptiveIndexInterval.indexIntervalBytes());
+                }
                 localLog.append(
                         appendInfo.lastOffset(),
                         appendInfo.maxTimestamp(),
@@ -859,6 +949,7 @@ public final class LogTablet {
                         if (getHighWatermark() >= localLog.getLocalLogEndOffset()) {
                             updateHighWatermark(localLog.getLocalLogEndOffset());
                         }
+                        updateLeaderHighWatermarkWithLogEndOffset();
                     }
 
                     return true;
@@ -882,6 +973,7 @@ public final class LogTablet {
                 writerStateManager.truncateFullyAndStartAt(newOffset);
                 rebuildWriterState(newOffset, writerStateManager);
                 updateHighWatermark(localLog.getLocalLogEndOffset());
+                updateLeaderHighWatermarkWithLogEndOffset();
             } catch (IOException e) {
                 throw new LogStorageException(
                         String.format(
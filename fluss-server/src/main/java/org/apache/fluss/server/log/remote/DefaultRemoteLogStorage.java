@@ -101,14 +101,13 @@ public class DefaultRemoteLogStorage implements RemoteLogStorage {
     public void copyLogSegmentFiles(
             RemoteLogSegment remoteLogSegment, LogSegmentFiles logSegmentFiles)
             throws RemoteStorageException {
-        LOG.debug("copying log segment and indexes for remoteLogSegment: {}", remoteLogSegment);
         try {
-            List<CompletableFuture<Void>> futures =
-                    createUploadFutures(remoteLogSegment, logSegmentFiles);
-            FutureUtils.waitForAll(futures).get();
+            copyLogSegmentFilesAsync(remoteLogSegment, logSegmentFiles).get();
         } catch (ExecutionException e) {
             Throwable throwable = ExceptionUtils.stripExecutionException(e);
-            throwable = ExceptionUtils.stripException(throwable, RuntimeException.class);
+            if (throwable instanceof RemoteStorageException) {
+                throw (RemoteStorageException) throwable;
+            }
             throw new RemoteStorageException(
                     "Failed to copy log segment and indexes to remote dir for path: "
                             + remoteLogSegment,
@@ -119,12 +118,50 @@ public class DefaultRemoteLogStorage implements RemoteLogStorage {
                     "Interrupted while copying log segment and indexes to remote for path: "
                             + remoteLogSegment,
                     e);
+        }
+    }
+
+    /**
+     * Copy log segments to remote path asynchronously, the files of the segment are uploaded
+     * concurrently by the data transfer threads. See {@link #copyLogSegmentFiles(RemoteLogSegment,
+     * LogSegmentFiles)} for the remote paths.
+     */
+    @Override
+    public CompletableFuture<Void> copyLogSegmentFilesAsync(
+            RemoteLogSegment remoteLogSegment, LogSegmentFiles logSegmentFiles) {
+        LOG.debug("copying log segment and indexes for remoteLogSegment: {}", remoteLogSegment);
+        CompletableFuture<Void> resultFuture = new CompletableFuture<>();
+        List<CompletableFuture<Void>> futures;
+        try {
+            futures = createUploadFutures(remoteLogSegment, logSegmentFiles);
         } catch (Exception e) {
-            throw new RemoteStorageException(
-                    "Failed to copy log segment and indexes to remote for path: "
-                            + remoteLogSegment,
-                    e);
+            resultFuture.completeExceptionally(
+                    new RemoteStorageException(
+                            "Failed to copy log segment and indexes to remote for path: "
+                                    + remoteLogSegment,
+                            e));
+            return resultFuture;
         }
+
+        FutureUtils.waitForAll(futures)
+                .whenComplete(
+                        (ignored, throwable) -> {
+                            if (throwable == null) {
+                                resultFuture.complete(null);
+                            } else {
+                                Throwable cause =
+                                        ExceptionUtils.stripException(
+                                                ExceptionUtils.stripCompletionException(throwable),
+                                                RuntimeException.class);
+                                resultFuture.completeExceptionally(
+                                        new RemoteStorageException(
+                                                "Failed to copy log segment and indexes to remote "
+                                                        + "dir for path: "
+                                                        + remoteLogSegment,
+                                                cause));
+                            }
+                        });
+        return resultFuture;
     }
 
     /**
@@ -193,6 +230,21 @@ public class DefaultRemoteLogStorage implements RemoteLogStorage {
         }
     }
 
+    @Override
+    public InputStream fetchLogSegment(RemoteLogSegment remoteLogSegment)
+            throws RemoteStorageException {
+        FsPath remoteLogSegmentFile =
+                FlussPaths.remoteLogSegmentFile(
+                        FlussPaths.remoteLogSegmentDir(remoteLogDir, remoteLogSegment),
+                        remoteLogSegment.remoteLogStartOffset());
+        try {
+            return fileSystem.open(remoteLogSegmentFile);
+        } catch (IOException e) {
+            throw new RemoteStorageException(
+                    "Failed to fetch log segment file from path: " + remoteLogSegmentFile, e);
+        }
+    }
+
     @Override
     public RemoteLogManifest readRemoteLogManifestSnapshot(FsPath remoteLogManifestPath)
             throws RemoteStorageException {
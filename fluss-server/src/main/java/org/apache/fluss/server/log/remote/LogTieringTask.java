@@ -30,6 +30,7 @@ import org.apache.fluss.server.log.LogSegment;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.metrics.group.PhysicalTableMetricGroup;
 import org.apache.fluss.server.replica.Replica;
+import org.apache.fluss.utils.ExceptionUtils;
 import org.apache.fluss.utils.clock.Clock;
 
 import org.slf4j.Logger;
@@ -37,11 +38,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeCommitRemoteLogManifestRequest;
 
@@ -57,6 +63,7 @@ public class LogTieringTask implements Runnable {
     private final TableBucket tableBucket;
     private final RemoteLogStorage remoteLogStorage;
     private final CoordinatorGateway coordinatorGateway;
+    private final int segmentCopyParallelism;
     private final Clock clock;
 
     // The copied offset is empty initially for a new leader LogTieringTask, and needs to
@@ -70,6 +77,7 @@ public class LogTieringTask implements Runnable {
             RemoteLogTablet remoteLog,
             RemoteLogStorage remoteLogStorage,
             CoordinatorGateway coordinatorGateway,
+            int segmentCopyParallelism,
             Clock clock) {
         this.replica = replica;
         this.remoteLog = remoteLog;
@@ -77,6 +85,7 @@ public class LogTieringTask implements Runnable {
         this.tableBucket = replica.getTableBucket();
         this.remoteLogStorage = remoteLogStorage;
         this.coordinatorGateway = coordinatorGateway;
+        this.segmentCopyParallelism = Math.max(1, segmentCopyParallelism);
         this.clock = clock;
     }
 
@@ -175,6 +184,7 @@ public class LogTieringTask implements Runnable {
                 }
             }
 
+            updateCopyLag(logTablet);
         } catch (InterruptedException | RetriableException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -228,6 +238,11 @@ public class LogTieringTask implements Runnable {
      * Copy the given log segments to remote and add the successfully copied segment to the {@code
      * copiedSegments} parameter.
      *
+     * <p>At most {@link #segmentCopyParallelism} segments are copied concurrently, but the copied
+     * segments are collected in offset order to keep the remote log manifest continuous. If a
+     * segment fails to be copied, only the segments before it are collected, and the segments
+     * after it are deleted from remote.
+     *
      * @return the end offset of the last segment copied to remote.
      */
     private long copyLogSegmentFilesToRemote(
@@ -237,57 +252,130 @@ public class LogTieringTask implements Runnable {
             PhysicalTableMetricGroup metricGroup)
             throws Exception {
         long endOffset = -1;
-        for (EnrichedLogSegment enrichedSegment : segments) {
-            LogSegment segment = enrichedSegment.logSegment;
-            File logFile = segment.getFileLogRecords().file();
-            String logFileName = logFile.getName();
-            LOG.info(
-                    "Copying {} of table {} bucket {} to remote storage.",
-                    logFileName,
-                    physicalTablePath,
-                    tableBucket.getBucket());
-            endOffset = enrichedSegment.nextSegmentOffset;
-
-            File writerIdSnapshotFile =
-                    log.writerStateManager().fetchSnapshot(endOffset).orElse(null);
-            LogSegmentFiles logSegmentFiles =
-                    new LogSegmentFiles(
-                            logFile.toPath(),
-                            toPathIfExists(segment.offsetIndex().file()),
-                            toPathIfExists(segment.timeIndex().file()),
-                            writerIdSnapshotFile != null ? writerIdSnapshotFile.toPath() : null);
-
-            UUID remoteLogSegmentId = UUID.randomUUID();
-            int sizeInBytes = segment.getFileLogRecords().sizeInBytes();
-            RemoteLogSegment copyRemoteLogSegment =
-                    RemoteLogSegment.Builder.builder()
-                            .physicalTablePath(physicalTablePath)
-                            .tableBucket(tableBucket)
-                            .remoteLogSegmentId(remoteLogSegmentId)
-                            .remoteLogStartOffset(segment.getBaseOffset())
-                            .remoteLogEndOffset(endOffset)
-                            .maxTimestamp(segment.maxTimestampSoFar())
-                            .segmentSizeInBytes(sizeInBytes)
-                            .build();
+        Deque<SegmentCopy> pendingCopies = new ArrayDeque<>();
+        Iterator<EnrichedLogSegment> segmentIterator = segments.iterator();
+        RemoteStorageException copyError = null;
+        while (segmentIterator.hasNext() || !pendingCopies.isEmpty()) {
+            if (segmentIterator.hasNext() && pendingCopies.size() < segmentCopyParallelism) {
+                pendingCopies.add(copyLogSegmentFilesAsync(log, segmentIterator.next()));
+                continue;
+            }
+
+            // wait for the copy of the earliest segment
+            SegmentCopy segmentCopy = pendingCopies.poll();
             try {
-                remoteLogStorage.copyLogSegmentFiles(copyRemoteLogSegment, logSegmentFiles);
-            } catch (RemoteStorageException e) {
+                segmentCopy.future.get();
+            } catch (ExecutionException e) {
                 metricGroup.remoteLogCopyErrors().inc();
-                throw e;
+                Throwable cause = ExceptionUtils.stripExecutionException(e);
+                copyError =
+                        cause instanceof RemoteStorageException
+                                ? (RemoteStorageException) cause
+                                : new RemoteStorageException(
+                                        "Failed to copy log segment "
+                                                + segmentCopy.remoteLogSegment
+                                                + " to remote.",
+                                        cause);
+                pendingCopies.addFirst(segmentCopy);
+                break;
             }
             LOG.info(
                     "Copied {} of table {} bucket {} to remote storage as remote log segment: {}.",
-                    logFileName,
+                    segmentCopy.logFileName,
                     physicalTablePath,
                     tableBucket,
-                    copyRemoteLogSegment.remoteLogSegmentId());
+                    segmentCopy.remoteLogSegment.remoteLogSegmentId());
             metricGroup.remoteLogCopyRequests().inc();
-            metricGroup.remoteLogCopyBytes().inc(sizeInBytes);
-            copiedSegments.add(copyRemoteLogSegment);
+            metricGroup.remoteLogCopyBytes()
+                    .inc(segmentCopy.remoteLogSegment.segmentSizeInBytes());
+            copiedSegments.add(segmentCopy.remoteLogSegment);
+            endOffset = segmentCopy.nextSegmentOffset;
+        }
+
+        if (copyError != null) {
+            // the failed segment and the segments after it can't be committed, as the remote log
+            // must be continuous, wait for the in-flight copies and clean them up from remote.
+            List<RemoteLogSegment> uncommittedSegments = new ArrayList<>();
+            for (SegmentCopy segmentCopy : pendingCopies) {
+                try {
+                    segmentCopy.future.get();
+                } catch (ExecutionException e) {
+                    // the error of the first failed segment has been counted
+                    if (!uncommittedSegments.isEmpty()) {
+                        metricGroup.remoteLogCopyErrors().inc();
+                    }
+                }
+                uncommittedSegments.add(segmentCopy.remoteLogSegment);
+            }
+            deleteRemoteLogSegmentFiles(uncommittedSegments, metricGroup);
+
+            if (copiedSegments.isEmpty()) {
+                throw copyError;
+            }
+            LOG.warn(
+                    "Failed to copy log segments of bucket {} to remote storage, only the {} "
+                            + "segments before the failed one will be committed.",
+                    tableBucket,
+                    copiedSegments.size(),
+                    copyError);
         }
         return endOffset;
     }
 
+    private SegmentCopy copyLogSegmentFilesAsync(LogTablet log, EnrichedLogSegment enrichedSegment)
+            throws Exception {
+        LogSegment segment = enrichedSegment.logSegment;
+        File logFile = segment.getFileLogRecords().file();
+        String logFileName = logFile.getName();
+        LOG.info(
+                "Copying {} of table {} bucket {} to remote storage.",
+                logFileName,
+                physicalTablePath,
+                tableBucket.getBucket());
+        long endOffset = enrichedSegment.nextSegmentOffset;
+
+        File writerIdSnapshotFile = log.writerStateManager().fetchSnapshot(endOffset).orElse(null);
+        LogSegmentFiles logSegmentFiles =
+                new LogSegmentFiles(
+                        logFile.toPath(),
+                        toPathIfExists(segment.offsetIndex().file()),
+                        toPathIfExists(segment.timeIndex().file()),
+                        writerIdSnapshotFile != null ? writerIdSnapshotFile.toPath() : null);
+
+        UUID remoteLogSegmentId = UUID.randomUUID();
+        int sizeInBytes = segment.getFileLogRecords().sizeInBytes();
+        RemoteLogSegment copyRemoteLogSegment =
+                RemoteLogSegment.Builder.builder()
+                        .physicalTablePath(physicalTablePath)
+                        .tableBucket(tableBucket)
+                        .remoteLogSegmentId(remoteLogSegmentId)
+                        .remoteLogStartOffset(segment.getBaseOffset())
+                        .remoteLogEndOffset(endOffset)
+                        .maxTimestamp(segment.maxTimestampSoFar())
+                        .segmentSizeInBytes(sizeInBytes)
+                        .build();
+        return new SegmentCopy(
+                copyRemoteLogSegment,
+                logFileName,
+                endOffset,
+                remoteLogStorage.copyLogSegmentFilesAsync(copyRemoteLogSegment, logSegmentFiles));
+    }
+
+    /** Updates the number and size of the rolled local log segments not copied to remote yet. */
+    private void updateCopyLag(LogTablet logTablet) {
+        if (copiedOffset == null) {
+            return;
+        }
+        long fromOffset = Math.max(copiedOffset + 1, logTablet.localLogStartOffset());
+        List<EnrichedLogSegment> lagSegments =
+                candidateLogSegments(logTablet, fromOffset, Long.MAX_VALUE);
+        long lagBytes = 0;
+        for (EnrichedLogSegment lagSegment : lagSegments) {
+            lagBytes += lagSegment.logSegment.getSizeInBytes();
+        }
+        remoteLog.updateCopyLag(lagSegments.size(), lagBytes);
+    }
+
     /**
      * Try to commit remote log manifest. Including three steps.
      *
@@ -477,6 +565,25 @@ public class LogTieringTask implements Runnable {
         return this.getClass() + "[" + tableBucket + "]";
     }
 
+    /** The in-flight copy of a log segment to remote. */
+    private static class SegmentCopy {
+        private final RemoteLogSegment remoteLogSegment;
+        private final String logFileName;
+        private final long nextSegmentOffset;
+        private final CompletableFuture<Void> future;
+
+        private SegmentCopy(
+                RemoteLogSegment remoteLogSegment,
+                String logFileName,
+                long nextSegmentOffset,
+                CompletableFuture<Void> future) {
+            this.remoteLogSegment = remoteLogSegment;
+            this.logFileName = logFileName;
+            this.nextSegmentOffset = nextSegmentOffset;
+            this.future = future;
+        }
+    }
+
     private static class EnrichedLogSegment {
         private final LogSegment logSegment;
         private final long nextSegmentOffset;
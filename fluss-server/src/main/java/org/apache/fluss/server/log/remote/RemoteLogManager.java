@@ -38,6 +38,7 @@ import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.Closeable;
@@ -69,7 +70,10 @@ public class RemoteLogManager implements Closeable {
     public static final String RLM_SCHEDULED_THREAD_PREFIX = "fluss-remote-log-manager-thread-pool";
 
     private final long taskInterval;
+    private final int segmentCopyParallelism;
     private final RemoteLogIndexCache remoteLogIndexCache;
+    // the cache of remote log segments served to clients, null if the read proxy is disabled
+    private final @Nullable RemoteLogSegmentCache remoteLogSegmentCache;
     private final RemoteLogStorage remoteLogStorage;
     private final CoordinatorGateway coordinatorGateway;
     private final ScheduledExecutorService rlManagerScheduledThreadPool;
@@ -115,7 +119,18 @@ public class RemoteLogManager implements Closeable {
                         (int) conf.get(ConfigOptions.REMOTE_LOG_INDEX_FILE_CACHE_SIZE).getBytes(),
                         remoteLogStorage,
                         dataDir);
+        this.remoteLogSegmentCache =
+                conf.getBoolean(ConfigOptions.REMOTE_LOG_READ_PROXY_ENABLED)
+                        ? new RemoteLogSegmentCache(
+                                conf.get(ConfigOptions.REMOTE_LOG_SEGMENT_CACHE_SIZE).getBytes(),
+                                remoteLogStorage,
+                                dataDir,
+                                conf.getInt(ConfigOptions.REMOTE_LOG_DATA_TRANSFER_THREAD_NUM),
+                                clock)
+                        : null;
         this.taskInterval = conf.get(ConfigOptions.REMOTE_LOG_TASK_INTERVAL_DURATION).toMillis();
+        this.segmentCopyParallelism =
+                conf.getInt(ConfigOptions.REMOTE_LOG_SEGMENT_COPY_PARALLELISM);
         this.rlManagerScheduledThreadPool = scheduledExecutor;
         this.clock = clock;
     }
@@ -124,6 +139,14 @@ public class RemoteLogManager implements Closeable {
         return remoteLogStorage;
     }
 
+    /**
+     * Returns the cache of remote log segments to serve the remote log to clients, null if the
+     * remote log read proxy is disabled.
+     */
+    public @Nullable RemoteLogSegmentCache getRemoteLogSegmentCache() {
+        return remoteLogSegmentCache;
+    }
+
     public FsPath remoteLogDir() {
         return remoteLogStorage.getRemoteLogDir();
     }
@@ -173,6 +196,9 @@ public class RemoteLogManager implements Closeable {
                             .collect(Collectors.toList());
             // remove cache.
             remoteLogIndexCache.removeAll(remoteLogSegmentIdList);
+            if (remoteLogSegmentCache != null) {
+                remoteLogSegmentCache.removeAll(remoteLogSegmentIdList);
+            }
             // unregister the remote log metrics, only leader needs to report
             remoteLog.unregisterMetrics();
         }
@@ -283,6 +309,7 @@ public class RemoteLogManager implements Closeable {
                                     remoteLog,
                                     remoteLogStorage,
                                     coordinatorGateway,
+                                    segmentCopyParallelism,
                                     clock);
                     LOG.info("Created a new remote log task: {} and getting scheduled", task);
                     ScheduledFuture<?> future =
@@ -310,6 +337,7 @@ public class RemoteLogManager implements Closeable {
         rlmTasks.values().forEach(TaskWithFuture::cancel);
         IOUtils.closeQuietly(remoteLogStorage, "RemoteLogStorageManager");
         IOUtils.closeQuietly(remoteLogIndexCache, "RemoteIndexCache");
+        IOUtils.closeQuietly(remoteLogSegmentCache, "RemoteLogSegmentCache");
 
         shutdownAndAwaitTermination(
                 rlManagerScheduledThreadPool, "RLMScheduledThreadPool", 10, TimeUnit.SECONDS);
@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log.remote;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.utils.FileUtils;
+import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
+import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentCacheDir;
+
+/**
+ * A bounded LRU cache of the remote log segment files of this tabletServer, which is used to serve
+ * the remote log to the clients through the fetch log responses. The segment files are downloaded
+ * into the dir `$dataDir/remote-log-segment-cache` and named as `$segmentId.log`.
+ *
+ * <p>The cache is shared by all the clients reading the remote log of this tabletServer, so a
+ * remote log segment replayed by many clients is only downloaded from remote storage once. A
+ * segment is downloaded asynchronously on the first miss, the read doesn't wait for the download
+ * and the client is expected to retry the fetch later.
+ *
+ * <p>The cache is bounded by the total size of the segment files. The evicted segment files are
+ * deleted once no read is in-progress on them. The segment files are not reused after restart,
+ * the cache dir is cleaned up on startup.
+ *
+ * <p>This class is thread safe.
+ */
+@ThreadSafe
+public class RemoteLogSegmentCache implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteLogSegmentCache.class);
+
+    public static final String REMOTE_LOG_SEGMENT_DOWNLOAD_THREAD_PREFIX =
+            "remote-log-segment-cache-downloader";
+
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    /** The time to not download a segment again after the download of it failed. */
+    @VisibleForTesting static final long FAILED_DOWNLOAD_BACKOFF_MS = 60_000L;
+
+    private final long maxBytes;
+    private final File cacheDir;
+    private final RemoteLogStorage remoteLogStorage;
+    private final ExecutorService downloadThreadPool;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final LinkedHashMap<UUID, Entry> segments = new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("lock")
+    private final Set<UUID> downloadingSegments = new HashSet<>();
+
+    /** The segments failed to download, and the time until which they won't be downloaded. */
+    @GuardedBy("lock")
+    private final Map<UUID, Long> failedSegments = new HashMap<>();
+
+    @GuardedBy("lock")
+    private long sizeInBytes = 0;
+
+    @GuardedBy("lock")
+    private boolean closed = false;
+
+    // metrics related.
+    private final Counter hitCount = new ThreadSafeSimpleCounter();
+    private final Counter missCount = new ThreadSafeSimpleCounter();
+    private final Counter evictionCount = new ThreadSafeSimpleCounter();
+    private final Counter downloadBytesCount = new ThreadSafeSimpleCounter();
+
+    public RemoteLogSegmentCache(
+            long maxBytes,
+            RemoteLogStorage remoteLogStorage,
+            File dataDir,
+            int downloadThreadNum,
+            Clock clock)
+            throws IOException {
+        this(
+                maxBytes,
+                remoteLogStorage,
+                dataDir,
+                Executors.newFixedThreadPool(
+                        downloadThreadNum,
+                        new ExecutorThreadFactory(REMOTE_LOG_SEGMENT_DOWNLOAD_THREAD_PREFIX)),
+                clock);
+    }
+
+    @VisibleForTesting
+    RemoteLogSegmentCache(
+            long maxBytes,
+            RemoteLogStorage remoteLogStorage,
+            File dataDir,
+            ExecutorService downloadThreadPool,
+            Clock clock)
+            throws IOException {
+        this.maxBytes = maxBytes;
+        this.remoteLogStorage = remoteLogStorage;
+        this.cacheDir = remoteLogSegmentCacheDir(dataDir);
+        this.downloadThreadPool = downloadThreadPool;
+        this.clock = clock;
+
+        // the segment files left by the previous run are not tracked, clean them up.
+        if (cacheDir.exists()) {
+            FileUtils.deleteDirectory(cacheDir);
+        }
+        Files.createDirectories(cacheDir.toPath());
+    }
+
+    /**
+     * Returns whether the given remote log segment can be served by this cache. A segment larger
+     * than the cache, or failed to download recently, can't be served.
+     */
+    public boolean isCacheable(RemoteLogSegment remoteLogSegment) {
+        if (remoteLogSegment.segmentSizeInBytes() > maxBytes) {
+            return false;
+        }
+        UUID segmentId = remoteLogSegment.remoteLogSegmentId();
+        synchronized (lock) {
+            Long backoffUntil = failedSegments.get(segmentId);
+            if (backoffUntil == null) {
+                return true;
+            } else if (backoffUntil <= clock.milliseconds()) {
+                failedSegments.remove(segmentId);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the records of the given remote log segment from the cache, beginning with the batch
+     * containing the fetch offset. If the segment isn't cached, the download of the segment is
+     * triggered and null is returned.
+     *
+     * <p>The records are copied into heap memory, so the segment file can be evicted while the
+     * records are being sent.
+     *
+     * @param remoteLogSegment the remote log segment to read
+     * @param fetchOffset the offset to read from
+     * @param startPosition the position in the segment to search the fetch offset from
+     * @param maxBytes the maximum number of bytes to read
+     * @param minOneMessage if this is true, the first batch will be returned even if it exceeds
+     *     `maxBytes`
+     * @return the read records, or null if the segment isn't cached.
+     */
+    @Nullable
+    public LogRecords read(
+            RemoteLogSegment remoteLogSegment,
+            long fetchOffset,
+            int startPosition,
+            int maxBytes,
+            boolean minOneMessage)
+            throws IOException {
+        Entry entry = acquire(remoteLogSegment.remoteLogSegmentId());
+        if (entry == null) {
+            missCount.inc();
+            maybeDownload(remoteLogSegment);
+            return null;
+        }
+
+        hitCount.inc();
+        try {
+            return entry.read(fetchOffset, startPosition, maxBytes, minOneMessage);
+        } finally {
+            release(entry);
+        }
+    }
+
+    /** Removes the given segments from the cache, e.g. the segments deleted from remote storage. */
+    public void removeAll(Collection<UUID> remoteLogSegmentIds) {
+        List<Entry> toDelete = new ArrayList<>();
+        synchronized (lock) {
+            for (UUID segmentId : remoteLogSegmentIds) {
+                Entry entry = segments.remove(segmentId);
+                if (entry != null && markRemoved(entry)) {
+                    toDelete.add(entry);
+                }
+            }
+        }
+        toDelete.forEach(Entry::delete);
+    }
+
+    @Nullable
+    private Entry acquire(UUID segmentId) {
+        synchronized (lock) {
+            Entry entry = segments.get(segmentId);
+            if (entry != null) {
+                entry.refCount++;
+            }
+            return entry;
+        }
+    }
+
+    private void release(Entry entry) {
+        boolean delete;
+        synchronized (lock) {
+            entry.refCount--;
+            delete = entry.removed && entry.refCount == 0;
+        }
+        if (delete) {
+            entry.delete();
+        }
+    }
+
+    private void maybeDownload(RemoteLogSegment remoteLogSegment) {
+        UUID segmentId = remoteLogSegment.remoteLogSegmentId();
+        synchronized (lock) {
+            if (closed
+                    || segments.containsKey(segmentId)
+                    || !downloadingSegments.add(segmentId)) {
+                return;
+            }
+        }
+
+        try {
+            downloadThreadPool.execute(() -> download(remoteLogSegment));
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                downloadingSegments.remove(segmentId);
+            }
+        }
+    }
+
+    private void download(RemoteLogSegment remoteLogSegment) {
+        UUID segmentId = remoteLogSegment.remoteLogSegmentId();
+        File segmentFile = new File(cacheDir, segmentId + LOG_FILE_SUFFIX);
+        File tmpFile = new File(cacheDir, segmentFile.getName() + TMP_FILE_SUFFIX);
+        try {
+            try (InputStream inputStream = remoteLogStorage.fetchLogSegment(remoteLogSegment)) {
+                long bytes =
+                        Files.copy(
+                                inputStream,
+                                tmpFile.toPath(),
+                                StandardCopyOption.REPLACE_EXISTING);
+                downloadBytesCount.inc(bytes);
+            }
+            FileUtils.atomicMoveWithFallback(tmpFile.toPath(), segmentFile.toPath(), false);
+            put(segmentId, new Entry(segmentFile, FileLogRecords.open(segmentFile, false)));
+            LOG.debug("Downloaded remote log segment {} into cache.", remoteLogSegment);
+        } catch (Exception e) {
+            LOG.warn("Failed to download remote log segment {} into cache.", remoteLogSegment, e);
+            synchronized (lock) {
+                failedSegments.put(segmentId, clock.milliseconds() + FAILED_DOWNLOAD_BACKOFF_MS);
+            }
+            deleteQuietly(tmpFile);
+            deleteQuietly(segmentFile);
+        } finally {
+            synchronized (lock) {
+                downloadingSegments.remove(segmentId);
+            }
+        }
+    }
+
+    private void put(UUID segmentId, Entry entry) {
+        List<Entry> toDelete = new ArrayList<>();
+        synchronized (lock) {
+            if (closed) {
+                toDelete.add(entry);
+            } else {
+                segments.put(segmentId, entry);
+                sizeInBytes += entry.sizeInBytes;
+                Iterator<Entry> it = segments.values().iterator();
+                while (sizeInBytes > maxBytes && it.hasNext()) {
+                    Entry eldest = it.next();
+                    it.remove();
+                    evictionCount.inc();
+                    if (markRemoved(eldest)) {
+                        toDelete.add(eldest);
+                    }
+                }
+            }
+        }
+        toDelete.forEach(Entry::delete);
+    }
+
+    /**
+     * Marks the entry removed from the cache, returns true if the entry can be deleted right now,
+     * otherwise it will be deleted once the in-progress reads on it are finished.
+     */
+    @GuardedBy("lock")
+    private boolean markRemoved(Entry entry) {
+        entry.removed = true;
+        sizeInBytes -= entry.sizeInBytes;
+        return entry.refCount == 0;
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOG.warn("Failed to delete file {}.", file, e);
+        }
+    }
+
+    public long getSizeInBytes() {
+        synchronized (lock) {
+            return sizeInBytes;
+        }
+    }
+
+    public Counter getHitCount() {
+        return hitCount;
+    }
+
+    public Counter getMissCount() {
+        return missCount;
+    }
+
+    public Counter getEvictionCount() {
+        return evictionCount;
+    }
+
+    public Counter getDownloadBytesCount() {
+        return downloadBytesCount;
+    }
+
+    @VisibleForTesting
+    int size() {
+        synchronized (lock) {
+            return segments.size();
+        }
+    }
+
+    @VisibleForTesting
+    File getCacheDir() {
+        return cacheDir;
+    }
+
+    @Override
+    public void close() {
+        List<Entry> toDelete = new ArrayList<>();
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Entry entry : segments.values()) {
+                if (markRemoved(entry)) {
+                    toDelete.add(entry);
+                }
+            }
+            segments.clear();
+        }
+        downloadThreadPool.shutdownNow();
+        try {
+            if (!downloadThreadPool.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Failed to shutdown the remote log segment download thread pool.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        toDelete.forEach(Entry::delete);
+    }
+
+    /** A remote log segment file cached in local. */
+    private final class Entry {
+        private final File file;
+        private final FileLogRecords fileLogRecords;
+        private final long sizeInBytes;
+
+        @GuardedBy("lock")
+        private int refCount = 0;
+
+        @GuardedBy("lock")
+        private boolean removed = false;
+
+        private Entry(File file, FileLogRecords fileLogRecords) {
+            this.file = file;
+            this.fileLogRecords = fileLogRecords;
+            this.sizeInBytes = fileLogRecords.sizeInBytes();
+        }
+
+        private LogRecords read(
+                long fetchOffset, int startPosition, int maxBytes, boolean minOneMessage)
+                throws IOException {
+            FileLogRecords.LogOffsetPosition offsetPosition =
+                    fileLogRecords.searchForOffsetWithSize(fetchOffset, startPosition);
+            if (offsetPosition == null) {
+                return MemoryLogRecords.EMPTY;
+            }
+            int adjustedMaxBytes =
+                    minOneMessage ? Math.max(maxBytes, offsetPosition.getSize()) : maxBytes;
+            int readSize =
+                    Math.min(
+                            fileLogRecords.sizeInBytes() - offsetPosition.getPosition(),
+                            adjustedMaxBytes);
+            if (readSize <= 0) {
+                return MemoryLogRecords.EMPTY;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(readSize);
+            fileLogRecords.readInto(buffer, offsetPosition.getPosition());
+            return MemoryLogRecords.pointToByteBuffer(buffer);
+        }
+
+        private void delete() {
+            IOUtils.closeQuietly(fileLogRecords, "RemoteLogSegmentFile");
+            deleteQuietly(file);
+        }
+    }
+}
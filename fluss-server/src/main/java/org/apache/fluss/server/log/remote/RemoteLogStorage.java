@@ -26,6 +26,7 @@ import org.apache.fluss.remote.RemoteLogSegment;
 
 import java.io.Closeable;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 import static org.apache.fluss.utils.FlussPaths.INDEX_FILE_SUFFIX;
 import static org.apache.fluss.utils.FlussPaths.TIME_INDEX_FILE_SUFFIX;
@@ -93,6 +94,19 @@ public interface RemoteLogStorage extends Closeable {
     void copyLogSegmentFiles(RemoteLogSegment remoteLogSegment, LogSegmentFiles logSegmentFiles)
             throws RemoteStorageException;
 
+    /**
+     * Copies the given {@link LogSegmentFiles} provided for the given {@link RemoteLogSegment}
+     * asynchronously, so that multiple log segments can be copied concurrently. The same contract
+     * as {@link #copyLogSegmentFiles(RemoteLogSegment, LogSegmentFiles)} applies.
+     *
+     * @param remoteLogSegment the remote log segment.
+     * @param logSegmentFiles files to be copied to remote storage.
+     * @return the future completed when all the files are copied, or completed exceptionally with
+     *     {@link RemoteStorageException} if there are any errors in storing the data of the segment.
+     */
+    CompletableFuture<Void> copyLogSegmentFilesAsync(
+            RemoteLogSegment remoteLogSegment, LogSegmentFiles logSegmentFiles);
+
     /**
      * Deletes the resources associated with the given {@link RemoteLogSegment}. Deletion is
      * considered as successful if this call returns successfully without any errors. It will throw
@@ -118,6 +132,15 @@ public interface RemoteLogStorage extends Closeable {
     InputStream fetchIndex(RemoteLogSegment remoteLogSegment, IndexType indexType)
             throws RemoteStorageException;
 
+    /**
+     * Returns the log data file of the given {@link RemoteLogSegment}.
+     *
+     * @param remoteLogSegment the remote log segment.
+     * @return input stream of the log data file of the segment.
+     * @throws RemoteStorageException if there are any errors while fetching the log segment.
+     */
+    InputStream fetchLogSegment(RemoteLogSegment remoteLogSegment) throws RemoteStorageException;
+
     /**
      * Read the remote log manifest from remote manifest file path.
      *
@@ -89,6 +89,12 @@ public class RemoteLogTablet {
 
     private volatile int numRemoteLogSegments;
 
+    /** The number of the local log segments not copied to remote storage yet. */
+    private volatile int copyLagSegments;
+
+    /** The total size of the local log segments not copied to remote storage yet. */
+    private volatile long copyLagBytes;
+
     /**
      * It represents the remote log start offset of the segments that have copied to remote storage.
      */
@@ -123,6 +129,9 @@ public class RemoteLogTablet {
                     metricGroup.gauge(MetricNames.LOG_NUM_SEGMENTS, () -> numRemoteLogSegments);
                     metricGroup.gauge(MetricNames.LOG_END_OFFSET, () -> remoteLogEndOffset);
                     metricGroup.gauge(MetricNames.LOG_SIZE, () -> remoteSizeInBytes);
+                    metricGroup.gauge(
+                            MetricNames.REMOTE_LOG_COPY_LAG_SEGMENTS, () -> copyLagSegments);
+                    metricGroup.gauge(MetricNames.REMOTE_LOG_COPY_LAG_BYTES, () -> copyLagBytes);
                     remoteLogMetrics = metricGroup;
                 });
     }
@@ -138,6 +147,22 @@ public class RemoteLogTablet {
                 });
     }
 
+    /** Updates the local log segments which are waiting to be copied to remote storage. */
+    public void updateCopyLag(int numSegments, long sizeInBytes) {
+        this.copyLagSegments = numSegments;
+        this.copyLagBytes = sizeInBytes;
+    }
+
+    @VisibleForTesting
+    int getCopyLagSegments() {
+        return copyLagSegments;
+    }
+
+    @VisibleForTesting
+    long getCopyLagBytes() {
+        return copyLagBytes;
+    }
+
     /** Get all remote log segment metadata. */
     public List<RemoteLogSegment> allRemoteLogSegments() {
         return inReadLock(lock, () -> currentManifest.getRemoteLogSegmentList());
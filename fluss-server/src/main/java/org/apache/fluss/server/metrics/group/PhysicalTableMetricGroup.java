@@ -222,6 +222,38 @@ public class PhysicalTableMetricGroup extends AbstractMetricGroup {
         }
     }
 
+    public Counter totalScanKvRequests() {
+        if (kvMetrics == null) {
+            return NoOpCounter.INSTANCE;
+        } else {
+            return kvMetrics.totalScanKvRequests;
+        }
+    }
+
+    public Counter failedScanKvRequests() {
+        if (kvMetrics == null) {
+            return NoOpCounter.INSTANCE;
+        } else {
+            return kvMetrics.failedScanKvRequests;
+        }
+    }
+
+    public Counter totalKvScanRequests() {
+        if (kvMetrics == null) {
+            return NoOpCounter.INSTANCE;
+        } else {
+            return kvMetrics.totalKvScanRequests;
+        }
+    }
+
+    public Counter failedKvScanRequests() {
+        if (kvMetrics == null) {
+            return NoOpCounter.INSTANCE;
+        } else {
+            return kvMetrics.failedKvScanRequests;
+        }
+    }
+
     // ------------------------------------------------------------------------
     //  bucket groups
     // ------------------------------------------------------------------------
@@ -349,6 +381,10 @@ public class PhysicalTableMetricGroup extends AbstractMetricGroup {
         private final Counter failedLimitScanRequests;
         private final Counter totalPrefixLookupRequests;
         private final Counter failedPrefixLookupRequests;
+        private final Counter totalScanKvRequests;
+        private final Counter failedScanKvRequests;
+        private final Counter totalKvScanRequests;
+        private final Counter failedKvScanRequests;
 
         public KvMetricGroup(PhysicalTableMetricGroup physicalTableMetricGroup) {
             super(physicalTableMetricGroup, TabletType.KV);
@@ -382,6 +418,18 @@ public class PhysicalTableMetricGroup extends AbstractMetricGroup {
             meter(
                     MetricNames.FAILED_PREFIX_LOOKUP_REQUESTS_RATE,
                     new MeterView(failedPrefixLookupRequests));
+
+            // for paged scan kv request
+            totalScanKvRequests = new ThreadSafeSimpleCounter();
+            meter(MetricNames.TOTAL_SCAN_KV_REQUESTS_RATE, new MeterView(totalScanKvRequests));
+            failedScanKvRequests = new ThreadSafeSimpleCounter();
+            meter(MetricNames.FAILED_SCAN_KV_REQUESTS_RATE, new MeterView(failedScanKvRequests));
+
+            // for kv scan request
+            totalKvScanRequests = new ThreadSafeSimpleCounter();
+            meter(MetricNames.TOTAL_KV_SCAN_REQUESTS_RATE, new MeterView(totalKvScanRequests));
+            failedKvScanRequests = new ThreadSafeSimpleCounter();
+            meter(MetricNames.FAILED_KV_SCAN_REQUESTS_RATE, new MeterView(failedKvScanRequests));
         }
 
         @Override
@@ -20,6 +20,8 @@ package org.apache.fluss.server.metrics.group;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metrics.CharacterFilter;
 import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.DescriptiveStatisticsHistogram;
+import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.metrics.MeterView;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
@@ -34,6 +36,8 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
 
     private static final String NAME = "tabletserver";
 
+    private static final int WINDOW_SIZE = 1024;
+
     private final Map<PhysicalTablePath, PhysicalTableMetricGroup> metricGroupByPhysicalTable =
             MapUtils.newConcurrentHashMap();
 
@@ -48,6 +52,10 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
     private final Counter delayedWriteExpireCount;
     private final Counter delayedFetchFromFollowerExpireCount;
     private final Counter delayedFetchFromClientExpireCount;
+    private final Histogram produceThrottleTimeMs;
+    private final Histogram fetchThrottleTimeMs;
+    private final Histogram requestThrottleTimeMs;
+    private final Counter throttledRequestCount;
 
     public TabletServerMetricGroup(
             MetricRegistry registry, String clusterId, String rack, String hostname, int serverId) {
@@ -72,6 +80,21 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         meter(
                 MetricNames.DELAYED_FETCH_FROM_CLIENT_EXPIRES_RATE,
                 new MeterView(delayedFetchFromClientExpireCount));
+
+        produceThrottleTimeMs =
+                histogram(
+                        MetricNames.PRODUCE_THROTTLE_TIME_MS,
+                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        fetchThrottleTimeMs =
+                histogram(
+                        MetricNames.FETCH_THROTTLE_TIME_MS,
+                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        requestThrottleTimeMs =
+                histogram(
+                        MetricNames.REQUEST_THROTTLE_TIME_MS,
+                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        throttledRequestCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.THROTTLED_REQUESTS_RATE, new MeterView(throttledRequestCount));
     }
 
     @Override
@@ -112,6 +135,22 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         return delayedFetchFromClientExpireCount;
     }
 
+    public Histogram produceThrottleTimeMs() {
+        return produceThrottleTimeMs;
+    }
+
+    public Histogram fetchThrottleTimeMs() {
+        return fetchThrottleTimeMs;
+    }
+
+    public Histogram requestThrottleTimeMs() {
+        return requestThrottleTimeMs;
+    }
+
+    public Counter throttledRequestCount() {
+        return throttledRequestCount;
+    }
+
     // ------------------------------------------------------------------------
     //  table buckets groups
     // ------------------------------------------------------------------------
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.quota;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOption;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.rpc.netty.server.Session;
+import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
+import org.apache.fluss.utils.MapUtils;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.concurrent.Scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * Enforces the produce byte-rate, fetch byte-rate and request-rate quotas of the clients on a
+ * tablet server. The quotas are configured per client id, per principal and per table, and a
+ * request is throttled by the most exceeded quota of its client id, principal and tables. The same
+ * quota applies to every entity of a type, there are no overrides for individual client ids,
+ * principals or tables.
+ *
+ * <p>The requests exceeding the quotas are still processed, but their responses are delayed by the
+ * throttle time (see {@link #delay(Object, long)}), which is the time for the rate to fall back to
+ * the quota. As a client only sends a limited number of in-flight requests, delaying the responses
+ * slows down the client, without failing its requests.
+ *
+ * <p>The requests from the internal listener, e.g., the fetches of the follower replicas, are never
+ * throttled. The clients which don't report a client id are only subject to the principal and table
+ * quotas.
+ */
+@ThreadSafe
+public final class ClientQuotaManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientQuotaManager.class);
+
+    /** The rates which are not recorded for longer than this time are expired. */
+    private static final long RATE_EXPIRATION_MS = Duration.ofHours(1).toMillis();
+
+    /** The entities the quotas are configured for. */
+    private enum EntityType {
+        CLIENT_ID,
+        PRINCIPAL,
+        TABLE
+    }
+
+    private final Map<EntityType, Map<QuotaType, Double>> quotas = new EnumMap<>(EntityType.class);
+    private final Map<RateKey, Rate> rates = MapUtils.newConcurrentHashMap();
+
+    private final boolean enabled;
+    private final long windowSizeMs;
+    private final int windowNum;
+    private final Scheduler scheduler;
+    private final Clock clock;
+
+    // metrics related.
+    private final Map<QuotaType, Histogram> throttleTimeHistograms = new EnumMap<>(QuotaType.class);
+    private final TabletServerMetricGroup serverMetricGroup;
+
+    public ClientQuotaManager(
+            Configuration conf,
+            Scheduler scheduler,
+            TabletServerMetricGroup serverMetricGroup,
+            Clock clock) {
+        this.windowSizeMs = conf.get(ConfigOptions.QUOTA_WINDOW_SIZE).toMillis();
+        this.windowNum = conf.get(ConfigOptions.QUOTA_WINDOW_NUM);
+        checkArgument(windowSizeMs > 0, "The quota window size must be positive.");
+        checkArgument(windowNum > 0, "The quota window num must be positive.");
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.serverMetricGroup = serverMetricGroup;
+
+        quotas.put(
+                EntityType.CLIENT_ID,
+                loadQuotas(
+                        conf,
+                        ConfigOptions.QUOTA_CLIENT_PRODUCE_BYTE_RATE,
+                        ConfigOptions.QUOTA_CLIENT_FETCH_BYTE_RATE,
+                        ConfigOptions.QUOTA_CLIENT_REQUEST_RATE));
+        quotas.put(
+                EntityType.PRINCIPAL,
+                loadQuotas(
+                        conf,
+                        ConfigOptions.QUOTA_PRINCIPAL_PRODUCE_BYTE_RATE,
+                        ConfigOptions.QUOTA_PRINCIPAL_FETCH_BYTE_RATE,
+                        ConfigOptions.QUOTA_PRINCIPAL_REQUEST_RATE));
+        quotas.put(
+                EntityType.TABLE,
+                loadQuotas(
+                        conf,
+                        ConfigOptions.QUOTA_TABLE_PRODUCE_BYTE_RATE,
+                        ConfigOptions.QUOTA_TABLE_FETCH_BYTE_RATE,
+                        ConfigOptions.QUOTA_TABLE_REQUEST_RATE));
+        this.enabled = quotas.values().stream().anyMatch(q -> !q.isEmpty());
+
+        throttleTimeHistograms.put(QuotaType.PRODUCE, serverMetricGroup.produceThrottleTimeMs());
+        throttleTimeHistograms.put(QuotaType.FETCH, serverMetricGroup.fetchThrottleTimeMs());
+        throttleTimeHistograms.put(QuotaType.REQUEST, serverMetricGroup.requestThrottleTimeMs());
+    }
+
+    private static Map<QuotaType, Double> loadQuotas(
+            Configuration conf,
+            ConfigOption<MemorySize> produceByteRate,
+            ConfigOption<MemorySize> fetchByteRate,
+            ConfigOption<Integer> requestRate) {
+        Map<QuotaType, Double> quotas = new EnumMap<>(QuotaType.class);
+        conf.getOptional(produceByteRate)
+                .ifPresent(rate -> quotas.put(QuotaType.PRODUCE, (double) rate.getBytes()));
+        conf.getOptional(fetchByteRate)
+                .ifPresent(rate -> quotas.put(QuotaType.FETCH, (double) rate.getBytes()));
+        conf.getOptional(requestRate)
+                .ifPresent(rate -> quotas.put(QuotaType.REQUEST, (double) rate));
+        return quotas;
+    }
+
+    public void startup() {
+        if (enabled) {
+            scheduler.schedule(
+                    "quota-rate-expiration",
+                    this::expireIdleRates,
+                    RATE_EXPIRATION_MS,
+                    RATE_EXPIRATION_MS);
+        }
+    }
+
+    /**
+     * Records the bytes of a produce or fetch request and returns the time to throttle the request.
+     *
+     * @param type the type of the quota, either {@link QuotaType#PRODUCE} or {@link
+     *     QuotaType#FETCH}
+     * @param bytesByTable the bytes produced to or fetched from each table by the request
+     * @return the throttle time in milliseconds, 0 if the request shouldn't be throttled
+     */
+    public long recordBytesAndGetThrottleTimeMs(
+            QuotaType type, Session session, Map<Long, Long> bytesByTable) {
+        checkArgument(type != QuotaType.REQUEST, "The request quota doesn't measure the bytes.");
+        if (!enabled || session.isInternal()) {
+            return 0;
+        }
+        long totalBytes = 0;
+        long throttleTimeMs = 0;
+        long nowMs = clock.milliseconds();
+        for (Map.Entry<Long, Long> entry : bytesByTable.entrySet()) {
+            totalBytes += entry.getValue();
+            throttleTimeMs =
+                    Math.max(
+                            throttleTimeMs,
+                            record(
+                                    type,
+                                    EntityType.TABLE,
+                                    String.valueOf(entry.getKey()),
+                                    entry.getValue(),
+                                    nowMs));
+        }
+        throttleTimeMs =
+                Math.max(throttleTimeMs, recordSessionEntities(type, session, totalBytes, nowMs));
+        throttleTimeHistograms.get(type).update(throttleTimeMs);
+        return throttleTimeMs;
+    }
+
+    /**
+     * Records a request to the given tables and returns the time to throttle the request.
+     *
+     * @return the throttle time in milliseconds, 0 if the request shouldn't be throttled
+     */
+    public long recordRequestAndGetThrottleTimeMs(Session session, Collection<Long> tableIds) {
+        if (!enabled || session.isInternal()) {
+            return 0;
+        }
+        long throttleTimeMs = 0;
+        long nowMs = clock.milliseconds();
+        for (long tableId : tableIds) {
+            throttleTimeMs =
+                    Math.max(
+                            throttleTimeMs,
+                            record(
+                                    QuotaType.REQUEST,
+                                    EntityType.TABLE,
+                                    String.valueOf(tableId),
+                                    1,
+                                    nowMs));
+        }
+        throttleTimeMs =
+                Math.max(
+                        throttleTimeMs, recordSessionEntities(QuotaType.REQUEST, session, 1, nowMs));
+        throttleTimeHistograms.get(QuotaType.REQUEST).update(throttleTimeMs);
+        return throttleTimeMs;
+    }
+
+    /**
+     * Returns a future which is completed with the response after the throttle time. The future is
+     * completed immediately if the throttle time isn't positive.
+     */
+    public <T> CompletableFuture<T> delay(T response, long throttleTimeMs) {
+        if (throttleTimeMs <= 0) {
+            return CompletableFuture.completedFuture(response);
+        }
+        serverMetricGroup.throttledRequestCount().inc();
+        CompletableFuture<T> delayed = new CompletableFuture<>();
+        scheduler.scheduleOnce(
+                "quota-throttled-response", () -> delayed.complete(response), throttleTimeMs);
+        return delayed;
+    }
+
+    private long recordSessionEntities(QuotaType type, Session session, long value, long nowMs) {
+        long throttleTimeMs = 0;
+        String clientId = session.getClientId();
+        if (clientId != null && !clientId.isEmpty()) {
+            throttleTimeMs = record(type, EntityType.CLIENT_ID, clientId, value, nowMs);
+        }
+        if (session.getPrincipal() != null) {
+            throttleTimeMs =
+                    Math.max(
+                            throttleTimeMs,
+                            record(
+                                    type,
+                                    EntityType.PRINCIPAL,
+                                    session.getPrincipal().getName(),
+                                    value,
+                                    nowMs));
+        }
+        return throttleTimeMs;
+    }
+
+    private long record(
+            QuotaType type, EntityType entityType, String entity, long value, long nowMs) {
+        Double quota = quotas.get(entityType).get(type);
+        if (quota == null) {
+            return 0;
+        }
+        Rate rate =
+                rates.computeIfAbsent(
+                        new RateKey(type, entityType, entity),
+                        k -> new Rate(windowSizeMs, windowNum));
+        rate.record(value, nowMs);
+        return rate.throttleTimeMs(quota, nowMs);
+    }
+
+    /** Removes the rates of the entities which haven't sent requests for a long time. */
+    @VisibleForTesting
+    void expireIdleRates() {
+        long nowMs = clock.milliseconds();
+        int sizeBefore = rates.size();
+        rates.values().removeIf(rate -> nowMs - rate.lastRecordMs() > RATE_EXPIRATION_MS);
+        int expired = sizeBefore - rates.size();
+        if (expired > 0) {
+            LOG.debug("Expired {} idle quota rates.", expired);
+        }
+    }
+
+    @VisibleForTesting
+    int numRates() {
+        return rates.size();
+    }
+
+    /** The key of the rate of a quota type of an entity. */
+    private static final class RateKey {
+        private final QuotaType type;
+        private final EntityType entityType;
+        private final String entity;
+
+        private RateKey(QuotaType type, EntityType entityType, String entity) {
+            this.type = type;
+            this.entityType = entityType;
+            this.entity = entity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            RateKey rateKey = (RateKey) o;
+            return type == rateKey.type
+                    && entityType == rateKey.entityType
+                    && entity.equals(rateKey.entity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, entityType, entity);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.quota;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+
+/**
+ * Measures the rate of the recorded values per second over a fixed number of sample windows. The
+ * windows are aligned to the multiples of the window size, the oldest window is reused once all
+ * the windows are used.
+ *
+ * <p>To not over-estimate the rate when only a few windows are recorded, for example, right after
+ * the first value is recorded, the rate is measured over at least the span of all the windows but
+ * the current one.
+ */
+@ThreadSafe
+final class Rate {
+
+    private static final long NO_WINDOW = Long.MIN_VALUE;
+
+    private final long windowSizeMs;
+    private final int windowNum;
+
+    @GuardedBy("this")
+    private final long[] windowStartMs;
+
+    @GuardedBy("this")
+    private final double[] windowValues;
+
+    @GuardedBy("this")
+    private int current;
+
+    @GuardedBy("this")
+    private long lastRecordMs;
+
+    Rate(long windowSizeMs, int windowNum) {
+        this.windowSizeMs = windowSizeMs;
+        this.windowNum = windowNum;
+        this.windowStartMs = new long[windowNum];
+        this.windowValues = new double[windowNum];
+        Arrays.fill(windowStartMs, NO_WINDOW);
+    }
+
+    /** Records the value at the given time. */
+    synchronized void record(double value, long nowMs) {
+        long startMs = nowMs - nowMs % windowSizeMs;
+        if (windowStartMs[current] != startMs) {
+            current = (current + 1) % windowNum;
+            windowStartMs[current] = startMs;
+            windowValues[current] = 0;
+        }
+        windowValues[current] += value;
+        lastRecordMs = nowMs;
+    }
+
+    /** Returns the rate of the recorded values per second at the given time. */
+    synchronized double measure(long nowMs) {
+        return total(nowMs) * 1000 / elapsedMs(nowMs);
+    }
+
+    /**
+     * Returns the time to delay the recorded values for the rate to fall back to the bound, 0 if
+     * the rate doesn't exceed the bound. The time is at most the span of all the windows.
+     */
+    synchronized long throttleTimeMs(double bound, long nowMs) {
+        long elapsedMs = elapsedMs(nowMs);
+        double rate = total(nowMs) * 1000 / elapsedMs;
+        if (rate <= bound) {
+            return 0;
+        }
+        // the rate falls back to the bound if no values are recorded in the throttle time:
+        // total / (elapsed + throttle) = bound
+        long throttleTimeMs = (long) ((rate - bound) / bound * elapsedMs);
+        return Math.min(throttleTimeMs, windowSizeMs * windowNum);
+    }
+
+    synchronized long lastRecordMs() {
+        return lastRecordMs;
+    }
+
+    @GuardedBy("this")
+    private double total(long nowMs) {
+        double total = 0;
+        for (int i = 0; i < windowNum; i++) {
+            if (!isExpired(i, nowMs)) {
+                total += windowValues[i];
+            }
+        }
+        return total;
+    }
+
+    @GuardedBy("this")
+    private long elapsedMs(long nowMs) {
+        long oldestStartMs = nowMs;
+        for (int i = 0; i < windowNum; i++) {
+            if (!isExpired(i, nowMs)) {
+                oldestStartMs = Math.min(oldestStartMs, windowStartMs[i]);
+            }
+        }
+        return Math.max(Math.max(nowMs - oldestStartMs, windowSizeMs * (windowNum - 1)), 1);
+    }
+
+    @GuardedBy("this")
+    private boolean isExpired(int window, long nowMs) {
+        return windowStartMs[window] == NO_WINDOW
+                || windowStartMs[window] <= nowMs - windowSizeMs * windowNum;
+    }
+}
@@ -45,14 +45,17 @@ import org.apache.fluss.record.DefaultValueRecordBatch;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.server.SequenceIDCounter;
 import org.apache.fluss.server.coordinator.CoordinatorContext;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
 import org.apache.fluss.server.kv.KvManager;
 import org.apache.fluss.server.kv.KvRecoverHelper;
+import org.apache.fluss.server.kv.KvScanPage;
 import org.apache.fluss.server.kv.KvTablet;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
 import org.apache.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
@@ -98,6 +101,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.Closeable;
@@ -117,8 +121,11 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
@@ -137,6 +144,12 @@ import static org.apache.fluss.utils.concurrent.LockUtils.inWriteLock;
  *
  * <p>For table with pk, it contains a {@link LogTablet} and a {@link KvTablet} if the replica is
  * the leader of the table bucket. For table without pk, it contains only a {@link LogTablet}.
+ *
+ * <p>If {@link ConfigOptions#TABLE_KV_STANDBY_ENABLED} is enabled for the table with pk, the
+ * follower replica also contains a standby {@link KvTablet}, which is restored asynchronously after
+ * the replica becomes follower and asynchronously applies the replicated log up to the high
+ * watermark of the leader as the replica fetches. When the follower becomes leader, the standby kv
+ * tablet only needs to recover the log after its flushed log offset.
  */
 @ThreadSafe
 public final class Replica {
@@ -168,6 +181,7 @@ public final class Replica {
     private final AdjustIsrManager adjustIsrManager;
 
     private final Schema schema;
+    private final int schemaId;
     private final TableConfig tableConfig;
     // logFormat and arrowCompressionInfo are used in hot-path, so cache them here.
     private final LogFormat logFormat;
@@ -177,6 +191,7 @@ public final class Replica {
     private final Clock clock;
 
     private static final int INIT_KV_TABLET_MAX_RETRY_TIMES = 5;
+    private static final long STANDBY_KV_PUBLISH_LOCK_TIMEOUT_MS = 100;
     /**
      * storing the remote follower replicas' state, used to update leader's highWatermark and
      * replica ISR.
@@ -191,10 +206,27 @@ public final class Replica {
     private volatile int bucketEpoch = LeaderAndIsr.INITIAL_BUCKET_EPOCH;
     private volatile int coordinatorEpoch = CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
 
-    // null if table without pk or haven't become leader
+    // null if table without pk or haven't become leader, unless it's a standby kv tablet
     private volatile @Nullable KvTablet kvTablet;
     private volatile @Nullable CloseableRegistry closeableRegistryForKv;
 
+    /** The lock to guard applying the log to the standby kv tablet and dropping it. */
+    private final Object standbyKvLock = new Object();
+    // whether the kv tablet is the standby kv tablet of the follower replica
+    private volatile boolean kvStandby = false;
+    // the helper to apply the log to the standby kv tablet, null if no standby kv tablet
+    private volatile @Nullable KvRecoverHelper standbyKvRecoverHelper;
+    // the snapshot the standby kv tablet is restored from, null if it's restored from log only
+    private volatile @Nullable CompletedSnapshot standbyKvSnapshot;
+    // bumped on every truncation of the local log, to detect the truncation racing with the
+    // restoring of the standby kv tablet
+    private volatile int localLogTruncations = 0;
+    // the ongoing restoring of the standby kv tablet, null if no restoring
+    @GuardedBy("standbyKvLock")
+    private @Nullable StandbyKvRestore standbyKvRestore;
+    // whether applying the log to the standby kv tablet is scheduled and not started yet
+    private final AtomicBoolean standbyKvApplyScheduled = new AtomicBoolean(false);
+
     // ------- metrics
     private Counter isrShrinks;
     private Counter isrExpands;
@@ -233,6 +265,7 @@ public final class Replica {
         this.fatalErrorHandler = fatalErrorHandler;
         this.bucketMetricGroup = bucketMetricGroup;
         this.schema = tableInfo.getSchema();
+        this.schemaId = tableInfo.getSchemaId();
         this.tableConfig = tableInfo.getTableConfig();
         this.logFormat = tableConfig.getLogFormat();
         this.arrowCompressionInfo = tableConfig.getArrowCompressionInfo();
@@ -424,6 +457,11 @@ public final class Replica {
                                 tableBucket,
                                 requestLeaderEpoch,
                                 logTablet.localLogEndOffset());
+                        if (isLeader()) {
+                            // the high watermark of the former leader is committed, the new
+                            // leader will report its high watermark as the replica fetches
+                            logTablet.updateLeaderHighWatermark(logTablet.getHighWatermark());
+                        }
                         onBecomeNewFollower();
                     } else if (requestLeaderEpoch == leaderEpoch) {
                         LOG.info(
@@ -459,6 +497,7 @@ public final class Replica {
                 leaderIsrUpdateLock,
                 () -> {
                     if (isKvTable()) {
+                        cancelStandbyKvRestore();
                         dropKv();
                     }
                     // drop log then
@@ -476,24 +515,28 @@ public final class Replica {
                                 "Column projection is only supported for ARROW format, but the table %s is %s format.",
                                 physicalPath.getTablePath(), logFormat));
             }
-            int fieldCount = schema.getColumns().size();
-            int prev = -1;
-            for (int i : projectedFields) {
-                if (i <= prev) {
-                    throw new InvalidColumnProjectionException(
-                            "The projection indexes should be in field order, but is "
-                                    + Arrays.toString(projectedFields));
-                }
-                if (i >= fieldCount) {
-                    throw new InvalidColumnProjectionException(
-                            "Projected fields "
-                                    + Arrays.toString(projectedFields)
-                                    + " is out of bound for schema with "
-                                    + fieldCount
-                                    + " fields.");
-                }
-                prev = i;
+            checkProjectedFields(projectedFields);
+        }
+    }
+
+    private void checkProjectedFields(int[] projectedFields) {
+        int fieldCount = schema.getColumns().size();
+        int prev = -1;
+        for (int i : projectedFields) {
+            if (i <= prev) {
+                throw new InvalidColumnProjectionException(
+                        "The projection indexes should be in field order, but is "
+                                + Arrays.toString(projectedFields));
             }
+            if (i >= fieldCount) {
+                throw new InvalidColumnProjectionException(
+                        "Projected fields "
+                                + Arrays.toString(projectedFields)
+                                + " is out of bound for schema with "
+                                + fieldCount
+                                + " fields.");
+            }
+            prev = i;
         }
     }
 
@@ -512,6 +555,14 @@ public final class Replica {
         updateLeaderEndOffsetSnapshot();
 
         if (isKvTable()) {
+            // the restoring must stop before the kv tablet is promoted or created, as they use
+            // the same tablet dir
+            cancelStandbyKvRestore();
+            // the standby kv tablet is up to date with the local log up to its flushed log
+            // offset, so it only needs to recover the tail of the log
+            if (kvStandby && promoteStandbyKv()) {
+                return;
+            }
             // if it's become new leader, we must
             // first destroy the old kv tablet
             // if exist. Otherwise, it'll use still the old kv tablet which will cause data loss
@@ -523,8 +574,13 @@ public final class Replica {
 
     private void onBecomeNewFollower() {
         if (isKvTable()) {
-            // it should be from leader to follower, we need to destroy the kv tablet
+            // it should be from leader to follower, we need to destroy the kv tablet, the
+            // pre-write buffer of which may contain the records to be truncated
+            cancelStandbyKvRestore();
             dropKv();
+            if (tableConfig.isKvStandbyEnabled()) {
+                scheduleStandbyKvRestore();
+            }
         }
     }
 
@@ -534,14 +590,7 @@ public final class Replica {
     }
 
     private void createKv() {
-        try {
-            // create a closeable registry for the closable related to kv
-            closeableRegistryForKv = new CloseableRegistry();
-            // resister the closeable registry for kv
-            closeableRegistry.registerCloseable(closeableRegistryForKv);
-        } catch (IOException e) {
-            LOG.warn("Fail to registry closeable registry for kv, it may cause resource leak.", e);
-        }
+        createKvCloseableRegistry();
 
         // init kv tablet and get the snapshot it uses to init if have any
         Optional<CompletedSnapshot> snapshotUsed = Optional.empty();
@@ -557,7 +606,21 @@ public final class Replica {
         startPeriodicKvSnapshot(snapshotUsed.orElse(null));
     }
 
+    private void createKvCloseableRegistry() {
+        try {
+            // create a closeable registry for the closable related to kv
+            closeableRegistryForKv = new CloseableRegistry();
+            // resister the closeable registry for kv
+            closeableRegistry.registerCloseable(closeableRegistryForKv);
+        } catch (IOException e) {
+            LOG.warn("Fail to registry closeable registry for kv, it may cause resource leak.", e);
+        }
+    }
+
     private void dropKv() {
+        kvStandby = false;
+        standbyKvRecoverHelper = null;
+        standbyKvSnapshot = null;
         // close any closeable registry for kv
         if (closeableRegistry.unregisterCloseable(closeableRegistryForKv)) {
             IOUtils.closeQuietly(closeableRegistryForKv);
@@ -601,44 +664,12 @@ public final class Replica {
         // the snapshots as kv files won't exist in our current implementation for
         // when replica become follower, we'll always delete the kv files.
 
-        // get the offset from which, we should restore from. default is 0
-        long restoreStartOffset = 0;
         Optional<CompletedSnapshot> optCompletedSnapshot = getLatestSnapshot(tableBucket);
         try {
-            if (optCompletedSnapshot.isPresent()) {
-                LOG.info(
-                        "Use snapshot {} to restore kv tablet for {} of table {}.",
-                        optCompletedSnapshot.get(),
-                        tableBucket,
-                        physicalPath);
-                CompletedSnapshot completedSnapshot = optCompletedSnapshot.get();
-                // always create a new dir for the kv tablet
-                File tabletDir = kvManager.createTabletDir(physicalPath, tableBucket);
-                // down the snapshot to target tablet dir
-                downloadKvSnapshots(completedSnapshot, tabletDir.toPath());
-
-                // as we have downloaded kv files into the tablet dir, now, we can load it
-                kvTablet = kvManager.loadKv(tabletDir);
-
-                checkNotNull(kvTablet, "kv tablet should not be null.");
-                restoreStartOffset = completedSnapshot.getLogOffset();
-            } else {
-                LOG.info("No snapshot found, restore from log.");
-                // actually, kv manager always create a kv tablet since we will drop the kv
-                // if it exists before init kv tablet
-                kvTablet =
-                        kvManager.getOrCreateKv(
-                                physicalPath,
-                                tableBucket,
-                                logTablet,
-                                tableConfig.getKvFormat(),
-                                schema,
-                                tableConfig,
-                                arrowCompressionInfo);
-            }
-
-            kvTablet.registerMetrics(bucketMetricGroup);
-
+            CompletedSnapshot completedSnapshot = optCompletedSnapshot.orElse(null);
+            kvTablet = loadKvTablet(completedSnapshot, closeableRegistry);
+            // get the offset from which, we should restore from
+            long restoreStartOffset = restoreStartOffset(completedSnapshot);
             logTablet.updateMinRetainOffset(restoreStartOffset);
             recoverKvTablet(restoreStartOffset);
         } catch (Exception e) {
@@ -657,7 +688,61 @@ public final class Replica {
         return optCompletedSnapshot;
     }
 
-    private void downloadKvSnapshots(CompletedSnapshot completedSnapshot, Path kvTabletDir)
+    /**
+     * Loads the kv tablet from the given snapshot, or creates an empty kv tablet if no snapshot.
+     *
+     * @param downloadCloseableRegistry the registry to close to abort downloading the snapshot
+     */
+    private KvTablet loadKvTablet(
+            @Nullable CompletedSnapshot completedSnapshot,
+            CloseableRegistry downloadCloseableRegistry)
+            throws Exception {
+        checkNotNull(kvManager);
+        KvTablet kvTablet;
+        if (completedSnapshot != null) {
+            LOG.info(
+                    "Use snapshot {} to restore kv tablet for {} of table {}.",
+                    completedSnapshot,
+                    tableBucket,
+                    physicalPath);
+            // always create a new dir for the kv tablet
+            File tabletDir = kvManager.createTabletDir(physicalPath, tableBucket);
+            // down the snapshot to target tablet dir
+            downloadKvSnapshots(completedSnapshot, tabletDir.toPath(), downloadCloseableRegistry);
+
+            // as we have downloaded kv files into the tablet dir, now, we can load it
+            kvTablet = kvManager.loadKv(tabletDir);
+
+            checkNotNull(kvTablet, "kv tablet should not be null.");
+        } else {
+            LOG.info("No snapshot found, restore from log.");
+            // actually, kv manager always create a kv tablet since we will drop the kv
+            // if it exists before init kv tablet
+            kvTablet =
+                    kvManager.getOrCreateKv(
+                            physicalPath,
+                            tableBucket,
+                            logTablet,
+                            tableConfig.getKvFormat(),
+                            schema,
+                            tableConfig,
+                            arrowCompressionInfo);
+        }
+
+        kvTablet.registerMetrics(bucketMetricGroup);
+        return kvTablet;
+    }
+
+    /** Returns the log offset from which the kv tablet should be recovered from the log. */
+    private static long restoreStartOffset(@Nullable CompletedSnapshot completedSnapshot) {
+        // default is 0 if no snapshot
+        return completedSnapshot == null ? 0 : completedSnapshot.getLogOffset();
+    }
+
+    private void downloadKvSnapshots(
+            CompletedSnapshot completedSnapshot,
+            Path kvTabletDir,
+            CloseableRegistry downloadCloseableRegistry)
             throws IOException {
         Path kvDbPath = kvTabletDir.resolve(RocksDBKvBuilder.DB_INSTANCE_DIR_STRING);
         KvSnapshotDownloadSpec downloadSpec =
@@ -667,7 +752,8 @@ public final class Replica {
         KvSnapshotDataDownloader kvSnapshotDataDownloader =
                 snapshotContext.getSnapshotDataDownloader();
         try {
-            kvSnapshotDataDownloader.transferAllDataToDirectory(downloadSpec, closeableRegistry);
+            kvSnapshotDataDownloader.transferAllDataToDirectory(
+                    downloadSpec, downloadCloseableRegistry);
         } catch (Exception e) {
             if (e.getMessage().contains(CompletedSnapshot.SNAPSHOT_DATA_NOT_EXISTS_ERROR_MESSAGE)) {
                 try {
@@ -704,20 +790,7 @@ public final class Replica {
         long start = clock.milliseconds();
         checkNotNull(kvTablet, "kv tablet should not be null.");
         try {
-            KvRecoverHelper.KvRecoverContext recoverContext =
-                    new KvRecoverHelper.KvRecoverContext(
-                            getTablePath(),
-                            tableBucket,
-                            snapshotContext.getZooKeeperClient(),
-                            snapshotContext.maxFetchLogSizeInRecoverKv());
-            KvRecoverHelper kvRecoverHelper =
-                    new KvRecoverHelper(
-                            kvTablet,
-                            logTablet,
-                            startRecoverLogOffset,
-                            recoverContext,
-                            tableConfig.getKvFormat());
-            kvRecoverHelper.recover();
+            createKvRecoverHelper(kvTablet, startRecoverLogOffset).recover();
         } catch (Exception e) {
             throw new KvStorageException(
                     String.format(
@@ -734,6 +807,312 @@ public final class Replica {
                 end - start);
     }
 
+    private KvRecoverHelper createKvRecoverHelper(KvTablet kvTablet, long startRecoverLogOffset) {
+        KvRecoverHelper.KvRecoverContext recoverContext =
+                new KvRecoverHelper.KvRecoverContext(
+                        getTablePath(),
+                        tableBucket,
+                        snapshotContext.getZooKeeperClient(),
+                        snapshotContext.maxFetchLogSizeInRecoverKv());
+        return new KvRecoverHelper(
+                kvTablet,
+                logTablet,
+                startRecoverLogOffset,
+                recoverContext,
+                tableConfig.getKvFormat());
+    }
+
+    private void scheduleStandbyKvRestore() {
+        try {
+            snapshotContext.getAsyncOperationsThreadPool().execute(this::restoreStandbyKv);
+        } catch (RejectedExecutionException e) {
+            LOG.warn(
+                    "Fail to schedule restoring the standby kv tablet for {} of table {}.",
+                    tableBucket,
+                    physicalPath,
+                    e);
+        }
+    }
+
+    /**
+     * Restores the standby kv tablet of the follower replica from the latest kv snapshot and the
+     * local log up to the high watermark of the leader. It runs asynchronously without holding
+     * {@link #leaderIsrUpdateLock} to not block the state change of the replica, which cancels the
+     * restoring by {@link #cancelStandbyKvRestore()}. The restored kv tablet is only published if
+     * the replica is still a follower and the local log isn't truncated while restoring.
+     */
+    private void restoreStandbyKv() {
+        StandbyKvRestore restore =
+                inReadLock(
+                        leaderIsrUpdateLock,
+                        () -> {
+                            synchronized (standbyKvLock) {
+                                // the state of the replica may have changed since the restoring
+                                // is scheduled
+                                if (closeableRegistry.isClosed()
+                                        || isLeader()
+                                        || kvTablet != null
+                                        || standbyKvRestore != null) {
+                                    return null;
+                                }
+                                standbyKvRestore = new StandbyKvRestore(localLogTruncations);
+                                return standbyKvRestore;
+                            }
+                        });
+        if (restore == null) {
+            return;
+        }
+
+        long startTime = clock.milliseconds();
+        KvTablet restoredKv = null;
+        boolean published = false;
+        try {
+            closeableRegistry.registerCloseable(restore.closeableRegistry);
+            CompletedSnapshot completedSnapshot = getLatestSnapshot(tableBucket).orElse(null);
+            restoredKv = loadKvTablet(completedSnapshot, restore.closeableRegistry);
+            KvRecoverHelper recoverHelper =
+                    createKvRecoverHelper(restoredKv, restoreStartOffset(completedSnapshot));
+            restore.setRecoverHelper(recoverHelper);
+            recoverHelper.recoverToLeaderHighWatermark();
+            published = publishStandbyKv(restore, restoredKv, recoverHelper, completedSnapshot);
+            if (published) {
+                LOG.info(
+                        "Restore standby kv tablet for {} of table {} to log offset {} finish, cost {} ms.",
+                        tableBucket,
+                        physicalPath,
+                        restoredKv.getFlushedLogOffset(),
+                        clock.milliseconds() - startTime);
+            }
+        } catch (Exception e) {
+            if (!restore.cancelled) {
+                LOG.warn(
+                        "Fail to restore the standby kv tablet for {} of table {}, the kv "
+                                + "tablet will be initialized when the replica becomes leader.",
+                        tableBucket,
+                        physicalPath,
+                        e);
+            }
+        } finally {
+            if (!published) {
+                if (restoredKv != null) {
+                    checkNotNull(kvManager).dropKv(tableBucket);
+                }
+                if (closeableRegistry.unregisterCloseable(restore.closeableRegistry)) {
+                    IOUtils.closeQuietly(restore.closeableRegistry);
+                }
+            }
+            boolean truncated;
+            synchronized (standbyKvLock) {
+                standbyKvRestore = null;
+                truncated = restore.truncations != localLogTruncations;
+            }
+            restore.done.complete(null);
+            if (!published && !restore.cancelled && truncated) {
+                LOG.info(
+                        "The local log of {} of table {} is truncated while restoring the "
+                                + "standby kv tablet, restore it again.",
+                        tableBucket,
+                        physicalPath);
+                scheduleStandbyKvRestore();
+            }
+        }
+    }
+
+    /**
+     * Publishes the restored standby kv tablet if the restoring isn't cancelled, the replica is
+     * still a follower and the local log isn't truncated since the restoring started.
+     */
+    private boolean publishStandbyKv(
+            StandbyKvRestore restore,
+            KvTablet restoredKv,
+            KvRecoverHelper recoverHelper,
+            @Nullable CompletedSnapshot completedSnapshot)
+            throws InterruptedException {
+        // don't block on the lock, the state change of the replica holding the write lock waits
+        // for the restoring to finish after cancelling it
+        Lock readLock = leaderIsrUpdateLock.readLock();
+        while (!readLock.tryLock(STANDBY_KV_PUBLISH_LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (restore.cancelled) {
+                return false;
+            }
+        }
+        try {
+            synchronized (standbyKvLock) {
+                if (restore.cancelled
+                        || closeableRegistry.isClosed()
+                        || isLeader()
+                        || kvTablet != null
+                        || restore.truncations != localLogTruncations) {
+                    return false;
+                }
+                kvTablet = restoredKv;
+                closeableRegistryForKv = restore.closeableRegistry;
+                standbyKvRecoverHelper = recoverHelper;
+                standbyKvSnapshot = completedSnapshot;
+                kvStandby = true;
+                return true;
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the ongoing restoring of the standby kv tablet if any, and waits for it to release
+     * the kv tablet. It's called while holding the write lock of {@link #leaderIsrUpdateLock}
+     * before the kv tablet is dropped, promoted or created.
+     */
+    private void cancelStandbyKvRestore() {
+        StandbyKvRestore restore;
+        synchronized (standbyKvLock) {
+            restore = standbyKvRestore;
+            if (restore == null) {
+                return;
+            }
+            restore.cancel();
+        }
+        LOG.info(
+                "Cancel restoring the standby kv tablet for {} of table {}.",
+                tableBucket,
+                physicalPath);
+        restore.done.join();
+    }
+
+    /**
+     * Schedules applying the local log up to the high watermark of the leader to the standby kv
+     * tablet if the follower replica has one. It's called by the replica fetcher after the fetched
+     * log is appended, and the log is applied asynchronously to not block the replica fetcher.
+     */
+    public void maybeApplyLogToStandbyKv() {
+        if (!kvStandby || !standbyKvApplyScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            snapshotContext.getAsyncOperationsThreadPool().execute(this::applyLogToStandbyKv);
+        } catch (RejectedExecutionException e) {
+            standbyKvApplyScheduled.set(false);
+            LOG.warn(
+                    "Fail to schedule applying log to the standby kv tablet for {} of table {}.",
+                    tableBucket,
+                    physicalPath,
+                    e);
+        }
+    }
+
+    private void applyLogToStandbyKv() {
+        // reset before applying, so that the log appended while applying schedules another one
+        standbyKvApplyScheduled.set(false);
+        // don't wait while the state of the replica is changing, the standby kv tablet will
+        // catch up in the next fetch or when the replica becomes leader
+        Lock readLock = leaderIsrUpdateLock.readLock();
+        if (!readLock.tryLock()) {
+            return;
+        }
+        try {
+            synchronized (standbyKvLock) {
+                KvRecoverHelper recoverHelper = standbyKvRecoverHelper;
+                if (kvStandby && recoverHelper != null) {
+                    recoverHelper.recoverToLeaderHighWatermark();
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn(
+                    "Fail to apply log to the standby kv tablet for {} of table {}, drop the "
+                            + "standby kv tablet.",
+                    tableBucket,
+                    physicalPath,
+                    e);
+            synchronized (standbyKvLock) {
+                dropKv();
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Promotes the standby kv tablet of the follower to the kv tablet of the leader, which only
+     * recovers the log after the flushed log offset of the standby kv tablet.
+     *
+     * @return false if the standby kv tablet can't be promoted, and a new kv tablet should be
+     *     created instead.
+     */
+    private boolean promoteStandbyKv() {
+        long startTime = clock.milliseconds();
+        KvTablet standbyKv = checkNotNull(kvTablet);
+        CompletedSnapshot restoredSnapshot = standbyKvSnapshot;
+        kvStandby = false;
+        standbyKvRecoverHelper = null;
+        standbyKvSnapshot = null;
+
+        long flushedLogOffset = standbyKv.getFlushedLogOffset();
+        if (flushedLogOffset < logTablet.localLogStartOffset()) {
+            LOG.info(
+                    "The flushed log offset {} of the standby kv tablet for {} of table {} is "
+                            + "smaller than the local log start offset {}, can't promote it.",
+                    flushedLogOffset,
+                    tableBucket,
+                    physicalPath,
+                    logTablet.localLogStartOffset());
+            return false;
+        }
+        try {
+            recoverKvTablet(flushedLogOffset);
+        } catch (Exception e) {
+            LOG.warn(
+                    "Fail to promote the standby kv tablet for {} of table {}.",
+                    tableBucket,
+                    physicalPath,
+                    e);
+            return false;
+        }
+
+        Optional<CompletedSnapshot> latestSnapshot = getLatestSnapshot(tableBucket);
+        logTablet.updateMinRetainOffset(
+                latestSnapshot.map(CompletedSnapshot::getLogOffset).orElse(0L));
+        // the local sst files only match the sst files of the snapshot the standby kv tablet is
+        // restored from, so the next snapshot can only be incremental on that snapshot if it's
+        // still the latest one, otherwise, the next snapshot will upload all the sst files
+        CompletedSnapshot baseSnapshot =
+                restoredSnapshot != null
+                                && latestSnapshot.isPresent()
+                                && latestSnapshot.get().getSnapshotID()
+                                        == restoredSnapshot.getSnapshotID()
+                        ? latestSnapshot.get()
+                        : null;
+        startPeriodicKvSnapshot(baseSnapshot);
+        LOG.info(
+                "Promote standby kv tablet for {} of table {} from log offset {} finish, cost {} ms.",
+                tableBucket,
+                physicalPath,
+                flushedLogOffset,
+                clock.milliseconds() - startTime);
+        return true;
+    }
+
+    /** Drops the standby kv tablet if it contains the log truncated from the local log. */
+    private void onLocalLogTruncated(long truncateOffset) {
+        if (!isKvTable() || !tableConfig.isKvStandbyEnabled()) {
+            return;
+        }
+        synchronized (standbyKvLock) {
+            localLogTruncations++;
+            KvTablet kv = kvTablet;
+            if (kvStandby && kv != null && kv.getFlushedLogOffset() > truncateOffset) {
+                LOG.info(
+                        "The local log of {} of table {} is truncated to offset {} which is smaller "
+                                + "than the flushed log offset {} of the standby kv tablet, restore "
+                                + "the standby kv tablet again.",
+                        tableBucket,
+                        physicalPath,
+                        truncateOffset,
+                        kv.getFlushedLogOffset());
+                dropKv();
+                scheduleStandbyKvRestore();
+            }
+        }
+    }
+
     private void startPeriodicKvSnapshot(@Nullable CompletedSnapshot completedSnapshot) {
         checkNotNull(kvTablet);
         KvTabletSnapshotTarget kvTabletSnapshotTarget;
@@ -1076,7 +1455,7 @@ public final class Replica {
         return followerReplica;
     }
 
-    public List<byte[]> lookups(List<byte[]> keys) {
+    public LookupResultForBucket lookups(List<byte[]> keys) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
                     "the primary key table not exists for " + tableBucket);
@@ -1093,7 +1472,11 @@ public final class Replica {
                         }
                         checkNotNull(
                                 kvTablet, "KvTablet for the replica to get key shouldn't be null.");
-                        return kvTablet.multiGet(keys);
+                        // the offset must be got before reading the kv, the read values reflect at
+                        // least all the changes before it
+                        long flushedLogOffset = kvTablet.getFlushedLogOffset();
+                        return new LookupResultForBucket(
+                                tableBucket, kvTablet.multiGet(keys), flushedLogOffset);
                     } catch (IOException e) {
                         String errorMsg =
                                 String.format(
@@ -1135,6 +1518,84 @@ public final class Replica {
                 });
     }
 
+    public KvScanPage scanKv(
+            @Nullable byte[] prefixKey, @Nullable byte[] afterKey, int maxBytes, int limit) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "Try to scan kv on a non primary key table: " + getTablePath());
+        }
+
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    try {
+                        if (!isLeader()) {
+                            throw new NotLeaderOrFollowerException(
+                                    String.format(
+                                            "Leader not local for bucket %s on tabletServer %d",
+                                            tableBucket, localTabletServerId));
+                        }
+                        checkNotNull(
+                                kvTablet, "KvTablet for the replica to scan kv shouldn't be null.");
+                        return kvTablet.scan(prefixKey, afterKey, maxBytes, limit);
+                    } catch (IOException e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to scan from local kv for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
+    /**
+     * Opens a scanner on the snapshot of the kv, the rows of the scanner are always returned in
+     * arrow format regardless of the log format of the table.
+     */
+    public KvScanner openKvScanner(
+            long scannerId,
+            @Nullable int[] projectedFields,
+            Runnable closeCallback,
+            long currentTimeMs) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "Try to scan kv on a non primary key table: " + getTablePath());
+        }
+        if (projectedFields != null) {
+            checkProjectedFields(projectedFields);
+        }
+
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    try {
+                        if (!isLeader()) {
+                            throw new NotLeaderOrFollowerException(
+                                    String.format(
+                                            "Leader not local for bucket %s on tabletServer %d",
+                                            tableBucket, localTabletServerId));
+                        }
+                        checkNotNull(
+                                kvTablet,
+                                "KvTablet for the replica to open kv scanner shouldn't be null.");
+                        return kvTablet.openScanner(
+                                scannerId,
+                                schemaId,
+                                projectedFields,
+                                closeCallback,
+                                currentTimeMs);
+                    } catch (IOException e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to open kv scanner for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
     public DefaultValueRecordBatch limitKvScan(int limit) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
@@ -1317,14 +1778,23 @@ public final class Replica {
      * @param offset offset to be used for truncation.
      */
     public void truncateTo(long offset) throws LogStorageException {
-        inReadLock(leaderIsrUpdateLock, () -> logManager.truncateTo(tableBucket, offset));
+        inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    logManager.truncateTo(tableBucket, offset);
+                    onLocalLogTruncated(offset);
+                });
     }
 
     /** Delete all data in the local log of this bucket and start the log at the new offset. */
     public void truncateFullyAndStartAt(long newOffset) {
         inReadLock(
                 leaderIsrUpdateLock,
-                () -> logManager.truncateFullyAndStartAt(tableBucket, newOffset));
+                () -> {
+                    logManager.truncateFullyAndStartAt(tableBucket, newOffset);
+                    // all the log applied to the standby kv tablet is truncated
+                    onLocalLogTruncated(Long.MIN_VALUE);
+                });
     }
 
     private LogReadInfo readRecords(FetchParams fetchParams, LogTablet logTablet)
@@ -1333,6 +1803,13 @@ public final class Replica {
         // the fetch do not prevent a follower from coming into sync.
         long initialHighWatermark = logTablet.getHighWatermark();
         long initialLogEndOffset = logTablet.localLogEndOffset();
+        FetchIsolation isolation = fetchParams.isolation();
+        if (!fetchParams.isFromFollower() && !isLeader()) {
+            // the high watermark of a follower is its log end offset, which may be truncated later,
+            // so the clients can only read the log committed by the leader
+            isolation = FetchIsolation.LEADER_HIGH_WATERMARK;
+            initialHighWatermark = logTablet.getLeaderHighWatermark();
+        }
         long readOffset =
                 fetchParams.fetchOffset() == FetchParams.FETCH_FROM_EARLIEST_OFFSET
                         ? logTablet.logStartOffset()
@@ -1344,9 +1821,10 @@ public final class Replica {
                 logTablet.read(
                         readOffset,
                         fetchParams.maxFetchBytes(),
-                        fetchParams.isolation(),
+                        isolation,
                         fetchParams.minOneMessage(),
-                        fetchParams.projection());
+                        fetchParams.projection(),
+                        fetchParams.filter());
         return new LogReadInfo(fetchDataInfo, initialHighWatermark, initialLogEndOffset);
     }
 
@@ -1770,6 +2248,11 @@ public final class Replica {
         return logTablet;
     }
 
+    @VisibleForTesting
+    boolean hasStandbyKv() {
+        return kvStandby;
+    }
+
     @VisibleForTesting
     public boolean isLeader() {
         Integer leaderReplicaId = leaderReplicaIdOpt.get();
@@ -1851,8 +2334,40 @@ public final class Replica {
         return bucketEpoch;
     }
 
-    @VisibleForTesting
     public List<Integer> getIsr() {
         return isrState.isr();
     }
+
+    /** The state of an ongoing restoring of the standby kv tablet. */
+    private static final class StandbyKvRestore {
+        // the truncations of the local log when the restoring starts
+        private final int truncations;
+        // closed to abort downloading the kv snapshot, owned by the kv tablet once published
+        private final CloseableRegistry closeableRegistry = new CloseableRegistry();
+        // completed once the restoring finishes, no matter whether it's published or not
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private volatile boolean cancelled = false;
+        private volatile @Nullable KvRecoverHelper recoverHelper;
+
+        private StandbyKvRestore(int truncations) {
+            this.truncations = truncations;
+        }
+
+        private void setRecoverHelper(KvRecoverHelper recoverHelper) {
+            this.recoverHelper = recoverHelper;
+            if (cancelled) {
+                recoverHelper.cancel();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            IOUtils.closeQuietly(closeableRegistry);
+            KvRecoverHelper recoverHelper = this.recoverHelper;
+            if (recoverHelper != null) {
+                recoverHelper.cancel();
+            }
+        }
+    }
 }
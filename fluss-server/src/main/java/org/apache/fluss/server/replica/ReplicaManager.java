@@ -18,6 +18,7 @@
 package org.apache.fluss.server.replica;
 
 import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.cluster.TabletServerInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.FencedLeaderEpochException;
@@ -27,25 +28,32 @@ import org.apache.fluss.exception.LogOffsetOutOfRangeException;
 import org.apache.fluss.exception.LogStorageException;
 import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.exception.StorageException;
+import org.apache.fluss.exception.TooManyKvScannersException;
+import org.apache.fluss.exception.UnknownKvScannerException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
 import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.metrics.MeterView;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.bytesview.BytesView;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.rpc.RpcClient;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.entity.KvScanResultForBucket;
 import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
 import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
+import org.apache.fluss.rpc.entity.ScanKvResultForBucket;
 import org.apache.fluss.rpc.entity.WriteResultForBucket;
 import org.apache.fluss.rpc.gateway.CoordinatorGateway;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
@@ -64,12 +72,16 @@ import org.apache.fluss.server.entity.NotifyRemoteLogOffsetsData;
 import org.apache.fluss.server.entity.StopReplicaData;
 import org.apache.fluss.server.entity.StopReplicaResultForBucket;
 import org.apache.fluss.server.kv.KvManager;
+import org.apache.fluss.server.kv.KvScanPage;
 import org.apache.fluss.server.kv.KvSnapshotResource;
+import org.apache.fluss.server.kv.scan.KvScanner;
+import org.apache.fluss.server.kv.scan.KvScannerManager;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.DefaultSnapshotContext;
 import org.apache.fluss.server.kv.snapshot.SnapshotContext;
 import org.apache.fluss.server.log.FetchDataInfo;
 import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.FetchSessionCache;
 import org.apache.fluss.server.log.ListOffsetsParam;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogManager;
@@ -78,6 +90,7 @@ import org.apache.fluss.server.log.LogReadInfo;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.log.checkpoint.OffsetCheckpointFile;
 import org.apache.fluss.server.log.remote.RemoteLogManager;
+import org.apache.fluss.server.log.remote.RemoteLogSegmentCache;
 import org.apache.fluss.server.metadata.ClusterMetadata;
 import org.apache.fluss.server.metadata.TabletServerMetadataCache;
 import org.apache.fluss.server.metrics.group.BucketMetricGroup;
@@ -90,6 +103,9 @@ import org.apache.fluss.server.replica.delay.DelayedTableBucketKey;
 import org.apache.fluss.server.replica.delay.DelayedWrite;
 import org.apache.fluss.server.replica.fetcher.InitialFetchStatus;
 import org.apache.fluss.server.replica.fetcher.ReplicaFetcherManager;
+import org.apache.fluss.server.replica.selector.ClientMetadata;
+import org.apache.fluss.server.replica.selector.ReplicaSelector;
+import org.apache.fluss.server.replica.selector.ReplicaSelectorLoader;
 import org.apache.fluss.server.utils.FatalErrorHandler;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.server.zk.data.LakeTableSnapshot;
@@ -183,6 +199,17 @@ public class ReplicaManager {
 
     private final Clock clock;
 
+    // the open scanners to stream the rows of the kv to the batch scans of primary key tables
+    private final KvScannerManager kvScannerManager;
+    // the max bytes of a kv scan response, which bounds the max bytes requested by the clients
+    private final int maxKvScanBytes;
+    // the max number of the values in a page of a paged kv scan
+    private final int maxKvScanPageValues;
+    private final FetchSessionCache fetchSessionCache;
+
+    // the selector of the replica for the clients to read from, null if they read from leader
+    private final @Nullable ReplicaSelector replicaSelector;
+
     public ReplicaManager(
             Configuration conf,
             Scheduler scheduler,
@@ -275,6 +302,11 @@ public class ReplicaManager {
         this.remoteLogManager = remoteLogManager;
         this.serverMetricGroup = serverMetricGroup;
         this.clock = clock;
+        this.kvScannerManager = new KvScannerManager(conf, clock);
+        this.maxKvScanBytes = (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_MAX_BYTES).getBytes();
+        this.maxKvScanPageValues = conf.get(ConfigOptions.KV_SCAN_PAGE_MAX_VALUES);
+        this.fetchSessionCache = new FetchSessionCache(conf, clock);
+        this.replicaSelector = ReplicaSelectorLoader.createReplicaSelector(conf);
         registerMetrics();
     }
 
@@ -287,12 +319,34 @@ public class ReplicaManager {
                 this::maybeShrinkIsr,
                 0L,
                 conf.get(ConfigOptions.LOG_REPLICA_MAX_LAG_TIME).toMillis() / 2);
+        // expire the idle kv scanners, a scanner may be idle up to 1.5 times of the ttl
+        long kvScannerTtlMs = kvScannerManager.getTtlMs();
+        scheduler.schedule(
+                "kv-scanner-expiration",
+                kvScannerManager::expireIdleScanners,
+                kvScannerTtlMs / 2,
+                kvScannerTtlMs / 2);
+        long fetchSessionTtlMs = fetchSessionCache.getTtlMs();
+        scheduler.schedule(
+                "fetch-session-expiration",
+                fetchSessionCache::expireIdleSessions,
+                fetchSessionTtlMs / 2,
+                fetchSessionTtlMs / 2);
     }
 
     public RemoteLogManager getRemoteLogManager() {
         return remoteLogManager;
     }
 
+    public FetchSessionCache getFetchSessionCache() {
+        return fetchSessionCache;
+    }
+
+    /** Returns whether the clients can read the log from the follower replicas. */
+    public boolean isFetchFromFollowerEnabled() {
+        return replicaSelector != null;
+    }
+
     private void registerMetrics() {
         serverMetricGroup.gauge(
                 MetricNames.REPLICA_LEADER_COUNT,
@@ -302,6 +356,25 @@ public class ReplicaManager {
         serverMetricGroup.gauge(MetricNames.DELAYED_WRITE_COUNT, delayedWriteManager::numDelayed);
         serverMetricGroup.gauge(
                 MetricNames.DELAYED_FETCH_COUNT, delayedFetchLogManager::numDelayed);
+
+        RemoteLogSegmentCache segmentCache =
+                remoteLogManager == null ? null : remoteLogManager.getRemoteLogSegmentCache();
+        if (segmentCache != null) {
+            serverMetricGroup.meter(
+                    MetricNames.REMOTE_LOG_SEGMENT_CACHE_HIT_RATE,
+                    new MeterView(segmentCache.getHitCount()));
+            serverMetricGroup.meter(
+                    MetricNames.REMOTE_LOG_SEGMENT_CACHE_MISS_RATE,
+                    new MeterView(segmentCache.getMissCount()));
+            serverMetricGroup.meter(
+                    MetricNames.REMOTE_LOG_SEGMENT_CACHE_EVICTION_RATE,
+                    new MeterView(segmentCache.getEvictionCount()));
+            serverMetricGroup.meter(
+                    MetricNames.REMOTE_LOG_SEGMENT_CACHE_DOWNLOAD_BYTES_RATE,
+                    new MeterView(segmentCache.getDownloadBytesCount()));
+            serverMetricGroup.gauge(
+                    MetricNames.REMOTE_LOG_SEGMENT_CACHE_SIZE, segmentCache::getSizeInBytes);
+        }
     }
 
     private Stream<Replica> onlineReplicas() {
@@ -409,8 +482,10 @@ public class ReplicaManager {
     /**
      * Fetch records from a replica. Currently, we will return the fetched records immediately.
      *
-     * <p>The callback function will be triggered when required fetch info is satisfied. Both client
-     * scanner and followers can only fetch from leader replica.
+     * <p>The callback function will be triggered when required fetch info is satisfied. Followers
+     * can only fetch from leader replica. Client scanners can also fetch from follower replicas if a
+     * {@link ReplicaSelector} is configured, and the leader replica redirects the client scanners
+     * to the replica selected by the selector.
      */
     public void fetchLogRecords(
             FetchParams params,
@@ -485,8 +560,7 @@ public class ReplicaManager {
                 Replica replica = getReplicaOrException(tb);
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalLookupRequests().inc();
-                lookupResultForBucketMap.put(
-                        tb, new LookupResultForBucket(tb, replica.lookups(entry.getValue())));
+                lookupResultForBucketMap.put(tb, replica.lookups(entry.getValue()));
             } catch (Exception e) {
                 if (isUnexpectedException(e)) {
                     LOG.error("Error lookup from local kv on replica {}", tb, e);
@@ -981,6 +1055,122 @@ public class ReplicaManager {
         responseCallback.accept(limitScanResultForBucket);
     }
 
+    /**
+     * Scan a page of values from the kv, optionally only the values with the prefix key.
+     *
+     * <p>The scan is stateless on the server: the continuation token is the last key of the
+     * previous page, and the page starts from the first key after it in the current kv. So a page
+     * reflects a consistent view of the kv, but the pages of a scan aren't read from the same
+     * snapshot. The rows changed between two pages may be seen in either version, or not at all if
+     * they're deleted. Use {@link #kvScan} to read all the rows from a snapshot.
+     */
+    public void scanKv(
+            TableBucket tableBucket,
+            @Nullable byte[] prefixKey,
+            @Nullable byte[] continuationToken,
+            int maxBytes,
+            int limit,
+            Consumer<ScanKvResultForBucket> responseCallback) {
+        ScanKvResultForBucket scanKvResultForBucket;
+        PhysicalTableMetricGroup tableMetrics = null;
+        try {
+            Replica replica = getReplicaOrException(tableBucket);
+            tableMetrics = replica.tableMetrics();
+            tableMetrics.totalScanKvRequests().inc();
+            // the continuation token is the last key of the previous page
+            // bound the page requested by the client, to not build a whole prefix in one page
+            int pageLimit =
+                    limit <= 0 ? maxKvScanPageValues : Math.min(limit, maxKvScanPageValues);
+            KvScanPage page =
+                    replica.scanKv(
+                            prefixKey, continuationToken, boundKvScanBytes(maxBytes), pageLimit);
+            scanKvResultForBucket =
+                    new ScanKvResultForBucket(tableBucket, page.values(), page.nextKey());
+        } catch (Exception e) {
+            if (isUnexpectedException(e)) {
+                LOG.error("Error scanning kv on replica {}", tableBucket, e);
+                if (tableMetrics != null) {
+                    tableMetrics.failedScanKvRequests().inc();
+                }
+            }
+            scanKvResultForBucket =
+                    new ScanKvResultForBucket(tableBucket, ApiError.fromThrowable(e));
+        }
+        responseCallback.accept(scanKvResultForBucket);
+    }
+
+    /**
+     * Reads the next arrow batch of the kv scanner of the bucket, or opens a new scanner if the
+     * scanner id is null. The scanner is closed once all the rows have been read, or when it's
+     * explicitly closed by the client.
+     */
+    public void kvScan(
+            TableBucket tableBucket,
+            @Nullable Long scannerId,
+            @Nullable int[] projectedFields,
+            int maxBytes,
+            boolean closeScanner,
+            Consumer<KvScanResultForBucket> responseCallback) {
+        KvScanResultForBucket kvScanResultForBucket;
+        PhysicalTableMetricGroup tableMetrics = null;
+        try {
+            if (closeScanner) {
+                if (scannerId != null) {
+                    kvScannerManager.closeScanner(scannerId, tableBucket);
+                }
+                kvScanResultForBucket =
+                        new KvScanResultForBucket(
+                                tableBucket,
+                                scannerId == null ? -1L : scannerId,
+                                null,
+                                null,
+                                false);
+            } else {
+                Replica replica = getReplicaOrException(tableBucket);
+                tableMetrics = replica.tableMetrics();
+                tableMetrics.totalKvScanRequests().inc();
+                KvScanner scanner;
+                Long logOffset = null;
+                if (scannerId == null) {
+                    scanner =
+                            kvScannerManager.openScanner(
+                                    (id, closeCallback, currentTimeMs) ->
+                                            replica.openKvScanner(
+                                                    id,
+                                                    projectedFields,
+                                                    closeCallback,
+                                                    currentTimeMs));
+                    logOffset = scanner.getLogOffset();
+                } else {
+                    scanner = kvScannerManager.getScanner(scannerId, tableBucket);
+                }
+                BytesView records =
+                        scanner.nextBatch(boundKvScanBytes(maxBytes), clock.milliseconds());
+                boolean hasMoreResults = scanner.hasMoreResults();
+                if (!hasMoreResults) {
+                    kvScannerManager.closeScanner(scanner.getScannerId());
+                }
+                kvScanResultForBucket =
+                        new KvScanResultForBucket(
+                                tableBucket,
+                                scanner.getScannerId(),
+                                logOffset,
+                                records,
+                                hasMoreResults);
+            }
+        } catch (Exception e) {
+            if (isUnexpectedException(e)) {
+                LOG.error("Error scanning kv on replica {}", tableBucket, e);
+                if (tableMetrics != null) {
+                    tableMetrics.failedKvScanRequests().inc();
+                }
+            }
+            kvScanResultForBucket =
+                    new KvScanResultForBucket(tableBucket, ApiError.fromThrowable(e));
+        }
+        responseCallback.accept(kvScanResultForBucket);
+    }
+
     public Map<TableBucket, LogReadResult> readFromLog(
             FetchParams fetchParams, Map<TableBucket, FetchReqInfo> bucketFetchInfo) {
         Map<TableBucket, LogReadResult> logReadResult = new HashMap<>();
@@ -997,6 +1187,18 @@ public class ReplicaManager {
                 replica = getReplicaOrException(tb);
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalFetchLogRequests().inc();
+                Integer preferredReadReplica = selectPreferredReadReplica(replica, fetchParams);
+                if (preferredReadReplica != null) {
+                    logReadResult.put(
+                            tb,
+                            new LogReadResult(
+                                    new FetchLogResultForBucket(
+                                            tb,
+                                            preferredReadReplica,
+                                            replica.getLogHighWatermark()),
+                                    LogOffsetMetadata.UNKNOWN_OFFSET_METADATA));
+                    continue;
+                }
                 LOG.trace(
                         "Fetching log record for replica {}, offset {}",
                         tb,
@@ -1008,7 +1210,8 @@ public class ReplicaManager {
                         adjustedMaxBytes,
                         replica.getRowType(),
                         replica.getArrowCompressionInfo(),
-                        fetchReqInfo.getProjectFields());
+                        fetchReqInfo.getProjectFields(),
+                        fetchReqInfo.getFilter());
                 LogReadInfo readInfo = replica.fetchRecords(fetchParams);
 
                 // Once we read from a non-empty bucket, we stop ignoring request and bucket
@@ -1046,7 +1249,18 @@ public class ReplicaManager {
 
                 FetchLogResultForBucket result;
                 if (replica != null && e instanceof LogOffsetOutOfRangeException) {
-                    result = handleFetchOutOfRangeException(replica, fetchOffset, e);
+                    result =
+                            handleFetchOutOfRangeException(
+                                    replica, fetchParams, fetchReqInfo, adjustedMaxBytes, e);
+                    if (!result.failed() && !result.fetchFromRemote()) {
+                        // the remote log may be served by this server from the segment cache
+                        int recordBatchSize = result.recordsOrEmpty().sizeInBytes();
+                        if (recordBatchSize > 0) {
+                            fetchParams.markReadOneMessage();
+                            tableMetrics.logBytesOut().inc(recordBatchSize);
+                        }
+                        limitBytes = Math.max(0, limitBytes - recordBatchSize);
+                    }
                 } else {
                     result = new FetchLogResultForBucket(tb, ApiError.fromThrowable(e));
                 }
@@ -1057,9 +1271,49 @@ public class ReplicaManager {
         return logReadResult;
     }
 
+    /**
+     * Selects the replica for the client to read from, returns null if the client should read from
+     * the local replica.
+     */
+    private @Nullable Integer selectPreferredReadReplica(Replica replica, FetchParams fetchParams) {
+        ClientMetadata clientMetadata = fetchParams.clientMetadata();
+        if (replicaSelector == null
+                || clientMetadata == null
+                || fetchParams.isFromFollower()
+                || !replica.isLeader()) {
+            return null;
+        }
+
+        Map<Integer, TabletServerInfo> aliveTabletServers = new HashMap<>();
+        for (TabletServerInfo serverInfo : metadataCache.getAliveTabletServerInfos()) {
+            aliveTabletServers.put(serverInfo.getId(), serverInfo);
+        }
+        TabletServerInfo leader = aliveTabletServers.get(serverId);
+        if (leader == null) {
+            return null;
+        }
+        List<TabletServerInfo> inSyncReplicas = new ArrayList<>();
+        for (int replicaId : replica.getIsr()) {
+            TabletServerInfo serverInfo = aliveTabletServers.get(replicaId);
+            if (serverInfo != null) {
+                inSyncReplicas.add(serverInfo);
+            }
+        }
+        Integer selected =
+                replicaSelector
+                        .select(replica.getTableBucket(), clientMetadata, leader, inSyncReplicas)
+                        .orElse(null);
+        return selected == null || selected == serverId ? null : selected;
+    }
+
     private FetchLogResultForBucket handleFetchOutOfRangeException(
-            Replica replica, long fetchOffset, Exception e) {
+            Replica replica,
+            FetchParams fetchParams,
+            FetchReqInfo fetchReqInfo,
+            int maxBytes,
+            Exception e) {
         TableBucket tb = replica.getTableBucket();
+        long fetchOffset = fetchReqInfo.getFetchOffset();
         if (fetchOffset == FetchParams.FETCH_FROM_EARLIEST_OFFSET) {
             fetchOffset = replica.getLogStartOffset();
         }
@@ -1076,6 +1330,12 @@ public class ReplicaManager {
         // of RemoteLogSegment. For client fetcher, it will fetch the log from remote in client.
         // For follower, it can update its local metadata to adjust the next fetch offset.
         else if (canFetchFromRemoteLog(replica, fetchOffset)) {
+            LogRecords records =
+                    fetchLogFromRemoteCache(
+                            replica, fetchParams, fetchReqInfo, fetchOffset, maxBytes);
+            if (records != null) {
+                return new FetchLogResultForBucket(tb, records, replica.getLogHighWatermark());
+            }
             RemoteLogFetchInfo remoteLogFetchInfo = fetchLogFromRemote(replica, fetchOffset);
             if (remoteLogFetchInfo != null) {
                 return new FetchLogResultForBucket(
@@ -1102,6 +1362,61 @@ public class ReplicaManager {
         return replica.getLogTablet().canFetchFromRemoteLog(fetchOffset);
     }
 
+    /**
+     * Reads the remote log from the remote log segment cache of this server for the client, so that
+     * the remote log segments are downloaded once for all the clients instead of being downloaded
+     * by every client.
+     *
+     * @return the records read from the segment cache, empty records if the segment isn't cached
+     *     yet and the client should retry later, or null if the remote log should be read by the
+     *     client itself.
+     */
+    private @Nullable LogRecords fetchLogFromRemoteCache(
+            Replica replica,
+            FetchParams fetchParams,
+            FetchReqInfo fetchReqInfo,
+            long fetchOffset,
+            int maxBytes) {
+        RemoteLogSegmentCache segmentCache = remoteLogManager.getRemoteLogSegmentCache();
+        // the projection and filter are not supported on the cached segments
+        if (segmentCache == null
+                || fetchParams.isFromFollower()
+                || fetchReqInfo.getProjectFields() != null
+                || fetchReqInfo.getFilter() != null) {
+            return null;
+        }
+
+        TableBucket tb = replica.getTableBucket();
+        List<RemoteLogSegment> remoteLogSegmentList =
+                remoteLogManager.relevantRemoteLogSegments(tb, fetchOffset);
+        if (remoteLogSegmentList.isEmpty()
+                || !segmentCache.isCacheable(remoteLogSegmentList.get(0))) {
+            return null;
+        }
+        RemoteLogSegment segment = remoteLogSegmentList.get(0);
+        try {
+            int startPosition = remoteLogManager.lookupPositionForOffset(segment, fetchOffset);
+            LogRecords records =
+                    segmentCache.read(
+                            segment,
+                            fetchOffset,
+                            startPosition,
+                            maxBytes,
+                            fetchParams.minOneMessage());
+            // return empty records to let the client retry after the segment is downloaded, the
+            // fetch will be delayed as there is no data to return
+            return records == null ? MemoryLogRecords.EMPTY : records;
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to read remote log segment {} of bucket {} from the segment cache, "
+                            + "fallback to let the client read the remote log.",
+                    segment.remoteLogSegmentId(),
+                    tb,
+                    e);
+            return null;
+        }
+    }
+
     private @Nullable RemoteLogFetchInfo fetchLogFromRemote(Replica replica, long fetchOffset) {
         List<RemoteLogSegment> remoteLogSegmentList =
                 remoteLogManager.relevantRemoteLogSegments(replica.getTableBucket(), fetchOffset);
@@ -1131,10 +1446,20 @@ public class ReplicaManager {
      *
      * @return true if the exception is unexpected and need to print and increment metrics.
      */
+    /**
+     * Bounds the max bytes of a kv scan requested by the client by the max bytes of a fetch, a non
+     * positive max bytes is bounded to the max bytes of a fetch too.
+     */
+    private int boundKvScanBytes(int maxBytes) {
+        return maxBytes <= 0 ? maxKvScanBytes : Math.min(maxBytes, maxKvScanBytes);
+    }
+
     private boolean isUnexpectedException(Exception e) {
         return !(e instanceof UnknownTableOrBucketException
                 || e instanceof NotLeaderOrFollowerException
-                || e instanceof LogOffsetOutOfRangeException);
+                || e instanceof LogOffsetOutOfRangeException
+                || e instanceof UnknownKvScannerException
+                || e instanceof TooManyKvScannersException);
     }
 
     /**
@@ -1225,6 +1550,7 @@ public class ReplicaManager {
         long bytesReadable = 0;
         boolean errorReadingData = false;
         boolean hasFetchFromLocal = false;
+        boolean hasPreferredReadReplica = false;
         Map<TableBucket, FetchBucketStatus> fetchBucketStatusMap = new HashMap<>();
         for (Map.Entry<TableBucket, LogReadResult> logReadResultEntry : logReadResults.entrySet()) {
             TableBucket tb = logReadResultEntry.getKey();
@@ -1236,7 +1562,10 @@ public class ReplicaManager {
                 break;
             }
 
-            if (!fetchLogResultForBucket.fetchFromRemote()) {
+            if (fetchLogResultForBucket.getPreferredReadReplica() != null) {
+                // redirect the client to the preferred read replica immediately
+                hasPreferredReadReplica = true;
+            } else if (!fetchLogResultForBucket.fetchFromRemote()) {
                 hasFetchFromLocal = true;
                 bytesReadable += fetchLogResultForBucket.recordsOrEmpty().sizeInBytes();
             }
@@ -1253,7 +1582,8 @@ public class ReplicaManager {
                 || params.maxWaitMs() <= 0
                 || bucketFetchInfo.isEmpty()
                 || bytesReadable >= params.minFetchBytes()
-                || errorReadingData) {
+                || errorReadingData
+                || hasPreferredReadReplica) {
             responseCallback.accept(
                     logReadResults.entrySet().stream()
                             .collect(
@@ -1570,6 +1900,7 @@ public class ReplicaManager {
     public void shutdown() throws InterruptedException {
         // Close the resources for snapshot kv
         kvSnapshotResource.close();
+        kvScannerManager.close();
         replicaFetcherManager.shutdown();
         delayedWriteManager.shutdown();
         delayedFetchLogManager.shutdown();
@@ -29,10 +29,11 @@ import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
 import org.apache.fluss.rpc.messages.PbListOffsetsRespForBucket;
 import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.rpc.util.FetchSessionHandler;
 import org.apache.fluss.server.log.ListOffsetsParam;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -53,6 +54,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
 
     private final int minFetchBytes;
     private final int maxFetchWaitMs;
+    private final FetchSessionHandler fetchSessionHandler;
 
     RemoteLeaderEndpoint(
             Configuration conf,
@@ -67,6 +69,8 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         this.minFetchBytes = (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_MIN_BYTES).getBytes();
         this.maxFetchWaitMs =
                 (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_WAIT_MAX_TIME).toMillis();
+        this.fetchSessionHandler =
+                new FetchSessionHandler(conf.get(ConfigOptions.LOG_REPLICA_FETCH_SESSION_ENABLED));
         this.tabletServerGateway = tabletServerGateway;
     }
 
@@ -95,6 +99,15 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         FetchLogRequest fetchLogRequest = fetchLogContext.getFetchLogRequest();
         return tabletServerGateway
                 .fetchLog(fetchLogRequest)
+                .whenComplete(
+                        (fetchLogResponse, e) -> {
+                            if (e != null) {
+                                fetchSessionHandler.handleError(fetchLogRequest);
+                            } else {
+                                fetchSessionHandler.handleResponse(
+                                        fetchLogRequest, fetchLogResponse);
+                            }
+                        })
                 .thenApply(
                         fetchLogResponse -> {
                             Map<TableBucket, FetchLogResultForBucket> fetchLogResultMap =
@@ -130,6 +143,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
             Map<TableBucket, BucketFetchStatus> replicas) {
         return buildFetchLogContext(
                 replicas,
+                fetchSessionHandler,
                 followerServerId,
                 maxFetchSize,
                 maxFetchSizeForBucket,
@@ -144,6 +158,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
 
     static Optional<FetchLogContext> buildFetchLogContext(
             Map<TableBucket, BucketFetchStatus> replicas,
+            FetchSessionHandler fetchSessionHandler,
             int followerServerId,
             int maxFetchSize,
             int maxFetchSizeForBucket,
@@ -156,8 +171,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
                         .setMaxBytes(maxFetchSize)
                         .setMinBytes(minFetchBytes)
                         .setMaxWaitMs(maxFetchWaitMs);
-        Map<Long, List<PbFetchLogReqForBucket>> fetchLogReqForBuckets = new HashMap<>();
-        int readyForFetchCount = 0;
+        Map<TableBucket, PbFetchLogReqForBucket> fetchLogReqForBuckets = new LinkedHashMap<>();
         for (Map.Entry<TableBucket, BucketFetchStatus> entry : replicas.entrySet()) {
             TableBucket tb = entry.getKey();
             BucketFetchStatus bucketFetchStatus = entry.getValue();
@@ -170,25 +184,24 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
                 if (tb.getPartitionId() != null) {
                     fetchLogReqForBucket.setPartitionId(tb.getPartitionId());
                 }
-                fetchLogReqForBuckets
-                        .computeIfAbsent(tb.getTableId(), key -> new ArrayList<>())
-                        .add(fetchLogReqForBucket);
-
+                fetchLogReqForBuckets.put(tb, fetchLogReqForBucket);
+                // the response may carry the buckets which are not in the request of a session
                 tableIdToTablePath.put(tb.getTableId(), bucketFetchStatus.tablePath());
-                readyForFetchCount++;
             }
         }
 
-        if (readyForFetchCount == 0) {
+        if (fetchLogReqForBuckets.isEmpty()) {
             return Optional.empty();
         } else {
-            fetchLogReqForBuckets.forEach(
-                    (tableId, buckets) ->
-                            fetchRequest
-                                    .addTablesReq()
-                                    .setProjectionPushdownEnabled(false)
-                                    .setTableId(tableId)
-                                    .addAllBucketsReqs(buckets));
+            fetchSessionHandler
+                    .prepareRequest(fetchRequest, fetchLogReqForBuckets)
+                    .forEach(
+                            (tableId, buckets) ->
+                                    fetchRequest
+                                            .addTablesReq()
+                                            .setProjectionPushdownEnabled(false)
+                                            .setTableId(tableId)
+                                            .addAllBucketsReqs(buckets));
             return Optional.of(new FetchLogContext(tableIdToTablePath, fetchRequest));
         }
     }
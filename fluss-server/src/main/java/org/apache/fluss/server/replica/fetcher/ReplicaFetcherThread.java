@@ -212,7 +212,6 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         }
     }
 
-    // TODO add fetch session to reduce the fetch request byte size.
     private void processFetchLogRequest(FetchLogContext fetchLogContext) {
         Set<TableBucket> bucketsWithError = new HashSet<>();
         FetchData responseData = null;
@@ -554,11 +553,17 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         // consistency guarantee, we should do as KIP-101 do, trace by:
         // https://github.com/apache/fluss/issues/673
         logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        // the clients reading from the follower can only read up to the leader high watermark
+        logTablet.updateLeaderHighWatermark(replicaData.getHighWatermark());
         LOG.trace(
                 "Follower received high watermark {} from the leader for replica {}",
                 replicaData.getHighWatermark(),
                 tableBucket);
 
+        // keep the standby kv tablet up to date with the leader high watermark if any, which is
+        // applied asynchronously to not block fetching
+        replica.maybeApplyLogToStandbyKv();
+
         serverMetricGroup.replicationBytesIn().inc(records.sizeInBytes());
 
         return logAppendInfo;
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.selector;
+
+import org.apache.fluss.annotation.PublicEvolving;
+
+import javax.annotation.Nullable;
+
+import java.net.InetAddress;
+
+/**
+ * The metadata of a client fetching the log, which is used by the {@link ReplicaSelector} to
+ * select the replica for the client to read from.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public final class ClientMetadata {
+
+    private final @Nullable String rack;
+    private final String clientId;
+    private final @Nullable InetAddress address;
+
+    public ClientMetadata(@Nullable String rack, String clientId, @Nullable InetAddress address) {
+        this.rack = rack;
+        this.clientId = clientId;
+        this.address = address;
+    }
+
+    /** Returns the rack of the client (see {@code client.rack}), null if not set. */
+    public @Nullable String rack() {
+        return rack;
+    }
+
+    /** Returns the client id of the client, empty if not set. */
+    public String clientId() {
+        return clientId;
+    }
+
+    /** Returns the address of the client. */
+    public @Nullable InetAddress address() {
+        return address;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientMetadata{"
+                + "rack='"
+                + rack
+                + '\''
+                + ", clientId='"
+                + clientId
+                + '\''
+                + ", address="
+                + address
+                + '}';
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.selector;
+
+import org.apache.fluss.cluster.TabletServerInfo;
+import org.apache.fluss.metadata.TableBucket;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link ReplicaSelector} which selects an in-sync replica in the same rack as the client. The
+ * leader is preferred if it's in the same rack, otherwise the clients are spread over the in-sync
+ * follower replicas in the rack by their ids and addresses. The clients without a rack always read
+ * from the leader.
+ */
+public class RackAwareReplicaSelector implements ReplicaSelector {
+
+    @Override
+    public Optional<Integer> select(
+            TableBucket tableBucket,
+            ClientMetadata clientMetadata,
+            TabletServerInfo leader,
+            List<TabletServerInfo> inSyncReplicas) {
+        String rack = clientMetadata.rack();
+        if (rack == null || rack.isEmpty() || rack.equals(leader.getRack())) {
+            return Optional.empty();
+        }
+        List<TabletServerInfo> sameRackReplicas =
+                inSyncReplicas.stream()
+                        .filter(replica -> rack.equals(replica.getRack()))
+                        .collect(Collectors.toList());
+        if (sameRackReplicas.isEmpty()) {
+            return Optional.empty();
+        }
+        int hash = Objects.hash(clientMetadata.clientId(), clientMetadata.address(), tableBucket);
+        return Optional.of(
+                sameRackReplicas.get(Math.floorMod(hash, sameRackReplicas.size())).getId());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.selector;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.cluster.TabletServerInfo;
+import org.apache.fluss.metadata.TableBucket;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Selects the replica for a log scanner to read the log of a bucket from. It's invoked by the
+ * leader replica for every fetch log request from the clients, and the clients are redirected to
+ * read from the selected replica if it's not the leader.
+ *
+ * <p>A follower replica only serves the log up to its high watermark, so the clients reading from
+ * a follower replica may see the records a bit later than reading from the leader replica.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public interface ReplicaSelector {
+
+    /**
+     * Selects the replica for the client to read the bucket from.
+     *
+     * @param tableBucket the bucket to read
+     * @param clientMetadata the metadata of the client
+     * @param leader the leader replica of the bucket
+     * @param inSyncReplicas the alive in-sync replicas of the bucket, including the leader
+     * @return the id of the selected replica, empty to read from the leader
+     */
+    Optional<Integer> select(
+            TableBucket tableBucket,
+            ClientMetadata clientMetadata,
+            TabletServerInfo leader,
+            List<TabletServerInfo> inSyncReplicas);
+}
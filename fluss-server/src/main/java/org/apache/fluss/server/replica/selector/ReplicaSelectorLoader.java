@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.selector;
+
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.ValidationException;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+import static org.apache.fluss.config.ConfigOptions.LOG_REPLICA_SELECTOR_TYPE;
+
+/** The loader of {@link ReplicaSelector}. */
+public class ReplicaSelectorLoader {
+
+    /**
+     * Loads the replica selector configured by {@code log.replica.selector.type}, null if it's not
+     * configured, which means the clients always read from the leader replicas.
+     */
+    public static @Nullable ReplicaSelector createReplicaSelector(Configuration configuration) {
+        Optional<String> selectorType = configuration.getOptional(LOG_REPLICA_SELECTOR_TYPE);
+        if (!selectorType.isPresent()) {
+            return null;
+        }
+
+        List<ReplicaSelectorPlugin> matchingPlugins = new ArrayList<>();
+        Iterator<ReplicaSelectorPlugin> plugins =
+                ServiceLoader.load(
+                                ReplicaSelectorPlugin.class,
+                                ReplicaSelectorPlugin.class.getClassLoader())
+                        .iterator();
+        while (plugins.hasNext()) {
+            ReplicaSelectorPlugin plugin = plugins.next();
+            if (plugin.identifier().equals(selectorType.get())) {
+                matchingPlugins.add(plugin);
+            }
+        }
+
+        if (matchingPlugins.size() != 1) {
+            throw new ValidationException(
+                    String.format(
+                            "Could not find a unique replica selector plugin for identifier '%s' "
+                                    + "in the classpath.\n\nMatching plugins are:\n\n%s",
+                            selectorType.get(),
+                            matchingPlugins.stream()
+                                    .map(p -> p.getClass().getName())
+                                    .distinct()
+                                    .sorted()
+                                    .collect(Collectors.joining("\n"))));
+        }
+
+        return matchingPlugins.get(0).createReplicaSelector(configuration);
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.fluss.server.log.remote.RemoteLogManager;
 import org.apache.fluss.server.metadata.TabletServerMetadataCache;
 import org.apache.fluss.server.metrics.ServerMetricUtils;
 import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
+import org.apache.fluss.server.quota.ClientQuotaManager;
 import org.apache.fluss.server.replica.ReplicaManager;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.server.zk.ZooKeeperUtils;
@@ -229,6 +230,10 @@ public class TabletServer extends ServerBase {
                             clock);
             replicaManager.startup();
 
+            ClientQuotaManager quotaManager =
+                    new ClientQuotaManager(conf, scheduler, tabletServerMetricGroup, clock);
+            quotaManager.startup();
+
             this.tabletService =
                     new TabletService(
                             serverId,
@@ -237,6 +242,7 @@ public class TabletServer extends ServerBase {
                             replicaManager,
                             metadataCache,
                             metadataManager,
+                            quotaManager,
                             authorizer);
 
             RequestsMetrics requestsMetrics =
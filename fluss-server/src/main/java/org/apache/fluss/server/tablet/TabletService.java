@@ -26,14 +26,21 @@ import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.entity.KvScanResultForBucket;
+import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
+import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
+import org.apache.fluss.rpc.entity.PutKvResultForBucket;
 import org.apache.fluss.rpc.entity.ResultForBucket;
+import org.apache.fluss.rpc.entity.ScanKvResultForBucket;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
 import org.apache.fluss.rpc.messages.LimitScanRequest;
 import org.apache.fluss.rpc.messages.LimitScanResponse;
 import org.apache.fluss.rpc.messages.ListOffsetsRequest;
@@ -42,6 +49,10 @@ import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
 import org.apache.fluss.rpc.messages.MetadataRequest;
 import org.apache.fluss.rpc.messages.MetadataResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetRequest;
@@ -50,16 +61,23 @@ import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrResponse;
 import org.apache.fluss.rpc.messages.NotifyRemoteLogOffsetsRequest;
 import org.apache.fluss.rpc.messages.NotifyRemoteLogOffsetsResponse;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
+import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
+import org.apache.fluss.rpc.messages.PbPutKvReqForTable;
 import org.apache.fluss.rpc.messages.PrefixLookupRequest;
 import org.apache.fluss.rpc.messages.PrefixLookupResponse;
 import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
 import org.apache.fluss.rpc.messages.UpdateMetadataResponse;
+import org.apache.fluss.rpc.netty.server.Session;
 import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.security.acl.OperationType;
@@ -70,15 +88,22 @@ import org.apache.fluss.server.coordinator.MetadataManager;
 import org.apache.fluss.server.entity.FetchReqInfo;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
 import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.FetchSession;
 import org.apache.fluss.server.log.ListOffsetsParam;
 import org.apache.fluss.server.metadata.TabletServerMetadataCache;
+import org.apache.fluss.server.quota.ClientQuotaManager;
+import org.apache.fluss.server.quota.QuotaType;
 import org.apache.fluss.server.replica.ReplicaManager;
+import org.apache.fluss.server.replica.selector.ClientMetadata;
 import org.apache.fluss.server.utils.ServerRpcMessageUtils;
 import org.apache.fluss.server.zk.ZooKeeperClient;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,12 +113,17 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
 import static org.apache.fluss.security.acl.OperationType.READ;
 import static org.apache.fluss.security.acl.OperationType.WRITE;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS;
 import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MIN_FETCH_BYTES;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getFetchLogData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getForgottenBuckets;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getListOffsetsData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getMultiProduceLogData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyLakeTableOffset;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyLeaderAndIsrRequestData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyRemoteLogOffsetsData;
@@ -103,15 +133,18 @@ import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPutKvData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getStopReplicaData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getTargetColumns;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getUpdateMetadataRequestData;
-import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeFetchLogResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeInitWriterResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeKvScanResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeLimitScanResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeListOffsetsResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeLookupResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeMultiProduceLogResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeMultiPutKvResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeNotifyLeaderAndIsrResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makePrefixLookupResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeProduceLogResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makePutKvResponse;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeScanKvResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeStopReplicaResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.toLookupData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.toPrefixLookupData;
@@ -122,6 +155,7 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
     private final String serviceName;
     private final ReplicaManager replicaManager;
     private final TabletServerMetadataCache metadataCache;
+    private final ClientQuotaManager quotaManager;
 
     public TabletService(
             int serverId,
@@ -130,11 +164,13 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
             ReplicaManager replicaManager,
             TabletServerMetadataCache metadataCache,
             MetadataManager metadataManager,
+            ClientQuotaManager quotaManager,
             @Nullable Authorizer authorizer) {
         super(remoteFileSystem, ServerType.TABLET_SERVER, zkClient, metadataManager, authorizer);
         this.serviceName = "server-" + serverId;
         this.replicaManager = replicaManager;
         this.metadataCache = metadataCache;
+        this.quotaManager = quotaManager;
     }
 
     @Override
@@ -150,17 +186,98 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         authorizeTable(WRITE, request.getTableId());
         CompletableFuture<ProduceLogResponse> response = new CompletableFuture<>();
         Map<TableBucket, MemoryLogRecords> produceLogData = getProduceLogData(request);
+        long throttleTimeMs =
+                recordProduceAndGetThrottleTimeMs(
+                        Collections.singletonMap(
+                                request.getTableId(),
+                                produceLogData.values().stream()
+                                        .mapToLong(MemoryLogRecords::sizeInBytes)
+                                        .sum()));
         replicaManager.appendRecordsToLog(
                 request.getTimeoutMs(),
                 request.getAcks(),
                 produceLogData,
                 bucketResponseMap -> response.complete(makeProduceLogResponse(bucketResponseMap)));
-        return response;
+        return response.thenCompose(r -> quotaManager.delay(r, throttleTimeMs));
+    }
+
+    @Override
+    public CompletableFuture<MultiProduceLogResponse> multiProduceLog(
+            MultiProduceLogRequest request) {
+        Map<TableBucket, MemoryLogRecords> produceLogData = getMultiProduceLogData(request);
+        Map<Long, Long> bytesByTable = new HashMap<>();
+        produceLogData.forEach(
+                (tb, records) ->
+                        bytesByTable.merge(
+                                tb.getTableId(), (long) records.sizeInBytes(), Long::sum));
+        long throttleTimeMs = recordProduceAndGetThrottleTimeMs(bytesByTable);
+        // the tables are authorized one by one, the buckets of the unauthorized tables fail
+        // without failing the whole request
+        Map<TableBucket, ProduceLogResultForBucket> errorResponseMap = new HashMap<>();
+        Map<TableBucket, MemoryLogRecords> interesting =
+                authorizeRequestData(
+                        WRITE, produceLogData, errorResponseMap, ProduceLogResultForBucket::new);
+        if (interesting.isEmpty()) {
+            return quotaManager.delay(
+                    makeMultiProduceLogResponse(errorResponseMap.values()), throttleTimeMs);
+        }
+
+        CompletableFuture<MultiProduceLogResponse> response = new CompletableFuture<>();
+        replicaManager.appendRecordsToLog(
+                request.getTimeoutMs(),
+                request.getAcks(),
+                interesting,
+                bucketResults -> {
+                    List<ProduceLogResultForBucket> results = new ArrayList<>(bucketResults);
+                    results.addAll(errorResponseMap.values());
+                    response.complete(makeMultiProduceLogResponse(results));
+                });
+        return response.thenCompose(r -> quotaManager.delay(r, throttleTimeMs));
     }
 
     @Override
     public CompletableFuture<FetchLogResponse> fetchLog(FetchLogRequest request) {
+        CompletableFuture<FetchLogResponse> response = doFetchLog(request);
+        // the follower replicas fetch on the internal listener, which is never throttled, the
+        // follower server id of the request can't be trusted to skip the quotas
+        Session session = currentSession();
+        long requestThrottleTimeMs =
+                quotaManager.recordRequestAndGetThrottleTimeMs(
+                        session,
+                        request.getTablesReqsList().stream()
+                                .map(PbFetchLogReqForTable::getTableId)
+                                .collect(Collectors.toSet()));
+        return response.thenCompose(
+                r -> {
+                    long throttleTimeMs =
+                            Math.max(
+                                    requestThrottleTimeMs,
+                                    quotaManager.recordBytesAndGetThrottleTimeMs(
+                                            QuotaType.FETCH, session, getFetchedBytesByTable(r)));
+                    return quotaManager.delay(r, throttleTimeMs);
+                });
+    }
+
+    private CompletableFuture<FetchLogResponse> doFetchLog(FetchLogRequest request) {
         Map<TableBucket, FetchReqInfo> fetchLogData = getFetchLogData(request);
+        FetchSession fetchSession = null;
+        if (request.hasSessionEpoch()) {
+            fetchSession =
+                    replicaManager
+                            .getFetchSessionCache()
+                            .getOrCreateSession(
+                                    getFetchSessionOwner(
+                                            currentSession(), request.getFollowerServerId()),
+                                    request.hasSessionId()
+                                            ? request.getSessionId()
+                                            : INVALID_SESSION_ID,
+                                    request.getSessionEpoch(),
+                                    fetchLogData,
+                                    getForgottenBuckets(request));
+            if (fetchSession != null) {
+                fetchLogData = fetchSession.bucketsToFetch();
+            }
+        }
         Map<TableBucket, FetchLogResultForBucket> errorResponseMap = new HashMap<>();
         Map<TableBucket, FetchReqInfo> interesting =
                 // TODO: we should also authorize for follower, otherwise, users can mock follower
@@ -170,35 +287,91 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
                                 READ, fetchLogData, errorResponseMap, FetchLogResultForBucket::new)
                         : fetchLogData;
         if (interesting.isEmpty()) {
-            return CompletableFuture.completedFuture(makeFetchLogResponse(errorResponseMap));
+            return CompletableFuture.completedFuture(
+                    makeFetchLogResponse(
+                            fetchSession, Collections.emptyMap(), errorResponseMap));
         }
 
         CompletableFuture<FetchLogResponse> response = new CompletableFuture<>();
-        FetchParams fetchParams = getFetchParams(request);
+        FetchParams fetchParams = getFetchParams(request, currentSession());
+        final FetchSession session = fetchSession;
         replicaManager.fetchLogRecords(
                 fetchParams,
                 interesting,
                 fetchResponseMap ->
                         response.complete(
-                                makeFetchLogResponse(fetchResponseMap, errorResponseMap)));
+                                makeFetchLogResponse(session, fetchResponseMap, errorResponseMap)));
         return response;
     }
 
-    private static FetchParams getFetchParams(FetchLogRequest request) {
-        FetchParams fetchParams;
-        if (request.hasMinBytes()) {
-            fetchParams =
-                    new FetchParams(
-                            request.getFollowerServerId(),
-                            request.getMaxBytes(),
-                            request.getMinBytes(),
-                            request.hasMaxWaitMs()
-                                    ? request.getMaxWaitMs()
-                                    : DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE);
+    /**
+     * Returns the owner of the fetch session of a request, the session can only be used by the
+     * requests from the same listener, principal, client id, address and follower.
+     */
+    private static String getFetchSessionOwner(Session session, int followerServerId) {
+        return String.format(
+                "%s/%s/%s/%s/%d",
+                session.getListenerName(),
+                session.getPrincipal() == null ? null : session.getPrincipal().getName(),
+                session.getClientId(),
+                session.getInetAddress(),
+                followerServerId);
+    }
+
+    private static Map<Long, Long> getFetchedBytesByTable(FetchLogResponse response) {
+        Map<Long, Long> fetchedBytesByTable = new HashMap<>();
+        for (PbFetchLogRespForTable respForTable : response.getTablesRespsList()) {
+            long fetchedBytes = 0;
+            for (PbFetchLogRespForBucket respForBucket : respForTable.getBucketsRespsList()) {
+                if (respForBucket.hasRecords()) {
+                    fetchedBytes += respForBucket.getRecordsSize();
+                }
+            }
+            fetchedBytesByTable.merge(respForTable.getTableId(), fetchedBytes, Long::sum);
+        }
+        return fetchedBytesByTable;
+    }
+
+    private static FetchLogResponse makeFetchLogResponse(
+            @Nullable FetchSession fetchSession,
+            Map<TableBucket, FetchLogResultForBucket> fetchResponseMap,
+            Map<TableBucket, FetchLogResultForBucket> errorResponseMap) {
+        if (fetchSession == null) {
+            return ServerRpcMessageUtils.makeFetchLogResponse(fetchResponseMap, errorResponseMap);
+        }
+        // only send the buckets which changed in the session
+        return ServerRpcMessageUtils.makeFetchLogResponse(
+                        fetchSession.filterResults(fetchResponseMap), errorResponseMap)
+                .setSessionId(fetchSession.getSessionId());
+    }
+
+    private FetchParams getFetchParams(FetchLogRequest request, Session session) {
+        int minBytes = request.hasMinBytes() ? request.getMinBytes() : DEFAULT_MIN_FETCH_BYTES;
+        long maxWaitMs;
+        if (!request.hasMinBytes()) {
+            maxWaitMs = DEFAULT_MAX_WAIT_MS;
+        } else if (request.hasMaxWaitMs()) {
+            maxWaitMs = request.getMaxWaitMs();
         } else {
-            fetchParams = new FetchParams(request.getFollowerServerId(), request.getMaxBytes());
+            maxWaitMs = DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE;
         }
-        return fetchParams;
+        if (request.getFollowerServerId() >= 0) {
+            return new FetchParams(
+                    request.getFollowerServerId(), request.getMaxBytes(), minBytes, maxWaitMs);
+        }
+        // the clients can read from the follower replicas if a replica selector is configured
+        ClientMetadata clientMetadata =
+                new ClientMetadata(
+                        request.hasRackId() ? request.getRackId() : null,
+                        session.getClientId(),
+                        session.getInetAddress());
+        return new FetchParams(
+                request.getFollowerServerId(),
+                !replicaManager.isFetchFromFollowerEnabled(),
+                request.getMaxBytes(),
+                minBytes,
+                maxWaitMs,
+                clientMetadata);
     }
 
     @Override
@@ -206,6 +379,13 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         authorizeTable(WRITE, request.getTableId());
 
         Map<TableBucket, KvRecordBatch> putKvData = getPutKvData(request);
+        long throttleTimeMs =
+                recordProduceAndGetThrottleTimeMs(
+                        Collections.singletonMap(
+                                request.getTableId(),
+                                putKvData.values().stream()
+                                        .mapToLong(KvRecordBatch::sizeInBytes)
+                                        .sum()));
         CompletableFuture<PutKvResponse> response = new CompletableFuture<>();
         replicaManager.putRecordsToKv(
                 request.getTimeoutMs(),
@@ -213,58 +393,302 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
                 putKvData,
                 getTargetColumns(request),
                 bucketResponse -> response.complete(makePutKvResponse(bucketResponse)));
-        return response;
+        return response.thenCompose(r -> quotaManager.delay(r, throttleTimeMs));
+    }
+
+    @Override
+    public CompletableFuture<MultiPutKvResponse> multiPutKv(MultiPutKvRequest request) {
+        Map<Long, Long> bytesByTable = new HashMap<>();
+        List<Map<TableBucket, KvRecordBatch>> putKvDataByTable = new ArrayList<>();
+        for (PbPutKvReqForTable putKvReqForTable : request.getTablesReqsList()) {
+            Map<TableBucket, KvRecordBatch> putKvData = getPutKvData(putKvReqForTable);
+            bytesByTable.merge(
+                    putKvReqForTable.getTableId(),
+                    putKvData.values().stream().mapToLong(KvRecordBatch::sizeInBytes).sum(),
+                    Long::sum);
+            putKvDataByTable.add(putKvData);
+        }
+        long throttleTimeMs = recordProduceAndGetThrottleTimeMs(bytesByTable);
+
+        // the target columns are per table, so the kv data of each table is put separately, and
+        // the buckets of the unauthorized tables fail without failing the whole request
+        Map<TableBucket, PutKvResultForBucket> errorResponseMap = new HashMap<>();
+        List<CompletableFuture<List<PutKvResultForBucket>>> tableResponses = new ArrayList<>();
+        for (int i = 0; i < putKvDataByTable.size(); i++) {
+            Map<TableBucket, KvRecordBatch> interesting =
+                    authorizeRequestData(
+                            WRITE,
+                            putKvDataByTable.get(i),
+                            errorResponseMap,
+                            PutKvResultForBucket::new);
+            if (interesting.isEmpty()) {
+                continue;
+            }
+            CompletableFuture<List<PutKvResultForBucket>> tableResponse =
+                    new CompletableFuture<>();
+            replicaManager.putRecordsToKv(
+                    request.getTimeoutMs(),
+                    request.getAcks(),
+                    interesting,
+                    getTargetColumns(request.getTablesReqAt(i)),
+                    tableResponse::complete);
+            tableResponses.add(tableResponse);
+        }
+
+        CompletableFuture<MultiPutKvResponse> response =
+                FutureUtils.combineAll(tableResponses)
+                        .thenApply(
+                                tableResults -> {
+                                    List<PutKvResultForBucket> results =
+                                            new ArrayList<>(errorResponseMap.values());
+                                    tableResults.forEach(results::addAll);
+                                    return makeMultiPutKvResponse(results);
+                                });
+        return response.thenCompose(r -> quotaManager.delay(r, throttleTimeMs));
     }
 
     @Override
     public CompletableFuture<LookupResponse> lookup(LookupRequest request) {
         Map<TableBucket, List<byte[]>> lookupData = toLookupData(request);
+        Session session = currentSession();
+        long throttleTimeMs = recordLookupAndGetThrottleTimeMs(session, lookupData.keySet());
         Map<TableBucket, LookupResultForBucket> errorResponseMap = new HashMap<>();
         Map<TableBucket, List<byte[]>> interesting =
                 authorizeRequestData(
                         READ, lookupData, errorResponseMap, LookupResultForBucket::new);
         if (interesting.isEmpty()) {
-            return CompletableFuture.completedFuture(makeLookupResponse(errorResponseMap));
+            return quotaManager.delay(makeLookupResponse(errorResponseMap), throttleTimeMs);
         }
 
-        CompletableFuture<LookupResponse> response = new CompletableFuture<>();
-        replicaManager.lookups(
-                lookupData,
-                value -> response.complete(makeLookupResponse(value, errorResponseMap)));
-        return response;
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> result =
+                new CompletableFuture<>();
+        replicaManager.lookups(lookupData, result::complete);
+        return result.thenCompose(
+                r -> {
+                    Map<Long, Long> bytesByTable = new HashMap<>();
+                    for (LookupResultForBucket bucketResult : r.values()) {
+                        recordLookedUpBytes(
+                                bytesByTable, bucketResult, bucketResult.lookupValues());
+                    }
+                    return delayLookup(
+                            makeLookupResponse(r, errorResponseMap),
+                            session,
+                            throttleTimeMs,
+                            bytesByTable);
+                });
+    }
+
+    private long recordProduceAndGetThrottleTimeMs(Map<Long, Long> bytesByTable) {
+        Session session = currentSession();
+        return Math.max(
+                quotaManager.recordBytesAndGetThrottleTimeMs(
+                        QuotaType.PRODUCE, session, bytesByTable),
+                quotaManager.recordRequestAndGetThrottleTimeMs(session, bytesByTable.keySet()));
+    }
+
+    private long recordLookupAndGetThrottleTimeMs(Session session, Set<TableBucket> buckets) {
+        return quotaManager.recordRequestAndGetThrottleTimeMs(
+                session, buckets.stream().map(TableBucket::getTableId).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Delays the response of a lookup by the throttle time of the request quota and the fetch byte
+     * quota, the looked up values count against the fetch byte quota like the kv scans.
+     */
+    private <T> CompletableFuture<T> delayLookup(
+            T response,
+            Session session,
+            long requestThrottleTimeMs,
+            Map<Long, Long> bytesByTable) {
+        long throttleTimeMs =
+                Math.max(
+                        requestThrottleTimeMs,
+                        quotaManager.recordBytesAndGetThrottleTimeMs(
+                                QuotaType.FETCH, session, bytesByTable));
+        return quotaManager.delay(response, throttleTimeMs);
+    }
+
+    private static void recordLookedUpBytes(
+            Map<Long, Long> bytesByTable,
+            ResultForBucket bucketResult,
+            @Nullable List<byte[]> values) {
+        if (bucketResult.failed() || values == null) {
+            return;
+        }
+        long bytes = 0;
+        for (byte[] value : values) {
+            if (value != null) {
+                bytes += value.length;
+            }
+        }
+        bytesByTable.merge(bucketResult.getTableId(), bytes, Long::sum);
     }
 
     @Override
     public CompletableFuture<PrefixLookupResponse> prefixLookup(PrefixLookupRequest request) {
         Map<TableBucket, List<byte[]>> prefixLookupData = toPrefixLookupData(request);
+        Session session = currentSession();
+        long throttleTimeMs = recordLookupAndGetThrottleTimeMs(session, prefixLookupData.keySet());
         Map<TableBucket, PrefixLookupResultForBucket> errorResponseMap = new HashMap<>();
         Map<TableBucket, List<byte[]>> interesting =
                 authorizeRequestData(
                         READ, prefixLookupData, errorResponseMap, PrefixLookupResultForBucket::new);
         if (interesting.isEmpty()) {
-            return CompletableFuture.completedFuture(makePrefixLookupResponse(errorResponseMap));
+            return quotaManager.delay(makePrefixLookupResponse(errorResponseMap), throttleTimeMs);
         }
 
-        CompletableFuture<PrefixLookupResponse> response = new CompletableFuture<>();
-        replicaManager.prefixLookups(
-                prefixLookupData,
-                value -> response.complete(makePrefixLookupResponse(value, errorResponseMap)));
-        return response;
+        CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> result =
+                new CompletableFuture<>();
+        replicaManager.prefixLookups(prefixLookupData, result::complete);
+        return result.thenCompose(
+                r -> {
+                    Map<Long, Long> bytesByTable = new HashMap<>();
+                    for (PrefixLookupResultForBucket bucketResult : r.values()) {
+                        if (bucketResult.failed()) {
+                            continue;
+                        }
+                        for (List<byte[]> values : bucketResult.prefixLookupValues()) {
+                            recordLookedUpBytes(bytesByTable, bucketResult, values);
+                        }
+                    }
+                    return delayLookup(
+                            makePrefixLookupResponse(r, errorResponseMap),
+                            session,
+                            throttleTimeMs,
+                            bytesByTable);
+                });
     }
 
     @Override
     public CompletableFuture<LimitScanResponse> limitScan(LimitScanRequest request) {
         authorizeTable(READ, request.getTableId());
 
-        CompletableFuture<LimitScanResponse> response = new CompletableFuture<>();
+        Session session = currentSession();
+        long requestThrottleTimeMs =
+                recordKvReadAndGetThrottleTimeMs(session, request.getTableId());
+        CompletableFuture<LimitScanResultForBucket> result = new CompletableFuture<>();
         replicaManager.limitScan(
                 new TableBucket(
                         request.getTableId(),
                         request.hasPartitionId() ? request.getPartitionId() : null,
                         request.getBucketId()),
                 request.getLimit(),
-                value -> response.complete(makeLimitScanResponse(value)));
-        return response;
+                result::complete);
+        return result.thenCompose(
+                r ->
+                        delayKvRead(
+                                makeLimitScanResponse(r),
+                                session,
+                                request.getTableId(),
+                                requestThrottleTimeMs,
+                                getScannedBytes(r)));
+    }
+
+    @Override
+    public CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request) {
+        authorizeTable(READ, request.getTableId());
+
+        Session session = currentSession();
+        long requestThrottleTimeMs =
+                recordKvReadAndGetThrottleTimeMs(session, request.getTableId());
+        CompletableFuture<ScanKvResultForBucket> result = new CompletableFuture<>();
+        replicaManager.scanKv(
+                new TableBucket(
+                        request.getTableId(),
+                        request.hasPartitionId() ? request.getPartitionId() : null,
+                        request.getBucketId()),
+                request.hasPrefixKey() ? request.getPrefixKey() : null,
+                request.hasContinuationToken() ? request.getContinuationToken() : null,
+                request.getMaxBytes(),
+                request.hasLimit() ? request.getLimit() : Integer.MAX_VALUE,
+                result::complete);
+        return result.thenCompose(
+                r ->
+                        delayKvRead(
+                                makeScanKvResponse(r),
+                                session,
+                                request.getTableId(),
+                                requestThrottleTimeMs,
+                                getScannedBytes(r)));
+    }
+
+    @Override
+    public CompletableFuture<KvScanResponse> kvScan(KvScanRequest request) {
+        authorizeTable(READ, request.getTableId());
+
+        Session session = currentSession();
+        long requestThrottleTimeMs =
+                recordKvReadAndGetThrottleTimeMs(session, request.getTableId());
+        CompletableFuture<KvScanResultForBucket> result = new CompletableFuture<>();
+        replicaManager.kvScan(
+                new TableBucket(
+                        request.getTableId(),
+                        request.hasPartitionId() ? request.getPartitionId() : null,
+                        request.getBucketId()),
+                request.hasScannerId() ? request.getScannerId() : null,
+                request.getProjectedFieldsCount() > 0 ? request.getProjectedFields() : null,
+                request.getMaxBytes(),
+                request.hasCloseScanner() && request.isCloseScanner(),
+                result::complete);
+        return result.thenCompose(
+                r ->
+                        delayKvRead(
+                                makeKvScanResponse(r),
+                                session,
+                                request.getTableId(),
+                                requestThrottleTimeMs,
+                                getScannedBytes(r)));
+    }
+
+    private long recordKvReadAndGetThrottleTimeMs(Session session, long tableId) {
+        return quotaManager.recordRequestAndGetThrottleTimeMs(
+                session, Collections.singleton(tableId));
+    }
+
+    /**
+     * Delays the response of a kv read by the throttle time of the request quota and the fetch byte
+     * quota, the bytes read from the kv count against the fetch byte quota like the fetched logs.
+     */
+    private <T> CompletableFuture<T> delayKvRead(
+            T response, Session session, long tableId, long requestThrottleTimeMs, long bytes) {
+        long throttleTimeMs =
+                Math.max(
+                        requestThrottleTimeMs,
+                        quotaManager.recordBytesAndGetThrottleTimeMs(
+                                QuotaType.FETCH,
+                                session,
+                                Collections.singletonMap(tableId, bytes)));
+        return quotaManager.delay(response, throttleTimeMs);
+    }
+
+    private static long getScannedBytes(LimitScanResultForBucket result) {
+        if (result.failed()) {
+            return 0;
+        } else if (result.getValues() != null) {
+            return result.getValues().sizeInBytes();
+        } else if (result.getRecords() != null) {
+            return result.getRecords().sizeInBytes();
+        } else {
+            return 0;
+        }
+    }
+
+    private static long getScannedBytes(ScanKvResultForBucket result) {
+        if (result.failed()) {
+            return 0;
+        }
+        long bytes = 0;
+        for (byte[] value : result.getValues()) {
+            bytes += value.length;
+        }
+        return bytes;
+    }
+
+    private static long getScannedBytes(KvScanResultForBucket result) {
+        if (result.failed() || result.getRecords() == null) {
+            return 0;
+        }
+        return result.getRecords().getBytesLength();
     }
 
     @Override
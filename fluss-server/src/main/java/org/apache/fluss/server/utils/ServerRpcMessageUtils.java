@@ -38,15 +38,18 @@ import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.bytesview.BytesView;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.entity.KvScanResultForBucket;
 import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
 import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
+import org.apache.fluss.rpc.entity.ScanKvResultForBucket;
 import org.apache.fluss.rpc.messages.AdjustIsrRequest;
 import org.apache.fluss.rpc.messages.AdjustIsrResponse;
 import org.apache.fluss.rpc.messages.CommitKvSnapshotRequest;
@@ -61,6 +64,7 @@ import org.apache.fluss.rpc.messages.GetKvSnapshotMetadataResponse;
 import org.apache.fluss.rpc.messages.GetLatestKvSnapshotsResponse;
 import org.apache.fluss.rpc.messages.GetLatestLakeSnapshotResponse;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
+import org.apache.fluss.rpc.messages.KvScanResponse;
 import org.apache.fluss.rpc.messages.LakeTieringHeartbeatResponse;
 import org.apache.fluss.rpc.messages.LimitScanResponse;
 import org.apache.fluss.rpc.messages.ListAclsResponse;
@@ -70,6 +74,9 @@ import org.apache.fluss.rpc.messages.ListPartitionInfosResponse;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
 import org.apache.fluss.rpc.messages.MetadataResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
@@ -102,12 +109,17 @@ import org.apache.fluss.rpc.messages.PbNotifyLeaderAndIsrRespForBucket;
 import org.apache.fluss.rpc.messages.PbPartitionMetadata;
 import org.apache.fluss.rpc.messages.PbPartitionSpec;
 import org.apache.fluss.rpc.messages.PbPhysicalTablePath;
+import org.apache.fluss.rpc.messages.PbPredicate;
 import org.apache.fluss.rpc.messages.PbPrefixLookupReqForBucket;
 import org.apache.fluss.rpc.messages.PbPrefixLookupRespForBucket;
 import org.apache.fluss.rpc.messages.PbProduceLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogReqForTable;
 import org.apache.fluss.rpc.messages.PbProduceLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForTable;
 import org.apache.fluss.rpc.messages.PbPutKvReqForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvReqForTable;
 import org.apache.fluss.rpc.messages.PbPutKvRespForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvRespForTable;
 import org.apache.fluss.rpc.messages.PbRemoteLogSegment;
 import org.apache.fluss.rpc.messages.PbRemotePathAndLocalFile;
 import org.apache.fluss.rpc.messages.PbServerNode;
@@ -124,6 +136,7 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
@@ -635,10 +648,29 @@ public class ServerRpcMessageUtils {
 
     public static Map<TableBucket, MemoryLogRecords> getProduceLogData(
             ProduceLogRequest produceRequest) {
-        long tableId = produceRequest.getTableId();
         Map<TableBucket, MemoryLogRecords> produceEntryData = new HashMap<>();
-        for (PbProduceLogReqForBucket produceLogReqForBucket :
-                produceRequest.getBucketsReqsList()) {
+        addProduceLogData(
+                produceRequest.getTableId(), produceRequest.getBucketsReqsList(), produceEntryData);
+        return produceEntryData;
+    }
+
+    public static Map<TableBucket, MemoryLogRecords> getMultiProduceLogData(
+            MultiProduceLogRequest produceRequest) {
+        Map<TableBucket, MemoryLogRecords> produceEntryData = new HashMap<>();
+        for (PbProduceLogReqForTable produceLogReqForTable : produceRequest.getTablesReqsList()) {
+            addProduceLogData(
+                    produceLogReqForTable.getTableId(),
+                    produceLogReqForTable.getBucketsReqsList(),
+                    produceEntryData);
+        }
+        return produceEntryData;
+    }
+
+    private static void addProduceLogData(
+            long tableId,
+            List<PbProduceLogReqForBucket> produceLogReqForBuckets,
+            Map<TableBucket, MemoryLogRecords> produceEntryData) {
+        for (PbProduceLogReqForBucket produceLogReqForBucket : produceLogReqForBuckets) {
             ByteBuffer recordBuffer = toByteBuffer(produceLogReqForBucket.getRecordsSlice());
             MemoryLogRecords logRecords = MemoryLogRecords.pointToByteBuffer(recordBuffer);
             TableBucket tb =
@@ -650,7 +682,6 @@ public class ServerRpcMessageUtils {
                             produceLogReqForBucket.getBucketId());
             produceEntryData.put(tb, logRecords);
         }
-        return produceEntryData;
     }
 
     public static ProduceLogResponse makeProduceLogResponse(
@@ -658,25 +689,53 @@ public class ServerRpcMessageUtils {
         ProduceLogResponse produceResponse = new ProduceLogResponse();
         List<PbProduceLogRespForBucket> produceLogRespForBucketList = new ArrayList<>();
         for (ProduceLogResultForBucket bucketResult : appendLogResultForBucketList) {
-            PbProduceLogRespForBucket producedBucket =
-                    new PbProduceLogRespForBucket().setBucketId(bucketResult.getBucketId());
-            TableBucket tableBucket = bucketResult.getTableBucket();
-            if (tableBucket.getPartitionId() != null) {
-                producedBucket.setPartitionId(tableBucket.getPartitionId());
-            }
-
-            if (bucketResult.failed()) {
-                producedBucket.setError(
-                        bucketResult.getErrorCode(), bucketResult.getErrorMessage());
-            } else {
-                producedBucket.setBaseOffset(bucketResult.getBaseOffset());
-            }
-            produceLogRespForBucketList.add(producedBucket);
+            produceLogRespForBucketList.add(toPbProduceLogRespForBucket(bucketResult));
         }
         produceResponse.addAllBucketsResps(produceLogRespForBucketList);
         return produceResponse;
     }
 
+    public static MultiProduceLogResponse makeMultiProduceLogResponse(
+            Collection<ProduceLogResultForBucket> appendLogResultForBucketList) {
+        Map<Long, List<PbProduceLogRespForBucket>> produceLogRespMap = new HashMap<>();
+        for (ProduceLogResultForBucket bucketResult : appendLogResultForBucketList) {
+            produceLogRespMap
+                    .computeIfAbsent(
+                            bucketResult.getTableBucket().getTableId(), k -> new ArrayList<>())
+                    .add(toPbProduceLogRespForBucket(bucketResult));
+        }
+
+        List<PbProduceLogRespForTable> produceLogRespForTables = new ArrayList<>();
+        for (Map.Entry<Long, List<PbProduceLogRespForBucket>> entry :
+                produceLogRespMap.entrySet()) {
+            PbProduceLogRespForTable produceLogRespForTable = new PbProduceLogRespForTable();
+            produceLogRespForTable.setTableId(entry.getKey());
+            produceLogRespForTable.addAllBucketsResps(entry.getValue());
+            produceLogRespForTables.add(produceLogRespForTable);
+        }
+
+        MultiProduceLogResponse produceResponse = new MultiProduceLogResponse();
+        produceResponse.addAllTablesResps(produceLogRespForTables);
+        return produceResponse;
+    }
+
+    private static PbProduceLogRespForBucket toPbProduceLogRespForBucket(
+            ProduceLogResultForBucket bucketResult) {
+        PbProduceLogRespForBucket producedBucket =
+                new PbProduceLogRespForBucket().setBucketId(bucketResult.getBucketId());
+        TableBucket tableBucket = bucketResult.getTableBucket();
+        if (tableBucket.getPartitionId() != null) {
+            producedBucket.setPartitionId(tableBucket.getPartitionId());
+        }
+
+        if (bucketResult.failed()) {
+            producedBucket.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            producedBucket.setBaseOffset(bucketResult.getBaseOffset());
+        }
+        return producedBucket;
+    }
+
     public static Map<TableBucket, FetchReqInfo> getFetchLogData(FetchLogRequest request) {
         Map<TableBucket, FetchReqInfo> fetchDataMap = new HashMap<>();
         for (PbFetchLogReqForTable fetchLogReqForTable : request.getTablesReqsList()) {
@@ -687,6 +746,8 @@ public class ServerRpcMessageUtils {
             } else {
                 projectionFields = null;
             }
+            PbPredicate filter =
+                    fetchLogReqForTable.hasFilter() ? fetchLogReqForTable.getFilter() : null;
 
             List<PbFetchLogReqForBucket> bucketsReqsList = fetchLogReqForTable.getBucketsReqsList();
             for (PbFetchLogReqForBucket fetchLogReqForBucket : bucketsReqsList) {
@@ -702,13 +763,26 @@ public class ServerRpcMessageUtils {
                                 tableId,
                                 fetchLogReqForBucket.getFetchOffset(),
                                 fetchLogReqForBucket.getMaxFetchBytes(),
-                                projectionFields));
+                                projectionFields,
+                                filter));
             }
         }
 
         return fetchDataMap;
     }
 
+    public static List<TableBucket> getForgottenBuckets(FetchLogRequest request) {
+        List<TableBucket> forgottenBuckets = new ArrayList<>();
+        for (PbTableBucket pbTableBucket : request.getForgottenBucketsList()) {
+            forgottenBuckets.add(
+                    new TableBucket(
+                            pbTableBucket.getTableId(),
+                            pbTableBucket.hasPartitionId() ? pbTableBucket.getPartitionId() : null,
+                            pbTableBucket.getBucketId()));
+        }
+        return forgottenBuckets;
+    }
+
     public static FetchLogResponse makeFetchLogResponse(
             Map<TableBucket, FetchLogResultForBucket> fetchLogResult,
             Map<TableBucket, FetchLogResultForBucket> fetchLogErrors) {
@@ -734,6 +808,10 @@ public class ServerRpcMessageUtils {
                         .setHighWatermark(bucketResult.getHighWatermark())
                         // TODO: set log start offset here if we support log clean.
                         .setLogStartOffset(0L);
+                if (bucketResult.getPreferredReadReplica() != null) {
+                    fetchLogRespForBucket.setPreferredReadReplica(
+                            bucketResult.getPreferredReadReplica());
+                }
 
                 if (bucketResult.fetchFromRemote()) {
                     // set remote log fetch info.
@@ -813,9 +891,18 @@ public class ServerRpcMessageUtils {
     }
 
     public static Map<TableBucket, KvRecordBatch> getPutKvData(PutKvRequest putKvRequest) {
-        long tableId = putKvRequest.getTableId();
+        return getPutKvData(putKvRequest.getTableId(), putKvRequest.getBucketsReqsList());
+    }
+
+    public static Map<TableBucket, KvRecordBatch> getPutKvData(
+            PbPutKvReqForTable putKvReqForTable) {
+        return getPutKvData(putKvReqForTable.getTableId(), putKvReqForTable.getBucketsReqsList());
+    }
+
+    private static Map<TableBucket, KvRecordBatch> getPutKvData(
+            long tableId, List<PbPutKvReqForBucket> putKvReqForBuckets) {
         Map<TableBucket, KvRecordBatch> produceEntryData = new HashMap<>();
-        for (PbPutKvReqForBucket putKvReqForBucket : putKvRequest.getBucketsReqsList()) {
+        for (PbPutKvReqForBucket putKvReqForBucket : putKvReqForBuckets) {
             ByteBuffer recordsBuffer = toByteBuffer(putKvReqForBucket.getRecordsSlice());
             DefaultKvRecordBatch kvRecords = DefaultKvRecordBatch.pointToByteBuffer(recordsBuffer);
             TableBucket tb =
@@ -877,26 +964,58 @@ public class ServerRpcMessageUtils {
         return targetColumns.length == 0 ? null : targetColumns;
     }
 
+    public static @Nullable int[] getTargetColumns(PbPutKvReqForTable putKvReqForTable) {
+        int[] targetColumns = putKvReqForTable.getTargetColumns();
+        return targetColumns.length == 0 ? null : targetColumns;
+    }
+
     public static PutKvResponse makePutKvResponse(Collection<PutKvResultForBucket> kvPutResult) {
         PutKvResponse putKvResponse = new PutKvResponse();
         List<PbPutKvRespForBucket> putKvRespForBucketList = new ArrayList<>();
         for (PutKvResultForBucket bucketResult : kvPutResult) {
-            PbPutKvRespForBucket putKvBucket =
-                    new PbPutKvRespForBucket().setBucketId(bucketResult.getBucketId());
-            TableBucket tableBucket = bucketResult.getTableBucket();
-            if (tableBucket.getPartitionId() != null) {
-                putKvBucket.setPartitionId(tableBucket.getPartitionId());
-            }
-
-            if (bucketResult.failed()) {
-                putKvBucket.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
-            }
-            putKvRespForBucketList.add(putKvBucket);
+            putKvRespForBucketList.add(toPbPutKvRespForBucket(bucketResult));
         }
         putKvResponse.addAllBucketsResps(putKvRespForBucketList);
         return putKvResponse;
     }
 
+    public static MultiPutKvResponse makeMultiPutKvResponse(
+            Collection<PutKvResultForBucket> kvPutResult) {
+        Map<Long, List<PbPutKvRespForBucket>> putKvRespMap = new HashMap<>();
+        for (PutKvResultForBucket bucketResult : kvPutResult) {
+            putKvRespMap
+                    .computeIfAbsent(
+                            bucketResult.getTableBucket().getTableId(), k -> new ArrayList<>())
+                    .add(toPbPutKvRespForBucket(bucketResult));
+        }
+
+        List<PbPutKvRespForTable> putKvRespForTables = new ArrayList<>();
+        for (Map.Entry<Long, List<PbPutKvRespForBucket>> entry : putKvRespMap.entrySet()) {
+            PbPutKvRespForTable putKvRespForTable = new PbPutKvRespForTable();
+            putKvRespForTable.setTableId(entry.getKey());
+            putKvRespForTable.addAllBucketsResps(entry.getValue());
+            putKvRespForTables.add(putKvRespForTable);
+        }
+
+        MultiPutKvResponse putKvResponse = new MultiPutKvResponse();
+        putKvResponse.addAllTablesResps(putKvRespForTables);
+        return putKvResponse;
+    }
+
+    private static PbPutKvRespForBucket toPbPutKvRespForBucket(PutKvResultForBucket bucketResult) {
+        PbPutKvRespForBucket putKvBucket =
+                new PbPutKvRespForBucket().setBucketId(bucketResult.getBucketId());
+        TableBucket tableBucket = bucketResult.getTableBucket();
+        if (tableBucket.getPartitionId() != null) {
+            putKvBucket.setPartitionId(tableBucket.getPartitionId());
+        }
+
+        if (bucketResult.failed()) {
+            putKvBucket.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        }
+        return putKvBucket;
+    }
+
     public static LimitScanResponse makeLimitScanResponse(LimitScanResultForBucket bucketResult) {
         LimitScanResponse limitScanResponse = new LimitScanResponse();
 
@@ -950,6 +1069,43 @@ public class ServerRpcMessageUtils {
         return limitScanResponse;
     }
 
+    public static ScanKvResponse makeScanKvResponse(ScanKvResultForBucket bucketResult) {
+        ScanKvResponse scanKvResponse = new ScanKvResponse();
+        if (bucketResult.failed()) {
+            scanKvResponse.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            for (byte[] value : bucketResult.getValues()) {
+                scanKvResponse.addValue(value);
+            }
+            byte[] continuationToken = bucketResult.getContinuationToken();
+            if (continuationToken != null) {
+                scanKvResponse.setContinuationToken(continuationToken);
+            }
+        }
+        return scanKvResponse;
+    }
+
+    public static KvScanResponse makeKvScanResponse(KvScanResultForBucket bucketResult) {
+        KvScanResponse kvScanResponse = new KvScanResponse();
+        if (bucketResult.failed()) {
+            kvScanResponse.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            kvScanResponse
+                    .setScannerId(bucketResult.getScannerId())
+                    .setHasMoreResults(bucketResult.hasMoreResults());
+            Long logOffset = bucketResult.getLogOffset();
+            if (logOffset != null) {
+                kvScanResponse.setLogOffset(logOffset);
+            }
+            BytesView records = bucketResult.getRecords();
+            if (records != null) {
+                // zero-copy for the arrow batch built by the scanner
+                kvScanResponse.setRecordsBytesView(records);
+            }
+        }
+        return kvScanResponse;
+    }
+
     public static LookupResponse makeLookupResponse(
             Map<TableBucket, LookupResultForBucket> lookupResult,
             Map<TableBucket, LookupResultForBucket> lookupError) {
@@ -977,6 +1133,10 @@ public class ServerRpcMessageUtils {
                         pbValue.setValues(value);
                     }
                 }
+                if (bucketResult.flushedLogOffset()
+                        != LookupResultForBucket.UNKNOWN_FLUSHED_LOG_OFFSET) {
+                    lookupRespForBucket.setFlushedLogOffset(bucketResult.flushedLogOffset());
+                }
             }
         }
         return lookupResponse;
@@ -34,12 +34,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Utils for the assignment of tables. */
 public class TableAssignmentUtils {
 
     private static final Random rand = new Random();
 
+    /**
+     * The position of the first replica of the next assigned bucket. It's shared by all the tables
+     * and partitions, so the leaders of the tables and partitions with a few buckets are spread
+     * over the tablet servers and racks by round-robin instead of piling up on random servers.
+     */
+    private static final AtomicInteger nextLeaderIndex = new AtomicInteger(rand.nextInt(1024));
+
     @VisibleForTesting
     protected static TableAssignment generateAssignment(
             int nBuckets,
@@ -66,7 +74,7 @@ public class TableAssignmentUtils {
             return generateRackUnawareAssigment(
                     nBuckets,
                     replicationFactor,
-                    Arrays.stream(servers).mapToInt(TabletServerInfo::getId).toArray(),
+                    Arrays.stream(servers).mapToInt(TabletServerInfo::getId).sorted().toArray(),
                     startIndex,
                     nextReplicaShift);
         } else {
@@ -94,8 +102,9 @@ public class TableAssignmentUtils {
      * <p>To achieve this goal for replica assignment, we:
      *
      * <ol>
-     *   <li>Assign the first replica of each bucket by round-robin, starting from a random position
-     *       in the tablet server list.
+     *   <li>Assign the first replica of each bucket by round-robin, starting from the position
+     *       after the first replica of the last bucket of the previously assigned table or
+     *       partition, so the leaders are spread evenly over all the tables and partitions.
      *   <li>Assign the remaining replicas of each bucket with an increasing shift.
      * </ol>
      *
@@ -168,10 +177,17 @@ public class TableAssignmentUtils {
                 nBuckets,
                 replicationFactor,
                 servers,
-                randomInt(servers.length),
+                nextLeaderIndex(nBuckets, servers.length),
                 randomInt(servers.length));
     }
 
+    private static int nextLeaderIndex(int nBuckets, int nServers) {
+        if (nBuckets <= 0 || nServers == 0) {
+            return 0;
+        }
+        return Math.floorMod(nextLeaderIndex.getAndAdd(nBuckets), nServers);
+    }
+
     private static TableAssignment generateRackUnawareAssigment(
             int nBuckets,
             int replicationFactor,
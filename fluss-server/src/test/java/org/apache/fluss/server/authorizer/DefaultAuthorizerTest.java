@@ -681,7 +681,8 @@ public class DefaultAuthorizerTest {
                 "FLUSS",
                 false,
                 InetAddress.getByName(host),
-                new FlussPrincipal(username, "USER"));
+                new FlussPrincipal(username, "USER"),
+                "");
     }
 
     private AclBinding createAclBinding(
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.entity;
+
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.record.TestData;
+
+import org.junit.jupiter.api.Test;
+
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPbPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FetchReqInfo}. */
+class FetchReqInfoTest {
+
+    @Test
+    void testEqualsComparesFilterByValue() {
+        PredicateBuilder builder = new PredicateBuilder(TestData.DATA1_ROW_TYPE);
+        FetchReqInfo fetchReqInfo =
+                new FetchReqInfo(1L, 0L, 1024, null, toPbPredicate(builder.greaterThan(0, 10)));
+        // the filter is decoded from each fetch request into a new message
+        FetchReqInfo sameFilter =
+                new FetchReqInfo(1L, 0L, 1024, null, toPbPredicate(builder.greaterThan(0, 10)));
+        assertThat(sameFilter).isEqualTo(fetchReqInfo).hasSameHashCodeAs(fetchReqInfo);
+
+        FetchReqInfo otherFilter =
+                new FetchReqInfo(1L, 0L, 1024, null, toPbPredicate(builder.greaterThan(0, 20)));
+        assertThat(otherFilter).isNotEqualTo(fetchReqInfo);
+        assertThat(new FetchReqInfo(1L, 0L, 1024)).isNotEqualTo(fetchReqInfo);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv;
+
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link KvRowCache}. */
+class KvRowCacheTest {
+
+    @Test
+    void testPutAndGet() {
+        KvRowCache cache = new KvRowCache(1024, new KvRowCacheBudget(Long.MAX_VALUE));
+        long readSequence = cache.beginRead();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readSequence);
+        cache.putIfNotStale(key("k2"), null, readSequence);
+        cache.endRead(readSequence);
+
+        assertThat(cache.get(key("k1"))).isEqualTo("v1".getBytes());
+        byte[] absent = cache.get(key("k2"));
+        assertThat(absent).isNotNull();
+        assertThat(KvRowCache.isAbsent(absent)).isTrue();
+        assertThat(cache.get(key("k3"))).isNull();
+
+        assertThat(cache.getHitCount().getCount()).isEqualTo(2);
+        assertThat(cache.getMissCount().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        // each entry takes 96 + 2 + 2 = 100 bytes
+        KvRowCache cache = new KvRowCache(250, new KvRowCacheBudget(Long.MAX_VALUE));
+        long readSequence = cache.beginRead();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readSequence);
+        cache.putIfNotStale(key("k2"), "v2".getBytes(), readSequence);
+        // access k1, so k2 is the least recently used
+        assertThat(cache.get(key("k1"))).isNotNull();
+        cache.putIfNotStale(key("k3"), "v3".getBytes(), readSequence);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSizeInBytes()).isEqualTo(200);
+        assertThat(cache.getEvictionCount().getCount()).isEqualTo(1);
+        assertThat(cache.get(key("k2"))).isNull();
+        assertThat(cache.get(key("k1"))).isNotNull();
+        assertThat(cache.get(key("k3"))).isNotNull();
+
+        // the entry larger than the cache is never cached
+        cache.putIfNotStale(key("k4"), new byte[256], readSequence);
+        assertThat(cache.get(key("k4"))).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        cache.endRead(readSequence);
+    }
+
+    @Test
+    void testSharedBudget() {
+        // each entry takes 100 bytes, the budget is shared by two caches of 1024 bytes
+        KvRowCacheBudget budget = new KvRowCacheBudget(250);
+        KvRowCache cache1 = new KvRowCache(1024, budget);
+        KvRowCache cache2 = new KvRowCache(1024, budget);
+
+        long readSequence = cache1.beginRead();
+        cache1.putIfNotStale(key("k1"), "v1".getBytes(), readSequence);
+        cache1.putIfNotStale(key("k2"), "v2".getBytes(), readSequence);
+        cache1.endRead(readSequence);
+        assertThat(budget.getUsedBytes()).isEqualTo(200);
+
+        // the budget is used up by the other cache, which isn't evicted
+        readSequence = cache2.beginRead();
+        cache2.putIfNotStale(key("k3"), "v3".getBytes(), readSequence);
+        cache2.endRead(readSequence);
+        assertThat(cache2.get(key("k3"))).isNull();
+        assertThat(cache1.size()).isEqualTo(2);
+
+        // a cache evicts its own entries to cache new entries within the budget
+        readSequence = cache1.beginRead();
+        cache1.putIfNotStale(key("k4"), "v4".getBytes(), readSequence);
+        cache1.endRead(readSequence);
+        assertThat(cache1.get(key("k1"))).isNull();
+        assertThat(cache1.get(key("k4"))).isNotNull();
+        assertThat(cache1.getEvictionCount().getCount()).isEqualTo(1);
+        assertThat(budget.getUsedBytes()).isEqualTo(200);
+
+        // the invalidated entries release their memory
+        cache1.beginUpdate(Collections.singletonList(key("k4")));
+        cache1.endUpdate();
+        assertThat(budget.getUsedBytes()).isEqualTo(100);
+        readSequence = cache2.beginRead();
+        cache2.putIfNotStale(key("k3"), "v3".getBytes(), readSequence);
+        cache2.endRead(readSequence);
+        assertThat(cache2.get(key("k3"))).isNotNull();
+        assertThat(budget.getUsedBytes()).isEqualTo(200);
+
+        // the memory of a closed cache is released, and nothing is cached after closed
+        cache1.close();
+        assertThat(budget.getUsedBytes()).isEqualTo(100);
+        readSequence = cache1.beginRead();
+        cache1.putIfNotStale(key("k1"), "v1".getBytes(), readSequence);
+        cache1.endRead(readSequence);
+        assertThat(cache1.size()).isZero();
+        assertThat(budget.getUsedBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void testStaleValueNotCached() {
+        KvRowCache cache = new KvRowCache(1024, new KvRowCacheBudget(Long.MAX_VALUE));
+        long readSequence = cache.beginRead();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readSequence);
+        cache.endRead(readSequence);
+
+        // the value is read before the update is done
+        long readBeforeUpdate = cache.beginRead();
+        cache.beginUpdate(Collections.singletonList(key("k1")));
+        assertThat(cache.get(key("k1"))).isNull();
+        long readDuringUpdate = cache.beginRead();
+        cache.endUpdate();
+
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readBeforeUpdate);
+        assertThat(cache.get(key("k1"))).isNull();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readDuringUpdate);
+        assertThat(cache.get(key("k1"))).isNull();
+        cache.endRead(readBeforeUpdate);
+        cache.endRead(readDuringUpdate);
+
+        readSequence = cache.beginRead();
+        cache.putIfNotStale(key("k1"), "v2".getBytes(), readSequence);
+        cache.endRead(readSequence);
+        assertThat(cache.get(key("k1"))).isEqualTo("v2".getBytes());
+        assertThat(cache.getSizeInBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void testUpdateOnlyInvalidatesUpdatedKeys() {
+        KvRowCache cache = new KvRowCache(1024, new KvRowCacheBudget(Long.MAX_VALUE));
+
+        // the keys not updated are cached although they're read concurrently with an update
+        long readBeforeUpdate = cache.beginRead();
+        cache.beginUpdate(Collections.singletonList(key("k1")));
+        long readDuringUpdate = cache.beginRead();
+        cache.endUpdate();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readBeforeUpdate);
+        cache.putIfNotStale(key("k2"), "v2".getBytes(), readBeforeUpdate);
+        cache.putIfNotStale(key("k3"), "v3".getBytes(), readDuringUpdate);
+        assertThat(cache.get(key("k1"))).isNull();
+        assertThat(cache.get(key("k2"))).isEqualTo("v2".getBytes());
+        assertThat(cache.get(key("k3"))).isEqualTo("v3".getBytes());
+
+        // the invalidated keys are kept until the reads concurrent with the update end
+        assertThat(cache.numInvalidatedKeys()).isEqualTo(1);
+        cache.endRead(readBeforeUpdate);
+        assertThat(cache.numInvalidatedKeys()).isEqualTo(1);
+        cache.endRead(readDuringUpdate);
+        assertThat(cache.numInvalidatedKeys()).isZero();
+
+        // the reads after the update can cache the updated key
+        long readAfterUpdate = cache.beginRead();
+        cache.putIfNotStale(key("k1"), "v1".getBytes(), readAfterUpdate);
+        cache.endRead(readAfterUpdate);
+        assertThat(cache.get(key("k1"))).isEqualTo("v1".getBytes());
+    }
+
+    private static KvPreWriteBuffer.Key key(String key) {
+        return KvPreWriteBuffer.Key.of(key.getBytes());
+    }
+}
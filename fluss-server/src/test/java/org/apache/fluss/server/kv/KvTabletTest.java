@@ -17,7 +17,9 @@
 
 package org.apache.fluss.server.kv;
 
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
 import org.apache.fluss.config.TableConfig;
 import org.apache.fluss.exception.InvalidTargetColumnException;
 import org.apache.fluss.exception.OutOfOrderSequenceException;
@@ -33,10 +35,14 @@ import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.KvRecord;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.KvRecordTestUtils;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.LogTestBase;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.TestData;
+import org.apache.fluss.record.bytesview.BytesView;
 import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.row.BinaryRow;
 import org.apache.fluss.row.encode.ValueEncoder;
@@ -44,14 +50,20 @@ import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Key;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.KvEntry;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Value;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.kv.scan.KvScanner;
 import org.apache.fluss.server.log.FetchIsolation;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.log.LogTestUtils;
+import org.apache.fluss.server.utils.FatalErrorHandler;
+import org.apache.fluss.server.zk.NOPErrorHandler;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.testutils.common.CheckedThread;
 import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.types.StringType;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.Projection;
 import org.apache.fluss.utils.clock.SystemClock;
 import org.apache.fluss.utils.concurrent.FlussScheduler;
 
@@ -65,6 +77,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import javax.annotation.Nullable;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -75,6 +88,8 @@ import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
@@ -174,6 +189,7 @@ class KvTabletTest {
                 conf,
                 new RootAllocator(Long.MAX_VALUE),
                 new TestingMemorySegmentPool(10 * 1024),
+                new KvRowCacheBudget(Long.MAX_VALUE),
                 KvFormat.COMPACTED,
                 schema,
                 rowMerger,
@@ -830,6 +846,341 @@ class KvTabletTest {
                 .isEqualTo(expectedLogs);
     }
 
+    @Test
+    void testPutWithKeysInPreWriteBufferAndKv() throws Exception {
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        KvRecordBatch kvRecordBatch1 =
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}),
+                                kvRecordFactory.ofRecord(
+                                        "k2".getBytes(), new Object[] {2, "v21"})));
+        kvTablet.putAsLeader(kvRecordBatch1, null);
+        // flush k1 and k2 into rocksdb
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+        assertThat(kvTablet.getKvPreWriteBuffer().getAllKvEntries()).isEmpty();
+
+        // k3 is only in the pre-write buffer
+        KvRecordBatch kvRecordBatch2 =
+                kvRecordBatchFactory.ofRecords(
+                        Collections.singletonList(
+                                kvRecordFactory.ofRecord(
+                                        "k3".getBytes(), new Object[] {3, "v31"})));
+        kvTablet.putAsLeader(kvRecordBatch2, null);
+        long endOffset = logTablet.localLogEndOffset();
+
+        KvRecordBatch kvRecordBatch3 =
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v12"}),
+                                kvRecordFactory.ofRecord("k3".getBytes(), new Object[] {3, "v32"}),
+                                kvRecordFactory.ofRecord("k4".getBytes(), new Object[] {4, "v41"}),
+                                kvRecordFactory.ofRecord("k4".getBytes(), new Object[] {4, "v42"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), null),
+                                kvRecordFactory.ofRecord("k2".getBytes(), null),
+                                kvRecordFactory.ofRecord("k5".getBytes(), null)));
+        kvTablet.putAsLeader(kvRecordBatch3, null);
+
+        List<MemoryLogRecords> expectedLogs =
+                Collections.singletonList(
+                        logRecords(
+                                endOffset,
+                                Arrays.asList(
+                                        // -- for k1 read from rocksdb
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        // -- for k3 read from pre-write buffer
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        // -- for k4 inserted and updated in the same batch
+                                        ChangeType.INSERT,
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        // -- for k2 deleted once, the second delete is ignored
+                                        ChangeType.DELETE),
+                                Arrays.asList(
+                                        new Object[] {1, "v11"},
+                                        new Object[] {1, "v12"},
+                                        new Object[] {3, "v31"},
+                                        new Object[] {3, "v32"},
+                                        new Object[] {4, "v41"},
+                                        new Object[] {4, "v41"},
+                                        new Object[] {4, "v42"},
+                                        new Object[] {2, "v21"})));
+        checkEqual(readLogRecords(endOffset), expectedLogs);
+    }
+
+    @Test
+    void testLookupWithRowCache() throws Exception {
+        conf.set(ConfigOptions.KV_LOOKUP_ROW_CACHE_SIZE, MemorySize.parse("1mb"));
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        KvRowCache rowCache = kvTablet.getRowCache();
+        assertThat(rowCache).isNotNull();
+
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Collections.singletonList(
+                                kvRecordFactory.ofRecord(
+                                        "k1".getBytes(), new Object[] {1, "v11"}))),
+                null);
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+
+        List<byte[]> keys = Arrays.asList("k1".getBytes(), "k2".getBytes());
+        List<byte[]> values = kvTablet.multiGet(keys);
+        assertThat(values.get(0)).isNotNull();
+        assertThat(values.get(1)).isNull();
+        assertThat(rowCache.getMissCount().getCount()).isEqualTo(2);
+        // both the existing and the absent keys are cached
+        assertThat(kvTablet.multiGet(keys)).containsExactlyElementsOf(values);
+        assertThat(rowCache.getHitCount().getCount()).isEqualTo(2);
+
+        // the rows in the pre-write buffer are not visible until flushed
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v12"}),
+                                kvRecordFactory.ofRecord(
+                                        "k2".getBytes(), new Object[] {2, "v21"}))),
+                null);
+        assertThat(kvTablet.multiGet(keys)).containsExactlyElementsOf(values);
+
+        // flushing invalidates the cached rows
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+        List<byte[]> newValues = kvTablet.multiGet(keys);
+        assertThat(newValues).containsExactlyElementsOf(kvTablet.getRocksDBKv().multiGet(keys));
+        assertThat(newValues.get(0)).isNotEqualTo(values.get(0));
+        assertThat(newValues.get(1)).isNotNull();
+    }
+
+    @Test
+    void testPutLookupAndFlushConcurrently() throws Exception {
+        conf.set(ConfigOptions.KV_LOOKUP_ROW_CACHE_SIZE, MemorySize.parse("1mb"));
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        int numKeys = 10;
+        int numRounds = 200;
+        List<byte[]> keys = new ArrayList<>();
+        // the round in which each value is put
+        Map<ByteBuffer, Integer> roundsOfValues = new HashMap<>();
+        for (int i = 0; i < numKeys; i++) {
+            keys.add(("k" + i).getBytes());
+            for (int round = 0; round < numRounds; round++) {
+                byte[] value =
+                        ValueEncoder.encodeValue(
+                                schemaId, compactedRow(baseRowType, new Object[] {i, "v" + round}));
+                roundsOfValues.put(ByteBuffer.wrap(value), round);
+            }
+        }
+
+        AtomicBoolean putFinished = new AtomicBoolean(false);
+        AtomicReference<Throwable> fatalError = new AtomicReference<>();
+        FatalErrorHandler fatalErrorHandler = fatalError::set;
+        CheckedThread writer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        for (int round = 0; round < numRounds; round++) {
+                            kvTablet.putAsLeader(upsertAll(numKeys, round), null);
+                        }
+                        putFinished.set(true);
+                    }
+                };
+        CheckedThread flusher =
+                new CheckedThread() {
+                    @Override
+                    public void go() {
+                        while (!putFinished.get()) {
+                            kvTablet.flush(logTablet.localLogEndOffset(), fatalErrorHandler);
+                        }
+                    }
+                };
+        CheckedThread reader =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        // the flushed values of each key must never go back to an older round,
+                        // neither read from rocksdb nor from the row cache
+                        int[] lastRounds = new int[numKeys];
+                        Arrays.fill(lastRounds, -1);
+                        while (!putFinished.get()) {
+                            List<byte[]> values = kvTablet.multiGet(keys);
+                            for (int i = 0; i < numKeys; i++) {
+                                if (values.get(i) == null) {
+                                    assertThat(lastRounds[i]).isEqualTo(-1);
+                                    continue;
+                                }
+                                Integer round = roundsOfValues.get(ByteBuffer.wrap(values.get(i)));
+                                assertThat(round).isNotNull().isGreaterThanOrEqualTo(lastRounds[i]);
+                                lastRounds[i] = round;
+                            }
+                        }
+                    }
+                };
+        writer.start();
+        flusher.start();
+        reader.start();
+        writer.sync();
+        flusher.sync();
+        reader.sync();
+        assertThat(fatalError.get()).isNull();
+
+        // all the values of the last round are visible once flushed
+        kvTablet.flush(logTablet.localLogEndOffset(), fatalErrorHandler);
+        assertThat(kvTablet.getKvPreWriteBuffer().getAllKvEntries()).isEmpty();
+        List<byte[]> values = kvTablet.multiGet(keys);
+        for (int i = 0; i < numKeys; i++) {
+            assertThat(roundsOfValues.get(ByteBuffer.wrap(values.get(i))))
+                    .isEqualTo(numRounds - 1);
+        }
+        assertThat(values).containsExactlyElementsOf(kvTablet.getRocksDBKv().multiGet(keys));
+    }
+
+    @Test
+    void testCloseWhilePuttingLookingUpAndFlushing() throws Exception {
+        conf.set(ConfigOptions.KV_LOOKUP_ROW_CACHE_SIZE, MemorySize.parse("1mb"));
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        int numKeys = 10;
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < numKeys; i++) {
+            keys.add(("k" + i).getBytes());
+        }
+
+        AtomicBoolean closing = new AtomicBoolean(false);
+        AtomicReference<Throwable> fatalError = new AtomicReference<>();
+        FatalErrorHandler fatalErrorHandler = fatalError::set;
+        // the operations racing with closing may fail as the kv is closed, but must not fail
+        // before closing, nor access the closed rocksdb
+        CheckedThread writer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        int round = 0;
+                        while (!closing.get()) {
+                            try {
+                                kvTablet.putAsLeader(upsertAll(numKeys, round++), null);
+                            } catch (Exception e) {
+                                if (!closing.get()) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }
+                };
+        CheckedThread flusher =
+                new CheckedThread() {
+                    @Override
+                    public void go() {
+                        while (!closing.get()) {
+                            kvTablet.flush(logTablet.localLogEndOffset(), fatalErrorHandler);
+                        }
+                    }
+                };
+        CheckedThread reader =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        while (!closing.get()) {
+                            try {
+                                kvTablet.multiGet(keys);
+                                kvTablet.prefixLookup("k".getBytes());
+                                kvTablet.limitScan(numKeys);
+                            } catch (Exception e) {
+                                if (!closing.get()) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }
+                };
+        writer.start();
+        flusher.start();
+        reader.start();
+        // let the operations run for a while before closing
+        while (logTablet.localLogEndOffset() < 1000 && writer.isAlive()) {
+            Thread.sleep(1);
+        }
+        closing.set(true);
+        kvTablet.close();
+        writer.sync();
+        flusher.sync();
+        reader.sync();
+        assertThat(fatalError.get()).isNull();
+
+        // the operations after closing fail or are ignored
+        assertThatThrownBy(() -> kvTablet.putAsLeader(upsertAll(numKeys, 0), null))
+                .hasMessageContaining("already closed");
+        assertThatThrownBy(() -> kvTablet.prefixLookup("k".getBytes()))
+                .hasMessageContaining("already closed");
+        kvTablet.flush(logTablet.localLogEndOffset(), fatalErrorHandler);
+        assertThat(fatalError.get()).isNull();
+        // closing again is a no-op
+        kvTablet.close();
+    }
+
+    @Test
+    void testScanSnapshot() throws Exception {
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v21"}),
+                                kvRecordFactory.ofRecord(
+                                        "k3".getBytes(), new Object[] {3, "v31"}))),
+                null);
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+
+        List<Long> closedScanners = new ArrayList<>();
+        KvScanner scanner =
+                kvTablet.openScanner(
+                        1L, schemaId, new int[] {1}, () -> closedScanners.add(1L), 0L);
+        // the log offset is the end offset of the flushed changelogs, exclusive
+        assertThat(scanner.getLogOffset()).isEqualTo(3L);
+
+        // the changes after opening the scanner are invisible to the scanner
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v12"}),
+                                kvRecordFactory.ofRecord(
+                                        "k4".getBytes(), new Object[] {4, "v41"}))),
+                null);
+        kvTablet.flush(logTablet.localLogEndOffset(), NOPErrorHandler.INSTANCE);
+
+        List<String> rows = new ArrayList<>();
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createProjectedArrowReadContext(
+                        baseRowType, schemaId, Projection.of(new int[] {1}))) {
+            // the batch size is so small that each batch only contains one row
+            while (scanner.hasMoreResults()) {
+                BytesView batch = scanner.nextBatch(1, 0L);
+                assertThat(batch).isNotNull();
+                MemoryLogRecords records =
+                        MemoryLogRecords.pointToByteBuffer(batch.getByteBuf().nioBuffer());
+                for (LogRecordBatch logRecordBatch : records.batches()) {
+                    assertThat(logRecordBatch.getRecordCount()).isEqualTo(1);
+                    try (CloseableIterator<LogRecord> it = logRecordBatch.records(readContext)) {
+                        while (it.hasNext()) {
+                            rows.add(it.next().getRow().getString(0).toString());
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(rows).containsExactly("v11", "v21", "v31");
+        assertThat(scanner.nextBatch(1, 0L)).isNull();
+        scanner.close();
+        assertThat(closedScanners).containsExactly(1L);
+
+        // closing the kv tablet closes the open scanners
+        KvScanner scanner2 =
+                kvTablet.openScanner(2L, schemaId, null, () -> closedScanners.add(2L), 0L);
+        // the second batch appended 3 changelogs, -U and +U of k1 and +I of k4
+        assertThat(scanner2.getLogOffset()).isEqualTo(6L);
+        kvTablet.close();
+        assertThat(scanner2.isClosed()).isTrue();
+        assertThat(closedScanners).containsExactly(1L, 2L);
+    }
+
     @Test
     void testAppendDuplicatedKvBatch() throws Exception {
         initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
@@ -910,6 +1261,16 @@ class KvTabletTest {
         LogTestBase.assertLogRecordsListEquals(expectedLogs, actaulLogRecords, baseRowType);
     }
 
+    /** Creates a batch upserting the keys k0..k{numKeys-1} with the values of the given round. */
+    private KvRecordBatch upsertAll(int numKeys, int round) throws Exception {
+        List<KvRecord> records = new ArrayList<>(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            records.add(
+                    kvRecordFactory.ofRecord(("k" + i).getBytes(), new Object[] {i, "v" + round}));
+        }
+        return kvRecordBatchFactory.ofRecords(records);
+    }
+
     private Value valueOf(BinaryRow row) {
         return Value.of(ValueEncoder.encodeValue(schemaId, row));
     }
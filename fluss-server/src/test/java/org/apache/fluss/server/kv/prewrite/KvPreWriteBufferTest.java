@@ -24,6 +24,8 @@ import org.junit.jupiter.api.Test;
 
 import javax.annotation.Nonnull;
 
+import java.nio.ByteBuffer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -130,6 +132,36 @@ class KvPreWriteBufferTest {
         buffer.close();
     }
 
+    @Test
+    void testPhasedFlush() throws Exception {
+        KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
+        int elementCount = 0;
+        bufferPut(buffer, "key0", "value0", elementCount++);
+        bufferPut(buffer, "key1", "value1", elementCount++);
+
+        // detach +key0, +key1 from the buffer
+        KvPreWriteBuffer.FlushBatch flushBatch = buffer.prepareFlush(elementCount);
+        assertThat(flushBatch.isEmpty()).isFalse();
+        assertThat(buffer.getAllKvEntries()).isEmpty();
+
+        // put key1 again while the batch is being written
+        bufferPut(buffer, "key1", "value11", elementCount++);
+        buffer.writeFlushBatch(flushBatch);
+        // the detached entries are still visible until the flush completes
+        assertThat(getValue(buffer, "key0")).isEqualTo("value0");
+        assertThat(getValue(buffer, "key1")).isEqualTo("value11");
+
+        buffer.completeFlush(flushBatch);
+        assertThat(getValue(buffer, "key0")).isNull();
+        // the entry put after the flush is prepared is kept
+        assertThat(getValue(buffer, "key1")).isEqualTo("value11");
+        assertThat(buffer.getAllKvEntries().size()).isEqualTo(1);
+        assertThat(buffer.getKvEntryMap().size()).isEqualTo(1);
+
+        // nothing to flush
+        assertThat(buffer.prepareFlush(0).isEmpty()).isTrue();
+    }
+
     @Test
     void testTruncate() {
         KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
@@ -183,6 +215,49 @@ class KvPreWriteBufferTest {
         assertThat(buffer.getKvEntryMap().size()).isEqualTo(0);
     }
 
+    @Test
+    void testGetByKeyView() {
+        KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
+        // keys of different lengths to cover the bytes not aligned to int
+        String[] keys = new String[] {"k", "key1", "key-12", "a-longer-key-123"};
+        KvPreWriteBuffer.Key[] putKeys = new KvPreWriteBuffer.Key[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            putKeys[i] = toKey(keys[i]);
+            buffer.put(putKeys[i], ("value" + i).getBytes(), i);
+        }
+
+        KvPreWriteBuffer.KeyView keyView = new KvPreWriteBuffer.KeyView();
+        for (int i = 0; i < keys.length; i++) {
+            byte[] bytes = keys[i].getBytes();
+            // views in the middle of a heap buffer and a view of a direct buffer
+            ByteBuffer heapBuffer = ByteBuffer.allocate(bytes.length + 5);
+            heapBuffer.position(3);
+            heapBuffer.put(bytes).position(3).limit(3 + bytes.length);
+            ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+            directBuffer.put(bytes).flip();
+
+            ByteBuffer[] keyBuffers =
+                    new ByteBuffer[] {heapBuffer, heapBuffer.slice(), directBuffer};
+            for (ByteBuffer keyBuffer : keyBuffers) {
+                keyView.pointTo(keyBuffer);
+                assertThat(keyView.hashCode()).isEqualTo(putKeys[i].hashCode());
+                assertThat(keyView).isEqualTo(putKeys[i]);
+                assertThat(putKeys[i]).isEqualTo(keyView);
+                assertThat(keyView.toKey()).isEqualTo(putKeys[i]);
+                assertThat(buffer.get(keyView).get()).isEqualTo(("value" + i).getBytes());
+                // the key in the buffer is returned to be reused
+                assertThat(buffer.getKey(keyView)).isSameAs(putKeys[i]);
+                // the view isn't changed by the lookup
+                assertThat(keyBuffer.remaining()).isEqualTo(bytes.length);
+            }
+        }
+
+        keyView.pointTo(ByteBuffer.wrap("key2".getBytes()));
+        assertThat(keyView).isNotEqualTo(putKeys[1]);
+        assertThat(buffer.get(keyView)).isNull();
+        assertThat(buffer.getKey(keyView)).isNull();
+    }
+
     private static void bufferPut(
             KvPreWriteBuffer kvPreWriteBuffer, String key, String value, int elementCount) {
         kvPreWriteBuffer.put(toKey(key), value.getBytes(), elementCount);
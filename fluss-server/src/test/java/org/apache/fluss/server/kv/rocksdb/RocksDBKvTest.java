@@ -18,6 +18,7 @@
 package org.apache.fluss.server.kv.rocksdb;
 
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.server.kv.KvScanPage;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -64,4 +65,46 @@ class RocksDBKvTest {
             assertThat(rocksDBKv.multiGet(Arrays.asList(key, key2))).containsExactly(null, val2);
         }
     }
+
+    @Test
+    void testScanByPage(@TempDir Path tempDir) throws Exception {
+        File instanceBasePath = tempDir.toFile();
+        RocksDBResourceContainer rocksDBResourceContainer =
+                new RocksDBResourceContainer(new Configuration(), instanceBasePath);
+        RocksDBKvBuilder rocksDBKvBuilder =
+                new RocksDBKvBuilder(
+                        instanceBasePath,
+                        rocksDBResourceContainer,
+                        rocksDBResourceContainer.getColumnOptions());
+
+        try (RocksDBKv rocksDBKv = rocksDBKvBuilder.build()) {
+            // 3 keys with prefix {1}, and one key with prefix {2}
+            rocksDBKv.put(new byte[] {1, 1}, new byte[] {11, 11});
+            rocksDBKv.put(new byte[] {1, 2}, new byte[] {12, 12});
+            rocksDBKv.put(new byte[] {1, 3}, new byte[] {13, 13});
+            rocksDBKv.put(new byte[] {2, 1}, new byte[] {21, 21});
+
+            // each page holds at most 2 values by bytes
+            byte[] prefix = new byte[] {1};
+            KvScanPage page = rocksDBKv.scan(prefix, null, 4, Integer.MAX_VALUE);
+            assertThat(page.values()).containsExactly(new byte[] {11, 11}, new byte[] {12, 12});
+            assertThat(page.nextKey()).isEqualTo(new byte[] {1, 2});
+            page = rocksDBKv.scan(prefix, page.nextKey(), 4, Integer.MAX_VALUE);
+            assertThat(page.values()).containsExactly(new byte[] {13, 13});
+            assertThat(page.nextKey()).isNull();
+
+            // at least one value is returned even if it exceeds the max bytes
+            page = rocksDBKv.scan(prefix, null, 1, Integer.MAX_VALUE);
+            assertThat(page.values()).containsExactly(new byte[] {11, 11});
+            assertThat(page.nextKey()).isEqualTo(new byte[] {1, 1});
+
+            // scan without prefix is bounded by the limit
+            page = rocksDBKv.scan(null, null, Integer.MAX_VALUE, 3);
+            assertThat(page.values()).hasSize(3);
+            assertThat(page.nextKey()).isEqualTo(new byte[] {1, 3});
+            page = rocksDBKv.scan(null, page.nextKey(), Integer.MAX_VALUE, 3);
+            assertThat(page.values()).containsExactly(new byte[] {21, 21});
+            assertThat(page.nextKey()).isNull();
+        }
+    }
 }
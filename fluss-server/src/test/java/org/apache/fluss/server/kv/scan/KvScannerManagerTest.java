@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.scan;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.TooManyKvScannersException;
+import org.apache.fluss.exception.UnknownKvScannerException;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
+import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import org.apache.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.testutils.common.CheckedThread;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.ReadOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link KvScannerManager}. */
+class KvScannerManagerTest {
+
+    private static final TableBucket TABLE_BUCKET = new TableBucket(DATA1_TABLE_ID, 0);
+
+    private final ManualClock clock = new ManualClock(System.currentTimeMillis());
+
+    private @TempDir File tempDir;
+    private RocksDBKv rocksDBKv;
+    private BufferAllocator allocator;
+    private KvScannerManager scannerManager;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        RocksDBResourceContainer rocksDBResourceContainer =
+                new RocksDBResourceContainer(new Configuration(), tempDir);
+        rocksDBKv =
+                new RocksDBKvBuilder(
+                                tempDir,
+                                rocksDBResourceContainer,
+                                rocksDBResourceContainer.getColumnOptions())
+                        .build();
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        // the scanners hold the leases of rocksdb, close them first
+        if (scannerManager != null) {
+            scannerManager.close();
+        }
+        rocksDBKv.close();
+        allocator.close();
+    }
+
+    @Test
+    void testMaxScanners() throws Exception {
+        scannerManager = createScannerManager(2, Duration.ofMinutes(1));
+        KvScanner scanner1 = scannerManager.openScanner(this::createScanner);
+        KvScanner scanner2 = scannerManager.openScanner(this::createScanner);
+        assertThat(scannerManager.getScannerCount()).isEqualTo(2);
+        assertThat(scanner1.getScannerId()).isNotEqualTo(scanner2.getScannerId());
+
+        assertThatThrownBy(() -> scannerManager.openScanner(this::createScanner))
+                .isInstanceOf(TooManyKvScannersException.class)
+                .hasMessageContaining("exceeds the max number 2");
+
+        // closing a scanner releases its slot
+        scanner1.close();
+        assertThat(scannerManager.getScannerCount()).isEqualTo(1);
+        assertThatThrownBy(() -> scannerManager.getScanner(scanner1.getScannerId(), TABLE_BUCKET))
+                .isInstanceOf(UnknownKvScannerException.class);
+
+        // a scanner failed to open releases its slot too
+        assertThatThrownBy(
+                        () ->
+                                scannerManager.openScanner(
+                                        (id, closeCallback, currentTimeMs) -> {
+                                            throw new IOException("expected");
+                                        }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("expected");
+        KvScanner scanner3 = scannerManager.openScanner(this::createScanner);
+        assertThat(scannerManager.getScanner(scanner3.getScannerId(), TABLE_BUCKET))
+                .isSameAs(scanner3);
+        assertThat(scannerManager.getScannerCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testConcurrentOpenNotExceedMaxScanners() throws Exception {
+        int maxScanners = 4;
+        scannerManager = createScannerManager(maxScanners, Duration.ofMinutes(1));
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger openedScanners = new AtomicInteger();
+        AtomicInteger rejectedScanners = new AtomicInteger();
+        List<CheckedThread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            CheckedThread thread =
+                    new CheckedThread() {
+                        @Override
+                        public void go() throws Exception {
+                            startLatch.await();
+                            try {
+                                scannerManager.openScanner(
+                                        KvScannerManagerTest.this::createScanner);
+                                openedScanners.incrementAndGet();
+                            } catch (TooManyKvScannersException e) {
+                                rejectedScanners.incrementAndGet();
+                            }
+                        }
+                    };
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (CheckedThread thread : threads) {
+            thread.sync();
+        }
+
+        assertThat(openedScanners.get()).isEqualTo(maxScanners);
+        assertThat(rejectedScanners.get()).isEqualTo(16 - maxScanners);
+        assertThat(scannerManager.getScannerCount()).isEqualTo(maxScanners);
+    }
+
+    @Test
+    void testExpireIdleScanners() throws Exception {
+        scannerManager = createScannerManager(10, Duration.ofSeconds(10));
+        assertThat(scannerManager.getTtlMs()).isEqualTo(10_000L);
+        KvScanner idleScanner = scannerManager.openScanner(this::createScanner);
+        KvScanner activeScanner = scannerManager.openScanner(this::createScanner);
+
+        clock.advanceTime(6, TimeUnit.SECONDS);
+        // reading a batch refreshes the last access time, the kv is empty so there is no row
+        assertThat(activeScanner.nextBatch(1024, clock.milliseconds())).isNull();
+        scannerManager.expireIdleScanners();
+        assertThat(scannerManager.getScannerCount()).isEqualTo(2);
+
+        clock.advanceTime(6, TimeUnit.SECONDS);
+        scannerManager.expireIdleScanners();
+        assertThat(idleScanner.isClosed()).isTrue();
+        assertThat(activeScanner.isClosed()).isFalse();
+        assertThat(scannerManager.getScannerCount()).isEqualTo(1);
+        assertThatThrownBy(
+                        () -> scannerManager.getScanner(idleScanner.getScannerId(), TABLE_BUCKET))
+                .isInstanceOf(UnknownKvScannerException.class)
+                .hasMessageContaining("may be expired");
+
+        // the scanner doesn't belong to another bucket
+        assertThatThrownBy(
+                        () ->
+                                scannerManager.getScanner(
+                                        activeScanner.getScannerId(),
+                                        new TableBucket(DATA1_TABLE_ID, 1)))
+                .isInstanceOf(UnknownKvScannerException.class);
+
+        // the scanners closed before registered are removed, e.g. the kv tablet is closed
+        scannerManager.openScanner(
+                (id, closeCallback, currentTimeMs) -> {
+                    KvScanner scanner = createScanner(id, closeCallback, currentTimeMs);
+                    scanner.close();
+                    return scanner;
+                });
+        assertThat(scannerManager.getScannerCount()).isEqualTo(1);
+
+        scannerManager.close();
+        assertThat(activeScanner.isClosed()).isTrue();
+        assertThat(scannerManager.getScannerCount()).isZero();
+    }
+
+    @Test
+    void testCloseScannerOfBucket() throws Exception {
+        scannerManager = createScannerManager(10, Duration.ofMinutes(1));
+        KvScanner scanner = scannerManager.openScanner(this::createScanner);
+
+        // the scanner isn't closed by a request of another bucket
+        scannerManager.closeScanner(scanner.getScannerId(), new TableBucket(DATA1_TABLE_ID, 1));
+        assertThat(scanner.isClosed()).isFalse();
+        assertThat(scannerManager.getScanner(scanner.getScannerId(), TABLE_BUCKET))
+                .isSameAs(scanner);
+
+        scannerManager.closeScanner(scanner.getScannerId(), TABLE_BUCKET);
+        assertThat(scanner.isClosed()).isTrue();
+        assertThat(scannerManager.getScannerCount()).isZero();
+        // closing a closed scanner is a no-op
+        scannerManager.closeScanner(scanner.getScannerId(), TABLE_BUCKET);
+    }
+
+    private KvScannerManager createScannerManager(int maxScanners, Duration ttl) {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KV_SCANNER_MAX_NUM, maxScanners);
+        conf.set(ConfigOptions.KV_SCANNER_TTL, ttl);
+        return new KvScannerManager(conf, clock);
+    }
+
+    private KvScanner createScanner(long scannerId, Runnable closeCallback, long currentTimeMs)
+            throws IOException {
+        ReadOptions readOptions = new ReadOptions();
+        return new KvScanner(
+                scannerId,
+                TABLE_BUCKET,
+                DEFAULT_SCHEMA_ID,
+                0L,
+                new ValueDecoder(
+                        RowDecoder.create(
+                                KvFormat.COMPACTED,
+                                DATA1_ROW_TYPE.getChildren().toArray(new DataType[0]))),
+                DATA1_ROW_TYPE,
+                null,
+                DEFAULT_COMPRESSION,
+                allocator,
+                rocksDBKv.getResourceGuard().acquireResource(),
+                readOptions,
+                rocksDBKv.newIterator(readOptions),
+                closeCallback,
+                currentTimeMs);
+    }
+}
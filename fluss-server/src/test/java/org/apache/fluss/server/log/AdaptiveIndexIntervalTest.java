@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link AdaptiveIndexInterval}. */
+class AdaptiveIndexIntervalTest {
+
+    @Test
+    void testDenseIndexIntervalAfterSeek() {
+        ManualClock clock = new ManualClock();
+        AdaptiveIndexInterval interval = new AdaptiveIndexInterval(4096, 512, 60_000L, 1, clock);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+        clock.advanceTime(59, TimeUnit.SECONDS);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+
+        // a new seek extends the dense duration
+        interval.recordSeek();
+        clock.advanceTime(59, TimeUnit.SECONDS);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+        clock.advanceTime(1, TimeUnit.SECONDS);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    void testDenseIndexIntervalAfterMinSeeks() {
+        ManualClock clock = new ManualClock();
+        AdaptiveIndexInterval interval = new AdaptiveIndexInterval(4096, 512, 60_000L, 3, clock);
+
+        // a single seek, e.g., of a consumer starting from a timestamp once, doesn't densify
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+        clock.advanceTime(10, TimeUnit.SECONDS);
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+
+        // the third seek within the dense duration densifies until the duration passes since the
+        // oldest of the seeks
+        clock.advanceTime(10, TimeUnit.SECONDS);
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+        clock.advanceTime(39, TimeUnit.SECONDS);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+        clock.advanceTime(1, TimeUnit.SECONDS);
+        assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    void testSeeksOutOfDenseDurationNotCounted() {
+        ManualClock clock = new ManualClock();
+        AdaptiveIndexInterval interval = new AdaptiveIndexInterval(4096, 512, 60_000L, 3, clock);
+
+        // the seeks are too sparse to densify, each window of 3 seeks spans over 60 seconds
+        for (int i = 0; i < 10; i++) {
+            interval.recordSeek();
+            assertThat(interval.indexIntervalBytes()).isEqualTo(4096);
+            clock.advanceTime(30, TimeUnit.SECONDS);
+        }
+
+        // the seeks get frequent enough
+        interval.recordSeek();
+        clock.advanceTime(1, TimeUnit.SECONDS);
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(512);
+    }
+
+    @Test
+    void testDenseIndexIntervalLargerThanIndexInterval() {
+        ManualClock clock = new ManualClock();
+        AdaptiveIndexInterval interval = new AdaptiveIndexInterval(1024, 4096, 60_000L, 1, clock);
+        interval.recordSeek();
+        assertThat(interval.indexIntervalBytes()).isEqualTo(1024);
+    }
+}
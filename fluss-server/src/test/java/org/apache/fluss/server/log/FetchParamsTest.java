@@ -17,12 +17,16 @@
 
 package org.apache.fluss.server.log;
 
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.TestData;
+import org.apache.fluss.rpc.messages.PbPredicate;
 
 import org.junit.jupiter.api.Test;
 
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.rpc.util.PredicateMessageUtils.toPbPredicate;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 /** Tests for {@link org.apache.fluss.server.log.FetchParams}. */
@@ -54,4 +58,33 @@ class FetchParamsTest {
         // the FileLogProjection should be cached
         assertThat(fetchParams.projection()).isNotNull().isSameAs(prevProjection);
     }
+
+    @Test
+    void testSetCurrentFetchWithFilter() {
+        Predicate predicate = new PredicateBuilder(TestData.DATA1_ROW_TYPE).greaterThan(0, 10);
+        PbPredicate filter = toPbPredicate(predicate);
+        FetchParams fetchParams = new FetchParams(-1, 100);
+        fetchParams.setCurrentFetch(
+                1L, 20L, 1024, TestData.DATA1_ROW_TYPE, DEFAULT_COMPRESSION, null, filter);
+        assertThat(fetchParams.filter()).isNotNull();
+        Predicate decoded = fetchParams.currentPredicate();
+        assertThat(decoded).isEqualTo(predicate);
+
+        fetchParams.setCurrentFetch(
+                2L, 30L, 512, TestData.DATA2_ROW_TYPE, DEFAULT_COMPRESSION, null, null);
+        assertThat(fetchParams.filter()).isNull();
+        assertThat(fetchParams.currentPredicate()).isNull();
+
+        // the filter is decoded only once for all the buckets of a table
+        fetchParams.setCurrentFetch(
+                1L, 40L, 256, TestData.DATA1_ROW_TYPE, DEFAULT_COMPRESSION, null, filter);
+        assertThat(fetchParams.filter()).isNotNull();
+        assertThat(fetchParams.currentPredicate()).isSameAs(decoded);
+
+        // the batches to replicate are never filtered
+        FetchParams followerFetchParams = new FetchParams(1, 100);
+        followerFetchParams.setCurrentFetch(
+                1L, 20L, 1024, TestData.DATA1_ROW_TYPE, DEFAULT_COMPRESSION, null, filter);
+        assertThat(followerFetchParams.filter()).isNull();
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.exception.FetchSessionIdNotFoundException;
+import org.apache.fluss.exception.InvalidFetchSessionEpochException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.rpc.protocol.Errors;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static org.apache.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link FetchSessionCache} and {@link FetchSession}. */
+class FetchSessionCacheTest {
+
+    private static final String OWNER = "client-1";
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final TableBucket TB2 = new TableBucket(1L, 2);
+
+    @Test
+    void testIncrementalFetch() {
+        FetchSessionCache cache = new FetchSessionCache(new Configuration(), new ManualClock());
+        Map<TableBucket, FetchReqInfo> buckets = new HashMap<>();
+        buckets.put(TB0, new FetchReqInfo(1L, 0L, 1024));
+        buckets.put(TB1, new FetchReqInfo(1L, 0L, 1024));
+        FetchSession session = createSession(cache, OWNER, buckets);
+        assertThat(session).isNotNull();
+        assertThat(session.bucketsToFetch()).containsOnlyKeys(TB0, TB1);
+
+        // update the offset of TB1, add TB2 and remove TB0
+        session =
+                cache.getOrCreateSession(
+                        OWNER,
+                        session.getSessionId(),
+                        1,
+                        Collections.singletonMap(TB2, new FetchReqInfo(1L, 0L, 1024)),
+                        Collections.singletonList(TB0));
+        assertThat(session).isNotNull();
+        session =
+                cache.getOrCreateSession(
+                        OWNER,
+                        session.getSessionId(),
+                        2,
+                        Collections.singletonMap(TB1, new FetchReqInfo(1L, 10L, 1024)),
+                        Collections.emptyList());
+        assertThat(session).isNotNull();
+        Map<TableBucket, FetchReqInfo> bucketsToFetch = session.bucketsToFetch();
+        assertThat(bucketsToFetch).containsOnlyKeys(TB1, TB2);
+        assertThat(bucketsToFetch.get(TB1).getFetchOffset()).isEqualTo(10L);
+
+        int sessionId = session.getSessionId();
+        assertThatThrownBy(
+                        () ->
+                                cache.getOrCreateSession(
+                                        OWNER,
+                                        sessionId,
+                                        2,
+                                        Collections.emptyMap(),
+                                        Collections.emptyList()))
+                .isInstanceOf(InvalidFetchSessionEpochException.class);
+        assertThatThrownBy(
+                        () ->
+                                cache.getOrCreateSession(
+                                        OWNER,
+                                        sessionId + 1,
+                                        1,
+                                        Collections.emptyMap(),
+                                        Collections.emptyList()))
+                .isInstanceOf(FetchSessionIdNotFoundException.class);
+    }
+
+    @Test
+    void testSessionOfAnotherOwner() {
+        FetchSessionCache cache = new FetchSessionCache(new Configuration(), new ManualClock());
+        Map<TableBucket, FetchReqInfo> buckets =
+                Collections.singletonMap(TB0, new FetchReqInfo(1L, 0L, 1024));
+        FetchSession session = createSession(cache, OWNER, buckets);
+        assertThat(session).isNotNull();
+        int sessionId = session.getSessionId();
+
+        // another fetcher can't advance the session
+        assertThatThrownBy(
+                        () ->
+                                cache.getOrCreateSession(
+                                        "client-2",
+                                        sessionId,
+                                        1,
+                                        Collections.emptyMap(),
+                                        Collections.emptyList()))
+                .isInstanceOf(FetchSessionIdNotFoundException.class);
+        // nor close the session by starting a new session with its id
+        FetchSession otherSession =
+                cache.getOrCreateSession(
+                        "client-2", sessionId, INITIAL_EPOCH, buckets, Collections.emptyList());
+        assertThat(otherSession).isNotNull();
+        assertThat(otherSession.getSessionId()).isNotEqualTo(sessionId);
+        assertThat(cache.getSessionCount()).isEqualTo(2);
+
+        // the owner still uses the session with the expected epoch
+        assertThat(
+                        cache.getOrCreateSession(
+                                OWNER,
+                                sessionId,
+                                1,
+                                Collections.emptyMap(),
+                                Collections.emptyList()))
+                .isSameAs(session);
+    }
+
+    @Test
+    void testFilterResults() throws Exception {
+        FetchSessionCache cache = new FetchSessionCache(new Configuration(), new ManualClock());
+        Map<TableBucket, FetchReqInfo> buckets = new LinkedHashMap<>();
+        buckets.put(TB0, new FetchReqInfo(1L, 0L, 1024));
+        buckets.put(TB1, new FetchReqInfo(1L, 0L, 1024));
+        buckets.put(TB2, new FetchReqInfo(1L, 0L, 1024));
+        FetchSession session = createSession(cache, OWNER, buckets);
+        assertThat(session).isNotNull();
+        assertThat(session.bucketsToFetch().keySet()).containsExactly(TB0, TB1, TB2);
+
+        Map<TableBucket, FetchLogResultForBucket> results = new HashMap<>();
+        results.put(TB0, new FetchLogResultForBucket(TB0, MemoryLogRecords.EMPTY, 0L));
+        results.put(TB1, new FetchLogResultForBucket(TB1, MemoryLogRecords.EMPTY, 0L));
+        results.put(TB2, new FetchLogResultForBucket(TB2, MemoryLogRecords.EMPTY, 0L));
+        // all the buckets are sent in the first response, in the order of the session
+        assertThat(session.filterResults(results).keySet()).containsExactly(TB0, TB1, TB2);
+
+        results.put(
+                TB0, new FetchLogResultForBucket(TB0, genMemoryLogRecordsByObject(DATA1), 10L));
+        results.put(TB1, new FetchLogResultForBucket(TB1, MemoryLogRecords.EMPTY, 5L));
+        // only the buckets with records or a changed high watermark are sent
+        assertThat(session.filterResults(results).keySet()).containsExactly(TB0, TB1);
+        // the bucket with records is moved to the end
+        assertThat(session.bucketsToFetch().keySet()).containsExactly(TB1, TB2, TB0);
+
+        results.put(TB0, new FetchLogResultForBucket(TB0, MemoryLogRecords.EMPTY, 10L));
+        results.put(
+                TB1, new FetchLogResultForBucket(TB1, genMemoryLogRecordsByObject(DATA1), 10L));
+        results.put(TB2, new FetchLogResultForBucket(TB2, MemoryLogRecords.EMPTY, 6L));
+        // the results are in the order of the session, and the bucket with records is moved
+        assertThat(session.filterResults(results).keySet()).containsExactly(TB1, TB2);
+        assertThat(session.bucketsToFetch().keySet()).containsExactly(TB2, TB0, TB1);
+
+        results.put(TB1, new FetchLogResultForBucket(TB1, MemoryLogRecords.EMPTY, 10L));
+        results.put(
+                TB2,
+                new FetchLogResultForBucket(
+                        TB2, ApiError.fromThrowable(Errors.NOT_LEADER_OR_FOLLOWER.exception())));
+        assertThat(session.filterResults(results)).containsOnlyKeys(TB2);
+    }
+
+    @Test
+    void testMaxSessionsAndExpiration() {
+        ManualClock clock = new ManualClock();
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.LOG_FETCH_SESSION_MAX_NUM, 1);
+        conf.set(ConfigOptions.LOG_FETCH_SESSION_TTL, Duration.ofMinutes(1));
+        FetchSessionCache cache = new FetchSessionCache(conf, clock);
+        Map<TableBucket, FetchReqInfo> buckets =
+                Collections.singletonMap(TB0, new FetchReqInfo(1L, 0L, 1024));
+
+        FetchSession session = createSession(cache, OWNER, buckets);
+        assertThat(session).isNotNull();
+        // the sessions are full
+        assertThat(createSession(cache, OWNER, buckets)).isNull();
+        // a new session replaces the closed session
+        FetchSession newSession =
+                cache.getOrCreateSession(
+                        OWNER,
+                        session.getSessionId(),
+                        INITIAL_EPOCH,
+                        buckets,
+                        Collections.emptyList());
+        assertThat(newSession).isNotNull();
+        assertThat(newSession.getSessionId()).isNotEqualTo(session.getSessionId());
+        assertThat(cache.getSessionCount()).isEqualTo(1);
+
+        clock.advanceTime(Duration.ofSeconds(30));
+        cache.expireIdleSessions();
+        assertThat(cache.getSessionCount()).isEqualTo(1);
+        clock.advanceTime(Duration.ofSeconds(31));
+        cache.expireIdleSessions();
+        assertThat(cache.getSessionCount()).isEqualTo(0);
+    }
+
+    private static FetchSession createSession(
+            FetchSessionCache cache, String owner, Map<TableBucket, FetchReqInfo> buckets) {
+        return cache.getOrCreateSession(
+                owner, INVALID_SESSION_ID, INITIAL_EPOCH, buckets, Collections.emptyList());
+    }
+}
@@ -21,6 +21,9 @@ import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogTestBase;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.log.LocalLog.SegmentDeletionReason;
@@ -33,13 +36,17 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
+import static org.apache.fluss.testutils.DataTestUtils.genArrowLogRecordsWithStatistics;
 import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithBaseOffset;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -385,6 +392,53 @@ final class LocalLogTest extends LogTestBase {
         assertThat(nonActiveBaseOffsetsFrom(6L)).isEqualTo(Collections.emptyList());
     }
 
+    @Test
+    void testReadWithFilter() throws Exception {
+        // segment 1: a in [1, 3] and a in [4, 6], segment 2: a in [7, 10]
+        localLog.append(2L, -1L, 0L, genArrowLogRecordsWithStatistics(0L, DATA1.subList(0, 3)));
+        localLog.append(5L, -1L, 3L, genArrowLogRecordsWithStatistics(3L, DATA1.subList(3, 6)));
+        localLog.roll(Optional.empty());
+        localLog.append(9L, -1L, 6L, genArrowLogRecordsWithStatistics(6L, DATA1.subList(6, 10)));
+
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        filter.setCurrentFilter(
+                DATA1_ROW_TYPE, new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 6));
+
+        // all the batches of the first segment are skipped, the fetch advances to the next one
+        List<LogRecordBatch> batches = readBatches(0L, filter);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(0);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(0L);
+        assertThat(batches.get(0).nextLogOffset()).isEqualTo(6L);
+
+        batches = readBatches(6L, filter);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(6L);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(4);
+
+        // nothing is skipped without the filter
+        assertThat(readLog(localLog, 0L, Integer.MAX_VALUE).getRecords().batches())
+                .hasSize(2);
+    }
+
+    private List<LogRecordBatch> readBatches(long startOffset, LogRecordBatchFilter filter)
+            throws Exception {
+        FetchDataInfo fetchDataInfo =
+                localLog.read(
+                        startOffset,
+                        Integer.MAX_VALUE,
+                        true,
+                        localLog.getLocalLogEndOffsetMetadata(),
+                        null,
+                        filter);
+        List<LogRecordBatch> batches = new ArrayList<>();
+        for (LogRecordBatch batch : fetchDataInfo.getRecords().batches()) {
+            batch.ensureValid();
+            batches.add(batch);
+        }
+        return batches;
+    }
+
     private List<Long> nonActiveBaseOffsetsFrom(long offset) {
         return localLog.getSegments().nonActiveLogSegmentsFrom(offset).stream()
                 .map(LogSegment::getBaseOffset)
@@ -21,12 +21,15 @@ import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.MemorySize;
 import org.apache.fluss.exception.LogSegmentOffsetOverflowException;
 import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordBatchFilter;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.LogTestBase;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.TestData;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -36,13 +39,17 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
+import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
+import static org.apache.fluss.testutils.DataTestUtils.genArrowLogRecordsWithStatistics;
 import static org.apache.fluss.testutils.DataTestUtils.genLogRecordsWithBaseOffsetAndTimestamp;
 import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithBaseOffset;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -433,6 +440,122 @@ final class LogSegmentTest extends LogTestBase {
         assertThat(position).isEqualTo(oldPosition);
     }
 
+    @Test
+    void testUpdateIndexIntervalBytes() throws Exception {
+        LogSegment segment = createSegment(0, Integer.MAX_VALUE);
+        for (int i = 0; i < 5; i++) {
+            appendData1(segment, i * 10L);
+        }
+        assertThat(segment.offsetIndex().entries()).isEqualTo(0);
+
+        // the appended batches are indexed with the new interval
+        segment.updateIndexIntervalBytes(1);
+        for (int i = 5; i < 10; i++) {
+            appendData1(segment, i * 10L);
+        }
+        assertThat(segment.offsetIndex().entries()).isEqualTo(5);
+    }
+
+    @Test
+    void testReadWithFilter() throws Exception {
+        LogSegment segment = createSegment(0);
+        // batch 1: a in [1, 3], batch 2: a in [4, 6], batch 3: a in [7, 10]
+        segment.append(2L, -1L, 0L, genArrowLogRecordsWithStatistics(0L, DATA1.subList(0, 3)));
+        segment.append(5L, -1L, 3L, genArrowLogRecordsWithStatistics(3L, DATA1.subList(3, 6)));
+        segment.append(9L, -1L, 6L, genArrowLogRecordsWithStatistics(6L, DATA1.subList(6, 10)));
+
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        filter.setCurrentFilter(
+                DATA1_ROW_TYPE, new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 6));
+        // the first two batches are replaced by an empty batch covering their offsets
+        List<LogRecordBatch> batches =
+                readBatches(segment, 0L, Integer.MAX_VALUE, segment.getSizeInBytes(), filter);
+        assertThat(batches).hasSize(2);
+        assertEmptyBatch(batches.get(0), 0L, 5L);
+        assertThat(batches.get(1).baseLogOffset()).isEqualTo(6L);
+        assertThat(batches.get(1).getRecordCount()).isEqualTo(4);
+
+        // the filter is not applied beyond the max position
+        int maxPosition = segment.getSizeInBytes() - 1;
+        batches = readBatches(segment, 0L, Integer.MAX_VALUE, maxPosition, filter);
+        assertThat(batches).hasSize(1);
+        assertEmptyBatch(batches.get(0), 0L, 5L);
+
+        // reading from the middle of the segment
+        batches = readBatches(segment, 3L, Integer.MAX_VALUE, segment.getSizeInBytes(), filter);
+        assertThat(batches).hasSize(2);
+        assertEmptyBatch(batches.get(0), 3L, 5L);
+        assertThat(batches.get(1).baseLogOffset()).isEqualTo(6L);
+    }
+
+    @Test
+    void testReadWithFilterBoundsScannedBytes() throws Exception {
+        LogSegment segment = createSegment(0);
+        int numBatches = 100;
+        int batchSize = 0;
+        for (int i = 0; i < numBatches; i++) {
+            MemoryLogRecords records =
+                    genArrowLogRecordsWithStatistics(i * 3L, DATA1.subList(0, 3));
+            batchSize = records.sizeInBytes();
+            segment.append(i * 3L + 2, -1L, i * 3L, records);
+        }
+
+        // all the batches are skipped, the scan stops at 16 times the max size, and the skipped
+        // batches are returned as an empty batch, so the next fetch continues from there
+        LogRecordBatchFilter filter = new LogRecordBatchFilter();
+        filter.setCurrentFilter(
+                DATA1_ROW_TYPE, new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 100));
+        List<LogRecordBatch> batches =
+                readBatches(segment, 0L, batchSize, segment.getSizeInBytes(), filter);
+        assertThat(batches).hasSize(1);
+        assertEmptyBatch(batches.get(0), 0L, 16 * 3 - 1);
+
+        batches = readBatches(segment, 16 * 3, batchSize, segment.getSizeInBytes(), filter);
+        assertThat(batches).hasSize(1);
+        assertEmptyBatch(batches.get(0), 16 * 3, 32 * 3 - 1);
+
+        // the matched batches are returned up to the max size
+        filter.setCurrentFilter(
+                DATA1_ROW_TYPE, new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 0));
+        batches = readBatches(segment, 0L, batchSize * 2, segment.getSizeInBytes(), filter);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(0L);
+        assertThat(batches.get(1).baseLogOffset()).isEqualTo(3L);
+    }
+
+    private static List<LogRecordBatch> readBatches(
+            LogSegment segment,
+            long startOffset,
+            int maxSize,
+            int maxPosition,
+            LogRecordBatchFilter filter)
+            throws Exception {
+        FetchDataInfo fetchDataInfo =
+                segment.read(startOffset, maxSize, maxPosition, true, null, filter);
+        assertThat(fetchDataInfo).isNotNull();
+        List<LogRecordBatch> batches = new ArrayList<>();
+        for (LogRecordBatch batch : fetchDataInfo.getRecords().batches()) {
+            batch.ensureValid();
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void assertEmptyBatch(
+            LogRecordBatch batch, long baseLogOffset, long lastLogOffset) {
+        assertThat(batch.getRecordCount()).isEqualTo(0);
+        assertThat(batch.baseLogOffset()).isEqualTo(baseLogOffset);
+        assertThat(batch.lastLogOffset()).isEqualTo(lastLogOffset);
+    }
+
+    private static void appendData1(LogSegment segment, long baseOffset) throws Exception {
+        segment.append(
+                baseOffset + TestData.DATA1.size() - 1,
+                -1L,
+                -1L,
+                genMemoryLogRecordsWithBaseOffset(baseOffset, TestData.DATA1));
+    }
+
     private LogSegment createSegment(long baseOffset) throws IOException {
         return createSegment(baseOffset, 10);
     }
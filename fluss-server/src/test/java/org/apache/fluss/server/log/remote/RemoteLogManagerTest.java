@@ -212,6 +212,43 @@ class RemoteLogManagerTest extends RemoteLogTestBase {
         assertThat(listRemoteLogFiles(tb)).isEmpty();
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testCopyLogSegmentsToRemotePartiallyFailed(boolean partitionTable) throws Exception {
+        TableBucket tb = makeTableBucket(partitionTable);
+        // Need to make leader by ReplicaManager.
+        makeLogTableAsLeader(tb, partitionTable);
+        LogTablet logTablet = replicaManager.getReplicaOrException(tb).getLogTablet();
+        addMultiSegmentsToLogTablet(logTablet, 5);
+
+        // make the copy of the third segment fail, the segments are copied concurrently
+        long failedOffset = logTablet.getSegments().get(2).getBaseOffset();
+        remoteLogStorage.copyLogSegmentFailOffset.set(failedOffset);
+        remoteLogTaskScheduler.triggerPeriodicScheduledTasks();
+        // only the segments before the failed one should be committed.
+        RemoteLogTablet remoteLog = remoteLogManager.remoteLogTablet(tb);
+        assertThat(remoteLog.allRemoteLogSegments()).hasSize(2);
+        assertThat(remoteLog.getRemoteLogEndOffset()).hasValue(failedOffset);
+        // the segments copied after the failed one should be cleaned up
+        assertThat(listRemoteLogFiles(tb))
+                .isEqualTo(
+                        remoteLog.allRemoteLogSegments().stream()
+                                .map(s -> s.remoteLogSegmentId().toString())
+                                .collect(Collectors.toSet()));
+        assertThat(remoteLog.getCopyLagSegments()).isEqualTo(2);
+        assertThat(remoteLog.getCopyLagBytes())
+                .isEqualTo(
+                        logTablet.getSegments().get(2).getSizeInBytes()
+                                + logTablet.getSegments().get(3).getSizeInBytes());
+
+        // the remaining segments are copied in the next round
+        remoteLogStorage.copyLogSegmentFailOffset.set(-1L);
+        remoteLogTaskScheduler.triggerPeriodicScheduledTasks();
+        assertThat(remoteLog.allRemoteLogSegments()).hasSize(4);
+        assertThat(remoteLog.getCopyLagSegments()).isEqualTo(0);
+        assertThat(remoteLog.getCopyLagBytes()).isEqualTo(0);
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void testCommitDeleteLogSegmentsFromRemoteFailed1(boolean partitionTable) throws Exception {
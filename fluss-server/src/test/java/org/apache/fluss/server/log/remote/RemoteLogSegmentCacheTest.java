@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log.remote;
+
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.testutils.common.ManuallyTriggeredScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RemoteLogSegmentCache}. */
+class RemoteLogSegmentCacheTest extends RemoteLogTestBase {
+
+    private ManuallyTriggeredScheduledExecutorService downloadExecutor;
+    private RemoteLogSegment segment0;
+    private RemoteLogSegment segment1;
+    private RemoteLogSegmentCache segmentCache;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        super.setup();
+        LogTablet logTablet = makeLogTabletAndAddSegments(false);
+        segment0 = copyLogSegmentToRemote(logTablet, remoteLogStorage, 0);
+        segment1 = copyLogSegmentToRemote(logTablet, remoteLogStorage, 1);
+        downloadExecutor = new ManuallyTriggeredScheduledExecutorService();
+        // the cache can only hold one of the segments
+        long maxBytes = segment0.segmentSizeInBytes() + segment1.segmentSizeInBytes() - 1;
+        segmentCache =
+                new RemoteLogSegmentCache(
+                        maxBytes, remoteLogStorage, tempDir, downloadExecutor, manualClock);
+    }
+
+    @AfterEach
+    void closeCache() {
+        segmentCache.close();
+    }
+
+    @Test
+    void testReadAfterDownload() throws Exception {
+        long startOffset = segment0.remoteLogStartOffset();
+        assertThat(segmentCache.read(segment0, startOffset, 0, Integer.MAX_VALUE, true)).isNull();
+        // the segment is only downloaded once for the concurrent misses
+        assertThat(segmentCache.read(segment0, startOffset, 0, Integer.MAX_VALUE, true)).isNull();
+        assertThat(downloadExecutor.numQueuedRunnables()).isEqualTo(1);
+        assertThat(segmentCache.getMissCount().getCount()).isEqualTo(2);
+
+        downloadExecutor.triggerAll();
+        assertThat(segmentCache.size()).isEqualTo(1);
+        assertThat(segmentCache.getSizeInBytes()).isEqualTo(segment0.segmentSizeInBytes());
+        assertThat(segmentCache.getDownloadBytesCount().getCount())
+                .isEqualTo(segment0.segmentSizeInBytes());
+        assertThat(new File(segmentCache.getCacheDir(), segment0.remoteLogSegmentId() + ".log"))
+                .exists();
+
+        LogRecords records = segmentCache.read(segment0, startOffset, 0, Integer.MAX_VALUE, true);
+        assertThat(records).isNotNull();
+        assertThat(records.sizeInBytes()).isEqualTo(segment0.segmentSizeInBytes());
+        List<LogRecordBatch> batches = new ArrayList<>();
+        records.batches().forEach(batches::add);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(startOffset);
+        assertThat(segmentCache.getHitCount().getCount()).isEqualTo(1);
+
+        // read from the second batch, at least one batch is returned
+        LogRecordBatch secondBatch = batches.get(1);
+        records = segmentCache.read(segment0, secondBatch.baseLogOffset(), 0, 1, true);
+        assertThat(records).isNotNull();
+        assertThat(records.sizeInBytes()).isEqualTo(secondBatch.sizeInBytes());
+        assertThat(records.batches().iterator().next().baseLogOffset())
+                .isEqualTo(secondBatch.baseLogOffset());
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() throws Exception {
+        segmentCache.read(segment0, segment0.remoteLogStartOffset(), 0, Integer.MAX_VALUE, true);
+        downloadExecutor.triggerAll();
+        segmentCache.read(segment1, segment1.remoteLogStartOffset(), 0, Integer.MAX_VALUE, true);
+        downloadExecutor.triggerAll();
+
+        assertThat(segmentCache.size()).isEqualTo(1);
+        assertThat(segmentCache.getSizeInBytes()).isEqualTo(segment1.segmentSizeInBytes());
+        assertThat(segmentCache.getEvictionCount().getCount()).isEqualTo(1);
+        assertThat(new File(segmentCache.getCacheDir(), segment0.remoteLogSegmentId() + ".log"))
+                .doesNotExist();
+        assertThat(
+                        segmentCache.read(
+                                segment1,
+                                segment1.remoteLogStartOffset(),
+                                0,
+                                Integer.MAX_VALUE,
+                                true))
+                .isNotNull();
+
+        segmentCache.removeAll(Collections.singletonList(segment1.remoteLogSegmentId()));
+        assertThat(segmentCache.size()).isEqualTo(0);
+        assertThat(segmentCache.getSizeInBytes()).isEqualTo(0);
+    }
+
+    @Test
+    void testBackoffAfterDownloadFailure() throws Exception {
+        RemoteLogSegment missingSegment =
+                RemoteLogSegment.Builder.builder()
+                        .remoteLogSegmentId(UUID.randomUUID())
+                        .remoteLogStartOffset(segment0.remoteLogStartOffset())
+                        .remoteLogEndOffset(segment0.remoteLogEndOffset())
+                        .maxTimestamp(segment0.maxTimestamp())
+                        .segmentSizeInBytes(segment0.segmentSizeInBytes())
+                        .tableBucket(segment0.tableBucket())
+                        .physicalTablePath(segment0.physicalTablePath())
+                        .build();
+        assertThat(segmentCache.isCacheable(missingSegment)).isTrue();
+        assertThat(
+                        segmentCache.read(
+                                missingSegment,
+                                missingSegment.remoteLogStartOffset(),
+                                0,
+                                Integer.MAX_VALUE,
+                                true))
+                .isNull();
+        downloadExecutor.triggerAll();
+
+        assertThat(segmentCache.size()).isEqualTo(0);
+        assertThat(segmentCache.isCacheable(missingSegment)).isFalse();
+        manualClock.advanceTime(
+                RemoteLogSegmentCache.FAILED_DOWNLOAD_BACKOFF_MS, TimeUnit.MILLISECONDS);
+        assertThat(segmentCache.isCacheable(missingSegment)).isTrue();
+    }
+}
@@ -20,9 +20,13 @@ package org.apache.fluss.server.log.remote;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.RemoteStorageException;
 import org.apache.fluss.fs.FsPath;
+import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A testing implementation of {@link org.apache.fluss.server.log.remote.RemoteLogStorage} which can
@@ -32,10 +36,23 @@ public class TestingRemoteLogStorage extends DefaultRemoteLogStorage {
 
     public final AtomicBoolean writeManifestFail = new AtomicBoolean(false);
 
+    /** The start offset of the log segment which fails to be copied, -1 if no failure. */
+    public final AtomicLong copyLogSegmentFailOffset = new AtomicLong(-1L);
+
     public TestingRemoteLogStorage(Configuration conf) throws IOException {
         super(conf);
     }
 
+    @Override
+    public CompletableFuture<Void> copyLogSegmentFilesAsync(
+            RemoteLogSegment remoteLogSegment, LogSegmentFiles logSegmentFiles) {
+        if (remoteLogSegment.remoteLogStartOffset() == copyLogSegmentFailOffset.get()) {
+            return FutureUtils.completedExceptionally(
+                    new RemoteStorageException("failed to copy log segment " + remoteLogSegment));
+        }
+        return super.copyLogSegmentFilesAsync(remoteLogSegment, logSegmentFiles);
+    }
+
     @Override
     public FsPath writeRemoteLogManifestSnapshot(RemoteLogManifest manifest)
             throws RemoteStorageException {
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.quota;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.rpc.netty.server.Session;
+import org.apache.fluss.security.acl.FlussPrincipal;
+import org.apache.fluss.utils.clock.ManualClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.server.metrics.group.TestingMetricGroups.TABLET_SERVER_METRICS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link ClientQuotaManager}. */
+class ClientQuotaManagerTest {
+
+    private static final long TABLE_ID = 1L;
+
+    private FlussScheduler scheduler;
+    private ManualClock clock;
+
+    @BeforeEach
+    void beforeEach() {
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        clock = new ManualClock(System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testClientProduceQuota() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.QUOTA_CLIENT_PRODUCE_BYTE_RATE, MemorySize.parse("1kb"));
+        ClientQuotaManager quotaManager = createQuotaManager(conf);
+        Session session = session("client-1", false);
+
+        // the rate is measured over 10 seconds at least: 5120 bytes / 10s = 512 bytes/s
+        assertThat(recordProduce(quotaManager, session, 5120)).isEqualTo(0);
+        // 15360 bytes / 10s = 1536 bytes/s, which takes (1536 - 1024) / 1024 * 10s to fall back
+        assertThat(recordProduce(quotaManager, session, 10240)).isEqualTo(5000);
+
+        // the other clients and the fetches are not throttled
+        assertThat(recordProduce(quotaManager, session("client-2", false), 1024)).isEqualTo(0);
+        assertThat(
+                        quotaManager.recordBytesAndGetThrottleTimeMs(
+                                QuotaType.FETCH,
+                                session,
+                                Collections.singletonMap(TABLE_ID, 10240L)))
+                .isEqualTo(0);
+
+        // the rate falls back to the quota after the recorded windows are expired
+        clock.advanceTime(Duration.ofSeconds(11));
+        assertThat(recordProduce(quotaManager, session, 1024)).isEqualTo(0);
+    }
+
+    @Test
+    void testTableAndPrincipalFetchQuota() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.QUOTA_TABLE_FETCH_BYTE_RATE, MemorySize.parse("1kb"));
+        conf.set(ConfigOptions.QUOTA_PRINCIPAL_FETCH_BYTE_RATE, MemorySize.parse("2kb"));
+        ClientQuotaManager quotaManager = createQuotaManager(conf);
+
+        // the clients share the quota of the table
+        assertThat(recordFetch(quotaManager, session("client-1", false), TABLE_ID, 10240))
+                .isEqualTo(0);
+        assertThat(recordFetch(quotaManager, session("client-2", false), TABLE_ID, 10240))
+                .isEqualTo(10000);
+
+        // the principal is throttled by the total bytes of all the tables
+        Session session = session("client-3", false);
+        assertThat(recordFetch(quotaManager, session, 2L, 10240)).isEqualTo(0);
+        assertThat(recordFetch(quotaManager, session, 3L, 10240)).isEqualTo(0);
+        // 30720 bytes / 10s = 3072 bytes/s, which takes (3072 - 2048) / 2048 * 10s to fall back
+        assertThat(recordFetch(quotaManager, session, 4L, 10240)).isEqualTo(5000);
+    }
+
+    @Test
+    void testRequestQuota() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.QUOTA_CLIENT_REQUEST_RATE, 1);
+        ClientQuotaManager quotaManager = createQuotaManager(conf);
+        Session session = session("client-1", false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(recordRequest(quotaManager, session)).isEqualTo(0);
+        }
+        assertThat(recordRequest(quotaManager, session)).isEqualTo(1000);
+        // the throttle time is at most the span of all the windows
+        for (int i = 0; i < 100; i++) {
+            recordRequest(quotaManager, session);
+        }
+        assertThat(recordRequest(quotaManager, session)).isEqualTo(11000);
+
+        // the requests from the internal listener are never throttled
+        assertThat(recordRequest(quotaManager, session("client-1", true))).isEqualTo(0);
+    }
+
+    @Test
+    void testExpireIdleRates() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.QUOTA_CLIENT_REQUEST_RATE, 1);
+        ClientQuotaManager quotaManager = createQuotaManager(conf);
+        recordRequest(quotaManager, session("client-1", false));
+        recordRequest(quotaManager, session("client-2", false));
+        assertThat(quotaManager.numRates()).isEqualTo(2);
+
+        clock.advanceTime(Duration.ofMinutes(30));
+        recordRequest(quotaManager, session("client-2", false));
+        clock.advanceTime(Duration.ofMinutes(31));
+        quotaManager.expireIdleRates();
+        assertThat(quotaManager.numRates()).isEqualTo(1);
+    }
+
+    @Test
+    void testDelayResponse() throws Exception {
+        ClientQuotaManager quotaManager = createQuotaManager(new Configuration());
+        assertThat(quotaManager.delay("response", 0)).isCompletedWithValue("response");
+
+        CompletableFuture<String> delayed = quotaManager.delay("response", 100);
+        assertThat(delayed.get()).isEqualTo("response");
+    }
+
+    private ClientQuotaManager createQuotaManager(Configuration conf) {
+        return new ClientQuotaManager(conf, scheduler, TABLET_SERVER_METRICS, clock);
+    }
+
+    private static long recordProduce(ClientQuotaManager quotaManager, Session session, long bytes) {
+        return quotaManager.recordBytesAndGetThrottleTimeMs(
+                QuotaType.PRODUCE, session, Collections.singletonMap(TABLE_ID, bytes));
+    }
+
+    private static long recordFetch(
+            ClientQuotaManager quotaManager, Session session, long tableId, long bytes) {
+        return quotaManager.recordBytesAndGetThrottleTimeMs(
+                QuotaType.FETCH, session, Collections.singletonMap(tableId, bytes));
+    }
+
+    private static long recordRequest(ClientQuotaManager quotaManager, Session session) {
+        return quotaManager.recordRequestAndGetThrottleTimeMs(
+                session, Collections.singleton(TABLE_ID));
+    }
+
+    private static Session session(String clientId, boolean isInternal) {
+        return new Session(
+                (short) 0,
+                "FLUSS",
+                isInternal,
+                null,
+                new FlussPrincipal("user-" + clientId, "User"),
+                clientId);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.replica.selector.ClientMetadata;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for the clients fetching log from the follower replicas of {@link ReplicaManager}. */
+class FetchFromFollowerTest extends ReplicaTestBase {
+
+    @Override
+    protected Configuration getServerConf() {
+        Configuration conf = super.getServerConf();
+        conf.set(ConfigOptions.LOG_REPLICA_SELECTOR_TYPE, "rack-aware");
+        return conf;
+    }
+
+    @Test
+    void testRedirectClientToPreferredReadReplica() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 1);
+        // the replicas 1, 2 and 3 are in rack1, rack2 and rack3
+        List<Integer> replicas = Arrays.asList(TABLET_SERVER_ID, 2, 3);
+        makeLogTableAsLeader(tb, replicas, replicas, false);
+        assertThat(replicaManager.isFetchFromFollowerEnabled()).isTrue();
+
+        // the clients in the rack of an in-sync follower are redirected to the follower
+        FetchLogResultForBucket result = fetchLog(tb, clientFetchParams("rack2"));
+        assertThat(result.failed()).isFalse();
+        assertThat(result.getPreferredReadReplica()).isEqualTo(2);
+        assertThat(result.recordsOrEmpty().sizeInBytes()).isEqualTo(0);
+        result = fetchLog(tb, clientFetchParams("rack3"));
+        assertThat(result.getPreferredReadReplica()).isEqualTo(3);
+
+        // the clients in the rack of the leader, in an unknown rack or without rack read from the
+        // leader
+        for (String rack : Arrays.asList("rack1", "rack4", null)) {
+            result = fetchLog(tb, clientFetchParams(rack));
+            assertThat(result.failed()).isFalse();
+            assertThat(result.getPreferredReadReplica()).isNull();
+        }
+
+        // the followers are never redirected
+        result = fetchLog(tb, new FetchParams(2, Integer.MAX_VALUE));
+        assertThat(result.failed()).isFalse();
+        assertThat(result.getPreferredReadReplica()).isNull();
+
+        // the follower out of the isr isn't selected
+        TableBucket tb2 = new TableBucket(DATA1_TABLE_ID, 2);
+        makeLogTableAsLeader(tb2, replicas, Arrays.asList(TABLET_SERVER_ID, 3), false);
+        result = fetchLog(tb2, clientFetchParams("rack2"));
+        assertThat(result.failed()).isFalse();
+        assertThat(result.getPreferredReadReplica()).isNull();
+    }
+
+    private FetchLogResultForBucket fetchLog(TableBucket tb, FetchParams fetchParams)
+            throws Exception {
+        CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                fetchParams,
+                Collections.singletonMap(tb, new FetchReqInfo(tb.getTableId(), 0L, 1024 * 1024)),
+                future::complete);
+        return future.get().get(tb);
+    }
+
+    private static FetchParams clientFetchParams(@Nullable String rack) {
+        return new FetchParams(
+                -1,
+                false,
+                Integer.MAX_VALUE,
+                FetchParams.DEFAULT_MIN_FETCH_BYTES,
+                FetchParams.DEFAULT_MAX_WAIT_MS,
+                new ClientMetadata(rack, "client-1", null));
+    }
+}
@@ -693,6 +693,13 @@ class ReplicaManagerTest extends ReplicaTestBase {
                 ValueEncoder.encodeValue(DEFAULT_SCHEMA_ID, compactedRow(DATA1_ROW_TYPE, value1));
         verifyLookup(tb, key1Bytes, value1Bytes);
 
+        // the lookup result carries the log offset up to which the changes are flushed into kv.
+        replicaManager.lookups(
+                Collections.singletonMap(tb, Collections.singletonList(key1Bytes)),
+                (lookupResultForBuckets) ->
+                        assertThat(lookupResultForBuckets.get(tb).flushedLogOffset())
+                                .isEqualTo(8L));
+
         // key = 3 is deleted, need return null.
         Object[] key3 = DATA_1_WITH_KEY_AND_VALUE.get(2).f0;
         byte[] key3Bytes = keyEncoder.encodeKey(row(key3));
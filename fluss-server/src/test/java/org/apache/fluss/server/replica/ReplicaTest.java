@@ -18,9 +18,11 @@
 package org.apache.fluss.server.replica;
 
 import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.exception.LogOffsetOutOfRangeException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.ChangeType;
 import org.apache.fluss.record.KvRecordBatch;
@@ -31,15 +33,18 @@ import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
 import org.apache.fluss.server.kv.KvTablet;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
+import org.apache.fluss.server.kv.snapshot.SnapshotContext;
 import org.apache.fluss.server.kv.snapshot.TestingCompletedKvSnapshotCommitter;
 import org.apache.fluss.server.log.FetchParams;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogReadInfo;
+import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.testutils.KvTestUtils;
 import org.apache.fluss.server.zk.NOPErrorHandler;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.testutils.DataTestUtils;
 import org.apache.fluss.testutils.common.ManuallyTriggeredScheduledExecutorService;
+import org.apache.fluss.utils.function.FunctionWithException;
 import org.apache.fluss.utils.types.Tuple2;
 
 import org.junit.jupiter.api.Test;
@@ -48,13 +53,22 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
@@ -63,6 +77,7 @@ import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH_PK;
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
@@ -77,8 +92,10 @@ import static org.apache.fluss.testutils.DataTestUtils.genKvRecords;
 import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
 import static org.apache.fluss.testutils.DataTestUtils.getKeyValuePairs;
 import static org.apache.fluss.testutils.LogRecordsAssert.assertThatLogRecords;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link Replica}. */
 final class ReplicaTest extends ReplicaTestBase {
@@ -594,6 +611,289 @@ final class ReplicaTest extends ReplicaTestBase {
         verifyGetKeyValues(kvTablet, expectedKeyValues);
     }
 
+    @Test
+    void testPromoteStandbyKv(@TempDir Path snapshotKvTabletDirPath) throws Exception {
+        Replica kvReplica =
+                makeStandbyKvReplica(new TestSnapshotContext(snapshotKvTabletDirPath.toString()));
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica,
+                DataTestUtils.genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+
+        // become the follower of another replica, the standby kv tablet is restored from log
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        retry(Duration.ofMinutes(1), () -> assertThat(kvReplica.hasStandbyKv()).isTrue());
+        KvTablet standbyKvTablet = checkNotNull(kvReplica.getKvTablet());
+        assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(2L);
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"})));
+
+        // the fetched log is applied to the standby kv tablet
+        appendRecordsToFollower(
+                kvReplica,
+                logRecords(
+                        2L,
+                        Arrays.asList(
+                                ChangeType.UPDATE_BEFORE,
+                                ChangeType.UPDATE_AFTER,
+                                ChangeType.INSERT),
+                        Arrays.asList(
+                                new Object[] {2, "b"},
+                                new Object[] {2, "bb"},
+                                new Object[] {3, "c"})),
+                5L);
+        retry(
+                Duration.ofMinutes(1),
+                () -> assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(5L));
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(
+                        genKvRecords(
+                                new Object[] {1, "a"},
+                                new Object[] {2, "bb"},
+                                new Object[] {3, "c"})));
+
+        // the standby kv tablet is promoted when the replica becomes leader
+        kvReplica.appendRecordsToFollower(
+                logRecords(
+                        5L,
+                        Collections.singletonList(ChangeType.DELETE),
+                        Collections.singletonList(new Object[] {1, "a"})));
+        makeKvReplicaAsLeader(kvReplica, 2);
+        assertThat(kvReplica.hasStandbyKv()).isFalse();
+        assertThat(kvReplica.getKvTablet()).isSameAs(standbyKvTablet);
+        putRecordsToLeader(kvReplica, DataTestUtils.genKvRecordBatch(new Object[] {4, "d"}));
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(
+                        genKvRecords(
+                                new Object[] {2, "bb"},
+                                new Object[] {3, "c"},
+                                new Object[] {4, "d"})));
+        byte[] deletedKey = getKeyValuePairs(genKvRecords(new Object[] {1, "a"})).get(0).f0;
+        assertThat(standbyKvTablet.multiGet(Collections.singletonList(deletedKey)).get(0))
+                .isNull();
+    }
+
+    @Test
+    void testTruncateAfterStandbyKvRestored(@TempDir Path snapshotKvTabletDirPath)
+            throws Exception {
+        Replica kvReplica =
+                makeStandbyKvReplica(new TestSnapshotContext(snapshotKvTabletDirPath.toString()));
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica, genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        retry(Duration.ofMinutes(1), () -> assertThat(kvReplica.hasStandbyKv()).isTrue());
+        KvTablet standbyKvTablet = checkNotNull(kvReplica.getKvTablet());
+
+        appendRecordsToFollower(
+                kvReplica,
+                logRecords(
+                        2L,
+                        Arrays.asList(
+                                ChangeType.UPDATE_BEFORE,
+                                ChangeType.UPDATE_AFTER,
+                                ChangeType.INSERT),
+                        Arrays.asList(
+                                new Object[] {2, "b"},
+                                new Object[] {2, "bb"},
+                                new Object[] {3, "c"})),
+                5L);
+        retry(
+                Duration.ofMinutes(1),
+                () -> assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(5L));
+
+        // the log not committed by the leader isn't applied to the standby kv tablet
+        appendRecordsToFollower(
+                kvReplica,
+                logRecords(
+                        5L,
+                        Collections.singletonList(ChangeType.DELETE),
+                        Collections.singletonList(new Object[] {1, "a"})),
+                5L);
+        kvReplica.truncateTo(5L);
+        assertThat(kvReplica.hasStandbyKv()).isTrue();
+        assertThat(kvReplica.getKvTablet()).isSameAs(standbyKvTablet);
+        assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(5L);
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(
+                        genKvRecords(
+                                new Object[] {1, "a"},
+                                new Object[] {2, "bb"},
+                                new Object[] {3, "c"})));
+
+        // truncating the log applied to the standby kv tablet restores it again
+        kvReplica.truncateTo(3L);
+        retry(
+                Duration.ofMinutes(1),
+                () -> {
+                    assertThat(kvReplica.hasStandbyKv()).isTrue();
+                    assertThat(kvReplica.getKvTablet()).isNotSameAs(standbyKvTablet);
+                });
+        KvTablet restoredKvTablet = checkNotNull(kvReplica.getKvTablet());
+        assertThat(restoredKvTablet.getFlushedLogOffset()).isEqualTo(3L);
+        verifyGetKeyValues(
+                restoredKvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"})));
+    }
+
+    @Test
+    void testTruncateWhileRestoringStandbyKv(@TempDir Path snapshotKvTabletDirPath)
+            throws Exception {
+        AtomicReference<Runnable> onRestore = new AtomicReference<>();
+        AtomicInteger restores = new AtomicInteger();
+        TestSnapshotContext snapshotContext =
+                new TestSnapshotContext(snapshotKvTabletDirPath.toString()) {
+                    @Override
+                    public FunctionWithException<TableBucket, CompletedSnapshot, Exception>
+                            getLatestCompletedSnapshotProvider() {
+                        return tableBucket -> {
+                            restores.incrementAndGet();
+                            // runs after the restoring starts without holding any lock
+                            Runnable action = onRestore.getAndSet(null);
+                            if (action != null) {
+                                action.run();
+                            }
+                            return super.getLatestCompletedSnapshotProvider().apply(tableBucket);
+                        };
+                    }
+                };
+        Replica kvReplica = makeStandbyKvReplica(snapshotContext);
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica, genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        putRecordsToLeader(
+                kvReplica, genKvRecordBatch(new Object[] {2, "bb"}, new Object[] {3, "c"}));
+        assertThat(kvReplica.getLocalLogEndOffset()).isEqualTo(5L);
+
+        // the local log is truncated while restoring, so the restored kv tablet is discarded
+        // and the standby kv tablet is restored again
+        onRestore.set(() -> kvReplica.truncateTo(2L));
+        restores.set(0);
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        retry(Duration.ofMinutes(1), () -> assertThat(kvReplica.hasStandbyKv()).isTrue());
+        assertThat(restores.get()).isEqualTo(2);
+        KvTablet standbyKvTablet = checkNotNull(kvReplica.getKvTablet());
+        assertThat(standbyKvTablet.getFlushedLogOffset()).isEqualTo(2L);
+        verifyGetKeyValues(
+                standbyKvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"})));
+        byte[] truncatedKey = getKeyValuePairs(genKvRecords(new Object[] {3, "c"})).get(0).f0;
+        assertThat(standbyKvTablet.multiGet(Collections.singletonList(truncatedKey)).get(0))
+                .isNull();
+    }
+
+    @Test
+    void testBecomeLeaderWhileRestoringStandbyKv(@TempDir Path snapshotKvTabletDirPath)
+            throws Exception {
+        CountDownLatch restoring = new CountDownLatch(1);
+        CountDownLatch leaderElected = new CountDownLatch(1);
+        AtomicBoolean blockRestore = new AtomicBoolean(false);
+        TestSnapshotContext snapshotContext =
+                new TestSnapshotContext(snapshotKvTabletDirPath.toString()) {
+                    @Override
+                    public FunctionWithException<TableBucket, CompletedSnapshot, Exception>
+                            getLatestCompletedSnapshotProvider() {
+                        return tableBucket -> {
+                            if (blockRestore.compareAndSet(true, false)) {
+                                restoring.countDown();
+                                leaderElected.await();
+                            }
+                            return super.getLatestCompletedSnapshotProvider().apply(tableBucket);
+                        };
+                    }
+                };
+        Replica kvReplica = makeStandbyKvReplica(snapshotContext);
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica, genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+
+        // the restoring doesn't hold the lock, so the replica can become leader while restoring
+        blockRestore.set(true);
+        makeKvReplicaAsFollower(kvReplica, TABLET_SERVER_ID + 1, 1);
+        restoring.await();
+        CompletableFuture<Void> becomeLeader =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                makeKvReplicaAsLeader(kvReplica, 2);
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+        // the state change cancels the restoring and waits for it to release the kv tablet
+        retry(Duration.ofMinutes(1), () -> assertThat(kvReplica.getLeaderEpoch()).isEqualTo(2));
+        leaderElected.countDown();
+        becomeLeader.get();
+        assertThat(kvReplica.hasStandbyKv()).isFalse();
+        KvTablet kvTablet = checkNotNull(kvReplica.getKvTablet());
+        kvTablet.flush(kvReplica.getLocalLogEndOffset(), NOPErrorHandler.INSTANCE);
+        verifyGetKeyValues(
+                kvTablet,
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"})));
+    }
+
+    @Test
+    void testFollowerServesClientFetchUpToLeaderHighWatermark() throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID, 1);
+        Replica logReplica = makeLogReplica(DATA1_PHYSICAL_TABLE_PATH, tableBucket);
+        logReplica.makeFollower(
+                new NotifyLeaderAndIsrData(
+                        DATA1_PHYSICAL_TABLE_PATH,
+                        tableBucket,
+                        Arrays.asList(TABLET_SERVER_ID, TABLET_SERVER_ID + 1),
+                        new LeaderAndIsr(
+                                TABLET_SERVER_ID + 1,
+                                INITIAL_LEADER_EPOCH,
+                                Arrays.asList(TABLET_SERVER_ID, TABLET_SERVER_ID + 1),
+                                INITIAL_COORDINATOR_EPOCH,
+                                INITIAL_LEADER_EPOCH)));
+        List<Object[]> firstBatch = Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"});
+        List<Object[]> secondBatch = Arrays.asList(new Object[] {3, "c"}, new Object[] {4, "d"});
+        List<ChangeType> changeTypes =
+                Arrays.asList(ChangeType.APPEND_ONLY, ChangeType.APPEND_ONLY);
+        // the follower appends the fetched log and updates its high watermark to its log end
+        // offset as the replica fetcher does
+        LogTablet logTablet = logReplica.getLogTablet();
+        logReplica.appendRecordsToFollower(logRecords(0L, changeTypes, firstBatch));
+        logReplica.appendRecordsToFollower(logRecords(2L, changeTypes, secondBatch));
+        logTablet.updateHighWatermark(logReplica.getLocalLogEndOffset());
+        assertThat(logTablet.getHighWatermark()).isEqualTo(4L);
+
+        // the leader hasn't reported any committed log
+        LogReadInfo readInfo = fetchRecordsFromFollower(logReplica, 0L);
+        assertThat(readInfo.getFetchedData().getRecords().sizeInBytes()).isEqualTo(0);
+        assertThat(readInfo.getHighWatermark()).isEqualTo(0L);
+
+        // only the log committed by the leader is served
+        logTablet.updateLeaderHighWatermark(2L);
+        readInfo = fetchRecordsFromFollower(logReplica, 0L);
+        assertThat(readInfo.getHighWatermark()).isEqualTo(2L);
+        assertLogRecordsEquals(DATA1_ROW_TYPE, readInfo.getFetchedData().getRecords(), firstBatch);
+        readInfo = fetchRecordsFromFollower(logReplica, 2L);
+        assertThat(readInfo.getFetchedData().getRecords().sizeInBytes()).isEqualTo(0);
+
+        // the offset beyond the log end offset of the follower is out of range
+        assertThatThrownBy(() -> fetchRecordsFromFollower(logReplica, 5L))
+                .isInstanceOf(LogOffsetOutOfRangeException.class);
+
+        logTablet.updateLeaderHighWatermark(4L);
+        readInfo = fetchRecordsFromFollower(logReplica, 2L);
+        assertLogRecordsEquals(
+                DATA1_ROW_TYPE, readInfo.getFetchedData().getRecords(), secondBatch);
+
+        // the leader high watermark never exceeds the log end offset, even after a truncation
+        logTablet.updateLeaderHighWatermark(10L);
+        assertThat(logTablet.getLeaderHighWatermark()).isEqualTo(4L);
+        logReplica.truncateTo(2L);
+        assertThat(logTablet.getLeaderHighWatermark()).isEqualTo(2L);
+        readInfo = fetchRecordsFromFollower(logReplica, 0L);
+        assertLogRecordsEquals(DATA1_ROW_TYPE, readInfo.getFetchedData().getRecords(), firstBatch);
+    }
+
     private void makeLogReplicaAsLeader(Replica replica) throws Exception {
         makeLeaderReplica(
                 replica,
@@ -616,13 +916,17 @@ final class ReplicaTest extends ReplicaTestBase {
     }
 
     private void makeKvReplicaAsFollower(Replica replica, int leaderEpoch) {
+        makeKvReplicaAsFollower(replica, TABLET_SERVER_ID, leaderEpoch);
+    }
+
+    private void makeKvReplicaAsFollower(Replica replica, int leaderId, int leaderEpoch) {
         replica.makeFollower(
                 new NotifyLeaderAndIsrData(
                         PhysicalTablePath.of(DATA1_TABLE_PATH_PK),
                         new TableBucket(DATA1_TABLE_ID_PK, 1),
                         Collections.singletonList(TABLET_SERVER_ID),
                         new LeaderAndIsr(
-                                TABLET_SERVER_ID,
+                                leaderId,
                                 leaderEpoch,
                                 Collections.singletonList(TABLET_SERVER_ID),
                                 INITIAL_COORDINATOR_EPOCH,
@@ -664,6 +968,26 @@ final class ReplicaTest extends ReplicaTestBase {
         return logReadInfo.getFetchedData().getRecords();
     }
 
+    private static LogReadInfo fetchRecordsFromFollower(Replica replica, long offset)
+            throws IOException {
+        // the client fetches from the follower if a replica selector is configured
+        FetchParams fetchParams =
+                new FetchParams(
+                        -1,
+                        false,
+                        Integer.MAX_VALUE,
+                        FetchParams.DEFAULT_MIN_FETCH_BYTES,
+                        FetchParams.DEFAULT_MAX_WAIT_MS);
+        fetchParams.setCurrentFetch(
+                replica.getTableBucket().getTableId(),
+                offset,
+                Integer.MAX_VALUE,
+                replica.getRowType(),
+                DEFAULT_COMPRESSION,
+                null);
+        return replica.fetchRecords(fetchParams);
+    }
+
     private static MemoryLogRecords logRecords(
             long baseOffset, List<ChangeType> changeTypes, List<Object[]> values) throws Exception {
         return createBasicMemoryLogRecords(
@@ -679,6 +1003,35 @@ final class ReplicaTest extends ReplicaTestBase {
                 DEFAULT_COMPRESSION);
     }
 
+    private static void appendRecordsToFollower(
+            Replica replica, MemoryLogRecords records, long leaderHighWatermark)
+            throws Exception {
+        // append and apply the log to the standby kv tablet as the replica fetcher does
+        replica.appendRecordsToFollower(records);
+        LogTablet logTablet = replica.getLogTablet();
+        logTablet.updateHighWatermark(replica.getLocalLogEndOffset());
+        logTablet.updateLeaderHighWatermark(leaderHighWatermark);
+        replica.maybeApplyLogToStandbyKv();
+    }
+
+    private Replica makeStandbyKvReplica(SnapshotContext snapshotContext) throws Exception {
+        Map<String, String> properties = new HashMap<>(DATA1_TABLE_DESCRIPTOR_PK.getProperties());
+        properties.put(ConfigOptions.TABLE_KV_STANDBY_ENABLED.key(), "true");
+        TableInfo tableInfo =
+                TableInfo.of(
+                        DATA1_TABLE_PATH_PK,
+                        DATA1_TABLE_ID_PK,
+                        1,
+                        DATA1_TABLE_DESCRIPTOR_PK.withProperties(properties),
+                        System.currentTimeMillis(),
+                        System.currentTimeMillis());
+        return makeKvReplica(
+                DATA1_PHYSICAL_TABLE_PATH_PK,
+                new TableBucket(DATA1_TABLE_ID_PK, 1),
+                snapshotContext,
+                tableInfo);
+    }
+
     private LogAppendInfo putRecordsToLeader(
             Replica replica, KvRecordBatch kvRecords, int[] targetColumns) throws Exception {
         LogAppendInfo logAppendInfo = replica.putRecordsToLeader(kvRecords, targetColumns, 0);
@@ -27,6 +27,7 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.rpc.RpcClient;
@@ -407,7 +408,7 @@ public class ReplicaTestBase {
 
     protected Replica makeLogReplica(PhysicalTablePath physicalTablePath, TableBucket tableBucket)
             throws Exception {
-        return makeReplica(physicalTablePath, tableBucket, false, null);
+        return makeReplica(physicalTablePath, tableBucket, false, null, DATA1_TABLE_INFO);
     }
 
     protected Replica makeKvReplica(
@@ -415,19 +416,29 @@ public class ReplicaTestBase {
             TableBucket tableBucket,
             SnapshotContext snapshotContext)
             throws Exception {
-        return makeReplica(physicalTablePath, tableBucket, true, snapshotContext);
+        return makeReplica(physicalTablePath, tableBucket, true, snapshotContext, DATA1_TABLE_INFO);
+    }
+
+    protected Replica makeKvReplica(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tableBucket,
+            SnapshotContext snapshotContext,
+            TableInfo tableInfo)
+            throws Exception {
+        return makeReplica(physicalTablePath, tableBucket, true, snapshotContext, tableInfo);
     }
 
     protected Replica makeKvReplica(PhysicalTablePath physicalTablePath, TableBucket tableBucket)
             throws Exception {
-        return makeReplica(physicalTablePath, tableBucket, true, null);
+        return makeReplica(physicalTablePath, tableBucket, true, null, DATA1_TABLE_INFO);
     }
 
     private Replica makeReplica(
             PhysicalTablePath physicalTablePath,
             TableBucket tableBucket,
             boolean isPkTable,
-            @Nullable SnapshotContext snapshotContext)
+            @Nullable SnapshotContext snapshotContext,
+            TableInfo tableInfo)
             throws Exception {
         if (snapshotContext == null) {
             snapshotContext =
@@ -458,7 +469,7 @@ public class ReplicaTestBase {
                 serverMetadataCache,
                 NOPErrorHandler.INSTANCE,
                 metricGroup,
-                DATA1_TABLE_INFO,
+                tableInfo,
                 manualClock);
     }
 
@@ -27,6 +27,7 @@ import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.util.FetchSessionHandler;
 import org.apache.fluss.server.entity.FetchReqInfo;
 import org.apache.fluss.server.log.FetchParams;
 import org.apache.fluss.server.replica.Replica;
@@ -102,7 +103,13 @@ public class TestingLeaderEndpoint implements LeaderEndpoint {
     public Optional<FetchLogContext> buildFetchLogContext(
             Map<TableBucket, BucketFetchStatus> replicas) {
         return RemoteLeaderEndpoint.buildFetchLogContext(
-                replicas, localNode.id(), maxFetchSize, maxFetchSizeForBucket, -1, -1);
+                replicas,
+                new FetchSessionHandler(false),
+                localNode.id(),
+                maxFetchSize,
+                maxFetchSizeForBucket,
+                -1,
+                -1);
     }
 
     @Override
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica.selector;
+
+import org.apache.fluss.cluster.TabletServerInfo;
+import org.apache.fluss.metadata.TableBucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RackAwareReplicaSelector}. */
+class RackAwareReplicaSelectorTest {
+
+    private static final TableBucket TABLE_BUCKET = new TableBucket(150001L, 0);
+
+    private final ReplicaSelector selector = new RackAwareReplicaSelector();
+
+    @Test
+    void testSelectReplicaInSameRack() {
+        TabletServerInfo leader = new TabletServerInfo(0, "rack0");
+        List<TabletServerInfo> isr =
+                Arrays.asList(
+                        leader, new TabletServerInfo(1, "rack1"), new TabletServerInfo(2, "rack2"));
+
+        assertThat(selector.select(TABLE_BUCKET, client("rack1"), leader, isr)).hasValue(1);
+        assertThat(selector.select(TABLE_BUCKET, client("rack2"), leader, isr)).hasValue(2);
+    }
+
+    @Test
+    void testReadFromLeader() {
+        TabletServerInfo leader = new TabletServerInfo(0, "rack0");
+        List<TabletServerInfo> isr =
+                Arrays.asList(
+                        leader, new TabletServerInfo(1, "rack0"), new TabletServerInfo(2, "rack1"));
+
+        // the leader is in the same rack
+        assertThat(selector.select(TABLE_BUCKET, client("rack0"), leader, isr)).isEmpty();
+        // no in-sync replica in the same rack
+        assertThat(selector.select(TABLE_BUCKET, client("rack3"), leader, isr)).isEmpty();
+        // the client has no rack
+        assertThat(selector.select(TABLE_BUCKET, client(null), leader, isr)).isEmpty();
+        assertThat(selector.select(TABLE_BUCKET, client(""), leader, isr)).isEmpty();
+    }
+
+    @Test
+    void testSelectionIsStable() {
+        TabletServerInfo leader = new TabletServerInfo(0, "rack0");
+        List<TabletServerInfo> isr =
+                Arrays.asList(
+                        leader, new TabletServerInfo(1, "rack1"), new TabletServerInfo(2, "rack1"));
+
+        Optional<Integer> selected = selector.select(TABLE_BUCKET, client("rack1"), leader, isr);
+        assertThat(selected).isPresent();
+        assertThat(selected.get()).isIn(1, 2);
+        for (int i = 0; i < 10; i++) {
+            assertThat(selector.select(TABLE_BUCKET, client("rack1"), leader, isr))
+                    .isEqualTo(selected);
+        }
+    }
+
+    private static ClientMetadata client(String rack) {
+        return new ClientMetadata(rack, "client-1", null);
+    }
+}
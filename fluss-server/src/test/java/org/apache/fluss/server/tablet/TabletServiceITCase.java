@@ -35,6 +35,8 @@ import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
 import org.apache.fluss.rpc.messages.ListOffsetsResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
 import org.apache.fluss.rpc.messages.NotifyLeaderAndIsrResponse;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
@@ -43,7 +45,10 @@ import org.apache.fluss.rpc.messages.PbListOffsetsRespForBucket;
 import org.apache.fluss.rpc.messages.PbLookupRespForBucket;
 import org.apache.fluss.rpc.messages.PbNotifyLeaderAndIsrReqForBucket;
 import org.apache.fluss.rpc.messages.PbPrefixLookupRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForTable;
 import org.apache.fluss.rpc.messages.PbPutKvRespForBucket;
+import org.apache.fluss.rpc.messages.PbPutKvRespForTable;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvResponse;
 import org.apache.fluss.rpc.protocol.Errors;
@@ -69,8 +74,10 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
@@ -98,6 +105,8 @@ import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newFetchLogR
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newLimitScanRequest;
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newListOffsetsRequest;
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newLookupRequest;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newMultiProduceLogRequest;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newMultiPutKvRequest;
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newPrefixLookupRequest;
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newProduceLogRequest;
 import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newPutKvRequest;
@@ -462,6 +471,132 @@ public class TabletServiceITCase {
                 .hasMessageContaining("Invalid required acks");
     }
 
+    @Test
+    void testMultiProduceLog() throws Exception {
+        long tableId1 =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_multi_produce_log_table_1"),
+                        DATA1_TABLE_DESCRIPTOR);
+        long tableId2 =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_multi_produce_log_table_2"),
+                        DATA1_TABLE_DESCRIPTOR);
+        TableBucket tb1 = new TableBucket(tableId1, 0);
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb1);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb1);
+        TableBucket tb2 = waitAndGetBucket(tableId2, leader, true);
+        TableBucket notLeaderTb2 = waitAndGetBucket(tableId2, leader, false);
+        TabletServerGateway leaderGateWay =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(leader);
+
+        // 1. send one batch to each table in one request.
+        MultiProduceLogResponse response =
+                leaderGateWay
+                        .multiProduceLog(
+                                newMultiProduceLogRequest(
+                                        1,
+                                        newProduceLogRequest(
+                                                tableId1, 0, 1, genMemoryLogRecordsByObject(DATA1)),
+                                        newProduceLogRequest(
+                                                tableId2,
+                                                tb2.getBucket(),
+                                                1,
+                                                genMemoryLogRecordsByObject(DATA1))))
+                        .get();
+        Map<TableBucket, PbProduceLogRespForBucket> bucketResps = getBucketResps(response);
+        assertThat(bucketResps).containsOnlyKeys(tb1, tb2);
+        assertProduceLogRespForBucket(bucketResps.get(tb1), 0L);
+        assertProduceLogRespForBucket(bucketResps.get(tb2), 0L);
+
+        // 2. the error of a table doesn't fail the other table.
+        response =
+                leaderGateWay
+                        .multiProduceLog(
+                                newMultiProduceLogRequest(
+                                        1,
+                                        newProduceLogRequest(
+                                                tableId1, 0, 1, genMemoryLogRecordsByObject(DATA1)),
+                                        newProduceLogRequest(
+                                                tableId2,
+                                                notLeaderTb2.getBucket(),
+                                                1,
+                                                genMemoryLogRecordsByObject(DATA1))))
+                        .get();
+        bucketResps = getBucketResps(response);
+        assertThat(bucketResps).containsOnlyKeys(tb1, notLeaderTb2);
+        assertProduceLogRespForBucket(bucketResps.get(tb1), 10L);
+        assertThat(bucketResps.get(notLeaderTb2).getErrorCode())
+                .isEqualTo(Errors.NOT_LEADER_OR_FOLLOWER.code());
+    }
+
+    @Test
+    void testMultiPutKv() throws Exception {
+        long tableId1 =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_multi_put_kv_table_1"),
+                        DATA1_TABLE_DESCRIPTOR_PK);
+        long tableId2 =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_multi_put_kv_table_2"),
+                        DATA1_TABLE_DESCRIPTOR_PK);
+        TableBucket tb1 = new TableBucket(tableId1, 0);
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb1);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb1);
+        TableBucket tb2 = waitAndGetBucket(tableId2, leader, true);
+        TableBucket notLeaderTb2 = waitAndGetBucket(tableId2, leader, false);
+        TabletServerGateway leaderGateWay =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(leader);
+
+        // 1. send one batch to each table in one request.
+        MultiPutKvResponse response =
+                leaderGateWay
+                        .multiPutKv(
+                                newMultiPutKvRequest(
+                                        1,
+                                        newPutKvRequest(
+                                                tableId1,
+                                                0,
+                                                1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE)),
+                                        newPutKvRequest(
+                                                tableId2,
+                                                tb2.getBucket(),
+                                                1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE))))
+                        .get();
+        Map<TableBucket, PbPutKvRespForBucket> bucketResps = getBucketResps(response);
+        assertThat(bucketResps).containsOnlyKeys(tb1, tb2);
+        assertThat(bucketResps.get(tb1).hasErrorCode()).isFalse();
+        assertThat(bucketResps.get(tb2).hasErrorCode()).isFalse();
+
+        // 2. the error of a table doesn't fail the other table.
+        response =
+                leaderGateWay
+                        .multiPutKv(
+                                newMultiPutKvRequest(
+                                        1,
+                                        newPutKvRequest(
+                                                tableId1,
+                                                0,
+                                                1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE)),
+                                        newPutKvRequest(
+                                                tableId2,
+                                                notLeaderTb2.getBucket(),
+                                                1,
+                                                genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE))))
+                        .get();
+        bucketResps = getBucketResps(response);
+        assertThat(bucketResps).containsOnlyKeys(tb1, notLeaderTb2);
+        assertThat(bucketResps.get(tb1).hasErrorCode()).isFalse();
+        assertThat(bucketResps.get(notLeaderTb2).getErrorCode())
+                .isEqualTo(Errors.NOT_LEADER_OR_FOLLOWER.code());
+    }
+
     @Test
     void testLookup() throws Exception {
         long tableId =
@@ -950,4 +1085,52 @@ public class TabletServiceITCase {
         return ServerRpcMessageUtils.makeNotifyLeaderAndIsrRequest(
                 0, Collections.singletonList(reqForBucket));
     }
+
+    /** Returns a bucket of the table which is (or isn't) led by the given tablet server. */
+    private static TableBucket waitAndGetBucket(long tableId, int leader, boolean isLeader) {
+        // the test tables are distributed by 3 buckets
+        for (int bucket = 0; bucket < 3; bucket++) {
+            TableBucket tb = new TableBucket(tableId, bucket);
+            FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb);
+            if ((FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb) == leader) == isLeader) {
+                return tb;
+            }
+        }
+        throw new AssertionError(
+                String.format(
+                        "No bucket of table %s is %sled by tablet server %s.",
+                        tableId, isLeader ? "" : "not ", leader));
+    }
+
+    private static Map<TableBucket, PbProduceLogRespForBucket> getBucketResps(
+            MultiProduceLogResponse response) {
+        Map<TableBucket, PbProduceLogRespForBucket> bucketResps = new HashMap<>();
+        for (PbProduceLogRespForTable respForTable : response.getTablesRespsList()) {
+            for (PbProduceLogRespForBucket respForBucket : respForTable.getBucketsRespsList()) {
+                bucketResps.put(
+                        new TableBucket(respForTable.getTableId(), respForBucket.getBucketId()),
+                        respForBucket);
+            }
+        }
+        return bucketResps;
+    }
+
+    private static Map<TableBucket, PbPutKvRespForBucket> getBucketResps(
+            MultiPutKvResponse response) {
+        Map<TableBucket, PbPutKvRespForBucket> bucketResps = new HashMap<>();
+        for (PbPutKvRespForTable respForTable : response.getTablesRespsList()) {
+            for (PbPutKvRespForBucket respForBucket : respForTable.getBucketsRespsList()) {
+                bucketResps.put(
+                        new TableBucket(respForTable.getTableId(), respForBucket.getBucketId()),
+                        respForBucket);
+            }
+        }
+        return bucketResps;
+    }
+
+    private static void assertProduceLogRespForBucket(
+            PbProduceLogRespForBucket respForBucket, long baseOffset) {
+        assertThat(respForBucket.hasErrorCode()).isFalse();
+        assertThat(respForBucket.getBaseOffset()).isEqualTo(baseOffset);
+    }
 }
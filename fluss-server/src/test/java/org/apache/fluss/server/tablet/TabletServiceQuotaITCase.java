@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.tablet;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.server.testutils.FlussClusterExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.apache.fluss.config.ConfigOptions.DEFAULT_LISTENER_NAME;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.createTable;
+import static org.apache.fluss.server.testutils.RpcMessageTestUtils.newFetchLogRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** ITCase for the quotas enforced by {@link TabletService}. */
+class TabletServiceQuotaITCase {
+
+    private static final String CLIENT_LISTENER = "CLIENT";
+    private static final int QUOTA_EXCEEDING_REQUESTS = 20;
+
+    @RegisterExtension
+    public static final FlussClusterExtension FLUSS_CLUSTER_EXTENSION =
+            FlussClusterExtension.builder()
+                    .setNumOfTabletServers(3)
+                    .setCoordinatorServerListeners(
+                            String.format(
+                                    "%s://localhost:0, %s://localhost:0",
+                                    DEFAULT_LISTENER_NAME, CLIENT_LISTENER))
+                    .setTabletServerListeners(
+                            String.format(
+                                    "%s://localhost:0, %s://localhost:0",
+                                    DEFAULT_LISTENER_NAME, CLIENT_LISTENER))
+                    .setClusterConf(initConf())
+                    .build();
+
+    private static Configuration initConf() {
+        Configuration conf = new Configuration();
+        // the rate is measured over 10 seconds at least, so the 11th request in 10 seconds
+        // exceeds the quota
+        conf.set(ConfigOptions.QUOTA_TABLE_REQUEST_RATE, 1);
+        return conf;
+    }
+
+    @Test
+    void testThrottleFetchLogClaimingToBeFromFollower() throws Exception {
+        long tableId =
+                createTable(FLUSS_CLUSTER_EXTENSION, DATA1_TABLE_PATH, DATA1_TABLE_DESCRIPTOR);
+        TableBucket tb = new TableBucket(tableId, 0);
+        FLUSS_CLUSTER_EXTENSION.waitUntilAllReplicaReady(tb);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb);
+        TabletServerGateway clientGateway =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(leader, CLIENT_LISTENER);
+        TabletServerGateway internalGateway =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(
+                        leader, DEFAULT_LISTENER_NAME);
+
+        // the fetches on the client listener are throttled even if they claim to be from a
+        // follower replica, the follower server id doesn't exist to not affect the real followers
+        int claimedFollowerId = 100;
+        List<CompletableFuture<FetchLogResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < QUOTA_EXCEEDING_REQUESTS; i++) {
+            responses.add(
+                    clientGateway.fetchLog(
+                            newFetchLogRequest(claimedFollowerId, tableId, 0, 0L)));
+        }
+        // 20 requests in 10 seconds delay the response by (2 - 1) / 1 * 10 seconds
+        CompletableFuture<FetchLogResponse> lastResponse =
+                responses.get(QUOTA_EXCEEDING_REQUESTS - 1);
+        assertThatThrownBy(() -> lastResponse.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(TimeoutException.class);
+
+        // the requests on the internal listener are never throttled, though the table has
+        // exceeded the quota
+        for (int i = 0; i < QUOTA_EXCEEDING_REQUESTS; i++) {
+            FetchLogResponse response =
+                    internalGateway
+                            .fetchLog(newFetchLogRequest(-1, tableId, 0, 0L))
+                            .get(2, TimeUnit.SECONDS);
+            assertThat(response.getTablesRespsCount()).isEqualTo(1);
+        }
+
+        // the throttled response is returned eventually
+        assertThat(lastResponse.get(1, TimeUnit.MINUTES).getTablesRespsCount()).isEqualTo(1);
+    }
+}
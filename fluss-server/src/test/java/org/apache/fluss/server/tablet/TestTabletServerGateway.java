@@ -44,6 +44,8 @@ import org.apache.fluss.rpc.messages.GetTableSchemaRequest;
 import org.apache.fluss.rpc.messages.GetTableSchemaResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
 import org.apache.fluss.rpc.messages.InitWriterResponse;
+import org.apache.fluss.rpc.messages.KvScanRequest;
+import org.apache.fluss.rpc.messages.KvScanResponse;
 import org.apache.fluss.rpc.messages.LimitScanRequest;
 import org.apache.fluss.rpc.messages.LimitScanResponse;
 import org.apache.fluss.rpc.messages.ListAclsRequest;
@@ -60,6 +62,10 @@ import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
 import org.apache.fluss.rpc.messages.MetadataRequest;
 import org.apache.fluss.rpc.messages.MetadataResponse;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogResponse;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvResponse;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetRequest;
@@ -79,6 +85,8 @@ import org.apache.fluss.rpc.messages.ProduceLogRequest;
 import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
+import org.apache.fluss.rpc.messages.ScanKvRequest;
+import org.apache.fluss.rpc.messages.ScanKvResponse;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.TableExistsRequest;
@@ -175,7 +183,24 @@ public class TestTabletServerGateway implements TabletServerGateway {
 
     @Override
     public CompletableFuture<PutKvResponse> putKv(PutKvRequest request) {
-        return null;
+        CompletableFuture<PutKvResponse> response = new CompletableFuture<>();
+        requests.add(Tuple2.of(request, response));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<MultiProduceLogResponse> multiProduceLog(
+            MultiProduceLogRequest request) {
+        CompletableFuture<MultiProduceLogResponse> response = new CompletableFuture<>();
+        requests.add(Tuple2.of(request, response));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<MultiPutKvResponse> multiPutKv(MultiPutKvRequest request) {
+        CompletableFuture<MultiPutKvResponse> response = new CompletableFuture<>();
+        requests.add(Tuple2.of(request, response));
+        return response;
     }
 
     @Override
@@ -193,6 +218,18 @@ public class TestTabletServerGateway implements TabletServerGateway {
         return null;
     }
 
+    @Override
+    public CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<KvScanResponse> kvScan(KvScanRequest request) {
+        CompletableFuture<KvScanResponse> response = new CompletableFuture<>();
+        requests.add(Tuple2.of(request, response));
+        return response;
+    }
+
     @Override
     public CompletableFuture<ListOffsetsResponse> listOffsets(ListOffsetsRequest request) {
         return null;
@@ -348,6 +385,15 @@ public class TestTabletServerGateway implements TabletServerGateway {
     }
 
     public void response(int index, ApiMessage response) {
+        removeResponseFuture(index).complete(response);
+    }
+
+    public void responseWithException(int index, Throwable exception) {
+        removeResponseFuture(index).completeExceptionally(exception);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<ApiMessage> removeResponseFuture(int index) {
         if (requests.isEmpty()) {
             throw new IllegalStateException("No requests pending for inbound response.");
         }
@@ -358,25 +404,17 @@ public class TestTabletServerGateway implements TabletServerGateway {
                     "Index " + index + " is out of bounds for requests queue.");
         }
 
-        CompletableFuture<ApiMessage> result = null;
         int currentIndex = 0;
         for (Iterator<Tuple2<ApiMessage, CompletableFuture<?>>> it = requests.iterator();
                 it.hasNext(); ) {
             Tuple2<ApiMessage, CompletableFuture<?>> tuple = it.next();
             if (currentIndex == index) {
-                result = (CompletableFuture<ApiMessage>) tuple.f1;
                 it.remove();
-                break;
+                return (CompletableFuture<ApiMessage>) tuple.f1;
             }
             currentIndex++;
         }
-
-        if (result != null) {
-            result.complete(response);
-        } else {
-            throw new IllegalStateException(
-                    "The future to complete was not found at index " + index);
-        }
+        throw new IllegalStateException("The future to complete was not found at index " + index);
     }
 
     private StopReplicaResponse mockStopReplicaResponse(
@@ -471,8 +471,13 @@ public final class FlussClusterExtension
     }
 
     public TabletServerGateway newTabletServerClientForNode(int serverId) {
+        return newTabletServerClientForNode(serverId, null);
+    }
+
+    public TabletServerGateway newTabletServerClientForNode(
+            int serverId, @Nullable String listenerName) {
         final ServerNode serverNode =
-                getTabletServerNodes().stream()
+                getTabletServerNodes(listenerName).stream()
                         .filter(n -> n.id() == serverId)
                         .findFirst()
                         .orElseThrow(
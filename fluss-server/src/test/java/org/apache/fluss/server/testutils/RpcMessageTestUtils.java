@@ -45,6 +45,8 @@ import org.apache.fluss.rpc.messages.ListPartitionInfosRequest;
 import org.apache.fluss.rpc.messages.ListTablesRequest;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.MetadataRequest;
+import org.apache.fluss.rpc.messages.MultiProduceLogRequest;
+import org.apache.fluss.rpc.messages.MultiPutKvRequest;
 import org.apache.fluss.rpc.messages.PbFetchLogReqForBucket;
 import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
@@ -186,6 +188,28 @@ public class RpcMessageTestUtils {
         return putKvRequest;
     }
 
+    public static MultiProduceLogRequest newMultiProduceLogRequest(
+            int acks, ProduceLogRequest... produceLogRequests) {
+        MultiProduceLogRequest request =
+                new MultiProduceLogRequest().setAcks(acks).setTimeoutMs(10000);
+        for (ProduceLogRequest produceLogRequest : produceLogRequests) {
+            request.addTablesReq()
+                    .setTableId(produceLogRequest.getTableId())
+                    .addAllBucketsReqs(produceLogRequest.getBucketsReqsList());
+        }
+        return request;
+    }
+
+    public static MultiPutKvRequest newMultiPutKvRequest(int acks, PutKvRequest... putKvRequests) {
+        MultiPutKvRequest request = new MultiPutKvRequest().setAcks(acks).setTimeoutMs(10000);
+        for (PutKvRequest putKvRequest : putKvRequests) {
+            request.addTablesReq()
+                    .setTableId(putKvRequest.getTableId())
+                    .addAllBucketsReqs(putKvRequest.getBucketsReqsList());
+        }
+        return request;
+    }
+
     public static FetchLogRequest newFetchLogRequest(
             int followerId, long tableId, int bucketId, long fetchOffset) {
         return newFetchLogRequest(followerId, tableId, bucketId, fetchOffset, null);
@@ -467,6 +467,50 @@ class TableAssignmentUtilsTest {
                 tableAssignment, rackMap, 12, nBuckets, replicationFactor, false, false, false);
     }
 
+    @Test
+    void testLeadersSpreadOverAssignments() {
+        Map<Integer, String> rackMap = new HashMap<>();
+        rackMap.put(0, "rack1");
+        rackMap.put(1, "rack2");
+        rackMap.put(2, "rack2");
+        rackMap.put(3, "rack3");
+        rackMap.put(4, "rack3");
+        rackMap.put(5, "rack1");
+        TabletServerInfo[] servers = toTabletServerInfo(rackMap, Collections.emptyList());
+
+        // the leaders of tables or partitions with a single bucket should be spread over all the
+        // tablet servers and racks
+        Map<Integer, Integer> serverLeaderCount = new HashMap<>();
+        Map<String, Integer> rackLeaderCount = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            TableAssignment tableAssignment = generateAssignment(1, 3, servers);
+            checkTableAssignment(tableAssignment, rackMap, 6, 1, 3, true, false, false);
+            int leader = tableAssignment.getBucketAssignment(0).getReplicas().get(0);
+            serverLeaderCount.merge(leader, 1, Integer::sum);
+            rackLeaderCount.merge(rackMap.get(leader), 1, Integer::sum);
+        }
+        assertThat(serverLeaderCount)
+                .hasSize(6)
+                .allSatisfy((server, count) -> assertThat(count).isEqualTo(2));
+        assertThat(rackLeaderCount)
+                .hasSize(3)
+                .allSatisfy((rack, count) -> assertThat(count).isEqualTo(4));
+
+        // the same for the tablet servers without rack
+        serverLeaderCount.clear();
+        servers = toTabletServerInfo(Collections.emptyMap(), Arrays.asList(0, 1, 2, 3));
+        for (int i = 0; i < 4; i++) {
+            TableAssignment tableAssignment = generateAssignment(3, 2, servers);
+            for (BucketAssignment bucketAssignment :
+                    tableAssignment.getBucketAssignments().values()) {
+                serverLeaderCount.merge(bucketAssignment.getReplicas().get(0), 1, Integer::sum);
+            }
+        }
+        assertThat(serverLeaderCount)
+                .hasSize(4)
+                .allSatisfy((server, count) -> assertThat(count).isEqualTo(3));
+    }
+
     @Test
     void testPartialTabletServersHaveRackInfo() {
         Map<Integer, String> rackMap = new HashMap<>();